@@ -163,6 +163,7 @@ final class AddOperations {
             operationModel.setEndpointDiscovery(op.getEndpointdiscovery());
             operationModel.setEndpointTrait(op.getEndpoint());
             operationModel.setHttpChecksumRequired(op.isHttpChecksumRequired());
+            operationModel.setIdempotent(op.isIdempotent());
 
             Input input = op.getInput();
             if (input != null) {
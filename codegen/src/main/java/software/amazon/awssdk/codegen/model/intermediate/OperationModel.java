@@ -64,6 +64,8 @@ public class OperationModel extends DocumentationModel {
 
     private boolean httpChecksumRequired;
 
+    private boolean idempotent;
+
     public String getOperationName() {
         return operationName;
     }
@@ -282,4 +284,12 @@ public class OperationModel extends DocumentationModel {
     public void setHttpChecksumRequired(boolean httpChecksumRequired) {
         this.httpChecksumRequired = httpChecksumRequired;
     }
+
+    public boolean isIdempotent() {
+        return idempotent;
+    }
+
+    public void setIdempotent(boolean idempotent) {
+        this.idempotent = idempotent;
+    }
 }
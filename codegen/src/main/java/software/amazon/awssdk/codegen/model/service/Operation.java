@@ -46,6 +46,8 @@ public class Operation {
 
     private boolean httpChecksumRequired;
 
+    private boolean idempotent;
+
     public String getName() {
         return name;
     }
@@ -164,4 +166,12 @@ public class Operation {
     public void setHttpChecksumRequired(boolean httpChecksumRequired) {
         this.httpChecksumRequired = httpChecksumRequired;
     }
+
+    public boolean isIdempotent() {
+        return idempotent;
+    }
+
+    public void setIdempotent(boolean idempotent) {
+        this.idempotent = idempotent;
+    }
 }
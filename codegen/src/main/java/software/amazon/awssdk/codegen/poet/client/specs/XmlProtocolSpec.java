@@ -29,6 +29,7 @@ import software.amazon.awssdk.codegen.model.intermediate.IntermediateModel;
 import software.amazon.awssdk.codegen.model.intermediate.OperationModel;
 import software.amazon.awssdk.codegen.poet.PoetExtensions;
 import software.amazon.awssdk.codegen.poet.client.traits.HttpChecksumRequiredTrait;
+import software.amazon.awssdk.codegen.poet.client.traits.IdempotentTrait;
 import software.amazon.awssdk.core.client.handler.ClientExecutionParams;
 import software.amazon.awssdk.core.http.HttpResponseHandler;
 import software.amazon.awssdk.protocols.xml.AwsXmlProtocolFactory;
@@ -116,7 +117,8 @@ public final class XmlProtocolSpec extends QueryProtocolSpec {
                                                     hostPrefixExpression(opModel) +
                                                     discoveredEndpoint(opModel))
                                                .add(".withInput($L)", opModel.getInput().getVariableName())
-                                               .add(HttpChecksumRequiredTrait.putHttpChecksumAttribute(opModel));
+                                               .add(HttpChecksumRequiredTrait.putHttpChecksumAttribute(opModel))
+                                               .add(IdempotentTrait.putIdempotentAttribute(opModel));
 
         s3ArnableFields(opModel, model).ifPresent(codeBlock::add);
 
@@ -172,7 +174,8 @@ public final class XmlProtocolSpec extends QueryProtocolSpec {
                      .add(hostPrefixExpression(opModel))
                      .add(".withMetricCollector(apiCallMetricCollector)\n")
                      .add(asyncRequestBody(opModel))
-                     .add(HttpChecksumRequiredTrait.putHttpChecksumAttribute(opModel));
+                     .add(HttpChecksumRequiredTrait.putHttpChecksumAttribute(opModel))
+                     .add(IdempotentTrait.putIdempotentAttribute(opModel));
 
         s3ArnableFields(opModel, model).ifPresent(builder::add);
         builder.add(".withInput($L) $L);", opModel.getInput().getVariableName(), opModel.hasStreamingOutput() ?
@@ -193,6 +193,7 @@ final class DefaultJsonClient implements JsonClient {
                              .withOperationName("APostOperationWithOutput").withResponseHandler(responseHandler)
                              .withErrorResponseHandler(errorResponseHandler).withInput(aPostOperationWithOutputRequest)
                              .withMetricCollector(apiCallMetricCollector)
+                             .putExecutionAttribute(SdkInternalExecutionAttribute.IDEMPOTENT_OPERATION, true)
                              .withMarshaller(new APostOperationWithOutputRequestMarshaller(protocolFactory)));
         } finally {
             metricPublishers.forEach(p -> p.publish(apiCallMetricCollector.collect()));
@@ -27,7 +27,20 @@ public final class Aws4Signer extends BaseAws4Signer {
     private Aws4Signer() {
     }
 
+    private Aws4Signer(SigningKeyCache signingKeyCache) {
+        super(signingKeyCache);
+    }
+
     public static Aws4Signer create() {
         return new Aws4Signer();
     }
+
+    /**
+     * Creates a signer that caches derived signing keys in the given cache instead of the cache shared by default.
+     *
+     * @param signingKeyCache The cache of signing keys.
+     */
+    public static Aws4Signer create(SigningKeyCache signingKeyCache) {
+        return new Aws4Signer(signingKeyCache);
+    }
 }
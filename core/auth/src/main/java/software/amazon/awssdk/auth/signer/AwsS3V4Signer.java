@@ -26,7 +26,20 @@ public final class AwsS3V4Signer extends AbstractAwsS3V4Signer {
     private AwsS3V4Signer() {
     }
 
+    private AwsS3V4Signer(SigningKeyCache signingKeyCache) {
+        super(signingKeyCache);
+    }
+
     public static AwsS3V4Signer create() {
         return new AwsS3V4Signer();
     }
+
+    /**
+     * Creates a signer that caches derived signing keys in the given cache instead of the cache shared by default.
+     *
+     * @param signingKeyCache The cache of signing keys.
+     */
+    public static AwsS3V4Signer create(SigningKeyCache signingKeyCache) {
+        return new AwsS3V4Signer(signingKeyCache);
+    }
 }
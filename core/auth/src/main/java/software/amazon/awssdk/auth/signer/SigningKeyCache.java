@@ -0,0 +1,78 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+
+package software.amazon.awssdk.auth.signer;
+
+import java.time.Instant;
+import software.amazon.awssdk.annotations.SdkPublicApi;
+import software.amazon.awssdk.annotations.ThreadSafe;
+import software.amazon.awssdk.auth.signer.internal.DefaultSigningKeyCache;
+
+/**
+ * A cache of derived AWS SigV4 signing keys. Deriving a signing key takes four HMAC operations, and a key can be reused for
+ * every request signed with the same credentials, region and service on the same day.
+ *
+ * <p>Unless one is configured with {@link Aws4Signer#create(SigningKeyCache)} or
+ * {@link AwsS3V4Signer#create(SigningKeyCache)}, all SigV4 signers share a cache of {@value #DEFAULT_MAX_SIZE} entries.
+ * Applications that sign with many different credentials can configure a larger cache to avoid deriving keys repeatedly.
+ *
+ * <p>Cache keys are opaque strings made of a SHA-256 hash of the credentials and the region and service of a signing key.
+ * They hold no secret material, so implementations may log them or store them outside of the JVM.
+ */
+@SdkPublicApi
+@ThreadSafe
+public interface SigningKeyCache {
+
+    /**
+     * The maximum number of entries in the cache returned by {@link #create()}.
+     */
+    int DEFAULT_MAX_SIZE = 300;
+
+    /**
+     * Returns the signing key cached under the given key, if it was derived for the same day as the given signing date.
+     *
+     * @param cacheKey An opaque key identifying the credentials, region and service of the signing key.
+     * @param signingDate The date of the request being signed.
+     * @return The signing key, or null if no key valid for the signing date is cached.
+     */
+    byte[] get(String cacheKey, Instant signingDate);
+
+    /**
+     * Caches a signing key that was derived for the given signing date.
+     *
+     * @param cacheKey An opaque key identifying the credentials, region and service of the signing key.
+     * @param signingDate The date the signing key was derived for.
+     * @param signingKey The signing key.
+     */
+    void put(String cacheKey, Instant signingDate, byte[] signingKey);
+
+    /**
+     * Creates a cache that holds up to {@value #DEFAULT_MAX_SIZE} signing keys.
+     */
+    static SigningKeyCache create() {
+        return create(DEFAULT_MAX_SIZE);
+    }
+
+    /**
+     * Creates a cache that holds up to the given number of signing keys, evicting the earliest added key when it is full.
+     * Lookups do not block, so the cache can be shared by any number of signing threads.
+     *
+     * @param maxSize The maximum number of signing keys to cache.
+     */
+    static SigningKeyCache create(int maxSize) {
+        return new DefaultSigningKeyCache(maxSize);
+    }
+}
@@ -25,12 +25,14 @@ import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
 import java.util.TreeMap;
-import java.util.stream.Collectors;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import software.amazon.awssdk.annotations.SdkInternalApi;
 import software.amazon.awssdk.auth.credentials.AwsCredentials;
 import software.amazon.awssdk.auth.credentials.AwsSessionCredentials;
 import software.amazon.awssdk.auth.signer.Aws4Signer;
 import software.amazon.awssdk.auth.signer.AwsSignerExecutionAttribute;
+import software.amazon.awssdk.auth.signer.SigningKeyCache;
 import software.amazon.awssdk.auth.signer.params.Aws4PresignerParams;
 import software.amazon.awssdk.auth.signer.params.Aws4SignerParams;
 import software.amazon.awssdk.core.exception.SdkClientException;
@@ -39,6 +41,7 @@ import software.amazon.awssdk.core.signer.Presigner;
 import software.amazon.awssdk.http.SdkHttpFullRequest;
 import software.amazon.awssdk.utils.BinaryUtils;
 import software.amazon.awssdk.utils.Logger;
+import software.amazon.awssdk.utils.Validate;
 import software.amazon.awssdk.utils.http.SdkHttpUtils;
 
 /**
@@ -53,12 +56,31 @@ public abstract class AbstractAws4Signer<T extends Aws4SignerParams, U extends A
     public static final String EMPTY_STRING_SHA256_HEX = BinaryUtils.toHex(hash(""));
 
     private static final Logger LOG = Logger.loggerFor(Aws4Signer.class);
-    private static final int SIGNER_CACHE_MAX_SIZE = 300;
-    private static final FifoCache<SignerKey> SIGNER_CACHE =
-        new FifoCache<>(SIGNER_CACHE_MAX_SIZE);
+    private static final SigningKeyCache DEFAULT_SIGNING_KEY_CACHE = SigningKeyCache.create();
+    private static final int MAX_CACHED_HEADER_NAMES = 512;
+    private static final ConcurrentMap<String, String> LOWER_CASE_HEADER_NAMES = new ConcurrentHashMap<>();
     private static final List<String> LIST_OF_HEADERS_TO_IGNORE_IN_LOWER_CASE =
         Arrays.asList("connection", "x-amzn-trace-id", "user-agent", "expect");
 
+    private final SigningKeyCache signingKeyCache;
+
+    /**
+     * The digest of the credentials this signer signed with last. Credentials providers hand out the same instance until the
+     * credentials change, so this saves hashing the credentials for every request.
+     */
+    private volatile CredentialsDigest lastCredentialsDigest;
+
+    /**
+     * Creates a signer that caches signing keys in the cache shared by all signers that were not given their own.
+     */
+    protected AbstractAws4Signer() {
+        this(DEFAULT_SIGNING_KEY_CACHE);
+    }
+
+    protected AbstractAws4Signer(SigningKeyCache signingKeyCache) {
+        this.signingKeyCache = Validate.paramNotNull(signingKeyCache, "signingKeyCache");
+    }
+
     protected SdkHttpFullRequest.Builder doSign(SdkHttpFullRequest request,
                                                 Aws4SignerRequestParams requestParams,
                                                 T signingParams) {
@@ -88,13 +110,13 @@ public abstract class AbstractAws4Signer<T extends Aws4SignerParams, U extends A
         Map<String, List<String>> canonicalHeaders = canonicalizeSigningHeaders(mutableRequest.headers());
         String signedHeadersString = getSignedHeadersString(canonicalHeaders);
 
-        String canonicalRequest = createCanonicalRequest(mutableRequest,
-                                                         canonicalHeaders,
-                                                         signedHeadersString,
-                                                         contentSha256,
-                                                         signingParams.doubleUrlEncode());
+        byte[] canonicalRequestHash = hashCanonicalRequest(mutableRequest,
+                                                           canonicalHeaders,
+                                                           signedHeadersString,
+                                                           contentSha256,
+                                                           signingParams.doubleUrlEncode());
 
-        String stringToSign = createStringToSign(canonicalRequest, requestParams);
+        String stringToSign = createStringToSign(canonicalRequestHash, requestParams);
 
         byte[] signingKey = deriveSigningKey(sanitizedCredentials, requestParams);
 
@@ -135,10 +157,10 @@ public abstract class AbstractAws4Signer<T extends Aws4SignerParams, U extends A
 
         String contentSha256 = calculateContentHashPresign(mutableRequest, signingParams);
 
-        String canonicalRequest = createCanonicalRequest(mutableRequest, canonicalizedHeaders, signedHeadersString,
-                                                         contentSha256, signingParams.doubleUrlEncode());
+        byte[] canonicalRequestHash = hashCanonicalRequest(mutableRequest, canonicalizedHeaders, signedHeadersString,
+                                                           contentSha256, signingParams.doubleUrlEncode());
 
-        String stringToSign = createStringToSign(canonicalRequest, requestParams);
+        String stringToSign = createStringToSign(canonicalRequestHash, requestParams);
 
         byte[] signingKey = deriveSigningKey(sanitizedCredentials, requestParams);
 
@@ -190,10 +212,10 @@ public abstract class AbstractAws4Signer<T extends Aws4SignerParams, U extends A
 
     protected final byte[] deriveSigningKey(AwsCredentials credentials, Instant signingInstant, String region, String service) {
         String cacheKey = createSigningCacheKeyName(credentials, region, service);
-        SignerKey signerKey = SIGNER_CACHE.get(cacheKey);
+        byte[] cachedSigningKey = signingKeyCache.get(cacheKey, signingInstant);
 
-        if (signerKey != null && signerKey.isValidForDate(signingInstant)) {
-            return signerKey.getSigningKey();
+        if (cachedSigningKey != null) {
+            return cachedSigningKey;
         }
 
         LOG.trace(() -> "Generating a new signing key as the signing key not available in the cache for the date: " +
@@ -202,7 +224,7 @@ public abstract class AbstractAws4Signer<T extends Aws4SignerParams, U extends A
                 Aws4SignerUtils.formatDateStamp(signingInstant),
                 region,
                 service);
-        SIGNER_CACHE.add(cacheKey, new SignerKey(signingInstant, signingKey));
+        signingKeyCache.put(cacheKey, signingInstant, signingKey);
         return signingKey;
     }
 
@@ -210,28 +232,30 @@ public abstract class AbstractAws4Signer<T extends Aws4SignerParams, U extends A
      * Step 1 of the AWS Signature version 4 calculation. Refer to
      * http://docs.aws
      * .amazon.com/general/latest/gr/sigv4-create-canonical-request.html to
-     * generate the canonical request.
+     * generate the canonical request. The canonical request is written into a reused per-thread buffer and only its hash is
+     * returned, which is all that the string to sign needs.
      */
-    private String createCanonicalRequest(SdkHttpFullRequest.Builder request,
-                                          Map<String, List<String>> canonicalHeaders,
-                                          String signedHeadersString,
-                                          String contentSha256,
-                                          boolean doubleUrlEncode) {
-        String canonicalRequest = request.method().toString() +
-                                  SignerConstant.LINE_SEPARATOR +
-                                  // This would optionally double url-encode the resource path
-                                  getCanonicalizedResourcePath(request.encodedPath(), doubleUrlEncode) +
-                                  SignerConstant.LINE_SEPARATOR +
-                                  getCanonicalizedQueryString(request.rawQueryParameters()) +
-                                  SignerConstant.LINE_SEPARATOR +
-                                  getCanonicalizedHeaderString(canonicalHeaders) +
-                                  SignerConstant.LINE_SEPARATOR +
-                                  signedHeadersString +
-                                  SignerConstant.LINE_SEPARATOR +
-                                  contentSha256;
+    private byte[] hashCanonicalRequest(SdkHttpFullRequest.Builder request,
+                                        Map<String, List<String>> canonicalHeaders,
+                                        String signedHeadersString,
+                                        String contentSha256,
+                                        boolean doubleUrlEncode) {
+        CanonicalRequestWriter canonicalRequest = CanonicalRequestWriter.get();
+        canonicalRequest.append(request.method().toString())
+                        .append(SignerConstant.LINE_SEPARATOR)
+                        // This would optionally double url-encode the resource path
+                        .append(getCanonicalizedResourcePath(request.encodedPath(), doubleUrlEncode))
+                        .append(SignerConstant.LINE_SEPARATOR);
+        appendCanonicalizedQueryString(canonicalRequest, request.rawQueryParameters());
+        canonicalRequest.append(SignerConstant.LINE_SEPARATOR);
+        appendCanonicalizedHeaderString(canonicalRequest, canonicalHeaders);
+        canonicalRequest.append(SignerConstant.LINE_SEPARATOR)
+                        .append(signedHeadersString)
+                        .append(SignerConstant.LINE_SEPARATOR)
+                        .append(contentSha256);
 
         LOG.trace(() -> "AWS4 Canonical Request: " + canonicalRequest);
-        return canonicalRequest;
+        return canonicalRequest.digest(getMessageDigestInstance());
     }
 
     /**
@@ -239,7 +263,7 @@ public abstract class AbstractAws4Signer<T extends Aws4SignerParams, U extends A
      * http://docs.aws
      * .amazon.com/general/latest/gr/sigv4-create-string-to-sign.html.
      */
-    private String createStringToSign(String canonicalRequest,
+    private String createStringToSign(byte[] canonicalRequestHash,
                                       Aws4SignerRequestParams requestParams) {
 
         String stringToSign = requestParams.getSigningAlgorithm() +
@@ -248,16 +272,31 @@ public abstract class AbstractAws4Signer<T extends Aws4SignerParams, U extends A
                                     SignerConstant.LINE_SEPARATOR +
                                     requestParams.getScope() +
                                     SignerConstant.LINE_SEPARATOR +
-                                    BinaryUtils.toHex(hash(canonicalRequest));
+                                    BinaryUtils.toHex(canonicalRequestHash);
 
         LOG.debug(() -> "AWS4 String to sign: " + stringToSign);
         return stringToSign;
     }
 
+    /**
+     * Creates the key a signing key is cached under. The key identifies the credentials by a SHA-256 hash, so that no secret
+     * material is handed to the {@link SigningKeyCache}.
+     */
     private String createSigningCacheKeyName(AwsCredentials credentials,
                                              String regionName,
                                              String serviceName) {
-        return credentials.secretAccessKey() + "-" + regionName + "-" + serviceName;
+        return credentialsDigest(credentials) + "\n" + regionName + "\n" + serviceName;
+    }
+
+    private String credentialsDigest(AwsCredentials credentials) {
+        CredentialsDigest last = lastCredentialsDigest;
+        if (last != null && last.credentials == credentials) {
+            return last.digest;
+        }
+
+        String digest = BinaryUtils.toHex(hash(credentials.secretAccessKey() + "\n" + credentials.accessKeyId()));
+        lastCredentialsDigest = new CredentialsDigest(credentials, digest);
+        return digest;
     }
 
     /**
@@ -309,78 +348,56 @@ public abstract class AbstractAws4Signer<T extends Aws4SignerParams, U extends A
         Map<String, List<String>> result = new TreeMap<>();
 
         for (Map.Entry<String, List<String>> header : headers.entrySet()) {
-            String lowerCaseHeader = lowerCase(header.getKey());
+            String lowerCaseHeader = lowerCaseHeaderName(header.getKey());
             if (LIST_OF_HEADERS_TO_IGNORE_IN_LOWER_CASE.contains(lowerCaseHeader)) {
                 continue;
             }
 
-            result.computeIfAbsent(lowerCaseHeader, x -> new ArrayList<>()).addAll(header.getValue());
+            List<String> existingValues = result.putIfAbsent(lowerCaseHeader, header.getValue());
+            if (existingValues != null) {
+                // The same header was set with different casing, which only happens on a mutable request builder.
+                List<String> mergedValues = new ArrayList<>(existingValues);
+                mergedValues.addAll(header.getValue());
+                result.put(lowerCaseHeader, mergedValues);
+            }
         }
 
         return result;
     }
 
-    private String getCanonicalizedHeaderString(Map<String, List<String>> canonicalizedHeaders) {
-        StringBuilder buffer = new StringBuilder();
-
-        canonicalizedHeaders.forEach((headerName, headerValues) -> {
-            buffer.append(headerName);
-            buffer.append(":");
-            buffer.append(String.join(",", trimAll(headerValues)));
-            buffer.append("\n");
-        });
-
-        return buffer.toString();
-    }
-
     /**
-     * "The Trimall function removes excess white space before and after values,
-     * and converts sequential spaces to a single space."
-     * <p>
-     * https://docs.aws.amazon.com/general/latest/gr/sigv4-create-canonical-request.html
-     * <p>
-     * The collapse-whitespace logic is equivalent to:
-     * <pre>
-     *     value.replaceAll("\\s+", " ")
-     * </pre>
-     * but does not create a Pattern object that needs to compile the match
-     * string; it also prevents us from having to make a Matcher object as well.
+     * Returns the lower case form of a header name. Requests are signed with a small, recurring set of header names, so their
+     * lower case forms are cached instead of being created again for every request.
      */
-    private String trimAll(String value) {
-        boolean previousIsWhiteSpace = false;
-        StringBuilder sb = new StringBuilder(value.length());
-
-        for (int i = 0; i < value.length(); i++) {
-            char ch = value.charAt(i);
-            if (isWhiteSpace(ch)) {
-                if (previousIsWhiteSpace) {
-                    continue;
-                }
-                sb.append(' ');
-                previousIsWhiteSpace = true;
-            } else {
-                sb.append(ch);
-                previousIsWhiteSpace = false;
+    private static String lowerCaseHeaderName(String headerName) {
+        String lowerCaseHeader = LOWER_CASE_HEADER_NAMES.get(headerName);
+        if (lowerCaseHeader == null) {
+            lowerCaseHeader = lowerCase(headerName);
+            if (LOWER_CASE_HEADER_NAMES.size() < MAX_CACHED_HEADER_NAMES) {
+                LOWER_CASE_HEADER_NAMES.put(headerName, lowerCaseHeader);
             }
         }
-
-        return sb.toString().trim();
-    }
-
-    private List<String> trimAll(List<String> values) {
-        return values.stream().map(this::trimAll).collect(Collectors.toList());
+        return lowerCaseHeader;
     }
 
     /**
-     * Tests a char to see if is it whitespace.
-     * This method considers the same characters to be white
-     * space as the Pattern class does when matching \s
-     *
-     * @param ch the character to be tested
-     * @return true if the character is white  space, false otherwise.
+     * Writes each header as "name:value1,value2\n", with every value transformed by the "Trimall" function: "The Trimall
+     * function removes excess white space before and after values, and converts sequential spaces to a single space."
+     * <p>
+     * https://docs.aws.amazon.com/general/latest/gr/sigv4-create-canonical-request.html
      */
-    private boolean isWhiteSpace(final char ch) {
-        return ch == ' ' || ch == '\t' || ch == '\n' || ch == '\u000b' || ch == '\r' || ch == '\f';
+    private void appendCanonicalizedHeaderString(CanonicalRequestWriter writer,
+                                                 Map<String, List<String>> canonicalizedHeaders) {
+        canonicalizedHeaders.forEach((headerName, headerValues) -> {
+            writer.append(headerName).append(':');
+            for (int i = 0; i < headerValues.size(); i++) {
+                if (i > 0) {
+                    writer.append(',');
+                }
+                writer.appendTrimmed(headerValues.get(i));
+            }
+            writer.append('\n');
+        });
     }
 
     private String getSignedHeadersString(Map<String, List<String>> canonicalizedHeaders) {
@@ -468,4 +485,14 @@ public abstract class AbstractAws4Signer<T extends Aws4SignerParams, U extends A
 
         return paramsBuilder;
     }
+
+    private static final class CredentialsDigest {
+        private final AwsCredentials credentials;
+        private final String digest;
+
+        private CredentialsDigest(AwsCredentials credentials, String digest) {
+            this.credentials = credentials;
+            this.digest = digest;
+        }
+    }
 }
@@ -83,7 +83,7 @@ public abstract class AbstractAwsSigner implements Signer {
     /**
      * Returns the re-usable thread local version of MessageDigest.
      */
-    private static MessageDigest getMessageDigestInstance() {
+    static MessageDigest getMessageDigestInstance() {
         MessageDigest messageDigest = SHA256_MESSAGE_DIGEST.get();
         messageDigest.reset();
         return messageDigest;
@@ -204,43 +204,57 @@ public abstract class AbstractAwsSigner implements Signer {
     }
 
     /**
-     * Examines the specified query string parameters and returns a
-     * canonicalized form.
+     * Writes the canonicalized form of the specified query string parameters directly to the canonical request, without
+     * creating the intermediate flattened query string.
      * <p>
      * The canonicalized query string is formed by first sorting all the query
      * string parameters, then URI encoding both the key and value and then
      * joining them, in order, separating key value pairs with an '&amp;'.
-     *
-     * @param parameters The query string parameters to be canonicalized.
-     * @return A canonicalized form for the specified query string parameters.
      */
-    protected String getCanonicalizedQueryString(Map<String, List<String>> parameters) {
+    void appendCanonicalizedQueryString(CanonicalRequestWriter writer, Map<String, List<String>> parameters) {
+        if (parameters.isEmpty()) {
+            return;
+        }
 
-        SortedMap<String, List<String>> sorted = new TreeMap<>();
+        if (parameters.size() == 1) {
+            Map.Entry<String, List<String>> entry = parameters.entrySet().iterator().next();
+            if (entry.getValue().size() == 1) {
+                appendQueryParameter(writer, SdkHttpUtils.urlEncode(entry.getKey()), encodeQueryValue(entry.getValue().get(0)));
+                return;
+            }
+        }
 
-        /**
-         * Signing protocol expects the param values also to be sorted after url
-         * encoding in addition to sorted parameter names.
-         */
+        SortedMap<String, List<String>> sorted = new TreeMap<>();
         for (Map.Entry<String, List<String>> entry : parameters.entrySet()) {
-            String encodedParamName = SdkHttpUtils.urlEncode(entry.getKey());
             List<String> paramValues = entry.getValue();
             List<String> encodedValues = new ArrayList<>(paramValues.size());
             for (String value : paramValues) {
-                String encodedValue = SdkHttpUtils.urlEncode(value);
-
-                // Null values should be treated as empty for the purposes of signing, not missing.
-                // For example "?foo=" instead of "?foo".
-                String signatureFormattedEncodedValue = encodedValue == null ? "" : encodedValue;
-
-                encodedValues.add(signatureFormattedEncodedValue);
+                encodedValues.add(encodeQueryValue(value));
             }
             Collections.sort(encodedValues);
-            sorted.put(encodedParamName, encodedValues);
+            sorted.put(SdkHttpUtils.urlEncode(entry.getKey()), encodedValues);
+        }
 
+        boolean first = true;
+        for (Map.Entry<String, List<String>> entry : sorted.entrySet()) {
+            for (String encodedValue : entry.getValue()) {
+                if (!first) {
+                    writer.append('&');
+                }
+                appendQueryParameter(writer, entry.getKey(), encodedValue);
+                first = false;
+            }
         }
+    }
+
+    private static String encodeQueryValue(String value) {
+        // Null values should be treated as empty for the purposes of signing, not missing.
+        String encodedValue = SdkHttpUtils.urlEncode(value);
+        return encodedValue == null ? "" : encodedValue;
+    }
 
-        return SdkHttpUtils.flattenQueryParameters(sorted).orElse("");
+    private static void appendQueryParameter(CanonicalRequestWriter writer, String encodedName, String encodedValue) {
+        writer.append(encodedName).append('=').append(encodedValue);
     }
 
     protected InputStream getBinaryRequestPayloadStream(ContentStreamProvider streamProvider) {
@@ -17,6 +17,7 @@ package software.amazon.awssdk.auth.signer.internal;
 
 import software.amazon.awssdk.annotations.SdkInternalApi;
 import software.amazon.awssdk.auth.credentials.CredentialUtils;
+import software.amazon.awssdk.auth.signer.SigningKeyCache;
 import software.amazon.awssdk.auth.signer.params.Aws4PresignerParams;
 import software.amazon.awssdk.auth.signer.params.Aws4SignerParams;
 import software.amazon.awssdk.core.interceptor.ExecutionAttributes;
@@ -28,6 +29,13 @@ import software.amazon.awssdk.http.SdkHttpFullRequest;
 @SdkInternalApi
 public abstract class BaseAws4Signer extends AbstractAws4Signer<Aws4SignerParams, Aws4PresignerParams> {
 
+    protected BaseAws4Signer() {
+    }
+
+    protected BaseAws4Signer(SigningKeyCache signingKeyCache) {
+        super(signingKeyCache);
+    }
+
     @Override
     public SdkHttpFullRequest sign(SdkHttpFullRequest request, ExecutionAttributes executionAttributes) {
         Aws4SignerParams signingParams = extractSignerParams(Aws4SignerParams.builder(), executionAttributes)
@@ -0,0 +1,165 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+
+package software.amazon.awssdk.auth.signer.internal;
+
+import java.security.MessageDigest;
+import software.amazon.awssdk.annotations.NotThreadSafe;
+import software.amazon.awssdk.annotations.SdkInternalApi;
+
+/**
+ * A per-thread, reusable buffer that the SigV4 canonical request is written into and hashed from, so that signing a request
+ * does not allocate the intermediate strings of the canonical request or its UTF-8 encoding.
+ *
+ * <p>An instance is obtained with {@link #get()} and must not be used after the next call to {@link #get()} on the same
+ * thread.
+ */
+@NotThreadSafe
+@SdkInternalApi
+final class CanonicalRequestWriter {
+
+    /**
+     * Buffers that grew beyond this many characters to sign an unusually large request are not kept for the next request.
+     */
+    private static final int MAX_RETAINED_CAPACITY = 64 * 1024;
+
+    private static final ThreadLocal<CanonicalRequestWriter> WRITERS = ThreadLocal.withInitial(CanonicalRequestWriter::new);
+
+    private StringBuilder chars = new StringBuilder(1024);
+    private byte[] bytes = new byte[1024];
+
+    private CanonicalRequestWriter() {
+    }
+
+    /**
+     * Returns this thread's writer, emptied.
+     */
+    static CanonicalRequestWriter get() {
+        CanonicalRequestWriter writer = WRITERS.get();
+        if (writer.chars.capacity() > MAX_RETAINED_CAPACITY) {
+            writer.chars = new StringBuilder(1024);
+            writer.bytes = new byte[1024];
+        } else {
+            writer.chars.setLength(0);
+        }
+        return writer;
+    }
+
+    CanonicalRequestWriter append(String value) {
+        chars.append(value);
+        return this;
+    }
+
+    CanonicalRequestWriter append(char value) {
+        chars.append(value);
+        return this;
+    }
+
+    /**
+     * Appends a header value as the SigV4 "Trimall" function would transform it: leading and trailing white space is removed,
+     * and each run of white space inside the value is replaced by a single space. This is equivalent to
+     * {@code value.replaceAll("\\s+", " ").trim()} without the intermediate strings.
+     */
+    CanonicalRequestWriter appendTrimmed(String value) {
+        int start = 0;
+        int end = value.length();
+        while (start < end && value.charAt(start) <= ' ') {
+            start++;
+        }
+        while (end > start && value.charAt(end - 1) <= ' ') {
+            end--;
+        }
+
+        boolean previousIsWhiteSpace = false;
+        for (int i = start; i < end; i++) {
+            char ch = value.charAt(i);
+            if (isWhiteSpace(ch)) {
+                if (!previousIsWhiteSpace) {
+                    chars.append(' ');
+                    previousIsWhiteSpace = true;
+                }
+            } else {
+                chars.append(ch);
+                previousIsWhiteSpace = false;
+            }
+        }
+        return this;
+    }
+
+    /**
+     * Hashes the UTF-8 encoding of everything written so far with the given digest, which is reset first.
+     */
+    byte[] digest(MessageDigest messageDigest) {
+        int length = encodeUtf8();
+        messageDigest.reset();
+        messageDigest.update(bytes, 0, length);
+        return messageDigest.digest();
+    }
+
+    @Override
+    public String toString() {
+        return chars.toString();
+    }
+
+    /**
+     * Encodes the characters into the reused byte buffer. Unpaired surrogates are replaced with '?', as
+     * {@link String#getBytes(java.nio.charset.Charset)} does.
+     */
+    private int encodeUtf8() {
+        int length = chars.length();
+        if (bytes.length < length * 3) {
+            bytes = new byte[length * 3];
+        }
+
+        int position = 0;
+        for (int i = 0; i < length; i++) {
+            char ch = chars.charAt(i);
+            if (ch < 0x80) {
+                bytes[position++] = (byte) ch;
+            } else if (ch < 0x800) {
+                bytes[position++] = (byte) (0xC0 | (ch >> 6));
+                bytes[position++] = (byte) (0x80 | (ch & 0x3F));
+            } else if (Character.isSurrogate(ch)) {
+                if (Character.isHighSurrogate(ch) && i + 1 < length && Character.isLowSurrogate(chars.charAt(i + 1))) {
+                    int codePoint = Character.toCodePoint(ch, chars.charAt(++i));
+                    bytes[position++] = (byte) (0xF0 | (codePoint >> 18));
+                    bytes[position++] = (byte) (0x80 | ((codePoint >> 12) & 0x3F));
+                    bytes[position++] = (byte) (0x80 | ((codePoint >> 6) & 0x3F));
+                    bytes[position++] = (byte) (0x80 | (codePoint & 0x3F));
+                } else {
+                    bytes[position++] = (byte) '?';
+                }
+            } else {
+                bytes[position++] = (byte) (0xE0 | (ch >> 12));
+                bytes[position++] = (byte) (0x80 | ((ch >> 6) & 0x3F));
+                bytes[position++] = (byte) (0x80 | (ch & 0x3F));
+            }
+        }
+        return position;
+    }
+
+    /**
+     * Tests a char to see if is it whitespace.
+     * This method considers the same characters to be white
+     * space as the Pattern class does when matching \s
+     *
+     * @param ch the character to be tested
+     * @return true if the character is white  space, false otherwise.
+     */
+    private static boolean isWhiteSpace(char ch) {
+        return ch == ' ' || ch == '\t' || ch == '\n' || ch == '\u000b' || ch == '\r' || ch == '\f';
+    }
+}
@@ -0,0 +1,80 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+
+package software.amazon.awssdk.auth.signer.internal;
+
+import java.time.Instant;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentMap;
+import software.amazon.awssdk.annotations.SdkInternalApi;
+import software.amazon.awssdk.annotations.ThreadSafe;
+import software.amazon.awssdk.auth.signer.SigningKeyCache;
+import software.amazon.awssdk.utils.Validate;
+
+/**
+ * Default {@link SigningKeyCache}, backed by a {@link ConcurrentHashMap} so that lookups on the signing path never take a
+ * lock. Keys are evicted in insertion order once the cache is full, and an entry is replaced when a key for a later day is
+ * derived.
+ */
+@ThreadSafe
+@SdkInternalApi
+public final class DefaultSigningKeyCache implements SigningKeyCache {
+
+    private final int maxSize;
+    private final ConcurrentMap<String, SignerKey> signerKeys;
+    private final Queue<String> insertionOrder = new ConcurrentLinkedQueue<>();
+
+    public DefaultSigningKeyCache(int maxSize) {
+        this.maxSize = Validate.isPositive(maxSize, "maxSize");
+        this.signerKeys = new ConcurrentHashMap<>(Math.min(maxSize, 1024));
+    }
+
+    @Override
+    public byte[] get(String cacheKey, Instant signingDate) {
+        SignerKey signerKey = signerKeys.get(cacheKey);
+        if (signerKey == null || !signerKey.isValidForDate(signingDate)) {
+            return null;
+        }
+        return signerKey.getSigningKey();
+    }
+
+    @Override
+    public void put(String cacheKey, Instant signingDate, byte[] signingKey) {
+        if (signerKeys.put(cacheKey, new SignerKey(signingDate, signingKey)) == null) {
+            insertionOrder.add(cacheKey);
+            evictIfFull();
+        }
+    }
+
+    /**
+     * Returns the current number of cached signing keys.
+     */
+    public int size() {
+        return signerKeys.size();
+    }
+
+    private void evictIfFull() {
+        while (signerKeys.size() > maxSize) {
+            String eldest = insertionOrder.poll();
+            if (eldest == null) {
+                return;
+            }
+            signerKeys.remove(eldest);
+        }
+    }
+}
@@ -24,9 +24,12 @@ import java.io.ByteArrayInputStream;
 import java.net.URI;
 import java.text.SimpleDateFormat;
 import java.time.Clock;
+import java.time.Instant;
+import java.util.ArrayList;
 import java.util.Calendar;
 import java.util.Date;
 import java.util.GregorianCalendar;
+import java.util.List;
 import java.util.SimpleTimeZone;
 import java.util.TimeZone;
 import org.junit.Before;
@@ -198,6 +201,34 @@ public class Aws4SignerTest {
                       + "Signature=6d3520e3397e7aba593d8ebd8361fc4405e90aed71bc4c7a09dcacb6f72460b9");
     }
 
+    @Test
+    public void signingKeyCache_cacheKeys_doNotContainSecretKey() throws Exception {
+        List<String> cacheKeys = new ArrayList<>();
+        SigningKeyCache delegate = SigningKeyCache.create();
+        Aws4Signer cachingSigner = Aws4Signer.create(new SigningKeyCache() {
+            @Override
+            public byte[] get(String cacheKey, Instant signingDate) {
+                cacheKeys.add(cacheKey);
+                return delegate.get(cacheKey, signingDate);
+            }
+
+            @Override
+            public void put(String cacheKey, Instant signingDate, byte[] signingKey) {
+                cacheKeys.add(cacheKey);
+                delegate.put(cacheKey, signingDate, signingKey);
+            }
+        });
+
+        SignerTestUtils.signRequest(cachingSigner, generateBasicRequest().build(), AwsBasicCredentials.create("access", "secret"),
+                                    "demo", signingOverrideClock, "us-east-1");
+        SignerTestUtils.signRequest(cachingSigner, generateBasicRequest().build(), AwsBasicCredentials.create("other", "secret"),
+                                    "demo", signingOverrideClock, "us-east-1");
+
+        assertThat(cacheKeys).hasSize(4).allSatisfy(k -> assertThat(k).doesNotContain("secret")
+                                                                    .matches("[0-9a-f]{64}\\nus-east-1\\ndemo"));
+        assertThat(cacheKeys.get(0)).isEqualTo(cacheKeys.get(1)).isNotEqualTo(cacheKeys.get(2));
+    }
+
     private SdkHttpFullRequest.Builder generateBasicRequest() {
         return SdkHttpFullRequest.builder()
                                  .contentStreamProvider(() -> new ByteArrayInputStream("{\"TableName\": \"foo\"}".getBytes()))
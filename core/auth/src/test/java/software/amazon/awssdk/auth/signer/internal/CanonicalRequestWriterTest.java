@@ -0,0 +1,51 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+
+package software.amazon.awssdk.auth.signer.internal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import org.junit.Test;
+
+public class CanonicalRequestWriterTest {
+
+    @Test
+    public void appendTrimmed_removesOuterWhiteSpaceAndCollapsesInnerWhiteSpace() {
+        CanonicalRequestWriter writer = CanonicalRequestWriter.get();
+        writer.appendTrimmed("  \t a  b\t\n c \r\n").append(',').appendTrimmed("value").append(',').appendTrimmed("   ");
+
+        assertThat(writer.toString()).isEqualTo("a b c,value,");
+    }
+
+    @Test
+    public void get_returnsEmptiedWriter() {
+        CanonicalRequestWriter.get().append("first");
+
+        assertThat(CanonicalRequestWriter.get().toString()).isEmpty();
+    }
+
+    @Test
+    public void digest_matchesDigestOfUtf8Bytes() throws Exception {
+        String value = "GET\n/caf\u00e9\n\u20ac=\ud83d\ude00\nunpaired:\ud83d\n";
+        MessageDigest messageDigest = MessageDigest.getInstance("SHA-256");
+
+        byte[] digest = CanonicalRequestWriter.get().append(value).digest(messageDigest);
+
+        assertThat(digest).isEqualTo(MessageDigest.getInstance("SHA-256").digest(value.getBytes(StandardCharsets.UTF_8)));
+    }
+}
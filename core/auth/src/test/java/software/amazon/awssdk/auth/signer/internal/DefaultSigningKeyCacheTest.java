@@ -0,0 +1,87 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+
+package software.amazon.awssdk.auth.signer.internal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.time.Duration;
+import java.time.Instant;
+import org.junit.Test;
+
+public class DefaultSigningKeyCacheTest {
+
+    private static final Instant DAY = Instant.parse("2021-06-01T10:00:00Z");
+    private static final byte[] KEY_1 = {1};
+    private static final byte[] KEY_2 = {2};
+
+    @Test
+    public void get_sameDay_returnsCachedKey() {
+        DefaultSigningKeyCache cache = new DefaultSigningKeyCache(3);
+        cache.put("k1", DAY, KEY_1);
+
+        assertThat(cache.get("k1", DAY.plus(Duration.ofHours(10)))).containsExactly(KEY_1);
+        assertThat(cache.get("k2", DAY)).isNull();
+    }
+
+    @Test
+    public void get_otherDay_returnsNull() {
+        DefaultSigningKeyCache cache = new DefaultSigningKeyCache(3);
+        cache.put("k1", DAY, KEY_1);
+
+        assertThat(cache.get("k1", DAY.plus(Duration.ofDays(1)))).isNull();
+    }
+
+    @Test
+    public void put_existingKey_replacesEntry() {
+        DefaultSigningKeyCache cache = new DefaultSigningKeyCache(3);
+        Instant nextDay = DAY.plus(Duration.ofDays(1));
+        cache.put("k1", DAY, KEY_1);
+        cache.put("k1", nextDay, KEY_2);
+
+        assertThat(cache.size()).isEqualTo(1);
+        assertThat(cache.get("k1", nextDay)).containsExactly(KEY_2);
+    }
+
+    @Test
+    public void put_full_evictsEarliestAddedKey() {
+        DefaultSigningKeyCache cache = new DefaultSigningKeyCache(2);
+        cache.put("k1", DAY, KEY_1);
+        cache.put("k2", DAY, KEY_1);
+        cache.put("k3", DAY, KEY_1);
+
+        assertThat(cache.size()).isEqualTo(2);
+        assertThat(cache.get("k1", DAY)).isNull();
+        assertThat(cache.get("k2", DAY)).isNotNull();
+        assertThat(cache.get("k3", DAY)).isNotNull();
+    }
+
+    @Test
+    public void get_returnsCopyOfKey() {
+        DefaultSigningKeyCache cache = new DefaultSigningKeyCache(1);
+        cache.put("k1", DAY, KEY_1);
+
+        cache.get("k1", DAY)[0] = 42;
+
+        assertThat(cache.get("k1", DAY)).containsExactly(KEY_1);
+    }
+
+    @Test
+    public void create_nonPositiveSize_throws() {
+        assertThatThrownBy(() -> new DefaultSigningKeyCache(0)).isInstanceOf(IllegalArgumentException.class);
+    }
+}
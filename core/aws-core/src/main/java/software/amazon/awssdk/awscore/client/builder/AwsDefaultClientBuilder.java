@@ -19,6 +19,7 @@ import java.net.URI;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Supplier;
 import software.amazon.awssdk.annotations.SdkProtectedApi;
 import software.amazon.awssdk.annotations.SdkTestInternalApi;
 import software.amazon.awssdk.auth.credentials.AwsCredentialsProvider;
@@ -267,12 +268,23 @@ public abstract class AwsDefaultClientBuilder<BuilderT extends AwsClientBuilder<
      * Resolve the credentials that should be used based on the customer's configuration.
      */
     private AwsCredentialsProvider resolveCredentials(SdkClientConfiguration config) {
-        return config.option(AwsClientOption.CREDENTIALS_PROVIDER) != null
-               ? config.option(AwsClientOption.CREDENTIALS_PROVIDER)
-               : DefaultCredentialsProvider.builder()
-                                           .profileFile(config.option(SdkClientOption.PROFILE_FILE))
-                                           .profileName(config.option(SdkClientOption.PROFILE_NAME))
-                                           .build();
+        if (config.option(AwsClientOption.CREDENTIALS_PROVIDER) != null) {
+            return config.option(AwsClientOption.CREDENTIALS_PROVIDER);
+        }
+
+        ProfileFile profileFile = config.option(SdkClientOption.PROFILE_FILE);
+        String profileName = config.option(SdkClientOption.PROFILE_NAME);
+        Supplier<DefaultCredentialsProvider> defaultProvider =
+            () -> DefaultCredentialsProvider.builder().profileFile(profileFile).profileName(profileName).build();
+
+        // Clients built with the same runtime share one default provider (and its cached credentials) per profile. The
+        // runtime owns the provider, so the client only gets a view of it that it can not close.
+        return configuredRuntime().<AwsCredentialsProvider>map(runtime -> {
+            DefaultCredentialsProvider sharedProvider =
+                runtime.sharedResource(Arrays.asList(DefaultCredentialsProvider.class, profileFile, profileName),
+                                       defaultProvider);
+            return sharedProvider::resolveCredentials;
+        }).orElseGet(defaultProvider);
     }
 
     private RetryPolicy resolveAwsRetryPolicy(SdkClientConfiguration config) {
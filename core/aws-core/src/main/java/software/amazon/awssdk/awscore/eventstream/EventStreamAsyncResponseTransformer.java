@@ -44,6 +44,7 @@ import software.amazon.awssdk.http.AbortableInputStream;
 import software.amazon.awssdk.http.SdkHttpFullResponse;
 import software.amazon.awssdk.utils.Logger;
 import software.amazon.awssdk.utils.Validate;
+import software.amazon.awssdk.utils.async.PooledByteBuffers;
 import software.amazon.awssdk.utils.http.SdkHttpUtils;
 import software.amazon.eventstream.Message;
 import software.amazon.eventstream.MessageDecoder;
@@ -212,7 +213,11 @@ public final class EventStreamAsyncResponseTransformer<ResponseT, EventT>
         private final MessageDecoder decoder = new MessageDecoder();
 
         private Iterable<Message> decode(ByteBuffer bytes) {
-            decoder.feed(bytes);
+            try {
+                decoder.feed(bytes);
+            } finally {
+                PooledByteBuffers.release(bytes);
+            }
             return decoder.getDecodedMessages();
         }
     }
@@ -17,7 +17,7 @@ package software.amazon.awssdk.metrics;
 
 import software.amazon.awssdk.annotations.NotThreadSafe;
 import software.amazon.awssdk.annotations.SdkPublicApi;
-import software.amazon.awssdk.metrics.internal.DefaultMetricCollector;
+import software.amazon.awssdk.metrics.internal.IndexedMetricCollector;
 
 /**
  * Used to collect metrics reported by the SDK.
@@ -52,6 +52,6 @@ public interface MetricCollector {
     MetricCollection collect();
 
     static MetricCollector create(String name) {
-        return DefaultMetricCollector.create(name);
+        return IndexedMetricCollector.create(name);
     }
 }
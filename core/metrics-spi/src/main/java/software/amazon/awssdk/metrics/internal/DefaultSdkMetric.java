@@ -19,6 +19,7 @@ import java.util.Collections;
 import java.util.EnumSet;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 import software.amazon.awssdk.annotations.SdkInternalApi;
@@ -33,11 +34,13 @@ import software.amazon.awssdk.utils.Validate;
 @SdkInternalApi
 public final class DefaultSdkMetric<T> extends AttributeMap.Key<T> implements SdkMetric<T> {
     private static final ConcurrentHashMap<SdkMetric<?>, Boolean> SDK_METRICS = new ConcurrentHashMap<>();
+    private static final AtomicInteger NEXT_INDEX = new AtomicInteger();
 
     private final String name;
     private final Class<T> clzz;
     private final Set<MetricCategory> categories;
     private final MetricLevel level;
+    private final int index;
 
     private DefaultSdkMetric(String name, Class<T> clzz, MetricLevel level, Set<MetricCategory> categories) {
         super(clzz);
@@ -46,6 +49,22 @@ public final class DefaultSdkMetric<T> extends AttributeMap.Key<T> implements Sd
         this.level = Validate.notNull(level, "level must not be null");
         Validate.notEmpty(categories, "categories must not be empty");
         this.categories = EnumSet.copyOf(categories);
+        this.index = NEXT_INDEX.getAndIncrement();
+    }
+
+    /**
+     * @return A small number that is unique to this metric, used by {@link IndexedMetricCollector} to store its values in an
+     * array instead of a map.
+     */
+    int index() {
+        return index;
+    }
+
+    /**
+     * @return An upper bound on the {@link #index()} of the metrics created so far.
+     */
+    static int indexLimit() {
+        return NEXT_INDEX.get();
     }
 
     /**
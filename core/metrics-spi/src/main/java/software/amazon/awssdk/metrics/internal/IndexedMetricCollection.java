@@ -0,0 +1,131 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+
+package software.amazon.awssdk.metrics.internal;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import software.amazon.awssdk.annotations.SdkInternalApi;
+import software.amazon.awssdk.metrics.MetricCollection;
+import software.amazon.awssdk.metrics.MetricRecord;
+import software.amazon.awssdk.metrics.SdkMetric;
+import software.amazon.awssdk.metrics.internal.IndexedMetricCollector.MetricNode;
+import software.amazon.awssdk.utils.ToString;
+
+/**
+ * The {@link MetricCollection} returned by {@link IndexedMetricCollector#collect()}. It holds the newest record of each metric
+ * at the time it was collected, and only copies the records into lists when they are read. Records reported to the collector
+ * afterwards are not included.
+ */
+@SdkInternalApi
+public final class IndexedMetricCollection implements MetricCollection {
+    private final String name;
+    private final MetricNode<?>[] newestRecords;
+    private final Map<SdkMetric<?>, MetricNode<?>> newestOtherRecords;
+    private final List<MetricCollection> children;
+    private final Instant creationTime;
+
+    IndexedMetricCollection(String name,
+                            MetricNode<?>[] newestRecords,
+                            Map<SdkMetric<?>, MetricNode<?>> newestOtherRecords,
+                            List<MetricCollection> children) {
+        this.name = name;
+        this.newestRecords = newestRecords;
+        this.newestOtherRecords = newestOtherRecords;
+        this.children = Collections.unmodifiableList(children);
+        this.creationTime = Instant.now();
+    }
+
+    @Override
+    public String name() {
+        return name;
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public <T> List<T> metricValues(SdkMetric<T> metric) {
+        int index = IndexedMetricCollector.indexOf(metric, newestRecords.length);
+        MetricNode<?> head = index < 0 ? newestOtherRecords.get(metric) : newestRecords[index];
+        if (head == null) {
+            return Collections.emptyList();
+        }
+        return (List<T>) Collections.unmodifiableList(Arrays.asList(valuesOldestFirst(head)));
+    }
+
+    @Override
+    public List<MetricCollection> children() {
+        return children;
+    }
+
+    @Override
+    public Instant creationTime() {
+        return creationTime;
+    }
+
+    @Override
+    public Iterator<MetricRecord<?>> iterator() {
+        return records().iterator();
+    }
+
+    private List<MetricRecord<?>> records() {
+        List<MetricRecord<?>> records = new ArrayList<>();
+        for (MetricNode<?> head : newestRecords) {
+            if (head != null) {
+                records.addAll(Arrays.asList(recordsOldestFirst(head)));
+            }
+        }
+        for (MetricNode<?> head : newestOtherRecords.values()) {
+            records.addAll(Arrays.asList(recordsOldestFirst(head)));
+        }
+        return records;
+    }
+
+    private static Object[] valuesOldestFirst(MetricNode<?> head) {
+        MetricNode<?>[] records = recordsOldestFirst(head);
+        Object[] values = new Object[records.length];
+        for (int i = 0; i < records.length; i++) {
+            values[i] = records[i].value();
+        }
+        return values;
+    }
+
+    private static MetricNode<?>[] recordsOldestFirst(MetricNode<?> head) {
+        int count = 0;
+        for (MetricNode<?> r = head; r != null; r = r.next()) {
+            count++;
+        }
+        MetricNode<?>[] records = new MetricNode<?>[count];
+        int i = count;
+        for (MetricNode<?> r = head; r != null; r = r.next()) {
+            records[--i] = r;
+        }
+        return records;
+    }
+
+    @Override
+    public String toString() {
+        return ToString.builder("MetricCollection")
+                       .add("name", name)
+                       .add("metrics", records())
+                       .add("children", children)
+                       .build();
+    }
+}
@@ -0,0 +1,174 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+
+package software.amazon.awssdk.metrics.internal;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import software.amazon.awssdk.annotations.SdkInternalApi;
+import software.amazon.awssdk.annotations.ThreadSafe;
+import software.amazon.awssdk.metrics.MetricCollection;
+import software.amazon.awssdk.metrics.MetricCollector;
+import software.amazon.awssdk.metrics.MetricRecord;
+import software.amazon.awssdk.metrics.SdkMetric;
+import software.amazon.awssdk.utils.Logger;
+import software.amazon.awssdk.utils.ToString;
+import software.amazon.awssdk.utils.Validate;
+
+/**
+ * A {@link MetricCollector} that stores the values of each metric in a slot of an array, indexed by
+ * {@link DefaultSdkMetric#index()}, instead of in a synchronized map of lists.
+ *
+ * <p>Each slot holds a linked list of {@link MetricNode}s, newest first, that is appended to with a compare-and-set. Reporting a
+ * metric therefore allocates a single record and takes no lock, and children are added to a lock-free queue.
+ * {@link #collect()} only copies the newest record of each slot: the returned {@link IndexedMetricCollection} reads the
+ * older records through them when a publisher asks for them, and does not see records reported after it was collected.
+ *
+ * <p>The array is sized for the metrics that exist when the collector is created. Metrics created later, and metrics that
+ * are not {@link DefaultSdkMetric}s, are stored in a map instead.
+ */
+@SdkInternalApi
+@ThreadSafe
+public final class IndexedMetricCollector implements MetricCollector {
+    private static final Logger log = Logger.loggerFor(IndexedMetricCollector.class);
+
+    private final String name;
+    private final AtomicReferenceArray<MetricNode<?>> records;
+    private final ConcurrentMap<SdkMetric<?>, MetricNode<?>> otherRecords = new ConcurrentHashMap<>();
+    private final Queue<MetricCollector> children = new ConcurrentLinkedQueue<>();
+
+    private IndexedMetricCollector(String name) {
+        this.name = name;
+        this.records = new AtomicReferenceArray<>(DefaultSdkMetric.indexLimit());
+    }
+
+    public static MetricCollector create(String name) {
+        Validate.notEmpty(name, "name");
+        return new IndexedMetricCollector(name);
+    }
+
+    @Override
+    public String name() {
+        return name;
+    }
+
+    @Override
+    public <T> void reportMetric(SdkMetric<T> metric, T data) {
+        MetricNode<T> record = new MetricNode<>(metric, data);
+        int index = indexOf(metric, records.length());
+        if (index < 0) {
+            otherRecords.compute(metric, (m, head) -> {
+                record.next = head;
+                return record;
+            });
+            return;
+        }
+
+        MetricNode<?> head;
+        do {
+            head = records.get(index);
+            record.next = head;
+        } while (!records.compareAndSet(index, head, record));
+    }
+
+    @Override
+    public MetricCollector createChild(String name) {
+        MetricCollector child = new IndexedMetricCollector(name);
+        children.add(child);
+        return child;
+    }
+
+    @Override
+    public MetricCollection collect() {
+        List<MetricCollection> collectedChildren = new ArrayList<>(children.size());
+        for (MetricCollector child : children) {
+            collectedChildren.add(child.collect());
+        }
+
+        MetricNode<?>[] newestRecords = new MetricNode<?>[records.length()];
+        for (int i = 0; i < newestRecords.length; i++) {
+            newestRecords[i] = records.get(i);
+        }
+        Map<SdkMetric<?>, MetricNode<?>> newestOtherRecords = otherRecords.isEmpty() ? Collections.emptyMap()
+                                                                                     : new HashMap<>(otherRecords);
+
+        MetricCollection collection = new IndexedMetricCollection(name, newestRecords, newestOtherRecords, collectedChildren);
+        log.debug(() -> "Collected metrics records: " + collection);
+        return collection;
+    }
+
+    /**
+     * @return The slot of the given metric in an array of the given length, or -1 if the metric is not stored in a slot.
+     */
+    static int indexOf(SdkMetric<?> metric, int slots) {
+        if (!(metric instanceof DefaultSdkMetric)) {
+            return -1;
+        }
+        int index = ((DefaultSdkMetric<?>) metric).index();
+        return index < slots ? index : -1;
+    }
+
+    @Override
+    public String toString() {
+        return ToString.builder("IndexedMetricCollector")
+                       .add("name", name)
+                       .build();
+    }
+
+    /**
+     * A reported metric value, linked to the value of the same metric that was reported before it.
+     */
+    static final class MetricNode<T> implements MetricRecord<T> {
+        private final SdkMetric<T> metric;
+        private final T value;
+        private MetricNode<?> next;
+
+        private MetricNode(SdkMetric<T> metric, T value) {
+            this.metric = metric;
+            this.value = value;
+        }
+
+        @Override
+        public SdkMetric<T> metric() {
+            return metric;
+        }
+
+        @Override
+        public T value() {
+            return value;
+        }
+
+        MetricNode<?> next() {
+            return next;
+        }
+
+        @Override
+        public String toString() {
+            return ToString.builder("MetricRecord")
+                           .add("metric", metric.name())
+                           .add("value", value)
+                           .build();
+        }
+    }
+}
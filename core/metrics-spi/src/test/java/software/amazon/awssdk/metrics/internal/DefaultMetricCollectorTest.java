@@ -40,13 +40,13 @@ public class DefaultMetricCollectorTest {
 
     @Test
     public void testName_returnsName() {
-        MetricCollector collector = MetricCollector.create("collector");
+        MetricCollector collector = DefaultMetricCollector.create("collector");
         assertThat(collector.name()).isEqualTo("collector");
     }
 
     @Test
     public void testCreateChild_returnsChildWithCorrectName() {
-        MetricCollector parent = MetricCollector.create("parent");
+        MetricCollector parent = DefaultMetricCollector.create("parent");
         MetricCollector child = parent.createChild("child");
 
         assertThat(child.name()).isEqualTo("child");
@@ -54,7 +54,7 @@ public class DefaultMetricCollectorTest {
 
     @Test
     public void testCollect_allReportedMetricsInCollection() {
-        MetricCollector collector = MetricCollector.create("collector");
+        MetricCollector collector = DefaultMetricCollector.create("collector");
         Integer[] values = {1, 2, 3};
         Stream.of(values).forEach(v -> collector.reportMetric(M1, v));
         MetricCollection collect = collector.collect();
@@ -63,7 +63,7 @@ public class DefaultMetricCollectorTest {
 
     @Test
     public void testCollect_returnedCollectionContainsAllChildren() {
-        MetricCollector parent = MetricCollector.create("parent");
+        MetricCollector parent = DefaultMetricCollector.create("parent");
         String[] childNames = {"c1", "c2", "c3" };
         Stream.of(childNames).forEach(parent::createChild);
         MetricCollection collected = parent.collect();
@@ -0,0 +1,154 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+
+package software.amazon.awssdk.metrics.internal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import org.junit.AfterClass;
+import org.junit.Test;
+import software.amazon.awssdk.metrics.MetricCategory;
+import software.amazon.awssdk.metrics.MetricCollection;
+import software.amazon.awssdk.metrics.MetricCollector;
+import software.amazon.awssdk.metrics.MetricLevel;
+import software.amazon.awssdk.metrics.MetricRecord;
+import software.amazon.awssdk.metrics.SdkMetric;
+
+public class IndexedMetricCollectorTest {
+    private static final SdkMetric<Integer> M1 =
+        SdkMetric.create("indexed-m1", Integer.class, MetricLevel.INFO, MetricCategory.CORE);
+    private static final SdkMetric<String> M2 =
+        SdkMetric.create("indexed-m2", String.class, MetricLevel.INFO, MetricCategory.CORE);
+
+    @AfterClass
+    public static void teardown() {
+        DefaultSdkMetric.clearDeclaredMetrics();
+    }
+
+    @Test
+    public void create_isDefaultCollector() {
+        assertThat(MetricCollector.create("collector")).isInstanceOf(IndexedMetricCollector.class);
+    }
+
+    @Test
+    public void collect_valuesAreInReportedOrder() {
+        MetricCollector collector = IndexedMetricCollector.create("collector");
+        Integer[] values = {1, 2, 3};
+        Stream.of(values).forEach(v -> collector.reportMetric(M1, v));
+
+        MetricCollection collection = collector.collect();
+
+        assertThat(collection.name()).isEqualTo("collector");
+        assertThat(collection.metricValues(M1)).containsExactly(values);
+        assertThat(collection.metricValues(M2)).isEmpty();
+    }
+
+    @Test
+    public void collect_iteratorContainsAllRecords() {
+        MetricCollector collector = IndexedMetricCollector.create("collector");
+        collector.reportMetric(M1, 1);
+        collector.reportMetric(M2, "a");
+        collector.reportMetric(M1, 2);
+
+        List<Object> values = collector.collect().stream().map(MetricRecord::value).collect(Collectors.toList());
+
+        assertThat(values).containsExactly(1, 2, "a");
+    }
+
+    @Test
+    public void collect_metricCreatedAfterCollector_isCollected() {
+        MetricCollector collector = IndexedMetricCollector.create("collector");
+        SdkMetric<Long> lateMetric = SdkMetric.create("indexed-late", Long.class, MetricLevel.INFO, MetricCategory.CORE);
+
+        collector.reportMetric(lateMetric, 1L);
+        collector.reportMetric(lateMetric, 2L);
+
+        assertThat(collector.collect().metricValues(lateMetric)).containsExactly(1L, 2L);
+    }
+
+    @Test
+    public void collect_recordsReportedAfterCollect_areNotInCollection() {
+        MetricCollector collector = IndexedMetricCollector.create("collector");
+        SdkMetric<Long> lateMetric = SdkMetric.create("indexed-late-after-collect", Long.class, MetricLevel.INFO,
+                                                      MetricCategory.CORE);
+        collector.reportMetric(M1, 1);
+        collector.reportMetric(lateMetric, 1L);
+
+        MetricCollection collection = collector.collect();
+        collector.reportMetric(M1, 2);
+        collector.reportMetric(M2, "2");
+        collector.reportMetric(lateMetric, 2L);
+
+        assertThat(collection.metricValues(M1)).containsExactly(1);
+        assertThat(collection.metricValues(M2)).isEmpty();
+        assertThat(collection.metricValues(lateMetric)).containsExactly(1L);
+        assertThat(collection).hasSize(2);
+        assertThat(collector.collect().metricValues(M1)).containsExactly(1, 2);
+    }
+
+    @Test
+    public void collect_returnedCollectionContainsAllChildrenInOrder() {
+        MetricCollector parent = IndexedMetricCollector.create("parent");
+        String[] childNames = {"c1", "c2", "c3"};
+        Stream.of(childNames).forEach(parent::createChild);
+
+        MetricCollection collected = parent.collect();
+
+        assertThat(collected.children().stream().map(MetricCollection::name)).containsExactly(childNames);
+    }
+
+    @Test
+    public void reportMetric_concurrentReporters_noValuesLost() throws Exception {
+        int threads = 8;
+        int reportsPerThread = 10_000;
+        MetricCollector collector = IndexedMetricCollector.create("collector");
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            CountDownLatch start = new CountDownLatch(1);
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    MetricCollector child = collector.createChild("child");
+                    for (int i = 0; i < reportsPerThread; i++) {
+                        collector.reportMetric(M1, i);
+                        child.reportMetric(M1, i);
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        MetricCollection collection = collector.collect();
+        assertThat(collection.metricValues(M1)).hasSize(threads * reportsPerThread);
+        assertThat(collection.children()).hasSize(threads);
+        collection.children().forEach(c -> assertThat(c.metricValues(M1)).hasSize(reportsPerThread));
+    }
+}
@@ -28,6 +28,7 @@ import software.amazon.awssdk.annotations.SdkProtectedApi;
 import software.amazon.awssdk.annotations.SdkTestInternalApi;
 import software.amazon.awssdk.awscore.exception.AwsServiceException;
 import software.amazon.awssdk.core.SdkPojo;
+import software.amazon.awssdk.core.SdkSystemSetting;
 import software.amazon.awssdk.core.client.config.SdkClientConfiguration;
 import software.amazon.awssdk.core.client.config.SdkClientOption;
 import software.amazon.awssdk.core.http.HttpResponseHandler;
@@ -75,6 +76,8 @@ public abstract class BaseAwsJsonProtocolFactory {
             .parser(JsonNodeParser.builder()
                                   .jsonFactory(getSdkFactory().getJsonFactory())
                                   .build())
+            .jsonFactory(getSdkFactory().getJsonFactory())
+            .enableStreamingUnmarshalling(SdkSystemSetting.STREAMING_UNMARSHALLING_ENABLED.getBooleanValueOrThrow())
             .defaultTimestampFormats(getDefaultTimestampFormats())
             .build();
     }
@@ -43,11 +43,16 @@ import software.amazon.awssdk.protocols.json.internal.MarshallerUtil;
 import software.amazon.awssdk.protocols.json.internal.unmarshall.document.DocumentUnmarshaller;
 import software.amazon.awssdk.protocols.jsoncore.JsonNode;
 import software.amazon.awssdk.protocols.jsoncore.JsonNodeParser;
+import software.amazon.awssdk.thirdparty.jackson.core.JsonFactory;
 import software.amazon.awssdk.utils.builder.Buildable;
 
 /**
  * Unmarshaller implementation for both JSON RPC and REST JSON services. This class is thread-safe and it is
  * recommended to reuse a single instance for best performance.
+ *
+ * <p>By default the response body is parsed into a {@link JsonNode} tree which is then walked to populate the POJO. When
+ * streaming unmarshalling is enabled, payload members are instead read directly from the token stream by
+ * {@link JsonStreamingProtocolUnmarshaller}, and the tree is only built for responses with an explicit payload member.
  */
 @SdkInternalApi
 @ThreadSafe
@@ -59,12 +64,17 @@ public final class JsonProtocolUnmarshaller {
 
     private final JsonNodeParser parser;
 
+    private final JsonStreamingProtocolUnmarshaller streamingUnmarshaller;
+
     private JsonProtocolUnmarshaller(Builder builder) {
         this.parser = builder.parser;
         this.instantStringToValue = StringToInstant.create(builder.defaultTimestampFormats.isEmpty() ?
                                                            new EnumMap<>(MarshallLocation.class) :
                                                            new EnumMap<>(builder.defaultTimestampFormats));
         this.registry = createUnmarshallerRegistry(instantStringToValue);
+        this.streamingUnmarshaller = builder.enableStreamingUnmarshalling && builder.jsonFactory != null ?
+                                     new JsonStreamingProtocolUnmarshaller(builder.jsonFactory, instantStringToValue) :
+                                     null;
     }
 
     private static JsonUnmarshallerRegistry createUnmarshallerRegistry(
@@ -186,6 +196,10 @@ public final class JsonProtocolUnmarshaller {
     public <TypeT extends SdkPojo> TypeT unmarshall(SdkPojo sdkPojo,
                             SdkHttpFullResponse response) throws IOException {
         if (hasPayloadMembersOnUnmarshall(sdkPojo) && !hasExplicitBlobPayloadMember(sdkPojo) && response.content().isPresent()) {
+            if (streamingUnmarshaller != null && !hasExplicitPayloadMember(sdkPojo)) {
+                streamingUnmarshaller.unmarshallPayload(sdkPojo, response.content().get());
+                return unmarshallNonPayloadMembers(sdkPojo, response);
+            }
             JsonNode jsonNode = parser.parse(response.content().get());
             return unmarshall(sdkPojo, response, jsonNode);
         } else {
@@ -199,6 +213,12 @@ public final class JsonProtocolUnmarshaller {
                       .anyMatch(f -> isExplicitPayloadMember(f) && f.marshallingType() == MarshallingType.SDK_BYTES);
     }
 
+    private boolean hasExplicitPayloadMember(SdkPojo sdkPojo) {
+        return sdkPojo.sdkFields()
+                      .stream()
+                      .anyMatch(JsonProtocolUnmarshaller::isExplicitPayloadMember);
+    }
+
     private static boolean isExplicitPayloadMember(SdkField<?> f) {
         return f.containsTrait(PayloadTrait.class);
     }
@@ -220,6 +240,25 @@ public final class JsonProtocolUnmarshaller {
         return unmarshallStructured(sdkPojo, jsonContent, context);
     }
 
+    /**
+     * Unmarshalls the members that are not bound to the payload (headers, status code) after the payload members have been
+     * read by the {@link JsonStreamingProtocolUnmarshaller}.
+     */
+    @SuppressWarnings("unchecked")
+    private <TypeT extends SdkPojo> TypeT unmarshallNonPayloadMembers(SdkPojo sdkPojo, SdkHttpFullResponse response) {
+        JsonUnmarshallerContext context = JsonUnmarshallerContext.builder()
+                                                                 .unmarshallerRegistry(registry)
+                                                                 .response(response)
+                                                                 .build();
+        for (SdkField<?> field : sdkPojo.sdkFields()) {
+            if (field.location() != MarshallLocation.PAYLOAD && !MarshallerUtil.locationInUri(field.location())) {
+                JsonUnmarshaller<Object> unmarshaller = context.getUnmarshaller(field.location(), field.marshallingType());
+                field.set(sdkPojo, unmarshaller.unmarshall(context, null, (SdkField<Object>) field));
+            }
+        }
+        return (TypeT) ((Buildable) sdkPojo).build();
+    }
+
     @SuppressWarnings("unchecked")
     private static <TypeT extends SdkPojo> TypeT unmarshallStructured(SdkPojo sdkPojo,
                                                                       JsonNode jsonContent,
@@ -261,6 +300,8 @@ public final class JsonProtocolUnmarshaller {
     public static final class Builder {
 
         private JsonNodeParser parser;
+        private JsonFactory jsonFactory;
+        private boolean enableStreamingUnmarshalling;
         private Map<MarshallLocation, TimestampFormatTrait.Format> defaultTimestampFormats;
 
         private Builder() {
@@ -275,6 +316,26 @@ public final class JsonProtocolUnmarshaller {
             return this;
         }
 
+        /**
+         * @param jsonFactory JSON factory used to create token parsers when streaming unmarshalling is enabled. This should
+         * be the same factory the {@link #parser(JsonNodeParser)} was configured with.
+         * @return This builder for method chaining.
+         */
+        public Builder jsonFactory(JsonFactory jsonFactory) {
+            this.jsonFactory = jsonFactory;
+            return this;
+        }
+
+        /**
+         * @param enableStreamingUnmarshalling True to read payload members directly from the token stream instead of
+         * building a {@link JsonNode} tree first. Requires a {@link #jsonFactory(JsonFactory)}.
+         * @return This builder for method chaining.
+         */
+        public Builder enableStreamingUnmarshalling(boolean enableStreamingUnmarshalling) {
+            this.enableStreamingUnmarshalling = enableStreamingUnmarshalling;
+            return this;
+        }
+
         /**
          * @param formats The default timestamp formats for each location in the HTTP response.
          * @return This builder for method chaining.
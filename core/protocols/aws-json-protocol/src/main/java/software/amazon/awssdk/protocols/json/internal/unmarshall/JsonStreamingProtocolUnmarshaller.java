@@ -0,0 +1,281 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+
+package software.amazon.awssdk.protocols.json.internal.unmarshall;
+
+import static software.amazon.awssdk.protocols.core.StringToValueConverter.TO_SDK_BYTES;
+import static software.amazon.awssdk.utils.FunctionalUtils.invokeSafely;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import software.amazon.awssdk.annotations.SdkInternalApi;
+import software.amazon.awssdk.annotations.ThreadSafe;
+import software.amazon.awssdk.core.SdkBytes;
+import software.amazon.awssdk.core.SdkField;
+import software.amazon.awssdk.core.SdkPojo;
+import software.amazon.awssdk.core.document.Document;
+import software.amazon.awssdk.core.protocol.MarshallLocation;
+import software.amazon.awssdk.core.protocol.MarshallingType;
+import software.amazon.awssdk.core.traits.ListTrait;
+import software.amazon.awssdk.core.traits.MapTrait;
+import software.amazon.awssdk.protocols.core.StringToValueConverter;
+import software.amazon.awssdk.protocols.json.internal.MarshallerUtil;
+import software.amazon.awssdk.thirdparty.jackson.core.JsonFactory;
+import software.amazon.awssdk.thirdparty.jackson.core.JsonParser;
+import software.amazon.awssdk.thirdparty.jackson.core.JsonToken;
+import software.amazon.awssdk.utils.builder.Buildable;
+
+/**
+ * Unmarshalls the payload members of a JSON response by driving the {@link SdkField} metadata directly from the
+ * {@link JsonParser} token stream. Unlike the tree based path in {@link JsonProtocolUnmarshaller}, the response body is never
+ * materialized as a {@link software.amazon.awssdk.protocols.jsoncore.JsonNode} before being copied into the POJO builders.
+ *
+ * <p>Only payload members are handled here. Header and status code members, as well as explicit payload members, are left
+ * to {@link JsonProtocolUnmarshaller}.
+ */
+@SdkInternalApi
+@ThreadSafe
+final class JsonStreamingProtocolUnmarshaller {
+
+    /**
+     * Payload fields of each POJO builder class, keyed by their location name. Builder classes are generated and their
+     * fields never change, so this is bounded by the number of shapes on the classpath.
+     */
+    private static final Map<Class<?>, Map<String, SdkField<?>>> PAYLOAD_FIELDS = new ConcurrentHashMap<>();
+
+    private final JsonFactory jsonFactory;
+
+    private final JsonStreamingUnmarshallerRegistry registry;
+
+    JsonStreamingProtocolUnmarshaller(JsonFactory jsonFactory,
+                                      StringToValueConverter.StringToValue<Instant> instantStringToValue) {
+        this.jsonFactory = jsonFactory;
+        this.registry = createUnmarshallerRegistry(instantStringToValue);
+    }
+
+    private static JsonStreamingUnmarshallerRegistry createUnmarshallerRegistry(
+        StringToValueConverter.StringToValue<Instant> instantStringToValue) {
+
+        return JsonStreamingUnmarshallerRegistry
+            .builder()
+            .payloadUnmarshaller(MarshallingType.STRING, new SimpleTypeUnmarshaller<>(StringToValueConverter.TO_STRING))
+            .payloadUnmarshaller(MarshallingType.INTEGER, new SimpleTypeUnmarshaller<>(StringToValueConverter.TO_INTEGER))
+            .payloadUnmarshaller(MarshallingType.LONG, new SimpleTypeUnmarshaller<>(StringToValueConverter.TO_LONG))
+            .payloadUnmarshaller(MarshallingType.SHORT, new SimpleTypeUnmarshaller<>(StringToValueConverter.TO_SHORT))
+            .payloadUnmarshaller(MarshallingType.FLOAT, new SimpleTypeUnmarshaller<>(StringToValueConverter.TO_FLOAT))
+            .payloadUnmarshaller(MarshallingType.DOUBLE, new SimpleTypeUnmarshaller<>(StringToValueConverter.TO_DOUBLE))
+            .payloadUnmarshaller(MarshallingType.BIG_DECIMAL, new SimpleTypeUnmarshaller<>(
+                StringToValueConverter.TO_BIG_DECIMAL))
+            .payloadUnmarshaller(MarshallingType.BOOLEAN, new SimpleTypeUnmarshaller<>(StringToValueConverter.TO_BOOLEAN))
+            .payloadUnmarshaller(MarshallingType.SDK_BYTES, JsonStreamingProtocolUnmarshaller::unmarshallSdkBytes)
+            .payloadUnmarshaller(MarshallingType.INSTANT, new SimpleTypeUnmarshaller<>(instantStringToValue))
+            .payloadUnmarshaller(MarshallingType.SDK_POJO, JsonStreamingProtocolUnmarshaller::unmarshallStructured)
+            .payloadUnmarshaller(MarshallingType.LIST, JsonStreamingProtocolUnmarshaller::unmarshallList)
+            .payloadUnmarshaller(MarshallingType.MAP, JsonStreamingProtocolUnmarshaller::unmarshallMap)
+            .payloadUnmarshaller(MarshallingType.DOCUMENT, JsonStreamingProtocolUnmarshaller::unmarshallDocument)
+            .build();
+    }
+
+    /**
+     * Reads the JSON object in the given content and sets each payload member of the given POJO builder that is present in
+     * it. Members absent from the content are left untouched.
+     *
+     * @param sdkPojo POJO builder to populate.
+     * @param content Response body.
+     */
+    void unmarshallPayload(SdkPojo sdkPojo, InputStream content) {
+        invokeSafely(() -> {
+            try (JsonParser parser = jsonFactory.createParser(content)
+                                                .configure(JsonParser.Feature.AUTO_CLOSE_SOURCE, false)) {
+                JsonToken token = parser.nextToken();
+                if (token == JsonToken.START_OBJECT) {
+                    unmarshallFields(registry, sdkPojo, parser);
+                }
+            }
+        });
+    }
+
+    private static void unmarshallFields(JsonStreamingUnmarshallerRegistry registry,
+                                         SdkPojo sdkPojo,
+                                         JsonParser parser) throws IOException {
+        Map<String, SdkField<?>> fields = payloadFields(sdkPojo);
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            SdkField<?> field = fields.get(parser.getCurrentName());
+            parser.nextToken();
+            if (field == null) {
+                parser.skipChildren();
+            } else {
+                field.set(sdkPojo, unmarshallValue(registry, parser, field));
+            }
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Object unmarshallValue(JsonStreamingUnmarshallerRegistry registry,
+                                          JsonParser parser,
+                                          SdkField<?> field) throws IOException {
+        if (parser.currentToken() == JsonToken.VALUE_NULL) {
+            return field.marshallingType() == MarshallingType.DOCUMENT ? Document.fromNull() : null;
+        }
+        JsonStreamingUnmarshaller<Object> unmarshaller = registry.getUnmarshaller(field.marshallingType());
+        return unmarshaller.unmarshall(registry, parser, (SdkField<Object>) field);
+    }
+
+    private static Map<String, SdkField<?>> payloadFields(SdkPojo sdkPojo) {
+        return PAYLOAD_FIELDS.computeIfAbsent(sdkPojo.getClass(), c -> {
+            Map<String, SdkField<?>> fields = new HashMap<>();
+            for (SdkField<?> field : sdkPojo.sdkFields()) {
+                if (field.location() == MarshallLocation.PAYLOAD || MarshallerUtil.locationInUri(field.location())) {
+                    fields.put(field.locationName(), field);
+                }
+            }
+            return fields;
+        });
+    }
+
+    private static SdkBytes unmarshallSdkBytes(JsonStreamingUnmarshallerRegistry registry,
+                                               JsonParser parser,
+                                               SdkField<SdkBytes> field) throws IOException {
+        // Binary protocols like CBOR may already have the raw bytes extracted.
+        if (parser.currentToken() == JsonToken.VALUE_EMBEDDED_OBJECT) {
+            return SdkBytes.fromByteArray((byte[]) parser.getEmbeddedObject());
+        }
+        // Otherwise decode the JSON string as Base64
+        return TO_SDK_BYTES.convert(text(parser), field);
+    }
+
+    private static SdkPojo unmarshallStructured(JsonStreamingUnmarshallerRegistry registry,
+                                                JsonParser parser,
+                                                SdkField<SdkPojo> field) throws IOException {
+        SdkPojo sdkPojo = field.constructor().get();
+        if (parser.currentToken() == JsonToken.START_OBJECT) {
+            unmarshallFields(registry, sdkPojo, parser);
+        } else {
+            parser.skipChildren();
+        }
+        return (SdkPojo) ((Buildable) sdkPojo).build();
+    }
+
+    private static List<?> unmarshallList(JsonStreamingUnmarshallerRegistry registry,
+                                          JsonParser parser,
+                                          SdkField<List<?>> field) throws IOException {
+        if (parser.currentToken() != JsonToken.START_ARRAY) {
+            parser.skipChildren();
+            return null;
+        }
+        SdkField<Object> memberInfo = field.getTrait(ListTrait.class).memberFieldInfo();
+        List<Object> list = new ArrayList<>();
+        while (parser.nextToken() != JsonToken.END_ARRAY) {
+            list.add(unmarshallValue(registry, parser, memberInfo));
+        }
+        return list;
+    }
+
+    private static Map<String, ?> unmarshallMap(JsonStreamingUnmarshallerRegistry registry,
+                                                JsonParser parser,
+                                                SdkField<Map<String, ?>> field) throws IOException {
+        if (parser.currentToken() != JsonToken.START_OBJECT) {
+            parser.skipChildren();
+            return null;
+        }
+        SdkField<Object> valueInfo = field.getTrait(MapTrait.class).valueFieldInfo();
+        Map<String, Object> map = new HashMap<>();
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String key = parser.getCurrentName();
+            parser.nextToken();
+            map.put(key, unmarshallValue(registry, parser, valueInfo));
+        }
+        return map;
+    }
+
+    private static Document unmarshallDocument(JsonStreamingUnmarshallerRegistry registry,
+                                               JsonParser parser,
+                                               SdkField<Document> field) throws IOException {
+        return readDocument(parser);
+    }
+
+    private static Document readDocument(JsonParser parser) throws IOException {
+        JsonToken token = parser.currentToken();
+        switch (token) {
+            case VALUE_NULL:
+                return Document.fromNull();
+            case VALUE_TRUE:
+                return Document.fromBoolean(true);
+            case VALUE_FALSE:
+                return Document.fromBoolean(false);
+            case VALUE_NUMBER_INT:
+            case VALUE_NUMBER_FLOAT:
+                return Document.fromNumber(parser.getText());
+            case VALUE_STRING:
+                return Document.fromString(parser.getText());
+            case START_ARRAY:
+                List<Document> list = new ArrayList<>();
+                while (parser.nextToken() != JsonToken.END_ARRAY) {
+                    list.add(readDocument(parser));
+                }
+                return Document.fromList(list);
+            case START_OBJECT:
+                Map<String, Document> map = new LinkedHashMap<>();
+                while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                    String key = parser.getCurrentName();
+                    parser.nextToken();
+                    map.put(key, readDocument(parser));
+                }
+                return Document.fromMap(map);
+            case VALUE_EMBEDDED_OBJECT:
+                throw new UnsupportedOperationException("Embedded objects are not supported within Document types.");
+            default:
+                throw new IllegalArgumentException("Unexpected JSON token - " + token);
+        }
+    }
+
+    /**
+     * Mirrors {@link software.amazon.awssdk.protocols.jsoncore.JsonNode#text()}: scalars are returned as text, while objects,
+     * arrays and embedded objects have no textual value.
+     */
+    private static String text(JsonParser parser) throws IOException {
+        JsonToken token = parser.currentToken();
+        if (token.isScalarValue() && token != JsonToken.VALUE_EMBEDDED_OBJECT) {
+            return parser.getText();
+        }
+        parser.skipChildren();
+        return null;
+    }
+
+    private static final class SimpleTypeUnmarshaller<T> implements JsonStreamingUnmarshaller<T> {
+
+        private final StringToValueConverter.StringToValue<T> stringToValue;
+
+        private SimpleTypeUnmarshaller(StringToValueConverter.StringToValue<T> stringToValue) {
+            this.stringToValue = stringToValue;
+        }
+
+        @Override
+        public T unmarshall(JsonStreamingUnmarshallerRegistry registry,
+                            JsonParser parser,
+                            SdkField<T> field) throws IOException {
+            String text = text(parser);
+            return text != null ? stringToValue.convert(text, field) : null;
+        }
+    }
+}
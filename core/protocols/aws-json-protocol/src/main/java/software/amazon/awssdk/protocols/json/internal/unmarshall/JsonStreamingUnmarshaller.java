@@ -0,0 +1,44 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+
+package software.amazon.awssdk.protocols.json.internal.unmarshall;
+
+import java.io.IOException;
+import software.amazon.awssdk.annotations.SdkInternalApi;
+import software.amazon.awssdk.core.SdkField;
+import software.amazon.awssdk.thirdparty.jackson.core.JsonParser;
+
+/**
+ * Interface for unmarshalling a payload field from a JSON based service directly from the token stream, without first
+ * building a {@link software.amazon.awssdk.protocols.jsoncore.JsonNode} tree.
+ *
+ * @param <T> Type to unmarshall into.
+ */
+@SdkInternalApi
+interface JsonStreamingUnmarshaller<T> {
+
+    /**
+     * @param registry Registry used to look up unmarshallers of nested members.
+     * @param parser Parser positioned at the first token of the member's value. When this method returns the parser must be
+     * positioned at the last token of that value.
+     * @param field {@link SdkField} of member being unmarshalled.
+     * @return Unmarshalled value.
+     */
+    T unmarshall(JsonStreamingUnmarshallerRegistry registry,
+                 JsonParser parser,
+                 SdkField<T> field) throws IOException;
+
+}
@@ -0,0 +1,68 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+
+package software.amazon.awssdk.protocols.json.internal.unmarshall;
+
+import software.amazon.awssdk.annotations.SdkInternalApi;
+import software.amazon.awssdk.core.protocol.MarshallLocation;
+import software.amazon.awssdk.core.protocol.MarshallingType;
+import software.amazon.awssdk.protocols.core.AbstractMarshallingRegistry;
+
+/**
+ * Registry of {@link JsonStreamingUnmarshaller}s. Only payload members are read from the token stream so this registry is
+ * keyed by {@link MarshallingType} alone.
+ */
+@SdkInternalApi
+final class JsonStreamingUnmarshallerRegistry extends AbstractMarshallingRegistry {
+
+    private JsonStreamingUnmarshallerRegistry(Builder builder) {
+        super(builder);
+    }
+
+    @SuppressWarnings("unchecked")
+    public <T> JsonStreamingUnmarshaller<Object> getUnmarshaller(MarshallingType<T> marshallingType) {
+        return (JsonStreamingUnmarshaller<Object>) get(MarshallLocation.PAYLOAD, marshallingType);
+    }
+
+    /**
+     * @return Builder instance to construct a {@link JsonStreamingUnmarshallerRegistry}.
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Builder for a {@link JsonStreamingUnmarshallerRegistry}.
+     */
+    public static final class Builder extends AbstractMarshallingRegistry.Builder {
+
+        private Builder() {
+        }
+
+        public <T> Builder payloadUnmarshaller(MarshallingType<T> marshallingType,
+                                               JsonStreamingUnmarshaller<T> unmarshaller) {
+            register(MarshallLocation.PAYLOAD, marshallingType, unmarshaller);
+            return this;
+        }
+
+        /**
+         * @return An immutable {@link JsonStreamingUnmarshallerRegistry} object.
+         */
+        public JsonStreamingUnmarshallerRegistry build() {
+            return new JsonStreamingUnmarshallerRegistry(this);
+        }
+    }
+}
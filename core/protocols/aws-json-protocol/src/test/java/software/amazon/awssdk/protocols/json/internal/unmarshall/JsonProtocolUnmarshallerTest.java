@@ -0,0 +1,233 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+
+package software.amazon.awssdk.protocols.json.internal.unmarshall;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import org.junit.Test;
+import software.amazon.awssdk.core.SdkField;
+import software.amazon.awssdk.core.SdkPojo;
+import software.amazon.awssdk.core.document.Document;
+import software.amazon.awssdk.core.protocol.MarshallLocation;
+import software.amazon.awssdk.core.protocol.MarshallingType;
+import software.amazon.awssdk.core.traits.ListTrait;
+import software.amazon.awssdk.core.traits.LocationTrait;
+import software.amazon.awssdk.core.traits.MapTrait;
+import software.amazon.awssdk.http.AbortableInputStream;
+import software.amazon.awssdk.http.SdkHttpFullResponse;
+import software.amazon.awssdk.protocols.json.ValidSdkObjects;
+import software.amazon.awssdk.protocols.jsoncore.JsonNodeParser;
+import software.amazon.awssdk.utils.builder.Buildable;
+
+public class JsonProtocolUnmarshallerTest {
+
+    private static final String JSON =
+        "{\"StringMember\":\"foo\","
+        + "\"IntegerMember\":42,"
+        + "\"Unknown\":{\"a\":[1,2,{\"b\":null}]},"
+        + "\"ListMember\":[\"a\",null,\"c\"],"
+        + "\"MapMember\":{\"k1\":\"v1\",\"k2\":\"v2\"},"
+        + "\"DocumentMember\":{\"x\":[true,1.5,\"y\",null]},"
+        + "\"Nested\":{\"StringMember\":\"bar\",\"Nested\":null},"
+        + "\"x-amz-header\":\"ignored\"}";
+
+    private static final JsonProtocolUnmarshaller TREE_UNMARSHALLER = unmarshaller(false);
+
+    private static final JsonProtocolUnmarshaller STREAMING_UNMARSHALLER = unmarshaller(true);
+
+    @Test
+    public void streamingUnmarshalling_producesSameResultAsTree() throws Exception {
+        FakeShape fromTree = TREE_UNMARSHALLER.unmarshall(new FakeShape(), response(JSON));
+        FakeShape fromStream = STREAMING_UNMARSHALLER.unmarshall(new FakeShape(), response(JSON));
+
+        assertThat(fromStream).isEqualTo(fromTree);
+    }
+
+    @Test
+    public void streamingUnmarshalling_populatesPayloadAndHeaderMembers() throws Exception {
+        FakeShape result = STREAMING_UNMARSHALLER.unmarshall(new FakeShape(), response(JSON));
+
+        assertThat(result.stringMember).isEqualTo("foo");
+        assertThat(result.integerMember).isEqualTo(42);
+        assertThat(result.listMember).containsExactly("a", null, "c");
+        assertThat(result.mapMember).containsEntry("k1", "v1").containsEntry("k2", "v2");
+        assertThat(result.documentMember.asMap().get("x").asList()).hasSize(4);
+        assertThat(result.nested.stringMember).isEqualTo("bar");
+        assertThat(result.nested.nested).isNull();
+        assertThat(result.headerMember).isEqualTo("header-value");
+    }
+
+    @Test
+    public void streamingUnmarshalling_emptyBody_leavesPayloadMembersUnset() throws Exception {
+        FakeShape result = STREAMING_UNMARSHALLER.unmarshall(new FakeShape(), response(""));
+
+        assertThat(result.stringMember).isNull();
+        assertThat(result.headerMember).isEqualTo("header-value");
+    }
+
+    private static JsonProtocolUnmarshaller unmarshaller(boolean streaming) {
+        return JsonProtocolUnmarshaller.builder()
+                                       .parser(JsonNodeParser.create())
+                                       .jsonFactory(JsonNodeParser.DEFAULT_JSON_FACTORY)
+                                       .enableStreamingUnmarshalling(streaming)
+                                       .defaultTimestampFormats(Collections.emptyMap())
+                                       .build();
+    }
+
+    private static SdkHttpFullResponse response(String body) {
+        return ValidSdkObjects.sdkHttpFullResponse()
+                              .putHeader("x-amz-header", "header-value")
+                              .content(AbortableInputStream.create(
+                                  new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8))))
+                              .build();
+    }
+
+    private static LocationTrait payload(String name) {
+        return LocationTrait.builder()
+                            .location(MarshallLocation.PAYLOAD)
+                            .locationName(name)
+                            .unmarshallLocationName(name)
+                            .build();
+    }
+
+    private static final class FakeShape implements SdkPojo, Buildable {
+
+        private static final SdkField<String> STRING_MEMBER =
+            SdkField.<String>builder(MarshallingType.STRING)
+                    .memberName("StringMember")
+                    .getter(o -> ((FakeShape) o).stringMember)
+                    .setter((o, v) -> ((FakeShape) o).stringMember = v)
+                    .traits(payload("StringMember"))
+                    .build();
+
+        private static final SdkField<Integer> INTEGER_MEMBER =
+            SdkField.<Integer>builder(MarshallingType.INTEGER)
+                    .memberName("IntegerMember")
+                    .getter(o -> ((FakeShape) o).integerMember)
+                    .setter((o, v) -> ((FakeShape) o).integerMember = v)
+                    .traits(payload("IntegerMember"))
+                    .build();
+
+        private static final SdkField<List<String>> LIST_MEMBER =
+            SdkField.<List<String>>builder(MarshallingType.LIST)
+                    .memberName("ListMember")
+                    .getter(o -> ((FakeShape) o).listMember)
+                    .setter((o, v) -> ((FakeShape) o).listMember = v)
+                    .traits(payload("ListMember"),
+                            ListTrait.builder()
+                                     .memberFieldInfo(SdkField.<String>builder(MarshallingType.STRING)
+                                                              .traits(payload("member"))
+                                                              .build())
+                                     .build())
+                    .build();
+
+        private static final SdkField<Map<String, String>> MAP_MEMBER =
+            SdkField.<Map<String, String>>builder(MarshallingType.MAP)
+                    .memberName("MapMember")
+                    .getter(o -> ((FakeShape) o).mapMember)
+                    .setter((o, v) -> ((FakeShape) o).mapMember = v)
+                    .traits(payload("MapMember"),
+                            MapTrait.builder()
+                                    .keyLocationName("key")
+                                    .valueLocationName("value")
+                                    .valueFieldInfo(SdkField.<String>builder(MarshallingType.STRING)
+                                                            .traits(payload("value"))
+                                                            .build())
+                                    .build())
+                    .build();
+
+        private static final SdkField<Document> DOCUMENT_MEMBER =
+            SdkField.<Document>builder(MarshallingType.DOCUMENT)
+                    .memberName("DocumentMember")
+                    .getter(o -> ((FakeShape) o).documentMember)
+                    .setter((o, v) -> ((FakeShape) o).documentMember = v)
+                    .traits(payload("DocumentMember"))
+                    .build();
+
+        private static final SdkField<FakeShape> NESTED =
+            SdkField.<FakeShape>builder(MarshallingType.SDK_POJO)
+                    .memberName("Nested")
+                    .getter(o -> ((FakeShape) o).nested)
+                    .setter((o, v) -> ((FakeShape) o).nested = v)
+                    .constructor(FakeShape::new)
+                    .traits(payload("Nested"))
+                    .build();
+
+        private static final SdkField<String> HEADER_MEMBER =
+            SdkField.<String>builder(MarshallingType.STRING)
+                    .memberName("HeaderMember")
+                    .getter(o -> ((FakeShape) o).headerMember)
+                    .setter((o, v) -> ((FakeShape) o).headerMember = v)
+                    .traits(LocationTrait.builder()
+                                         .location(MarshallLocation.HEADER)
+                                         .locationName("x-amz-header")
+                                         .unmarshallLocationName("x-amz-header")
+                                         .build())
+                    .build();
+
+        private static final List<SdkField<?>> SDK_FIELDS = Arrays.asList(STRING_MEMBER, INTEGER_MEMBER, LIST_MEMBER,
+                                                                          MAP_MEMBER, DOCUMENT_MEMBER, NESTED, HEADER_MEMBER);
+
+        private String stringMember;
+        private Integer integerMember;
+        private List<String> listMember;
+        private Map<String, String> mapMember;
+        private Document documentMember;
+        private FakeShape nested;
+        private String headerMember;
+
+        @Override
+        public List<SdkField<?>> sdkFields() {
+            return SDK_FIELDS;
+        }
+
+        @Override
+        public FakeShape build() {
+            return this;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (o == null || getClass() != o.getClass()) {
+                return false;
+            }
+            FakeShape that = (FakeShape) o;
+            return Objects.equals(stringMember, that.stringMember) &&
+                   Objects.equals(integerMember, that.integerMember) &&
+                   Objects.equals(listMember, that.listMember) &&
+                   Objects.equals(mapMember, that.mapMember) &&
+                   Objects.equals(documentMember, that.documentMember) &&
+                   Objects.equals(nested, that.nested) &&
+                   Objects.equals(headerMember, that.headerMember);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(stringMember, integerMember, listMember, mapMember, documentMember, nested, headerMember);
+        }
+    }
+}
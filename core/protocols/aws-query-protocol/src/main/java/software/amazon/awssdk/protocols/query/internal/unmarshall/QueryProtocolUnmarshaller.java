@@ -18,6 +18,7 @@ package software.amazon.awssdk.protocols.query.internal.unmarshall;
 import static software.amazon.awssdk.awscore.util.AwsHeader.AWS_REQUEST_ID;
 import static software.amazon.awssdk.protocols.query.internal.marshall.SimpleTypeQueryMarshaller.defaultTimestampFormats;
 
+import java.io.InputStream;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -28,9 +29,11 @@ import software.amazon.awssdk.core.protocol.MarshallingType;
 import software.amazon.awssdk.http.SdkHttpFullResponse;
 import software.amazon.awssdk.protocols.core.StringToInstant;
 import software.amazon.awssdk.protocols.core.StringToValueConverter;
+import software.amazon.awssdk.protocols.query.unmarshall.XmlCursor;
 import software.amazon.awssdk.protocols.query.unmarshall.XmlDomParser;
 import software.amazon.awssdk.protocols.query.unmarshall.XmlElement;
 import software.amazon.awssdk.protocols.query.unmarshall.XmlErrorUnmarshaller;
+import software.amazon.awssdk.protocols.query.unmarshall.XmlStreamingUnmarshaller;
 import software.amazon.awssdk.utils.CollectionUtils;
 import software.amazon.awssdk.utils.Pair;
 import software.amazon.awssdk.utils.builder.Buildable;
@@ -61,14 +64,34 @@ public final class QueryProtocolUnmarshaller implements XmlErrorUnmarshaller {
             context.protocolUnmarshaller().unmarshall(context, field.constructor().get(), content.get(0)))
         .build();
 
+    private static final XmlStreamingUnmarshaller STREAMING_UNMARSHALLER = XmlStreamingUnmarshaller
+        .builder()
+        .simpleTypeUnmarshaller(MarshallingType.STRING, StringToValueConverter.TO_STRING)
+        .simpleTypeUnmarshaller(MarshallingType.INTEGER, StringToValueConverter.TO_INTEGER)
+        .simpleTypeUnmarshaller(MarshallingType.LONG, StringToValueConverter.TO_LONG)
+        .simpleTypeUnmarshaller(MarshallingType.SHORT, StringToValueConverter.TO_SHORT)
+        .simpleTypeUnmarshaller(MarshallingType.FLOAT, StringToValueConverter.TO_FLOAT)
+        .simpleTypeUnmarshaller(MarshallingType.DOUBLE, StringToValueConverter.TO_DOUBLE)
+        .simpleTypeUnmarshaller(MarshallingType.BOOLEAN, StringToValueConverter.TO_BOOLEAN)
+        .simpleTypeUnmarshaller(MarshallingType.INSTANT, StringToInstant.create(defaultTimestampFormats()))
+        .simpleTypeUnmarshaller(MarshallingType.SDK_BYTES, StringToValueConverter.TO_SDK_BYTES)
+        .matchListMembersByName(false)
+        .build();
+
     private final boolean hasResultWrapper;
 
+    private final boolean enableStreamingUnmarshalling;
+
     private QueryProtocolUnmarshaller(Builder builder) {
         this.hasResultWrapper = builder.hasResultWrapper;
+        this.enableStreamingUnmarshalling = builder.enableStreamingUnmarshalling;
     }
 
     public <TypeT extends SdkPojo> Pair<TypeT, Map<String, String>> unmarshall(SdkPojo sdkPojo,
                                                                                SdkHttpFullResponse response) {
+        if (enableStreamingUnmarshalling && response.content().isPresent()) {
+            return unmarshallStreaming(sdkPojo, response.content().get());
+        }
         XmlElement document = response.content().map(XmlDomParser::parse).orElseGet(XmlElement::empty);
         XmlElement resultRoot = hasResultWrapper ? document.getFirstChild() : document;
         return Pair.of(unmarshall(sdkPojo, resultRoot, response), parseMetadata(document));
@@ -89,11 +112,59 @@ public final class QueryProtocolUnmarshaller implements XmlErrorUnmarshaller {
         return (TypeT) unmarshall(unmarshallerContext, sdkPojo, resultRoot);
     }
 
+    /**
+     * Unmarshalls the response while it is read from the stream with an {@link XmlCursor}, without building the
+     * {@link XmlElement} document. The result root and response metadata are located the same way as in the tree based path.
+     */
+    @SuppressWarnings("unchecked")
+    private <TypeT extends SdkPojo> Pair<TypeT, Map<String, String>> unmarshallStreaming(SdkPojo sdkPojo,
+                                                                                        InputStream content) {
+        Map<String, String> metadata = new HashMap<>();
+        try (XmlCursor cursor = XmlCursor.create(content)) {
+            if (hasResultWrapper) {
+                boolean isResultRoot = true;
+                while (cursor.nextChildElement()) {
+                    if (!parseMetadata(cursor, metadata)) {
+                        if (isResultRoot) {
+                            STREAMING_UNMARSHALLER.unmarshallFields(cursor, sdkPojo, c -> false);
+                        } else {
+                            cursor.skipElement();
+                        }
+                    }
+                    isResultRoot = false;
+                }
+            } else {
+                STREAMING_UNMARSHALLER.unmarshallFields(cursor, sdkPojo, c -> parseMetadata(c, metadata));
+            }
+        }
+        return Pair.of((TypeT) ((Buildable) sdkPojo).build(), metadata);
+    }
+
+    /**
+     * Reads the current element of the cursor into the metadata if it is one of the response metadata elements.
+     *
+     * @return True if the element was consumed, false otherwise.
+     */
+    private boolean parseMetadata(XmlCursor cursor, Map<String, String> metadata) {
+        String elementName = cursor.elementName();
+        if ("ResponseMetadata".equals(elementName)) {
+            while (cursor.nextChildElement()) {
+                String key = metadataKeyName(cursor.elementName());
+                metadata.put(key, cursor.readText());
+            }
+            return true;
+        } else if ("requestId".equals(elementName)) {
+            metadata.put(AWS_REQUEST_ID, cursor.readText());
+            return true;
+        }
+        return false;
+    }
+
     private Map<String, String> parseMetadata(XmlElement document) {
         XmlElement responseMetadata = document.getElementByName("ResponseMetadata");
         Map<String, String> metadata = new HashMap<>();
         if (responseMetadata != null) {
-            responseMetadata.children().forEach(c -> metadata.put(metadataKeyName(c), c.textContent()));
+            responseMetadata.children().forEach(c -> metadata.put(metadataKeyName(c.elementName()), c.textContent()));
         }
         XmlElement requestId = document.getElementByName("requestId");
         if (requestId != null) {
@@ -102,8 +173,8 @@ public final class QueryProtocolUnmarshaller implements XmlErrorUnmarshaller {
         return metadata;
     }
 
-    private String metadataKeyName(XmlElement c) {
-        return c.elementName().equals("RequestId") ? AWS_REQUEST_ID : c.elementName();
+    private String metadataKeyName(String elementName) {
+        return elementName.equals("RequestId") ? AWS_REQUEST_ID : elementName;
     }
 
     private SdkPojo unmarshall(QueryUnmarshallerContext context, SdkPojo sdkPojo, XmlElement root) {
@@ -134,6 +205,7 @@ public final class QueryProtocolUnmarshaller implements XmlErrorUnmarshaller {
     public static final class Builder {
 
         private boolean hasResultWrapper;
+        private boolean enableStreamingUnmarshalling;
 
         private Builder() {
         }
@@ -183,6 +255,16 @@ public final class QueryProtocolUnmarshaller implements XmlErrorUnmarshaller {
             return this;
         }
 
+        /**
+         * @param enableStreamingUnmarshalling True if successful responses should be unmarshalled while they are read with an
+         * {@link XmlCursor}, false to parse them into an {@link XmlElement} document first.
+         * @return This builder for method chaining.
+         */
+        public Builder enableStreamingUnmarshalling(boolean enableStreamingUnmarshalling) {
+            this.enableStreamingUnmarshalling = enableStreamingUnmarshalling;
+            return this;
+        }
+
         /**
          * @return New instance of {@link QueryProtocolUnmarshaller}.
          */
@@ -0,0 +1,186 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+
+package software.amazon.awssdk.protocols.query.unmarshall;
+
+import java.io.InputStream;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import software.amazon.awssdk.annotations.SdkProtectedApi;
+import software.amazon.awssdk.core.exception.SdkClientException;
+import software.amazon.awssdk.utils.SdkAutoCloseable;
+
+/**
+ * Forward-only view of an XML document backed by an {@link XMLStreamReader}. Unlike {@link XmlDomParser}, no intermediate
+ * {@link XmlElement} tree is built; callers walk the elements as they are read from the stream.
+ *
+ * <p>The cursor is always positioned on the start tag of an element. An element must be fully consumed, either by
+ * iterating its children with {@link #nextChildElement()} until it returns false, or by calling {@link #readText()} or
+ * {@link #skipElement()}, before moving on to its next sibling.
+ *
+ * <p>This class is not thread safe.
+ */
+@SdkProtectedApi
+public final class XmlCursor implements SdkAutoCloseable {
+
+    private final XMLStreamReader reader;
+
+    private XmlCursor(XMLStreamReader reader) {
+        this.reader = reader;
+    }
+
+    /**
+     * Creates a cursor positioned on the root element of the given document.
+     *
+     * @param inputStream XML document. This is not closed when the cursor is closed.
+     * @return New cursor.
+     */
+    public static XmlCursor create(InputStream inputStream) {
+        try {
+            XMLStreamReader reader = XmlDomParser.xmlInputFactory().createXMLStreamReader(inputStream);
+            // Skip ahead to the first start element
+            while (reader.getEventType() != XMLStreamConstants.START_ELEMENT) {
+                if (!reader.hasNext()) {
+                    throw SdkClientException.create("Could not parse XML response, no root element was found.");
+                }
+                reader.next();
+            }
+            return new XmlCursor(reader);
+        } catch (XMLStreamException e) {
+            throw SdkClientException.create("Could not parse XML response.", e);
+        }
+    }
+
+    /**
+     * @return Local name of the current element.
+     */
+    public String elementName() {
+        return reader.getLocalName();
+    }
+
+    /**
+     * Retrieves an attribute of the current element. Attributes are named {@code prefix:localName}, matching the keys of
+     * {@link XmlElement#attributes()}.
+     *
+     * @return Value of the attribute or null if the current element has no such attribute.
+     */
+    public String attribute(String name) {
+        for (int i = 0; i < reader.getAttributeCount(); i++) {
+            String prefix = reader.getAttributePrefix(i);
+            if (name.equals((prefix == null ? "" : prefix) + ":" + reader.getAttributeLocalName(i))) {
+                return reader.getAttributeValue(i);
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Advances to the next direct child of the current element.
+     *
+     * @return True if the cursor is now positioned on a child element, false if the end of the current element was reached.
+     */
+    public boolean nextChildElement() {
+        try {
+            while (reader.hasNext()) {
+                switch (reader.next()) {
+                    case XMLStreamConstants.START_ELEMENT:
+                        return true;
+                    case XMLStreamConstants.END_ELEMENT:
+                        return false;
+                    default:
+                        break;
+                }
+            }
+            return false;
+        } catch (XMLStreamException e) {
+            throw SdkClientException.create("Could not parse XML response.", e);
+        }
+    }
+
+    /**
+     * Consumes the current element and returns its text content. As with {@link XmlElement#textContent()}, this is the last
+     * contiguous run of character data directly inside the element, or an empty string if there is none. Child elements are
+     * skipped.
+     */
+    public String readText() {
+        try {
+            String text = null;
+            StringBuilder continuation = null;
+            boolean inText = false;
+            while (true) {
+                switch (reader.next()) {
+                    case XMLStreamConstants.CHARACTERS:
+                    case XMLStreamConstants.CDATA:
+                    case XMLStreamConstants.SPACE:
+                        if (!inText) {
+                            text = reader.getText();
+                            continuation = null;
+                            inText = true;
+                        } else {
+                            if (continuation == null) {
+                                continuation = new StringBuilder(text);
+                            }
+                            continuation.append(reader.getTextCharacters(), reader.getTextStart(), reader.getTextLength());
+                        }
+                        break;
+                    case XMLStreamConstants.START_ELEMENT:
+                        skipElement();
+                        inText = false;
+                        break;
+                    case XMLStreamConstants.END_ELEMENT:
+                        if (continuation != null) {
+                            return continuation.toString();
+                        }
+                        return text == null ? "" : text;
+                    default:
+                        inText = false;
+                        break;
+                }
+            }
+        } catch (XMLStreamException e) {
+            throw SdkClientException.create("Could not parse XML response.", e);
+        }
+    }
+
+    /**
+     * Consumes the current element, including all of its children, without reading it.
+     */
+    public void skipElement() {
+        try {
+            int depth = 1;
+            while (depth > 0) {
+                int event = reader.next();
+                if (event == XMLStreamConstants.START_ELEMENT) {
+                    depth++;
+                } else if (event == XMLStreamConstants.END_ELEMENT) {
+                    depth--;
+                }
+            }
+        } catch (XMLStreamException e) {
+            throw SdkClientException.create("Could not parse XML response.", e);
+        }
+    }
+
+    @Override
+    public void close() {
+        try {
+            reader.close();
+        } catch (XMLStreamException e) {
+            throw SdkClientException.create("Could not close XML reader.", e);
+        }
+    }
+}
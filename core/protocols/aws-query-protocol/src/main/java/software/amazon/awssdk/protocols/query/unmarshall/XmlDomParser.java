@@ -115,6 +115,13 @@ public final class XmlDomParser {
         }
     }
 
+    /**
+     * @return The {@link XMLInputFactory} for the current thread, shared with {@link XmlCursor}.
+     */
+    static XMLInputFactory xmlInputFactory() {
+        return FACTORY.get();
+    }
+
     /**
      * Disables certain dangerous features that attempt to automatically fetch DTDs
      *
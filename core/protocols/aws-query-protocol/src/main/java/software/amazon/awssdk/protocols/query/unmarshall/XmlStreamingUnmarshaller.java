@@ -0,0 +1,303 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+
+package software.amazon.awssdk.protocols.query.unmarshall;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Predicate;
+import software.amazon.awssdk.annotations.SdkProtectedApi;
+import software.amazon.awssdk.annotations.ThreadSafe;
+import software.amazon.awssdk.core.SdkField;
+import software.amazon.awssdk.core.SdkPojo;
+import software.amazon.awssdk.core.exception.SdkClientException;
+import software.amazon.awssdk.core.protocol.MarshallLocation;
+import software.amazon.awssdk.core.protocol.MarshallingType;
+import software.amazon.awssdk.core.traits.ListTrait;
+import software.amazon.awssdk.core.traits.MapTrait;
+import software.amazon.awssdk.core.traits.PayloadTrait;
+import software.amazon.awssdk.core.traits.XmlAttributeTrait;
+import software.amazon.awssdk.protocols.core.StringToValueConverter;
+import software.amazon.awssdk.utils.builder.Buildable;
+
+/**
+ * Unmarshalls XML payload members straight from an {@link XmlCursor}, filling the {@link SdkPojo} builders as elements stream
+ * past instead of first building an {@link XmlElement} tree. This is shared by the AWS/Query, EC2 and REST/XML protocols,
+ * which only differ in how simple values are converted and in a few structural details configured on the {@link Builder}.
+ *
+ * <p>The result is the same as walking the tree: for members that may only appear once the first matching element wins,
+ * while the elements of flattened lists and maps are collected wherever they appear in the parent.
+ */
+@SdkProtectedApi
+@ThreadSafe
+public final class XmlStreamingUnmarshaller {
+
+    private final Map<MarshallingType<?>, StringToValueConverter.StringToValue<?>> simpleTypes;
+    private final boolean unmarshallAttributes;
+    private final boolean matchListMembersByName;
+    private final Map<Class<?>, StructureFields> structureFields = new ConcurrentHashMap<>();
+
+    private XmlStreamingUnmarshaller(Builder builder) {
+        this.simpleTypes = new HashMap<>(builder.simpleTypes);
+        this.unmarshallAttributes = builder.unmarshallAttributes;
+        this.matchListMembersByName = builder.matchListMembersByName;
+    }
+
+    /**
+     * Unmarshalls the current element of the cursor into the given SDK builder and builds it.
+     *
+     * @param cursor Cursor positioned on the element of the structure.
+     * @param sdkPojo Builder of the structure.
+     * @return Built structure.
+     */
+    @SuppressWarnings("unchecked")
+    public <T extends SdkPojo> T unmarshall(XmlCursor cursor, SdkPojo sdkPojo) {
+        unmarshallFields(cursor, sdkPojo, c -> false);
+        return (T) ((Buildable) sdkPojo).build();
+    }
+
+    /**
+     * Sets the payload members of the given SDK builder that are present in the current element of the cursor, without
+     * building it. Explicit payload members are not handled here.
+     *
+     * @param cursor Cursor positioned on the element of the structure.
+     * @param sdkPojo Builder of the structure.
+     * @param elementInterceptor Offered each child element before it is matched against the members of the structure. If it
+     * returns true the interceptor has consumed the element and it is not unmarshalled.
+     */
+    @SuppressWarnings("unchecked")
+    public void unmarshallFields(XmlCursor cursor, SdkPojo sdkPojo, Predicate<XmlCursor> elementInterceptor) {
+        StructureFields fields = structureFields.computeIfAbsent(sdkPojo.getClass(), c -> new StructureFields(sdkPojo));
+
+        for (SdkField<?> attribute : fields.attributes) {
+            String value = cursor.attribute(attribute.unmarshallLocationName());
+            if (value != null) {
+                attribute.set(sdkPojo, value);
+            }
+        }
+
+        BitSet seen = null;
+        Map<SdkField<?>, Object> flattened = null;
+        while (cursor.nextChildElement()) {
+            if (elementInterceptor.test(cursor)) {
+                continue;
+            }
+            Integer index = fields.indexByName.get(cursor.elementName());
+            if (index == null) {
+                cursor.skipElement();
+                continue;
+            }
+            SdkField<?> field = fields.elements.get(index);
+            if (isFlattenedList(field)) {
+                flattened = flattened == null ? new IdentityHashMap<>() : flattened;
+                List<Object> list = (List<Object>) flattened.computeIfAbsent(field, f -> new ArrayList<>());
+                list.add(unmarshallValue(cursor, field.getTrait(ListTrait.class).memberFieldInfo()));
+            } else if (isFlattenedMap(field)) {
+                flattened = flattened == null ? new IdentityHashMap<>() : flattened;
+                Map<String, Object> map = (Map<String, Object>) flattened.computeIfAbsent(field, f -> new HashMap<>());
+                unmarshallMapEntry(cursor, field.getTrait(MapTrait.class), map);
+            } else {
+                seen = seen == null ? new BitSet(fields.elements.size()) : seen;
+                if (seen.get(index)) {
+                    cursor.skipElement();
+                } else {
+                    seen.set(index);
+                    field.set(sdkPojo, unmarshallValue(cursor, field));
+                }
+            }
+        }
+
+        if (flattened != null) {
+            flattened.forEach((field, value) -> field.set(sdkPojo, value));
+        }
+    }
+
+    /**
+     * Unmarshalls the current element of the cursor as the value of the given member, consuming the element.
+     *
+     * @param cursor Cursor positioned on the element of the value.
+     * @param field Member being unmarshalled.
+     * @return Unmarshalled value.
+     */
+    public Object unmarshallValue(XmlCursor cursor, SdkField<?> field) {
+        MarshallingType<?> type = field.marshallingType();
+        if (type == MarshallingType.SDK_POJO) {
+            return unmarshall(cursor, field.constructor().get());
+        } else if (type == MarshallingType.LIST) {
+            return unmarshallList(cursor, field.getTrait(ListTrait.class));
+        } else if (type == MarshallingType.MAP) {
+            return unmarshallMap(cursor, field.getTrait(MapTrait.class));
+        }
+        return convert(cursor.readText(), field);
+    }
+
+    @SuppressWarnings("unchecked")
+    private Object convert(String text, SdkField<?> field) {
+        StringToValueConverter.StringToValue<Object> stringToValue =
+            (StringToValueConverter.StringToValue<Object>) simpleTypes.get(field.marshallingType());
+        if (stringToValue == null) {
+            throw SdkClientException.create(String.format("No unmarshaller of type %s registered for location %s.",
+                                                          field.marshallingType(),
+                                                          MarshallLocation.PAYLOAD.name()));
+        }
+        return stringToValue.convert(text, (SdkField<Object>) field);
+    }
+
+    private List<Object> unmarshallList(XmlCursor cursor, ListTrait listTrait) {
+        SdkField<?> memberField = listTrait.memberFieldInfo();
+        // There have been cases in EC2 where the member name is not modeled correctly so protocols that don't match by
+        // member name grab all direct children instead.
+        String memberName = !matchListMembersByName ? null :
+                            listTrait.memberLocationName() != null ? listTrait.memberLocationName() :
+                            memberField.locationName();
+
+        List<Object> list = new ArrayList<>();
+        while (cursor.nextChildElement()) {
+            if (memberName == null || memberName.equals(cursor.elementName())) {
+                list.add(unmarshallValue(cursor, memberField));
+            } else {
+                cursor.skipElement();
+            }
+        }
+        return list;
+    }
+
+    private Map<String, Object> unmarshallMap(XmlCursor cursor, MapTrait mapTrait) {
+        Map<String, Object> map = new HashMap<>();
+        while (cursor.nextChildElement()) {
+            if ("entry".equals(cursor.elementName())) {
+                unmarshallMapEntry(cursor, mapTrait, map);
+            } else {
+                cursor.skipElement();
+            }
+        }
+        return map;
+    }
+
+    private void unmarshallMapEntry(XmlCursor cursor, MapTrait mapTrait, Map<String, Object> map) {
+        String key = null;
+        Object value = null;
+        while (cursor.nextChildElement()) {
+            String name = cursor.elementName();
+            if (key == null && name.equals(mapTrait.keyLocationName())) {
+                key = cursor.readText();
+            } else if (value == null && name.equals(mapTrait.valueLocationName())) {
+                value = unmarshallValue(cursor, mapTrait.valueFieldInfo());
+            } else {
+                cursor.skipElement();
+            }
+        }
+        map.put(key, value);
+    }
+
+    private static boolean isFlattenedList(SdkField<?> field) {
+        return field.marshallingType() == MarshallingType.LIST && field.getTrait(ListTrait.class).isFlattened();
+    }
+
+    private static boolean isFlattenedMap(SdkField<?> field) {
+        return field.marshallingType() == MarshallingType.MAP && field.getTrait(MapTrait.class).isFlattened();
+    }
+
+    /**
+     * @return New {@link Builder} instance.
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Members of a structure that are bound to elements or attributes, indexed by their unmarshalling location name.
+     */
+    private final class StructureFields {
+        private final List<SdkField<?>> elements = new ArrayList<>();
+        private final Map<String, Integer> indexByName = new HashMap<>();
+        private final List<SdkField<?>> attributes = new ArrayList<>();
+
+        private StructureFields(SdkPojo sdkPojo) {
+            for (SdkField<?> field : sdkPojo.sdkFields()) {
+                if (field.location() != MarshallLocation.PAYLOAD || field.containsTrait(PayloadTrait.class)) {
+                    continue;
+                }
+                if (field.containsTrait(XmlAttributeTrait.class)) {
+                    if (unmarshallAttributes) {
+                        attributes.add(field);
+                    }
+                } else if (!indexByName.containsKey(field.unmarshallLocationName())) {
+                    indexByName.put(field.unmarshallLocationName(), elements.size());
+                    elements.add(field);
+                }
+            }
+        }
+    }
+
+    /**
+     * Builder for {@link XmlStreamingUnmarshaller}.
+     */
+    public static final class Builder {
+
+        private final Map<MarshallingType<?>, StringToValueConverter.StringToValue<?>> simpleTypes = new HashMap<>();
+        private boolean unmarshallAttributes;
+        private boolean matchListMembersByName;
+
+        private Builder() {
+        }
+
+        /**
+         * Registers the converter used for a simple (scalar) type.
+         *
+         * @param marshallingType Type being unmarshalled.
+         * @param stringToValue Converter from the text content of the element.
+         * @return This builder for method chaining.
+         */
+        public <T> Builder simpleTypeUnmarshaller(MarshallingType<T> marshallingType,
+                                                  StringToValueConverter.StringToValue<T> stringToValue) {
+            simpleTypes.put(marshallingType, stringToValue);
+            return this;
+        }
+
+        /**
+         * @param unmarshallAttributes True if members with the {@link XmlAttributeTrait} should be read from the attributes of
+         * the structure's element.
+         * @return This builder for method chaining.
+         */
+        public Builder unmarshallAttributes(boolean unmarshallAttributes) {
+            this.unmarshallAttributes = unmarshallAttributes;
+            return this;
+        }
+
+        /**
+         * @param matchListMembersByName True if only children named after the list member should be unmarshalled as members of
+         * a non-flattened list, false if every direct child is a member.
+         * @return This builder for method chaining.
+         */
+        public Builder matchListMembersByName(boolean matchListMembersByName) {
+            this.matchListMembersByName = matchListMembersByName;
+            return this;
+        }
+
+        /**
+         * @return New instance of {@link XmlStreamingUnmarshaller}.
+         */
+        public XmlStreamingUnmarshaller build() {
+            return new XmlStreamingUnmarshaller(this);
+        }
+    }
+}
@@ -0,0 +1,105 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+
+package software.amazon.awssdk.protocols.query;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import javax.xml.stream.XMLStreamException;
+import org.junit.Test;
+import software.amazon.awssdk.core.exception.SdkClientException;
+import software.amazon.awssdk.protocols.query.unmarshall.XmlCursor;
+import software.amazon.awssdk.utils.StringInputStream;
+
+public class XmlCursorTest {
+
+    @Test
+    public void simpleXmlDocument_ReadCorrectly() {
+        String xml = "<?xml version=\"1.0\" encoding=\"UTF-8\"?>"
+                     + "<Struct>"
+                     + " <stringMember>stringVal</stringMember>"
+                     + " <integerMember>42</integerMember>"
+                     + "</Struct>";
+        try (XmlCursor cursor = XmlCursor.create(new StringInputStream(xml))) {
+            assertThat(cursor.elementName()).isEqualTo("Struct");
+            assertThat(cursor.nextChildElement()).isTrue();
+            assertThat(cursor.elementName()).isEqualTo("stringMember");
+            assertThat(cursor.readText()).isEqualTo("stringVal");
+            assertThat(cursor.nextChildElement()).isTrue();
+            assertThat(cursor.elementName()).isEqualTo("integerMember");
+            assertThat(cursor.readText()).isEqualTo("42");
+            assertThat(cursor.nextChildElement()).isFalse();
+        }
+    }
+
+    @Test
+    public void xmlWithAttributes_ReadCorrectly() {
+        String xml = "<?xml version=\"1.0\" encoding=\"UTF-8\"?>"
+                     + "<Struct xmlns:xsi=\"http://www.w3.org/2001/XMLSchema-instance\" xsi:type=\"foo\" xsi:nil=\"bar\">"
+                     + " <stringMember>stringVal</stringMember>"
+                     + "</Struct>";
+        try (XmlCursor cursor = XmlCursor.create(new StringInputStream(xml))) {
+            assertThat(cursor.attribute("xsi:type")).isEqualTo("foo");
+            assertThat(cursor.attribute("xsi:nil")).isEqualTo("bar");
+            assertThat(cursor.attribute("xsi:missing")).isNull();
+        }
+    }
+
+    @Test
+    public void skippedElement_ContinuesWithNextSibling() {
+        String xml = "<?xml version=\"1.0\" encoding=\"UTF-8\"?>"
+                     + "<Struct>"
+                     + " <nested><member>valOne</member><member>valTwo</member></nested>"
+                     + " <member>valThree</member>"
+                     + "</Struct>";
+        try (XmlCursor cursor = XmlCursor.create(new StringInputStream(xml))) {
+            assertThat(cursor.nextChildElement()).isTrue();
+            cursor.skipElement();
+            assertThat(cursor.nextChildElement()).isTrue();
+            assertThat(cursor.readText()).isEqualTo("valThree");
+            assertThat(cursor.nextChildElement()).isFalse();
+        }
+    }
+
+    @Test
+    public void emptyElement_ReadAsEmptyText() {
+        String xml = "<?xml version=\"1.0\" encoding=\"UTF-8\"?>"
+                     + "<Struct><member/></Struct>";
+        try (XmlCursor cursor = XmlCursor.create(new StringInputStream(xml))) {
+            assertThat(cursor.nextChildElement()).isTrue();
+            assertThat(cursor.readText()).isEmpty();
+        }
+    }
+
+    @Test
+    public void invalidXml_ThrowsException() {
+        String xml = "<?xml version=\"1.0\" encoding=\"UTF-8\"?>"
+                     + "<Struct>"
+                     + " <member>valOne"
+                     + " <member>valTwo</member>"
+                     + "</Struct>";
+        assertThatThrownBy(() -> {
+            try (XmlCursor cursor = XmlCursor.create(new StringInputStream(xml))) {
+                while (cursor.nextChildElement()) {
+                    cursor.skipElement();
+                }
+            }
+        }).isInstanceOf(SdkClientException.class)
+          .hasCauseInstanceOf(XMLStreamException.class);
+    }
+
+}
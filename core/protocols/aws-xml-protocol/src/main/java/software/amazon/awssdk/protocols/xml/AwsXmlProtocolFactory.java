@@ -27,6 +27,7 @@ import software.amazon.awssdk.awscore.AwsResponse;
 import software.amazon.awssdk.awscore.exception.AwsServiceException;
 import software.amazon.awssdk.core.Response;
 import software.amazon.awssdk.core.SdkPojo;
+import software.amazon.awssdk.core.SdkSystemSetting;
 import software.amazon.awssdk.core.client.config.SdkClientConfiguration;
 import software.amazon.awssdk.core.client.config.SdkClientOption;
 import software.amazon.awssdk.core.http.HttpResponseHandler;
@@ -78,11 +79,17 @@ public class AwsXmlProtocolFactory {
     private final Supplier<SdkPojo> defaultServiceExceptionSupplier;
     private final HttpResponseHandler<AwsServiceException> errorUnmarshaller;
     private final SdkClientConfiguration clientConfiguration;
+    private final XmlProtocolUnmarshaller responseUnmarshaller;
 
     AwsXmlProtocolFactory(Builder<?> builder) {
         this.modeledExceptions = unmodifiableList(builder.modeledExceptions);
         this.defaultServiceExceptionSupplier = builder.defaultServiceExceptionSupplier;
         this.clientConfiguration = builder.clientConfiguration;
+        this.responseUnmarshaller = XmlProtocolUnmarshaller.builder()
+                                                           .enableStreamingUnmarshalling(
+                                                               SdkSystemSetting.STREAMING_UNMARSHALLING_ENABLED
+                                                                   .getBooleanValueOrThrow())
+                                                           .build();
 
         this.errorUnmarshaller = timeUnmarshalling(
             AwsXmlErrorProtocolUnmarshaller.builder()
@@ -116,7 +123,7 @@ public class AwsXmlProtocolFactory {
         return timeUnmarshalling(
             new AwsXmlResponseHandler<>(
                 new XmlResponseHandler<>(
-                    XML_PROTOCOL_UNMARSHALLER, pojoSupplier,
+                    responseUnmarshaller, pojoSupplier,
                     staxOperationMetadata.isHasStreamingSuccessResponse())));
     }
 
@@ -36,8 +36,10 @@ import software.amazon.awssdk.core.traits.XmlAttributeTrait;
 import software.amazon.awssdk.http.SdkHttpFullResponse;
 import software.amazon.awssdk.protocols.core.StringToInstant;
 import software.amazon.awssdk.protocols.core.StringToValueConverter;
+import software.amazon.awssdk.protocols.query.unmarshall.XmlCursor;
 import software.amazon.awssdk.protocols.query.unmarshall.XmlElement;
 import software.amazon.awssdk.protocols.query.unmarshall.XmlErrorUnmarshaller;
+import software.amazon.awssdk.protocols.query.unmarshall.XmlStreamingUnmarshaller;
 import software.amazon.awssdk.utils.CollectionUtils;
 import software.amazon.awssdk.utils.builder.Buildable;
 
@@ -49,19 +51,82 @@ public final class XmlProtocolUnmarshaller implements XmlErrorUnmarshaller {
 
     private static final XmlUnmarshallerRegistry REGISTRY = createUnmarshallerRegistry();
 
-    private XmlProtocolUnmarshaller() {
+    private static final XmlStreamingUnmarshaller STREAMING_UNMARSHALLER = createStreamingUnmarshaller();
+
+    private final boolean enableStreamingUnmarshalling;
+
+    private XmlProtocolUnmarshaller(Builder builder) {
+        this.enableStreamingUnmarshalling = builder.enableStreamingUnmarshalling;
     }
 
     public static XmlProtocolUnmarshaller create() {
-        return new XmlProtocolUnmarshaller();
+        return builder().build();
+    }
+
+    /**
+     * @return New {@link Builder} instance.
+     */
+    public static Builder builder() {
+        return new Builder();
     }
 
     public <TypeT extends SdkPojo> TypeT unmarshall(SdkPojo sdkPojo,
                                                     SdkHttpFullResponse response) {
+        if (enableStreamingUnmarshalling && canUnmarshallStreaming(sdkPojo, response)) {
+            return unmarshallStreaming(sdkPojo, response);
+        }
         XmlElement document = XmlResponseParserUtils.parse(sdkPojo, response);
         return unmarshall(sdkPojo, document, response);
     }
 
+    /**
+     * A response can be unmarshalled while it is read if it has a body, and either has no explicit payload member or that
+     * member is the only one bound to the payload.
+     */
+    private boolean canUnmarshallStreaming(SdkPojo sdkPojo, SdkHttpFullResponse response) {
+        if (!XmlResponseParserUtils.hasXmlPayloadToUnmarshal(sdkPojo, response)) {
+            return false;
+        }
+        boolean hasExplicitPayloadMember = sdkPojo.sdkFields().stream().anyMatch(this::isExplicitPayloadMember);
+        return !hasExplicitPayloadMember || sdkPojo.sdkFields()
+                                                   .stream()
+                                                   .filter(f -> f.location() == MarshallLocation.PAYLOAD)
+                                                   .count() == 1;
+    }
+
+    /**
+     * Unmarshalls the payload members while the body is read with an {@link XmlCursor}, without building the
+     * {@link XmlElement} document, and then the members bound to the rest of the HTTP response.
+     */
+    @SuppressWarnings("unchecked")
+    private <TypeT extends SdkPojo> TypeT unmarshallStreaming(SdkPojo sdkPojo, SdkHttpFullResponse response) {
+        try (XmlCursor cursor = XmlCursor.create(response.content().get())) {
+            Optional<SdkField<?>> explicitPayloadMember = sdkPojo.sdkFields()
+                                                                 .stream()
+                                                                 .filter(this::isExplicitPayloadMember)
+                                                                 .findFirst();
+            if (explicitPayloadMember.isPresent()) {
+                SdkField<?> field = explicitPayloadMember.get();
+                field.set(sdkPojo, STREAMING_UNMARSHALLER.unmarshallValue(cursor, field));
+            } else {
+                STREAMING_UNMARSHALLER.unmarshallFields(cursor, sdkPojo, c -> false);
+            }
+        }
+
+        XmlUnmarshallerContext context = XmlUnmarshallerContext.builder()
+                                                               .response(response)
+                                                               .registry(REGISTRY)
+                                                               .protocolUnmarshaller(this)
+                                                               .build();
+        for (SdkField<?> field : sdkPojo.sdkFields()) {
+            if (field.location() != MarshallLocation.PAYLOAD) {
+                XmlUnmarshaller<Object> unmarshaller = REGISTRY.getUnmarshaller(field.location(), field.marshallingType());
+                field.set(sdkPojo, unmarshaller.unmarshall(context, null, (SdkField<Object>) field));
+            }
+        }
+        return (TypeT) ((Buildable) sdkPojo).build();
+    }
+
     /**
      * This method is also used to unmarshall exceptions. We use this since we've already parsed the XML
      * and the result root is in a different location depending on the protocol/service.
@@ -137,6 +202,24 @@ public final class XmlProtocolUnmarshaller implements XmlErrorUnmarshaller {
         return Collections.unmodifiableMap(formats);
     }
 
+    private static XmlStreamingUnmarshaller createStreamingUnmarshaller() {
+        return XmlStreamingUnmarshaller
+            .builder()
+            .simpleTypeUnmarshaller(MarshallingType.STRING, StringToValueConverter.TO_STRING)
+            .simpleTypeUnmarshaller(MarshallingType.INTEGER, StringToValueConverter.TO_INTEGER)
+            .simpleTypeUnmarshaller(MarshallingType.LONG, StringToValueConverter.TO_LONG)
+            .simpleTypeUnmarshaller(MarshallingType.SHORT, StringToValueConverter.TO_SHORT)
+            .simpleTypeUnmarshaller(MarshallingType.FLOAT, StringToValueConverter.TO_FLOAT)
+            .simpleTypeUnmarshaller(MarshallingType.DOUBLE, StringToValueConverter.TO_DOUBLE)
+            .simpleTypeUnmarshaller(MarshallingType.BIG_DECIMAL, StringToValueConverter.TO_BIG_DECIMAL)
+            .simpleTypeUnmarshaller(MarshallingType.BOOLEAN, StringToValueConverter.TO_BOOLEAN)
+            .simpleTypeUnmarshaller(MarshallingType.INSTANT, INSTANT_STRING_TO_VALUE)
+            .simpleTypeUnmarshaller(MarshallingType.SDK_BYTES, StringToValueConverter.TO_SDK_BYTES)
+            .unmarshallAttributes(true)
+            .matchListMembersByName(true)
+            .build();
+    }
+
     private static XmlUnmarshallerRegistry createUnmarshallerRegistry() {
         return XmlUnmarshallerRegistry
             .builder()
@@ -167,4 +250,32 @@ public final class XmlProtocolUnmarshaller implements XmlErrorUnmarshaller {
             .payloadUnmarshaller(MarshallingType.MAP, XmlPayloadUnmarshaller::unmarshallMap)
             .build();
     }
+
+    /**
+     * Builder for {@link XmlProtocolUnmarshaller}.
+     */
+    public static final class Builder {
+
+        private boolean enableStreamingUnmarshalling;
+
+        private Builder() {
+        }
+
+        /**
+         * @param enableStreamingUnmarshalling True if successful responses should be unmarshalled while they are read with an
+         * {@link XmlCursor}, false to parse them into an {@link XmlElement} document first.
+         * @return This builder for method chaining.
+         */
+        public Builder enableStreamingUnmarshalling(boolean enableStreamingUnmarshalling) {
+            this.enableStreamingUnmarshalling = enableStreamingUnmarshalling;
+            return this;
+        }
+
+        /**
+         * @return New instance of {@link XmlProtocolUnmarshaller}.
+         */
+        public XmlProtocolUnmarshaller build() {
+            return new XmlProtocolUnmarshaller(this);
+        }
+    }
 }
@@ -66,6 +66,18 @@ public final class XmlResponseParserUtils {
         }
     }
 
+    /**
+     * Whether a successful response has an XML body that should be unmarshalled into the given SDK builder. This mirrors the
+     * conditions under which {@link #parse(SdkPojo, SdkHttpFullResponse)} parses the body of a successful response.
+     * @param sdkPojo the SDK builder object associated with the final response
+     * @param response the HTTP response
+     * @return True if the response is successful and its XML payload should be unmarshalled.
+     */
+    public static boolean hasXmlPayloadToUnmarshal(SdkPojo sdkPojo, SdkHttpFullResponse response) {
+        return response.isSuccessful() && hasPayloadMembers(sdkPojo) && response.content().isPresent() &&
+               !contentLengthZero(response) && !getBlobTypePayloadMemberToUnmarshal(sdkPojo).isPresent();
+    }
+
     /**
      * Gets the Member which is a Payload and which is of Blob Type.
      * @param sdkPojo
@@ -0,0 +1,353 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+
+package software.amazon.awssdk.core;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import software.amazon.awssdk.annotations.SdkProtectedApi;
+import software.amazon.awssdk.annotations.SdkPublicApi;
+import software.amazon.awssdk.annotations.ThreadSafe;
+import software.amazon.awssdk.core.internal.util.DefaultSdkExecutors;
+import software.amazon.awssdk.http.SdkHttpClient;
+import software.amazon.awssdk.http.async.SdkAsyncHttpClient;
+import software.amazon.awssdk.metrics.MetricPublisher;
+import software.amazon.awssdk.utils.IoUtils;
+import software.amazon.awssdk.utils.Logger;
+import software.amazon.awssdk.utils.SdkAutoCloseable;
+import software.amazon.awssdk.utils.Validate;
+import software.amazon.awssdk.utils.builder.SdkBuilder;
+
+/**
+ * A group of resources that can be shared by many SDK clients in the same JVM.
+ *
+ * <p>By default, every client creates its own future completion executor, scheduled executor and HTTP client, and AWS clients
+ * also create their own default credentials provider. Clients built with the same runtime share these instead:
+ * <ul>
+ *     <li>The future completion executor and scheduled executor of the runtime.</li>
+ *     <li>The runtime's HTTP clients if they are configured. Otherwise one default HTTP client is created for each distinct
+ *     set of service HTTP defaults, and shared by all clients with those defaults.</li>
+ *     <li>One default credentials provider for each profile, for AWS clients that do not configure a credentials provider.</li>
+ *     <li>The runtime's metric publishers, for clients that do not configure any metric publishers.</li>
+ * </ul>
+ * Clients opt in with {@code runtime(SdkRuntime)} on their builder. Resources configured on a client's builder take
+ * precedence over the runtime's.
+ *
+ * <p>The runtime is reference counted. The creator holds one reference, released by {@link #close()}, and each client built
+ * with the runtime holds one reference, released when that client is closed. The resources created by the runtime are
+ * released when the last reference is released. Resources given to the runtime's builder are not closed by the runtime; they
+ * are managed by the caller. A runtime can not be used to build new clients after it is closed, but clients that were
+ * already built with it can continue to be used until they are closed.
+ *
+ * <pre>{@code
+ * try (SdkRuntime runtime = SdkRuntime.create()) {
+ *     S3Client usEast1 = S3Client.builder().region(Region.US_EAST_1).runtime(runtime).build();
+ *     S3Client usWest2 = S3Client.builder().region(Region.US_WEST_2).runtime(runtime).build();
+ *     ...
+ * }
+ * }</pre>
+ */
+@SdkPublicApi
+@ThreadSafe
+public final class SdkRuntime implements SdkAutoCloseable {
+    private static final Logger log = Logger.loggerFor(SdkRuntime.class);
+
+    private final Executor futureCompletionExecutor;
+    private final ScheduledExecutorService scheduledExecutorService;
+    private final SdkHttpClient httpClient;
+    private final SdkAsyncHttpClient asyncHttpClient;
+    private final List<MetricPublisher> metricPublishers;
+    private final List<ExecutorService> ownedExecutors = new ArrayList<>();
+    private final ConcurrentMap<Object, Object> sharedResources = new ConcurrentHashMap<>();
+    private final AtomicInteger references = new AtomicInteger(1);
+    private final AtomicBoolean closed = new AtomicBoolean(false);
+
+    private SdkRuntime(DefaultBuilder builder) {
+        if (builder.futureCompletionExecutor != null) {
+            this.futureCompletionExecutor = builder.futureCompletionExecutor;
+        } else {
+            ExecutorService executor = DefaultSdkExecutors.newFutureCompletionExecutor();
+            this.ownedExecutors.add(executor);
+            this.futureCompletionExecutor = executor;
+        }
+
+        if (builder.scheduledExecutorService != null) {
+            this.scheduledExecutorService = builder.scheduledExecutorService;
+        } else {
+            ScheduledExecutorService executor = DefaultSdkExecutors.newScheduledExecutorService();
+            this.ownedExecutors.add(executor);
+            this.scheduledExecutorService = executor;
+        }
+
+        this.httpClient = builder.httpClient;
+        this.asyncHttpClient = builder.asyncHttpClient;
+        this.metricPublishers = Collections.unmodifiableList(new ArrayList<>(builder.metricPublishers));
+    }
+
+    /**
+     * Create a runtime with the default configuration.
+     */
+    public static SdkRuntime create() {
+        return builder().build();
+    }
+
+    /**
+     * Create a builder that can be used to configure and create a {@link SdkRuntime}.
+     */
+    public static Builder builder() {
+        return new DefaultBuilder();
+    }
+
+    /**
+     * The executor used by async clients to complete the futures returned to the customer.
+     */
+    public Executor futureCompletionExecutor() {
+        return futureCompletionExecutor;
+    }
+
+    /**
+     * The executor used to schedule tasks such as async retry attempts and timeout tasks.
+     */
+    public ScheduledExecutorService scheduledExecutorService() {
+        return scheduledExecutorService;
+    }
+
+    /**
+     * The sync HTTP client shared by sync clients, if one was configured.
+     */
+    public Optional<SdkHttpClient> httpClient() {
+        return Optional.ofNullable(httpClient);
+    }
+
+    /**
+     * The async HTTP client shared by async clients, if one was configured.
+     */
+    public Optional<SdkAsyncHttpClient> asyncHttpClient() {
+        return Optional.ofNullable(asyncHttpClient);
+    }
+
+    /**
+     * The metric publishers used by clients that do not configure their own.
+     */
+    public List<MetricPublisher> metricPublishers() {
+        return metricPublishers;
+    }
+
+    /**
+     * Acquire a reference to this runtime. The runtime's resources are not released until the returned reference is closed.
+     *
+     * @return The reference. Closing it more than once has no further effect.
+     * @throws IllegalStateException If this runtime has been closed.
+     */
+    @SdkProtectedApi
+    public SdkAutoCloseable retain() {
+        assertNotClosed();
+        int current;
+        do {
+            current = references.get();
+            if (current == 0) {
+                throw new IllegalStateException("This SdkRuntime has been closed.");
+            }
+        } while (!references.compareAndSet(current, current + 1));
+
+        AtomicBoolean released = new AtomicBoolean(false);
+        return () -> {
+            if (released.compareAndSet(false, true)) {
+                release();
+            }
+        };
+    }
+
+    /**
+     * Retrieve the resource stored under the given key, creating it with the given supplier if it does not exist yet. The
+     * resource is closed when the runtime's last reference is released, if it is {@link AutoCloseable}. Callers that store it
+     * in a client's configuration must make sure the client does not close it.
+     *
+     * @param key The key of the resource. Keys must implement {@link Object#equals(Object)} and {@link Object#hashCode()}.
+     * @param resourceSupplier Creates the resource if it does not exist yet.
+     * @throws IllegalStateException If this runtime has been closed.
+     */
+    @SdkProtectedApi
+    public <T> T sharedResource(Object key, Supplier<T> resourceSupplier) {
+        Validate.paramNotNull(key, "key");
+        Validate.paramNotNull(resourceSupplier, "resourceSupplier");
+        assertNotClosed();
+
+        @SuppressWarnings("unchecked")
+        T resource = (T) sharedResources.computeIfAbsent(key, k -> resourceSupplier.get());
+
+        if (references.get() == 0 && sharedResources.remove(key, resource)) {
+            // The runtime was shut down while the resource was created, so nobody else will close it.
+            IoUtils.closeIfCloseable(resource, log.logger());
+            throw new IllegalStateException("This SdkRuntime has been closed.");
+        }
+        return resource;
+    }
+
+    /**
+     * Release the creator's reference to this runtime. After this, the runtime can no longer be used to build clients. Its
+     * resources are released once every client that was built with it is closed.
+     */
+    @Override
+    public void close() {
+        if (closed.compareAndSet(false, true)) {
+            release();
+        }
+    }
+
+    private void assertNotClosed() {
+        if (closed.get()) {
+            throw new IllegalStateException("This SdkRuntime has been closed.");
+        }
+    }
+
+    private void release() {
+        if (references.decrementAndGet() == 0) {
+            log.debug(() -> "Releasing the resources of the SDK runtime.");
+            for (Object key : sharedResources.keySet()) {
+                IoUtils.closeIfCloseable(sharedResources.remove(key), log.logger());
+            }
+            ownedExecutors.forEach(ExecutorService::shutdown);
+        }
+    }
+
+    /**
+     * A builder for a {@link SdkRuntime}, created with {@link #builder()}.
+     */
+    public interface Builder extends SdkBuilder<Builder, SdkRuntime> {
+        /**
+         * Configure the executor used by async clients to complete the futures returned to the customer. The executor is not
+         * shut down by the runtime.
+         *
+         * <p>By default, the runtime creates an executor that is shut down when its last reference is released.
+         */
+        Builder futureCompletionExecutor(Executor futureCompletionExecutor);
+
+        /**
+         * Configure the executor used to schedule tasks such as async retry attempts and timeout tasks. The executor is not
+         * shut down by the runtime.
+         *
+         * <p>By default, the runtime creates an executor that is shut down when its last reference is released.
+         */
+        Builder scheduledExecutorService(ScheduledExecutorService scheduledExecutorService);
+
+        /**
+         * Configure the HTTP client shared by sync clients. The HTTP client is not closed by the runtime.
+         *
+         * <p>By default, the runtime creates a default HTTP client for each distinct set of service HTTP defaults.
+         */
+        Builder httpClient(SdkHttpClient httpClient);
+
+        /**
+         * Configure the HTTP client shared by async clients. The HTTP client is not closed by the runtime.
+         *
+         * <p>By default, the runtime creates a default HTTP client for each distinct set of service HTTP defaults.
+         */
+        Builder asyncHttpClient(SdkAsyncHttpClient asyncHttpClient);
+
+        /**
+         * Set the metric publishers used by clients that do not configure their own. This overwrites the current list of
+         * metric publishers set on the builder. The publishers are not closed by the runtime.
+         */
+        Builder metricPublishers(List<MetricPublisher> metricPublishers);
+
+        /**
+         * Add a metric publisher to the existing list of previously set publishers.
+         */
+        Builder addMetricPublisher(MetricPublisher metricPublisher);
+    }
+
+    private static final class DefaultBuilder implements Builder {
+        private Executor futureCompletionExecutor;
+        private ScheduledExecutorService scheduledExecutorService;
+        private SdkHttpClient httpClient;
+        private SdkAsyncHttpClient asyncHttpClient;
+        private List<MetricPublisher> metricPublishers = new ArrayList<>();
+
+        @Override
+        public Builder futureCompletionExecutor(Executor futureCompletionExecutor) {
+            this.futureCompletionExecutor = futureCompletionExecutor;
+            return this;
+        }
+
+        public void setFutureCompletionExecutor(Executor futureCompletionExecutor) {
+            futureCompletionExecutor(futureCompletionExecutor);
+        }
+
+        @Override
+        public Builder scheduledExecutorService(ScheduledExecutorService scheduledExecutorService) {
+            this.scheduledExecutorService = scheduledExecutorService;
+            return this;
+        }
+
+        public void setScheduledExecutorService(ScheduledExecutorService scheduledExecutorService) {
+            scheduledExecutorService(scheduledExecutorService);
+        }
+
+        @Override
+        public Builder httpClient(SdkHttpClient httpClient) {
+            this.httpClient = httpClient;
+            return this;
+        }
+
+        public void setHttpClient(SdkHttpClient httpClient) {
+            httpClient(httpClient);
+        }
+
+        @Override
+        public Builder asyncHttpClient(SdkAsyncHttpClient asyncHttpClient) {
+            this.asyncHttpClient = asyncHttpClient;
+            return this;
+        }
+
+        public void setAsyncHttpClient(SdkAsyncHttpClient asyncHttpClient) {
+            asyncHttpClient(asyncHttpClient);
+        }
+
+        @Override
+        public Builder metricPublishers(List<MetricPublisher> metricPublishers) {
+            Validate.paramNotNull(metricPublishers, "metricPublishers");
+            this.metricPublishers = new ArrayList<>(metricPublishers);
+            return this;
+        }
+
+        public void setMetricPublishers(List<MetricPublisher> metricPublishers) {
+            metricPublishers(metricPublishers);
+        }
+
+        @Override
+        public Builder addMetricPublisher(MetricPublisher metricPublisher) {
+            Validate.paramNotNull(metricPublisher, "metricPublisher");
+            this.metricPublishers.add(metricPublisher);
+            return this;
+        }
+
+        @Override
+        public SdkRuntime build() {
+            return new SdkRuntime(this);
+        }
+    }
+}
@@ -138,6 +138,12 @@ public enum SdkSystemSetting implements SystemSetting {
      */
     BINARY_ION_ENABLED("aws.binaryIonEnabled", "true"),
 
+    /**
+     * Whether structured response payloads should be unmarshalled directly from the parser's token stream, rather than
+     * first being parsed into an intermediate tree representation.
+     */
+    STREAMING_UNMARSHALLING_ENABLED("aws.streamingUnmarshallingEnabled", "true"),
+
     /**
      * The execution environment of the SDK user. This is automatically set in certain environments by the underlying AWS service.
      * For example, AWS Lambda will automatically specify a runtime indicating that the SDK is being used within Lambda.
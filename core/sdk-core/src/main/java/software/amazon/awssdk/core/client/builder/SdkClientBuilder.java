@@ -18,6 +18,7 @@ package software.amazon.awssdk.core.client.builder;
 import java.net.URI;
 import java.util.function.Consumer;
 import software.amazon.awssdk.annotations.SdkPublicApi;
+import software.amazon.awssdk.core.SdkRuntime;
 import software.amazon.awssdk.core.client.config.ClientOverrideConfiguration;
 import software.amazon.awssdk.utils.builder.SdkBuilder;
 
@@ -50,4 +51,15 @@ public interface SdkClientBuilder<B extends SdkClientBuilder<B, C>, C> extends S
      * Configure the endpoint with which the SDK should communicate.
      */
     B endpointOverride(URI endpointOverride);
+
+    /**
+     * Configure the {@link SdkRuntime} whose executors, HTTP clients, credentials providers and metric publishers the created
+     * client should share with the other clients built with the same runtime. Resources configured directly on this builder
+     * take precedence over the runtime's.
+     *
+     * <p>The client holds a reference to the runtime until it is closed.
+     */
+    default B runtime(SdkRuntime runtime) {
+        throw new UnsupportedOperationException();
+    }
 }
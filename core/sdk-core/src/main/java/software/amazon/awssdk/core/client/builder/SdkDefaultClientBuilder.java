@@ -30,32 +30,33 @@ import static software.amazon.awssdk.core.client.config.SdkClientOption.CRC32_FR
 import static software.amazon.awssdk.core.client.config.SdkClientOption.ENDPOINT_OVERRIDDEN;
 import static software.amazon.awssdk.core.client.config.SdkClientOption.EXECUTION_ATTRIBUTES;
 import static software.amazon.awssdk.core.client.config.SdkClientOption.EXECUTION_INTERCEPTORS;
+import static software.amazon.awssdk.core.client.config.SdkClientOption.HEDGING_POLICY;
 import static software.amazon.awssdk.core.client.config.SdkClientOption.METRIC_PUBLISHERS;
 import static software.amazon.awssdk.core.client.config.SdkClientOption.PROFILE_FILE;
 import static software.amazon.awssdk.core.client.config.SdkClientOption.PROFILE_NAME;
+import static software.amazon.awssdk.core.client.config.SdkClientOption.REQUEST_HEDGER;
 import static software.amazon.awssdk.core.client.config.SdkClientOption.RETRY_POLICY;
 import static software.amazon.awssdk.core.client.config.SdkClientOption.SCHEDULED_EXECUTOR_SERVICE;
+import static software.amazon.awssdk.core.client.config.SdkClientOption.SDK_RUNTIME_REFERENCE;
 import static software.amazon.awssdk.core.client.config.SdkClientOption.SIGNER_OVERRIDDEN;
+import static software.amazon.awssdk.core.client.config.SdkClientOption.TIMEOUT_SCHEDULER;
 import static software.amazon.awssdk.core.internal.SdkInternalTestAdvancedClientOption.ENDPOINT_OVERRIDDEN_OVERRIDE;
 import static software.amazon.awssdk.utils.CollectionUtils.mergeLists;
 import static software.amazon.awssdk.utils.Validate.paramNotNull;
 
 import java.net.URI;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.Executor;
-import java.util.concurrent.Executors;
-import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.ScheduledExecutorService;
-import java.util.concurrent.ThreadPoolExecutor;
-import java.util.concurrent.TimeUnit;
-import java.util.function.Supplier;
 import software.amazon.awssdk.annotations.SdkProtectedApi;
 import software.amazon.awssdk.annotations.SdkTestInternalApi;
+import software.amazon.awssdk.core.SdkRuntime;
 import software.amazon.awssdk.core.client.config.ClientAsyncConfiguration;
 import software.amazon.awssdk.core.client.config.ClientOverrideConfiguration;
 import software.amazon.awssdk.core.client.config.SdkClientConfiguration;
@@ -64,7 +65,13 @@ import software.amazon.awssdk.core.interceptor.ClasspathInterceptorChainFactory;
 import software.amazon.awssdk.core.interceptor.ExecutionInterceptor;
 import software.amazon.awssdk.core.internal.http.loader.DefaultSdkAsyncHttpClientBuilder;
 import software.amazon.awssdk.core.internal.http.loader.DefaultSdkHttpClientBuilder;
+import software.amazon.awssdk.core.internal.http.timers.HashedWheelTimeoutScheduler;
+import software.amazon.awssdk.core.internal.http.timers.TimeoutScheduler;
 import software.amazon.awssdk.core.internal.interceptor.HttpChecksumRequiredInterceptor;
+import software.amazon.awssdk.core.internal.retry.RequestHedger;
+import software.amazon.awssdk.core.internal.util.DefaultSdkExecutors;
+import software.amazon.awssdk.core.internal.util.UnmanagedScheduledExecutorService;
+import software.amazon.awssdk.core.retry.HedgingPolicy;
 import software.amazon.awssdk.core.retry.RetryMode;
 import software.amazon.awssdk.core.retry.RetryPolicy;
 import software.amazon.awssdk.core.util.SdkUserAgent;
@@ -78,7 +85,7 @@ import software.amazon.awssdk.profiles.ProfileFile;
 import software.amazon.awssdk.profiles.ProfileFileSystemSetting;
 import software.amazon.awssdk.utils.AttributeMap;
 import software.amazon.awssdk.utils.Either;
-import software.amazon.awssdk.utils.ThreadFactoryBuilder;
+import software.amazon.awssdk.utils.ExecutorUtils;
 import software.amazon.awssdk.utils.Validate;
 
 /**
@@ -111,6 +118,7 @@ public abstract class SdkDefaultClientBuilder<B extends SdkClientBuilder<B, C>,
 
     private SdkHttpClient.Builder httpClientBuilder;
     private SdkAsyncHttpClient.Builder asyncHttpClientBuilder;
+    private SdkRuntime runtime;
 
     protected SdkDefaultClientBuilder() {
         this(DEFAULT_HTTP_CLIENT_BUILDER, DEFAULT_ASYNC_HTTP_CLIENT_BUILDER);
@@ -246,10 +254,16 @@ public abstract class SdkDefaultClientBuilder<B extends SdkClientBuilder<B, C>,
      * Finalize global configuration from the default-applied configuration.
      */
     private SdkClientConfiguration finalizeConfiguration(SdkClientConfiguration config) {
+        ScheduledExecutorService scheduledExecutor = resolveScheduledExecutorService();
+        RetryPolicy retryPolicy = resolveRetryPolicy(config);
         return config.toBuilder()
-                     .option(SCHEDULED_EXECUTOR_SERVICE, resolveScheduledExecutorService())
+                     .option(SCHEDULED_EXECUTOR_SERVICE, scheduledExecutor)
+                     .option(TIMEOUT_SCHEDULER, resolveTimeoutScheduler(scheduledExecutor))
                      .option(EXECUTION_INTERCEPTORS, resolveExecutionInterceptors(config))
-                     .option(RETRY_POLICY, resolveRetryPolicy(config))
+                     .option(RETRY_POLICY, retryPolicy)
+                     .option(REQUEST_HEDGER, resolveRequestHedger(config, retryPolicy))
+                     .option(METRIC_PUBLISHERS, resolveMetricPublishers(config))
+                     .option(SDK_RUNTIME_REFERENCE, runtime == null ? null : runtime.retain())
                      .build();
     }
 
@@ -267,6 +281,17 @@ public abstract class SdkDefaultClientBuilder<B extends SdkClientBuilder<B, C>,
         return RetryPolicy.forRetryMode(retryMode);
     }
 
+    /**
+     * Create the hedger for the configured hedging policy. Only async clients hedge requests.
+     */
+    private RequestHedger resolveRequestHedger(SdkClientConfiguration config, RetryPolicy retryPolicy) {
+        HedgingPolicy hedgingPolicy = config.option(HEDGING_POLICY);
+        if (hedgingPolicy == null || config.option(SdkClientOption.CLIENT_TYPE) != ASYNC) {
+            return null;
+        }
+        return RequestHedger.create(hedgingPolicy, retryPolicy);
+    }
+
     /**
      * Finalize which sync HTTP client will be used for the created client.
      */
@@ -276,7 +301,20 @@ public abstract class SdkDefaultClientBuilder<B extends SdkClientBuilder<B, C>,
 
         return Either.fromNullable(config.option(SdkClientOption.SYNC_HTTP_CLIENT), httpClientBuilder)
                      .map(e -> e.map(NonManagedSdkHttpClient::new, b -> b.buildWithDefaults(childHttpConfig())))
-                     .orElseGet(() -> defaultHttpClientBuilder.buildWithDefaults(childHttpConfig()));
+                     .orElseGet(() -> runtime == null ? defaultHttpClientBuilder.buildWithDefaults(childHttpConfig())
+                                                      : resolveRuntimeHttpClient());
+    }
+
+    /**
+     * Resolve the sync HTTP client shared through the runtime. If the runtime has no HTTP client configured, one default
+     * HTTP client is shared by all clients with the same HTTP configuration defaults.
+     */
+    private SdkHttpClient resolveRuntimeHttpClient() {
+        AttributeMap httpConfig = childHttpConfig();
+        SdkHttpClient httpClient = runtime.httpClient().orElseGet(
+            () -> runtime.sharedResource(Arrays.asList(SdkHttpClient.class, httpConfig),
+                                         () -> defaultHttpClientBuilder.buildWithDefaults(httpConfig)));
+        return new NonManagedSdkHttpClient(httpClient);
     }
 
     /**
@@ -287,7 +325,20 @@ public abstract class SdkDefaultClientBuilder<B extends SdkClientBuilder<B, C>,
                         "The asyncHttpClient and the asyncHttpClientBuilder can't both be configured.");
         return Either.fromNullable(config.option(ASYNC_HTTP_CLIENT), asyncHttpClientBuilder)
                      .map(e -> e.map(NonManagedSdkAsyncHttpClient::new, b -> b.buildWithDefaults(childHttpConfig())))
-                     .orElseGet(() -> defaultAsyncHttpClientBuilder.buildWithDefaults(childHttpConfig()));
+                     .orElseGet(() -> runtime == null ? defaultAsyncHttpClientBuilder.buildWithDefaults(childHttpConfig())
+                                                      : resolveRuntimeAsyncHttpClient());
+    }
+
+    /**
+     * Resolve the async HTTP client shared through the runtime. If the runtime has no async HTTP client configured, one
+     * default async HTTP client is shared by all clients with the same HTTP configuration defaults.
+     */
+    private SdkAsyncHttpClient resolveRuntimeAsyncHttpClient() {
+        AttributeMap httpConfig = childHttpConfig();
+        SdkAsyncHttpClient httpClient = runtime.asyncHttpClient().orElseGet(
+            () -> runtime.sharedResource(Arrays.asList(SdkAsyncHttpClient.class, httpConfig),
+                                         () -> defaultAsyncHttpClientBuilder.buildWithDefaults(httpConfig)));
+        return new NonManagedSdkAsyncHttpClient(httpClient);
     }
 
     /**
@@ -298,30 +349,13 @@ public abstract class SdkDefaultClientBuilder<B extends SdkClientBuilder<B, C>,
     }
 
     /**
-     * Finalize which async executor service will be used for the created client. The default async executor
-     * service has at least 8 core threads and can scale up to at least 64 threads when needed depending
-     * on the number of processors available.
-     *
-     * This uses the same default executor in S3NativeClientConfiguration#resolveAsyncFutureCompletionExecutor.
-     * Make sure you update that method if you update the defaults here.
+     * Finalize which async executor service will be used for the created client. The runtime's executor is used if the client
+     * was built with a runtime, otherwise see {@link DefaultSdkExecutors#newFutureCompletionExecutor()}.
      */
     private Executor resolveAsyncFutureCompletionExecutor(SdkClientConfiguration config) {
-        Supplier<Executor> defaultExecutor = () -> {
-            int processors = Runtime.getRuntime().availableProcessors();
-            int corePoolSize = Math.max(8, processors);
-            int maxPoolSize = Math.max(64, processors * 2);
-            ThreadPoolExecutor executor = new ThreadPoolExecutor(corePoolSize, maxPoolSize,
-                                                                 10, TimeUnit.SECONDS,
-                                                                 new LinkedBlockingQueue<>(1_000),
-                                                                 new ThreadFactoryBuilder()
-                                                                     .threadNamePrefix("sdk-async-response").build());
-            // Allow idle core threads to time out
-            executor.allowCoreThreadTimeOut(true);
-            return executor;
-        };
-
         return Optional.ofNullable(config.option(FUTURE_COMPLETION_EXECUTOR))
-                       .orElseGet(defaultExecutor);
+                       .orElseGet(() -> runtime == null ? DefaultSdkExecutors.newFutureCompletionExecutor()
+                                                        : ExecutorUtils.unmanagedExecutor(runtime.futureCompletionExecutor()));
     }
 
     /**
@@ -329,8 +363,27 @@ public abstract class SdkDefaultClientBuilder<B extends SdkClientBuilder<B, C>,
      * as async retry attempts and timeout task.
      */
     private ScheduledExecutorService resolveScheduledExecutorService() {
-        return Executors.newScheduledThreadPool(5, new ThreadFactoryBuilder()
-            .threadNamePrefix("sdk-ScheduledExecutor").build());
+        return runtime == null ? DefaultSdkExecutors.newScheduledExecutorService()
+                               : new UnmanagedScheduledExecutorService(runtime.scheduledExecutorService());
+    }
+
+    /**
+     * Finalize the metric publishers, falling back to the runtime's publishers if the client does not configure any.
+     */
+    private List<MetricPublisher> resolveMetricPublishers(SdkClientConfiguration config) {
+        List<MetricPublisher> metricPublishers = config.option(METRIC_PUBLISHERS);
+        if (runtime == null || (metricPublishers != null && !metricPublishers.isEmpty())) {
+            return metricPublishers;
+        }
+        return runtime.metricPublishers();
+    }
+
+    /**
+     * Finalize the scheduler that is used to enforce the API call and API call attempt timeouts. Timeouts are tracked by a
+     * timing wheel shared by all clients, and the timeout tasks that do fire run on the client's scheduled executor.
+     */
+    private TimeoutScheduler resolveTimeoutScheduler(ScheduledExecutorService scheduledExecutor) {
+        return HashedWheelTimeoutScheduler.shared().withExecutor(scheduledExecutor);
     }
 
     /**
@@ -381,6 +434,7 @@ public abstract class SdkDefaultClientBuilder<B extends SdkClientBuilder<B, C>,
     public final B overrideConfiguration(ClientOverrideConfiguration overrideConfig) {
         clientConfiguration.option(EXECUTION_INTERCEPTORS, overrideConfig.executionInterceptors());
         clientConfiguration.option(RETRY_POLICY, overrideConfig.retryPolicy().orElse(null));
+        clientConfiguration.option(HEDGING_POLICY, overrideConfig.hedgingPolicy().orElse(null));
         clientConfiguration.option(ADDITIONAL_HTTP_HEADERS, overrideConfig.headers());
         clientConfiguration.option(SIGNER, overrideConfig.advancedOption(SIGNER).orElse(null));
         clientConfiguration.option(USER_AGENT_SUFFIX, overrideConfig.advancedOption(USER_AGENT_SUFFIX).orElse(null));
@@ -429,6 +483,23 @@ public abstract class SdkDefaultClientBuilder<B extends SdkClientBuilder<B, C>,
         return thisBuilder();
     }
 
+    @Override
+    public final B runtime(SdkRuntime runtime) {
+        this.runtime = runtime;
+        return thisBuilder();
+    }
+
+    public final void setRuntime(SdkRuntime runtime) {
+        runtime(runtime);
+    }
+
+    /**
+     * The runtime the client is built with, if any, for child implementations that share additional resources through it.
+     */
+    protected final Optional<SdkRuntime> configuredRuntime() {
+        return Optional.ofNullable(runtime);
+    }
+
     /**
      * Return "this" for method chaining.
      */
@@ -28,6 +28,7 @@ import software.amazon.awssdk.annotations.SdkPublicApi;
 import software.amazon.awssdk.core.interceptor.ExecutionAttribute;
 import software.amazon.awssdk.core.interceptor.ExecutionAttributes;
 import software.amazon.awssdk.core.interceptor.ExecutionInterceptor;
+import software.amazon.awssdk.core.retry.HedgingPolicy;
 import software.amazon.awssdk.core.retry.RetryMode;
 import software.amazon.awssdk.core.retry.RetryPolicy;
 import software.amazon.awssdk.core.sync.ResponseTransformer;
@@ -52,6 +53,7 @@ public final class ClientOverrideConfiguration
         implements ToCopyableBuilder<ClientOverrideConfiguration.Builder, ClientOverrideConfiguration> {
     private final Map<String, List<String>> headers;
     private final RetryPolicy retryPolicy;
+    private final HedgingPolicy hedgingPolicy;
     private final List<ExecutionInterceptor> executionInterceptors;
     private final AttributeMap advancedOptions;
     private final Duration apiCallAttemptTimeout;
@@ -67,6 +69,7 @@ public final class ClientOverrideConfiguration
     private ClientOverrideConfiguration(Builder builder) {
         this.headers = CollectionUtils.deepUnmodifiableMap(builder.headers(), () -> new TreeMap<>(String.CASE_INSENSITIVE_ORDER));
         this.retryPolicy = builder.retryPolicy();
+        this.hedgingPolicy = builder.hedgingPolicy();
         this.executionInterceptors = Collections.unmodifiableList(new ArrayList<>(builder.executionInterceptors()));
         this.advancedOptions = builder.advancedOptions();
         this.apiCallTimeout = Validate.isPositiveOrNull(builder.apiCallTimeout(), "apiCallTimeout");
@@ -82,6 +85,7 @@ public final class ClientOverrideConfiguration
         return new DefaultClientOverrideConfigurationBuilder().advancedOptions(advancedOptions.toBuilder())
                 .headers(headers)
                 .retryPolicy(retryPolicy)
+                .hedgingPolicy(hedgingPolicy)
                 .apiCallTimeout(apiCallTimeout)
                 .apiCallAttemptTimeout(apiCallAttemptTimeout)
                 .executionInterceptors(executionInterceptors)
@@ -118,6 +122,15 @@ public final class ClientOverrideConfiguration
         return Optional.ofNullable(retryPolicy);
     }
 
+    /**
+     * The optional policy for hedging slow requests made by asynchronous clients.
+     *
+     * @see Builder#hedgingPolicy(HedgingPolicy)
+     */
+    public Optional<HedgingPolicy> hedgingPolicy() {
+        return Optional.ofNullable(hedgingPolicy);
+    }
+
     /**
      * Load the optional requested advanced option that was configured on the client builder.
      *
@@ -215,6 +228,7 @@ public final class ClientOverrideConfiguration
         return ToString.builder("ClientOverrideConfiguration")
                 .add("headers", headers)
                 .add("retryPolicy", retryPolicy)
+                .add("hedgingPolicy", hedgingPolicy)
                 .add("apiCallTimeout", apiCallTimeout)
                 .add("apiCallAttemptTimeout", apiCallAttemptTimeout)
                 .add("executionInterceptors", executionInterceptors)
@@ -302,6 +316,22 @@ public final class ClientOverrideConfiguration
 
         RetryPolicy retryPolicy();
 
+        /**
+         * Configure the policy for hedging slow requests made by asynchronous clients. By default, requests are not hedged.
+         *
+         * @see ClientOverrideConfiguration#hedgingPolicy()
+         */
+        Builder hedgingPolicy(HedgingPolicy hedgingPolicy);
+
+        /**
+         * Configure the policy for hedging slow requests made by asynchronous clients.
+         */
+        default Builder hedgingPolicy(Consumer<HedgingPolicy.Builder> hedgingPolicy) {
+            return hedgingPolicy(HedgingPolicy.builder().applyMutation(hedgingPolicy).build());
+        }
+
+        HedgingPolicy hedgingPolicy();
+
         /**
          * Configure a list of execution interceptors that will have access to read and modify the request and response objcets as
          * they are processed by the SDK. These will replace any interceptors configured previously with this method or
@@ -477,6 +507,7 @@ public final class ClientOverrideConfiguration
     private static final class DefaultClientOverrideConfigurationBuilder implements Builder {
         private Map<String, List<String>> headers = new HashMap<>();
         private RetryPolicy retryPolicy;
+        private HedgingPolicy hedgingPolicy;
         private List<ExecutionInterceptor> executionInterceptors = new ArrayList<>();
         private AttributeMap.Builder advancedOptions = AttributeMap.builder();
         private Duration apiCallTimeout;
@@ -525,6 +556,21 @@ public final class ClientOverrideConfiguration
             return retryPolicy;
         }
 
+        @Override
+        public Builder hedgingPolicy(HedgingPolicy hedgingPolicy) {
+            this.hedgingPolicy = hedgingPolicy;
+            return this;
+        }
+
+        public void setHedgingPolicy(HedgingPolicy hedgingPolicy) {
+            hedgingPolicy(hedgingPolicy);
+        }
+
+        @Override
+        public HedgingPolicy hedgingPolicy() {
+            return hedgingPolicy;
+        }
+
         @Override
         public Builder executionInterceptors(List<ExecutionInterceptor> executionInterceptors) {
             Validate.paramNotNull(executionInterceptors, "executionInterceptors");
@@ -25,12 +25,16 @@ import software.amazon.awssdk.core.ClientType;
 import software.amazon.awssdk.core.ServiceConfiguration;
 import software.amazon.awssdk.core.interceptor.ExecutionAttributes;
 import software.amazon.awssdk.core.interceptor.ExecutionInterceptor;
+import software.amazon.awssdk.core.internal.http.timers.TimeoutScheduler;
+import software.amazon.awssdk.core.internal.retry.RequestHedger;
+import software.amazon.awssdk.core.retry.HedgingPolicy;
 import software.amazon.awssdk.core.retry.RetryMode;
 import software.amazon.awssdk.core.retry.RetryPolicy;
 import software.amazon.awssdk.http.SdkHttpClient;
 import software.amazon.awssdk.http.async.SdkAsyncHttpClient;
 import software.amazon.awssdk.metrics.MetricPublisher;
 import software.amazon.awssdk.profiles.ProfileFile;
+import software.amazon.awssdk.utils.SdkAutoCloseable;
 
 /**
  * A set of internal options required by the SDK via {@link SdkClientConfiguration}.
@@ -85,6 +89,18 @@ public final class SdkClientOption<T> extends ClientOption<T> {
     public static final SdkClientOption<ScheduledExecutorService> SCHEDULED_EXECUTOR_SERVICE =
             new SdkClientOption<>(ScheduledExecutorService.class);
 
+    /**
+     * The internal SDK scheduler used to enforce the API call and API call attempt timeouts. If not set, the timeouts are
+     * scheduled on the {@link #SCHEDULED_EXECUTOR_SERVICE}.
+     */
+    public static final SdkClientOption<TimeoutScheduler> TIMEOUT_SCHEDULER = new SdkClientOption<>(TimeoutScheduler.class);
+
+    /**
+     * The reference to the {@link software.amazon.awssdk.core.SdkRuntime} the client was built with, if any. Closing the
+     * client configuration releases the reference.
+     */
+    public static final SdkClientOption<SdkAutoCloseable> SDK_RUNTIME_REFERENCE = new SdkClientOption<>(SdkAutoCloseable.class);
+
     /**
      * The asynchronous HTTP client implementation to make HTTP requests with.
      */
@@ -157,6 +173,17 @@ public final class SdkClientOption<T> extends ClientOption<T> {
      */
     public static final SdkClientOption<RetryMode> DEFAULT_RETRY_MODE = new SdkClientOption<>(RetryMode.class);
 
+    /**
+     * @see ClientOverrideConfiguration#hedgingPolicy()
+     */
+    public static final SdkClientOption<HedgingPolicy> HEDGING_POLICY = new SdkClientOption<>(HedgingPolicy.class);
+
+    /**
+     * The hedger that sends hedged requests for the {@link #HEDGING_POLICY}. This is only set for async clients that have
+     * a hedging policy configured.
+     */
+    public static final SdkClientOption<RequestHedger> REQUEST_HEDGER = new SdkClientOption<>(RequestHedger.class);
+
     private SdkClientOption(Class<T> valueClass) {
         super(valueClass);
     }
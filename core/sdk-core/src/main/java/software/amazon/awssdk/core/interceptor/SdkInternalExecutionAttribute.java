@@ -47,6 +47,12 @@ public final class SdkInternalExecutionAttribute extends SdkExecutionAttribute {
     public static final ExecutionAttribute<Boolean> DISABLE_HOST_PREFIX_INJECTION =
             new ExecutionAttribute<>("DisableHostPrefixInjection");
 
+    /**
+     * Whether the operation is modeled as idempotent, meaning that it can safely be sent more than once. This is used to
+     * decide whether a request may be hedged, see {@link software.amazon.awssdk.core.retry.HedgingPolicy}.
+     */
+    public static final ExecutionAttribute<Boolean> IDEMPOTENT_OPERATION = new ExecutionAttribute<>("IdempotentOperation");
+
     private SdkInternalExecutionAttribute() {
     }
 }
@@ -27,6 +27,7 @@ import software.amazon.awssdk.core.ResponseBytes;
 import software.amazon.awssdk.core.async.AsyncResponseTransformer;
 import software.amazon.awssdk.core.async.SdkPublisher;
 import software.amazon.awssdk.utils.BinaryUtils;
+import software.amazon.awssdk.utils.async.PooledByteBuffers;
 
 /**
  * Implementation of {@link AsyncResponseTransformer} that dumps content into a byte array and supports further
@@ -88,7 +89,11 @@ public final class ByteArrayAsyncResponseTransformer<ResponseT> implements
 
         @Override
         public void onNext(ByteBuffer byteBuffer) {
-            invokeSafely(() -> baos.write(BinaryUtils.copyBytesFrom(byteBuffer)));
+            try {
+                invokeSafely(() -> baos.write(BinaryUtils.copyBytesFrom(byteBuffer)));
+            } finally {
+                PooledByteBuffers.release(byteBuffer);
+            }
             subscription.request(1);
         }
 
@@ -64,20 +64,52 @@ public final class FileAsyncRequestBody implements AsyncRequestBody {
      */
     private final int chunkSizeInBytes;
 
+    /**
+     * Position in the file at which reading starts.
+     */
+    private final long position;
+
+    /**
+     * Maximum number of bytes read from the file, or null to read until the end of the file.
+     */
+    private final Long numBytesToRead;
+
     private FileAsyncRequestBody(DefaultBuilder builder) {
         this.path = builder.path;
         this.chunkSizeInBytes = builder.chunkSizeInBytes == null ? DEFAULT_CHUNK_SIZE : builder.chunkSizeInBytes;
+        this.position = builder.position == null ? 0 : Validate.isNotNegative(builder.position, "position");
+        this.numBytesToRead = builder.numBytesToRead == null ? null
+                                                            : Validate.isNotNegative(builder.numBytesToRead, "numBytesToRead");
     }
 
     @Override
     public Optional<Long> contentLength() {
         try {
-            return Optional.of(Files.size(path));
+            return Optional.of(bytesToRead(Files.size(path)));
         } catch (IOException e) {
             throw new UncheckedIOException(e);
         }
     }
 
+    private long bytesToRead(long fileSize) {
+        long bytesAfterPosition = Math.max(0, fileSize - position);
+        return numBytesToRead == null ? bytesAfterPosition : Math.min(numBytesToRead, bytesAfterPosition);
+    }
+
+    /**
+     * @return The file that is read.
+     */
+    public Path path() {
+        return path;
+    }
+
+    /**
+     * @return The position in the file at which reading starts.
+     */
+    public long position() {
+        return position;
+    }
+
     @Override
     public String contentType() {
         return Mimetype.getInstance().getMimetype(path);
@@ -92,7 +124,8 @@ public final class FileAsyncRequestBody implements AsyncRequestBody {
             // We need to synchronize here because the subscriber could call
             // request() from within onSubscribe which would potentially
             // trigger onNext before onSubscribe is finished.
-            Subscription subscription = new FileSubscription(path, channel, s, chunkSizeInBytes);
+            Subscription subscription = new FileSubscription(path, channel, s, chunkSizeInBytes, position,
+                                                             bytesToRead(channel.size()));
 
             synchronized (subscription) {
                 s.onSubscribe(subscription);
@@ -140,12 +173,34 @@ public final class FileAsyncRequestBody implements AsyncRequestBody {
          */
         Builder chunkSizeInBytes(Integer chunkSize);
 
+        /**
+         * Sets the position in the file at which reading starts. This, together with {@link #numBytesToRead(Long)}, allows
+         * a region of a file to be sent, for example as one part of a multipart upload.
+         *
+         * <p>By default, the file is read from the beginning.</p>
+         *
+         * @param position Position in the file, in bytes.
+         * @return This builder for method chaining.
+         */
+        Builder position(Long position);
+
+        /**
+         * Sets the maximum number of bytes read from the file, starting at {@link #position(Long)}.
+         *
+         * <p>By default, the file is read until its end.</p>
+         *
+         * @param numBytesToRead Number of bytes to read.
+         * @return This builder for method chaining.
+         */
+        Builder numBytesToRead(Long numBytesToRead);
     }
 
     private static final class DefaultBuilder implements Builder {
 
         private Path path;
         private Integer chunkSizeInBytes;
+        private Long position;
+        private Long numBytesToRead;
 
         @Override
         public Builder path(Path path) {
@@ -167,6 +222,26 @@ public final class FileAsyncRequestBody implements AsyncRequestBody {
             chunkSizeInBytes(chunkSizeInBytes);
         }
 
+        @Override
+        public Builder position(Long position) {
+            this.position = position;
+            return this;
+        }
+
+        public void setPosition(Long position) {
+            position(position);
+        }
+
+        @Override
+        public Builder numBytesToRead(Long numBytesToRead) {
+            this.numBytesToRead = numBytesToRead;
+            return this;
+        }
+
+        public void setNumBytesToRead(Long numBytesToRead) {
+            numBytesToRead(numBytesToRead);
+        }
+
         @Override
         public FileAsyncRequestBody build() {
             return new FileAsyncRequestBody(this);
@@ -182,7 +257,7 @@ public final class FileAsyncRequestBody implements AsyncRequestBody {
         private final Subscriber<? super ByteBuffer> subscriber;
         private final int chunkSize;
 
-        private final AtomicLong position = new AtomicLong(0);
+        private final AtomicLong position;
         private final AtomicLong remainingBytes = new AtomicLong(0);
         private final long sizeAtStart;
         private final FileTime modifiedTimeAtStart;
@@ -194,14 +269,17 @@ public final class FileAsyncRequestBody implements AsyncRequestBody {
         private FileSubscription(Path path,
                                  AsynchronousFileChannel inputChannel,
                                  Subscriber<? super ByteBuffer> subscriber,
-                                 int chunkSize) throws IOException {
+                                 int chunkSize,
+                                 long position,
+                                 long bytesToRead) throws IOException {
             this.path = path;
             this.inputChannel = inputChannel;
             this.subscriber = subscriber;
             this.chunkSize = chunkSize;
+            this.position = new AtomicLong(position);
             this.sizeAtStart = inputChannel.size();
             this.modifiedTimeAtStart = Files.getLastModifiedTime(path);
-            this.remainingBytes.set(Validate.isNotNegative(sizeAtStart, "size"));
+            this.remainingBytes.set(Validate.isNotNegative(bytesToRead, "size"));
         }
 
         @Override
@@ -256,7 +334,7 @@ public final class FileAsyncRequestBody implements AsyncRequestBody {
                 return;
             }
 
-            ByteBuffer buffer = ByteBuffer.allocate(chunkSize);
+            ByteBuffer buffer = ByteBuffer.allocate((int) Math.min(chunkSize, remainingBytes.get()));
             inputChannel.read(buffer, position.get(), buffer, new CompletionHandler<Integer, ByteBuffer>() {
                 @Override
                 public void completed(Integer result, ByteBuffer attachment) {
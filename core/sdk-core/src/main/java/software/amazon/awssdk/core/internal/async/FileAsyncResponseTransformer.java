@@ -32,9 +32,11 @@ import org.reactivestreams.Subscription;
 import software.amazon.awssdk.annotations.SdkInternalApi;
 import software.amazon.awssdk.core.async.AsyncResponseTransformer;
 import software.amazon.awssdk.core.async.SdkPublisher;
+import software.amazon.awssdk.utils.async.PooledByteBuffers;
 
 /**
- * {@link AsyncResponseTransformer} that writes the data to the specified file.
+ * {@link AsyncResponseTransformer} that writes the data to the specified file. Each chunk is written to the file as it was
+ * received, and {@linkplain PooledByteBuffers pooled} chunks are released once they have been written.
  *
  * @param <ResponseT> Response POJO type.
  */
@@ -142,6 +144,7 @@ public final class FileAsyncResponseTransformer<ResponseT> implements AsyncRespo
                     if (byteBuffer.hasRemaining()) {
                         performWrite(byteBuffer);
                     } else {
+                        PooledByteBuffers.release(byteBuffer);
                         synchronized (FileSubscriber.this) {
                             writeInProgress = false;
                             if (closeOnLastWrite) {
@@ -155,6 +158,7 @@ public final class FileAsyncResponseTransformer<ResponseT> implements AsyncRespo
 
                 @Override
                 public void failed(Throwable exc, ByteBuffer attachment) {
+                    PooledByteBuffers.release(byteBuffer);
                     subscription.cancel();
                     future.completeExceptionally(exc);
                 }
@@ -20,6 +20,7 @@ import java.nio.charset.StandardCharsets;
 import org.reactivestreams.Publisher;
 import software.amazon.awssdk.annotations.SdkInternalApi;
 import software.amazon.awssdk.core.async.SdkPublisher;
+import software.amazon.awssdk.utils.async.PooledByteBuffers;
 
 /**
  * Common implementations of {@link SdkPublisher} that are provided for convenience when building asynchronous
@@ -55,10 +56,18 @@ public final class SdkPublishers {
         return ByteBuffer.wrap(s.getBytes(StandardCharsets.UTF_8));
     }
 
+    /**
+     * Copies two buffers into a new one. The second buffer is response content that is not published itself, so it is
+     * released once it has been copied in case it is a view of pooled memory.
+     */
     private static ByteBuffer concat(ByteBuffer b1, ByteBuffer b2) {
         ByteBuffer result = ByteBuffer.allocate(b1.remaining() + b2.remaining());
         result.put(b1);
-        result.put(b2);
+        try {
+            result.put(b2);
+        } finally {
+            PooledByteBuffers.release(b2);
+        }
         result.rewind();
         return result;
     }
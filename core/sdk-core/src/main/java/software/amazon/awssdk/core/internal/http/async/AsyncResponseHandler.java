@@ -33,6 +33,7 @@ import software.amazon.awssdk.http.SdkHttpFullResponse;
 import software.amazon.awssdk.http.SdkHttpResponse;
 import software.amazon.awssdk.utils.BinaryUtils;
 import software.amazon.awssdk.utils.CompletableFutureUtils;
+import software.amazon.awssdk.utils.async.PooledByteBuffers;
 
 /**
  *
@@ -119,6 +120,8 @@ public final class AsyncResponseHandler<T> implements TransformingAsyncResponseH
             } catch (IOException e) {
                 // Should never happen
                 streamFuture.completeExceptionally(e);
+            } finally {
+                PooledByteBuffers.release(byteBuffer);
             }
         }
 
@@ -0,0 +1,348 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+
+package software.amazon.awssdk.core.internal.http.async;
+
+import java.nio.ByteBuffer;
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.BiFunction;
+import org.reactivestreams.Publisher;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+import software.amazon.awssdk.annotations.SdkInternalApi;
+import software.amazon.awssdk.annotations.ThreadSafe;
+import software.amazon.awssdk.core.internal.http.timers.TimeoutScheduler;
+import software.amazon.awssdk.core.internal.http.timers.TimeoutScheduler.ScheduledTimeout;
+import software.amazon.awssdk.core.internal.retry.RequestHedger;
+import software.amazon.awssdk.core.metrics.CoreMetric;
+import software.amazon.awssdk.core.retry.RetryPolicyContext;
+import software.amazon.awssdk.http.HttpStatusCode;
+import software.amazon.awssdk.http.HttpStatusFamily;
+import software.amazon.awssdk.http.SdkHttpResponse;
+import software.amazon.awssdk.http.async.SdkAsyncHttpResponseHandler;
+import software.amazon.awssdk.metrics.MetricCollection;
+import software.amazon.awssdk.metrics.MetricCollector;
+import software.amazon.awssdk.metrics.MetricRecord;
+import software.amazon.awssdk.metrics.NoOpMetricCollector;
+import software.amazon.awssdk.utils.Logger;
+
+/**
+ * Sends an HTTP request, and if it hasn't received a response after the hedging delay of the {@link RequestHedger}, sends
+ * the same request a second time.
+ *
+ * <p>Whichever of the two requests receives response headers first wins the race, and only its response is passed to the
+ * response handler. The other request is cancelled, and if it already started receiving a response body, its subscription
+ * is cancelled. A request that fails before either one receives a response does not fail the execution while the other one
+ * may still succeed. The execution only fails when all requests that were sent failed, or the winning request fails while
+ * its response is being received.
+ *
+ * <p>The capacity taken for the hedged request is returned when the execution completes, unless it failed or the winning
+ * request received a server error or throttling response.
+ *
+ * <p>Only the winning request's {@link CoreMetric#SERVICE_CALL_DURATION} and HTTP client metrics are reported, so that the
+ * attempt's metrics look like those of an attempt that was not hedged. Each request reports its HTTP client metrics to a
+ * collector of its own, and the winner's metrics are added to the attempt's metric collector as its {@code HttpClient} child
+ * once the execution completes. If no request won, the first request's metrics are reported.
+ */
+@SdkInternalApi
+@ThreadSafe
+public final class HedgedAsyncExecution {
+    private static final Logger log = Logger.loggerFor(HedgedAsyncExecution.class);
+
+    private final BiFunction<SdkAsyncHttpResponseHandler, MetricCollector, CompletableFuture<Void>> requestExecutor;
+    private final SdkAsyncHttpResponseHandler responseHandler;
+    private final RequestHedger requestHedger;
+    private final String operationName;
+    private final MetricCollector metricCollector;
+    private final TimeoutScheduler timeoutScheduler;
+
+    private final CompletableFuture<Void> executeFuture = new CompletableFuture<>();
+    private final Attempt primaryAttempt = new Attempt();
+    private final Attempt hedgedAttempt = new Attempt();
+    private final AtomicReference<Attempt> winner = new AtomicReference<>();
+
+    /**
+     * The number of requests sent that haven't failed. Once this drops to zero, the hedged request is no longer sent.
+     */
+    private final AtomicInteger liveAttempts = new AtomicInteger(1);
+    private final AtomicReference<RetryPolicyContext> hedgeCapacity = new AtomicReference<>();
+    private volatile ScheduledTimeout hedgeTimeout;
+    private volatile boolean executionFailed;
+    private volatile boolean failureResponse;
+    private long startTime;
+
+    /**
+     * @param requestExecutor Sends the request with the given response handler and HTTP client metric collector, returning
+     * the HTTP client's future.
+     * @param responseHandler The response handler the winning request's response is passed to.
+     * @param requestHedger The hedger of the client, which the request has been checked to be hedgeable with.
+     * @param operationName The operation the request is for.
+     * @param metricCollector The attempt metric collector to report the winning request's service call duration and HTTP
+     * client metrics to.
+     * @param timeoutScheduler The scheduler to send the hedged request with.
+     */
+    public HedgedAsyncExecution(BiFunction<SdkAsyncHttpResponseHandler, MetricCollector, CompletableFuture<Void>> requestExecutor,
+                                SdkAsyncHttpResponseHandler responseHandler,
+                                RequestHedger requestHedger,
+                                String operationName,
+                                MetricCollector metricCollector,
+                                TimeoutScheduler timeoutScheduler) {
+        this.requestExecutor = requestExecutor;
+        this.responseHandler = responseHandler;
+        this.requestHedger = requestHedger;
+        this.operationName = operationName;
+        this.metricCollector = metricCollector;
+        this.timeoutScheduler = timeoutScheduler;
+    }
+
+    /**
+     * Start the execution.
+     *
+     * @return A future that is completed like the HTTP client's future of the winning request. Completing it exceptionally
+     * cancels all requests.
+     */
+    public CompletableFuture<Void> execute() {
+        executeFuture.whenComplete((r, t) -> {
+            Attempt reportedAttempt = winner.get() != null ? winner.get() : primaryAttempt;
+            metricCollector.reportMetric(CoreMetric.SERVICE_CALL_DURATION,
+                                         Duration.ofNanos(System.nanoTime() - reportedAttempt.sendTime));
+            reportHttpMetrics(reportedAttempt);
+
+            // Keep the capacity only if the service or the connection failed; a cancelled execution says nothing about them
+            if (t == null ? !failureResponse : !executionFailed) {
+                releaseHedgeCapacity();
+            }
+
+            if (t != null) {
+                cancelHedgeTimeout();
+                primaryAttempt.cancel();
+                hedgedAttempt.cancel();
+            }
+        });
+
+        startTime = System.nanoTime();
+        Duration hedgeDelay = requestHedger.hedgeDelay(operationName).orElse(null);
+        if (hedgeDelay != null) {
+            hedgeTimeout = timeoutScheduler.schedule(this::sendHedgedRequest, hedgeDelay.toNanos(), TimeUnit.NANOSECONDS);
+        }
+
+        primaryAttempt.send();
+        return executeFuture;
+    }
+
+    private void sendHedgedRequest() {
+        if (winner.get() != null || executeFuture.isDone()) {
+            return;
+        }
+
+        Optional<RetryPolicyContext> capacity = requestHedger.tryAcquireHedgeCapacity();
+        if (!capacity.isPresent()) {
+            log.debug(() -> "Not hedging the request to " + operationName + " because the client has experienced too many "
+                            + "recent call failures.");
+            return;
+        }
+        hedgeCapacity.set(capacity.get());
+
+        int live;
+        do {
+            live = liveAttempts.get();
+            if (live == 0) {
+                // The request already failed
+                releaseHedgeCapacity();
+                return;
+            }
+        } while (!liveAttempts.compareAndSet(live, live + 1));
+
+        if (winner.get() != null || executeFuture.isDone()) {
+            // A response arrived or the execution was cancelled in the meantime, so the capacity wasn't needed
+            releaseHedgeCapacity();
+            return;
+        }
+
+        log.debug(() -> "Hedging the request to " + operationName + " because it has not received a response yet.");
+        hedgedAttempt.send();
+    }
+
+    private void releaseHedgeCapacity() {
+        RetryPolicyContext capacity = hedgeCapacity.getAndSet(null);
+        if (capacity != null) {
+            requestHedger.releaseHedgeCapacity(capacity);
+        }
+    }
+
+    private void reportHttpMetrics(Attempt attempt) {
+        MetricCollector httpMetricCollector = attempt.httpMetricCollector;
+        if (httpMetricCollector != null && !(httpMetricCollector instanceof NoOpMetricCollector)) {
+            copyMetrics(httpMetricCollector.collect(), metricCollector.createChild(httpMetricCollector.name()));
+        }
+    }
+
+    private static void copyMetrics(MetricCollection collection, MetricCollector collector) {
+        collection.forEach(record -> copyRecord(record, collector));
+        collection.children().forEach(child -> copyMetrics(child, collector.createChild(child.name())));
+    }
+
+    private static <T> void copyRecord(MetricRecord<T> record, MetricCollector collector) {
+        collector.reportMetric(record.metric(), record.value());
+    }
+
+    private void cancelHedgeTimeout() {
+        ScheduledTimeout timeout = hedgeTimeout;
+        if (timeout != null) {
+            timeout.cancel();
+        }
+    }
+
+    private static boolean isFailureResponse(SdkHttpResponse headers) {
+        return HttpStatusFamily.of(headers.statusCode()) == HttpStatusFamily.SERVER_ERROR
+               || headers.statusCode() == HttpStatusCode.THROTTLING;
+    }
+
+    private void fail(Throwable error) {
+        executionFailed = true;
+        cancelHedgeTimeout();
+        responseHandler.onError(error);
+        executeFuture.completeExceptionally(error);
+    }
+
+    /**
+     * One of the requests sent, which forwards its response to the response handler only if it wins the race.
+     */
+    private final class Attempt implements SdkAsyncHttpResponseHandler {
+        private final AtomicBoolean failed = new AtomicBoolean();
+        private volatile CompletableFuture<Void> httpClientFuture;
+        private volatile MetricCollector httpMetricCollector;
+        private volatile long sendTime;
+
+        private void send() {
+            sendTime = System.nanoTime();
+            httpMetricCollector = metricCollector instanceof NoOpMetricCollector ? metricCollector
+                                                                                 : MetricCollector.create("HttpClient");
+            CompletableFuture<Void> future;
+            try {
+                future = requestExecutor.apply(this, httpMetricCollector);
+            } catch (Throwable t) {
+                onError(t);
+                return;
+            }
+
+            httpClientFuture = future;
+            future.whenComplete((r, t) -> {
+                if (t != null) {
+                    onError(t);
+                } else if (winner.get() == this) {
+                    executeFuture.complete(null);
+                }
+            });
+
+            // The other request may have won before the future could be cancelled
+            Attempt currentWinner = winner.get();
+            if ((currentWinner != null && currentWinner != this) || executeFuture.isCompletedExceptionally()) {
+                cancel();
+            }
+        }
+
+        private void cancel() {
+            CompletableFuture<Void> future = httpClientFuture;
+            if (future != null) {
+                future.cancel(false);
+            }
+        }
+
+        private Attempt otherAttempt() {
+            return this == primaryAttempt ? hedgedAttempt : primaryAttempt;
+        }
+
+        @Override
+        public void onHeaders(SdkHttpResponse headers) {
+            if (failed.get() || !winner.compareAndSet(null, this)) {
+                return;
+            }
+
+            cancelHedgeTimeout();
+            otherAttempt().cancel();
+
+            if (headers.isSuccessful()) {
+                requestHedger.recordLatency(operationName, System.nanoTime() - startTime);
+            }
+            failureResponse = isFailureResponse(headers);
+
+            responseHandler.onHeaders(headers);
+        }
+
+        @Override
+        public void onStream(Publisher<ByteBuffer> stream) {
+            if (winner.get() == this) {
+                responseHandler.onStream(stream);
+            } else {
+                stream.subscribe(new CancellingSubscriber());
+            }
+        }
+
+        @Override
+        public void onError(Throwable error) {
+            if (!failed.compareAndSet(false, true)) {
+                return;
+            }
+
+            Attempt currentWinner = winner.get();
+            if (currentWinner == this) {
+                // The response was already being received from this request, so the other one can't take over
+                fail(error);
+                return;
+            }
+
+            if (currentWinner != null) {
+                // This request lost the race and was cancelled
+                return;
+            }
+
+            if (liveAttempts.decrementAndGet() == 0 && winner.compareAndSet(null, this)) {
+                fail(error);
+            } else {
+                log.debug(() -> "A hedged request to " + operationName + " failed, waiting for the other request.", error);
+            }
+        }
+    }
+
+    /**
+     * Cancels the response body of a request that lost the race as soon as it's subscribed to.
+     */
+    private static final class CancellingSubscriber implements Subscriber<ByteBuffer> {
+        @Override
+        public void onSubscribe(Subscription subscription) {
+            subscription.cancel();
+        }
+
+        @Override
+        public void onNext(ByteBuffer byteBuffer) {
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+        }
+
+        @Override
+        public void onComplete() {
+        }
+    }
+}
@@ -19,11 +19,11 @@ import static software.amazon.awssdk.core.internal.http.timers.TimerUtils.resolv
 import static software.amazon.awssdk.http.Header.CONTENT_LENGTH;
 
 import java.nio.ByteBuffer;
+import java.nio.file.Path;
 import java.time.Duration;
 import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.Executor;
-import java.util.concurrent.ScheduledExecutorService;
 import java.util.function.Supplier;
 import org.reactivestreams.Publisher;
 import org.reactivestreams.Subscriber;
@@ -35,14 +35,19 @@ import software.amazon.awssdk.core.client.config.SdkClientOption;
 import software.amazon.awssdk.core.exception.ApiCallAttemptTimeoutException;
 import software.amazon.awssdk.core.exception.SdkClientException;
 import software.amazon.awssdk.core.interceptor.ExecutionAttributes;
+import software.amazon.awssdk.core.interceptor.SdkExecutionAttribute;
 import software.amazon.awssdk.core.interceptor.SdkInternalExecutionAttribute;
+import software.amazon.awssdk.core.internal.async.FileAsyncRequestBody;
 import software.amazon.awssdk.core.internal.http.HttpClientDependencies;
 import software.amazon.awssdk.core.internal.http.RequestExecutionContext;
 import software.amazon.awssdk.core.internal.http.TransformingAsyncResponseHandler;
+import software.amazon.awssdk.core.internal.http.async.HedgedAsyncExecution;
 import software.amazon.awssdk.core.internal.http.async.SimpleHttpContentPublisher;
 import software.amazon.awssdk.core.internal.http.pipeline.RequestPipeline;
+import software.amazon.awssdk.core.internal.http.timers.TimeoutScheduler;
 import software.amazon.awssdk.core.internal.http.timers.TimeoutTracker;
 import software.amazon.awssdk.core.internal.http.timers.TimerUtils;
+import software.amazon.awssdk.core.internal.retry.RequestHedger;
 import software.amazon.awssdk.core.internal.util.MetricUtils;
 import software.amazon.awssdk.core.metrics.CoreMetric;
 import software.amazon.awssdk.http.SdkHttpFullRequest;
@@ -50,7 +55,9 @@ import software.amazon.awssdk.http.SdkHttpMethod;
 import software.amazon.awssdk.http.SdkHttpResponse;
 import software.amazon.awssdk.http.async.AsyncExecuteRequest;
 import software.amazon.awssdk.http.async.SdkAsyncHttpClient;
+import software.amazon.awssdk.http.async.SdkAsyncHttpResponseHandler;
 import software.amazon.awssdk.http.async.SdkHttpContentPublisher;
+import software.amazon.awssdk.http.async.SdkHttpFileContentPublisher;
 import software.amazon.awssdk.metrics.MetricCollector;
 import software.amazon.awssdk.utils.CompletableFutureUtils;
 import software.amazon.awssdk.utils.Logger;
@@ -67,8 +74,9 @@ public final class MakeAsyncHttpRequestStage<OutputT>
     private final SdkAsyncHttpClient sdkAsyncHttpClient;
     private final TransformingAsyncResponseHandler<Response<OutputT>> responseHandler;
     private final Executor futureCompletionExecutor;
-    private final ScheduledExecutorService timeoutExecutor;
+    private final TimeoutScheduler timeoutScheduler;
     private final Duration apiCallAttemptTimeout;
+    private final RequestHedger requestHedger;
 
     public MakeAsyncHttpRequestStage(TransformingAsyncResponseHandler<Response<OutputT>> responseHandler,
                                      HttpClientDependencies dependencies) {
@@ -77,7 +85,8 @@ public final class MakeAsyncHttpRequestStage<OutputT>
                 dependencies.clientConfiguration().option(SdkAdvancedAsyncClientOption.FUTURE_COMPLETION_EXECUTOR);
         this.sdkAsyncHttpClient = dependencies.clientConfiguration().option(SdkClientOption.ASYNC_HTTP_CLIENT);
         this.apiCallAttemptTimeout = dependencies.clientConfiguration().option(SdkClientOption.API_CALL_ATTEMPT_TIMEOUT);
-        this.timeoutExecutor = dependencies.clientConfiguration().option(SdkClientOption.SCHEDULED_EXECUTOR_SERVICE);
+        this.timeoutScheduler = TimerUtils.resolveTimeoutScheduler(dependencies.clientConfiguration());
+        this.requestHedger = dependencies.clientConfiguration().option(SdkClientOption.REQUEST_HEDGER);
     }
 
     @Override
@@ -172,23 +181,20 @@ public final class MakeAsyncHttpRequestStage<OutputT>
 
         CompletableFuture<Response<OutputT>> responseHandlerFuture = wrappedResponseHandler.prepare();
 
-        SdkHttpContentPublisher requestProvider = context.requestProvider() == null
-                                                  ? new SimpleHttpContentPublisher(request)
-                                                  : new SdkHttpContentPublisherAdapter(context.requestProvider());
-        // Set content length if it hasn't been set already.
-        SdkHttpFullRequest requestWithContentLength = getRequestWithContentLength(request, requestProvider);
-
-        MetricCollector httpMetricCollector = MetricUtils.createHttpMetricsCollector(context);
-
-        AsyncExecuteRequest executeRequest = AsyncExecuteRequest.builder()
-                                                                .request(requestWithContentLength)
-                                                                .requestContentPublisher(requestProvider)
-                                                                .responseHandler(wrappedResponseHandler)
-                                                                .fullDuplex(isFullDuplex(context.executionAttributes()))
-                                                                .metricCollector(httpMetricCollector)
-                                                                .build();
-
-        CompletableFuture<Void> httpClientFuture = doExecuteHttpRequest(context, executeRequest);
+        CompletableFuture<Void> httpClientFuture;
+        if (requestHedger != null && requestHedger.isHedgeable(request, context)) {
+            String operationName = context.executionAttributes().getAttribute(SdkExecutionAttribute.OPERATION_NAME);
+            // The execution reports the service call duration and HTTP client metrics of the winning request only
+            httpClientFuture = new HedgedAsyncExecution(
+                (handler, httpMetricCollector) ->
+                    sdkAsyncHttpClient.execute(createExecuteRequest(request, context, handler, httpMetricCollector)),
+                wrappedResponseHandler, requestHedger, operationName, context.attemptMetricCollector(), timeoutScheduler)
+                .execute();
+        } else {
+            MetricCollector httpMetricCollector = MetricUtils.createHttpMetricsCollector(context);
+            httpClientFuture = doExecuteHttpRequest(context, createExecuteRequest(request, context, wrappedResponseHandler,
+                                                                                  httpMetricCollector));
+        }
 
         TimeoutTracker timeoutTracker = setupAttemptTimer(responseFuture, context);
         context.apiCallAttemptTimeoutTracker(timeoutTracker);
@@ -213,6 +219,23 @@ public final class MakeAsyncHttpRequestStage<OutputT>
         return responseFuture;
     }
 
+    private AsyncExecuteRequest createExecuteRequest(SdkHttpFullRequest request,
+                                                     RequestExecutionContext context,
+                                                     SdkAsyncHttpResponseHandler handler,
+                                                     MetricCollector httpMetricCollector) {
+        SdkHttpContentPublisher requestProvider = createRequestProvider(request, context.requestProvider());
+        // Set content length if it hasn't been set already.
+        SdkHttpFullRequest requestWithContentLength = getRequestWithContentLength(request, requestProvider);
+
+        return AsyncExecuteRequest.builder()
+                                  .request(requestWithContentLength)
+                                  .requestContentPublisher(requestProvider)
+                                  .responseHandler(handler)
+                                  .fullDuplex(isFullDuplex(context.executionAttributes()))
+                                  .metricCollector(httpMetricCollector)
+                                  .build();
+    }
+
     private CompletableFuture<Void> doExecuteHttpRequest(RequestExecutionContext context, AsyncExecuteRequest executeRequest) {
         MetricCollector metricCollector = context.attemptMetricCollector();
         long callStart = System.nanoTime();
@@ -230,6 +253,16 @@ public final class MakeAsyncHttpRequestStage<OutputT>
         return result;
     }
 
+    private static SdkHttpContentPublisher createRequestProvider(SdkHttpFullRequest request, AsyncRequestBody requestBody) {
+        if (requestBody == null) {
+            return new SimpleHttpContentPublisher(request);
+        }
+        if (requestBody instanceof FileAsyncRequestBody) {
+            return new SdkHttpFileContentPublisherAdapter((FileAsyncRequestBody) requestBody);
+        }
+        return new SdkHttpContentPublisherAdapter(requestBody);
+    }
+
     private boolean isFullDuplex(ExecutionAttributes executionAttributes) {
         return executionAttributes.getAttribute(SdkInternalExecutionAttribute.IS_FULL_DUPLEX) != null &&
                executionAttributes.getAttribute(SdkInternalExecutionAttribute.IS_FULL_DUPLEX);
@@ -259,7 +292,7 @@ public final class MakeAsyncHttpRequestStage<OutputT>
         Supplier<SdkClientException> exceptionSupplier = () -> ApiCallAttemptTimeoutException.create(timeoutMillis);
 
         return TimerUtils.timeAsyncTaskIfNeeded(executeFuture,
-                                                timeoutExecutor,
+                                                timeoutScheduler,
                                                 exceptionSupplier,
                                                 timeoutMillis);
     }
@@ -287,4 +320,37 @@ public final class MakeAsyncHttpRequestStage<OutputT>
             asyncRequestBody.subscribe(s);
         }
     }
+
+    /**
+     * Adapts a {@link FileAsyncRequestBody} to the {@link SdkHttpFileContentPublisher} which lets HTTP clients write the file
+     * to the connection without reading it into memory.
+     */
+    private static final class SdkHttpFileContentPublisherAdapter implements SdkHttpFileContentPublisher {
+
+        private final FileAsyncRequestBody fileRequestBody;
+
+        private SdkHttpFileContentPublisherAdapter(FileAsyncRequestBody fileRequestBody) {
+            this.fileRequestBody = fileRequestBody;
+        }
+
+        @Override
+        public Optional<Long> contentLength() {
+            return fileRequestBody.contentLength();
+        }
+
+        @Override
+        public Path path() {
+            return fileRequestBody.path();
+        }
+
+        @Override
+        public long position() {
+            return fileRequestBody.position();
+        }
+
+        @Override
+        public void subscribe(Subscriber<? super ByteBuffer> s) {
+            fileRequestBody.subscribe(s);
+        }
+    }
 }
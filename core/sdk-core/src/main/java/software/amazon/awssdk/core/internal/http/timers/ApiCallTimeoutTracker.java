@@ -17,22 +17,31 @@ package software.amazon.awssdk.core.internal.http.timers;
 
 import java.util.concurrent.ScheduledFuture;
 import software.amazon.awssdk.annotations.SdkInternalApi;
+import software.amazon.awssdk.core.internal.http.timers.TimeoutScheduler.ScheduledTimeout;
 import software.amazon.awssdk.http.Abortable;
 import software.amazon.awssdk.utils.Validate;
 
 /**
- * Api Call Timeout Tracker to track the {@link TimeoutTask} and the {@link ScheduledFuture}.
+ * Api Call Timeout Tracker to track the {@link TimeoutTask} and the {@link ScheduledTimeout} it was scheduled with.
  */
 @SdkInternalApi
 public final class ApiCallTimeoutTracker implements TimeoutTracker {
 
     private final TimeoutTask timeoutTask;
 
-    private final ScheduledFuture<?> future;
+    private final ScheduledTimeout scheduledTimeout;
 
     public ApiCallTimeoutTracker(TimeoutTask timeout, ScheduledFuture<?> future) {
+        this(timeout, cancelFuture(Validate.paramNotNull(future, "scheduledFuture")));
+    }
+
+    public ApiCallTimeoutTracker(TimeoutTask timeout, ScheduledTimeout scheduledTimeout) {
         this.timeoutTask = Validate.paramNotNull(timeout, "timeoutTask");
-        this.future = Validate.paramNotNull(future, "scheduledFuture");
+        this.scheduledTimeout = Validate.paramNotNull(scheduledTimeout, "scheduledTimeout");
+    }
+
+    private static ScheduledTimeout cancelFuture(ScheduledFuture<?> future) {
+        return () -> future.cancel(false);
     }
 
     @Override
@@ -48,7 +57,7 @@ public final class ApiCallTimeoutTracker implements TimeoutTracker {
     @Override
     public void cancel() {
         // Best-effort attempt to ensure that if the future hasn't started running already, don't run it.
-        future.cancel(false);
+        scheduledTimeout.cancel();
         // Ensure that if the future hasn't executed its timeout logic already, it won't do so.
         timeoutTask.cancel();
     }
@@ -0,0 +1,308 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+
+package software.amazon.awssdk.core.internal.http.timers;
+
+import java.time.Duration;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+import software.amazon.awssdk.annotations.SdkInternalApi;
+import software.amazon.awssdk.annotations.SdkTestInternalApi;
+import software.amazon.awssdk.annotations.ThreadSafe;
+import software.amazon.awssdk.utils.Logger;
+import software.amazon.awssdk.utils.SdkAutoCloseable;
+import software.amazon.awssdk.utils.ThreadFactoryBuilder;
+import software.amazon.awssdk.utils.Validate;
+
+/**
+ * A {@link TimeoutScheduler} backed by a hashed timing wheel, similar to Netty's {@code HashedWheelTimer}.
+ *
+ * <p>Scheduling and cancelling a timeout only enqueue it on a lock-free queue. A single worker thread wakes up once per tick,
+ * moves newly scheduled timeouts into their wheel bucket, unlinks cancelled timeouts and runs the timeouts that expired in the
+ * current bucket. Timeouts therefore fire up to one tick late, which is fine for API call timeouts measured in hundreds of
+ * milliseconds or more.
+ *
+ * <p>Tasks run on the worker thread unless they are scheduled through {@link #withExecutor(Executor)}, so they must be short.
+ * The {@link #shared()} instance is used by all clients and is never closed; its worker is a daemon thread.
+ */
+@SdkInternalApi
+@ThreadSafe
+public final class HashedWheelTimeoutScheduler implements TimeoutScheduler, SdkAutoCloseable {
+    private static final Logger log = Logger.loggerFor(HashedWheelTimeoutScheduler.class);
+
+    private static final Duration DEFAULT_TICK_DURATION = Duration.ofMillis(10);
+    private static final int DEFAULT_WHEEL_SIZE = 512;
+
+    /**
+     * Upper bound on the number of newly scheduled timeouts moved into the wheel per tick, so that a burst of scheduling can
+     * not delay the expiration of timeouts that are already due.
+     */
+    private static final int MAX_TRANSFERS_PER_TICK = 100_000;
+
+    private final long tickNanos;
+    private final Bucket[] wheel;
+    private final int mask;
+    private final long startTime;
+    private final Queue<WheelTimeout> pendingTimeouts = new ConcurrentLinkedQueue<>();
+    private final Queue<WheelTimeout> cancelledTimeouts = new ConcurrentLinkedQueue<>();
+    private final Thread workerThread;
+    private volatile boolean closed;
+
+    /**
+     * Only accessed by the worker thread.
+     */
+    private long tick;
+
+    @SdkTestInternalApi
+    HashedWheelTimeoutScheduler(Duration tickDuration, int wheelSize, ThreadFactory threadFactory) {
+        Validate.isPositive(tickDuration, "tickDuration");
+        Validate.isTrue(wheelSize > 0 && (wheelSize & (wheelSize - 1)) == 0,
+                        "wheelSize must be a positive power of two, but was %s", wheelSize);
+        this.tickNanos = tickDuration.toNanos();
+        this.wheel = new Bucket[wheelSize];
+        for (int i = 0; i < wheelSize; i++) {
+            wheel[i] = new Bucket();
+        }
+        this.mask = wheelSize - 1;
+        this.startTime = System.nanoTime();
+        this.workerThread = threadFactory.newThread(this::runWorker);
+        this.workerThread.start();
+    }
+
+    /**
+     * @return The scheduler shared by all SDK clients. The worker thread is started the first time this is called.
+     */
+    public static HashedWheelTimeoutScheduler shared() {
+        return SharedInstance.INSTANCE;
+    }
+
+    @Override
+    public ScheduledTimeout schedule(Runnable task, long delay, TimeUnit unit) {
+        Validate.paramNotNull(task, "task");
+        Validate.paramNotNull(unit, "unit");
+        if (closed) {
+            throw new IllegalStateException("The timeout scheduler has been closed.");
+        }
+
+        long deadline = System.nanoTime() - startTime + unit.toNanos(delay);
+        WheelTimeout timeout = new WheelTimeout(this, task, deadline);
+        pendingTimeouts.add(timeout);
+        return timeout;
+    }
+
+    /**
+     * Create a view of this scheduler that hands expired tasks off to the given executor instead of running them on the
+     * wheel's worker thread. Use this for tasks that may run arbitrary callbacks, like completing a future.
+     */
+    public TimeoutScheduler withExecutor(Executor executor) {
+        Validate.paramNotNull(executor, "executor");
+        return (task, delay, unit) -> schedule(() -> dispatch(executor, task), delay, unit);
+    }
+
+    @Override
+    public void close() {
+        closed = true;
+        workerThread.interrupt();
+    }
+
+    private static void dispatch(Executor executor, Runnable task) {
+        try {
+            executor.execute(task);
+        } catch (RejectedExecutionException e) {
+            // The executor is shut down when its client is closed, at which point the timeout no longer matters.
+            log.debug(() -> "Dropping expired timeout task because its executor rejected it.", e);
+        }
+    }
+
+    private void runWorker() {
+        while (!closed) {
+            if (!waitForNextTick()) {
+                break;
+            }
+            processCancelledTimeouts();
+            transferPendingTimeouts();
+            wheel[(int) (tick & mask)].expireTimeouts();
+            tick++;
+        }
+    }
+
+    /**
+     * Sleep until the start of the next tick.
+     *
+     * @return False if the scheduler was closed while waiting.
+     */
+    private boolean waitForNextTick() {
+        long deadline = tickNanos * (tick + 1);
+        while (true) {
+            long currentTime = System.nanoTime() - startTime;
+            long sleepTimeMillis = TimeUnit.NANOSECONDS.toMillis(deadline - currentTime + 999_999);
+            if (sleepTimeMillis <= 0) {
+                return true;
+            }
+            try {
+                Thread.sleep(sleepTimeMillis);
+            } catch (InterruptedException e) {
+                if (closed) {
+                    return false;
+                }
+            }
+        }
+    }
+
+    private void processCancelledTimeouts() {
+        WheelTimeout timeout = cancelledTimeouts.poll();
+        while (timeout != null) {
+            if (timeout.bucket != null) {
+                timeout.bucket.remove(timeout);
+            }
+            timeout = cancelledTimeouts.poll();
+        }
+    }
+
+    private void transferPendingTimeouts() {
+        for (int i = 0; i < MAX_TRANSFERS_PER_TICK; i++) {
+            WheelTimeout timeout = pendingTimeouts.poll();
+            if (timeout == null) {
+                return;
+            }
+            if (timeout.state != WheelTimeout.ST_INIT) {
+                continue;
+            }
+
+            long expirationTick = timeout.deadline / tickNanos;
+            timeout.remainingRounds = (expirationTick - tick) / wheel.length;
+            // Timeouts that are already due go into the current bucket so they expire on this tick.
+            long bucketTick = Math.max(expirationTick, tick);
+            wheel[(int) (bucketTick & mask)].add(timeout);
+        }
+    }
+
+    private static final class WheelTimeout implements ScheduledTimeout {
+        private static final int ST_INIT = 0;
+        private static final int ST_CANCELLED = 1;
+        private static final int ST_EXPIRED = 2;
+
+        private static final AtomicIntegerFieldUpdater<WheelTimeout> STATE_UPDATER =
+            AtomicIntegerFieldUpdater.newUpdater(WheelTimeout.class, "state");
+
+        private final HashedWheelTimeoutScheduler scheduler;
+        private final Runnable task;
+        private final long deadline;
+        private volatile int state = ST_INIT;
+
+        // The following fields are only accessed by the worker thread.
+        private long remainingRounds;
+        private Bucket bucket;
+        private WheelTimeout next;
+        private WheelTimeout prev;
+
+        private WheelTimeout(HashedWheelTimeoutScheduler scheduler, Runnable task, long deadline) {
+            this.scheduler = scheduler;
+            this.task = task;
+            this.deadline = deadline;
+        }
+
+        @Override
+        public void cancel() {
+            if (STATE_UPDATER.compareAndSet(this, ST_INIT, ST_CANCELLED)) {
+                scheduler.cancelledTimeouts.add(this);
+            }
+        }
+
+        private void expire() {
+            if (!STATE_UPDATER.compareAndSet(this, ST_INIT, ST_EXPIRED)) {
+                return;
+            }
+            try {
+                task.run();
+            } catch (Throwable t) {
+                log.warn(() -> "A timeout task threw an exception.", t);
+            }
+        }
+    }
+
+    /**
+     * A doubly-linked list of the timeouts that hash to one slot of the wheel, so a cancelled timeout can be unlinked in
+     * constant time. Only accessed by the worker thread.
+     */
+    private static final class Bucket {
+        private WheelTimeout head;
+        private WheelTimeout tail;
+
+        private void add(WheelTimeout timeout) {
+            timeout.bucket = this;
+            if (head == null) {
+                head = timeout;
+                tail = timeout;
+            } else {
+                tail.next = timeout;
+                timeout.prev = tail;
+                tail = timeout;
+            }
+        }
+
+        private void expireTimeouts() {
+            WheelTimeout timeout = head;
+            while (timeout != null) {
+                WheelTimeout next = timeout.next;
+                if (timeout.remainingRounds <= 0) {
+                    remove(timeout);
+                    timeout.expire();
+                } else if (timeout.state == WheelTimeout.ST_CANCELLED) {
+                    remove(timeout);
+                } else {
+                    timeout.remainingRounds--;
+                }
+                timeout = next;
+            }
+        }
+
+        private void remove(WheelTimeout timeout) {
+            if (timeout.bucket != this) {
+                return;
+            }
+            if (timeout.prev != null) {
+                timeout.prev.next = timeout.next;
+            }
+            if (timeout.next != null) {
+                timeout.next.prev = timeout.prev;
+            }
+            if (timeout == head) {
+                head = timeout.next;
+            }
+            if (timeout == tail) {
+                tail = timeout.prev;
+            }
+            timeout.prev = null;
+            timeout.next = null;
+            timeout.bucket = null;
+        }
+    }
+
+    private static final class SharedInstance {
+        private static final HashedWheelTimeoutScheduler INSTANCE =
+            new HashedWheelTimeoutScheduler(DEFAULT_TICK_DURATION,
+                                            DEFAULT_WHEEL_SIZE,
+                                            new ThreadFactoryBuilder().threadNamePrefix("sdk-timeout-scheduler")
+                                                                      .daemonThreads(true)
+                                                                      .build());
+    }
+}
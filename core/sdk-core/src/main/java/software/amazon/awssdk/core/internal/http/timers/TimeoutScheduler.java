@@ -0,0 +1,66 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+
+package software.amazon.awssdk.core.internal.http.timers;
+
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import software.amazon.awssdk.annotations.SdkInternalApi;
+import software.amazon.awssdk.annotations.ThreadSafe;
+
+/**
+ * Schedules the {@link TimeoutTask}s used to enforce the API call and API call attempt timeouts.
+ *
+ * <p>Timeouts are scheduled for almost every request and are almost always cancelled before they fire, so implementations
+ * should keep both {@link #schedule} and {@link ScheduledTimeout#cancel()} cheap.
+ */
+@SdkInternalApi
+@ThreadSafe
+public interface TimeoutScheduler {
+
+    /**
+     * Schedule the given task to run once the delay has elapsed.
+     *
+     * @param task the task to run
+     * @param delay the time from now to delay the execution
+     * @param unit the time unit of the delay
+     * @return a handle that can be used to cancel the task
+     */
+    ScheduledTimeout schedule(Runnable task, long delay, TimeUnit unit);
+
+    /**
+     * Create a {@link TimeoutScheduler} that schedules each task on the given {@link ScheduledExecutorService}.
+     */
+    static TimeoutScheduler create(ScheduledExecutorService executor) {
+        return (task, delay, unit) -> {
+            ScheduledFuture<?> future = executor.schedule(task, delay, unit);
+            return () -> future.cancel(false);
+        };
+    }
+
+    /**
+     * A task that was scheduled by a {@link TimeoutScheduler}.
+     */
+    @FunctionalInterface
+    interface ScheduledTimeout {
+
+        /**
+         * Best-effort attempt to ensure the task does not run if it hasn't started running already.
+         */
+        void cancel();
+    }
+}
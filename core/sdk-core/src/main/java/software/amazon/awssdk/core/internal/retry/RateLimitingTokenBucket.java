@@ -16,11 +16,23 @@
 package software.amazon.awssdk.core.internal.retry;
 
 import java.util.OptionalDouble;
+import java.util.concurrent.atomic.AtomicReference;
 import software.amazon.awssdk.annotations.SdkInternalApi;
 import software.amazon.awssdk.annotations.SdkTestInternalApi;
+import software.amazon.awssdk.annotations.ThreadSafe;
 import software.amazon.awssdk.core.exception.SdkClientException;
 
+/**
+ * The client side rate limiter used by {@link software.amazon.awssdk.core.retry.RetryMode#ADAPTIVE}. The sending rate is
+ * adjusted using CUBIC, backing off multiplicatively on throttling responses and growing back along a cubic curve otherwise.
+ *
+ * <p>One bucket is shared by every request made through a client, so it is accessed concurrently from the calling threads and
+ * the async response threads. Instead of synchronizing, all of the bucket's state is held in an immutable {@link State} that
+ * is replaced with a compare-and-set, so no caller ever blocks another. Before the first throttling response the bucket is
+ * disabled and {@link #acquireNonBlocking(double, boolean)} is a single volatile read.
+ */
 @SdkInternalApi
+@ThreadSafe
 public class RateLimitingTokenBucket {
     private static final double MIN_FILL_RATE = 0.5;
     private static final double MIN_CAPACITY = 1.0;
@@ -31,18 +43,7 @@ public class RateLimitingTokenBucket {
 
     private final Clock clock;
 
-    private Double fillRate;
-    private Double maxCapacity;
-    private double currentCapacity;
-    private Double lastTimestamp;
-    private boolean enabled;
-    private double measuredTxRate;
-    private double lastTxRateBucket;
-    private long requestCount;
-    private double lastMaxRate;
-    private double lastThrottleTime;
-
-    private double timeWindow;
+    private final AtomicReference<State> state;
 
     public interface Clock {
         double time();
@@ -50,13 +51,13 @@ public class RateLimitingTokenBucket {
 
     public RateLimitingTokenBucket() {
         clock = new DefaultClock();
-        initialize();
+        state = new AtomicReference<>(State.initial(clock.time()));
     }
 
     @SdkTestInternalApi
     RateLimitingTokenBucket(Clock clock) {
         this.clock = clock;
-        initialize();
+        state = new AtomicReference<>(State.initial(clock.time()));
     }
 
     /**
@@ -100,6 +101,9 @@ public class RateLimitingTokenBucket {
      * enough capacity could not be acquired. Otherwise if {@code fastFail} is
      * {@code false}, then it will wait the required amount of time to fill the
      * bucket with enough tokens to satisfy {@code amount}.
+     * <p>
+     * This sleeps the calling thread, so it must only be used on the synchronous path. Async callers should use
+     * {@link #acquireNonBlocking(double, boolean)} and delay the request by the returned amount instead.
      * <pre>
      * _TokenBucketAcquire(amount)
      *   # Client side throttling is not enabled until we see a throttling error.
@@ -151,32 +155,31 @@ public class RateLimitingTokenBucket {
      * @return The amount of time in seconds to wait before proceeding.
      */
     public OptionalDouble acquireNonBlocking(double amount, boolean fastFail) {
-        double waitTime = 0.0;
+        while (true) {
+            State current = state.get();
 
-        synchronized (this) {
             // If rate limiting is not enabled, we technically have an uncapped limit
-            if (!enabled) {
+            if (!current.enabled) {
                 return OptionalDouble.of(0.0);
             }
 
-            refill();
+            State updated = current.copy();
+            updated.refill(clock.time());
 
-            double originalCapacity = currentCapacity;
-            double unfulfilled = tryAcquireCapacity(amount);
+            double unfulfilled = updated.tryAcquireCapacity(amount);
 
+            // Nothing is published when failing fast, so the capacity is left as it was. The refill doesn't need to be
+            // kept either; the next refill accounts for the same elapsed time.
             if (unfulfilled > 0.0 && fastFail) {
-                currentCapacity = originalCapacity;
                 return OptionalDouble.empty();
             }
 
-            // If all the tokens couldn't be acquired immediately, wait enough
-            // time to fill the remainder.
-            if (unfulfilled > 0) {
-                waitTime = unfulfilled / fillRate;
+            if (state.compareAndSet(current, updated)) {
+                // If all the tokens couldn't be acquired immediately, wait enough
+                // time to fill the remainder.
+                return OptionalDouble.of(unfulfilled > 0 ? unfulfilled / updated.fillRate : 0.0);
             }
         }
-
-        return OptionalDouble.of(waitTime);
     }
 
     /**
@@ -185,99 +188,23 @@ public class RateLimitingTokenBucket {
      * @return The unfulfilled amount.
      */
     double tryAcquireCapacity(double amount) {
-        double result;
-        if (amount <= currentCapacity) {
-            result = 0;
-        } else {
-            result = amount - currentCapacity;
-        }
-        currentCapacity = currentCapacity - amount;
-        return result;
-    }
-
-    private void initialize() {
-        fillRate = null;
-        maxCapacity = null;
-        currentCapacity = 0.0;
-        lastTimestamp = null;
-        enabled = false;
-        measuredTxRate = 0.0;
-        lastTxRateBucket = Math.floor(clock.time());
-        requestCount = 0;
-        lastMaxRate = 0.0;
-        lastThrottleTime = clock.time();
+        double[] unfulfilled = new double[1];
+        update(s -> {
+            unfulfilled[0] = s.tryAcquireCapacity(amount);
+        });
+        return unfulfilled[0];
     }
 
-    /**
-     * <pre>
-     * _TokenBucketRefill()
-     *   timestamp = time()
-     *   if last_timestamp is unset
-     *     last_timestamp = timestamp
-     *     return
-     *   fill_amount = (timestamp - last_timestamp) * fill_rate
-     *   current_capacity = min(max_capacity, current_capacity + fill_amount)
-     *   last_timestamp = timestamp
-     * </pre>
-     */
     // Package private for testing
-    synchronized void refill() {
+    void refill() {
         double timestamp = clock.time();
-        if (lastTimestamp == null) {
-            lastTimestamp = timestamp;
-            return;
-        }
-
-        double fillAmount = (timestamp - lastTimestamp) * fillRate;
-        currentCapacity = Math.min(maxCapacity, currentCapacity + fillAmount);
-        lastTimestamp = timestamp;
-    }
-
-    /**
-     * <pre>
-     * _TokenBucketUpdateRate(new_rps)
-     *   # Refill based on our current rate before we update to the new fill rate.
-     *   _TokenBucketRefill()
-     *   fill_rate = max(new_rps, MIN_FILL_RATE)
-     *   max_capacity = max(new_rps, MIN_CAPACITY)
-     *   # When we scale down we can't have a current capacity that exceeds our
-     *   # max_capacity.
-     *   current_capacity = min(current_capacity, max_capacity)
-     * </pre>
-     */
-    private synchronized void updateRate(double newRps) {
-        refill();
-        fillRate = Math.max(newRps, MIN_FILL_RATE);
-        maxCapacity = Math.max(newRps, MIN_CAPACITY);
-        currentCapacity = Math.min(currentCapacity, maxCapacity);
-    }
-
-    /**
-     * <pre>
-     * t = time()
-     * time_bucket = floor(t * 2) / 2
-     * request_count = request_count + 1
-     * if time_bucket > last_tx_rate_bucket
-     *   current_rate = request_count / (time_bucket - last_tx_rate_bucket)
-     *   measured_tx_rate = (current_rate * SMOOTH) + (measured_tx_rate * (1 - SMOOTH))
-     *   request_count = 0
-     *   last_tx_rate_bucket = time_bucket
-     * </pre>
-     */
-    private synchronized void updateMeasuredRate() {
-        double t = clock.time();
-        double timeBucket = Math.floor(t * 2) / 2;
-        requestCount = requestCount + 1;
-        if (timeBucket > lastTxRateBucket) {
-            double currentRate = requestCount / (timeBucket - lastTxRateBucket);
-            measuredTxRate = (currentRate * SMOOTH) + (measuredTxRate * (1 - SMOOTH));
-            requestCount = 0;
-            lastTxRateBucket = timeBucket;
-        }
+        update(s -> s.refill(timestamp));
     }
 
-    synchronized void enable() {
-        enabled = true;
+    void enable() {
+        update(s -> {
+            s.enabled = true;
+        });
     }
 
     /**
@@ -305,43 +232,45 @@ public class RateLimitingTokenBucket {
      *   _TokenBucketUpdateRate(new_rate)
      * </pre>
      */
-    public synchronized void updateClientSendingRate(boolean throttlingResponse) {
-        updateMeasuredRate();
-
-        double calculatedRate;
-        if (throttlingResponse) {
-            double rateToUse;
-            if (!enabled) {
-                rateToUse = measuredTxRate;
+    public void updateClientSendingRate(boolean throttlingResponse) {
+        while (true) {
+            State current = state.get();
+            State updated = current.copy();
+            double timestamp = clock.time();
+
+            updated.updateMeasuredRate(timestamp);
+
+            double calculatedRate;
+            if (throttlingResponse) {
+                double rateToUse;
+                if (!updated.enabled) {
+                    rateToUse = updated.measuredTxRate;
+                } else {
+                    rateToUse = Math.min(updated.measuredTxRate, updated.fillRate);
+                }
+
+                updated.lastMaxRate = rateToUse;
+                updated.calculateTimeWindow();
+                updated.lastThrottleTime = timestamp;
+                calculatedRate = cubicThrottle(rateToUse);
+                updated.enabled = true;
             } else {
-                rateToUse = Math.min(measuredTxRate, fillRate);
+                updated.calculateTimeWindow();
+                calculatedRate = updated.cubicSuccess(timestamp);
             }
 
-            lastMaxRate = rateToUse;
-            calculateTimeWindow();
-            lastThrottleTime = clock.time();
-            calculatedRate = cubicThrottle(rateToUse);
-            enable();
-        } else {
-            calculateTimeWindow();
-            calculatedRate = cubicSuccess(clock.time());
-        }
+            double newRate = Math.min(calculatedRate, 2 * updated.measuredTxRate);
+            updated.updateRate(newRate, timestamp);
 
-        double newRate = Math.min(calculatedRate, 2 * measuredTxRate);
-        updateRate(newRate);
+            if (state.compareAndSet(current, updated)) {
+                return;
+            }
+        }
     }
 
-    /**
-     * <pre>
-     * _CalculateTimeWindow()
-     *   # This is broken out into a separate calculation because it only
-     *   # gets updated when last_max_rate change so it can be cached.
-     *   _time_window = ((last_max_rate * (1 - BETA)) / SCALE_CONSTANT) ^ (1 / 3)
-     * </pre>
-     */
     // Package private for testing
-    synchronized void calculateTimeWindow() {
-        timeWindow = Math.pow((lastMaxRate * (1 - BETA)) / SCALE_CONSTANT, 1.0 / 3);
+    void calculateTimeWindow() {
+        update(State::calculateTimeWindow);
     }
 
     /**
@@ -372,19 +301,179 @@ public class RateLimitingTokenBucket {
         return calculatedRate;
     }
 
+    // Package private for testing
+    double cubicSuccess(double timestamp) {
+        return state.get().cubicSuccess(timestamp);
+    }
+
     /**
-     * <pre>
-     * _CUBICSuccess(timestamp)
-     *   dt = timestamp - last_throttle_time
-     *   calculated_rate = (SCALE_CONSTANT * ((dt - _time_window) ^ 3)) + last_max_rate
-     *   return calculated_rate
-     * </pre>
+     * Applies {@code mutation} to a copy of the current state and publishes it, retrying against the latest state if another
+     * thread published first. The mutation may therefore run more than once and must not have other side effects.
      */
-    // Package private for testing
-    synchronized double cubicSuccess(double timestamp) {
-        double dt = timestamp - lastThrottleTime;
-        double calculatedRate = SCALE_CONSTANT * Math.pow(dt - timeWindow, 3) + lastMaxRate;
-        return calculatedRate;
+    private void update(StateMutation mutation) {
+        while (true) {
+            State current = state.get();
+            State updated = current.copy();
+            mutation.apply(updated);
+            if (state.compareAndSet(current, updated)) {
+                return;
+            }
+        }
+    }
+
+    @FunctionalInterface
+    private interface StateMutation {
+        void apply(State state);
+    }
+
+    /**
+     * A snapshot of the bucket. A snapshot is only ever modified while it is a private copy; once it has been published through
+     * {@link #state} it is never written again, and the publishing compare-and-set makes its fields visible to other threads.
+     */
+    private static final class State {
+        private double fillRate;
+        private double maxCapacity;
+        private double currentCapacity;
+        private double lastTimestamp;
+        private boolean enabled;
+        private double measuredTxRate;
+        private double lastTxRateBucket;
+        private long requestCount;
+        private double lastMaxRate;
+        private double lastThrottleTime;
+        private double timeWindow;
+
+        private static State initial(double timestamp) {
+            State state = new State();
+            state.currentCapacity = 0.0;
+            state.lastTimestamp = Double.NaN;
+            state.enabled = false;
+            state.measuredTxRate = 0.0;
+            state.lastTxRateBucket = Math.floor(timestamp);
+            state.requestCount = 0;
+            state.lastMaxRate = 0.0;
+            state.lastThrottleTime = timestamp;
+            return state;
+        }
+
+        private State copy() {
+            State copy = new State();
+            copy.fillRate = fillRate;
+            copy.maxCapacity = maxCapacity;
+            copy.currentCapacity = currentCapacity;
+            copy.lastTimestamp = lastTimestamp;
+            copy.enabled = enabled;
+            copy.measuredTxRate = measuredTxRate;
+            copy.lastTxRateBucket = lastTxRateBucket;
+            copy.requestCount = requestCount;
+            copy.lastMaxRate = lastMaxRate;
+            copy.lastThrottleTime = lastThrottleTime;
+            copy.timeWindow = timeWindow;
+            return copy;
+        }
+
+        private double tryAcquireCapacity(double amount) {
+            double result;
+            if (amount <= currentCapacity) {
+                result = 0;
+            } else {
+                result = amount - currentCapacity;
+            }
+            currentCapacity = currentCapacity - amount;
+            return result;
+        }
+
+        /**
+         * <pre>
+         * _TokenBucketRefill()
+         *   timestamp = time()
+         *   if last_timestamp is unset
+         *     last_timestamp = timestamp
+         *     return
+         *   fill_amount = (timestamp - last_timestamp) * fill_rate
+         *   current_capacity = min(max_capacity, current_capacity + fill_amount)
+         *   last_timestamp = timestamp
+         * </pre>
+         */
+        private void refill(double timestamp) {
+            if (Double.isNaN(lastTimestamp)) {
+                lastTimestamp = timestamp;
+                return;
+            }
+
+            // Another thread may have refilled with a slightly later timestamp than ours
+            double fillAmount = Math.max(0.0, timestamp - lastTimestamp) * fillRate;
+            currentCapacity = Math.min(maxCapacity, currentCapacity + fillAmount);
+            lastTimestamp = Math.max(lastTimestamp, timestamp);
+        }
+
+        /**
+         * <pre>
+         * _TokenBucketUpdateRate(new_rps)
+         *   # Refill based on our current rate before we update to the new fill rate.
+         *   _TokenBucketRefill()
+         *   fill_rate = max(new_rps, MIN_FILL_RATE)
+         *   max_capacity = max(new_rps, MIN_CAPACITY)
+         *   # When we scale down we can't have a current capacity that exceeds our
+         *   # max_capacity.
+         *   current_capacity = min(current_capacity, max_capacity)
+         * </pre>
+         */
+        private void updateRate(double newRps, double timestamp) {
+            refill(timestamp);
+            fillRate = Math.max(newRps, MIN_FILL_RATE);
+            maxCapacity = Math.max(newRps, MIN_CAPACITY);
+            currentCapacity = Math.min(currentCapacity, maxCapacity);
+        }
+
+        /**
+         * <pre>
+         * t = time()
+         * time_bucket = floor(t * 2) / 2
+         * request_count = request_count + 1
+         * if time_bucket > last_tx_rate_bucket
+         *   current_rate = request_count / (time_bucket - last_tx_rate_bucket)
+         *   measured_tx_rate = (current_rate * SMOOTH) + (measured_tx_rate * (1 - SMOOTH))
+         *   request_count = 0
+         *   last_tx_rate_bucket = time_bucket
+         * </pre>
+         */
+        private void updateMeasuredRate(double t) {
+            double timeBucket = Math.floor(t * 2) / 2;
+            requestCount = requestCount + 1;
+            if (timeBucket > lastTxRateBucket) {
+                double currentRate = requestCount / (timeBucket - lastTxRateBucket);
+                measuredTxRate = (currentRate * SMOOTH) + (measuredTxRate * (1 - SMOOTH));
+                requestCount = 0;
+                lastTxRateBucket = timeBucket;
+            }
+        }
+
+        /**
+         * <pre>
+         * _CalculateTimeWindow()
+         *   # This is broken out into a separate calculation because it only
+         *   # gets updated when last_max_rate change so it can be cached.
+         *   _time_window = ((last_max_rate * (1 - BETA)) / SCALE_CONSTANT) ^ (1 / 3)
+         * </pre>
+         */
+        private void calculateTimeWindow() {
+            timeWindow = Math.pow((lastMaxRate * (1 - BETA)) / SCALE_CONSTANT, 1.0 / 3);
+        }
+
+        /**
+         * <pre>
+         * _CUBICSuccess(timestamp)
+         *   dt = timestamp - last_throttle_time
+         *   calculated_rate = (SCALE_CONSTANT * ((dt - _time_window) ^ 3)) + last_max_rate
+         *   return calculated_rate
+         * </pre>
+         */
+        private double cubicSuccess(double timestamp) {
+            double dt = timestamp - lastThrottleTime;
+            double calculatedRate = SCALE_CONSTANT * Math.pow(dt - timeWindow, 3) + lastMaxRate;
+            return calculatedRate;
+        }
     }
 
     static class DefaultClock implements Clock {
@@ -396,37 +485,45 @@ public class RateLimitingTokenBucket {
     }
 
     @SdkTestInternalApi
-    synchronized void setLastMaxRate(double lastMaxRate) {
-        this.lastMaxRate = lastMaxRate;
+    void setLastMaxRate(double lastMaxRate) {
+        update(s -> {
+            s.lastMaxRate = lastMaxRate;
+        });
     }
 
     @SdkTestInternalApi
-    synchronized void setLastThrottleTime(double lastThrottleTime) {
-        this.lastThrottleTime = lastThrottleTime;
+    void setLastThrottleTime(double lastThrottleTime) {
+        update(s -> {
+            s.lastThrottleTime = lastThrottleTime;
+        });
     }
 
     @SdkTestInternalApi
-    synchronized double getMeasuredTxRate() {
-        return measuredTxRate;
+    double getMeasuredTxRate() {
+        return state.get().measuredTxRate;
     }
 
     @SdkTestInternalApi
-    synchronized double getFillRate() {
-        return fillRate;
+    double getFillRate() {
+        return state.get().fillRate;
     }
 
     @SdkTestInternalApi
-    synchronized void setCurrentCapacity(double currentCapacity) {
-        this.currentCapacity = currentCapacity;
+    void setCurrentCapacity(double currentCapacity) {
+        update(s -> {
+            s.currentCapacity = currentCapacity;
+        });
     }
 
     @SdkTestInternalApi
-    synchronized double getCurrentCapacity() {
-        return currentCapacity;
+    double getCurrentCapacity() {
+        return state.get().currentCapacity;
     }
 
     @SdkTestInternalApi
-    synchronized void setFillRate(double fillRate) {
-        this.fillRate = fillRate;
+    void setFillRate(double fillRate) {
+        update(s -> {
+            s.fillRate = fillRate;
+        });
     }
 }
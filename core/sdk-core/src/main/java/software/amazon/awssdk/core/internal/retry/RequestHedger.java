@@ -0,0 +1,144 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+
+package software.amazon.awssdk.core.internal.retry;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.OptionalLong;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import software.amazon.awssdk.annotations.SdkInternalApi;
+import software.amazon.awssdk.annotations.ThreadSafe;
+import software.amazon.awssdk.core.exception.SdkClientException;
+import software.amazon.awssdk.core.interceptor.ExecutionAttributes;
+import software.amazon.awssdk.core.interceptor.SdkExecutionAttribute;
+import software.amazon.awssdk.core.interceptor.SdkInternalExecutionAttribute;
+import software.amazon.awssdk.core.internal.http.RequestExecutionContext;
+import software.amazon.awssdk.core.retry.HedgingPolicy;
+import software.amazon.awssdk.core.retry.RetryPolicy;
+import software.amazon.awssdk.core.retry.RetryPolicyContext;
+import software.amazon.awssdk.core.retry.conditions.RetryCondition;
+import software.amazon.awssdk.core.retry.conditions.TokenBucketRetryCondition;
+import software.amazon.awssdk.http.SdkHttpFullRequest;
+import software.amazon.awssdk.http.SdkHttpMethod;
+
+/**
+ * Applies a {@link HedgingPolicy} to the requests of one client: decides which requests can be hedged, tracks the response
+ * latency of each operation to determine the hedging delay and gates hedged requests on the retry token bucket.
+ */
+@SdkInternalApi
+@ThreadSafe
+public final class RequestHedger {
+    /**
+     * The failure a hedged request is charged for in the retry token bucket, so that it costs as much as retrying a request
+     * that failed without a response.
+     */
+    private static final SdkClientException HEDGE_COST_EXCEPTION = SdkClientException.create("Hedged request");
+
+    private final HedgingPolicy hedgingPolicy;
+    private final TokenBucketRetryCondition retryCapacityCondition;
+    private final ConcurrentMap<String, ResponseLatencyTracker> latencyTrackers = new ConcurrentHashMap<>();
+
+    private RequestHedger(HedgingPolicy hedgingPolicy, RetryPolicy retryPolicy) {
+        this.hedgingPolicy = hedgingPolicy;
+        RetryCondition retryCapacityCondition = retryPolicy.toBuilder().retryCapacityCondition();
+        this.retryCapacityCondition = retryCapacityCondition instanceof TokenBucketRetryCondition
+                                      ? (TokenBucketRetryCondition) retryCapacityCondition
+                                      : null;
+    }
+
+    public static RequestHedger create(HedgingPolicy hedgingPolicy, RetryPolicy retryPolicy) {
+        return new RequestHedger(hedgingPolicy, retryPolicy);
+    }
+
+    /**
+     * Whether the request can safely be sent more than once at the same time. Requests with a streaming or full duplex body
+     * are never hedged, because their body can't be replayed to a second request while it's being sent to the first.
+     */
+    public boolean isHedgeable(SdkHttpFullRequest request, RequestExecutionContext context) {
+        ExecutionAttributes attributes = context.executionAttributes();
+        String operationName = attributes.getAttribute(SdkExecutionAttribute.OPERATION_NAME);
+        if (operationName == null || context.requestProvider() != null
+            || Boolean.TRUE.equals(attributes.getAttribute(SdkInternalExecutionAttribute.IS_FULL_DUPLEX))) {
+            return false;
+        }
+
+        return request.method() == SdkHttpMethod.GET
+               || request.method() == SdkHttpMethod.HEAD
+               || Boolean.TRUE.equals(attributes.getAttribute(SdkInternalExecutionAttribute.IDEMPOTENT_OPERATION))
+               || hedgingPolicy.idempotentOperations().contains(operationName);
+    }
+
+    /**
+     * The time to wait for a response before hedging a request to the operation, or empty if the operation hasn't received
+     * enough responses yet to determine it.
+     */
+    public Optional<Duration> hedgeDelay(String operationName) {
+        OptionalLong percentileNanos = latencyTracker(operationName).percentileNanos();
+        if (!percentileNanos.isPresent()) {
+            return Optional.empty();
+        }
+
+        Duration delay = Duration.ofNanos(percentileNanos.getAsLong());
+        return Optional.of(delay.compareTo(hedgingPolicy.minimumDelay()) < 0 ? hedgingPolicy.minimumDelay() : delay);
+    }
+
+    /**
+     * Record the time it took a request to the operation to receive a successful response.
+     */
+    public void recordLatency(String operationName, long latencyNanos) {
+        latencyTracker(operationName).record(latencyNanos);
+    }
+
+    /**
+     * Acquire the capacity to send a hedged request from the retry token bucket. The capacity is acquired as if the request
+     * was retried, through {@link TokenBucketRetryCondition#shouldRetry(RetryPolicyContext)}.
+     *
+     * @return The retry context the capacity was acquired with, to pass to {@link #releaseHedgeCapacity(RetryPolicyContext)},
+     * or empty if the capacity could not be acquired. If empty, the request should not be hedged.
+     */
+    public Optional<RetryPolicyContext> tryAcquireHedgeCapacity() {
+        RetryPolicyContext capacityContext = RetryPolicyContext.builder()
+                                                               .executionAttributes(new ExecutionAttributes())
+                                                               .exception(HEDGE_COST_EXCEPTION)
+                                                               .build();
+        if (retryCapacityCondition != null && !retryCapacityCondition.shouldRetry(capacityContext)) {
+            return Optional.empty();
+        }
+        return Optional.of(capacityContext);
+    }
+
+    /**
+     * Release the capacity acquired with {@link #tryAcquireHedgeCapacity()} after the hedged execution completed without a
+     * server error, throttling or connection failure, or was cancelled.
+     */
+    public void releaseHedgeCapacity(RetryPolicyContext capacityContext) {
+        if (retryCapacityCondition != null) {
+            retryCapacityCondition.requestWillNotBeRetried(capacityContext);
+        }
+    }
+
+    private ResponseLatencyTracker latencyTracker(String operationName) {
+        // Avoid computeIfAbsent's locking once the operation's tracker exists
+        ResponseLatencyTracker tracker = latencyTrackers.get(operationName);
+        if (tracker != null) {
+            return tracker;
+        }
+        return latencyTrackers.computeIfAbsent(operationName,
+                                               n -> new ResponseLatencyTracker(hedgingPolicy.delayPercentile()));
+    }
+}
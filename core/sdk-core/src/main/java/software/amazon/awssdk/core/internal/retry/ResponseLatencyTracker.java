@@ -0,0 +1,92 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+
+package software.amazon.awssdk.core.internal.retry;
+
+import java.util.Arrays;
+import java.util.OptionalLong;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import software.amazon.awssdk.annotations.SdkInternalApi;
+import software.amazon.awssdk.annotations.ThreadSafe;
+import software.amazon.awssdk.utils.Validate;
+
+/**
+ * Estimates a percentile of recent response latencies, used to decide when to hedge a request.
+ *
+ * <p>Latencies are recorded into a fixed size ring of the most recent samples without locking. Sorting the samples is
+ * comparatively expensive, so the percentile is only periodically recomputed by one of the threads recording a sample, and
+ * readers see the last computed value.
+ */
+@SdkInternalApi
+@ThreadSafe
+public final class ResponseLatencyTracker {
+    /**
+     * The number of most recent samples the percentile is computed over. Must be a power of two.
+     */
+    private static final int WINDOW_SIZE = 1024;
+    private static final int WINDOW_MASK = WINDOW_SIZE - 1;
+
+    /**
+     * The number of samples required before a percentile is reported, so that it's not based on only a handful of requests.
+     */
+    private static final int MINIMUM_SAMPLES = 128;
+
+    private static final int RECOMPUTE_INTERVAL = 64;
+
+    private final double percentile;
+    private final AtomicLongArray samples = new AtomicLongArray(WINDOW_SIZE);
+    private final AtomicLong sampleCount = new AtomicLong();
+    private volatile long percentileNanos = -1;
+
+    public ResponseLatencyTracker(double percentile) {
+        Validate.isTrue(percentile > 0 && percentile < 100, "percentile must be between 0 and 100, exclusive.");
+        this.percentile = percentile;
+    }
+
+    /**
+     * Record the latency of a response.
+     */
+    public void record(long latencyNanos) {
+        long count = sampleCount.getAndIncrement() + 1;
+        samples.set((int) ((count - 1) & WINDOW_MASK), latencyNanos);
+
+        if (count >= MINIMUM_SAMPLES && count % RECOMPUTE_INTERVAL == 0) {
+            percentileNanos = computePercentile((int) Math.min(count, WINDOW_SIZE));
+        }
+    }
+
+    /**
+     * The latest estimate of the configured percentile of the recorded latencies in nanoseconds, or empty if not enough
+     * latencies have been recorded yet.
+     */
+    public OptionalLong percentileNanos() {
+        long result = percentileNanos;
+        return result < 0 ? OptionalLong.empty() : OptionalLong.of(result);
+    }
+
+    private long computePercentile(int size) {
+        // Samples being concurrently overwritten are fine, the result is an estimate either way
+        long[] snapshot = new long[size];
+        for (int i = 0; i < size; i++) {
+            snapshot[i] = samples.get(i);
+        }
+        Arrays.sort(snapshot);
+
+        int index = (int) Math.ceil(percentile / 100 * size) - 1;
+        return snapshot[Math.max(0, Math.min(index, size - 1))];
+    }
+}
@@ -0,0 +1,66 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+
+package software.amazon.awssdk.core.internal.util;
+
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import software.amazon.awssdk.annotations.SdkInternalApi;
+import software.amazon.awssdk.utils.ThreadFactoryBuilder;
+
+/**
+ * Creates the executors the SDK uses when the customer does not provide their own, either per client or per
+ * {@link software.amazon.awssdk.core.SdkRuntime}.
+ */
+@SdkInternalApi
+public final class DefaultSdkExecutors {
+
+    private DefaultSdkExecutors() {
+    }
+
+    /**
+     * Create the default async future completion executor. It has at least 8 core threads and can scale up to at least 64
+     * threads when needed depending on the number of processors available.
+     *
+     * This uses the same default executor in S3NativeClientConfiguration#resolveAsyncFutureCompletionExecutor.
+     * Make sure you update that method if you update the defaults here.
+     */
+    public static ThreadPoolExecutor newFutureCompletionExecutor() {
+        int processors = Runtime.getRuntime().availableProcessors();
+        int corePoolSize = Math.max(8, processors);
+        int maxPoolSize = Math.max(64, processors * 2);
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(corePoolSize, maxPoolSize,
+                                                             10, TimeUnit.SECONDS,
+                                                             new LinkedBlockingQueue<>(1_000),
+                                                             new ThreadFactoryBuilder()
+                                                                 .threadNamePrefix("sdk-async-response").build());
+        // Allow idle core threads to time out
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
+    }
+
+    /**
+     * Create the default scheduled executor service that is used for scheduling tasks such as async retry attempts and
+     * timeout tasks.
+     */
+    public static ScheduledExecutorService newScheduledExecutorService() {
+        return Executors.newScheduledThreadPool(5, new ThreadFactoryBuilder()
+            .threadNamePrefix("sdk-ScheduledExecutor").build());
+    }
+}
@@ -0,0 +1,274 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+
+package software.amazon.awssdk.core.retry;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.Set;
+import software.amazon.awssdk.annotations.Immutable;
+import software.amazon.awssdk.annotations.SdkPublicApi;
+import software.amazon.awssdk.core.client.config.ClientOverrideConfiguration;
+import software.amazon.awssdk.core.retry.conditions.TokenBucketRetryCondition;
+import software.amazon.awssdk.utils.ToString;
+import software.amazon.awssdk.utils.Validate;
+import software.amazon.awssdk.utils.builder.CopyableBuilder;
+import software.amazon.awssdk.utils.builder.ToCopyableBuilder;
+
+/**
+ * A policy for hedging requests made by asynchronous clients. When a request has not received a response after a delay, a
+ * second, identical request is sent and whichever receives a response first is used. The other one is cancelled. This trades
+ * a small amount of extra load for a lower tail latency when a few requests are occasionally much slower than the rest.
+ *
+ * <p>The delay is the configured {@link Builder#delayPercentile(double) percentile} of the time it recently took the
+ * operation to receive a response, so that only the slowest requests are hedged. Until enough responses have been observed
+ * to estimate it, requests are not hedged.
+ *
+ * <p>Only requests that are safe to send twice are hedged: {@code GET} and {@code HEAD} requests, operations the service
+ * models as idempotent and the {@link Builder#idempotentOperations(Collection) operations configured} on this policy. Each
+ * hedged request is also gated by the {@link TokenBucketRetryCondition} of the client's {@link RetryPolicy}, if it has one, so
+ * that hedging stops when the client experiences many failures. Hedged requests are counted as a single attempt by the
+ * retry policy.
+ *
+ * <p>This is configured on a client via {@link ClientOverrideConfiguration.Builder#hedgingPolicy}, and has no effect on
+ * synchronous clients.
+ */
+@Immutable
+@SdkPublicApi
+public final class HedgingPolicy implements ToCopyableBuilder<HedgingPolicy.Builder, HedgingPolicy> {
+    private static final double DEFAULT_DELAY_PERCENTILE = 95.0;
+    private static final Duration DEFAULT_MINIMUM_DELAY = Duration.ofMillis(10);
+
+    private final double delayPercentile;
+    private final Duration minimumDelay;
+    private final Set<String> idempotentOperations;
+
+    private HedgingPolicy(BuilderImpl builder) {
+        Validate.isTrue(builder.delayPercentile > 0 && builder.delayPercentile < 100,
+                        "delayPercentile must be between 0 and 100, exclusive, but was %s.", builder.delayPercentile);
+        this.delayPercentile = builder.delayPercentile;
+        this.minimumDelay = Validate.isNotNegative(builder.minimumDelay, "minimumDelay");
+        this.idempotentOperations = Collections.unmodifiableSet(new LinkedHashSet<>(builder.idempotentOperations));
+    }
+
+    /**
+     * Create a {@link HedgingPolicy} using the default settings.
+     */
+    public static HedgingPolicy create() {
+        return builder().build();
+    }
+
+    /**
+     * Create a {@link HedgingPolicy.Builder} populated with the default settings.
+     */
+    public static Builder builder() {
+        return new BuilderImpl();
+    }
+
+    /**
+     * @see Builder#delayPercentile(double)
+     */
+    public double delayPercentile() {
+        return delayPercentile;
+    }
+
+    /**
+     * @see Builder#minimumDelay(Duration)
+     */
+    public Duration minimumDelay() {
+        return minimumDelay;
+    }
+
+    /**
+     * @see Builder#idempotentOperations(Collection)
+     */
+    public Set<String> idempotentOperations() {
+        return idempotentOperations;
+    }
+
+    @Override
+    public Builder toBuilder() {
+        return builder().delayPercentile(delayPercentile)
+                        .minimumDelay(minimumDelay)
+                        .idempotentOperations(idempotentOperations);
+    }
+
+    @Override
+    public String toString() {
+        return ToString.builder("HedgingPolicy")
+                       .add("delayPercentile", delayPercentile)
+                       .add("minimumDelay", minimumDelay)
+                       .add("idempotentOperations", idempotentOperations)
+                       .build();
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+
+        HedgingPolicy that = (HedgingPolicy) o;
+
+        if (Double.compare(delayPercentile, that.delayPercentile) != 0) {
+            return false;
+        }
+        if (!minimumDelay.equals(that.minimumDelay)) {
+            return false;
+        }
+        return idempotentOperations.equals(that.idempotentOperations);
+    }
+
+    @Override
+    public int hashCode() {
+        int result = Double.hashCode(delayPercentile);
+        result = 31 * result + minimumDelay.hashCode();
+        result = 31 * result + idempotentOperations.hashCode();
+        return result;
+    }
+
+    public interface Builder extends CopyableBuilder<Builder, HedgingPolicy> {
+        /**
+         * Configure the percentile of recent response times after which a request is hedged. For example, with the default
+         * of 95, a request is hedged if it has not received a response by the time 95% of recent requests for the same
+         * operation had.
+         *
+         * <p>
+         * Lower values hedge more requests, which lowers the tail latency further at the cost of sending more duplicate
+         * requests.
+         */
+        Builder delayPercentile(double delayPercentile);
+
+        /**
+         * @see #delayPercentile(double)
+         */
+        double delayPercentile();
+
+        /**
+         * Configure the minimum amount of time to wait before hedging a request, regardless of the
+         * {@link #delayPercentile(double)}. This prevents hedging requests to operations that are consistently fast, where
+         * duplicating a request can't improve the latency by much.
+         *
+         * <p>
+         * By default, this is 10 milliseconds.
+         */
+        Builder minimumDelay(Duration minimumDelay);
+
+        /**
+         * @see #minimumDelay(Duration)
+         */
+        Duration minimumDelay();
+
+        /**
+         * Configure the names of operations that should be considered idempotent, and may therefore be hedged, in addition to
+         * {@code GET} and {@code HEAD} requests and the operations the service models as idempotent. This overwrites any
+         * previously configured operations.
+         *
+         * <p>
+         * For example, DynamoDB's {@code GetItem} is sent as a {@code POST} request but does not modify the table, so it can
+         * be hedged by adding it here.
+         */
+        Builder idempotentOperations(Collection<String> idempotentOperations);
+
+        /**
+         * @see #idempotentOperations(Collection)
+         */
+        Builder idempotentOperations(String... idempotentOperations);
+
+        /**
+         * @see #idempotentOperations(Collection)
+         */
+        Set<String> idempotentOperations();
+
+        @Override
+        HedgingPolicy build();
+    }
+
+    /**
+     * Builder for a {@link HedgingPolicy}.
+     */
+    private static final class BuilderImpl implements Builder {
+        private double delayPercentile = DEFAULT_DELAY_PERCENTILE;
+        private Duration minimumDelay = DEFAULT_MINIMUM_DELAY;
+        private Set<String> idempotentOperations = new LinkedHashSet<>();
+
+        private BuilderImpl() {
+        }
+
+        @Override
+        public Builder delayPercentile(double delayPercentile) {
+            this.delayPercentile = delayPercentile;
+            return this;
+        }
+
+        public void setDelayPercentile(double delayPercentile) {
+            delayPercentile(delayPercentile);
+        }
+
+        @Override
+        public double delayPercentile() {
+            return delayPercentile;
+        }
+
+        @Override
+        public Builder minimumDelay(Duration minimumDelay) {
+            this.minimumDelay = minimumDelay;
+            return this;
+        }
+
+        public void setMinimumDelay(Duration minimumDelay) {
+            minimumDelay(minimumDelay);
+        }
+
+        @Override
+        public Duration minimumDelay() {
+            return minimumDelay;
+        }
+
+        @Override
+        public Builder idempotentOperations(Collection<String> idempotentOperations) {
+            Validate.paramNotNull(idempotentOperations, "idempotentOperations");
+            this.idempotentOperations = new LinkedHashSet<>(idempotentOperations);
+            return this;
+        }
+
+        @Override
+        public Builder idempotentOperations(String... idempotentOperations) {
+            Validate.paramNotNull(idempotentOperations, "idempotentOperations");
+            return idempotentOperations(Arrays.asList(idempotentOperations));
+        }
+
+        public void setIdempotentOperations(Collection<String> idempotentOperations) {
+            idempotentOperations(idempotentOperations);
+        }
+
+        @Override
+        public Set<String> idempotentOperations() {
+            return Collections.unmodifiableSet(idempotentOperations);
+        }
+
+        @Override
+        public HedgingPolicy build() {
+            return new HedgingPolicy(this);
+        }
+    }
+}
@@ -0,0 +1,115 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+
+package software.amazon.awssdk.core;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ScheduledExecutorService;
+import org.junit.Test;
+import software.amazon.awssdk.utils.SdkAutoCloseable;
+
+public class SdkRuntimeTest {
+
+    @Test
+    public void close_noOtherReferences_shutsDownOwnedResources() throws Exception {
+        SdkRuntime runtime = SdkRuntime.create();
+        AutoCloseable resource = mock(AutoCloseable.class);
+        runtime.sharedResource("key", () -> resource);
+
+        runtime.close();
+
+        verify(resource).close();
+        assertThat(runtime.scheduledExecutorService().isShutdown()).isTrue();
+        assertThat(((ExecutorService) runtime.futureCompletionExecutor()).isShutdown()).isTrue();
+    }
+
+    @Test
+    public void close_withRetainedReference_releasesResourcesWithLastReference() throws Exception {
+        SdkRuntime runtime = SdkRuntime.create();
+        AutoCloseable resource = mock(AutoCloseable.class);
+        runtime.sharedResource("key", () -> resource);
+        SdkAutoCloseable reference = runtime.retain();
+
+        runtime.close();
+
+        verify(resource, never()).close();
+        assertThat(runtime.scheduledExecutorService().isShutdown()).isFalse();
+
+        reference.close();
+        reference.close();
+
+        verify(resource, times(1)).close();
+        assertThat(runtime.scheduledExecutorService().isShutdown()).isTrue();
+    }
+
+    @Test
+    public void close_calledTwice_onlyReleasesCreatorReference() {
+        SdkRuntime runtime = SdkRuntime.create();
+        SdkAutoCloseable reference = runtime.retain();
+
+        runtime.close();
+        runtime.close();
+
+        assertThat(runtime.scheduledExecutorService().isShutdown()).isFalse();
+        reference.close();
+        assertThat(runtime.scheduledExecutorService().isShutdown()).isTrue();
+    }
+
+    @Test
+    public void close_customerProvidedExecutors_areNotShutDown() {
+        ScheduledExecutorService scheduledExecutor = mock(ScheduledExecutorService.class);
+        ExecutorService futureCompletionExecutor = mock(ExecutorService.class);
+
+        SdkRuntime.builder()
+                  .scheduledExecutorService(scheduledExecutor)
+                  .futureCompletionExecutor(futureCompletionExecutor)
+                  .build()
+                  .close();
+
+        verify(scheduledExecutor, never()).shutdown();
+        verify(futureCompletionExecutor, never()).shutdown();
+    }
+
+    @Test
+    public void sharedResource_sameKey_createsResourceOnce() {
+        try (SdkRuntime runtime = SdkRuntime.create()) {
+            Object first = runtime.sharedResource("key", Object::new);
+            Object second = runtime.sharedResource("key", Object::new);
+            Object other = runtime.sharedResource("other-key", Object::new);
+
+            assertThat(second).isSameAs(first);
+            assertThat(other).isNotSameAs(first);
+        }
+    }
+
+    @Test
+    public void closedRuntime_cannotBeUsedByNewClients() {
+        SdkRuntime runtime = SdkRuntime.create();
+        SdkAutoCloseable reference = runtime.retain();
+        runtime.close();
+
+        assertThatThrownBy(runtime::retain).isInstanceOf(IllegalStateException.class);
+        assertThatThrownBy(() -> runtime.sharedResource("key", Object::new)).isInstanceOf(IllegalStateException.class);
+        reference.close();
+    }
+}
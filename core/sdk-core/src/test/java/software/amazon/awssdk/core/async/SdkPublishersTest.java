@@ -27,11 +27,13 @@ import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
 import org.junit.Test;
 import org.reactivestreams.Publisher;
 import org.reactivestreams.Subscriber;
 import org.reactivestreams.Subscription;
 import software.amazon.awssdk.core.internal.async.SdkPublishers;
+import software.amazon.awssdk.utils.async.PooledByteBuffers;
 import utils.FakePublisher;
 import utils.FakeSdkPublisher;
 
@@ -50,6 +52,24 @@ public class SdkPublishersTest {
         assertThat(fakeSubscriber.recordedEvents()).containsExactly("prefix:content", ":suffix");
     }
 
+    @Test
+    public void envelopeWrappedPublisher_releasesPooledContentMergedWithPrefix() {
+        FakePublisher<ByteBuffer> fakePublisher = new FakePublisher<>();
+        Publisher<ByteBuffer> wrappedPublisher =
+            SdkPublishers.envelopeWrappedPublisher(fakePublisher, "prefix:", ":suffix");
+        AtomicInteger releases = new AtomicInteger();
+        ByteBuffer pooled = PooledByteBuffers.register(ByteBuffer.wrap("content".getBytes(StandardCharsets.UTF_8)),
+                                                       releases::incrementAndGet);
+
+        FakeByteBufferSubscriber fakeSubscriber = new FakeByteBufferSubscriber();
+        wrappedPublisher.subscribe(fakeSubscriber);
+        fakePublisher.publish(pooled);
+        fakePublisher.complete();
+
+        assertThat(fakeSubscriber.recordedEvents()).containsExactly("prefix:content", ":suffix");
+        assertThat(releases.get()).isEqualTo(1);
+    }
+
     @Test
     public void mapTransformsCorrectly() {
         FakeSdkPublisher<String> fakePublisher = new FakeSdkPublisher<>();
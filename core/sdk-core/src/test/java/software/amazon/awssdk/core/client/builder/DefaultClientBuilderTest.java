@@ -39,6 +39,7 @@ import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.mockito.Mock;
 import org.mockito.runners.MockitoJUnitRunner;
+import software.amazon.awssdk.core.SdkRuntime;
 import software.amazon.awssdk.core.client.config.ClientOverrideConfiguration;
 import software.amazon.awssdk.core.client.config.SdkAdvancedClientOption;
 import software.amazon.awssdk.core.client.config.SdkClientOption;
@@ -160,6 +161,38 @@ public class DefaultClientBuilderTest {
         verify(defaultAsyncHttpClientFactory, never()).buildWithDefaults(any());
     }
 
+    @Test
+    public void runtimeProvided_clientsShareDefaultHttpClientAndExecutors() {
+        SdkRuntime runtime = SdkRuntime.create();
+        TestClient first = testClientBuilder().runtime(runtime).build();
+        TestClient second = testClientBuilder().runtime(runtime).build();
+
+        verify(defaultHttpClientFactory, times(1)).buildWithDefaults(any());
+        assertThat(first.clientConfiguration.option(SdkClientOption.SYNC_HTTP_CLIENT))
+                .isInstanceOf(SdkDefaultClientBuilder.NonManagedSdkHttpClient.class);
+        assertThat(second.clientConfiguration.option(SdkClientOption.SYNC_HTTP_CLIENT))
+                .isInstanceOf(SdkDefaultClientBuilder.NonManagedSdkHttpClient.class);
+
+        runtime.close();
+        first.clientConfiguration.close();
+        assertThat(runtime.scheduledExecutorService().isShutdown()).isFalse();
+        assertThat(second.clientConfiguration.option(SdkClientOption.SCHEDULED_EXECUTOR_SERVICE).isShutdown()).isFalse();
+
+        second.clientConfiguration.close();
+        assertThat(runtime.scheduledExecutorService().isShutdown()).isTrue();
+    }
+
+    @Test
+    public void runtimeProvided_explicitClientTakesPrecedence() {
+        try (SdkRuntime runtime = SdkRuntime.create()) {
+            SdkHttpClient httpClient = mock(SdkHttpClient.class);
+            TestClient client = testClientBuilder().runtime(runtime).httpClient(httpClient).build();
+
+            verify(defaultHttpClientFactory, never()).buildWithDefaults(any());
+            client.clientConfiguration.close();
+        }
+    }
+
     @Test
     public void clientBuilderFieldsHaveBeanEquivalents() throws Exception {
         SdkClientBuilder<TestClientBuilder, TestClient> builder = testClientBuilder();
@@ -15,6 +15,7 @@
 
 package software.amazon.awssdk.core.internal.async;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.junit.Assert.assertTrue;
 import static software.amazon.awssdk.utils.FunctionalUtils.invokeSafely;
@@ -229,6 +230,45 @@ public class FileAsyncRequestBodyTest {
             .hasCauseInstanceOf(IOException.class);
     }
 
+    @Test
+    public void positionAndNumBytesToRead_readsOnlyThatRegionOfTheFile() throws Exception {
+        long position = 3 * MiB + 17;
+        long numBytesToRead = 2 * MiB + 5;
+        AsyncRequestBody asyncRequestBody = FileAsyncRequestBody.builder()
+                                                                .path(testFile)
+                                                                .position(position)
+                                                                .numBytesToRead(numBytesToRead)
+                                                                .build();
+
+        ControllableSubscriber subscriber = new ControllableSubscriber();
+        asyncRequestBody.subscribe(subscriber);
+        subscriber.sub.request(Long.MAX_VALUE);
+        subscriber.completed.get(5, TimeUnit.SECONDS);
+
+        byte[] expected = new byte[(int) numBytesToRead];
+        System.arraycopy(Files.readAllBytes(testFile), (int) position, expected, 0, expected.length);
+        assertThat(asyncRequestBody.contentLength()).hasValue(numBytesToRead);
+        assertThat(subscriber.output.toByteArray()).isEqualTo(expected);
+    }
+
+    @Test
+    public void numBytesToReadPastEndOfFile_readsUntilEndOfFile() throws Exception {
+        long position = TEST_FILE_SIZE - 100;
+        AsyncRequestBody asyncRequestBody = FileAsyncRequestBody.builder()
+                                                                .path(testFile)
+                                                                .position(position)
+                                                                .numBytesToRead(MiB)
+                                                                .build();
+
+        ControllableSubscriber subscriber = new ControllableSubscriber();
+        asyncRequestBody.subscribe(subscriber);
+        subscriber.sub.request(Long.MAX_VALUE);
+        subscriber.completed.get(5, TimeUnit.SECONDS);
+
+        assertThat(asyncRequestBody.contentLength()).hasValue(100L);
+        assertThat(subscriber.output.size()).isEqualTo(100);
+    }
+
     private static class ControllableSubscriber implements Subscriber<ByteBuffer> {
         private final ByteArrayOutputStream output = new ByteArrayOutputStream();
         private final CompletableFuture<Void> completed = new CompletableFuture<>();
@@ -18,9 +18,12 @@ package software.amazon.awssdk.core.internal.async;
 import static org.assertj.core.api.Assertions.assertThat;
 
 import com.google.common.jimfs.Jimfs;
+import io.reactivex.Flowable;
 import java.io.IOException;
 import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.FileSystem;
+import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.List;
@@ -34,6 +37,7 @@ import org.junit.Test;
 import org.reactivestreams.Subscriber;
 import org.reactivestreams.Subscription;
 import software.amazon.awssdk.core.async.SdkPublisher;
+import software.amazon.awssdk.utils.async.PooledByteBuffers;
 
 /**
  * Tests for {@link FileAsyncResponseTransformer}.
@@ -97,6 +101,25 @@ public class FileAsyncResponseTransformerTest {
         assertThat(future.isCompletedExceptionally()).isFalse();
     }
 
+    @Test
+    public void pooledBuffer_releasedAfterWrite() throws Exception {
+        Path testPath = testFs.getPath("pooled_test_file.txt");
+        FileAsyncResponseTransformer<Object> transformer = new FileAsyncResponseTransformer<>(testPath);
+        AtomicInteger releases = new AtomicInteger();
+        byte[] content = RandomStringUtils.randomAlphanumeric(30000).getBytes(StandardCharsets.UTF_8);
+        ByteBuffer pooled = ByteBuffer.allocateDirect(content.length);
+        pooled.put(content).flip();
+
+        CompletableFuture<Object> prepareFuture = transformer.prepare();
+        transformer.onResponse(new Object());
+        transformer.onStream(SdkPublisher.adapt(Flowable.just(PooledByteBuffers.register(pooled,
+                                                                                           releases::incrementAndGet))));
+
+        prepareFuture.get(10, TimeUnit.SECONDS);
+        assertThat(releases.get()).isEqualTo(1);
+        assertThat(Files.readAllBytes(testPath)).isEqualTo(content);
+    }
+
     static class TestPublisher implements SdkPublisher<ByteBuffer> {
         private AtomicInteger requestNumber = new AtomicInteger(0);
         private volatile boolean isDone = false;
@@ -0,0 +1,165 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+
+package software.amazon.awssdk.core.internal.http;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.aResponse;
+import static com.github.tomakehurst.wiremock.client.WireMock.anyUrl;
+import static com.github.tomakehurst.wiremock.client.WireMock.get;
+import static com.github.tomakehurst.wiremock.client.WireMock.stubFor;
+import static com.github.tomakehurst.wiremock.core.WireMockConfiguration.wireMockConfig;
+import static org.assertj.core.api.Assertions.assertThat;
+import static software.amazon.awssdk.core.internal.util.AsyncResponseHandlerTestUtils.noOpResponseHandler;
+import static utils.HttpTestUtils.testAsyncClientBuilder;
+
+import com.github.tomakehurst.wiremock.client.ResponseDefinitionBuilder;
+import com.github.tomakehurst.wiremock.common.FileSource;
+import com.github.tomakehurst.wiremock.extension.Parameters;
+import com.github.tomakehurst.wiremock.extension.ResponseDefinitionTransformer;
+import com.github.tomakehurst.wiremock.http.Request;
+import com.github.tomakehurst.wiremock.http.ResponseDefinition;
+import com.github.tomakehurst.wiremock.junit.WireMockRule;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import software.amazon.awssdk.core.Response;
+import software.amazon.awssdk.core.http.ExecutionContext;
+import software.amazon.awssdk.core.http.NoopTestRequest;
+import software.amazon.awssdk.core.interceptor.ExecutionAttributes;
+import software.amazon.awssdk.core.interceptor.ExecutionInterceptorChain;
+import software.amazon.awssdk.core.interceptor.InterceptorContext;
+import software.amazon.awssdk.core.interceptor.SdkExecutionAttribute;
+import software.amazon.awssdk.core.retry.HedgingPolicy;
+import software.amazon.awssdk.core.retry.RetryPolicy;
+import software.amazon.awssdk.core.signer.NoOpSigner;
+import software.amazon.awssdk.http.SdkHttpFullRequest;
+import software.amazon.awssdk.metrics.MetricCollector;
+import utils.ValidSdkObjects;
+
+/**
+ * Sends requests to a server that responds slowly to every 20th request, and verifies that hedging cuts the slow responses
+ * out of the p99 latency.
+ */
+public class AsyncHttpClientHedgingTest {
+    private static final int SLOW_REQUEST_INTERVAL = 20;
+    private static final int SLOW_RESPONSE_DELAY_MILLIS = 200;
+    private static final int WARM_UP_REQUESTS = 128;
+    private static final int MEASURED_REQUESTS = 200;
+
+    @Rule
+    public WireMockRule wireMock = new WireMockRule(wireMockConfig().dynamicPort()
+                                                                    .extensions(new SlowEveryNthResponse()));
+
+    @Before
+    public void setup() {
+        stubFor(get(anyUrl()).willReturn(aResponse().withStatus(200).withBody("{}")));
+    }
+
+    @Test
+    public void slowResponses_withoutHedging_dominateP99() {
+        AmazonAsyncHttpClient httpClient = testAsyncClientBuilder().retryPolicy(RetryPolicy.none()).build();
+
+        assertThat(p99LatencyMillis(httpClient)).isGreaterThanOrEqualTo(SLOW_RESPONSE_DELAY_MILLIS);
+    }
+
+    @Test
+    public void slowResponses_withHedging_areHedged() {
+        AmazonAsyncHttpClient httpClient = testAsyncClientBuilder().retryPolicy(RetryPolicy.none())
+                                                                   .hedgingPolicy(HedgingPolicy.builder()
+                                                                                               .delayPercentile(90)
+                                                                                               .build())
+                                                                   .build();
+
+        // The hedging delay is only known once enough responses have been received
+        for (int i = 0; i < WARM_UP_REQUESTS; i++) {
+            execute(httpClient);
+        }
+
+        assertThat(p99LatencyMillis(httpClient)).isLessThan(SLOW_RESPONSE_DELAY_MILLIS / 2);
+    }
+
+    private long p99LatencyMillis(AmazonAsyncHttpClient httpClient) {
+        long[] latencies = new long[MEASURED_REQUESTS];
+        for (int i = 0; i < MEASURED_REQUESTS; i++) {
+            long start = System.nanoTime();
+            execute(httpClient);
+            latencies[i] = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        }
+        Arrays.sort(latencies);
+        return latencies[(int) Math.ceil(MEASURED_REQUESTS * 0.99) - 1];
+    }
+
+    private void execute(AmazonAsyncHttpClient httpClient) {
+        Response<Object> response = Response.builder()
+                                            .isSuccess(true)
+                                            .httpResponse(ValidSdkObjects.sdkHttpFullResponse().build())
+                                            .build();
+        httpClient.requestExecutionBuilder()
+                  .request(generateRequest())
+                  .originalRequest(NoopTestRequest.builder().build())
+                  .executionContext(executionContext())
+                  .execute(noOpResponseHandler(response))
+                  .join();
+    }
+
+    private SdkHttpFullRequest generateRequest() {
+        return ValidSdkObjects.sdkHttpFullRequest(wireMock.port()).host("localhost").build();
+    }
+
+    private ExecutionContext executionContext() {
+        InterceptorContext interceptorContext = InterceptorContext.builder()
+                                                                  .request(NoopTestRequest.builder().build())
+                                                                  .httpRequest(generateRequest())
+                                                                  .build();
+        ExecutionAttributes executionAttributes = new ExecutionAttributes();
+        executionAttributes.putAttribute(SdkExecutionAttribute.OPERATION_NAME, "GetThing");
+        return ExecutionContext.builder()
+                               .signer(new NoOpSigner())
+                               .interceptorChain(new ExecutionInterceptorChain(Collections.emptyList()))
+                               .executionAttributes(executionAttributes)
+                               .interceptorContext(interceptorContext)
+                               .metricCollector(MetricCollector.create("ApiCall"))
+                               .build();
+    }
+
+    /**
+     * Delays every {@link #SLOW_REQUEST_INTERVAL}th response. Requests are sent one at a time, so the hedge of a slow request
+     * is always the next request and gets a fast response.
+     */
+    private static final class SlowEveryNthResponse extends ResponseDefinitionTransformer {
+        private final AtomicInteger requestCount = new AtomicInteger();
+
+        @Override
+        public ResponseDefinition transform(Request request, ResponseDefinition responseDefinition, FileSource files,
+                                            Parameters parameters) {
+            if (requestCount.incrementAndGet() % SLOW_REQUEST_INTERVAL != 0) {
+                return responseDefinition;
+            }
+            return ResponseDefinitionBuilder.like(responseDefinition)
+                                            .withFixedDelay(SLOW_RESPONSE_DELAY_MILLIS)
+                                            .build();
+        }
+
+        @Override
+        public String getName() {
+            return "slow-every-nth-response";
+        }
+    }
+}
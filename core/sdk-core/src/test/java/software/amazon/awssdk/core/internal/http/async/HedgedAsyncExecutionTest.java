@@ -0,0 +1,315 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+
+package software.amazon.awssdk.core.internal.http.async;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+import org.reactivestreams.Publisher;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+import software.amazon.awssdk.core.exception.SdkClientException;
+import software.amazon.awssdk.core.interceptor.ExecutionAttributes;
+import software.amazon.awssdk.core.internal.http.timers.TimeoutScheduler;
+import software.amazon.awssdk.core.internal.retry.RequestHedger;
+import software.amazon.awssdk.core.metrics.CoreMetric;
+import software.amazon.awssdk.core.retry.HedgingPolicy;
+import software.amazon.awssdk.core.retry.RetryMode;
+import software.amazon.awssdk.core.retry.RetryPolicy;
+import software.amazon.awssdk.core.retry.RetryPolicyContext;
+import software.amazon.awssdk.core.retry.conditions.TokenBucketRetryCondition;
+import software.amazon.awssdk.http.HttpMetric;
+import software.amazon.awssdk.http.SdkHttpResponse;
+import software.amazon.awssdk.http.async.SdkAsyncHttpResponseHandler;
+import software.amazon.awssdk.metrics.MetricCollection;
+import software.amazon.awssdk.metrics.MetricCollector;
+
+@RunWith(MockitoJUnitRunner.class)
+public class HedgedAsyncExecutionTest {
+    private static final String OPERATION_NAME = "GetThing";
+
+    @Mock
+    private SdkAsyncHttpResponseHandler responseHandler;
+
+    private List<SdkAsyncHttpResponseHandler> attemptHandlers;
+    private List<MetricCollector> attemptHttpMetrics;
+    private List<CompletableFuture<Void>> attemptFutures;
+    private List<Runnable> scheduledTasks;
+    private TokenBucketRetryCondition tokenBucket;
+    private RequestHedger requestHedger;
+    private MetricCollector metricCollector;
+
+    @Before
+    public void setup() {
+        metricCollector = MetricCollector.create("ApiCallAttempt");
+        attemptHandlers = new ArrayList<>();
+        attemptHttpMetrics = new ArrayList<>();
+        attemptFutures = new ArrayList<>();
+        scheduledTasks = new ArrayList<>();
+        tokenBucket = TokenBucketRetryCondition.forRetryMode(RetryMode.STANDARD);
+        requestHedger = RequestHedger.create(HedgingPolicy.create(),
+                                             RetryPolicy.builder(RetryMode.STANDARD)
+                                                        .retryCapacityCondition(tokenBucket)
+                                                        .build());
+    }
+
+    @Test
+    public void execute_noLatenciesRecorded_doesNotHedge() {
+        CompletableFuture<Void> executeFuture = execution().execute();
+
+        assertThat(scheduledTasks).isEmpty();
+        respond(0, 200);
+        attemptFutures.get(0).complete(null);
+
+        assertThat(executeFuture).isCompleted();
+        assertThat(attemptHandlers).hasSize(1);
+        assertThat(requestHedger.hedgeDelay(OPERATION_NAME)).isEmpty();
+    }
+
+    @Test
+    public void execute_primaryRespondsBeforeDelay_doesNotHedge() {
+        warmUp();
+        CompletableFuture<Void> executeFuture = execution().execute();
+        assertThat(scheduledTasks).hasSize(1);
+
+        SdkHttpResponse response = respond(0, 200);
+        attemptFutures.get(0).complete(null);
+
+        assertThat(scheduledTasks).isEmpty();
+        assertThat(attemptHandlers).hasSize(1);
+        assertThat(executeFuture).isCompleted();
+        verify(responseHandler).onHeaders(response);
+    }
+
+    @Test
+    public void execute_hedgeRespondsFirst_cancelsPrimary() {
+        warmUp();
+        CompletableFuture<Void> executeFuture = execution().execute();
+        fireHedgeTimer();
+        assertThat(attemptHandlers).hasSize(2);
+        assertThat(tokenBucket.tokensAvailable()).isEqualTo(495);
+
+        SdkHttpResponse response = respond(1, 200);
+        assertThat(attemptFutures.get(0)).isCancelled();
+
+        CancellationTrackingPublisher loserStream = new CancellationTrackingPublisher();
+        attemptHandlers.get(0).onStream(loserStream);
+        assertThat(loserStream.cancelled).isTrue();
+
+        Publisher<ByteBuffer> winnerStream = new CancellationTrackingPublisher();
+        attemptHandlers.get(1).onStream(winnerStream);
+        attemptFutures.get(1).complete(null);
+
+        verify(responseHandler).onHeaders(response);
+        verify(responseHandler).onStream(winnerStream);
+        verify(responseHandler, never()).onError(any());
+        assertThat(executeFuture).isCompleted();
+        assertThat(executeFuture.isCompletedExceptionally()).isFalse();
+        assertThat(tokenBucket.tokensAvailable()).isEqualTo(500);
+        assertThat(metricCollector.collect().metricValues(CoreMetric.SERVICE_CALL_DURATION)).hasSize(1);
+    }
+
+    @Test
+    public void execute_hedgeReceivesClientError_releasesCapacity() {
+        warmUp();
+        CompletableFuture<Void> executeFuture = execution().execute();
+        fireHedgeTimer();
+
+        respond(1, 404);
+        assertThat(tokenBucket.tokensAvailable()).isEqualTo(495);
+        attemptFutures.get(1).complete(null);
+
+        assertThat(executeFuture).isCompleted();
+        assertThat(tokenBucket.tokensAvailable()).isEqualTo(500);
+    }
+
+    @Test
+    public void execute_hedgeReceivesServerError_keepsCapacity() {
+        warmUp();
+        CompletableFuture<Void> executeFuture = execution().execute();
+        fireHedgeTimer();
+
+        respond(1, 503);
+        attemptFutures.get(1).complete(null);
+
+        assertThat(executeFuture).isCompleted();
+        assertThat(tokenBucket.tokensAvailable()).isEqualTo(495);
+    }
+
+    @Test
+    public void execute_primaryFailsAfterHedge_waitsForHedge() {
+        warmUp();
+        CompletableFuture<Void> executeFuture = execution().execute();
+        fireHedgeTimer();
+
+        attemptFutures.get(0).completeExceptionally(new IOException("Connection reset"));
+        assertThat(executeFuture).isNotDone();
+        verify(responseHandler, never()).onError(any());
+
+        SdkHttpResponse response = respond(1, 200);
+        attemptFutures.get(1).complete(null);
+
+        verify(responseHandler).onHeaders(response);
+        assertThat(executeFuture).isCompleted();
+        assertThat(executeFuture.isCompletedExceptionally()).isFalse();
+    }
+
+    @Test
+    public void execute_primaryFailsBeforeHedge_failsWithoutHedging() {
+        warmUp();
+        CompletableFuture<Void> executeFuture = execution().execute();
+
+        IOException error = new IOException("Connection reset");
+        attemptHandlers.get(0).onError(error);
+        attemptFutures.get(0).completeExceptionally(error);
+        assertThat(scheduledTasks).isEmpty();
+
+        verify(responseHandler).onError(error);
+        assertThat(executeFuture).isCompletedExceptionally();
+        assertThat(attemptHandlers).hasSize(1);
+    }
+
+    @Test
+    public void execute_bothFail_failsWithLastError() {
+        warmUp();
+        CompletableFuture<Void> executeFuture = execution().execute();
+        fireHedgeTimer();
+
+        attemptFutures.get(0).completeExceptionally(new IOException("Primary"));
+        IOException error = new IOException("Hedge");
+        attemptFutures.get(1).completeExceptionally(error);
+
+        verify(responseHandler).onError(error);
+        assertThat(executeFuture).isCompletedExceptionally();
+        assertThat(tokenBucket.tokensAvailable()).isEqualTo(495);
+    }
+
+    @Test
+    public void execute_tokenBucketExhausted_doesNotHedge() {
+        warmUp();
+        drainTokenBucket();
+        execution().execute();
+        fireHedgeTimer();
+
+        assertThat(attemptHandlers).hasSize(1);
+    }
+
+    @Test
+    public void execute_cancelled_cancelsAllAttempts() {
+        warmUp();
+        CompletableFuture<Void> executeFuture = execution().execute();
+        fireHedgeTimer();
+
+        executeFuture.completeExceptionally(new IOException("Attempt timed out"));
+
+        assertThat(attemptFutures.get(0)).isCancelled();
+        assertThat(attemptFutures.get(1)).isCancelled();
+        assertThat(tokenBucket.tokensAvailable()).isEqualTo(500);
+        assertThat(metricCollector.collect().metricValues(CoreMetric.SERVICE_CALL_DURATION)).hasSize(1);
+    }
+
+    @Test
+    public void execute_hedgeWins_reportsOnlyHedgeHttpMetrics() {
+        warmUp();
+        CompletableFuture<Void> executeFuture = execution().execute();
+        fireHedgeTimer();
+        attemptHttpMetrics.get(0).reportMetric(HttpMetric.HTTP_CLIENT_NAME, "primary");
+        attemptHttpMetrics.get(1).reportMetric(HttpMetric.HTTP_CLIENT_NAME, "hedge");
+
+        respond(1, 200);
+        attemptFutures.get(1).complete(null);
+
+        assertThat(executeFuture).isCompleted();
+        MetricCollection attemptMetrics = metricCollector.collect();
+        assertThat(attemptMetrics.children()).hasSize(1);
+        assertThat(attemptMetrics.children().get(0).name()).isEqualTo("HttpClient");
+        assertThat(attemptMetrics.children().get(0).metricValues(HttpMetric.HTTP_CLIENT_NAME)).containsExactly("hedge");
+    }
+
+    private HedgedAsyncExecution execution() {
+        TimeoutScheduler scheduler = (task, delay, unit) -> {
+            scheduledTasks.add(task);
+            return () -> scheduledTasks.remove(task);
+        };
+        return new HedgedAsyncExecution((handler, httpMetrics) -> {
+            CompletableFuture<Void> future = new CompletableFuture<>();
+            attemptHandlers.add(handler);
+            attemptHttpMetrics.add(httpMetrics);
+            attemptFutures.add(future);
+            return future;
+        }, responseHandler, requestHedger, OPERATION_NAME, metricCollector, scheduler);
+    }
+
+    private void warmUp() {
+        for (int i = 0; i < 128; i++) {
+            requestHedger.recordLatency(OPERATION_NAME, Duration.ofMillis(20).toNanos());
+        }
+    }
+
+    private void drainTokenBucket() {
+        RetryPolicyContext failure = RetryPolicyContext.builder()
+                                                       .executionAttributes(new ExecutionAttributes())
+                                                       .exception(SdkClientException.create("Failure"))
+                                                       .build();
+        while (tokenBucket.shouldRetry(failure)) {
+            // Keep failing until the bucket is empty
+        }
+    }
+
+    private void fireHedgeTimer() {
+        assertThat(scheduledTasks).hasSize(1);
+        scheduledTasks.remove(0).run();
+    }
+
+    private SdkHttpResponse respond(int attempt, int statusCode) {
+        SdkHttpResponse response = SdkHttpResponse.builder().statusCode(statusCode).build();
+        attemptHandlers.get(attempt).onHeaders(response);
+        return response;
+    }
+
+    private static final class CancellationTrackingPublisher implements Publisher<ByteBuffer> {
+        private boolean cancelled;
+
+        @Override
+        public void subscribe(Subscriber<? super ByteBuffer> subscriber) {
+            subscriber.onSubscribe(new Subscription() {
+                @Override
+                public void request(long n) {
+                }
+
+                @Override
+                public void cancel() {
+                    cancelled = true;
+                }
+            });
+        }
+    }
+}
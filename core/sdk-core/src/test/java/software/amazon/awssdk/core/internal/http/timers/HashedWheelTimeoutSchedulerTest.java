@@ -0,0 +1,130 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+
+package software.amazon.awssdk.core.internal.http.timers;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import software.amazon.awssdk.core.internal.http.timers.TimeoutScheduler.ScheduledTimeout;
+import software.amazon.awssdk.utils.ThreadFactoryBuilder;
+
+public class HashedWheelTimeoutSchedulerTest {
+    private HashedWheelTimeoutScheduler scheduler;
+
+    @Before
+    public void setup() {
+        // A small wheel, so that the tests also cover timeouts that need more than one round.
+        scheduler = new HashedWheelTimeoutScheduler(Duration.ofMillis(5), 8,
+                                                    new ThreadFactoryBuilder().threadNamePrefix("test-wheel").build());
+    }
+
+    @After
+    public void teardown() {
+        scheduler.close();
+    }
+
+    @Test
+    public void schedule_runsTaskAfterDelay() throws InterruptedException {
+        CountDownLatch latch = new CountDownLatch(1);
+        long start = System.nanoTime();
+
+        scheduler.schedule(latch::countDown, 100, TimeUnit.MILLISECONDS);
+
+        assertThat(latch.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start)).isGreaterThanOrEqualTo(100);
+    }
+
+    @Test
+    public void schedule_cancelledTask_doesNotRun() throws InterruptedException {
+        AtomicInteger runs = new AtomicInteger();
+        CountDownLatch laterTaskRan = new CountDownLatch(1);
+
+        ScheduledTimeout timeout = scheduler.schedule(runs::incrementAndGet, 50, TimeUnit.MILLISECONDS);
+        timeout.cancel();
+        scheduler.schedule(laterTaskRan::countDown, 100, TimeUnit.MILLISECONDS);
+
+        assertThat(laterTaskRan.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(runs.get()).isZero();
+    }
+
+    @Test
+    public void schedule_manyTasks_allRunOnce() throws InterruptedException {
+        int taskCount = 1_000;
+        AtomicInteger runs = new AtomicInteger();
+        CountDownLatch latch = new CountDownLatch(taskCount);
+
+        for (int i = 0; i < taskCount; i++) {
+            scheduler.schedule(() -> {
+                runs.incrementAndGet();
+                latch.countDown();
+            }, i % 200, TimeUnit.MILLISECONDS);
+        }
+
+        assertThat(latch.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(runs.get()).isEqualTo(taskCount);
+    }
+
+    @Test
+    public void schedule_taskThrows_laterTasksStillRun() throws InterruptedException {
+        CountDownLatch latch = new CountDownLatch(1);
+
+        scheduler.schedule(() -> {
+            throw new RuntimeException("boom");
+        }, 10, TimeUnit.MILLISECONDS);
+        scheduler.schedule(latch::countDown, 50, TimeUnit.MILLISECONDS);
+
+        assertThat(latch.await(5, TimeUnit.SECONDS)).isTrue();
+    }
+
+    @Test
+    public void withExecutor_runsTaskOnExecutor() throws InterruptedException {
+        ExecutorService executor = Executors.newSingleThreadExecutor(new ThreadFactoryBuilder().threadNamePrefix("test-exec")
+                                                                                               .build());
+        try {
+            CountDownLatch latch = new CountDownLatch(1);
+            AtomicReference<String> threadName = new AtomicReference<>();
+
+            scheduler.withExecutor(executor).schedule(() -> {
+                threadName.set(Thread.currentThread().getName());
+                latch.countDown();
+            }, 10, TimeUnit.MILLISECONDS);
+
+            assertThat(latch.await(5, TimeUnit.SECONDS)).isTrue();
+            assertThat(threadName.get()).startsWith("test-exec");
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    public void schedule_afterClose_throwsException() {
+        scheduler.close();
+
+        assertThatThrownBy(() -> scheduler.schedule(() -> { }, 10, TimeUnit.MILLISECONDS))
+            .isInstanceOf(IllegalStateException.class);
+    }
+}
@@ -19,7 +19,17 @@ import static org.assertj.core.api.Assertions.as;
 import static org.assertj.core.api.Assertions.assertThat;
 
 import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
 import org.junit.Test;
 import org.mockito.Mockito;
 
@@ -155,4 +165,42 @@ public class RateLimitingTokenBucketTest {
 
         assertThat(tb.tryAcquireCapacity(5.0)).isEqualTo(2.0);
     }
+
+    @Test
+    public void acquireNonBlocking_concurrentCallers_noAcquisitionIsLost() throws Exception {
+        // Time never advances, so nothing is refilled and every acquisition goes further into debt
+        RateLimitingTokenBucket tb = new RateLimitingTokenBucket(() -> 0.0);
+        tb.setFillRate(1.0);
+        tb.setCurrentCapacity(0.0);
+        tb.enable();
+
+        int threads = 8;
+        int acquisitionsPerThread = 1000;
+        Set<Long> waitTimes = ConcurrentHashMap.newKeySet();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < threads; i++) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    for (int j = 0; j < acquisitionsPerThread; j++) {
+                        waitTimes.add((long) tb.acquireNonBlocking(1.0, false).getAsDouble());
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get(10, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        // Each caller waits for its own token plus every token owed before it, so the wait times are exactly 1..n
+        long total = (long) threads * acquisitionsPerThread;
+        assertThat(tb.getCurrentCapacity()).isEqualTo(-total);
+        assertThat(waitTimes).isEqualTo(LongStream.rangeClosed(1, total).boxed().collect(Collectors.toSet()));
+    }
 }
\ No newline at end of file
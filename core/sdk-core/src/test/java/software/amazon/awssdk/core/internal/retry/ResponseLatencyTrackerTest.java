@@ -0,0 +1,65 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+
+package software.amazon.awssdk.core.internal.retry;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.concurrent.TimeUnit;
+import org.junit.Test;
+
+public class ResponseLatencyTrackerTest {
+
+    @Test
+    public void percentile_tooFewSamples_isEmpty() {
+        ResponseLatencyTracker tracker = new ResponseLatencyTracker(95);
+        for (int i = 0; i < 127; i++) {
+            tracker.record(i);
+        }
+        assertThat(tracker.percentileNanos()).isEmpty();
+    }
+
+    @Test
+    public void percentile_enoughSamples_isComputedOverSamples() {
+        ResponseLatencyTracker tracker = new ResponseLatencyTracker(99);
+        for (int i = 1; i <= 1024; i++) {
+            tracker.record(TimeUnit.MILLISECONDS.toNanos(i));
+        }
+
+        // The 1014th of 1024 samples
+        assertThat(tracker.percentileNanos()).hasValue(TimeUnit.MILLISECONDS.toNanos(1014));
+    }
+
+    @Test
+    public void percentile_oldSamples_areForgotten() {
+        ResponseLatencyTracker tracker = new ResponseLatencyTracker(50);
+        for (int i = 0; i < 1024; i++) {
+            tracker.record(TimeUnit.SECONDS.toNanos(1));
+        }
+        for (int i = 0; i < 1024; i++) {
+            tracker.record(TimeUnit.MILLISECONDS.toNanos(1));
+        }
+
+        assertThat(tracker.percentileNanos()).hasValue(TimeUnit.MILLISECONDS.toNanos(1));
+    }
+
+    @Test
+    public void create_invalidPercentile_throws() {
+        assertThatThrownBy(() -> new ResponseLatencyTracker(100)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new ResponseLatencyTracker(0)).isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -32,6 +32,8 @@ import software.amazon.awssdk.core.internal.http.AmazonAsyncHttpClient;
 import software.amazon.awssdk.core.internal.http.AmazonSyncHttpClient;
 import software.amazon.awssdk.core.internal.http.loader.DefaultSdkAsyncHttpClientBuilder;
 import software.amazon.awssdk.core.internal.http.loader.DefaultSdkHttpClientBuilder;
+import software.amazon.awssdk.core.internal.retry.RequestHedger;
+import software.amazon.awssdk.core.retry.HedgingPolicy;
 import software.amazon.awssdk.core.retry.RetryPolicy;
 import software.amazon.awssdk.core.signer.NoOpSigner;
 import software.amazon.awssdk.http.SdkHttpClient;
@@ -144,6 +146,7 @@ public class HttpTestUtils {
         private SdkAsyncHttpClient asyncHttpClient;
         private Duration apiCallTimeout;
         private Duration apiCallAttemptTimeout;
+        private HedgingPolicy hedgingPolicy;
         private Map<String, String> additionalHeaders = new HashMap<>();
 
         public TestAsyncClientBuilder retryPolicy(RetryPolicy retryPolicy) {
@@ -171,6 +174,11 @@ public class HttpTestUtils {
             return this;
         }
 
+        public TestAsyncClientBuilder hedgingPolicy(HedgingPolicy hedgingPolicy) {
+            this.hedgingPolicy = hedgingPolicy;
+            return this;
+        }
+
         public AmazonAsyncHttpClient build() {
             SdkAsyncHttpClient asyncHttpClient = this.asyncHttpClient != null ? this.asyncHttpClient : testSdkAsyncHttpClient();
             return new AmazonAsyncHttpClient(testClientConfiguration().toBuilder()
@@ -179,6 +187,7 @@ public class HttpTestUtils {
                                                                       .option(SdkClientOption.API_CALL_ATTEMPT_TIMEOUT, apiCallAttemptTimeout)
                                                                       .applyMutation(this::configureRetryPolicy)
                                                                       .applyMutation(this::configureAdditionalHeaders)
+                                                                      .applyMutation(this::configureHedgingPolicy)
                                                                       .build());
         }
 
@@ -195,5 +204,12 @@ public class HttpTestUtils {
                 builder.option(SdkClientOption.RETRY_POLICY, retryPolicy);
             }
         }
+
+        private void configureHedgingPolicy(SdkClientConfiguration.Builder builder) {
+            if (hedgingPolicy != null) {
+                RetryPolicy policy = retryPolicy != null ? retryPolicy : RetryPolicy.defaultRetryPolicy();
+                builder.option(SdkClientOption.REQUEST_HEDGER, RequestHedger.create(hedgingPolicy, policy));
+            }
+        }
     }
 }
@@ -0,0 +1,352 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+
+package software.amazon.awssdk.http;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import software.amazon.awssdk.annotations.SdkPublicApi;
+import software.amazon.awssdk.annotations.ThreadSafe;
+import software.amazon.awssdk.utils.CompletableFutureUtils;
+import software.amazon.awssdk.utils.Logger;
+import software.amazon.awssdk.utils.ThreadFactoryBuilder;
+import software.amazon.awssdk.utils.Validate;
+
+/**
+ * An {@link SdkDnsResolver} that caches the addresses of each host and spreads new connections across them.
+ * <p>
+ * Each call to {@link #resolve(String)} returns the cached addresses of the host rotated by one position, so that
+ * consecutive connections are made to different addresses. Addresses that are reported with
+ * {@link #reportConnectFailure(String, InetAddress)} are no longer returned until the host is resolved again, unless every
+ * address of the host has failed.
+ * <p>
+ * Once the addresses of a host are older than the configured {@link Builder#ttl(Duration)}, they are refreshed in the
+ * background while the cached addresses continue to be returned, so only the first connection to a host waits for DNS. If
+ * the refresh fails, the cached addresses continue to be used until the next attempt. {@link #resolveAsync(String)} also looks
+ * up hosts that are not cached on the refresh executor, so it never blocks the calling thread.
+ * <p>
+ * Up to {@link Builder#maxHosts(Integer)} hosts are cached. When more hosts are resolved, the least recently resolved hosts are
+ * evicted.
+ * <p>
+ * The JVM does not expose the TTL of DNS records, so the TTL is configured on this resolver. Host names are resolved using
+ * the {@link Builder#delegate(SdkDnsResolver)} resolver, which defaults to the JVM resolver. The JVM caches lookups for 30
+ * seconds by default (see the {@code networkaddress.cache.ttl} security property), so that cache should be configured to be
+ * no longer than the TTL of this resolver for changes in DNS to be picked up.
+ */
+@SdkPublicApi
+@ThreadSafe
+public final class CachingDnsResolver implements SdkDnsResolver {
+    private static final Logger log = Logger.loggerFor(CachingDnsResolver.class);
+
+    private static final Duration DEFAULT_TTL = Duration.ofSeconds(30);
+    private static final int DEFAULT_MAX_HOSTS = 1000;
+
+    private static final int REFRESH_THREADS = 4;
+    private static final int MAX_QUEUED_REFRESHES = 1000;
+    private static final Executor REFRESH_EXECUTOR = createRefreshExecutor();
+
+    private final Map<String, CacheEntry> cache = new ConcurrentHashMap<>();
+    private final Map<String, CompletableFuture<CacheEntry>> pendingLookups = new ConcurrentHashMap<>();
+    private final SdkDnsResolver delegate;
+    private final long ttlNanos;
+    private final int maxHosts;
+    private final Executor refreshExecutor;
+
+    private CachingDnsResolver(DefaultBuilder builder) {
+        this.delegate = builder.delegate != null ? builder.delegate : SdkDnsResolver.create();
+        this.ttlNanos = Validate.isPositive(builder.ttl != null ? builder.ttl : DEFAULT_TTL, "ttl").toNanos();
+        this.maxHosts = Validate.isPositive(builder.maxHosts != null ? builder.maxHosts : DEFAULT_MAX_HOSTS, "maxHosts");
+        this.refreshExecutor = builder.refreshExecutor != null ? builder.refreshExecutor : REFRESH_EXECUTOR;
+    }
+
+    private static Executor createRefreshExecutor() {
+        ThreadPoolExecutor executor =
+            new ThreadPoolExecutor(REFRESH_THREADS, REFRESH_THREADS, 60, TimeUnit.SECONDS,
+                                   new LinkedBlockingQueue<>(MAX_QUEUED_REFRESHES),
+                                   new ThreadFactoryBuilder().threadNamePrefix("sdk-dns-resolver").daemonThreads(true).build());
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
+    }
+
+    public static Builder builder() {
+        return new DefaultBuilder();
+    }
+
+    /**
+     * Create a {@link CachingDnsResolver} with the default properties.
+     */
+    public static CachingDnsResolver create() {
+        return builder().build();
+    }
+
+    @Override
+    public InetAddress[] resolve(String host) throws UnknownHostException {
+        CacheEntry entry = cache.get(host);
+        if (entry == null) {
+            return lookUp(host).nextAddresses();
+        }
+        return cachedAddresses(host, entry);
+    }
+
+    @Override
+    public CompletableFuture<InetAddress[]> resolveAsync(String host) {
+        CacheEntry entry = cache.get(host);
+        if (entry == null) {
+            return lookUpAsync(host).thenApply(CacheEntry::nextAddresses);
+        }
+        return CompletableFuture.completedFuture(cachedAddresses(host, entry));
+    }
+
+    @Override
+    public void reportConnectFailure(String host, InetAddress address) {
+        CacheEntry entry = cache.get(host);
+        if (entry != null) {
+            entry.evict(address);
+        }
+    }
+
+    private InetAddress[] cachedAddresses(String host, CacheEntry entry) {
+        if (entry.isExpired() && entry.startRefresh()) {
+            try {
+                refreshExecutor.execute(() -> refresh(host, entry));
+            } catch (RejectedExecutionException e) {
+                log.debug(() -> "Failed to schedule the refresh of the addresses of " + host + ". The refresh will be retried "
+                                + "when the host is next resolved.", e);
+                entry.refreshRejected();
+            }
+        }
+        return entry.nextAddresses();
+    }
+
+    private CacheEntry lookUp(String host) throws UnknownHostException {
+        InetAddress[] addresses = delegate.resolve(host);
+        if (addresses == null || addresses.length == 0) {
+            throw new UnknownHostException(host);
+        }
+
+        CacheEntry entry = new CacheEntry(addresses, System.nanoTime() + ttlNanos);
+        cache.put(host, entry);
+        evictLeastRecentlyUsed();
+        return entry;
+    }
+
+    /**
+     * Looks up a host that is not cached on the refresh executor. Concurrent lookups of the same host share one lookup.
+     */
+    private CompletableFuture<CacheEntry> lookUpAsync(String host) {
+        CompletableFuture<CacheEntry> lookup = new CompletableFuture<>();
+        CompletableFuture<CacheEntry> pendingLookup = pendingLookups.putIfAbsent(host, lookup);
+        if (pendingLookup != null) {
+            return pendingLookup;
+        }
+
+        try {
+            refreshExecutor.execute(() -> {
+                try {
+                    lookup.complete(lookUp(host));
+                } catch (UnknownHostException | RuntimeException e) {
+                    lookup.completeExceptionally(e);
+                } finally {
+                    pendingLookups.remove(host, lookup);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            pendingLookups.remove(host, lookup);
+            return CompletableFutureUtils.failedFuture(e);
+        }
+        return lookup;
+    }
+
+    private void evictLeastRecentlyUsed() {
+        while (cache.size() > maxHosts) {
+            cache.entrySet()
+                 .stream()
+                 .min(Comparator.comparingLong(e -> e.getValue().lastUsedNanos))
+                 .ifPresent(e -> cache.remove(e.getKey(), e.getValue()));
+        }
+    }
+
+    private void refresh(String host, CacheEntry staleEntry) {
+        try {
+            lookUp(host);
+        } catch (UnknownHostException | RuntimeException e) {
+            log.debug(() -> "Failed to refresh the addresses of " + host + ". The cached addresses will be used until the "
+                            + "next refresh.", e);
+            staleEntry.refreshFailed(System.nanoTime() + ttlNanos);
+        }
+    }
+
+    private static final class CacheEntry {
+        private final InetAddress[] addresses;
+        private final Set<InetAddress> failedAddresses = ConcurrentHashMap.newKeySet();
+        private final AtomicInteger nextIndex = new AtomicInteger();
+        private final AtomicBoolean refreshing = new AtomicBoolean();
+        private volatile long expiresAtNanos;
+        private volatile long lastUsedNanos = System.nanoTime();
+
+        private CacheEntry(InetAddress[] addresses, long expiresAtNanos) {
+            this.addresses = addresses.clone();
+            this.expiresAtNanos = expiresAtNanos;
+        }
+
+        private boolean isExpired() {
+            return System.nanoTime() - expiresAtNanos >= 0;
+        }
+
+        private boolean startRefresh() {
+            return refreshing.compareAndSet(false, true);
+        }
+
+        private void refreshFailed(long retryAtNanos) {
+            expiresAtNanos = retryAtNanos;
+            refreshing.set(false);
+        }
+
+        private void refreshRejected() {
+            refreshing.set(false);
+        }
+
+        private void evict(InetAddress address) {
+            if (Arrays.asList(addresses).contains(address)) {
+                failedAddresses.add(address);
+            }
+        }
+
+        private InetAddress[] nextAddresses() {
+            lastUsedNanos = System.nanoTime();
+            InetAddress[] candidates = healthyAddresses();
+            int start = Math.floorMod(nextIndex.getAndIncrement(), candidates.length);
+
+            InetAddress[] result = new InetAddress[candidates.length];
+            for (int i = 0; i < candidates.length; i++) {
+                result[i] = candidates[(start + i) % candidates.length];
+            }
+            return result;
+        }
+
+        private InetAddress[] healthyAddresses() {
+            if (failedAddresses.isEmpty()) {
+                return addresses;
+            }
+
+            InetAddress[] healthy = Arrays.stream(addresses)
+                                          .filter(a -> !failedAddresses.contains(a))
+                                          .toArray(InetAddress[]::new);
+            return healthy.length > 0 ? healthy : addresses;
+        }
+    }
+
+    /**
+     * Builder for a {@link CachingDnsResolver}.
+     */
+    public interface Builder {
+
+        /**
+         * How long the addresses of a host are used before they are refreshed. Defaults to 30 seconds.
+         */
+        Builder ttl(Duration ttl);
+
+        /**
+         * The resolver used to look up hosts that are not cached or whose addresses have expired. Defaults to
+         * {@link SdkDnsResolver#create()}.
+         */
+        Builder delegate(SdkDnsResolver delegate);
+
+        /**
+         * The maximum number of hosts whose addresses are cached. When more hosts are resolved, the least recently resolved
+         * hosts are evicted. Defaults to 1000.
+         */
+        Builder maxHosts(Integer maxHosts);
+
+        /**
+         * The executor on which expired addresses are refreshed, and on which {@link #resolveAsync(String)} looks up hosts
+         * that are not cached. Defaults to an executor of 4 daemon threads with a bounded queue that is shared by all
+         * {@link CachingDnsResolver}s. If the executor rejects a refresh, it is retried when the host is next resolved.
+         */
+        Builder refreshExecutor(Executor refreshExecutor);
+
+        CachingDnsResolver build();
+    }
+
+    private static final class DefaultBuilder implements Builder {
+        private Duration ttl;
+        private SdkDnsResolver delegate;
+        private Integer maxHosts;
+        private Executor refreshExecutor;
+
+        private DefaultBuilder() {
+        }
+
+        @Override
+        public Builder ttl(Duration ttl) {
+            this.ttl = ttl;
+            return this;
+        }
+
+        public void setTtl(Duration ttl) {
+            ttl(ttl);
+        }
+
+        @Override
+        public Builder delegate(SdkDnsResolver delegate) {
+            this.delegate = delegate;
+            return this;
+        }
+
+        public void setDelegate(SdkDnsResolver delegate) {
+            delegate(delegate);
+        }
+
+        @Override
+        public Builder maxHosts(Integer maxHosts) {
+            this.maxHosts = maxHosts;
+            return this;
+        }
+
+        public void setMaxHosts(Integer maxHosts) {
+            maxHosts(maxHosts);
+        }
+
+        @Override
+        public Builder refreshExecutor(Executor refreshExecutor) {
+            this.refreshExecutor = refreshExecutor;
+            return this;
+        }
+
+        public void setRefreshExecutor(Executor refreshExecutor) {
+            refreshExecutor(refreshExecutor);
+        }
+
+        @Override
+        public CachingDnsResolver build() {
+            return new CachingDnsResolver(this);
+        }
+    }
+}
@@ -15,6 +15,7 @@
 
 package software.amazon.awssdk.http;
 
+import java.time.Duration;
 import software.amazon.awssdk.annotations.SdkPublicApi;
 import software.amazon.awssdk.metrics.MetricCategory;
 import software.amazon.awssdk.metrics.MetricLevel;
@@ -104,6 +105,41 @@ public final class HttpMetric {
     public static final SdkMetric<Integer> HTTP_STATUS_CODE =
         metric("HttpStatusCode", Integer.class, MetricLevel.TRACE);
 
+    /**
+     * The time taken to resolve the IP address of the remote host before a new connection was opened.
+     *
+     * <p>This is only reported by the request attempt that opened a new connection, and not by request attempts that reused a
+     * pooled connection. It is not reported by 'aws-crt-client', which resolves and connects natively.
+     */
+    public static final SdkMetric<Duration> DNS_LOOKUP_DURATION =
+        metric("DnsLookupDuration", Duration.class, MetricLevel.INFO);
+
+    /**
+     * The time taken to establish the TCP connection to the remote host, after its address was resolved.
+     *
+     * <p>This is only reported by the request attempt that opened a new connection, and not by request attempts that reused a
+     * pooled connection. It is not reported by 'aws-crt-client', which resolves and connects natively.
+     */
+    public static final SdkMetric<Duration> TCP_CONNECT_DURATION =
+        metric("TcpConnectDuration", Duration.class, MetricLevel.INFO);
+
+    /**
+     * The time taken to complete the TLS handshake with the remote host, after the TCP connection was established.
+     *
+     * <p>This is only reported by the request attempt that opened a new HTTPS connection, and not by request attempts that
+     * reused a pooled connection. It is not reported by 'aws-crt-client', which resolves and connects natively.
+     */
+    public static final SdkMetric<Duration> TLS_HANDSHAKE_DURATION =
+        metric("TlsHandshakeDuration", Duration.class, MetricLevel.INFO);
+
+    /**
+     * The time between the HTTP client starting to write the request to an established connection and the HTTP client
+     * receiving the response headers. This includes the time taken to send the request body, and the time taken by the service
+     * to start responding, but excludes the time spent acquiring or establishing the connection.
+     */
+    public static final SdkMetric<Duration> TIME_TO_FIRST_BYTE =
+        metric("TimeToFirstByte", Duration.class, MetricLevel.INFO);
+
     private HttpMetric() {
     }
 
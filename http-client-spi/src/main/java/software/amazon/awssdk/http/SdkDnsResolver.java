@@ -0,0 +1,77 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+
+package software.amazon.awssdk.http;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.util.concurrent.CompletableFuture;
+import software.amazon.awssdk.annotations.SdkPublicApi;
+import software.amazon.awssdk.utils.CompletableFutureUtils;
+
+/**
+ * Resolves the host names that an HTTP client connects to into IP addresses.
+ * <p>
+ * When a host name resolves to more than one address, HTTP clients connect to the addresses in the order they are returned,
+ * so implementations can spread new connections across the addresses by varying that order between calls. See
+ * {@link CachingDnsResolver} for a resolver that does this.
+ */
+@SdkPublicApi
+public interface SdkDnsResolver {
+
+    /**
+     * Resolve the provided host name.
+     *
+     * @param host The host name to resolve.
+     * @return The addresses of the host, in the order in which they should be tried. This must not be empty.
+     * @throws UnknownHostException If the host name could not be resolved.
+     */
+    InetAddress[] resolve(String host) throws UnknownHostException;
+
+    /**
+     * Resolve the provided host name without blocking the calling thread. Asynchronous HTTP clients resolve hosts with this
+     * method on their event loop threads. By default, this calls {@link #resolve(String)} on the calling thread, so
+     * implementations that may block should override it.
+     *
+     * @param host The host name to resolve.
+     * @return A future completed with the addresses of the host, in the order in which they should be tried, or failed with
+     * an {@link UnknownHostException} if the host name could not be resolved.
+     */
+    default CompletableFuture<InetAddress[]> resolveAsync(String host) {
+        try {
+            return CompletableFuture.completedFuture(resolve(host));
+        } catch (UnknownHostException | RuntimeException e) {
+            return CompletableFutureUtils.failedFuture(e);
+        }
+    }
+
+    /**
+     * Invoked by the HTTP client when a connection to an address returned by {@link #resolve(String)} could not be
+     * established, so that implementations can stop returning that address. By default, this does nothing.
+     *
+     * @param host The host name that was resolved.
+     * @param address The address that could not be connected to.
+     */
+    default void reportConnectFailure(String host, InetAddress address) {
+    }
+
+    /**
+     * @return A resolver that uses the resolution and caching behavior of the JVM, see {@link InetAddress#getAllByName(String)}.
+     */
+    static SdkDnsResolver create() {
+        return InetAddress::getAllByName;
+    }
+}
@@ -72,6 +72,14 @@ public final class SdkHttpConfigurationOption<T> extends AttributeMap.Key<T> {
     public static final SdkHttpConfigurationOption<Integer> MAX_CONNECTIONS =
             new SdkHttpConfigurationOption<>("MaxConnections", Integer.class);
 
+    /**
+     * Minimum number of idle connections that a connection pool keeps open to each endpoint it has been used with. Connections
+     * that are closed, e.g. because they exceeded the {@link #CONNECTION_MAX_IDLE_TIMEOUT} or the
+     * {@link #CONNECTION_TIME_TO_LIVE}, are replaced so that bursts of requests do not have to wait for new connections.
+     */
+    public static final SdkHttpConfigurationOption<Integer> MIN_IDLE_CONNECTIONS =
+            new SdkHttpConfigurationOption<>("MinIdleConnections", Integer.class);
+
     /**
      * HTTP protocol to use.
      */
@@ -137,6 +145,7 @@ public final class SdkHttpConfigurationOption<T> extends AttributeMap.Key<T> {
     private static final Duration DEFAULT_TLS_HANDSHAKE_TIMEOUT = Duration.ofSeconds(10);
     private static final Boolean DEFAULT_REAP_IDLE_CONNECTIONS = Boolean.TRUE;
     private static final int DEFAULT_MAX_CONNECTIONS = 50;
+    private static final int DEFAULT_MIN_IDLE_CONNECTIONS = 0;
     private static final int DEFAULT_MAX_CONNECTION_ACQUIRES = 10_000;
     private static final Boolean DEFAULT_TCP_KEEPALIVE = Boolean.FALSE;
     private static final Boolean DEFAULT_TRUST_ALL_CERTIFICATES = Boolean.FALSE;
@@ -155,6 +164,7 @@ public final class SdkHttpConfigurationOption<T> extends AttributeMap.Key<T> {
             .put(CONNECTION_MAX_IDLE_TIMEOUT, DEFAULT_CONNECTION_MAX_IDLE_TIMEOUT)
             .put(CONNECTION_TIME_TO_LIVE, DEFAULT_CONNECTION_TIME_TO_LIVE)
             .put(MAX_CONNECTIONS, DEFAULT_MAX_CONNECTIONS)
+            .put(MIN_IDLE_CONNECTIONS, DEFAULT_MIN_IDLE_CONNECTIONS)
             .put(MAX_PENDING_CONNECTION_ACQUIRES, DEFAULT_MAX_CONNECTION_ACQUIRES)
             .put(PROTOCOL, DEFAULT_PROTOCOL)
             .put(TRUST_ALL_CERTIFICATES, DEFAULT_TRUST_ALL_CERTIFICATES)
@@ -0,0 +1,42 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+
+package software.amazon.awssdk.http.async;
+
+import java.nio.file.Path;
+import software.amazon.awssdk.annotations.SdkPublicApi;
+
+/**
+ * A {@link SdkHttpContentPublisher} whose content is a region of a file, starting at {@link #position()} and spanning
+ * {@link #contentLength()} bytes.
+ * <p>
+ * HTTP clients that are able to write a file to the connection without reading it into memory first, e.g. with
+ * {@code sendfile}, may use {@link #path()} instead of subscribing to this publisher. Clients that do not support this must
+ * treat it as any other {@link SdkHttpContentPublisher}.
+ */
+@SdkPublicApi
+public interface SdkHttpFileContentPublisher extends SdkHttpContentPublisher {
+
+    /**
+     * @return The file that the content is read from.
+     */
+    Path path();
+
+    /**
+     * @return The position in the file at which the content starts.
+     */
+    long position();
+}
@@ -0,0 +1,222 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+
+package software.amazon.awssdk.http;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.Test;
+
+public class CachingDnsResolverTest {
+    private static final String HOST = "s3.us-west-2.amazonaws.com";
+
+    private final InetAddress first = address(1);
+    private final InetAddress second = address(2);
+    private final InetAddress third = address(3);
+    private final AtomicInteger lookups = new AtomicInteger();
+
+    @Test
+    public void resolve_cachesAddresses() throws UnknownHostException {
+        CachingDnsResolver resolver = resolver(Duration.ofMinutes(1), first, second);
+
+        resolver.resolve(HOST);
+        resolver.resolve(HOST);
+
+        assertThat(lookups).hasValue(1);
+    }
+
+    @Test
+    public void resolve_rotatesAddresses() throws UnknownHostException {
+        CachingDnsResolver resolver = resolver(Duration.ofMinutes(1), first, second, third);
+
+        assertThat(resolver.resolve(HOST)).containsExactly(first, second, third);
+        assertThat(resolver.resolve(HOST)).containsExactly(second, third, first);
+        assertThat(resolver.resolve(HOST)).containsExactly(third, first, second);
+        assertThat(resolver.resolve(HOST)).containsExactly(first, second, third);
+    }
+
+    @Test
+    public void reportConnectFailure_addressIsNoLongerReturned() throws UnknownHostException {
+        CachingDnsResolver resolver = resolver(Duration.ofMinutes(1), first, second, third);
+        resolver.resolve(HOST);
+
+        resolver.reportConnectFailure(HOST, second);
+
+        for (int i = 0; i < 3; i++) {
+            assertThat(resolver.resolve(HOST)).containsExactlyInAnyOrder(first, third);
+        }
+    }
+
+    @Test
+    public void reportConnectFailure_allAddressesFailed_returnsAllAddresses() throws UnknownHostException {
+        CachingDnsResolver resolver = resolver(Duration.ofMinutes(1), first, second);
+        resolver.resolve(HOST);
+
+        resolver.reportConnectFailure(HOST, first);
+        resolver.reportConnectFailure(HOST, second);
+
+        assertThat(resolver.resolve(HOST)).containsExactlyInAnyOrder(first, second);
+    }
+
+    @Test
+    public void resolve_expiredAddresses_refreshesAndForgetsFailedAddresses() throws Exception {
+        CachingDnsResolver resolver = resolver(Duration.ofMillis(1), first, second);
+        resolver.resolve(HOST);
+        resolver.reportConnectFailure(HOST, first);
+        Thread.sleep(10);
+
+        // The stale addresses are returned while the refresh is performed
+        assertThat(resolver.resolve(HOST)).containsExactly(second);
+        assertThat(lookups).hasValue(2);
+        assertThat(resolver.resolve(HOST)).containsExactlyInAnyOrder(first, second);
+    }
+
+    @Test
+    public void resolve_refreshFails_usesCachedAddresses() throws Exception {
+        AtomicInteger calls = new AtomicInteger();
+        CachingDnsResolver resolver = CachingDnsResolver.builder()
+                                                        .ttl(Duration.ofMillis(200))
+                                                        .refreshExecutor(Runnable::run)
+                                                        .delegate(host -> {
+                                                            if (calls.getAndIncrement() > 0) {
+                                                                throw new UnknownHostException(host);
+                                                            }
+                                                            return new InetAddress[] {first};
+                                                        })
+                                                        .build();
+        resolver.resolve(HOST);
+        Thread.sleep(300);
+
+        assertThat(resolver.resolve(HOST)).containsExactly(first);
+        assertThat(resolver.resolve(HOST)).containsExactly(first);
+        assertThat(calls).hasValue(2);
+    }
+
+    @Test
+    public void resolve_noAddresses_throwsUnknownHostException() {
+        CachingDnsResolver resolver = resolver(Duration.ofMinutes(1));
+
+        assertThatThrownBy(() -> resolver.resolve(HOST)).isInstanceOf(UnknownHostException.class);
+    }
+
+    @Test
+    public void resolve_moreThanMaxHosts_evictsLeastRecentlyResolvedHost() throws UnknownHostException {
+        CachingDnsResolver resolver = CachingDnsResolver.builder()
+                                                        .maxHosts(2)
+                                                        .delegate(host -> {
+                                                            lookups.incrementAndGet();
+                                                            return new InetAddress[] {first};
+                                                        })
+                                                        .build();
+        resolver.resolve("a");
+        resolver.resolve("b");
+        resolver.resolve("a");
+        resolver.resolve("c");
+        assertThat(lookups).hasValue(3);
+
+        resolver.resolve("a");
+        resolver.resolve("c");
+        assertThat(lookups).hasValue(3);
+
+        resolver.resolve("b");
+        assertThat(lookups).hasValue(4);
+    }
+
+    @Test
+    public void resolve_refreshRejected_retriesRefreshOnNextResolve() throws Exception {
+        AtomicInteger refreshes = new AtomicInteger();
+        CachingDnsResolver resolver = CachingDnsResolver.builder()
+                                                        .ttl(Duration.ofMillis(1))
+                                                        .refreshExecutor(r -> {
+                                                            if (refreshes.getAndIncrement() == 0) {
+                                                                throw new RejectedExecutionException();
+                                                            }
+                                                            r.run();
+                                                        })
+                                                        .delegate(host -> {
+                                                            lookups.incrementAndGet();
+                                                            return new InetAddress[] {first};
+                                                        })
+                                                        .build();
+        resolver.resolve(HOST);
+        Thread.sleep(10);
+
+        assertThat(resolver.resolve(HOST)).containsExactly(first);
+        assertThat(lookups).hasValue(1);
+        assertThat(resolver.resolve(HOST)).containsExactly(first);
+        assertThat(lookups).hasValue(2);
+    }
+
+    @Test
+    public void resolveAsync_notCached_looksUpHostOnRefreshExecutor() throws Exception {
+        List<Runnable> tasks = new ArrayList<>();
+        CachingDnsResolver resolver = CachingDnsResolver.builder()
+                                                        .refreshExecutor(tasks::add)
+                                                        .delegate(host -> {
+                                                            lookups.incrementAndGet();
+                                                            return new InetAddress[] {first, second};
+                                                        })
+                                                        .build();
+
+        CompletableFuture<InetAddress[]> firstResult = resolver.resolveAsync(HOST);
+        CompletableFuture<InetAddress[]> secondResult = resolver.resolveAsync(HOST);
+        assertThat(firstResult).isNotDone();
+        assertThat(secondResult).isNotDone();
+        assertThat(tasks).hasSize(1);
+
+        tasks.get(0).run();
+
+        assertThat(lookups).hasValue(1);
+        assertThat(firstResult.join()).containsExactlyInAnyOrder(first, second);
+        assertThat(secondResult.join()).containsExactlyInAnyOrder(first, second);
+        assertThat(resolver.resolveAsync(HOST)).isCompleted();
+    }
+
+    @Test
+    public void resolveAsync_lookupFails_completesExceptionally() {
+        CachingDnsResolver resolver = resolver(Duration.ofMinutes(1));
+
+        assertThatThrownBy(() -> resolver.resolveAsync(HOST).join()).hasCauseInstanceOf(UnknownHostException.class);
+    }
+
+    private CachingDnsResolver resolver(Duration ttl, InetAddress... addresses) {
+        return CachingDnsResolver.builder()
+                                 .ttl(ttl)
+                                 .refreshExecutor(Runnable::run)
+                                 .delegate(host -> {
+                                     lookups.incrementAndGet();
+                                     return addresses;
+                                 })
+                                 .build();
+    }
+
+    private static InetAddress address(int lastOctet) {
+        try {
+            return InetAddress.getByAddress(new byte[] {10, 0, 0, (byte) lastOctet});
+        } catch (UnknownHostException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -27,6 +27,7 @@ import static software.amazon.awssdk.utils.NumericUtils.saturatedCast;
 
 import java.io.IOException;
 import java.net.InetAddress;
+import java.net.URI;
 import java.security.KeyManagementException;
 import java.security.NoSuchAlgorithmException;
 import java.security.cert.CertificateException;
@@ -35,6 +36,8 @@ import java.time.Duration;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.concurrent.TimeUnit;
 import java.util.stream.Stream;
 import javax.net.ssl.HostnameVerifier;
@@ -43,6 +46,7 @@ import javax.net.ssl.SSLContext;
 import javax.net.ssl.TrustManager;
 import javax.net.ssl.X509TrustManager;
 import org.apache.http.Header;
+import org.apache.http.HttpHost;
 import org.apache.http.HttpResponse;
 import org.apache.http.client.CredentialsProvider;
 import org.apache.http.client.methods.HttpRequestBase;
@@ -53,9 +57,9 @@ import org.apache.http.config.SocketConfig;
 import org.apache.http.conn.ConnectionKeepAliveStrategy;
 import org.apache.http.conn.DnsResolver;
 import org.apache.http.conn.HttpClientConnectionManager;
+import org.apache.http.conn.routing.HttpRoute;
 import org.apache.http.conn.routing.HttpRoutePlanner;
 import org.apache.http.conn.socket.ConnectionSocketFactory;
-import org.apache.http.conn.socket.PlainConnectionSocketFactory;
 import org.apache.http.conn.ssl.NoopHostnameVerifier;
 import org.apache.http.conn.ssl.SSLConnectionSocketFactory;
 import org.apache.http.conn.ssl.SSLInitializationException;
@@ -64,13 +68,13 @@ import org.apache.http.impl.client.HttpClients;
 import org.apache.http.impl.conn.DefaultSchemePortResolver;
 import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
 import org.apache.http.pool.PoolStats;
-import org.apache.http.protocol.HttpRequestExecutor;
 import software.amazon.awssdk.annotations.SdkPublicApi;
 import software.amazon.awssdk.annotations.SdkTestInternalApi;
 import software.amazon.awssdk.http.AbortableInputStream;
 import software.amazon.awssdk.http.ExecutableHttpRequest;
 import software.amazon.awssdk.http.HttpExecuteRequest;
 import software.amazon.awssdk.http.HttpExecuteResponse;
+import software.amazon.awssdk.http.SdkDnsResolver;
 import software.amazon.awssdk.http.SdkHttpClient;
 import software.amazon.awssdk.http.SdkHttpConfigurationOption;
 import software.amazon.awssdk.http.SdkHttpResponse;
@@ -81,18 +85,27 @@ import software.amazon.awssdk.http.apache.internal.ApacheHttpRequestConfig;
 import software.amazon.awssdk.http.apache.internal.DefaultConfiguration;
 import software.amazon.awssdk.http.apache.internal.SdkProxyRoutePlanner;
 import software.amazon.awssdk.http.apache.internal.conn.ClientConnectionManagerFactory;
+import software.amazon.awssdk.http.apache.internal.conn.ConnectionPoolWarmer;
+import software.amazon.awssdk.http.apache.internal.conn.ConnectionTimingRecorder;
 import software.amazon.awssdk.http.apache.internal.conn.IdleConnectionReaper;
+import software.amazon.awssdk.http.apache.internal.conn.MinimumIdleConnectionManager;
 import software.amazon.awssdk.http.apache.internal.conn.SdkConnectionKeepAliveStrategy;
+import software.amazon.awssdk.http.apache.internal.conn.SdkConnectionOperator;
+import software.amazon.awssdk.http.apache.internal.conn.SdkDnsResolverAdapter;
+import software.amazon.awssdk.http.apache.internal.conn.SdkPlainSocketFactory;
 import software.amazon.awssdk.http.apache.internal.conn.SdkTlsSocketFactory;
 import software.amazon.awssdk.http.apache.internal.impl.ApacheHttpRequestFactory;
 import software.amazon.awssdk.http.apache.internal.impl.ApacheSdkHttpClient;
 import software.amazon.awssdk.http.apache.internal.impl.ConnectionManagerAwareHttpClient;
+import software.amazon.awssdk.http.apache.internal.impl.SdkHttpRequestExecutor;
 import software.amazon.awssdk.http.apache.internal.utils.ApacheUtils;
 import software.amazon.awssdk.metrics.MetricCollector;
 import software.amazon.awssdk.metrics.NoOpMetricCollector;
 import software.amazon.awssdk.utils.AttributeMap;
 import software.amazon.awssdk.utils.Logger;
+import software.amazon.awssdk.utils.ThreadFactoryBuilder;
 import software.amazon.awssdk.utils.Validate;
+import software.amazon.awssdk.utils.http.SdkHttpUtils;
 
 /**
  * An implementation of {@link SdkHttpClient} that uses Apache HTTP client to communicate with the service. This is the most
@@ -115,6 +128,12 @@ public final class ApacheHttpClient implements SdkHttpClient {
     private final ApacheHttpRequestConfig requestConfig;
     private final AttributeMap resolvedOptions;
 
+    /**
+     * Tops up the idle connections of the pool after each run of the {@link IdleConnectionReaper}, so that opening
+     * connections doesn't hold up the reaper thread shared by all clients. Null if no minimum is configured.
+     */
+    private final ExecutorService connectionTopUpExecutor;
+
     @SdkTestInternalApi
     ApacheHttpClient(ConnectionManagerAwareHttpClient httpClient,
                      ApacheHttpRequestConfig requestConfig,
@@ -122,9 +141,20 @@ public final class ApacheHttpClient implements SdkHttpClient {
         this.httpClient = httpClient;
         this.requestConfig = requestConfig;
         this.resolvedOptions = resolvedOptions;
+        this.connectionTopUpExecutor = null;
     }
 
     private ApacheHttpClient(DefaultBuilder builder, AttributeMap resolvedOptions) {
+        int minimumIdleConnections = resolvedOptions.get(SdkHttpConfigurationOption.MIN_IDLE_CONNECTIONS);
+        Validate.isTrue(minimumIdleConnections >= 0
+                        && minimumIdleConnections <= resolvedOptions.get(SdkHttpConfigurationOption.MAX_CONNECTIONS),
+                        "minimumIdleConnections must be between 0 and maxConnections.");
+        this.connectionTopUpExecutor = minimumIdleConnections > 0 && useIdleConnectionReaper(resolvedOptions)
+                                       ? Executors.newSingleThreadExecutor(new ThreadFactoryBuilder()
+                                                                               .threadNamePrefix("apache-connection-top-up")
+                                                                               .daemonThreads(true)
+                                                                               .build())
+                                       : null;
         this.httpClient = createClient(builder, resolvedOptions);
         this.requestConfig = createRequestConfig(builder, resolvedOptions);
         this.resolvedOptions = resolvedOptions;
@@ -153,7 +183,7 @@ public final class ApacheHttpClient implements SdkHttpClient {
         // from the reaper. See https://github.com/aws/aws-sdk-java/issues/722.
         HttpClientConnectionManager cm = cmFactory.create(configuration, standardOptions);
 
-        builder.setRequestExecutor(new HttpRequestExecutor())
+        builder.setRequestExecutor(new SdkHttpRequestExecutor())
                // SDK handles decompression
                .disableContentCompression()
                .setKeepAliveStrategy(buildKeepAliveStrategy(standardOptions))
@@ -165,8 +195,16 @@ public final class ApacheHttpClient implements SdkHttpClient {
         addProxyConfig(builder, configuration);
 
         if (useIdleConnectionReaper(standardOptions)) {
-            IdleConnectionReaper.getInstance().registerConnectionManager(
-                    cm, standardOptions.get(SdkHttpConfigurationOption.CONNECTION_MAX_IDLE_TIMEOUT).toMillis());
+            long maxIdleMillis = standardOptions.get(SdkHttpConfigurationOption.CONNECTION_MAX_IDLE_TIMEOUT).toMillis();
+            ConnectionPoolWarmer warmer = connectionPoolWarmer(cm, standardOptions);
+            if (warmer != null && connectionTopUpExecutor != null) {
+                // Replace the connections that were closed, e.g. by the server, so that the pool keeps its minimum idle
+                // connections
+                IdleConnectionReaper.getInstance().registerConnectionManager(
+                    cm, maxIdleMillis, () -> connectionTopUpExecutor.execute(warmer::topUp));
+            } else {
+                IdleConnectionReaper.getInstance().registerConnectionManager(cm, maxIdleMillis);
+            }
         }
 
         return new ApacheSdkHttpClient(builder.build(), cm);
@@ -204,6 +242,20 @@ public final class ApacheHttpClient implements SdkHttpClient {
         }
     }
 
+    private static ConnectionPoolWarmer connectionPoolWarmer(HttpClientConnectionManager cm, AttributeMap standardOptions) {
+        if (!(cm instanceof PoolingHttpClientConnectionManager)) {
+            return null;
+        }
+
+        Integer minimumIdleConnections = standardOptions.get(SdkHttpConfigurationOption.MIN_IDLE_CONNECTIONS);
+        return new ConnectionPoolWarmer((PoolingHttpClientConnectionManager) cm,
+                                        minimumIdleConnections == null ? 0 : minimumIdleConnections,
+                                        standardOptions.get(SdkHttpConfigurationOption.CONNECTION_ACQUIRE_TIMEOUT).toMillis(),
+                                        saturatedCast(standardOptions.get(SdkHttpConfigurationOption.CONNECTION_TIMEOUT)
+                                                                     .toMillis()),
+                                        standardOptions.get(SdkHttpConfigurationOption.CONNECTION_MAX_IDLE_TIMEOUT).toMillis());
+    }
+
     private ConnectionKeepAliveStrategy buildKeepAliveStrategy(AttributeMap standardOptions) {
         long maxIdle = standardOptions.get(SdkHttpConfigurationOption.CONNECTION_MAX_IDLE_TIMEOUT).toMillis();
         return maxIdle > 0 ? new SdkConnectionKeepAliveStrategy(maxIdle) : null;
@@ -230,7 +282,7 @@ public final class ApacheHttpClient implements SdkHttpClient {
         return new ExecutableHttpRequest() {
             @Override
             public HttpExecuteResponse call() throws IOException {
-                HttpExecuteResponse executeResponse = execute(apacheRequest);
+                HttpExecuteResponse executeResponse = execute(apacheRequest, metricCollector);
                 collectPoolMetric(metricCollector);
                 return executeResponse;
             }
@@ -242,15 +294,46 @@ public final class ApacheHttpClient implements SdkHttpClient {
         };
     }
 
+    /**
+     * Proactively open connections to the provided endpoint, so that the first requests made to it do not have to wait for
+     * connections to be established. This opens enough connections for the endpoint to have
+     * {@link Builder#minimumIdleConnections(Integer)} idle connections, or one idle connection if no minimum is configured,
+     * including their TLS handshakes, and blocks until they have been opened.
+     *
+     * <p>Connections through a proxy are not warmed up.
+     *
+     * @param endpoint The endpoint that requests will be made to, e.g. {@code https://s3.us-west-2.amazonaws.com}.
+     * @throws IOException If a connection could not be opened.
+     */
+    public void warmUp(URI endpoint) throws IOException {
+        Validate.paramNotNull(endpoint, "endpoint");
+        ConnectionPoolWarmer warmer = connectionPoolWarmer(httpClient.getHttpClientConnectionManager(), resolvedOptions);
+        if (warmer == null || isProxyEnabled(requestConfig.proxyConfiguration())) {
+            log.debug(() -> "Not warming up connections to " + endpoint + ".");
+            return;
+        }
+
+        String scheme = endpoint.getScheme();
+        int port = endpoint.getPort() > 0 ? endpoint.getPort() : SdkHttpUtils.standardPort(scheme);
+        HttpRoute route = new HttpRoute(new HttpHost(endpoint.getHost(), port, scheme),
+                                        requestConfig.localAddress(),
+                                        "https".equalsIgnoreCase(scheme));
+        warmer.warmUp(route);
+    }
+
     @Override
     public void close() {
         HttpClientConnectionManager cm = httpClient.getHttpClientConnectionManager();
         IdleConnectionReaper.getInstance().deregisterConnectionManager(cm);
+        if (connectionTopUpExecutor != null) {
+            connectionTopUpExecutor.shutdownNow();
+        }
         cm.shutdown();
     }
 
-    private HttpExecuteResponse execute(HttpRequestBase apacheRequest) throws IOException {
+    private HttpExecuteResponse execute(HttpRequestBase apacheRequest, MetricCollector metricCollector) throws IOException {
         HttpClientContext localRequestContext = ApacheUtils.newClientContext(requestConfig.proxyConfiguration());
+        ConnectionTimingRecorder.setMetricCollector(localRequestContext, metricCollector);
         HttpResponse httpResponse = httpClient.execute(apacheRequest, localRequestContext);
         return createResponse(httpResponse, apacheRequest);
     }
@@ -361,6 +444,18 @@ public final class ApacheHttpClient implements SdkHttpClient {
          */
         Builder maxConnections(Integer maxConnections);
 
+        /**
+         * The minimum number of idle connections to keep open to each endpoint that the client has been used with or warmed up
+         * for with {@link ApacheHttpClient#warmUp(URI)}.
+         *
+         * <p>The idle connection reaper does not close the most recently used idle connections up to this minimum, and
+         * connections that were closed otherwise, e.g. by the server, are replaced every time it runs, so that a burst of
+         * requests does not have to wait for new connections to be established. This requires
+         * {@link #useIdleConnectionReaper(Boolean)} to be enabled, which it is by default. Connections in use by requests do
+         * not count as idle. By default, no idle connections are kept.
+         */
+        Builder minimumIdleConnections(Integer minimumIdleConnections);
+
         /**
          * Configuration that defines how to communicate via an HTTP proxy.
          */
@@ -399,6 +494,16 @@ public final class ApacheHttpClient implements SdkHttpClient {
          */
         Builder dnsResolver(DnsResolver dnsResolver);
 
+        /**
+         * Configure the {@link SdkDnsResolver} used to resolve the addresses of the hosts that connections are made to. The
+         * addresses are tried in the order returned by the resolver, and addresses that cannot be connected to are reported
+         * back to it with {@link SdkDnsResolver#reportConnectFailure(String, InetAddress)}.
+         * <p>
+         * Use {@link software.amazon.awssdk.http.CachingDnsResolver} to cache addresses and spread connections across all the
+         * addresses of a host. This can't be configured together with {@link #dnsResolver(DnsResolver)}.
+         */
+        Builder sdkDnsResolver(SdkDnsResolver sdkDnsResolver);
+
         /**
          * Configuration that defines an HTTP route planner that computes the route an HTTP request should take.
          * May not be used in conjunction with {@link #proxyConfiguration(ProxyConfiguration)}.
@@ -448,6 +553,7 @@ public final class ApacheHttpClient implements SdkHttpClient {
         private HttpRoutePlanner httpRoutePlanner;
         private CredentialsProvider credentialsProvider;
         private DnsResolver dnsResolver;
+        private SdkDnsResolver sdkDnsResolver;
 
         private DefaultBuilder() {
         }
@@ -498,6 +604,16 @@ public final class ApacheHttpClient implements SdkHttpClient {
             maxConnections(maxConnections);
         }
 
+        @Override
+        public Builder minimumIdleConnections(Integer minimumIdleConnections) {
+            standardOptions.put(SdkHttpConfigurationOption.MIN_IDLE_CONNECTIONS, minimumIdleConnections);
+            return this;
+        }
+
+        public void setMinimumIdleConnections(Integer minimumIdleConnections) {
+            minimumIdleConnections(minimumIdleConnections);
+        }
+
         @Override
         public Builder proxyConfiguration(ProxyConfiguration proxyConfiguration) {
             this.proxyConfiguration = proxyConfiguration;
@@ -568,6 +684,16 @@ public final class ApacheHttpClient implements SdkHttpClient {
             dnsResolver(dnsResolver);
         }
 
+        @Override
+        public Builder sdkDnsResolver(SdkDnsResolver sdkDnsResolver) {
+            this.sdkDnsResolver = sdkDnsResolver;
+            return this;
+        }
+
+        public void setSdkDnsResolver(SdkDnsResolver sdkDnsResolver) {
+            sdkDnsResolver(sdkDnsResolver);
+        }
+
         @Override
         public Builder httpRoutePlanner(HttpRoutePlanner httpRoutePlanner) {
             this.httpRoutePlanner = httpRoutePlanner;
@@ -632,14 +758,15 @@ public final class ApacheHttpClient implements SdkHttpClient {
                                                   AttributeMap standardOptions) {
             ConnectionSocketFactory sslsf = getPreferredSocketFactory(configuration, standardOptions);
 
+            SdkConnectionOperator connectionOperator = new SdkConnectionOperator(createSocketFactoryRegistry(sslsf),
+                                                                                 DefaultSchemePortResolver.INSTANCE,
+                                                                                 getDnsResolver(configuration));
             PoolingHttpClientConnectionManager cm = new
-                    PoolingHttpClientConnectionManager(
-                    createSocketFactoryRegistry(sslsf),
-                    null,
-                    DefaultSchemePortResolver.INSTANCE,
-                    configuration.dnsResolver,
+                    MinimumIdleConnectionManager(
+                    connectionOperator,
                     standardOptions.get(SdkHttpConfigurationOption.CONNECTION_TIME_TO_LIVE).toMillis(),
-                    TimeUnit.MILLISECONDS);
+                    TimeUnit.MILLISECONDS,
+                    standardOptions.get(SdkHttpConfigurationOption.MIN_IDLE_CONNECTIONS));
 
             cm.setDefaultMaxPerRoute(standardOptions.get(SdkHttpConfigurationOption.MAX_CONNECTIONS));
             cm.setMaxTotal(standardOptions.get(SdkHttpConfigurationOption.MAX_CONNECTIONS));
@@ -648,6 +775,15 @@ public final class ApacheHttpClient implements SdkHttpClient {
             return cm;
         }
 
+        private DnsResolver getDnsResolver(ApacheHttpClient.DefaultBuilder configuration) {
+            Validate.isTrue(configuration.dnsResolver == null || configuration.sdkDnsResolver == null,
+                            "The dnsResolver and the sdkDnsResolver can't both be configured.");
+            if (configuration.sdkDnsResolver != null) {
+                return new SdkDnsResolverAdapter(configuration.sdkDnsResolver);
+            }
+            return configuration.dnsResolver;
+        }
+
         private ConnectionSocketFactory getPreferredSocketFactory(ApacheHttpClient.DefaultBuilder configuration,
                                                                   AttributeMap standardOptions) {
             // TODO v2 custom socket factory
@@ -726,7 +862,7 @@ public final class ApacheHttpClient implements SdkHttpClient {
 
         private Registry<ConnectionSocketFactory> createSocketFactoryRegistry(ConnectionSocketFactory sslSocketFactory) {
             return RegistryBuilder.<ConnectionSocketFactory>create()
-                    .register("http", PlainConnectionSocketFactory.getSocketFactory())
+                    .register("http", new SdkPlainSocketFactory())
                     .register("https", sslSocketFactory)
                     .build();
         }
@@ -0,0 +1,132 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+
+package software.amazon.awssdk.http.apache.internal.conn;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import org.apache.http.HttpClientConnection;
+import org.apache.http.client.protocol.HttpClientContext;
+import org.apache.http.conn.ConnectionRequest;
+import org.apache.http.conn.routing.HttpRoute;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+import org.apache.http.pool.PoolStats;
+import software.amazon.awssdk.annotations.SdkInternalApi;
+import software.amazon.awssdk.utils.Logger;
+
+/**
+ * Opens connections ahead of time in a {@link PoolingHttpClientConnectionManager}, so that a burst of requests does not have
+ * to wait for connections, and their TLS handshakes, to be established.
+ *
+ * <p>Connections are opened by leasing them from the connection manager all at once, connecting the ones that are not open
+ * yet, and releasing them all back to the pool. Only direct routes are warmed up: routes through a proxy require the tunnel
+ * to be created by a request.
+ */
+@SdkInternalApi
+public final class ConnectionPoolWarmer {
+    private static final Logger log = Logger.loggerFor(ConnectionPoolWarmer.class);
+
+    private final PoolingHttpClientConnectionManager connectionManager;
+    private final int minimumIdleConnections;
+    private final long connectionAcquireTimeoutMillis;
+    private final int connectTimeoutMillis;
+    private final long keepAliveMillis;
+
+    public ConnectionPoolWarmer(PoolingHttpClientConnectionManager connectionManager,
+                                int minimumIdleConnections,
+                                long connectionAcquireTimeoutMillis,
+                                int connectTimeoutMillis,
+                                long keepAliveMillis) {
+        this.connectionManager = connectionManager;
+        this.minimumIdleConnections = minimumIdleConnections;
+        this.connectionAcquireTimeoutMillis = connectionAcquireTimeoutMillis;
+        this.connectTimeoutMillis = connectTimeoutMillis;
+        this.keepAliveMillis = keepAliveMillis;
+    }
+
+    /**
+     * Open connections on the provided route until it has {@code minimumIdleConnections} idle connections, or one idle
+     * connection if no minimum is configured.
+     */
+    public void warmUp(HttpRoute route) throws IOException {
+        if (route.getProxyHost() != null) {
+            log.debug(() -> "Not warming up " + route + " because it goes through a proxy.");
+            return;
+        }
+
+        int target = Math.max(minimumIdleConnections, 1);
+        PoolStats stats = connectionManager.getStats(route);
+        if (stats.getAvailable() >= target) {
+            return;
+        }
+
+        // Leasing takes the idle connections first, so lease the idle connections plus the ones that are missing
+        int count = Math.min(target, stats.getMax() - stats.getLeased());
+        log.debug(() -> "Warming up " + route + " by leasing " + count + " connections.");
+
+        List<HttpClientConnection> leased = new ArrayList<>(count);
+        try {
+            for (int i = 0; i < count; i++) {
+                HttpClientConnection connection = lease(route);
+                leased.add(connection);
+                if (!connection.isOpen()) {
+                    HttpClientContext context = HttpClientContext.create();
+                    connectionManager.connect(connection, route, connectTimeoutMillis, context);
+                    connectionManager.routeComplete(connection, route, context);
+                }
+            }
+        } finally {
+            for (HttpClientConnection connection : leased) {
+                connectionManager.releaseConnection(connection, null, keepAliveMillis, TimeUnit.MILLISECONDS);
+            }
+        }
+    }
+
+    /**
+     * Open connections on every route the connection manager has been used with, until each of them has
+     * {@code minimumIdleConnections} idle connections. This is invoked on a thread owned by the client after idle
+     * connections have been reaped, to replace the idle connections that were closed, e.g. by the server.
+     */
+    public void topUp() {
+        if (minimumIdleConnections == 0) {
+            return;
+        }
+
+        for (HttpRoute route : connectionManager.getRoutes()) {
+            try {
+                warmUp(route);
+            } catch (IOException | RuntimeException e) {
+                log.debug(() -> "Failed to top up the idle connections of " + route + ".", e);
+            }
+        }
+    }
+
+    private HttpClientConnection lease(HttpRoute route) throws IOException {
+        ConnectionRequest request = connectionManager.requestConnection(route, null);
+        try {
+            return request.get(connectionAcquireTimeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while warming up connections to " + route);
+        } catch (ExecutionException e) {
+            throw new IOException("Unable to lease a connection to " + route, e.getCause());
+        }
+    }
+}
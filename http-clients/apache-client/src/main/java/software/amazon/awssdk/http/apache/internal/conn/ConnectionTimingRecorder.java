@@ -0,0 +1,111 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+
+package software.amazon.awssdk.http.apache.internal.conn;
+
+import java.time.Duration;
+import org.apache.http.protocol.HttpContext;
+import software.amazon.awssdk.annotations.SdkInternalApi;
+import software.amazon.awssdk.http.HttpMetric;
+import software.amazon.awssdk.metrics.MetricCollector;
+import software.amazon.awssdk.metrics.NoOpMetricCollector;
+import software.amazon.awssdk.metrics.SdkMetric;
+
+/**
+ * Records the phases of opening a new connection, and the time to first byte of a request, to the {@link MetricCollector}
+ * stored in the {@link HttpContext} of the request being executed.
+ *
+ * <p>Apache resolves, connects and performs the TLS handshake of a new connection synchronously, on the thread executing
+ * the request that needs it, so each phase is timed by the component that performs it:
+ * <ol>
+ *     <li>{@link SdkConnectionOperator} marks the start of the DNS lookup.</li>
+ *     <li>The socket factory marks the end of the DNS lookup and the start of the TCP connect when {@code connectSocket}
+ *     is invoked.</li>
+ *     <li>The socket factory marks the end of the TCP connect once the socket is connected, and times the TLS
+ *     handshake.</li>
+ * </ol>
+ */
+@SdkInternalApi
+public final class ConnectionTimingRecorder {
+    private static final String METRIC_COLLECTOR = "aws.http.apache.metricCollector";
+    private static final String DNS_LOOKUP_START_NANOS = "aws.http.apache.dnsLookupStartNanos";
+    private static final String TCP_CONNECT_START_NANOS = "aws.http.apache.tcpConnectStartNanos";
+    private static final String REQUEST_WRITE_START_NANOS = "aws.http.apache.requestWriteStartNanos";
+
+    private ConnectionTimingRecorder() {
+    }
+
+    /**
+     * Store the collector that metrics of the request executed with the provided context should be reported to.
+     */
+    public static void setMetricCollector(HttpContext context, MetricCollector metricCollector) {
+        context.setAttribute(METRIC_COLLECTOR, metricCollector);
+    }
+
+    public static void dnsLookupStarted(HttpContext context) {
+        markStart(context, DNS_LOOKUP_START_NANOS);
+    }
+
+    public static void tcpConnectStarted(HttpContext context) {
+        reportSince(context, DNS_LOOKUP_START_NANOS, HttpMetric.DNS_LOOKUP_DURATION);
+        markStart(context, TCP_CONNECT_START_NANOS);
+    }
+
+    public static void tcpConnectFinished(HttpContext context) {
+        reportSince(context, TCP_CONNECT_START_NANOS, HttpMetric.TCP_CONNECT_DURATION);
+    }
+
+    public static void tlsHandshakeFinished(HttpContext context, long handshakeStartNanos) {
+        report(context, HttpMetric.TLS_HANDSHAKE_DURATION, Duration.ofNanos(System.nanoTime() - handshakeStartNanos));
+    }
+
+    public static void requestWriteStarted(HttpContext context) {
+        markStart(context, REQUEST_WRITE_START_NANOS);
+    }
+
+    public static void responseHeadersReceived(HttpContext context) {
+        reportSince(context, REQUEST_WRITE_START_NANOS, HttpMetric.TIME_TO_FIRST_BYTE);
+    }
+
+    private static void markStart(HttpContext context, String attribute) {
+        if (context != null) {
+            context.setAttribute(attribute, System.nanoTime());
+        }
+    }
+
+    private static void reportSince(HttpContext context, String startAttribute, SdkMetric<Duration> metric) {
+        if (context == null) {
+            return;
+        }
+
+        // Remove the start, so that the same phase is never reported twice for one request
+        Object startNanos = context.removeAttribute(startAttribute);
+        if (startNanos instanceof Long) {
+            report(context, metric, Duration.ofNanos(System.nanoTime() - (Long) startNanos));
+        }
+    }
+
+    private static void report(HttpContext context, SdkMetric<Duration> metric, Duration duration) {
+        if (context == null) {
+            return;
+        }
+
+        Object metricCollector = context.getAttribute(METRIC_COLLECTOR);
+        if (metricCollector instanceof MetricCollector && !(metricCollector instanceof NoOpMetricCollector)) {
+            ((MetricCollector) metricCollector).reportMetric(metric, duration);
+        }
+    }
+}
@@ -39,6 +39,8 @@ public final class IdleConnectionReaper {
 
     private final Map<HttpClientConnectionManager, Long> connectionManagers;
 
+    private final Map<HttpClientConnectionManager, Runnable> afterReapTasks = new ConcurrentHashMap<>();
+
     private final Supplier<ExecutorService> executorServiceSupplier;
 
     private final long sleepPeriod;
@@ -86,6 +88,23 @@ public final class IdleConnectionReaper {
         return notPreviouslyRegistered;
     }
 
+    /**
+     * Register the connection manager with this reaper, running the provided task on the reaper thread every time the idle
+     * connections of the connection manager have been reaped. The reaper thread is shared by all connection managers, so the
+     * task must not block, e.g. it should hand off opening connections to another thread.
+     *
+     * @param manager The connection manager.
+     * @param maxIdleTime The maximum time connections in the connection manager are to remain idle before being reaped.
+     * @param afterReap The task to run after the idle connections have been reaped, e.g. to replace them.
+     * @return {@code true} If the connection manager was not previously registered with this reaper, {@code false}
+     * otherwise.
+     */
+    public synchronized boolean registerConnectionManager(HttpClientConnectionManager manager, long maxIdleTime,
+                                                          Runnable afterReap) {
+        afterReapTasks.put(manager, afterReap);
+        return registerConnectionManager(manager, maxIdleTime);
+    }
+
     /**
      * Deregister this connection manager with this reaper.
      *
@@ -94,6 +113,7 @@ public final class IdleConnectionReaper {
      * false} otherwise.
      */
     public synchronized boolean deregisterConnectionManager(HttpClientConnectionManager manager) {
+        afterReapTasks.remove(manager);
         boolean wasRemoved = connectionManagers.remove(manager) != null;
         cleanupExecutorIfNecessary();
         return wasRemoved;
@@ -113,7 +133,7 @@ public final class IdleConnectionReaper {
 
         ExecutorService e = executorServiceSupplier.get();
 
-        this.reaperTask = new ReaperTask(connectionManagers, sleepPeriod);
+        this.reaperTask = new ReaperTask(connectionManagers, afterReapTasks, sleepPeriod);
 
         e.execute(this.reaperTask);
 
@@ -133,13 +153,16 @@ public final class IdleConnectionReaper {
 
     private static final class ReaperTask implements Runnable {
         private final Map<HttpClientConnectionManager, Long> connectionManagers;
+        private final Map<HttpClientConnectionManager, Runnable> afterReapTasks;
         private final long sleepPeriod;
 
         private volatile boolean stopping = false;
 
         private ReaperTask(Map<HttpClientConnectionManager, Long> connectionManagers,
+                           Map<HttpClientConnectionManager, Runnable> afterReapTasks,
                            long sleepPeriod) {
             this.connectionManagers = connectionManagers;
+            this.afterReapTasks = afterReapTasks;
             this.sleepPeriod = sleepPeriod;
         }
 
@@ -155,6 +178,15 @@ public final class IdleConnectionReaper {
                         } catch (Exception t) {
                             log.warn("Unable to close idle connections", t);
                         }
+
+                        Runnable afterReap = afterReapTasks.get(entry.getKey());
+                        if (afterReap != null) {
+                            try {
+                                afterReap.run();
+                            } catch (Exception t) {
+                                log.warn("Unable to replace idle connections", t);
+                            }
+                        }
                     }
                 } catch (Throwable t) {
                     log.debug("Reaper thread: ", t);
@@ -0,0 +1,90 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+
+package software.amazon.awssdk.http.apache.internal.conn;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import org.apache.http.conn.HttpClientConnectionOperator;
+import org.apache.http.conn.ManagedHttpClientConnection;
+import org.apache.http.conn.routing.HttpRoute;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+import org.apache.http.pool.PoolEntry;
+import software.amazon.awssdk.annotations.SdkInternalApi;
+
+/**
+ * A {@link PoolingHttpClientConnectionManager} that keeps a minimum number of idle connections open to each route when idle
+ * connections are closed.
+ *
+ * <p>The most recently used idle connections of each route are kept, so that the {@link IdleConnectionReaper} does not close
+ * connections that would immediately have to be opened again by the {@link ConnectionPoolWarmer}.
+ */
+@SdkInternalApi
+public final class MinimumIdleConnectionManager extends PoolingHttpClientConnectionManager {
+    private final int minimumIdleConnections;
+
+    public MinimumIdleConnectionManager(HttpClientConnectionOperator connectionOperator,
+                                        long timeToLive,
+                                        TimeUnit timeUnit,
+                                        int minimumIdleConnections) {
+        super(connectionOperator, null, timeToLive, timeUnit);
+        this.minimumIdleConnections = minimumIdleConnections;
+    }
+
+    /**
+     * Close the connections that have been idle for longer than the given time, except for the
+     * {@code minimumIdleConnections} most recently used idle connections of each route.
+     */
+    @Override
+    public void closeIdleConnections(long idleTimeout, TimeUnit timeUnit) {
+        if (minimumIdleConnections == 0) {
+            super.closeIdleConnections(idleTimeout, timeUnit);
+            return;
+        }
+
+        long deadline = System.currentTimeMillis() - Math.max(timeUnit.toMillis(idleTimeout), 0);
+
+        Map<HttpRoute, List<PoolEntry<HttpRoute, ManagedHttpClientConnection>>> idleConnections = new HashMap<>();
+        enumAvailable(entry -> idleConnections.computeIfAbsent(entry.getRoute(), r -> new ArrayList<>()).add(entry));
+
+        Set<PoolEntry<HttpRoute, ManagedHttpClientConnection>> expired =
+            Collections.newSetFromMap(new IdentityHashMap<>());
+        for (List<PoolEntry<HttpRoute, ManagedHttpClientConnection>> entries : idleConnections.values()) {
+            entries.sort(Comparator.comparingLong(PoolEntry<HttpRoute, ManagedHttpClientConnection>::getUpdated).reversed());
+            for (int i = minimumIdleConnections; i < entries.size(); i++) {
+                if (entries.get(i).getUpdated() <= deadline) {
+                    expired.add(entries.get(i));
+                }
+            }
+        }
+
+        if (!expired.isEmpty()) {
+            // Only connections that are still idle are visited, so connections leased in the meantime stay open
+            enumAvailable(entry -> {
+                if (expired.contains(entry)) {
+                    entry.close();
+                }
+            });
+        }
+    }
+}
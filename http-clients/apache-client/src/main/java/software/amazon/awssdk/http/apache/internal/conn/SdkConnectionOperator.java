@@ -0,0 +1,60 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+
+package software.amazon.awssdk.http.apache.internal.conn;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import org.apache.http.HttpHost;
+import org.apache.http.config.Lookup;
+import org.apache.http.config.SocketConfig;
+import org.apache.http.conn.DnsResolver;
+import org.apache.http.conn.ManagedHttpClientConnection;
+import org.apache.http.conn.SchemePortResolver;
+import org.apache.http.conn.socket.ConnectionSocketFactory;
+import org.apache.http.impl.conn.DefaultHttpClientConnectionOperator;
+import org.apache.http.protocol.HttpContext;
+import software.amazon.awssdk.annotations.SdkInternalApi;
+
+/**
+ * Marks the start of the DNS lookup of every new connection, which {@link DefaultHttpClientConnectionOperator} performs
+ * before handing the resolved address to the socket factory. See {@link ConnectionTimingRecorder}. The DNS resolver is also
+ * made available to the socket factories, so that addresses that cannot be connected to are reported to it. See
+ * {@link SdkDnsResolverAdapter}.
+ */
+@SdkInternalApi
+public final class SdkConnectionOperator extends DefaultHttpClientConnectionOperator {
+    private final DnsResolver dnsResolver;
+
+    public SdkConnectionOperator(Lookup<ConnectionSocketFactory> socketFactoryRegistry,
+                                 SchemePortResolver schemePortResolver,
+                                 DnsResolver dnsResolver) {
+        super(socketFactoryRegistry, schemePortResolver, dnsResolver);
+        this.dnsResolver = dnsResolver;
+    }
+
+    @Override
+    public void connect(ManagedHttpClientConnection conn,
+                        HttpHost host,
+                        InetSocketAddress localAddress,
+                        int connectTimeout,
+                        SocketConfig socketConfig,
+                        HttpContext context) throws IOException {
+        ConnectionTimingRecorder.dnsLookupStarted(context);
+        SdkDnsResolverAdapter.setDnsResolver(context, dnsResolver);
+        super.connect(conn, host, localAddress, connectTimeout, socketConfig, context);
+    }
+}
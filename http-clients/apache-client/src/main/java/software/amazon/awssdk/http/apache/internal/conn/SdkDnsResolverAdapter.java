@@ -0,0 +1,77 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+
+package software.amazon.awssdk.http.apache.internal.conn;
+
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.net.UnknownHostException;
+import org.apache.http.HttpHost;
+import org.apache.http.conn.DnsResolver;
+import org.apache.http.protocol.HttpContext;
+import software.amazon.awssdk.annotations.SdkInternalApi;
+import software.amazon.awssdk.http.SdkDnsResolver;
+
+/**
+ * Adapts an {@link SdkDnsResolver} to the {@link DnsResolver} used by Apache.
+ *
+ * <p>Apache tries the resolved addresses of a host in order until a connection is established, but only the socket
+ * factory sees which address failed. {@link SdkConnectionOperator} therefore stores the resolver in the {@link HttpContext}
+ * of the connection, and the socket factories invoke {@link #connectFailed} so that the address is reported back to the
+ * {@link SdkDnsResolver}.
+ */
+@SdkInternalApi
+public final class SdkDnsResolverAdapter implements DnsResolver {
+    private static final String DNS_RESOLVER = "aws.http.apache.sdkDnsResolver";
+
+    private final SdkDnsResolver dnsResolver;
+
+    public SdkDnsResolverAdapter(SdkDnsResolver dnsResolver) {
+        this.dnsResolver = dnsResolver;
+    }
+
+    @Override
+    public InetAddress[] resolve(String host) throws UnknownHostException {
+        InetAddress[] addresses = dnsResolver.resolve(host);
+        if (addresses == null || addresses.length == 0) {
+            throw new UnknownHostException(host);
+        }
+        return addresses;
+    }
+
+    /**
+     * Store the resolver used to resolve the addresses of the connection being opened with the provided context, if it is an
+     * {@link SdkDnsResolverAdapter}.
+     */
+    static void setDnsResolver(HttpContext context, DnsResolver dnsResolver) {
+        if (dnsResolver instanceof SdkDnsResolverAdapter) {
+            context.setAttribute(DNS_RESOLVER, dnsResolver);
+        }
+    }
+
+    /**
+     * Report the address of a connection that failed to the {@link SdkDnsResolver} that returned it, if the socket was not
+     * connected. Failures that happen after the socket was connected, e.g. during the TLS handshake, are not reported.
+     */
+    static void connectFailed(HttpContext context, HttpHost host, InetSocketAddress remoteAddress, Socket socket) {
+        Object dnsResolver = context.getAttribute(DNS_RESOLVER);
+        if (dnsResolver instanceof SdkDnsResolverAdapter && (socket == null || !socket.isConnected())) {
+            ((SdkDnsResolverAdapter) dnsResolver).dnsResolver.reportConnectFailure(host.getHostName(),
+                                                                                   remoteAddress.getAddress());
+        }
+    }
+}
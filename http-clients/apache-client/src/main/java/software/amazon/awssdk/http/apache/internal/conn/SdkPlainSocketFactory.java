@@ -0,0 +1,52 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+
+package software.amazon.awssdk.http.apache.internal.conn;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import org.apache.http.HttpHost;
+import org.apache.http.conn.socket.PlainConnectionSocketFactory;
+import org.apache.http.protocol.HttpContext;
+import software.amazon.awssdk.annotations.SdkInternalApi;
+
+/**
+ * {@link PlainConnectionSocketFactory} that times the TCP connect of new plain-text connections, see
+ * {@link ConnectionTimingRecorder}, and reports addresses that cannot be connected to, see {@link SdkDnsResolverAdapter}.
+ */
+@SdkInternalApi
+public final class SdkPlainSocketFactory extends PlainConnectionSocketFactory {
+
+    @Override
+    public Socket connectSocket(int connectTimeout,
+                                Socket socket,
+                                HttpHost host,
+                                InetSocketAddress remoteAddress,
+                                InetSocketAddress localAddress,
+                                HttpContext context) throws IOException {
+        ConnectionTimingRecorder.tcpConnectStarted(context);
+        Socket connectedSocket;
+        try {
+            connectedSocket = super.connectSocket(connectTimeout, socket, host, remoteAddress, localAddress, context);
+        } catch (IOException e) {
+            SdkDnsResolverAdapter.connectFailed(context, host, remoteAddress, socket);
+            throw e;
+        }
+        ConnectionTimingRecorder.tcpConnectFinished(context);
+        return connectedSocket;
+    }
+}
@@ -110,7 +110,14 @@ public class SdkTlsSocketFactory extends SSLConnectionSocketFactory {
             final HttpContext context) throws IOException {
         log.trace(() -> String.format("Connecting to %s:%s", remoteAddress.getAddress(), remoteAddress.getPort()));
 
-        Socket connectedSocket = super.connectSocket(connectTimeout, socket, host, remoteAddress, localAddress, context);
+        ConnectionTimingRecorder.tcpConnectStarted(context);
+        Socket connectedSocket;
+        try {
+            connectedSocket = super.connectSocket(connectTimeout, socket, host, remoteAddress, localAddress, context);
+        } catch (IOException e) {
+            SdkDnsResolverAdapter.connectFailed(context, host, remoteAddress, socket);
+            throw e;
+        }
 
         if (connectedSocket instanceof SSLSocket) {
             return new SdkSslSocket((SSLSocket) connectedSocket);
@@ -119,4 +126,22 @@ public class SdkTlsSocketFactory extends SSLConnectionSocketFactory {
         return new SdkSocket(connectedSocket);
     }
 
+    /**
+     * {@inheritDoc} This is invoked once the TCP connection is established, or once a tunnel through a proxy has been
+     * created, so it is where the TLS handshake is timed.
+     */
+    @Override
+    public Socket createLayeredSocket(
+            final Socket socket,
+            final String target,
+            final int port,
+            final HttpContext context) throws IOException {
+        ConnectionTimingRecorder.tcpConnectFinished(context);
+
+        long handshakeStartNanos = System.nanoTime();
+        Socket layeredSocket = super.createLayeredSocket(socket, target, port, context);
+        ConnectionTimingRecorder.tlsHandshakeFinished(context, handshakeStartNanos);
+        return layeredSocket;
+    }
+
 }
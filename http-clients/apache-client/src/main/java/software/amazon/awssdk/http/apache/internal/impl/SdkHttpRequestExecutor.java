@@ -0,0 +1,61 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+
+package software.amazon.awssdk.http.apache.internal.impl;
+
+import java.io.IOException;
+import org.apache.http.HttpClientConnection;
+import org.apache.http.HttpException;
+import org.apache.http.HttpRequest;
+import org.apache.http.HttpResponse;
+import org.apache.http.protocol.HttpContext;
+import org.apache.http.protocol.HttpRequestExecutor;
+import software.amazon.awssdk.annotations.SdkInternalApi;
+import software.amazon.awssdk.http.apache.internal.conn.ConnectionTimingRecorder;
+
+/**
+ * {@link HttpRequestExecutor} that records the time to first byte of every request, from when the request starts being
+ * written to when the response headers are received. CONNECT requests used to establish a tunnel through a proxy are not
+ * timed, because they are part of opening the connection rather than of the request itself.
+ */
+@SdkInternalApi
+public final class SdkHttpRequestExecutor extends HttpRequestExecutor {
+
+    @Override
+    protected HttpResponse doSendRequest(HttpRequest request,
+                                         HttpClientConnection conn,
+                                         HttpContext context) throws IOException, HttpException {
+        if (!isConnect(request)) {
+            ConnectionTimingRecorder.requestWriteStarted(context);
+        }
+        return super.doSendRequest(request, conn, context);
+    }
+
+    @Override
+    protected HttpResponse doReceiveResponse(HttpRequest request,
+                                             HttpClientConnection conn,
+                                             HttpContext context) throws HttpException, IOException {
+        HttpResponse response = super.doReceiveResponse(request, conn, context);
+        if (!isConnect(request)) {
+            ConnectionTimingRecorder.responseHeadersReceived(context);
+        }
+        return response;
+    }
+
+    private static boolean isConnect(HttpRequest request) {
+        return "CONNECT".equalsIgnoreCase(request.getRequestLine().getMethod());
+    }
+}
@@ -19,6 +19,7 @@ import static com.github.tomakehurst.wiremock.client.WireMock.aResponse;
 import static com.github.tomakehurst.wiremock.client.WireMock.any;
 import static com.github.tomakehurst.wiremock.client.WireMock.urlPathEqualTo;
 import static com.github.tomakehurst.wiremock.core.WireMockConfiguration.wireMockConfig;
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static software.amazon.awssdk.http.SdkHttpConfigurationOption.TRUST_ALL_CERTIFICATES;
@@ -45,14 +46,20 @@ import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.mockito.Mock;
 import org.mockito.runners.MockitoJUnitRunner;
+import software.amazon.awssdk.http.AbortableInputStream;
 import software.amazon.awssdk.http.HttpExecuteRequest;
+import software.amazon.awssdk.http.HttpExecuteResponse;
+import software.amazon.awssdk.http.HttpMetric;
 import software.amazon.awssdk.http.SdkHttpClient;
 import software.amazon.awssdk.http.SdkHttpClientTestSuite;
 import software.amazon.awssdk.http.SdkHttpFullRequest;
 import software.amazon.awssdk.http.SdkHttpMethod;
 import software.amazon.awssdk.http.apache.internal.ApacheHttpRequestConfig;
 import software.amazon.awssdk.http.apache.internal.impl.ConnectionManagerAwareHttpClient;
+import software.amazon.awssdk.metrics.MetricCollection;
+import software.amazon.awssdk.metrics.MetricCollector;
 import software.amazon.awssdk.utils.AttributeMap;
+import software.amazon.awssdk.utils.IoUtils;
 
 @RunWith(MockitoJUnitRunner.class)
 public class ApacheHttpClientWireMockTest extends SdkHttpClientTestSuite {
@@ -179,6 +186,68 @@ public class ApacheHttpClientWireMockTest extends SdkHttpClientTestSuite {
         overrideDnsResolver("localhost", true);
     }
 
+    @Test
+    public void connectionTimingMetrics_onlyReportedByRequestThatOpenedConnection() throws Exception {
+        SdkHttpClient client = ApacheHttpClient.builder()
+                                               .buildWithDefaults(AttributeMap.builder()
+                                                                              .put(TRUST_ALL_CERTIFICATES, Boolean.TRUE)
+                                                                              .build());
+        mockProxyServer.stubFor(any(urlPathEqualTo("/")).willReturn(aResponse().withStatus(HttpURLConnection.HTTP_OK)
+                                                                                .withBody("hello")));
+        URI uri = URI.create("https://localhost:" + mockProxyServer.httpsPort());
+
+        MetricCollection first = executeWithMetrics(client, uri);
+        assertThat(first.metricValues(HttpMetric.DNS_LOOKUP_DURATION)).hasSize(1);
+        assertThat(first.metricValues(HttpMetric.TCP_CONNECT_DURATION)).hasSize(1);
+        assertThat(first.metricValues(HttpMetric.TLS_HANDSHAKE_DURATION)).hasSize(1);
+        assertThat(first.metricValues(HttpMetric.TIME_TO_FIRST_BYTE)).hasSize(1);
+
+        MetricCollection second = executeWithMetrics(client, uri);
+        assertThat(second.metricValues(HttpMetric.DNS_LOOKUP_DURATION)).isEmpty();
+        assertThat(second.metricValues(HttpMetric.TCP_CONNECT_DURATION)).isEmpty();
+        assertThat(second.metricValues(HttpMetric.TLS_HANDSHAKE_DURATION)).isEmpty();
+        assertThat(second.metricValues(HttpMetric.TIME_TO_FIRST_BYTE)).hasSize(1);
+    }
+
+    @Test
+    public void warmUp_firstRequestUsesWarmedUpConnection() throws Exception {
+        ApacheHttpClient client = (ApacheHttpClient) ApacheHttpClient.builder()
+                                                                     .minimumIdleConnections(3)
+                                                                     .buildWithDefaults(AttributeMap.builder()
+                                                                                                    .put(TRUST_ALL_CERTIFICATES,
+                                                                                                         Boolean.TRUE)
+                                                                                                    .build());
+        mockProxyServer.stubFor(any(urlPathEqualTo("/")).willReturn(aResponse().withStatus(HttpURLConnection.HTTP_OK)
+                                                                                .withBody("hello")));
+        URI uri = URI.create("https://localhost:" + mockProxyServer.httpsPort());
+
+        client.warmUp(uri);
+        MetricCollection metrics = executeWithMetrics(client, uri);
+
+        assertThat(metrics.metricValues(HttpMetric.TCP_CONNECT_DURATION)).isEmpty();
+        assertThat(metrics.metricValues(HttpMetric.LEASED_CONCURRENCY)).containsExactly(1);
+        assertThat(metrics.metricValues(HttpMetric.AVAILABLE_CONCURRENCY)).containsExactly(2);
+    }
+
+    private MetricCollection executeWithMetrics(SdkHttpClient client, URI uri) throws IOException {
+        MetricCollector collector = MetricCollector.create("test");
+        SdkHttpFullRequest req = SdkHttpFullRequest.builder()
+                                                   .uri(uri)
+                                                   .method(SdkHttpMethod.GET)
+                                                   .build();
+
+        HttpExecuteResponse response = client.prepareRequest(HttpExecuteRequest.builder()
+                                                                                .request(req)
+                                                                                .metricCollector(collector)
+                                                                                .build())
+                                             .call();
+        // Fully read the response so the connection is returned to the pool
+        try (AbortableInputStream body = response.responseBody().get()) {
+            IoUtils.drainInputStream(body);
+        }
+        return collector.collect();
+    }
+
     private void overrideDnsResolver(String hostName) throws IOException {
         overrideDnsResolver(hostName, false);
     }
@@ -0,0 +1,110 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+
+package software.amazon.awssdk.http.apache.internal.conn;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.github.tomakehurst.wiremock.junit.WireMockRule;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.apache.http.HttpClientConnection;
+import org.apache.http.HttpHost;
+import org.apache.http.client.protocol.HttpClientContext;
+import org.apache.http.config.RegistryBuilder;
+import org.apache.http.conn.routing.HttpRoute;
+import org.apache.http.conn.socket.ConnectionSocketFactory;
+import org.apache.http.impl.conn.DefaultHttpClientConnectionOperator;
+import org.junit.After;
+import org.junit.Rule;
+import org.junit.Test;
+
+/**
+ * Tests for {@link MinimumIdleConnectionManager}.
+ */
+public class MinimumIdleConnectionManagerTest {
+    @Rule
+    public WireMockRule wireMock = new WireMockRule(0);
+
+    private MinimumIdleConnectionManager connectionManager;
+
+    @After
+    public void methodTeardown() {
+        connectionManager.shutdown();
+    }
+
+    @Test
+    public void closeIdleConnections_keepsMinimumIdleConnections() throws Exception {
+        connectionManager = createConnectionManager(2);
+        HttpRoute route = route();
+        openIdleConnections(route, 4);
+
+        connectionManager.closeIdleConnections(0, TimeUnit.MILLISECONDS);
+
+        assertThat(connectionManager.getStats(route).getAvailable()).isEqualTo(2);
+    }
+
+    @Test
+    public void closeIdleConnections_noMinimum_closesAllIdleConnections() throws Exception {
+        connectionManager = createConnectionManager(0);
+        HttpRoute route = route();
+        openIdleConnections(route, 4);
+
+        connectionManager.closeIdleConnections(0, TimeUnit.MILLISECONDS);
+
+        assertThat(connectionManager.getStats(route).getAvailable()).isZero();
+    }
+
+    @Test
+    public void closeIdleConnections_connectionsNotIdleForLong_areKept() throws Exception {
+        connectionManager = createConnectionManager(1);
+        HttpRoute route = route();
+        openIdleConnections(route, 3);
+
+        connectionManager.closeIdleConnections(1, TimeUnit.HOURS);
+
+        assertThat(connectionManager.getStats(route).getAvailable()).isEqualTo(3);
+    }
+
+    private MinimumIdleConnectionManager createConnectionManager(int minimumIdleConnections) {
+        DefaultHttpClientConnectionOperator connectionOperator =
+            new DefaultHttpClientConnectionOperator(RegistryBuilder.<ConnectionSocketFactory>create()
+                                                                   .register("http", new SdkPlainSocketFactory())
+                                                                   .build(),
+                                                    null,
+                                                    null);
+        return new MinimumIdleConnectionManager(connectionOperator, -1, TimeUnit.MILLISECONDS, minimumIdleConnections);
+    }
+
+    private HttpRoute route() {
+        return new HttpRoute(new HttpHost("localhost", wireMock.port()));
+    }
+
+    private void openIdleConnections(HttpRoute route, int count) throws Exception {
+        List<HttpClientConnection> connections = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            HttpClientConnection connection = connectionManager.requestConnection(route, null).get(1, TimeUnit.SECONDS);
+            HttpClientContext context = HttpClientContext.create();
+            connectionManager.connect(connection, route, 1000, context);
+            connectionManager.routeComplete(connection, route, context);
+            connections.add(connection);
+        }
+        for (HttpClientConnection connection : connections) {
+            connectionManager.releaseConnection(connection, null, 1, TimeUnit.MINUTES);
+        }
+    }
+}
@@ -0,0 +1,95 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+
+package software.amazon.awssdk.http.apache.internal.conn;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.UnknownHostException;
+import org.apache.http.HttpHost;
+import org.apache.http.protocol.BasicHttpContext;
+import org.apache.http.protocol.HttpContext;
+import org.junit.Test;
+import software.amazon.awssdk.http.SdkDnsResolver;
+
+/**
+ * Tests for {@link SdkDnsResolverAdapter}.
+ */
+public class SdkDnsResolverAdapterTest {
+    private static final String HOST = "some-awesome-service-1234.amazonaws.com";
+
+    private final SdkDnsResolver dnsResolver = mock(SdkDnsResolver.class);
+    private final SdkDnsResolverAdapter adapter = new SdkDnsResolverAdapter(dnsResolver);
+
+    @Test
+    public void resolve_delegatesToSdkDnsResolver() throws UnknownHostException {
+        InetAddress[] addresses = {InetAddress.getLoopbackAddress()};
+        when(dnsResolver.resolve(HOST)).thenReturn(addresses);
+
+        assertThat(adapter.resolve(HOST)).isSameAs(addresses);
+    }
+
+    @Test
+    public void resolve_noAddresses_throwsUnknownHostException() throws UnknownHostException {
+        when(dnsResolver.resolve(HOST)).thenReturn(new InetAddress[0]);
+
+        assertThatThrownBy(() -> adapter.resolve(HOST)).isInstanceOf(UnknownHostException.class);
+    }
+
+    @Test
+    public void connectSocket_connectionRefused_reportsAddress() throws IOException {
+        HttpContext context = new BasicHttpContext();
+        SdkDnsResolverAdapter.setDnsResolver(context, adapter);
+        InetSocketAddress remoteAddress = new InetSocketAddress(InetAddress.getLoopbackAddress(), closedPort());
+
+        SdkPlainSocketFactory socketFactory = new SdkPlainSocketFactory();
+        assertThatThrownBy(() -> socketFactory.connectSocket(1000, new Socket(), new HttpHost(HOST), remoteAddress, null,
+                                                             context))
+            .isInstanceOf(IOException.class);
+
+        verify(dnsResolver).reportConnectFailure(HOST, InetAddress.getLoopbackAddress());
+    }
+
+    @Test
+    public void connectSocket_connectionRefused_noSdkDnsResolver_doesNotReportAddress() throws IOException {
+        HttpContext context = new BasicHttpContext();
+        InetSocketAddress remoteAddress = new InetSocketAddress(InetAddress.getLoopbackAddress(), closedPort());
+
+        SdkPlainSocketFactory socketFactory = new SdkPlainSocketFactory();
+        assertThatThrownBy(() -> socketFactory.connectSocket(1000, new Socket(), new HttpHost(HOST), remoteAddress, null,
+                                                             context))
+            .isInstanceOf(IOException.class);
+
+        verify(dnsResolver, never()).reportConnectFailure(any(String.class), any(InetAddress.class));
+    }
+
+    private static int closedPort() throws IOException {
+        try (ServerSocket serverSocket = new ServerSocket(0)) {
+            return serverSocket.getLocalPort();
+        }
+    }
+}
@@ -19,7 +19,9 @@ import static software.amazon.awssdk.utils.Validate.paramNotNull;
 
 import java.net.URI;
 import java.time.Duration;
+import java.util.ArrayList;
 import java.util.LinkedList;
+import java.util.List;
 import java.util.Map;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
@@ -27,6 +29,7 @@ import java.util.function.Consumer;
 import software.amazon.awssdk.annotations.SdkPreviewApi;
 import software.amazon.awssdk.annotations.SdkPublicApi;
 import software.amazon.awssdk.crt.CrtResource;
+import software.amazon.awssdk.crt.http.HttpClientConnection;
 import software.amazon.awssdk.crt.http.HttpClientConnectionManager;
 import software.amazon.awssdk.crt.http.HttpClientConnectionManagerOptions;
 import software.amazon.awssdk.crt.http.HttpMonitoringOptions;
@@ -45,6 +48,7 @@ import software.amazon.awssdk.utils.AttributeMap;
 import software.amazon.awssdk.utils.IoUtils;
 import software.amazon.awssdk.utils.Logger;
 import software.amazon.awssdk.utils.Validate;
+import software.amazon.awssdk.utils.http.SdkHttpUtils;
 
 /**
  * An implementation of {@link SdkAsyncHttpClient} that uses the AWS Common Runtime (CRT) Http Client to communicate with
@@ -72,12 +76,16 @@ public final class AwsCrtAsyncHttpClient implements SdkAsyncHttpClient {
     private final long maxConnectionIdleInMilliseconds;
     private final int readBufferSize;
     private final int maxConnectionsPerEndpoint;
+    private final int minimumIdleConnections;
     private boolean isClosed = false;
 
     private AwsCrtAsyncHttpClient(DefaultBuilder builder, AttributeMap config) {
         int maxConns = config.get(SdkHttpConfigurationOption.MAX_CONNECTIONS);
 
         Validate.isPositive(maxConns, "maxConns");
+        int minIdleConns = config.get(SdkHttpConfigurationOption.MIN_IDLE_CONNECTIONS);
+        Validate.isTrue(minIdleConns >= 0 && minIdleConns <= maxConns,
+                        "minimumIdleConnections must be between 0 and maxConcurrency.");
         Validate.notNull(builder.cipherPreference, "cipherPreference");
         Validate.isPositive(builder.readBufferSize, "readBufferSize");
 
@@ -93,6 +101,7 @@ public final class AwsCrtAsyncHttpClient implements SdkAsyncHttpClient {
             this.tlsContext = registerOwnedResource(clientTlsContext);
             this.readBufferSize = builder.readBufferSize;
             this.maxConnectionsPerEndpoint = maxConns;
+            this.minimumIdleConnections = minIdleConns;
             this.monitoringOptions = revolveHttpMonitoringOptions(builder.connectionHealthChecksConfiguration);
             this.maxConnectionIdleInMilliseconds = config.get(SdkHttpConfigurationOption.CONNECTION_MAX_IDLE_TIMEOUT).toMillis();
             this.proxyOptions = buildProxyOptions(builder.proxyConfiguration);
@@ -169,6 +178,14 @@ public final class AwsCrtAsyncHttpClient implements SdkAsyncHttpClient {
         return AWS_COMMON_RUNTIME;
     }
 
+    /**
+     * Connection pools are shared by all requests to the same scheme, host and port, regardless of their path and query.
+     */
+    private static URI poolKey(URI uri) {
+        int port = uri.getPort() != -1 ? uri.getPort() : SdkHttpUtils.standardPort(uri.getScheme());
+        return URI.create(uri.getScheme() + "://" + uri.getHost() + ":" + port);
+    }
+
     private HttpClientConnectionManager createConnectionPool(URI uri) {
         log.debug(() -> "Creating ConnectionPool for: URI:" + uri + ", MaxConns: " + maxConnectionsPerEndpoint);
 
@@ -232,7 +249,7 @@ public final class AwsCrtAsyncHttpClient implements SdkAsyncHttpClient {
          * we have a pool and no one can destroy it underneath us until we've finished submitting the
          * request)
          */
-        try (HttpClientConnectionManager crtConnPool = getOrCreateConnectionPool(asyncRequest.request().getUri())) {
+        try (HttpClientConnectionManager crtConnPool = getOrCreateConnectionPool(poolKey(asyncRequest.request().getUri()))) {
             CrtRequestContext context = CrtRequestContext.builder()
                                                          .crtConnPool(crtConnPool)
                                                          .readBufferSize(readBufferSize)
@@ -243,6 +260,35 @@ public final class AwsCrtAsyncHttpClient implements SdkAsyncHttpClient {
         }
     }
 
+    /**
+     * Proactively open connections to the provided endpoint, so that the first requests made to it do not have to wait for
+     * connections to be established. This opens {@link Builder#minimumIdleConnections(Integer)} connections, or one
+     * connection if no minimum is configured, and returns them to the pool once all of them have been established.
+     * <p>
+     * Idle connections are closed by the native connection manager once they exceed
+     * {@link Builder#connectionMaxIdleTime(Duration)}, and are not replaced until new requests are made.
+     *
+     * @param endpoint The endpoint that requests will be made to, e.g. {@code https://s3.us-west-2.amazonaws.com}.
+     * @return A future that is completed once the connections have been established, or completed exceptionally if any of
+     * them could not be established.
+     */
+    public CompletableFuture<Void> warmUp(URI endpoint) {
+        paramNotNull(endpoint, "endpoint");
+
+        // See the note on getOrCreateConnectionPool()
+        try (HttpClientConnectionManager crtConnPool = getOrCreateConnectionPool(poolKey(endpoint))) {
+            int connections = Math.max(1, minimumIdleConnections);
+            List<CompletableFuture<HttpClientConnection>> acquires = new ArrayList<>(connections);
+            for (int i = 0; i < connections; i++) {
+                acquires.add(crtConnPool.acquireConnection());
+            }
+
+            // Hold on to every connection until all of them are established, so the pool has to open a new one for each
+            return CompletableFuture.allOf(acquires.toArray(new CompletableFuture[0]))
+                                    .whenComplete((r, t) -> acquires.forEach(f -> f.thenAccept(HttpClientConnection::close)));
+        }
+    }
+
     @Override
     public void close() {
         synchronized (this) {
@@ -335,6 +381,15 @@ public final class AwsCrtAsyncHttpClient implements SdkAsyncHttpClient {
          * Configure the maximum amount of time that a connection should be allowed to remain open while idle.
          */
         Builder connectionMaxIdleTime(Duration connectionMaxIdleTime);
+
+        /**
+         * The number of connections to open to an endpoint when the client is warmed up for it with
+         * {@link AwsCrtAsyncHttpClient#warmUp(URI)}. This must not be greater than {@link #maxConcurrency(int)}.
+         * <p>
+         * Unlike the other HTTP clients, idle connections are managed by the native connection manager, so connections that
+         * are closed after {@link #connectionMaxIdleTime(Duration)} are not replaced until new requests are made.
+         */
+        Builder minimumIdleConnections(Integer minimumIdleConnections);
     }
 
     /**
@@ -413,6 +468,12 @@ public final class AwsCrtAsyncHttpClient implements SdkAsyncHttpClient {
             return this;
         }
 
+        @Override
+        public Builder minimumIdleConnections(Integer minimumIdleConnections) {
+            standardOptions.put(SdkHttpConfigurationOption.MIN_IDLE_CONNECTIONS, minimumIdleConnections);
+            return this;
+        }
+
         @Override
         public Builder proxyConfiguration(Consumer<ProxyConfiguration.Builder> proxyConfigurationBuilderConsumer) {
             ProxyConfiguration.Builder builder = ProxyConfiguration.builder();
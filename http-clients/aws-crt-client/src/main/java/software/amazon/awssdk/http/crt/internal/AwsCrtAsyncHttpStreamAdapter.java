@@ -16,6 +16,7 @@
 package software.amazon.awssdk.http.crt.internal;
 
 import java.nio.ByteBuffer;
+import java.time.Duration;
 import java.util.concurrent.CompletableFuture;
 import software.amazon.awssdk.annotations.SdkInternalApi;
 import software.amazon.awssdk.crt.CRT;
@@ -26,6 +27,7 @@ import software.amazon.awssdk.crt.http.HttpHeaderBlock;
 import software.amazon.awssdk.crt.http.HttpRequestBodyStream;
 import software.amazon.awssdk.crt.http.HttpStream;
 import software.amazon.awssdk.crt.http.HttpStreamResponseHandler;
+import software.amazon.awssdk.http.HttpMetric;
 import software.amazon.awssdk.http.HttpStatusFamily;
 import software.amazon.awssdk.http.SdkHttpResponse;
 import software.amazon.awssdk.http.async.AsyncExecuteRequest;
@@ -45,6 +47,7 @@ public final class AwsCrtAsyncHttpStreamAdapter implements HttpStreamResponseHan
     private final SdkHttpResponse.Builder respBuilder = SdkHttpResponse.builder();
     private final int windowSize;
     private final AwsCrtRequestBodySubscriber requestBodySubscriber;
+    private final long requestStartNanos;
     private AwsCrtResponseBodyPublisher respBodyPublisher = null;
 
     public AwsCrtAsyncHttpStreamAdapter(HttpClientConnection connection, CompletableFuture<Void> responseComplete,
@@ -54,6 +57,8 @@ public final class AwsCrtAsyncHttpStreamAdapter implements HttpStreamResponseHan
         this.sdkRequest = Validate.notNull(sdkRequest, "AsyncExecuteRequest Future is null");
         this.windowSize = Validate.isPositive(windowSize, "windowSize is <= 0");
         this.requestBodySubscriber = new AwsCrtRequestBodySubscriber(windowSize);
+        // The adapter is created on an acquired connection immediately before the request is made
+        this.requestStartNanos = System.nanoTime();
 
         sdkRequest.requestContentPublisher().subscribe(requestBodySubscriber);
     }
@@ -79,11 +84,21 @@ public final class AwsCrtAsyncHttpStreamAdapter implements HttpStreamResponseHan
             initRespBodyPublisherIfNeeded(stream);
 
             respBuilder.statusCode(stream.getResponseStatusCode());
+            reportTimeToFirstByte();
             sdkRequest.responseHandler().onHeaders(respBuilder.build());
             sdkRequest.responseHandler().onStream(respBodyPublisher);
         }
     }
 
+    /**
+     * CRT resolves, connects and performs the TLS handshake of new connections natively, without exposing how long each of
+     * those phases took, so the time to first byte is the only connection timing metric reported by this client.
+     */
+    private void reportTimeToFirstByte() {
+        sdkRequest.metricCollector().ifPresent(
+            c -> c.reportMetric(HttpMetric.TIME_TO_FIRST_BYTE, Duration.ofNanos(System.nanoTime() - requestStartNanos)));
+    }
+
     @Override
     public int onResponseBody(HttpStream stream, byte[] bodyBytesIn) {
         initRespBodyPublisherIfNeeded(stream);
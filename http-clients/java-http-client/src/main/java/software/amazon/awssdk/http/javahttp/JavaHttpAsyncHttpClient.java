@@ -0,0 +1,305 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+
+package software.amazon.awssdk.http.javahttp;
+
+import static software.amazon.awssdk.http.HttpMetric.HTTP_CLIENT_NAME;
+import static software.amazon.awssdk.utils.Validate.paramNotNull;
+
+import java.net.http.HttpClient;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import software.amazon.awssdk.annotations.SdkPublicApi;
+import software.amazon.awssdk.annotations.ThreadSafe;
+import software.amazon.awssdk.http.Protocol;
+import software.amazon.awssdk.http.SdkHttpConfigurationOption;
+import software.amazon.awssdk.http.TlsKeyManagersProvider;
+import software.amazon.awssdk.http.TlsTrustManagersProvider;
+import software.amazon.awssdk.http.async.AsyncExecuteRequest;
+import software.amazon.awssdk.http.async.SdkAsyncHttpClient;
+import software.amazon.awssdk.http.javahttp.internal.JavaHttpRequestExecutor;
+import software.amazon.awssdk.http.javahttp.internal.JavaHttpUtils;
+import software.amazon.awssdk.http.javahttp.internal.RequestConcurrencyLimiter;
+import software.amazon.awssdk.utils.AttributeMap;
+import software.amazon.awssdk.utils.CompletableFutureUtils;
+import software.amazon.awssdk.utils.ThreadFactoryBuilder;
+import software.amazon.awssdk.utils.Validate;
+
+/**
+ * An implementation of {@link SdkAsyncHttpClient} that uses the {@link HttpClient} of the JDK (Java 11 and later) to
+ * communicate with HTTP Web Services. It has no dependencies beyond the JDK, which makes it a lightweight alternative to the
+ * Netty and AWS CRT based clients, for example for AWS Lambda functions where deployment size and start up time matter.
+ *
+ * <p>With {@link Protocol#HTTP2}, requests to the same endpoint are multiplexed over a single connection. With
+ * {@link Protocol#HTTP1_1}, {@link HttpClient} opens a connection for each concurrent request, so the number of concurrent
+ * requests is limited by {@link Builder#maxConcurrency(Integer)} instead of a connection pool size.
+ *
+ * <p>This can be created via {@link #builder()}
+ */
+@SdkPublicApi
+@ThreadSafe
+public final class JavaHttpAsyncHttpClient implements SdkAsyncHttpClient {
+    private static final String CLIENT_NAME = "JavaHttpClient";
+
+    private final HttpClient httpClient;
+    private final ExecutorService ownedExecutor;
+    private final JavaHttpRequestExecutor requestExecutor;
+    private volatile boolean closed;
+
+    private JavaHttpAsyncHttpClient(DefaultBuilder builder, AttributeMap config) {
+        int maxConcurrency = config.get(SdkHttpConfigurationOption.MAX_CONNECTIONS);
+        int maxPendingAcquires = config.get(SdkHttpConfigurationOption.MAX_PENDING_CONNECTION_ACQUIRES);
+        Validate.isPositive(maxConcurrency, "maxConcurrency");
+        Validate.isPositive(maxPendingAcquires, "maxPendingConnectionAcquires");
+
+        Executor executor = builder.executor;
+        if (executor != null) {
+            this.ownedExecutor = null;
+        } else {
+            this.ownedExecutor = Executors.newCachedThreadPool(new ThreadFactoryBuilder().threadNamePrefix("sdk-java-http")
+                                                                                         .daemonThreads(true)
+                                                                                         .build());
+            executor = ownedExecutor;
+        }
+
+        this.httpClient = JavaHttpUtils.createHttpClient(config, executor);
+        this.requestExecutor = new JavaHttpRequestExecutor(httpClient,
+                                                           new RequestConcurrencyLimiter(maxConcurrency, maxPendingAcquires),
+                                                           config.get(SdkHttpConfigurationOption.CONNECTION_ACQUIRE_TIMEOUT));
+    }
+
+    public static Builder builder() {
+        return new DefaultBuilder();
+    }
+
+    /**
+     * Create a {@link JavaHttpAsyncHttpClient} client with the default configuration
+     *
+     * @return an {@link SdkAsyncHttpClient}
+     */
+    public static SdkAsyncHttpClient create() {
+        return new DefaultBuilder().build();
+    }
+
+    @Override
+    public CompletableFuture<Void> execute(AsyncExecuteRequest request) {
+        paramNotNull(request, "request");
+        paramNotNull(request.request(), "SdkHttpRequest");
+        paramNotNull(request.requestContentPublisher(), "RequestContentPublisher");
+        paramNotNull(request.responseHandler(), "ResponseHandler");
+
+        if (closed) {
+            return CompletableFutureUtils.failedFuture(
+                new IllegalStateException("Client is closed. No more requests can be made with this client."));
+        }
+
+        request.metricCollector().ifPresent(m -> m.reportMetric(HTTP_CLIENT_NAME, clientName()));
+        return requestExecutor.execute(request);
+    }
+
+    @Override
+    public String clientName() {
+        return CLIENT_NAME;
+    }
+
+    /**
+     * Stops accepting requests and shuts down the executor created by this client, if any. {@link HttpClient} has no close
+     * method before Java 21; its connections are closed once the client is no longer reachable.
+     */
+    @Override
+    public void close() {
+        closed = true;
+        if (ownedExecutor != null) {
+            ownedExecutor.shutdown();
+        }
+    }
+
+    /**
+     * Builder that allows configuration of the Java HTTP client implementation.
+     */
+    public interface Builder extends SdkAsyncHttpClient.Builder<JavaHttpAsyncHttpClient.Builder> {
+
+        /**
+         * Maximum number of requests that may be in flight at the same time. Requests beyond this limit wait for a previous
+         * request to finish.
+         *
+         * @param maxConcurrency New value for max concurrency.
+         * @return This builder for method chaining.
+         */
+        Builder maxConcurrency(Integer maxConcurrency);
+
+        /**
+         * The maximum number of requests that may wait for {@link #maxConcurrency(Integer)} to allow them to be sent.
+         *
+         * @param maxPendingAcquires New value for max pending acquires.
+         * @return This builder for method chaining.
+         */
+        Builder maxPendingConnectionAcquires(Integer maxPendingAcquires);
+
+        /**
+         * The amount of time to wait when initially establishing a connection before giving up and timing out.
+         *
+         * @param connectionTimeout timeout
+         * @return This builder for method chaining.
+         */
+        Builder connectionTimeout(Duration connectionTimeout);
+
+        /**
+         * The amount of time a request may wait for {@link #maxConcurrency(Integer)} to allow it to be sent before it fails.
+         *
+         * @param connectionAcquisitionTimeout the timeout duration
+         * @return this builder for method chaining.
+         */
+        Builder connectionAcquisitionTimeout(Duration connectionAcquisitionTimeout);
+
+        /**
+         * Sets the HTTP protocol to use (i.e. HTTP/1.1 or HTTP/2). With HTTP/2, the protocol is negotiated with the server
+         * and the client falls back to HTTP/1.1 if the server does not support HTTP/2.
+         *
+         * @param protocol Protocol to use.
+         * @return This builder for method chaining.
+         */
+        Builder protocol(Protocol protocol);
+
+        /**
+         * The executor that {@link HttpClient} uses for its asynchronous tasks, such as delivering the response. If not
+         * specified, the client creates a cached thread pool of daemon threads, which is shut down when the client is
+         * closed. An executor specified here is not shut down when the client is closed.
+         *
+         * @param executor the executor
+         * @return This builder for method chaining.
+         */
+        Builder executor(Executor executor);
+
+        /**
+         * Configure the {@link TlsKeyManagersProvider} that will provide the {@link javax.net.ssl.KeyManager}s to use
+         * when constructing the SSL context.
+         *
+         * @param tlsKeyManagersProvider The {@code TlsKeyManagersProvider}.
+         * @return This builder for method chaining.
+         */
+        Builder tlsKeyManagersProvider(TlsKeyManagersProvider tlsKeyManagersProvider);
+
+        /**
+         * Configure the {@link TlsTrustManagersProvider} that will provide the {@link javax.net.ssl.TrustManager}s to use
+         * when constructing the SSL context.
+         *
+         * @param tlsTrustManagersProvider The {@code TlsTrustManagersProvider}.
+         * @return This builder for method chaining.
+         */
+        Builder tlsTrustManagersProvider(TlsTrustManagersProvider tlsTrustManagersProvider);
+    }
+
+    private static final class DefaultBuilder implements Builder {
+        private final AttributeMap.Builder standardOptions = AttributeMap.builder();
+        private Executor executor;
+
+        private DefaultBuilder() {
+        }
+
+        @Override
+        public Builder maxConcurrency(Integer maxConcurrency) {
+            standardOptions.put(SdkHttpConfigurationOption.MAX_CONNECTIONS, maxConcurrency);
+            return this;
+        }
+
+        public void setMaxConcurrency(Integer maxConcurrency) {
+            maxConcurrency(maxConcurrency);
+        }
+
+        @Override
+        public Builder maxPendingConnectionAcquires(Integer maxPendingAcquires) {
+            standardOptions.put(SdkHttpConfigurationOption.MAX_PENDING_CONNECTION_ACQUIRES, maxPendingAcquires);
+            return this;
+        }
+
+        public void setMaxPendingConnectionAcquires(Integer maxPendingAcquires) {
+            maxPendingConnectionAcquires(maxPendingAcquires);
+        }
+
+        @Override
+        public Builder connectionTimeout(Duration connectionTimeout) {
+            Validate.isPositive(connectionTimeout, "connectionTimeout");
+            standardOptions.put(SdkHttpConfigurationOption.CONNECTION_TIMEOUT, connectionTimeout);
+            return this;
+        }
+
+        public void setConnectionTimeout(Duration connectionTimeout) {
+            connectionTimeout(connectionTimeout);
+        }
+
+        @Override
+        public Builder connectionAcquisitionTimeout(Duration connectionAcquisitionTimeout) {
+            Validate.isPositive(connectionAcquisitionTimeout, "connectionAcquisitionTimeout");
+            standardOptions.put(SdkHttpConfigurationOption.CONNECTION_ACQUIRE_TIMEOUT, connectionAcquisitionTimeout);
+            return this;
+        }
+
+        public void setConnectionAcquisitionTimeout(Duration connectionAcquisitionTimeout) {
+            connectionAcquisitionTimeout(connectionAcquisitionTimeout);
+        }
+
+        @Override
+        public Builder protocol(Protocol protocol) {
+            standardOptions.put(SdkHttpConfigurationOption.PROTOCOL, protocol);
+            return this;
+        }
+
+        public void setProtocol(Protocol protocol) {
+            protocol(protocol);
+        }
+
+        @Override
+        public Builder executor(Executor executor) {
+            this.executor = executor;
+            return this;
+        }
+
+        public void setExecutor(Executor executor) {
+            executor(executor);
+        }
+
+        @Override
+        public Builder tlsKeyManagersProvider(TlsKeyManagersProvider tlsKeyManagersProvider) {
+            standardOptions.put(SdkHttpConfigurationOption.TLS_KEY_MANAGERS_PROVIDER, tlsKeyManagersProvider);
+            return this;
+        }
+
+        public void setTlsKeyManagersProvider(TlsKeyManagersProvider tlsKeyManagersProvider) {
+            tlsKeyManagersProvider(tlsKeyManagersProvider);
+        }
+
+        @Override
+        public Builder tlsTrustManagersProvider(TlsTrustManagersProvider tlsTrustManagersProvider) {
+            standardOptions.put(SdkHttpConfigurationOption.TLS_TRUST_MANAGERS_PROVIDER, tlsTrustManagersProvider);
+            return this;
+        }
+
+        public void setTlsTrustManagersProvider(TlsTrustManagersProvider tlsTrustManagersProvider) {
+            tlsTrustManagersProvider(tlsTrustManagersProvider);
+        }
+
+        @Override
+        public SdkAsyncHttpClient buildWithDefaults(AttributeMap serviceDefaults) {
+            return new JavaHttpAsyncHttpClient(this, standardOptions.build()
+                                                                    .merge(serviceDefaults)
+                                                                    .merge(SdkHttpConfigurationOption.GLOBAL_HTTP_DEFAULTS));
+        }
+    }
+}
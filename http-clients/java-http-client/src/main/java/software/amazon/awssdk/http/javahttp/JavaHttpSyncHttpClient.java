@@ -0,0 +1,462 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+
+package software.amazon.awssdk.http.javahttp;
+
+import static software.amazon.awssdk.http.HttpMetric.HTTP_CLIENT_NAME;
+import static software.amazon.awssdk.utils.Validate.paramNotNull;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpRequest.BodyPublisher;
+import java.net.http.HttpRequest.BodyPublishers;
+import java.net.http.HttpResponse;
+import java.net.http.HttpResponse.BodyHandlers;
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import software.amazon.awssdk.annotations.SdkPublicApi;
+import software.amazon.awssdk.annotations.ThreadSafe;
+import software.amazon.awssdk.http.AbortableInputStream;
+import software.amazon.awssdk.http.ExecutableHttpRequest;
+import software.amazon.awssdk.http.HttpExecuteRequest;
+import software.amazon.awssdk.http.HttpExecuteResponse;
+import software.amazon.awssdk.http.Protocol;
+import software.amazon.awssdk.http.SdkHttpClient;
+import software.amazon.awssdk.http.SdkHttpConfigurationOption;
+import software.amazon.awssdk.http.TlsKeyManagersProvider;
+import software.amazon.awssdk.http.TlsTrustManagersProvider;
+import software.amazon.awssdk.http.javahttp.internal.JavaHttpUtils;
+import software.amazon.awssdk.http.javahttp.internal.RequestConcurrencyLimiter;
+import software.amazon.awssdk.metrics.MetricCollector;
+import software.amazon.awssdk.metrics.NoOpMetricCollector;
+import software.amazon.awssdk.utils.AttributeMap;
+import software.amazon.awssdk.utils.IoUtils;
+import software.amazon.awssdk.utils.ThreadFactoryBuilder;
+import software.amazon.awssdk.utils.Validate;
+
+/**
+ * An implementation of {@link SdkHttpClient} that uses the {@link HttpClient} of the JDK (Java 11 and later) to communicate
+ * with HTTP Web Services.
+ *
+ * <p>Unlike the Apache and URL connection based clients, this client does not block in monitors (synchronized blocks) while
+ * waiting for a connection or for the response: a calling thread waits in {@link CompletableFuture#get()}, which parks it.
+ * When the SDK's synchronous clients are called from virtual threads (Java 21 and later), waiting for a response therefore
+ * unmounts the virtual thread instead of pinning its carrier thread, and thousands of concurrent calls can share a few
+ * carrier threads.
+ *
+ * <p>The number of concurrent requests is limited by {@link Builder#maxConcurrency(Integer)}. A request holds its permit
+ * until its response body is closed.
+ *
+ * <p>This can be created via {@link #builder()}
+ */
+@SdkPublicApi
+@ThreadSafe
+public final class JavaHttpSyncHttpClient implements SdkHttpClient {
+    private static final String CLIENT_NAME = "JavaHttpClient";
+
+    private final HttpClient httpClient;
+    private final ExecutorService ownedExecutor;
+    private final RequestConcurrencyLimiter concurrencyLimiter;
+    private final Duration acquireTimeout;
+    private volatile boolean closed;
+
+    private JavaHttpSyncHttpClient(DefaultBuilder builder, AttributeMap config) {
+        int maxConcurrency = config.get(SdkHttpConfigurationOption.MAX_CONNECTIONS);
+        int maxPendingAcquires = config.get(SdkHttpConfigurationOption.MAX_PENDING_CONNECTION_ACQUIRES);
+        Validate.isPositive(maxConcurrency, "maxConcurrency");
+        Validate.isPositive(maxPendingAcquires, "maxPendingConnectionAcquires");
+
+        Executor executor = builder.executor;
+        if (executor != null) {
+            this.ownedExecutor = null;
+        } else {
+            this.ownedExecutor = Executors.newCachedThreadPool(new ThreadFactoryBuilder().threadNamePrefix("sdk-java-http")
+                                                                                         .daemonThreads(true)
+                                                                                         .build());
+            executor = ownedExecutor;
+        }
+
+        this.httpClient = JavaHttpUtils.createHttpClient(config, executor);
+        this.concurrencyLimiter = new RequestConcurrencyLimiter(maxConcurrency, maxPendingAcquires);
+        this.acquireTimeout = config.get(SdkHttpConfigurationOption.CONNECTION_ACQUIRE_TIMEOUT);
+    }
+
+    public static Builder builder() {
+        return new DefaultBuilder();
+    }
+
+    /**
+     * Create a {@link JavaHttpSyncHttpClient} client with the default configuration
+     *
+     * @return an {@link SdkHttpClient}
+     */
+    public static SdkHttpClient create() {
+        return new DefaultBuilder().build();
+    }
+
+    @Override
+    public ExecutableHttpRequest prepareRequest(HttpExecuteRequest request) {
+        paramNotNull(request, "request");
+        paramNotNull(request.httpRequest(), "SdkHttpRequest");
+
+        if (closed) {
+            throw new IllegalStateException("Client is closed. No more requests can be made with this client.");
+        }
+
+        MetricCollector metricCollector = request.metricCollector().orElseGet(NoOpMetricCollector::create);
+        metricCollector.reportMetric(HTTP_CLIENT_NAME, clientName());
+        return new JavaHttpExecutableRequest(toJavaRequest(request), metricCollector);
+    }
+
+    @Override
+    public String clientName() {
+        return CLIENT_NAME;
+    }
+
+    /**
+     * Stops accepting requests and shuts down the executor created by this client, if any. {@link HttpClient} has no close
+     * method before Java 21; its connections are closed once the client is no longer reachable.
+     */
+    @Override
+    public void close() {
+        closed = true;
+        if (ownedExecutor != null) {
+            ownedExecutor.shutdown();
+        }
+    }
+
+    private static HttpRequest toJavaRequest(HttpExecuteRequest request) {
+        return JavaHttpUtils.toJavaRequestBuilder(request.httpRequest())
+                            .method(request.httpRequest().method().name(), toBodyPublisher(request))
+                            .build();
+    }
+
+    private static BodyPublisher toBodyPublisher(HttpExecuteRequest request) {
+        if (!request.contentStreamProvider().isPresent()) {
+            return BodyPublishers.noBody();
+        }
+
+        // The stream is opened each time the request is sent, so the body is sent again if HttpClient retries the request.
+        BodyPublisher body = BodyPublishers.ofInputStream(request.contentStreamProvider().get()::newStream);
+        Optional<Long> contentLength = JavaHttpUtils.contentLength(request.httpRequest());
+        if (!contentLength.isPresent()) {
+            return body;
+        }
+        if (contentLength.get() == 0) {
+            return BodyPublishers.noBody();
+        }
+        return BodyPublishers.fromPublisher(body, contentLength.get());
+    }
+
+    private final class JavaHttpExecutableRequest implements ExecutableHttpRequest {
+        private final HttpRequest request;
+        private final MetricCollector metricCollector;
+        private volatile CompletableFuture<HttpResponse<InputStream>> responseFuture;
+        private volatile boolean aborted;
+
+        private JavaHttpExecutableRequest(HttpRequest request, MetricCollector metricCollector) {
+            this.request = request;
+            this.metricCollector = metricCollector;
+        }
+
+        @Override
+        public HttpExecuteResponse call() throws IOException {
+            acquirePermit();
+
+            boolean permitHandedOver = false;
+            try {
+                concurrencyLimiter.reportMetrics(metricCollector);
+
+                CompletableFuture<HttpResponse<InputStream>> future = httpClient.sendAsync(request, BodyHandlers.ofInputStream());
+                responseFuture = future;
+                if (aborted) {
+                    future.cancel(true);
+                }
+
+                HttpResponse<InputStream> response = waitForResponse(future);
+                InputStream body = new PermitReleasingInputStream(response.body());
+                permitHandedOver = true;
+
+                return HttpExecuteResponse.builder()
+                                          .response(JavaHttpUtils.toSdkResponse(response))
+                                          .responseBody(AbortableInputStream.create(body, () -> IoUtils.closeQuietly(body, null)))
+                                          .build();
+            } finally {
+                if (!permitHandedOver) {
+                    concurrencyLimiter.release();
+                }
+            }
+        }
+
+        @Override
+        public void abort() {
+            aborted = true;
+            CompletableFuture<HttpResponse<InputStream>> future = responseFuture;
+            if (future != null) {
+                future.cancel(true);
+            }
+        }
+
+        private void acquirePermit() throws IOException {
+            CompletableFuture<Void> permit = concurrencyLimiter.acquire();
+            try {
+                permit.get(acquireTimeout.toMillis(), TimeUnit.MILLISECONDS);
+            } catch (TimeoutException e) {
+                if (permit.cancel(false)) {
+                    throw new IOException("Acquire operation took longer than the configured maximum time. This indicates that "
+                                          + "a request cannot get a permit to send within the specified max time. This can be "
+                                          + "due to high request rate. Consider increasing the max concurrency or the "
+                                          + "acquisition timeout.", e);
+                }
+                // The permit was granted just as the wait timed out.
+            } catch (InterruptedException e) {
+                if (!permit.cancel(false)) {
+                    concurrencyLimiter.release();
+                }
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException("Interrupted while waiting to send the request.");
+            } catch (ExecutionException e) {
+                throw new IOException(e.getCause().getMessage(), e.getCause());
+            }
+        }
+
+        private HttpResponse<InputStream> waitForResponse(CompletableFuture<HttpResponse<InputStream>> future)
+            throws IOException {
+            try {
+                return future.get();
+            } catch (InterruptedException e) {
+                future.cancel(true);
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException("Interrupted while waiting for the response.");
+            } catch (CancellationException e) {
+                throw new IOException("The request was aborted.", e);
+            } catch (ExecutionException e) {
+                if (e.getCause() instanceof IOException) {
+                    throw (IOException) e.getCause();
+                }
+                throw new IOException(e.getCause().getMessage(), e.getCause());
+            }
+        }
+    }
+
+    /**
+     * Returns the request's permit to the concurrency limiter once the response body is closed.
+     */
+    private final class PermitReleasingInputStream extends FilterInputStream {
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        private PermitReleasingInputStream(InputStream in) {
+            super(in);
+        }
+
+        @Override
+        public void close() throws IOException {
+            try {
+                super.close();
+            } finally {
+                if (released.compareAndSet(false, true)) {
+                    concurrencyLimiter.release();
+                }
+            }
+        }
+    }
+
+    /**
+     * Builder that allows configuration of the synchronous Java HTTP client implementation.
+     */
+    public interface Builder extends SdkHttpClient.Builder<JavaHttpSyncHttpClient.Builder> {
+
+        /**
+         * Maximum number of requests that may be in flight at the same time. A request is in flight until its response body
+         * is closed. Requests beyond this limit wait for a previous request to finish.
+         *
+         * @param maxConcurrency New value for max concurrency.
+         * @return This builder for method chaining.
+         */
+        Builder maxConcurrency(Integer maxConcurrency);
+
+        /**
+         * The maximum number of requests that may wait for {@link #maxConcurrency(Integer)} to allow them to be sent.
+         *
+         * @param maxPendingAcquires New value for max pending acquires.
+         * @return This builder for method chaining.
+         */
+        Builder maxPendingConnectionAcquires(Integer maxPendingAcquires);
+
+        /**
+         * The amount of time to wait when initially establishing a connection before giving up and timing out.
+         *
+         * @param connectionTimeout timeout
+         * @return This builder for method chaining.
+         */
+        Builder connectionTimeout(Duration connectionTimeout);
+
+        /**
+         * The amount of time a request may wait for {@link #maxConcurrency(Integer)} to allow it to be sent before it fails.
+         *
+         * @param connectionAcquisitionTimeout the timeout duration
+         * @return this builder for method chaining.
+         */
+        Builder connectionAcquisitionTimeout(Duration connectionAcquisitionTimeout);
+
+        /**
+         * Sets the HTTP protocol to use (i.e. HTTP/1.1 or HTTP/2). With HTTP/2, the protocol is negotiated with the server
+         * and the client falls back to HTTP/1.1 if the server does not support HTTP/2.
+         *
+         * @param protocol Protocol to use.
+         * @return This builder for method chaining.
+         */
+        Builder protocol(Protocol protocol);
+
+        /**
+         * The executor that {@link HttpClient} uses for its asynchronous tasks. If not specified, the client creates a cached
+         * thread pool of daemon threads, which is shut down when the client is closed. An executor specified here is not shut
+         * down when the client is closed.
+         *
+         * @param executor the executor
+         * @return This builder for method chaining.
+         */
+        Builder executor(Executor executor);
+
+        /**
+         * Configure the {@link TlsKeyManagersProvider} that will provide the {@link javax.net.ssl.KeyManager}s to use
+         * when constructing the SSL context.
+         *
+         * @param tlsKeyManagersProvider The {@code TlsKeyManagersProvider}.
+         * @return This builder for method chaining.
+         */
+        Builder tlsKeyManagersProvider(TlsKeyManagersProvider tlsKeyManagersProvider);
+
+        /**
+         * Configure the {@link TlsTrustManagersProvider} that will provide the {@link javax.net.ssl.TrustManager}s to use
+         * when constructing the SSL context.
+         *
+         * @param tlsTrustManagersProvider The {@code TlsTrustManagersProvider}.
+         * @return This builder for method chaining.
+         */
+        Builder tlsTrustManagersProvider(TlsTrustManagersProvider tlsTrustManagersProvider);
+    }
+
+    private static final class DefaultBuilder implements Builder {
+        private final AttributeMap.Builder standardOptions = AttributeMap.builder();
+        private Executor executor;
+
+        private DefaultBuilder() {
+        }
+
+        @Override
+        public Builder maxConcurrency(Integer maxConcurrency) {
+            standardOptions.put(SdkHttpConfigurationOption.MAX_CONNECTIONS, maxConcurrency);
+            return this;
+        }
+
+        public void setMaxConcurrency(Integer maxConcurrency) {
+            maxConcurrency(maxConcurrency);
+        }
+
+        @Override
+        public Builder maxPendingConnectionAcquires(Integer maxPendingAcquires) {
+            standardOptions.put(SdkHttpConfigurationOption.MAX_PENDING_CONNECTION_ACQUIRES, maxPendingAcquires);
+            return this;
+        }
+
+        public void setMaxPendingConnectionAcquires(Integer maxPendingAcquires) {
+            maxPendingConnectionAcquires(maxPendingAcquires);
+        }
+
+        @Override
+        public Builder connectionTimeout(Duration connectionTimeout) {
+            Validate.isPositive(connectionTimeout, "connectionTimeout");
+            standardOptions.put(SdkHttpConfigurationOption.CONNECTION_TIMEOUT, connectionTimeout);
+            return this;
+        }
+
+        public void setConnectionTimeout(Duration connectionTimeout) {
+            connectionTimeout(connectionTimeout);
+        }
+
+        @Override
+        public Builder connectionAcquisitionTimeout(Duration connectionAcquisitionTimeout) {
+            Validate.isPositive(connectionAcquisitionTimeout, "connectionAcquisitionTimeout");
+            standardOptions.put(SdkHttpConfigurationOption.CONNECTION_ACQUIRE_TIMEOUT, connectionAcquisitionTimeout);
+            return this;
+        }
+
+        public void setConnectionAcquisitionTimeout(Duration connectionAcquisitionTimeout) {
+            connectionAcquisitionTimeout(connectionAcquisitionTimeout);
+        }
+
+        @Override
+        public Builder protocol(Protocol protocol) {
+            standardOptions.put(SdkHttpConfigurationOption.PROTOCOL, protocol);
+            return this;
+        }
+
+        public void setProtocol(Protocol protocol) {
+            protocol(protocol);
+        }
+
+        @Override
+        public Builder executor(Executor executor) {
+            this.executor = executor;
+            return this;
+        }
+
+        public void setExecutor(Executor executor) {
+            executor(executor);
+        }
+
+        @Override
+        public Builder tlsKeyManagersProvider(TlsKeyManagersProvider tlsKeyManagersProvider) {
+            standardOptions.put(SdkHttpConfigurationOption.TLS_KEY_MANAGERS_PROVIDER, tlsKeyManagersProvider);
+            return this;
+        }
+
+        public void setTlsKeyManagersProvider(TlsKeyManagersProvider tlsKeyManagersProvider) {
+            tlsKeyManagersProvider(tlsKeyManagersProvider);
+        }
+
+        @Override
+        public Builder tlsTrustManagersProvider(TlsTrustManagersProvider tlsTrustManagersProvider) {
+            standardOptions.put(SdkHttpConfigurationOption.TLS_TRUST_MANAGERS_PROVIDER, tlsTrustManagersProvider);
+            return this;
+        }
+
+        public void setTlsTrustManagersProvider(TlsTrustManagersProvider tlsTrustManagersProvider) {
+            tlsTrustManagersProvider(tlsTrustManagersProvider);
+        }
+
+        @Override
+        public SdkHttpClient buildWithDefaults(AttributeMap serviceDefaults) {
+            return new JavaHttpSyncHttpClient(this, standardOptions.build()
+                                                                   .merge(serviceDefaults)
+                                                                   .merge(SdkHttpConfigurationOption.GLOBAL_HTTP_DEFAULTS));
+        }
+    }
+}
@@ -0,0 +1,260 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+
+package software.amazon.awssdk.http.javahttp.internal;
+
+import java.io.IOException;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpRequest.BodyPublisher;
+import java.net.http.HttpRequest.BodyPublishers;
+import java.net.http.HttpResponse;
+import java.net.http.HttpResponse.BodyHandlers;
+import java.nio.ByteBuffer;
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Flow;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import org.reactivestreams.FlowAdapters;
+import org.reactivestreams.Publisher;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+import software.amazon.awssdk.annotations.SdkInternalApi;
+import software.amazon.awssdk.http.SdkCancellationException;
+import software.amazon.awssdk.http.async.AsyncExecuteRequest;
+import software.amazon.awssdk.http.async.SdkAsyncHttpResponseHandler;
+import software.amazon.awssdk.metrics.MetricCollector;
+import software.amazon.awssdk.metrics.NoOpMetricCollector;
+import software.amazon.awssdk.utils.Logger;
+import software.amazon.awssdk.utils.async.DelegatingSubscription;
+import software.amazon.awssdk.utils.async.FlatteningSubscriber;
+
+/**
+ * Executes a single {@link AsyncExecuteRequest} with a {@link HttpClient}: waits for a permit from the
+ * {@link RequestConcurrencyLimiter}, sends the request, and passes the response to the request's
+ * {@link SdkAsyncHttpResponseHandler}. The returned future completes once the response body has been fully read.
+ */
+@SdkInternalApi
+public final class JavaHttpRequestExecutor {
+    private static final Logger log = Logger.loggerFor(JavaHttpRequestExecutor.class);
+
+    private final HttpClient httpClient;
+    private final RequestConcurrencyLimiter concurrencyLimiter;
+    private final Duration acquireTimeout;
+
+    public JavaHttpRequestExecutor(HttpClient httpClient,
+                                   RequestConcurrencyLimiter concurrencyLimiter,
+                                   Duration acquireTimeout) {
+        this.httpClient = httpClient;
+        this.concurrencyLimiter = concurrencyLimiter;
+        this.acquireTimeout = acquireTimeout;
+    }
+
+    public CompletableFuture<Void> execute(AsyncExecuteRequest asyncRequest) {
+        MetricCollector metricCollector = asyncRequest.metricCollector().orElseGet(NoOpMetricCollector::create);
+        CompletableFuture<Void> executeFuture = new CompletableFuture<>();
+        CompletableFuture<Void> acquireFuture = concurrencyLimiter.acquire()
+                                                                  .orTimeout(acquireTimeout.toMillis(), TimeUnit.MILLISECONDS);
+        CompletableFuture<HttpResponse<Flow.Publisher<List<ByteBuffer>>>> responseFuture = new CompletableFuture<>();
+
+        executeFuture.whenComplete((r, t) -> {
+            if (executeFuture.isCancelled()) {
+                acquireFuture.cancel(false);
+                responseFuture.cancel(false);
+                asyncRequest.responseHandler().onError(new SdkCancellationException("The request was cancelled"));
+            }
+        });
+
+        acquireFuture.whenComplete((r, t) -> {
+            if (t != null) {
+                if (!executeFuture.isDone()) {
+                    handleFailure(acquireFailure(t), executeFuture, asyncRequest.responseHandler());
+                }
+                return;
+            }
+
+            // The permit is held until the response body has been read, or the request has failed.
+            executeFuture.whenComplete((r2, t2) -> concurrencyLimiter.release());
+            if (executeFuture.isDone()) {
+                return;
+            }
+
+            concurrencyLimiter.reportMetrics(metricCollector);
+            send(asyncRequest, executeFuture, responseFuture);
+        });
+
+        return executeFuture;
+    }
+
+    private void send(AsyncExecuteRequest asyncRequest,
+                      CompletableFuture<Void> executeFuture,
+                      CompletableFuture<HttpResponse<Flow.Publisher<List<ByteBuffer>>>> responseFuture) {
+        SdkAsyncHttpResponseHandler responseHandler = asyncRequest.responseHandler();
+        try {
+            CompletableFuture<HttpResponse<Flow.Publisher<List<ByteBuffer>>>> sendFuture =
+                httpClient.sendAsync(toJavaRequest(asyncRequest), BodyHandlers.ofPublisher());
+            sendFuture.whenComplete((response, t) -> {
+                if (t != null) {
+                    responseFuture.completeExceptionally(t);
+                } else {
+                    responseFuture.complete(response);
+                }
+            });
+            // Newer JDKs abort the exchange when the future returned by sendAsync is cancelled.
+            responseFuture.whenComplete((response, t) -> {
+                if (responseFuture.isCancelled()) {
+                    sendFuture.cancel(true);
+                }
+            });
+        } catch (RuntimeException e) {
+            handleFailure(new IOException("An exception occurred when making the request", e), executeFuture, responseHandler);
+            return;
+        }
+
+        responseFuture.whenComplete((response, t) -> {
+            if (executeFuture.isDone()) {
+                return;
+            }
+            if (t != null) {
+                handleFailure(unwrap(t), executeFuture, responseHandler);
+                return;
+            }
+
+            try {
+                responseHandler.onHeaders(JavaHttpUtils.toSdkResponse(response));
+                responseHandler.onStream(new ResponseBodyPublisher(response.body(), executeFuture));
+            } catch (RuntimeException e) {
+                handleFailure(e, executeFuture, responseHandler);
+            }
+        });
+    }
+
+    private static HttpRequest toJavaRequest(AsyncExecuteRequest asyncRequest) {
+        return JavaHttpUtils.toJavaRequestBuilder(asyncRequest.request())
+                            .method(asyncRequest.request().method().name(), toBodyPublisher(asyncRequest))
+                            .build();
+    }
+
+    private static BodyPublisher toBodyPublisher(AsyncExecuteRequest asyncRequest) {
+        Optional<Long> contentLength = JavaHttpUtils.contentLength(asyncRequest.request());
+        if (!contentLength.isPresent()) {
+            contentLength = asyncRequest.requestContentPublisher().contentLength();
+        }
+
+        Flow.Publisher<ByteBuffer> body = FlowAdapters.toFlowPublisher(asyncRequest.requestContentPublisher());
+        if (!contentLength.isPresent()) {
+            return BodyPublishers.fromPublisher(body);
+        }
+        if (contentLength.get() == 0) {
+            return BodyPublishers.noBody();
+        }
+        return BodyPublishers.fromPublisher(body, contentLength.get());
+    }
+
+    private static Throwable acquireFailure(Throwable t) {
+        Throwable cause = unwrap(t);
+        if (cause instanceof TimeoutException) {
+            return new IOException("Acquire operation took longer than the configured maximum time. This indicates that a "
+                                   + "request cannot get a permit to send within the specified max time. This can be due to "
+                                   + "high request rate. Consider increasing the max concurrency or the acquisition timeout.",
+                                   cause);
+        }
+        return cause;
+    }
+
+    private static Throwable unwrap(Throwable t) {
+        if (t instanceof CompletionException && t.getCause() != null) {
+            return t.getCause();
+        }
+        return t;
+    }
+
+    private static void handleFailure(Throwable cause,
+                                      CompletableFuture<Void> executeFuture,
+                                      SdkAsyncHttpResponseHandler responseHandler) {
+        try {
+            responseHandler.onError(cause);
+        } catch (Exception e) {
+            log.error(() -> String.format("SdkAsyncHttpResponseHandler %s throw an exception in onError",
+                                          responseHandler.toString()), e);
+        }
+
+        executeFuture.completeExceptionally(cause);
+    }
+
+    /**
+     * Adapts the response body, which {@link HttpClient} publishes as lists of buffers, to the publisher of buffers that
+     * {@link SdkAsyncHttpResponseHandler#onStream(Publisher)} expects, and completes the execution once the body has been read.
+     * If the subscriber cancels its subscription before the body has been read, the exchange is aborted and the execution
+     * fails with a {@link SdkCancellationException}, which returns the permit of the request.
+     */
+    private static final class ResponseBodyPublisher implements Publisher<ByteBuffer> {
+        private final Flow.Publisher<List<ByteBuffer>> body;
+        private final CompletableFuture<Void> executeFuture;
+
+        private ResponseBodyPublisher(Flow.Publisher<List<ByteBuffer>> body, CompletableFuture<Void> executeFuture) {
+            this.body = body;
+            this.executeFuture = executeFuture;
+        }
+
+        @Override
+        public void subscribe(Subscriber<? super ByteBuffer> subscriber) {
+            FlowAdapters.toPublisher(body).subscribe(new FlatteningSubscriber<>(new Subscriber<ByteBuffer>() {
+                @Override
+                public void onSubscribe(Subscription subscription) {
+                    subscriber.onSubscribe(new DelegatingSubscription(subscription) {
+                        @Override
+                        public void cancel() {
+                            try {
+                                super.cancel();
+                            } finally {
+                                executeFuture.completeExceptionally(
+                                    new SdkCancellationException("Subscriber cancelled before all events were published"));
+                            }
+                        }
+                    });
+                }
+
+                @Override
+                public void onNext(ByteBuffer byteBuffer) {
+                    subscriber.onNext(byteBuffer);
+                }
+
+                @Override
+                public void onError(Throwable t) {
+                    try {
+                        subscriber.onError(t);
+                    } finally {
+                        executeFuture.completeExceptionally(t);
+                    }
+                }
+
+                @Override
+                public void onComplete() {
+                    try {
+                        subscriber.onComplete();
+                    } finally {
+                        executeFuture.complete(null);
+                    }
+                }
+            }));
+        }
+    }
+}
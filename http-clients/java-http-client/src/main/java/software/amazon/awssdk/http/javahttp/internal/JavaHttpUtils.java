@@ -0,0 +1,165 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+
+package software.amazon.awssdk.http.javahttp.internal;
+
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.security.KeyManagementException;
+import java.security.NoSuchAlgorithmException;
+import java.security.cert.X509Certificate;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.Executor;
+import javax.net.ssl.KeyManager;
+import javax.net.ssl.SSLContext;
+import javax.net.ssl.TrustManager;
+import javax.net.ssl.X509TrustManager;
+import software.amazon.awssdk.annotations.SdkInternalApi;
+import software.amazon.awssdk.http.Header;
+import software.amazon.awssdk.http.Protocol;
+import software.amazon.awssdk.http.SdkHttpConfigurationOption;
+import software.amazon.awssdk.http.SdkHttpFullResponse;
+import software.amazon.awssdk.http.SdkHttpRequest;
+import software.amazon.awssdk.http.TlsKeyManagersProvider;
+import software.amazon.awssdk.utils.AttributeMap;
+import software.amazon.awssdk.utils.Logger;
+import software.amazon.awssdk.utils.Validate;
+
+/**
+ * Conversions between the SDK's HTTP types and those of {@link HttpClient}, shared by the synchronous and asynchronous
+ * clients.
+ */
+@SdkInternalApi
+public final class JavaHttpUtils {
+    private static final Logger log = Logger.loggerFor(JavaHttpUtils.class);
+
+    /**
+     * Headers that {@link HttpRequest.Builder} refuses to set, because the client sets them itself.
+     */
+    private static final Set<String> RESTRICTED_HEADERS = new TreeSet<>(String.CASE_INSENSITIVE_ORDER);
+
+    static {
+        RESTRICTED_HEADERS.add(Header.CONNECTION);
+        RESTRICTED_HEADERS.add(Header.CONTENT_LENGTH);
+        RESTRICTED_HEADERS.add(Header.HOST);
+        RESTRICTED_HEADERS.add("Date");
+        RESTRICTED_HEADERS.add("Expect");
+        RESTRICTED_HEADERS.add("From");
+        RESTRICTED_HEADERS.add("Upgrade");
+        RESTRICTED_HEADERS.add("Via");
+        RESTRICTED_HEADERS.add("Warning");
+    }
+
+    private JavaHttpUtils() {
+    }
+
+    /**
+     * Creates the {@link HttpClient} for the given configuration.
+     */
+    public static HttpClient createHttpClient(AttributeMap config, Executor executor) {
+        return HttpClient.newBuilder()
+                         .version(config.get(SdkHttpConfigurationOption.PROTOCOL) == Protocol.HTTP2 ? HttpClient.Version.HTTP_2
+                                                                                                    : HttpClient.Version.HTTP_1_1)
+                         .connectTimeout(config.get(SdkHttpConfigurationOption.CONNECTION_TIMEOUT))
+                         // Disable following redirects since it breaks SDK error handling and matches Apache.
+                         .followRedirects(HttpClient.Redirect.NEVER)
+                         .sslContext(sslContext(config))
+                         .executor(executor)
+                         .build();
+    }
+
+    /**
+     * Creates a request builder with the URI and headers of the given request. The method and body are left to the caller.
+     */
+    public static HttpRequest.Builder toJavaRequestBuilder(SdkHttpRequest sdkRequest) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(sdkRequest.getUri());
+
+        sdkRequest.headers().forEach((name, values) -> {
+            if (!RESTRICTED_HEADERS.contains(name)) {
+                values.forEach(value -> builder.header(name, value));
+            }
+        });
+        sdkRequest.firstMatchingHeader("Expect")
+                  .filter("100-continue"::equalsIgnoreCase)
+                  .ifPresent(expect -> builder.expectContinue(true));
+
+        return builder;
+    }
+
+    /**
+     * The length of the request body as declared by its Content-Length header, if any.
+     */
+    public static Optional<Long> contentLength(SdkHttpRequest sdkRequest) {
+        return sdkRequest.firstMatchingHeader(Header.CONTENT_LENGTH).map(Long::parseLong);
+    }
+
+    public static SdkHttpFullResponse toSdkResponse(HttpResponse<?> response) {
+        return SdkHttpFullResponse.builder()
+                                  .statusCode(response.statusCode())
+                                  .headers(response.headers().map())
+                                  .build();
+    }
+
+    private static SSLContext sslContext(AttributeMap config) {
+        Validate.isTrue(config.get(SdkHttpConfigurationOption.TLS_TRUST_MANAGERS_PROVIDER) == null ||
+                        !config.get(SdkHttpConfigurationOption.TRUST_ALL_CERTIFICATES),
+                        "A TlsTrustManagerProvider can't be provided if TrustAllCertificates is also set");
+
+        TrustManager[] trustManagers = null;
+        if (config.get(SdkHttpConfigurationOption.TLS_TRUST_MANAGERS_PROVIDER) != null) {
+            trustManagers = config.get(SdkHttpConfigurationOption.TLS_TRUST_MANAGERS_PROVIDER).trustManagers();
+        }
+
+        if (config.get(SdkHttpConfigurationOption.TRUST_ALL_CERTIFICATES)) {
+            log.warn(() -> "SSL Certificate verification is disabled. This is not a safe setting and should only be "
+                           + "used for testing.");
+            trustManagers = new TrustManager[] { TrustAllManager.INSTANCE };
+        }
+
+        TlsKeyManagersProvider provider = config.get(SdkHttpConfigurationOption.TLS_KEY_MANAGERS_PROVIDER);
+        KeyManager[] keyManagers = provider.keyManagers();
+
+        try {
+            SSLContext context = SSLContext.getInstance("TLS");
+            context.init(keyManagers, trustManagers, null);
+            return context;
+        } catch (NoSuchAlgorithmException | KeyManagementException ex) {
+            throw new RuntimeException(ex.getMessage(), ex);
+        }
+    }
+
+    private static final class TrustAllManager implements X509TrustManager {
+        private static final TrustAllManager INSTANCE = new TrustAllManager();
+
+        @Override
+        public void checkClientTrusted(X509Certificate[] x509Certificates, String s) {
+            log.debug(() -> "Accepting a client certificate: " + x509Certificates[0].getSubjectDN());
+        }
+
+        @Override
+        public void checkServerTrusted(X509Certificate[] x509Certificates, String s) {
+            log.debug(() -> "Accepting a server certificate: " + x509Certificates[0].getSubjectDN());
+        }
+
+        @Override
+        public X509Certificate[] getAcceptedIssuers() {
+            return new X509Certificate[0];
+        }
+    }
+}
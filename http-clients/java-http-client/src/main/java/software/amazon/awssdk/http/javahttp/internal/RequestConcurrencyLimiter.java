@@ -0,0 +1,115 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+
+package software.amazon.awssdk.http.javahttp.internal;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.CompletableFuture;
+import software.amazon.awssdk.annotations.SdkInternalApi;
+import software.amazon.awssdk.annotations.ThreadSafe;
+import software.amazon.awssdk.http.HttpMetric;
+import software.amazon.awssdk.metrics.MetricCollector;
+import software.amazon.awssdk.utils.CompletableFutureUtils;
+
+/**
+ * Limits the number of requests that are in flight at the same time. {@link java.net.http.HttpClient} does not bound the
+ * number of HTTP/1.1 connections it opens and does not expose its connection pool, so the concurrency of the client is
+ * bounded and measured here instead.
+ *
+ * <p>Permits are handed out in the order they are requested. A permit whose acquisition was abandoned, for example because
+ * it timed out, is skipped.
+ */
+@ThreadSafe
+@SdkInternalApi
+public final class RequestConcurrencyLimiter {
+    private final int maxConcurrency;
+    private final int maxPendingAcquires;
+    private final Deque<CompletableFuture<Void>> pendingAcquires = new ArrayDeque<>();
+    private int leased;
+
+    public RequestConcurrencyLimiter(int maxConcurrency, int maxPendingAcquires) {
+        this.maxConcurrency = maxConcurrency;
+        this.maxPendingAcquires = maxPendingAcquires;
+    }
+
+    /**
+     * Acquires a permit to send a request. The returned future completes once a permit is available, and the permit must
+     * then be returned with {@link #release()}.
+     */
+    public CompletableFuture<Void> acquire() {
+        CompletableFuture<Void> acquire = new CompletableFuture<>();
+        synchronized (this) {
+            if (leased < maxConcurrency) {
+                leased++;
+                acquire.complete(null);
+                return acquire;
+            }
+            if (pendingAcquires.size() >= maxPendingAcquires) {
+                return CompletableFutureUtils.failedFuture(new IllegalStateException(
+                    "Too many outstanding acquire operations. Consider increasing the max concurrency or the max pending "
+                    + "acquires of the HTTP client."));
+            }
+            pendingAcquires.addLast(acquire);
+        }
+
+        acquire.whenComplete((r, t) -> {
+            if (t != null) {
+                synchronized (this) {
+                    pendingAcquires.remove(acquire);
+                }
+            }
+        });
+        return acquire;
+    }
+
+    /**
+     * Returns a permit, handing it to the oldest pending acquisition if there is one.
+     */
+    public void release() {
+        while (true) {
+            CompletableFuture<Void> next;
+            synchronized (this) {
+                next = pendingAcquires.pollFirst();
+                if (next == null) {
+                    leased--;
+                    return;
+                }
+            }
+            // Completed outside of the lock, because completing runs the request that acquired the permit.
+            if (next.complete(null)) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Reports the state of this limiter to the given collector, in the same terms the other HTTP clients report the state of
+     * their connection pools.
+     */
+    public void reportMetrics(MetricCollector metricCollector) {
+        int leasedSnapshot;
+        int pendingSnapshot;
+        synchronized (this) {
+            leasedSnapshot = leased;
+            pendingSnapshot = pendingAcquires.size();
+        }
+        metricCollector.reportMetric(HttpMetric.MAX_CONCURRENCY, maxConcurrency);
+        metricCollector.reportMetric(HttpMetric.AVAILABLE_CONCURRENCY, Math.max(0, maxConcurrency - leasedSnapshot));
+        metricCollector.reportMetric(HttpMetric.LEASED_CONCURRENCY, leasedSnapshot);
+        metricCollector.reportMetric(HttpMetric.PENDING_CONCURRENCY_ACQUIRES, pendingSnapshot);
+    }
+}
@@ -0,0 +1,157 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+
+package software.amazon.awssdk.http.javahttp;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.aResponse;
+import static com.github.tomakehurst.wiremock.client.WireMock.equalTo;
+import static com.github.tomakehurst.wiremock.client.WireMock.get;
+import static com.github.tomakehurst.wiremock.client.WireMock.put;
+import static com.github.tomakehurst.wiremock.client.WireMock.putRequestedFor;
+import static com.github.tomakehurst.wiremock.client.WireMock.stubFor;
+import static com.github.tomakehurst.wiremock.client.WireMock.urlEqualTo;
+import static com.github.tomakehurst.wiremock.client.WireMock.verify;
+import static com.github.tomakehurst.wiremock.core.WireMockConfiguration.wireMockConfig;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.github.tomakehurst.wiremock.http.Fault;
+import com.github.tomakehurst.wiremock.junit.WireMockRule;
+import java.io.IOException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import software.amazon.awssdk.http.EmptyPublisher;
+import software.amazon.awssdk.http.HttpMetric;
+import software.amazon.awssdk.http.HttpTestUtils;
+import software.amazon.awssdk.http.RecordingResponseHandler;
+import software.amazon.awssdk.http.SdkHttpContentPublisher;
+import software.amazon.awssdk.http.SdkHttpFullRequest;
+import software.amazon.awssdk.http.SdkHttpMethod;
+import software.amazon.awssdk.http.async.AsyncExecuteRequest;
+import software.amazon.awssdk.http.async.SdkAsyncHttpClient;
+import software.amazon.awssdk.metrics.MetricCollection;
+
+public class JavaHttpAsyncHttpClientWireMockTest {
+    @Rule
+    public WireMockRule mockServer = new WireMockRule(wireMockConfig().dynamicPort());
+
+    private SdkAsyncHttpClient client;
+
+    @Before
+    public void setup() {
+        client = JavaHttpAsyncHttpClient.builder()
+                                        .maxConcurrency(2)
+                                        .build();
+    }
+
+    @After
+    public void teardown() {
+        client.close();
+    }
+
+    @Test
+    public void get_returnsStatusHeadersAndBody() throws Exception {
+        stubFor(get(urlEqualTo("/path?q=1")).willReturn(aResponse().withStatus(200)
+                                                                  .withHeader("foo", "bar")
+                                                                  .withBody("hello world")));
+
+        RecordingResponseHandler handler = new RecordingResponseHandler();
+        execute(SdkHttpMethod.GET, "/path?q=1", new EmptyPublisher(), handler).get(5, TimeUnit.SECONDS);
+        handler.completeFuture().get(5, TimeUnit.SECONDS);
+
+        assertThat(handler.responses()).hasSize(1);
+        assertThat(handler.responses().get(0).statusCode()).isEqualTo(200);
+        assertThat(handler.responses().get(0).firstMatchingHeader("foo")).hasValue("bar");
+        assertThat(handler.fullResponseAsString()).isEqualTo("hello world");
+    }
+
+    @Test
+    public void put_sendsBodyWithContentLength() throws Exception {
+        stubFor(put(urlEqualTo("/")).willReturn(aResponse().withStatus(200)));
+        String body = "a request body that is sent in several chunks";
+
+        RecordingResponseHandler handler = new RecordingResponseHandler();
+        execute(SdkHttpMethod.PUT, "/", HttpTestUtils.createProvider(body), handler).get(5, TimeUnit.SECONDS);
+
+        verify(putRequestedFor(urlEqualTo("/")).withHeader("Content-Length", equalTo(String.valueOf(body.length())))
+                                               .withRequestBody(equalTo(body)));
+    }
+
+    @Test
+    public void connectionFailure_signalsErrorViaOnErrorAndFuture() {
+        stubFor(get(urlEqualTo("/")).willReturn(aResponse().withFault(Fault.CONNECTION_RESET_BY_PEER)));
+
+        RecordingResponseHandler handler = new RecordingResponseHandler();
+        CompletableFuture<Void> executeFuture = execute(SdkHttpMethod.GET, "/", new EmptyPublisher(), handler);
+
+        assertThatThrownBy(() -> executeFuture.get(5, TimeUnit.SECONDS)).hasCauseInstanceOf(IOException.class);
+        assertThatThrownBy(() -> handler.completeFuture().get(5, TimeUnit.SECONDS)).hasCauseInstanceOf(IOException.class);
+    }
+
+    @Test
+    public void execute_reportsConcurrencyMetrics() throws Exception {
+        stubFor(get(urlEqualTo("/")).willReturn(aResponse().withStatus(200)));
+
+        RecordingResponseHandler handler = new RecordingResponseHandler();
+        execute(SdkHttpMethod.GET, "/", new EmptyPublisher(), handler).get(5, TimeUnit.SECONDS);
+
+        MetricCollection metrics = handler.collector().collect();
+        assertThat(metrics.metricValues(HttpMetric.HTTP_CLIENT_NAME)).containsExactly("JavaHttpClient");
+        assertThat(metrics.metricValues(HttpMetric.MAX_CONCURRENCY)).containsExactly(2);
+        assertThat(metrics.metricValues(HttpMetric.LEASED_CONCURRENCY)).containsExactly(1);
+        assertThat(metrics.metricValues(HttpMetric.AVAILABLE_CONCURRENCY)).containsExactly(1);
+        assertThat(metrics.metricValues(HttpMetric.PENDING_CONCURRENCY_ACQUIRES)).containsExactly(0);
+    }
+
+    @Test
+    public void execute_afterClose_fails() {
+        client.close();
+
+        CompletableFuture<Void> executeFuture = execute(SdkHttpMethod.GET, "/", new EmptyPublisher(),
+                                                        new RecordingResponseHandler());
+
+        assertThatThrownBy(executeFuture::join).hasCauseInstanceOf(IllegalStateException.class);
+    }
+
+    private CompletableFuture<Void> execute(SdkHttpMethod method,
+                                            String path,
+                                            SdkHttpContentPublisher contentPublisher,
+                                            RecordingResponseHandler handler) {
+        int queryStart = path.indexOf('?');
+        SdkHttpFullRequest.Builder request = SdkHttpFullRequest.builder()
+                                                               .method(method)
+                                                               .protocol("http")
+                                                               .host("localhost")
+                                                               .port(mockServer.port())
+                                                               .encodedPath(queryStart < 0 ? path
+                                                                                           : path.substring(0, queryStart));
+        if (queryStart >= 0) {
+            String[] query = path.substring(queryStart + 1).split("=");
+            request.putRawQueryParameter(query[0], query[1]);
+        }
+
+        return client.execute(AsyncExecuteRequest.builder()
+                                                 .request(request.build())
+                                                 .requestContentPublisher(contentPublisher)
+                                                 .responseHandler(handler)
+                                                 .metricCollector(handler.collector())
+                                                 .build());
+    }
+}
@@ -0,0 +1,136 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+
+package software.amazon.awssdk.http.javahttp;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.aResponse;
+import static com.github.tomakehurst.wiremock.client.WireMock.get;
+import static com.github.tomakehurst.wiremock.client.WireMock.stubFor;
+import static com.github.tomakehurst.wiremock.client.WireMock.urlEqualTo;
+import static com.github.tomakehurst.wiremock.core.WireMockConfiguration.wireMockConfig;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.github.tomakehurst.wiremock.junit.WireMockRule;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Collectors;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.Assume;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import software.amazon.awssdk.http.HttpExecuteRequest;
+import software.amazon.awssdk.http.HttpExecuteResponse;
+import software.amazon.awssdk.http.SdkHttpClient;
+import software.amazon.awssdk.http.SdkHttpFullRequest;
+import software.amazon.awssdk.http.SdkHttpMethod;
+import software.amazon.awssdk.utils.IoUtils;
+
+/**
+ * Runs many concurrent requests from virtual threads and uses JFR to verify that no virtual thread pins its carrier thread
+ * while the client waits for a permit or a response. Skipped on JDKs without virtual threads (before Java 21).
+ */
+public class JavaHttpSyncHttpClientVirtualThreadPinningTest {
+    private static final int CONCURRENT_REQUESTS = 200;
+    private static final String PINNED_EVENT = "jdk.VirtualThreadPinned";
+
+    @Rule
+    public WireMockRule mockServer = new WireMockRule(wireMockConfig().dynamicPort().containerThreads(CONCURRENT_REQUESTS));
+
+    private ExecutorService virtualThreadExecutor;
+
+    @Before
+    public void setup() {
+        virtualThreadExecutor = newVirtualThreadPerTaskExecutor();
+        Assume.assumeTrue("Virtual threads are not supported by this JDK", virtualThreadExecutor != null);
+    }
+
+    @Test
+    public void concurrentRequestsFromVirtualThreads_doNotPinCarrierThreads() throws Exception {
+        stubFor(get(urlEqualTo("/")).willReturn(aResponse().withStatus(200).withBody("ok").withFixedDelay(100)));
+
+        Path recordingFile = Files.createTempFile("virtual-thread-pinning", ".jfr");
+        try (SdkHttpClient client = JavaHttpSyncHttpClient.builder()
+                                                          .maxConcurrency(CONCURRENT_REQUESTS / 2)
+                                                          .connectionAcquisitionTimeout(Duration.ofSeconds(30))
+                                                          .build();
+             Recording recording = new Recording()) {
+            recording.enable(PINNED_EVENT).withStackTrace().withThreshold(Duration.ZERO);
+            recording.start();
+
+            List<Future<Integer>> responses = new ArrayList<>();
+            for (int i = 0; i < CONCURRENT_REQUESTS; i++) {
+                responses.add(virtualThreadExecutor.submit(() -> get(client)));
+            }
+            for (Future<Integer> response : responses) {
+                assertThat(response.get()).isEqualTo(200);
+            }
+
+            recording.stop();
+            recording.dump(recordingFile);
+
+            List<RecordedEvent> pinnedEvents = RecordingFile.readAllEvents(recordingFile)
+                                                            .stream()
+                                                            .filter(e -> e.getEventType().getName().equals(PINNED_EVENT))
+                                                            .collect(Collectors.toList());
+            assertThat(pinnedEvents).as("Pinned virtual threads:%n%s", stackTraces(pinnedEvents)).isEmpty();
+        } finally {
+            virtualThreadExecutor.shutdown();
+            Files.deleteIfExists(recordingFile);
+        }
+    }
+
+    private int get(SdkHttpClient client) throws Exception {
+        SdkHttpFullRequest request = SdkHttpFullRequest.builder()
+                                                       .method(SdkHttpMethod.GET)
+                                                       .protocol("http")
+                                                       .host("localhost")
+                                                       .port(mockServer.port())
+                                                       .encodedPath("/")
+                                                       .build();
+        HttpExecuteResponse response = client.prepareRequest(HttpExecuteRequest.builder().request(request).build()).call();
+        try (InputStream body = response.responseBody().get()) {
+            IoUtils.drainInputStream(body);
+        }
+        return response.httpResponse().statusCode();
+    }
+
+    private static String stackTraces(List<RecordedEvent> events) {
+        return events.stream()
+                     .map(e -> String.valueOf(e.getStackTrace()))
+                     .collect(Collectors.joining(System.lineSeparator()));
+    }
+
+    /**
+     * Invoked reflectively so that this test compiles against the module's Java 11 baseline.
+     */
+    private static ExecutorService newVirtualThreadPerTaskExecutor() {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,168 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+
+package software.amazon.awssdk.http.javahttp;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.aResponse;
+import static com.github.tomakehurst.wiremock.client.WireMock.equalTo;
+import static com.github.tomakehurst.wiremock.client.WireMock.get;
+import static com.github.tomakehurst.wiremock.client.WireMock.put;
+import static com.github.tomakehurst.wiremock.client.WireMock.putRequestedFor;
+import static com.github.tomakehurst.wiremock.client.WireMock.stubFor;
+import static com.github.tomakehurst.wiremock.client.WireMock.urlEqualTo;
+import static com.github.tomakehurst.wiremock.client.WireMock.verify;
+import static com.github.tomakehurst.wiremock.core.WireMockConfiguration.wireMockConfig;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.github.tomakehurst.wiremock.http.Fault;
+import com.github.tomakehurst.wiremock.junit.WireMockRule;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import software.amazon.awssdk.http.ContentStreamProvider;
+import software.amazon.awssdk.http.ExecutableHttpRequest;
+import software.amazon.awssdk.http.HttpExecuteRequest;
+import software.amazon.awssdk.http.HttpExecuteResponse;
+import software.amazon.awssdk.http.HttpMetric;
+import software.amazon.awssdk.http.SdkHttpClient;
+import software.amazon.awssdk.http.SdkHttpFullRequest;
+import software.amazon.awssdk.http.SdkHttpMethod;
+import software.amazon.awssdk.metrics.MetricCollector;
+import software.amazon.awssdk.utils.IoUtils;
+
+public class JavaHttpSyncHttpClientWireMockTest {
+    @Rule
+    public WireMockRule mockServer = new WireMockRule(wireMockConfig().dynamicPort());
+
+    private SdkHttpClient client;
+
+    @Before
+    public void setup() {
+        client = JavaHttpSyncHttpClient.builder()
+                                       .maxConcurrency(1)
+                                       .connectionAcquisitionTimeout(Duration.ofMillis(200))
+                                       .build();
+    }
+
+    @After
+    public void teardown() {
+        client.close();
+    }
+
+    @Test
+    public void get_returnsStatusHeadersAndBody() throws Exception {
+        stubFor(get(urlEqualTo("/")).willReturn(aResponse().withStatus(200)
+                                                           .withHeader("foo", "bar")
+                                                           .withBody("hello world")));
+
+        HttpExecuteResponse response = prepare(SdkHttpMethod.GET, null).call();
+
+        assertThat(response.httpResponse().statusCode()).isEqualTo(200);
+        assertThat(response.httpResponse().firstMatchingHeader("foo")).hasValue("bar");
+        try (InputStream body = response.responseBody().get()) {
+            assertThat(IoUtils.toUtf8String(body)).isEqualTo("hello world");
+        }
+    }
+
+    @Test
+    public void put_sendsBodyWithContentLength() throws Exception {
+        stubFor(put(urlEqualTo("/")).willReturn(aResponse().withStatus(200)));
+        String body = "a request body";
+
+        prepare(SdkHttpMethod.PUT, body).call().responseBody().get().close();
+
+        verify(putRequestedFor(urlEqualTo("/")).withHeader("Content-Length", equalTo(String.valueOf(body.length())))
+                                               .withRequestBody(equalTo(body)));
+    }
+
+    @Test
+    public void connectionFailure_throwsIOException() {
+        stubFor(get(urlEqualTo("/")).willReturn(aResponse().withFault(Fault.CONNECTION_RESET_BY_PEER)));
+
+        assertThatThrownBy(() -> prepare(SdkHttpMethod.GET, null).call()).isInstanceOf(IOException.class);
+    }
+
+    @Test
+    public void connectionFailure_releasesPermit() throws Exception {
+        stubFor(get(urlEqualTo("/")).willReturn(aResponse().withFault(Fault.CONNECTION_RESET_BY_PEER)));
+        assertThatThrownBy(() -> prepare(SdkHttpMethod.GET, null).call()).isInstanceOf(IOException.class);
+
+        stubFor(get(urlEqualTo("/")).willReturn(aResponse().withStatus(200)));
+        prepare(SdkHttpMethod.GET, null).call().responseBody().get().close();
+    }
+
+    @Test
+    public void unclosedResponse_holdsPermitUntilClosed() throws Exception {
+        stubFor(get(urlEqualTo("/")).willReturn(aResponse().withStatus(200).withBody("body")));
+
+        HttpExecuteResponse first = prepare(SdkHttpMethod.GET, null).call();
+        assertThatThrownBy(() -> prepare(SdkHttpMethod.GET, null).call()).isInstanceOf(IOException.class)
+                                                                         .hasMessageContaining("Acquire operation");
+
+        first.responseBody().get().close();
+        prepare(SdkHttpMethod.GET, null).call().responseBody().get().close();
+    }
+
+    @Test
+    public void call_reportsClientNameAndConcurrencyMetrics() throws Exception {
+        stubFor(get(urlEqualTo("/")).willReturn(aResponse().withStatus(200)));
+        MetricCollector collector = MetricCollector.create("test");
+
+        client.prepareRequest(HttpExecuteRequest.builder()
+                                                .request(request(SdkHttpMethod.GET))
+                                                .metricCollector(collector)
+                                                .build())
+              .call().responseBody().get().close();
+
+        assertThat(collector.collect().metricValues(HttpMetric.HTTP_CLIENT_NAME)).containsExactly("JavaHttpClient");
+        assertThat(collector.collect().metricValues(HttpMetric.LEASED_CONCURRENCY)).containsExactly(1);
+    }
+
+    @Test
+    public void prepareRequest_afterClose_fails() {
+        client.close();
+
+        assertThatThrownBy(() -> prepare(SdkHttpMethod.GET, null)).isInstanceOf(IllegalStateException.class);
+    }
+
+    private ExecutableHttpRequest prepare(SdkHttpMethod method, String body) {
+        HttpExecuteRequest.Builder request = HttpExecuteRequest.builder().request(request(method));
+        if (body != null) {
+            byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+            ContentStreamProvider provider = () -> new ByteArrayInputStream(bytes);
+            request.request(request(method).toBuilder().putHeader("Content-Length", String.valueOf(bytes.length)).build())
+                   .contentStreamProvider(provider);
+        }
+        return client.prepareRequest(request.build());
+    }
+
+    private SdkHttpFullRequest request(SdkHttpMethod method) {
+        return SdkHttpFullRequest.builder()
+                                 .method(method)
+                                 .protocol("http")
+                                 .host("localhost")
+                                 .port(mockServer.port())
+                                 .encodedPath("/")
+                                 .build();
+    }
+}
@@ -0,0 +1,118 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+
+package software.amazon.awssdk.http.javahttp.internal;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.aResponse;
+import static com.github.tomakehurst.wiremock.client.WireMock.get;
+import static com.github.tomakehurst.wiremock.client.WireMock.stubFor;
+import static com.github.tomakehurst.wiremock.client.WireMock.urlEqualTo;
+import static com.github.tomakehurst.wiremock.core.WireMockConfiguration.wireMockConfig;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.github.tomakehurst.wiremock.junit.WireMockRule;
+import java.net.http.HttpClient;
+import java.nio.ByteBuffer;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import org.junit.Rule;
+import org.junit.Test;
+import org.reactivestreams.Publisher;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+import software.amazon.awssdk.http.EmptyPublisher;
+import software.amazon.awssdk.http.SdkCancellationException;
+import software.amazon.awssdk.http.SdkHttpFullRequest;
+import software.amazon.awssdk.http.SdkHttpMethod;
+import software.amazon.awssdk.http.SdkHttpResponse;
+import software.amazon.awssdk.http.async.AsyncExecuteRequest;
+import software.amazon.awssdk.http.async.SdkAsyncHttpResponseHandler;
+
+public class JavaHttpRequestExecutorTest {
+    @Rule
+    public WireMockRule mockServer = new WireMockRule(wireMockConfig().dynamicPort());
+
+    @Test
+    public void responseBodyCancelled_failsExecutionAndReleasesPermit() throws Exception {
+        stubFor(get(urlEqualTo("/")).willReturn(aResponse().withStatus(200).withBody(new byte[1024 * 1024])));
+        RequestConcurrencyLimiter limiter = new RequestConcurrencyLimiter(1, 10);
+        JavaHttpRequestExecutor executor = new JavaHttpRequestExecutor(HttpClient.newHttpClient(), limiter,
+                                                                       Duration.ofSeconds(5));
+
+        CompletableFuture<Void> executeFuture = executor.execute(cancellingRequest());
+
+        assertThatThrownBy(() -> executeFuture.get(5, TimeUnit.SECONDS))
+            .hasCauseInstanceOf(SdkCancellationException.class);
+        // The permit is released by a dependent of the execution, so wait for the permit rather than expect it immediately.
+        assertThat(limiter.acquire().get(5, TimeUnit.SECONDS)).isNull();
+    }
+
+    private AsyncExecuteRequest cancellingRequest() {
+        SdkHttpFullRequest request = SdkHttpFullRequest.builder()
+                                                       .method(SdkHttpMethod.GET)
+                                                       .protocol("http")
+                                                       .host("localhost")
+                                                       .port(mockServer.port())
+                                                       .encodedPath("/")
+                                                       .build();
+        return AsyncExecuteRequest.builder()
+                                  .request(request)
+                                  .requestContentPublisher(new EmptyPublisher())
+                                  .responseHandler(new CancellingResponseHandler())
+                                  .build();
+    }
+
+    /**
+     * Cancels the response body after the first buffer has been received.
+     */
+    private static final class CancellingResponseHandler implements SdkAsyncHttpResponseHandler {
+        @Override
+        public void onHeaders(SdkHttpResponse headers) {
+        }
+
+        @Override
+        public void onStream(Publisher<ByteBuffer> stream) {
+            stream.subscribe(new Subscriber<ByteBuffer>() {
+                private Subscription subscription;
+
+                @Override
+                public void onSubscribe(Subscription subscription) {
+                    this.subscription = subscription;
+                    subscription.request(1);
+                }
+
+                @Override
+                public void onNext(ByteBuffer byteBuffer) {
+                    subscription.cancel();
+                }
+
+                @Override
+                public void onError(Throwable t) {
+                }
+
+                @Override
+                public void onComplete() {
+                }
+            });
+        }
+
+        @Override
+        public void onError(Throwable error) {
+        }
+    }
+}
@@ -0,0 +1,101 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+
+package software.amazon.awssdk.http.javahttp.internal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import org.junit.Test;
+import software.amazon.awssdk.http.HttpMetric;
+import software.amazon.awssdk.metrics.MetricCollection;
+import software.amazon.awssdk.metrics.MetricCollector;
+
+public class RequestConcurrencyLimiterTest {
+    @Test
+    public void acquire_belowMaxConcurrency_completesImmediately() {
+        RequestConcurrencyLimiter limiter = new RequestConcurrencyLimiter(2, 10);
+
+        assertThat(limiter.acquire()).isCompleted();
+        assertThat(limiter.acquire()).isCompleted();
+        assertThat(limiter.acquire()).isNotDone();
+    }
+
+    @Test
+    public void release_handsPermitToOldestPendingAcquire() {
+        RequestConcurrencyLimiter limiter = new RequestConcurrencyLimiter(1, 10);
+        limiter.acquire();
+        CompletableFuture<Void> first = limiter.acquire();
+        CompletableFuture<Void> second = limiter.acquire();
+
+        limiter.release();
+
+        assertThat(first).isCompleted();
+        assertThat(second).isNotDone();
+    }
+
+    @Test
+    public void release_skipsAbandonedAcquires() {
+        RequestConcurrencyLimiter limiter = new RequestConcurrencyLimiter(1, 10);
+        limiter.acquire();
+        CompletableFuture<Void> abandoned = limiter.acquire();
+        CompletableFuture<Void> waiting = limiter.acquire();
+        abandoned.cancel(false);
+
+        limiter.release();
+
+        assertThat(waiting).isCompleted();
+    }
+
+    @Test
+    public void acquire_timedOut_doesNotLeakPermit() throws Exception {
+        RequestConcurrencyLimiter limiter = new RequestConcurrencyLimiter(1, 10);
+        limiter.acquire();
+        CompletableFuture<Void> timedOut = limiter.acquire().orTimeout(10, TimeUnit.MILLISECONDS);
+        assertThat(timedOut).failsWithin(5, TimeUnit.SECONDS);
+
+        limiter.release();
+
+        assertThat(limiter.acquire()).isCompleted();
+    }
+
+    @Test
+    public void acquire_tooManyPending_fails() {
+        RequestConcurrencyLimiter limiter = new RequestConcurrencyLimiter(1, 1);
+        limiter.acquire();
+        limiter.acquire();
+
+        assertThat(limiter.acquire()).isCompletedExceptionally();
+    }
+
+    @Test
+    public void reportMetrics_reportsLeasedAndPending() {
+        RequestConcurrencyLimiter limiter = new RequestConcurrencyLimiter(2, 10);
+        limiter.acquire();
+        limiter.acquire();
+        limiter.acquire();
+
+        MetricCollector collector = MetricCollector.create("test");
+        limiter.reportMetrics(collector);
+        MetricCollection metrics = collector.collect();
+
+        assertThat(metrics.metricValues(HttpMetric.MAX_CONCURRENCY)).containsExactly(2);
+        assertThat(metrics.metricValues(HttpMetric.LEASED_CONCURRENCY)).containsExactly(2);
+        assertThat(metrics.metricValues(HttpMetric.AVAILABLE_CONCURRENCY)).containsExactly(0);
+        assertThat(metrics.metricValues(HttpMetric.PENDING_CONCURRENCY_ACQUIRES)).containsExactly(1);
+    }
+}
@@ -29,11 +29,15 @@ public final class Http2Configuration implements ToCopyableBuilder<Http2Configur
     private final Long maxStreams;
     private final Integer initialWindowSize;
     private final Duration healthCheckPingPeriod;
+    private final Boolean adaptiveConnectionScaling;
+    private final Long targetStreamsPerConnection;
 
     private Http2Configuration(DefaultBuilder builder) {
         this.maxStreams = builder.maxStreams;
         this.initialWindowSize = builder.initialWindowSize;
         this.healthCheckPingPeriod = builder.healthCheckPingPeriod;
+        this.adaptiveConnectionScaling = builder.adaptiveConnectionScaling;
+        this.targetStreamsPerConnection = builder.targetStreamsPerConnection;
     }
 
     /**
@@ -57,6 +61,20 @@ public final class Http2Configuration implements ToCopyableBuilder<Http2Configur
         return healthCheckPingPeriod;
     }
 
+    /**
+     * @return Whether streams are spread across HTTP/2 connections based on their load.
+     */
+    public Boolean adaptiveConnectionScaling() {
+        return adaptiveConnectionScaling;
+    }
+
+    /**
+     * @return The number of active streams above which an HTTP/2 connection is considered loaded.
+     */
+    public Long targetStreamsPerConnection() {
+        return targetStreamsPerConnection;
+    }
+
     @Override
     public Builder toBuilder() {
         return new DefaultBuilder(this);
@@ -78,6 +96,16 @@ public final class Http2Configuration implements ToCopyableBuilder<Http2Configur
             return false;
         }
 
+        if (adaptiveConnectionScaling != null ? !adaptiveConnectionScaling.equals(that.adaptiveConnectionScaling)
+                                              : that.adaptiveConnectionScaling != null) {
+            return false;
+        }
+
+        if (targetStreamsPerConnection != null ? !targetStreamsPerConnection.equals(that.targetStreamsPerConnection)
+                                               : that.targetStreamsPerConnection != null) {
+            return false;
+        }
+
         return initialWindowSize != null ? initialWindowSize.equals(that.initialWindowSize) : that.initialWindowSize == null;
 
     }
@@ -86,6 +114,8 @@ public final class Http2Configuration implements ToCopyableBuilder<Http2Configur
     public int hashCode() {
         int result = maxStreams != null ? maxStreams.hashCode() : 0;
         result = 31 * result + (initialWindowSize != null ? initialWindowSize.hashCode() : 0);
+        result = 31 * result + (adaptiveConnectionScaling != null ? adaptiveConnectionScaling.hashCode() : 0);
+        result = 31 * result + (targetStreamsPerConnection != null ? targetStreamsPerConnection.hashCode() : 0);
         return result;
     }
 
@@ -127,12 +157,42 @@ public final class Http2Configuration implements ToCopyableBuilder<Http2Configur
          * @return This builder for method chaining.
          */
         Builder healthCheckPingPeriod(Duration healthCheckPingPeriod);
+
+        /**
+         * Sets whether streams are spread across connections based on the load of each connection, instead of filling
+         * each connection up to {@link #maxStreams(Long)} before opening the next one.
+         *
+         * <p>When enabled, a new stream is opened on the connection with the fewest active streams, avoiding connections
+         * whose connection-level flow control window is exhausted. A new connection is opened when every connection has
+         * reached {@link #targetStreamsPerConnection(Long)} active streams or is stalled on its flow control window.
+         * Connections that receive a {@code GOAWAY} frame stop taking new streams and are closed as soon as their
+         * remaining streams complete. By default, this is disabled.</p>
+         *
+         * @param adaptiveConnectionScaling Whether to spread streams across connections based on their load.
+         * @return This builder for method chaining.
+         */
+        Builder adaptiveConnectionScaling(Boolean adaptiveConnectionScaling);
+
+        /**
+         * Sets the number of active streams above which a connection is considered loaded when
+         * {@link #adaptiveConnectionScaling(Boolean)} is enabled. Once every connection is loaded, new streams cause a new
+         * connection to be opened, as long as the client's max concurrency allows it. This is useful for long-lived,
+         * high-throughput streams, such as Kinesis {@code SubscribeToShard}, that should not share a single connection.
+         *
+         * <p>By default, a connection is only considered loaded when it has reached its maximum number of streams.</p>
+         *
+         * @param targetStreamsPerConnection Number of active streams above which a connection is considered loaded.
+         * @return This builder for method chaining.
+         */
+        Builder targetStreamsPerConnection(Long targetStreamsPerConnection);
     }
 
     private static final class DefaultBuilder implements Builder {
         private Long maxStreams;
         private Integer initialWindowSize;
         private Duration healthCheckPingPeriod;
+        private Boolean adaptiveConnectionScaling;
+        private Long targetStreamsPerConnection;
 
         private DefaultBuilder() {
         }
@@ -141,6 +201,8 @@ public final class Http2Configuration implements ToCopyableBuilder<Http2Configur
             this.maxStreams = http2Configuration.maxStreams;
             this.initialWindowSize = http2Configuration.initialWindowSize;
             this.healthCheckPingPeriod = http2Configuration.healthCheckPingPeriod;
+            this.adaptiveConnectionScaling = http2Configuration.adaptiveConnectionScaling;
+            this.targetStreamsPerConnection = http2Configuration.targetStreamsPerConnection;
         }
 
         @Override
@@ -173,6 +235,27 @@ public final class Http2Configuration implements ToCopyableBuilder<Http2Configur
             healthCheckPingPeriod(healthCheckPingPeriod);
         }
 
+        @Override
+        public Builder adaptiveConnectionScaling(Boolean adaptiveConnectionScaling) {
+            this.adaptiveConnectionScaling = adaptiveConnectionScaling;
+            return this;
+        }
+
+        public void setAdaptiveConnectionScaling(Boolean adaptiveConnectionScaling) {
+            adaptiveConnectionScaling(adaptiveConnectionScaling);
+        }
+
+        @Override
+        public Builder targetStreamsPerConnection(Long targetStreamsPerConnection) {
+            this.targetStreamsPerConnection = Validate.isPositiveOrNull(targetStreamsPerConnection,
+                                                                        "targetStreamsPerConnection");
+            return this;
+        }
+
+        public void setTargetStreamsPerConnection(Long targetStreamsPerConnection) {
+            targetStreamsPerConnection(targetStreamsPerConnection);
+        }
+
         @Override
         public Http2Configuration build() {
             return new Http2Configuration(this);
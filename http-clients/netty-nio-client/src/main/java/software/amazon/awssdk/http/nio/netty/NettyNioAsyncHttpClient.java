@@ -39,7 +39,9 @@ import org.slf4j.LoggerFactory;
 import software.amazon.awssdk.annotations.SdkPublicApi;
 import software.amazon.awssdk.annotations.SdkTestInternalApi;
 import software.amazon.awssdk.http.Protocol;
+import software.amazon.awssdk.http.SdkDnsResolver;
 import software.amazon.awssdk.http.SdkHttpConfigurationOption;
+import software.amazon.awssdk.http.SdkHttpMethod;
 import software.amazon.awssdk.http.SdkHttpRequest;
 import software.amazon.awssdk.http.SystemPropertyTlsKeyManagersProvider;
 import software.amazon.awssdk.http.TlsKeyManagersProvider;
@@ -85,7 +87,10 @@ public final class NettyNioAsyncHttpClient implements SdkAsyncHttpClient {
     private final NettyConfiguration configuration;
 
     private NettyNioAsyncHttpClient(DefaultBuilder builder, AttributeMap serviceDefaultsMap) {
-        this.configuration = new NettyConfiguration(serviceDefaultsMap);
+        this.configuration = new NettyConfiguration(serviceDefaultsMap.merge(http2Options(builder.http2Configuration)));
+        Validate.isTrue(configuration.minimumIdleConnections() >= 0
+                        && configuration.minimumIdleConnections() <= configuration.maxConnections(),
+                        "minimumIdleConnections must be between 0 and maxConcurrency.");
         Protocol protocol = serviceDefaultsMap.get(SdkHttpConfigurationOption.PROTOCOL);
         this.sdkEventLoopGroup = eventLoopGroup(builder);
 
@@ -104,9 +109,21 @@ public final class NettyNioAsyncHttpClient implements SdkAsyncHttpClient {
                                              .sdkEventLoopGroup(sdkEventLoopGroup)
                                              .sslProvider(resolveSslProvider(builder))
                                              .proxyConfiguration(builder.proxyConfiguration)
+                                             .useEventLoopAffinityPool(
+                                                 Boolean.TRUE.equals(builder.useEventLoopAffinityConnectionPool))
+                                             .dnsResolver(builder.dnsResolver)
                                              .build();
     }
 
+    private static AttributeMap http2Options(Http2Configuration http2Configuration) {
+        AttributeMap.Builder options = AttributeMap.builder();
+        if (http2Configuration != null) {
+            options.put(NettyConfiguration.HTTP2_ADAPTIVE_CONNECTION_SCALING, http2Configuration.adaptiveConnectionScaling());
+            options.put(NettyConfiguration.HTTP2_TARGET_STREAMS_PER_CONNECTION, http2Configuration.targetStreamsPerConnection());
+        }
+        return options.build();
+    }
+
     @SdkTestInternalApi
     NettyNioAsyncHttpClient(SdkEventLoopGroup sdkEventLoopGroup,
                             SdkChannelPoolMap<URI, ? extends SdkChannelPool> pools,
@@ -123,6 +140,23 @@ public final class NettyNioAsyncHttpClient implements SdkAsyncHttpClient {
         return new NettyRequestExecutor(ctx).execute();
     }
 
+    /**
+     * Proactively open connections to the provided endpoint, so that the first requests made to it do not have to wait for
+     * connections to be established. This opens enough connections for the pool of the endpoint to hold
+     * {@link Builder#minimumIdleConnections(Integer)} idle connections, or one connection if no minimum is configured, and
+     * waits for their TLS handshakes to complete before returning them to the pool. For HTTP/2, a single connection is
+     * opened.
+     *
+     * @param endpoint The endpoint that requests will be made to, e.g. {@code https://s3.us-west-2.amazonaws.com}.
+     * @return A future that is completed once the connections have been established, or completed exceptionally if any of
+     * them could not be established.
+     */
+    public CompletableFuture<Void> warmUp(URI endpoint) {
+        Validate.paramNotNull(endpoint, "endpoint");
+        SdkHttpRequest request = SdkHttpRequest.builder().uri(endpoint).method(SdkHttpMethod.GET).build();
+        return pools.get(poolKey(request)).warmUp();
+    }
+
     public static Builder builder() {
         return new DefaultBuilder();
     }
@@ -255,6 +289,20 @@ public final class NettyNioAsyncHttpClient implements SdkAsyncHttpClient {
          */
         Builder maxPendingConnectionAcquires(Integer maxPendingAcquires);
 
+        /**
+         * The minimum number of idle connections to keep open to each endpoint, once the client has been used with that
+         * endpoint or warmed up for it with {@link NettyNioAsyncHttpClient#warmUp(URI)}.
+         * <p>
+         * Connections that are closed, e.g. by the idle connection reaper or because they exceeded their
+         * {@link #connectionTimeToLive(Duration)}, are replaced so that a burst of requests does not have to wait for new
+         * connections to be established. Connections in use by requests do not count as idle, and the pool never exceeds
+         * {@link #maxConcurrency(Integer)}. This has no effect on HTTP/2 connections. By default, no idle connections are kept.
+         *
+         * @param minimumIdleConnections Minimum number of idle connections per endpoint.
+         * @return This builder for method chaining.
+         */
+        Builder minimumIdleConnections(Integer minimumIdleConnections);
+
         /**
          * The amount of time to wait for a read on a socket before an exception is thrown.
          * Specify {@code Duration.ZERO} to disable.
@@ -326,6 +374,44 @@ public final class NettyNioAsyncHttpClient implements SdkAsyncHttpClient {
          */
         Builder useIdleConnectionReaper(Boolean useConnectionReaper);
 
+        /**
+         * Configure whether HTTP/1.1 connections should be pooled per event loop.
+         * <p>
+         * When enabled, idle HTTP/1.1 connections are kept per event loop, and connections are acquired and released without
+         * locks or hand-offs to a single pool event loop. New connections are opened on the event loop of the acquiring
+         * thread, or on the next event loop of the group when the acquiring thread is not an event loop. This reduces the
+         * connection acquire latency at high request rates. The limits set by {@link #maxConcurrency(Integer)},
+         * {@link #maxPendingConnectionAcquires(Integer)} and {@link #connectionAcquisitionTimeout(Duration)} apply the same
+         * way.
+         * <p>
+         * This has no effect on HTTP/2 connections or on connections through a proxy. By default, this is disabled.
+         */
+        Builder useEventLoopAffinityConnectionPool(Boolean useEventLoopAffinityConnectionPool);
+
+        /**
+         * Configure the {@link SdkDnsResolver} used to resolve the addresses of the hosts that connections are made to. Each
+         * new connection is made to the first address returned by the resolver, and addresses that cannot be connected to
+         * are reported back to it with {@link SdkDnsResolver#reportConnectFailure(String, java.net.InetAddress)}.
+         * <p>
+         * Resolution is performed on the event loop of the connection, so the resolver should avoid blocking. Use
+         * {@link software.amazon.awssdk.http.CachingDnsResolver} to cache addresses and spread connections across all the
+         * addresses of a host. By default, addresses are resolved by the JVM on every new connection.
+         */
+        Builder dnsResolver(SdkDnsResolver dnsResolver);
+
+        /**
+         * Configure whether response content is published as read-only views of the pooled buffers it was read into,
+         * instead of being copied into a new heap {@link java.nio.ByteBuffer} for every chunk. This avoids the copy and the
+         * garbage it creates when downloading large amounts of data.
+         * <p>
+         * When enabled, every buffer published to the response handler <b>must</b> be released with
+         * {@link software.amazon.awssdk.utils.async.PooledByteBuffers#release(java.nio.ByteBuffer)} once it has been
+         * consumed, or its memory is never returned to the pool. The buffer must not be read after it is released. The
+         * response transformers provided by the SDK release the buffers they consume; custom response transformers and
+         * subscribers must do the same before this is enabled. By default, this is disabled.
+         */
+        Builder usePooledResponseBuffers(Boolean usePooledResponseBuffers);
+
         /**
          * Sets the {@link SdkEventLoopGroup} to use for the Netty HTTP client. This event loop group may be shared
          * across multiple HTTP clients for better resource and thread utilization. The preferred way to create
@@ -494,6 +580,8 @@ public final class NettyNioAsyncHttpClient implements SdkAsyncHttpClient {
         private Http2Configuration http2Configuration;
         private SslProvider sslProvider;
         private ProxyConfiguration proxyConfiguration;
+        private Boolean useEventLoopAffinityConnectionPool;
+        private SdkDnsResolver dnsResolver;
 
         private DefaultBuilder() {
         }
@@ -518,6 +606,16 @@ public final class NettyNioAsyncHttpClient implements SdkAsyncHttpClient {
             maxPendingConnectionAcquires(maxPendingAcquires);
         }
 
+        @Override
+        public Builder minimumIdleConnections(Integer minimumIdleConnections) {
+            standardOptions.put(SdkHttpConfigurationOption.MIN_IDLE_CONNECTIONS, minimumIdleConnections);
+            return this;
+        }
+
+        public void setMinimumIdleConnections(Integer minimumIdleConnections) {
+            minimumIdleConnections(minimumIdleConnections);
+        }
+
         @Override
         public Builder readTimeout(Duration readTimeout) {
             Validate.isNotNegative(readTimeout, "readTimeout");
@@ -594,6 +692,36 @@ public final class NettyNioAsyncHttpClient implements SdkAsyncHttpClient {
             useIdleConnectionReaper(useIdleConnectionReaper);
         }
 
+        @Override
+        public Builder useEventLoopAffinityConnectionPool(Boolean useEventLoopAffinityConnectionPool) {
+            this.useEventLoopAffinityConnectionPool = useEventLoopAffinityConnectionPool;
+            return this;
+        }
+
+        public void setUseEventLoopAffinityConnectionPool(Boolean useEventLoopAffinityConnectionPool) {
+            useEventLoopAffinityConnectionPool(useEventLoopAffinityConnectionPool);
+        }
+
+        @Override
+        public Builder dnsResolver(SdkDnsResolver dnsResolver) {
+            this.dnsResolver = dnsResolver;
+            return this;
+        }
+
+        public void setDnsResolver(SdkDnsResolver dnsResolver) {
+            dnsResolver(dnsResolver);
+        }
+
+        @Override
+        public Builder usePooledResponseBuffers(Boolean usePooledResponseBuffers) {
+            standardOptions.put(NettyConfiguration.POOLED_RESPONSE_BUFFERS, usePooledResponseBuffers);
+            return this;
+        }
+
+        public void setUsePooledResponseBuffers(Boolean usePooledResponseBuffers) {
+            usePooledResponseBuffers(usePooledResponseBuffers);
+        }
+
         @Override
         public Builder tlsNegotiationTimeout(Duration tlsNegotiationTimeout) {
             Validate.isPositive(tlsNegotiationTimeout, "tlsNegotiationTimeout");
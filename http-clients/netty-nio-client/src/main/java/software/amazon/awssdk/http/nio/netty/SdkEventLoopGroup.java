@@ -18,11 +18,10 @@ package software.amazon.awssdk.http.nio.netty;
 import io.netty.channel.Channel;
 import io.netty.channel.ChannelFactory;
 import io.netty.channel.EventLoopGroup;
-import io.netty.channel.nio.NioEventLoopGroup;
-import io.netty.channel.socket.nio.NioSocketChannel;
 import java.util.Optional;
 import java.util.concurrent.ThreadFactory;
 import software.amazon.awssdk.annotations.SdkPublicApi;
+import software.amazon.awssdk.http.nio.netty.internal.utils.NativeTransports;
 import software.amazon.awssdk.http.nio.netty.internal.utils.SocketChannelResolver;
 import software.amazon.awssdk.utils.ThreadFactoryBuilder;
 import software.amazon.awssdk.utils.Validate;
@@ -76,7 +75,7 @@ public final class SdkEventLoopGroup {
      */
     private SdkEventLoopGroup(DefaultBuilder builder) {
         this.eventLoopGroup = resolveEventLoopGroup(builder);
-        this.channelFactory = resolveChannelFactory();
+        this.channelFactory = SocketChannelResolver.resolveSocketChannelFactory(eventLoopGroup);
     }
 
     /**
@@ -129,21 +128,8 @@ public final class SdkEventLoopGroup {
                                               .orElseGet(() -> new ThreadFactoryBuilder()
                                                   .threadNamePrefix("aws-java-sdk-NettyEventLoop")
                                                   .build());
-        return new NioEventLoopGroup(numThreads, threadFactory);
-        /*
-        Need to investigate why epoll is raising channel inactive after successful response that causes
-        problems with retries.
-
-        if (Epoll.isAvailable() && isNotAwsLambda()) {
-            return new EpollEventLoopGroup(numThreads, resolveThreadFactory());
-        } else {
-
-        }*/
-    }
-
-    private ChannelFactory<? extends Channel> resolveChannelFactory() {
-        // Currently we only support NioEventLoopGroup
-        return NioSocketChannel::new;
+        TransportType transportType = Optional.ofNullable(builder.transportType).orElse(TransportType.NIO);
+        return NativeTransports.newEventLoopGroup(transportType, numThreads, threadFactory);
     }
 
     /**
@@ -172,6 +158,20 @@ public final class SdkEventLoopGroup {
          */
         Builder threadFactory(ThreadFactory threadFactory);
 
+        /**
+         * The {@link TransportType} used by the {@link EventLoopGroup} and its channels. The native Linux transports avoid
+         * the overhead of the Java NIO selector, reducing system calls and garbage on busy clients.
+         *
+         * <p>{@link TransportType#AUTO} selects the best transport available at runtime, falling back to
+         * {@link TransportType#NIO}. Selecting {@link TransportType#EPOLL} or {@link TransportType#IO_URING} explicitly fails
+         * with an {@link IllegalStateException} when building if the transport is not available. If not set,
+         * {@link TransportType#NIO} is used.
+         *
+         * @param transportType Transport to use.
+         * @return This builder for method chaining.
+         */
+        Builder transportType(TransportType transportType);
+
         SdkEventLoopGroup build();
     }
 
@@ -179,6 +179,7 @@ public final class SdkEventLoopGroup {
 
         private Integer numberOfThreads;
         private ThreadFactory threadFactory;
+        private TransportType transportType;
 
         private DefaultBuilder() {
         }
@@ -203,6 +204,16 @@ public final class SdkEventLoopGroup {
             threadFactory(threadFactory);
         }
 
+        @Override
+        public Builder transportType(TransportType transportType) {
+            this.transportType = transportType;
+            return this;
+        }
+
+        public void setTransportType(TransportType transportType) {
+            transportType(transportType);
+        }
+
         @Override
         public SdkEventLoopGroup build() {
             return new SdkEventLoopGroup(this);
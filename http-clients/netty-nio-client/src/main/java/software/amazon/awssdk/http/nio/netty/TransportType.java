@@ -0,0 +1,49 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+
+package software.amazon.awssdk.http.nio.netty;
+
+import software.amazon.awssdk.annotations.SdkPublicApi;
+
+/**
+ * The Netty transport used by the event loops and channels of an {@link SdkEventLoopGroup}.
+ *
+ * @see SdkEventLoopGroup.Builder#transportType(TransportType)
+ */
+@SdkPublicApi
+public enum TransportType {
+    /**
+     * The Java NIO transport, which is available on every platform.
+     */
+    NIO,
+
+    /**
+     * The native Linux epoll transport.
+     */
+    EPOLL,
+
+    /**
+     * The native Linux io_uring transport. This requires the {@code netty-incubator-transport-native-io_uring} library on
+     * the classpath and a kernel with io_uring support.
+     */
+    IO_URING,
+
+    /**
+     * The best transport available at runtime: {@link #IO_URING} if it is available, then {@link #EPOLL}, falling back to
+     * {@link #NIO}.
+     */
+    AUTO
+}
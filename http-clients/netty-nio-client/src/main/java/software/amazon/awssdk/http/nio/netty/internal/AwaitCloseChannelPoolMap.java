@@ -38,6 +38,7 @@ import java.util.function.Function;
 import software.amazon.awssdk.annotations.SdkInternalApi;
 import software.amazon.awssdk.annotations.SdkTestInternalApi;
 import software.amazon.awssdk.http.Protocol;
+import software.amazon.awssdk.http.SdkDnsResolver;
 import software.amazon.awssdk.http.nio.netty.ProxyConfiguration;
 import software.amazon.awssdk.http.nio.netty.SdkEventLoopGroup;
 import software.amazon.awssdk.http.nio.netty.internal.http2.HttpOrHttp2ChannelPool;
@@ -68,7 +69,7 @@ public final class AwaitCloseChannelPoolMap extends SdkChannelPoolMap<URI, Simpl
     // IMPORTANT: If the default bootstrap provider is changed, ensure that the new implementation is compliant with
     // DNS resolver testing in BootstrapProviderTest, specifically that no caching of hostname lookups is taking place.
     private static final Function<Builder, BootstrapProvider> DEFAULT_BOOTSTRAP_PROVIDER =
-        b -> new BootstrapProvider(b.sdkEventLoopGroup, b.configuration, b.sdkChannelOptions);
+        b -> new BootstrapProvider(b.sdkEventLoopGroup, b.configuration, b.sdkChannelOptions, b.dnsResolver);
 
     private final Map<URI, Boolean> shouldProxyForHostCache = new ConcurrentHashMap<>();
 
@@ -80,6 +81,8 @@ public final class AwaitCloseChannelPoolMap extends SdkChannelPoolMap<URI, Simpl
     private final int initialWindowSize;
     private final SslProvider sslProvider;
     private final ProxyConfiguration proxyConfiguration;
+    private final boolean useEventLoopAffinityPool;
+    private final SdkDnsResolver dnsResolver;
     private final BootstrapProvider bootstrapProvider;
     private final SslContextProvider sslContextProvider;
 
@@ -91,6 +94,8 @@ public final class AwaitCloseChannelPoolMap extends SdkChannelPoolMap<URI, Simpl
         this.initialWindowSize = builder.initialWindowSize;
         this.sslProvider = builder.sslProvider;
         this.proxyConfiguration = builder.proxyConfiguration;
+        this.useEventLoopAffinityPool = builder.useEventLoopAffinityPool;
+        this.dnsResolver = builder.dnsResolver;
         this.bootstrapProvider = createBootStrapProvider.apply(builder);
         this.sslContextProvider = new SslContextProvider(configuration, protocol, sslProvider);
     }
@@ -130,7 +135,17 @@ public final class AwaitCloseChannelPoolMap extends SdkChannelPoolMap<URI, Simpl
                                                                                         healthCheckPingPeriod,
                                                                                         channelPoolRef,
                                                                                         configuration,
-                                                                                        key);
+                                                                                        key,
+                                                                                        dnsConnectFailureHandler(key));
+
+        if (useEventLoopAffinityPool && protocol == Protocol.HTTP1_1 && !shouldUseProxyForHost(key)) {
+            EventLoopAffinityChannelPool http1ChannelPool = new EventLoopAffinityChannelPool(bootstrap,
+                                                                                             pipelineInitializer,
+                                                                                             configuration);
+            SdkChannelPool wrappedPool = wrapMinimumIdleChannelPool(bootstrap, http1ChannelPool);
+            channelPoolRef.set(wrappedPool);
+            return new SimpleChannelPoolAwareChannelPool(wrappedPool, http1ChannelPool.closeFuture());
+        }
 
         BetterSimpleChannelPool tcpChannelPool;
         ChannelPool baseChannelPool;
@@ -164,7 +179,7 @@ public final class AwaitCloseChannelPoolMap extends SdkChannelPoolMap<URI, Simpl
 
         try {
             CompletableFuture.allOf(channelPools.stream()
-                                                .map(pool -> pool.underlyingSimpleChannelPool().closeFuture())
+                                                .map(SimpleChannelPoolAwareChannelPool::closeFuture)
                                                 .toArray(CompletableFuture[]::new))
                              .get(CHANNEL_POOL_CLOSE_TIMEOUT_SECONDS, TimeUnit.SECONDS);
         } catch (InterruptedException e) {
@@ -175,6 +190,13 @@ public final class AwaitCloseChannelPoolMap extends SdkChannelPoolMap<URI, Simpl
         }
     }
 
+    private DnsConnectFailureHandler dnsConnectFailureHandler(URI poolKey) {
+        if (dnsResolver == null) {
+            return null;
+        }
+        return new DnsConnectFailureHandler(dnsResolver, bootstrapHost(poolKey));
+    }
+
     private Bootstrap createBootstrap(URI poolKey) {
         String host = bootstrapHost(poolKey);
         int port = bootstrapPort(poolKey);
@@ -250,7 +272,18 @@ public final class AwaitCloseChannelPoolMap extends SdkChannelPoolMap<URI, Simpl
         // from the underlying pool, the channel is closed and released.
         sdkChannelPool = new CancellableAcquireChannelPool(bootstrap.config().group().next(), sdkChannelPool);
 
-        return sdkChannelPool;
+        return wrapMinimumIdleChannelPool(bootstrap, sdkChannelPool);
+    }
+
+    /**
+     * Wrap the channel pool such that it keeps the configured minimum number of idle connections open. Without a minimum, the
+     * pool is returned as is, so that acquisitions do not pay for tracking connections.
+     */
+    private SdkChannelPool wrapMinimumIdleChannelPool(Bootstrap bootstrap, SdkChannelPool channelPool) {
+        if (configuration.minimumIdleConnections() == 0) {
+            return channelPool;
+        }
+        return new MinimumIdleChannelPool(channelPool, bootstrap.config().group().next(), protocol, configuration);
     }
 
     private boolean needSslContext(URI targetAddress) {
@@ -272,6 +305,8 @@ public final class AwaitCloseChannelPoolMap extends SdkChannelPoolMap<URI, Simpl
         private Duration healthCheckPingPeriod;
         private SslProvider sslProvider;
         private ProxyConfiguration proxyConfiguration;
+        private boolean useEventLoopAffinityPool;
+        private SdkDnsResolver dnsResolver;
 
         private Builder() {
         }
@@ -321,6 +356,16 @@ public final class AwaitCloseChannelPoolMap extends SdkChannelPoolMap<URI, Simpl
             return this;
         }
 
+        public Builder useEventLoopAffinityPool(boolean useEventLoopAffinityPool) {
+            this.useEventLoopAffinityPool = useEventLoopAffinityPool;
+            return this;
+        }
+
+        public Builder dnsResolver(SdkDnsResolver dnsResolver) {
+            this.dnsResolver = dnsResolver;
+            return this;
+        }
+
         public AwaitCloseChannelPoolMap build() {
             return new AwaitCloseChannelPoolMap(this);
         }
@@ -19,26 +19,38 @@ import io.netty.bootstrap.Bootstrap;
 import io.netty.channel.ChannelOption;
 import java.net.InetSocketAddress;
 import software.amazon.awssdk.annotations.SdkInternalApi;
+import software.amazon.awssdk.annotations.SdkTestInternalApi;
+import software.amazon.awssdk.http.SdkDnsResolver;
 import software.amazon.awssdk.http.nio.netty.SdkEventLoopGroup;
 
 /**
  * The primary purpose of this Bootstrap provider is to ensure that all Bootstraps created by it are 'unresolved'
  * InetSocketAddress. This is to prevent Netty from caching the resolved address of a host and then re-using it in
- * subsequent connection attempts, and instead deferring to the JVM to handle address resolution and caching.
+ * subsequent connection attempts, and instead deferring to the JVM, or to the {@link SdkDnsResolver} configured on the
+ * client, to handle address resolution and caching.
  */
 @SdkInternalApi
 public class BootstrapProvider {
     private final SdkEventLoopGroup sdkEventLoopGroup;
     private final NettyConfiguration nettyConfiguration;
     private final SdkChannelOptions sdkChannelOptions;
-
+    private final SdkDnsAddressResolverGroup addressResolverGroup;
 
     BootstrapProvider(SdkEventLoopGroup sdkEventLoopGroup,
                       NettyConfiguration nettyConfiguration,
-                      SdkChannelOptions sdkChannelOptions) {
+                      SdkChannelOptions sdkChannelOptions,
+                      SdkDnsResolver dnsResolver) {
         this.sdkEventLoopGroup = sdkEventLoopGroup;
         this.nettyConfiguration = nettyConfiguration;
         this.sdkChannelOptions = sdkChannelOptions;
+        this.addressResolverGroup = dnsResolver != null ? new SdkDnsAddressResolverGroup(dnsResolver) : null;
+    }
+
+    @SdkTestInternalApi
+    BootstrapProvider(SdkEventLoopGroup sdkEventLoopGroup,
+                      NettyConfiguration nettyConfiguration,
+                      SdkChannelOptions sdkChannelOptions) {
+        this(sdkEventLoopGroup, nettyConfiguration, sdkChannelOptions, null);
     }
 
     /**
@@ -57,6 +69,9 @@ public class BootstrapProvider {
                 .option(ChannelOption.SO_KEEPALIVE, nettyConfiguration.tcpKeepAlive())
                 .remoteAddress(InetSocketAddress.createUnresolved(host, port));
         sdkChannelOptions.channelOptions().forEach(bootstrap::option);
+        if (addressResolverGroup != null) {
+            bootstrap.resolver(addressResolverGroup);
+        }
 
         return bootstrap;
     }
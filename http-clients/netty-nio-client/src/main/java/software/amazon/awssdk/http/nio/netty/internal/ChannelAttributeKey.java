@@ -111,6 +111,25 @@ public final class ChannelAttributeKey {
     static final AttributeKey<Boolean> CLOSE_ON_RELEASE = NettyUtils.getOrCreateAttributeKey(
             "aws.http.nio.netty.async.closeOnRelease");
 
+    /**
+     * How long it took to establish the connection. This is set on the connection (parent) channel by
+     * {@link ConnectionTimingHandler} and cleared by the first request that reports it.
+     */
+    static final AttributeKey<ConnectionTimingHandler.ConnectionTimings> CONNECTION_TIMINGS =
+        NettyUtils.getOrCreateAttributeKey("aws.http.nio.netty.async.connectionTimings");
+
+    /**
+     * The {@link System#nanoTime()} at which the current request started being written to the channel.
+     */
+    static final AttributeKey<Long> REQUEST_WRITE_START_NANOS = NettyUtils.getOrCreateAttributeKey(
+            "aws.http.nio.netty.async.requestWriteStartNanos");
+
+    /**
+     * Whether {@link MinimumIdleChannelPool} is already listening for this connection to be closed.
+     */
+    static final AttributeKey<Boolean> MINIMUM_IDLE_TRACKED = NettyUtils.getOrCreateAttributeKey(
+            "aws.http.nio.netty.async.minimumIdleTracked");
+
     private ChannelAttributeKey() {
     }
 
@@ -65,6 +65,7 @@ public final class ChannelPipelineInitializer extends AbstractChannelPoolHandler
     private final AtomicReference<ChannelPool> channelPoolRef;
     private final NettyConfiguration configuration;
     private final URI poolKey;
+    private final DnsConnectFailureHandler dnsConnectFailureHandler;
 
     public ChannelPipelineInitializer(Protocol protocol,
                                       SslContext sslCtx,
@@ -74,7 +75,8 @@ public final class ChannelPipelineInitializer extends AbstractChannelPoolHandler
                                       Duration healthCheckPingPeriod,
                                       AtomicReference<ChannelPool> channelPoolRef,
                                       NettyConfiguration configuration,
-                                      URI poolKey) {
+                                      URI poolKey,
+                                      DnsConnectFailureHandler dnsConnectFailureHandler) {
         this.protocol = protocol;
         this.sslCtx = sslCtx;
         this.sslProvider = sslProvider;
@@ -84,6 +86,7 @@ public final class ChannelPipelineInitializer extends AbstractChannelPoolHandler
         this.channelPoolRef = channelPoolRef;
         this.configuration = configuration;
         this.poolKey = poolKey;
+        this.dnsConnectFailureHandler = dnsConnectFailureHandler;
     }
 
     @Override
@@ -105,6 +108,12 @@ public final class ChannelPipelineInitializer extends AbstractChannelPoolHandler
             }
         }
 
+        if (dnsConnectFailureHandler != null) {
+            pipeline.addLast(dnsConnectFailureHandler);
+        }
+
+        pipeline.addLast(new ConnectionTimingHandler(sslCtx != null));
+
         if (protocol == Protocol.HTTP2) {
             configureHttp2(ch, pipeline);
         } else {
@@ -0,0 +1,140 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+
+package software.amazon.awssdk.http.nio.netty.internal;
+
+import static software.amazon.awssdk.http.nio.netty.internal.ChannelAttributeKey.CONNECTION_TIMINGS;
+
+import io.netty.channel.ChannelDuplexHandler;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelPromise;
+import io.netty.handler.ssl.SslHandshakeCompletionEvent;
+import java.net.SocketAddress;
+import java.time.Duration;
+import software.amazon.awssdk.annotations.SdkInternalApi;
+
+/**
+ * Records how long it took to resolve, connect and (optionally) complete the TLS handshake of a new connection. The timings
+ * are stored in the {@link ChannelAttributeKey#CONNECTION_TIMINGS} attribute of the channel once the connection is
+ * established, so that they can be reported by the first request made on it, and the handler then removes itself from the
+ * pipeline.
+ *
+ * <p>The handler is added to the pipeline when the channel is registered, before the bootstrap resolves the remote address,
+ * so the time between the handler being added and the connect operation reaching it is the DNS lookup time. If the channel
+ * is already active when the handler is added (e.g. a tunnel through a proxy), only the TLS handshake is timed.
+ */
+@SdkInternalApi
+public final class ConnectionTimingHandler extends ChannelDuplexHandler {
+    private final boolean expectTlsHandshake;
+
+    private long addedNanos;
+    private long connectStartNanos;
+    private long connectedNanos;
+
+    public ConnectionTimingHandler(boolean expectTlsHandshake) {
+        this.expectTlsHandshake = expectTlsHandshake;
+    }
+
+    @Override
+    public void handlerAdded(ChannelHandlerContext ctx) {
+        addedNanos = System.nanoTime();
+        if (ctx.channel().isActive()) {
+            connectedNanos = addedNanos;
+            if (!expectTlsHandshake) {
+                ctx.pipeline().remove(this);
+            }
+        }
+    }
+
+    @Override
+    public void connect(ChannelHandlerContext ctx, SocketAddress remoteAddress, SocketAddress localAddress,
+                        ChannelPromise promise) {
+        connectStartNanos = System.nanoTime();
+        promise.addListener(f -> {
+            if (f.isSuccess()) {
+                connectedNanos = System.nanoTime();
+                if (!expectTlsHandshake) {
+                    complete(ctx, null);
+                }
+            }
+        });
+        ctx.connect(remoteAddress, localAddress, promise);
+    }
+
+    @Override
+    public void userEventTriggered(ChannelHandlerContext ctx, Object evt) {
+        ctx.fireUserEventTriggered(evt);
+        if (evt instanceof SslHandshakeCompletionEvent && ((SslHandshakeCompletionEvent) evt).isSuccess()) {
+            complete(ctx, Duration.ofNanos(System.nanoTime() - connectedNanos));
+        }
+    }
+
+    private void complete(ChannelHandlerContext ctx, Duration tlsHandshakeDuration) {
+        Duration dnsLookupDuration = null;
+        Duration tcpConnectDuration = null;
+        if (connectStartNanos != 0) {
+            dnsLookupDuration = Duration.ofNanos(connectStartNanos - addedNanos);
+            tcpConnectDuration = Duration.ofNanos(connectedNanos - connectStartNanos);
+        }
+
+        ctx.channel().attr(CONNECTION_TIMINGS).set(new ConnectionTimings(dnsLookupDuration,
+                                                                         tcpConnectDuration,
+                                                                         tlsHandshakeDuration,
+                                                                         System.nanoTime()));
+        if (!ctx.isRemoved()) {
+            ctx.pipeline().remove(this);
+        }
+    }
+
+    /**
+     * The phases of establishing a connection, as recorded by {@link ConnectionTimingHandler}. A phase that was not timed
+     * (e.g. the TLS handshake of a plain-text connection) is null.
+     */
+    @SdkInternalApi
+    public static final class ConnectionTimings {
+        private final Duration dnsLookupDuration;
+        private final Duration tcpConnectDuration;
+        private final Duration tlsHandshakeDuration;
+        private final long establishedNanos;
+
+        ConnectionTimings(Duration dnsLookupDuration, Duration tcpConnectDuration, Duration tlsHandshakeDuration,
+                          long establishedNanos) {
+            this.dnsLookupDuration = dnsLookupDuration;
+            this.tcpConnectDuration = tcpConnectDuration;
+            this.tlsHandshakeDuration = tlsHandshakeDuration;
+            this.establishedNanos = establishedNanos;
+        }
+
+        public Duration dnsLookupDuration() {
+            return dnsLookupDuration;
+        }
+
+        public Duration tcpConnectDuration() {
+            return tcpConnectDuration;
+        }
+
+        public Duration tlsHandshakeDuration() {
+            return tlsHandshakeDuration;
+        }
+
+        /**
+         * The {@link System#nanoTime()} at which the connection became ready to send requests.
+         */
+        public long establishedNanos() {
+            return establishedNanos;
+        }
+    }
+}
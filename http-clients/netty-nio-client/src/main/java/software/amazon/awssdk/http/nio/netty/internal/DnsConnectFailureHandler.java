@@ -0,0 +1,58 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+
+package software.amazon.awssdk.http.nio.netty.internal;
+
+import io.netty.channel.ChannelHandler;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelOutboundHandlerAdapter;
+import io.netty.channel.ChannelPromise;
+import java.net.InetSocketAddress;
+import java.net.SocketAddress;
+import software.amazon.awssdk.annotations.SdkInternalApi;
+import software.amazon.awssdk.http.SdkDnsResolver;
+
+/**
+ * Reports the resolved address of a connection that could not be established to the {@link SdkDnsResolver} that returned
+ * it, so that the resolver can stop handing it out. The handler removes itself from the pipeline once the connect operation
+ * has been issued.
+ */
+@SdkInternalApi
+@ChannelHandler.Sharable
+public final class DnsConnectFailureHandler extends ChannelOutboundHandlerAdapter {
+    private final SdkDnsResolver dnsResolver;
+    private final String host;
+
+    public DnsConnectFailureHandler(SdkDnsResolver dnsResolver, String host) {
+        this.dnsResolver = dnsResolver;
+        this.host = host;
+    }
+
+    @Override
+    public void connect(ChannelHandlerContext ctx, SocketAddress remoteAddress, SocketAddress localAddress,
+                        ChannelPromise promise) {
+        if (remoteAddress instanceof InetSocketAddress && !((InetSocketAddress) remoteAddress).isUnresolved()) {
+            InetSocketAddress address = (InetSocketAddress) remoteAddress;
+            promise.addListener(f -> {
+                if (!f.isSuccess()) {
+                    dnsResolver.reportConnectFailure(host, address.getAddress());
+                }
+            });
+        }
+        ctx.connect(remoteAddress, localAddress, promise);
+        ctx.pipeline().remove(this);
+    }
+}
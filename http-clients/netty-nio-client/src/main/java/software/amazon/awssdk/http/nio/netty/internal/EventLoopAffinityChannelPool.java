@@ -0,0 +1,459 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+
+package software.amazon.awssdk.http.nio.netty.internal;
+
+import static software.amazon.awssdk.http.nio.netty.internal.ChannelAttributeKey.CLOSE_ON_RELEASE;
+import static software.amazon.awssdk.http.nio.netty.internal.ChannelAttributeKey.KEEP_ALIVE;
+import static software.amazon.awssdk.http.nio.netty.internal.utils.NettyUtils.doInEventLoop;
+
+import io.netty.bootstrap.Bootstrap;
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelFuture;
+import io.netty.channel.ChannelInitializer;
+import io.netty.channel.EventLoop;
+import io.netty.channel.EventLoopGroup;
+import io.netty.channel.pool.ChannelPoolHandler;
+import io.netty.util.AttributeKey;
+import io.netty.util.concurrent.EventExecutor;
+import io.netty.util.concurrent.Future;
+import io.netty.util.concurrent.Promise;
+import io.netty.util.concurrent.ScheduledFuture;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import software.amazon.awssdk.annotations.SdkInternalApi;
+import software.amazon.awssdk.http.HttpMetric;
+import software.amazon.awssdk.http.nio.netty.internal.utils.NettyUtils;
+import software.amazon.awssdk.metrics.MetricCollector;
+import software.amazon.awssdk.utils.Logger;
+import software.amazon.awssdk.utils.Validate;
+
+/**
+ * An HTTP/1.1 {@link SdkChannelPool} that keeps idle channels per {@link EventLoop} and acquires and releases them without
+ * locks or event loop hand-offs.
+ *
+ * <p>This pool replaces the chain of {@code BetterFixedChannelPool}, {@link IdleConnectionCountingChannelPool},
+ * {@link HonorCloseOnReleaseChannelPool}, {@link HandlerRemovingChannelPool}, {@link ReleaseOnceChannelPool},
+ * {@link HealthCheckedChannelPool} and {@link CancellableAcquireChannelPool} used by default, and provides the same guarantees:
+ * <ul>
+ *     <li>At most {@code maxConnections} connections are open, and at most {@code maxPendingAcquires} acquires wait for one
+ *     to become available, each for at most {@code acquireTimeoutMillis}.</li>
+ *     <li>Only active, keep-alive channels are handed out. Unhealthy channels, and channels marked with
+ *     {@link ChannelAttributeKey#CLOSE_ON_RELEASE}, are closed when released.</li>
+ *     <li>Per request handlers are removed when a channel is released, and a channel is only released once per acquire.</li>
+ *     <li>If the promise given to {@link #acquire(Promise)} is already done when a channel is available, the channel is
+ *     returned to the pool.</li>
+ * </ul>
+ *
+ * <p>An acquire prefers an idle channel of the event loop it is called from (or of the next event loop of the group, if it is
+ * not called from one), so that requests issued from an event loop keep using channels of that event loop. New connections
+ * are registered with that same event loop. Channels of other event loops are used before a new connection is opened.
+ */
+@SdkInternalApi
+public final class EventLoopAffinityChannelPool implements SdkChannelPool {
+    private static final Logger log = Logger.loggerFor(EventLoopAffinityChannelPool.class);
+
+    /**
+     * Whether a channel is currently acquired from this pool. Used to release a channel only once per acquire.
+     */
+    private static final AttributeKey<AtomicBoolean> LEASED =
+        NettyUtils.getOrCreateAttributeKey("EventLoopAffinityChannelPool.LEASED");
+
+    private final Bootstrap bootstrap;
+    private final ChannelPoolHandler handler;
+    private final ChannelInitializer<Channel> channelInitializer;
+    private final EventLoopGroup eventLoopGroup;
+    private final int maxConnections;
+    private final int maxPendingAcquires;
+    private final long acquireTimeoutMillis;
+
+    private final ConcurrentMap<EventLoop, Deque<Channel>> idleChannels = new ConcurrentHashMap<>();
+    private final Queue<PendingAcquire> pendingAcquires = new ConcurrentLinkedQueue<>();
+
+    /**
+     * The number of connections that are open or being opened, whether idle or leased.
+     */
+    private final AtomicInteger connectionCount = new AtomicInteger();
+    private final AtomicInteger idleCount = new AtomicInteger();
+    private final AtomicInteger leasedCount = new AtomicInteger();
+    private final AtomicInteger pendingAcquireCount = new AtomicInteger();
+    private final CompletableFuture<Boolean> closeFuture = new CompletableFuture<>();
+    private volatile boolean closed;
+
+    public EventLoopAffinityChannelPool(Bootstrap bootstrap,
+                                        ChannelPoolHandler handler,
+                                        NettyConfiguration configuration) {
+        this.bootstrap = Validate.paramNotNull(bootstrap, "bootstrap");
+        this.handler = Validate.paramNotNull(handler, "handler");
+        this.channelInitializer = new ChannelInitializer<Channel>() {
+            @Override
+            protected void initChannel(Channel ch) throws Exception {
+                handler.channelCreated(ch);
+            }
+        };
+        this.eventLoopGroup = bootstrap.config().group();
+        this.maxConnections = Validate.isPositive(configuration.maxConnections(), "maxConnections");
+        this.maxPendingAcquires = Validate.isPositive(configuration.maxPendingConnectionAcquires(),
+                                                      "maxPendingConnectionAcquires");
+        this.acquireTimeoutMillis = configuration.connectionAcquireTimeoutMillis();
+    }
+
+    @Override
+    public Future<Channel> acquire() {
+        return acquire(preferredEventLoop().newPromise());
+    }
+
+    @Override
+    public Future<Channel> acquire(Promise<Channel> promise) {
+        if (closed) {
+            promise.tryFailure(new IllegalStateException("Channel pool is closed!"));
+            return promise;
+        }
+
+        EventLoop eventLoop = preferredEventLoop();
+        Channel channel = pollIdleChannel(eventLoop);
+        if (channel != null) {
+            lease(channel, promise);
+        } else if (tryReserveConnection()) {
+            connect(eventLoop, promise);
+        } else {
+            addPendingAcquire(eventLoop, promise);
+        }
+        return promise;
+    }
+
+    @Override
+    public Future<Void> release(Channel channel) {
+        return release(channel, channel.eventLoop().newPromise());
+    }
+
+    @Override
+    public Future<Void> release(Channel channel, Promise<Void> promise) {
+        AtomicBoolean leased = channel.attr(LEASED).get();
+        if (leased == null || !leased.compareAndSet(true, false)) {
+            // Not acquired from this pool, or already released.
+            promise.trySuccess(null);
+            return promise;
+        }
+
+        leasedCount.decrementAndGet();
+        doInEventLoop(channel.eventLoop(), () -> {
+            HandlerRemovingChannelPool.removePerRequestHandlersNow(channel);
+            try {
+                handler.channelReleased(channel);
+            } catch (Exception e) {
+                log.debug(() -> "Channel pool handler failed on release of " + channel, e);
+            }
+
+            if (closed || !isHealthy(channel) || Boolean.TRUE.equals(channel.attr(CLOSE_ON_RELEASE).get())) {
+                log.debug(() -> "Closing connection (" + channel.id() + "), instead of releasing it.");
+                channel.close();
+            } else {
+                offerIdleChannel(channel);
+                if (closed && idleChannels.get(channel.eventLoop()).remove(channel)) {
+                    // The pool was closed after the check above, and may have missed this channel.
+                    idleCount.decrementAndGet();
+                    channel.close();
+                }
+            }
+            promise.trySuccess(null);
+            drainPendingAcquires();
+        }, promise);
+        return promise;
+    }
+
+    @Override
+    public void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+
+        PendingAcquire pendingAcquire;
+        while ((pendingAcquire = pendingAcquires.poll()) != null) {
+            pendingAcquireCount.decrementAndGet();
+            pendingAcquire.promise.tryFailure(new IllegalStateException("Channel pool is closed!"));
+        }
+
+        List<CompletableFuture<Void>> channelCloseFutures = new ArrayList<>();
+        idleChannels.values().forEach(channels -> {
+            Channel channel;
+            while ((channel = channels.pollFirst()) != null) {
+                idleCount.decrementAndGet();
+                CompletableFuture<Void> channelCloseFuture = new CompletableFuture<>();
+                channel.close().addListener(f -> channelCloseFuture.complete(null));
+                channelCloseFutures.add(channelCloseFuture);
+            }
+        });
+
+        CompletableFuture.allOf(channelCloseFutures.toArray(new CompletableFuture[0]))
+                         .whenComplete((r, t) -> closeFuture.complete(true));
+    }
+
+    /**
+     * @return A future that is completed once the pool is closed and its idle channels have been closed.
+     */
+    public CompletableFuture<Boolean> closeFuture() {
+        return closeFuture;
+    }
+
+    @Override
+    public CompletableFuture<Void> collectChannelPoolMetrics(MetricCollector metrics) {
+        metrics.reportMetric(HttpMetric.MAX_CONCURRENCY, maxConnections);
+        metrics.reportMetric(HttpMetric.AVAILABLE_CONCURRENCY, Math.max(idleCount.get(), 0));
+        metrics.reportMetric(HttpMetric.LEASED_CONCURRENCY, leasedCount.get());
+        metrics.reportMetric(HttpMetric.PENDING_CONCURRENCY_ACQUIRES, pendingAcquireCount.get());
+        return CompletableFuture.completedFuture(null);
+    }
+
+    /**
+     * The event loop of the calling thread if it belongs to this pool's group, otherwise the next event loop of the group.
+     */
+    private EventLoop preferredEventLoop() {
+        for (EventExecutor executor : eventLoopGroup) {
+            if (executor.inEventLoop() && executor instanceof EventLoop) {
+                return (EventLoop) executor;
+            }
+        }
+        return eventLoopGroup.next();
+    }
+
+    /**
+     * Take a healthy idle channel, preferring the given event loop, closing any unhealthy channels found on the way.
+     *
+     * @return The channel, or null if there are no healthy idle channels.
+     */
+    private Channel pollIdleChannel(EventLoop preferredEventLoop) {
+        Deque<Channel> preferred = idleChannels.get(preferredEventLoop);
+        Channel channel = pollHealthyChannel(preferred);
+        if (channel != null) {
+            return channel;
+        }
+
+        for (Deque<Channel> channels : idleChannels.values()) {
+            if (channels != preferred) {
+                channel = pollHealthyChannel(channels);
+                if (channel != null) {
+                    return channel;
+                }
+            }
+        }
+        return null;
+    }
+
+    private Channel pollHealthyChannel(Deque<Channel> channels) {
+        if (channels == null) {
+            return null;
+        }
+
+        Channel channel;
+        // Most recently released first, as it is the least likely to have been closed by the server
+        while ((channel = channels.pollFirst()) != null) {
+            idleCount.decrementAndGet();
+            if (isHealthy(channel)) {
+                return channel;
+            }
+            channel.close();
+        }
+        return null;
+    }
+
+    private void offerIdleChannel(Channel channel) {
+        idleCount.incrementAndGet();
+        idleChannels.computeIfAbsent(channel.eventLoop(), e -> new ConcurrentLinkedDeque<>()).offerFirst(channel);
+    }
+
+    private boolean tryReserveConnection() {
+        while (true) {
+            int current = connectionCount.get();
+            if (current >= maxConnections) {
+                return false;
+            }
+            if (connectionCount.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Open a new connection registered with the given event loop, using a connection reserved by
+     * {@link #tryReserveConnection()}.
+     */
+    private void connect(EventLoop eventLoop, Promise<Channel> promise) {
+        ChannelFuture connectFuture;
+        try {
+            connectFuture = bootstrap.clone(eventLoop).handler(channelInitializer).connect();
+        } catch (Throwable t) {
+            connectionFailed(promise, t);
+            return;
+        }
+
+        connectFuture.addListener(f -> {
+            if (!f.isSuccess()) {
+                connectionFailed(promise, f.cause());
+                return;
+            }
+
+            Channel channel = connectFuture.channel();
+            channel.attr(LEASED).set(new AtomicBoolean());
+            channel.closeFuture().addListener(c -> channelClosed(channel));
+            if (closed) {
+                channel.close();
+                promise.tryFailure(new IllegalStateException("Channel pool is closed!"));
+                return;
+            }
+            lease(channel, promise);
+        });
+    }
+
+    private void connectionFailed(Promise<Channel> promise, Throwable cause) {
+        connectionCount.decrementAndGet();
+        promise.tryFailure(cause);
+        drainPendingAcquires();
+    }
+
+    private void channelClosed(Channel channel) {
+        connectionCount.decrementAndGet();
+        Deque<Channel> channels = idleChannels.get(channel.eventLoop());
+        if (channels != null && channels.remove(channel)) {
+            idleCount.decrementAndGet();
+        }
+        drainPendingAcquires();
+    }
+
+    /**
+     * Hand out the channel to the promise, or return it to the pool if the promise is already done.
+     */
+    private void lease(Channel channel, Promise<Channel> promise) {
+        channel.attr(LEASED).get().set(true);
+        leasedCount.incrementAndGet();
+        try {
+            handler.channelAcquired(channel);
+        } catch (Exception e) {
+            log.debug(() -> "Channel pool handler failed on acquire of " + channel, e);
+        }
+
+        if (!promise.trySuccess(channel)) {
+            release(channel);
+        }
+    }
+
+    private void addPendingAcquire(EventLoop eventLoop, Promise<Channel> promise) {
+        if (pendingAcquireCount.incrementAndGet() > maxPendingAcquires) {
+            pendingAcquireCount.decrementAndGet();
+            promise.tryFailure(new IllegalStateException("Too many outstanding acquire operations"));
+            return;
+        }
+
+        PendingAcquire pendingAcquire = new PendingAcquire(eventLoop, promise);
+        pendingAcquires.offer(pendingAcquire);
+
+        ScheduledFuture<?> timeoutFuture = eventLoop.schedule(() -> {
+            promise.tryFailure(new TimeoutException("Acquire operation took longer than configured maximum time"));
+        }, acquireTimeoutMillis, TimeUnit.MILLISECONDS);
+
+        promise.addListener(f -> {
+            timeoutFuture.cancel(false);
+            if (pendingAcquires.remove(pendingAcquire)) {
+                pendingAcquireCount.decrementAndGet();
+            }
+        });
+
+        // A channel may have been released, or a connection closed, between the checks in acquire and the offer above.
+        drainPendingAcquires();
+    }
+
+    /**
+     * Hand out idle channels and new connections to pending acquires, for as long as there are both.
+     *
+     * <p>This is called after every change that could let a pending acquire proceed: adding a pending acquire, releasing a
+     * channel, closing a connection and failing to open one. Each caller makes its change before checking for pending
+     * acquires, so a pending acquire cannot be missed by all of them.
+     */
+    private void drainPendingAcquires() {
+        while (!closed && !pendingAcquires.isEmpty()) {
+            PendingAcquire next = pendingAcquires.peek();
+            if (next == null) {
+                return;
+            }
+
+            Channel channel = pollIdleChannel(next.eventLoop);
+            if (channel == null && !tryReserveConnection()) {
+                return;
+            }
+
+            PendingAcquire pendingAcquire = pollPendingAcquire();
+            if (pendingAcquire == null) {
+                // Another thread served the pending acquires. Give back what we took and check again.
+                if (channel != null) {
+                    offerIdleChannel(channel);
+                } else {
+                    connectionCount.decrementAndGet();
+                }
+                continue;
+            }
+
+            if (channel != null) {
+                lease(channel, pendingAcquire.promise);
+            } else {
+                connect(pendingAcquire.eventLoop, pendingAcquire.promise);
+            }
+        }
+    }
+
+    /**
+     * @return The oldest pending acquire that is not done yet, or null if there is none.
+     */
+    private PendingAcquire pollPendingAcquire() {
+        PendingAcquire pendingAcquire;
+        while ((pendingAcquire = pendingAcquires.poll()) != null) {
+            pendingAcquireCount.decrementAndGet();
+            if (!pendingAcquire.promise.isDone()) {
+                return pendingAcquire;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Determine whether the provided channel is 'healthy' enough to use.
+     */
+    private static boolean isHealthy(Channel channel) {
+        Boolean keepAlive = channel.attr(KEEP_ALIVE).get();
+        return (keepAlive == null || keepAlive) && channel.isActive();
+    }
+
+    private static final class PendingAcquire {
+        private final EventLoop eventLoop;
+        private final Promise<Channel> promise;
+
+        private PendingAcquire(EventLoop eventLoop, Promise<Channel> promise) {
+            this.eventLoop = eventLoop;
+            this.promise = promise;
+        }
+    }
+}
@@ -0,0 +1,75 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+
+package software.amazon.awssdk.http.nio.netty.internal;
+
+import io.netty.buffer.Unpooled;
+import io.netty.channel.ChannelHandler;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelOutboundHandlerAdapter;
+import io.netty.channel.ChannelPromise;
+import io.netty.channel.FileRegion;
+import io.netty.handler.codec.http.DefaultHttpContent;
+import software.amazon.awssdk.annotations.SdkInternalApi;
+
+/**
+ * Unwraps the {@link FileRegion} of a {@link FileRegionContent} so that it is written to the connection as is. The HTTP
+ * codec passes file regions through for requests with a content-length, and the transport then writes them with
+ * {@code sendfile}, without copying the file into user space.
+ * <p>
+ * The request body is published as {@link io.netty.handler.codec.http.HttpContent}, so the file regions are wrapped while
+ * they pass through the handlers that publish the body. This handler must be placed between the HTTP codec and those
+ * handlers.
+ */
+@SdkInternalApi
+@ChannelHandler.Sharable
+public final class FileRegionContentHandler extends ChannelOutboundHandlerAdapter {
+    private static final FileRegionContentHandler INSTANCE = new FileRegionContentHandler();
+
+    private FileRegionContentHandler() {
+    }
+
+    public static FileRegionContentHandler getInstance() {
+        return INSTANCE;
+    }
+
+    @Override
+    public void write(ChannelHandlerContext ctx, Object msg, ChannelPromise promise) {
+        if (msg instanceof FileRegionContent) {
+            ctx.write(((FileRegionContent) msg).fileRegion(), promise);
+        } else {
+            ctx.write(msg, promise);
+        }
+    }
+
+    /**
+     * Request content that is a region of a file. The content of the {@link io.netty.handler.codec.http.HttpContent} itself
+     * is empty.
+     */
+    @SdkInternalApi
+    public static final class FileRegionContent extends DefaultHttpContent {
+        private final FileRegion fileRegion;
+
+        public FileRegionContent(FileRegion fileRegion) {
+            super(Unpooled.EMPTY_BUFFER);
+            this.fileRegion = fileRegion;
+        }
+
+        public FileRegion fileRegion() {
+            return fileRegion;
+        }
+    }
+}
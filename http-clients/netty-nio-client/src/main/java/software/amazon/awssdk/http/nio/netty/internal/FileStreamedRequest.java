@@ -0,0 +1,203 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+
+package software.amazon.awssdk.http.nio.netty.internal;
+
+import io.netty.channel.DefaultFileRegion;
+import io.netty.handler.codec.http.HttpContent;
+import io.netty.handler.codec.http.HttpRequest;
+import io.netty.util.AbstractReferenceCounted;
+import io.netty.util.ReferenceCounted;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+import software.amazon.awssdk.annotations.SdkInternalApi;
+import software.amazon.awssdk.http.nio.netty.internal.FileRegionContentHandler.FileRegionContent;
+import software.amazon.awssdk.http.nio.netty.internal.nrs.StreamedHttpRequest;
+import software.amazon.awssdk.utils.IoUtils;
+
+/**
+ * A {@link StreamedHttpRequest} whose content is written directly from a region of a file, instead of from the
+ * {@link java.nio.ByteBuffer}s of the {@link software.amazon.awssdk.http.async.SdkHttpContentPublisher}.
+ * <p>
+ * The content is published as {@link DefaultFileRegion}s which the transport writes with {@code sendfile}, so this must only
+ * be used on plain-text HTTP/1.1 connections, see {@link FileRegionContentHandler}. Creating a file region doesn't read the
+ * file, so nothing blocks the event loop while the content is published. Connections that need the file content in user
+ * space, e.g. to encrypt it, use the publisher of the request instead, which reads the file asynchronously.
+ * <p>
+ * The content is published in chunks, on demand, so that the write timeout applies to each chunk rather than to the whole
+ * file. All chunks of a request share one {@link FileChannel}, which is closed once the request completes or fails and every
+ * chunk has been written or discarded. The subscription must only be used from the event loop of the channel.
+ */
+@SdkInternalApi
+final class FileStreamedRequest extends NettyRequestExecutor.DelegateHttpRequest implements StreamedHttpRequest {
+    private static final int FILE_REGION_CHUNK_SIZE = 8 * 1024 * 1024;
+
+    private final Path path;
+    private final long position;
+    private final long length;
+
+    FileStreamedRequest(HttpRequest request, Path path, long position, long length) {
+        super(request);
+        this.path = path;
+        this.position = position;
+        this.length = length;
+    }
+
+    @Override
+    public void subscribe(Subscriber<? super HttpContent> subscriber) {
+        subscriber.onSubscribe(new FileSubscription(subscriber));
+    }
+
+    private final class FileSubscription implements Subscription {
+        private final Subscriber<? super HttpContent> subscriber;
+        private final long end = position + length;
+
+        private long offset = position;
+        private long demand;
+        private boolean emitting;
+        private boolean done;
+        private SharedFileChannel file;
+
+        private FileSubscription(Subscriber<? super HttpContent> subscriber) {
+            this.subscriber = subscriber;
+        }
+
+        @Override
+        public void request(long n) {
+            if (done) {
+                return;
+            }
+            if (n <= 0) {
+                fail(new IllegalArgumentException("Demand must be positive"));
+                return;
+            }
+
+            demand = demand + n < 0 ? Long.MAX_VALUE : demand + n;
+
+            // Writes may complete, and request more content, while the content is being published
+            if (emitting) {
+                return;
+            }
+
+            emitting = true;
+            try {
+                while (demand > 0 && !done) {
+                    if (offset == end) {
+                        done = true;
+                        releaseFile();
+                        subscriber.onComplete();
+                        return;
+                    }
+
+                    HttpContent content = nextFileRegion();
+                    demand--;
+                    subscriber.onNext(content);
+                }
+            } catch (RuntimeException e) {
+                fail(e);
+            } finally {
+                emitting = false;
+            }
+        }
+
+        @Override
+        public void cancel() {
+            done = true;
+            releaseFile();
+        }
+
+        private HttpContent nextFileRegion() {
+            if (file == null) {
+                file = new SharedFileChannel(openFile());
+            }
+
+            long count = Math.min(FILE_REGION_CHUNK_SIZE, end - offset);
+            SharedFileRegion fileRegion = new SharedFileRegion(file, offset, count);
+            offset += count;
+            return new FileRegionContent(fileRegion);
+        }
+
+        private FileChannel openFile() {
+            try {
+                return FileChannel.open(path, StandardOpenOption.READ);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        /**
+         * Give up the subscription's reference to the file, which is closed once the chunks that were published are released.
+         */
+        private void releaseFile() {
+            if (file != null) {
+                file.release();
+                file = null;
+            }
+        }
+
+        private void fail(Throwable t) {
+            if (!done) {
+                done = true;
+                releaseFile();
+                subscriber.onError(t);
+            }
+        }
+    }
+
+    /**
+     * A file that is closed once the subscription and all chunks published from it have been released.
+     */
+    private static final class SharedFileChannel extends AbstractReferenceCounted {
+        private final FileChannel channel;
+
+        private SharedFileChannel(FileChannel channel) {
+            this.channel = channel;
+        }
+
+        @Override
+        protected void deallocate() {
+            IoUtils.closeQuietly(channel, null);
+        }
+
+        @Override
+        public ReferenceCounted touch(Object hint) {
+            return this;
+        }
+    }
+
+    /**
+     * A chunk of the file, which returns its reference to the shared file instead of closing it when it is released.
+     */
+    private static final class SharedFileRegion extends DefaultFileRegion {
+        private final SharedFileChannel file;
+
+        private SharedFileRegion(SharedFileChannel file, long position, long count) {
+            super(file.channel, position, count);
+            file.retain();
+            this.file = file;
+        }
+
+        @Override
+        protected void deallocate() {
+            file.release();
+        }
+    }
+}
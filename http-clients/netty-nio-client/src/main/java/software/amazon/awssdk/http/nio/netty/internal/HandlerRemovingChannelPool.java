@@ -72,22 +72,29 @@ public class HandlerRemovingChannelPool implements SdkChannelPool {
     }
 
     private Future<?> removePerRequestHandlers(Channel channel) {
-        return NettyUtils.doInEventLoop(channel.eventLoop(), () -> {
-            channel.attr(IN_USE).set(false);
+        return NettyUtils.doInEventLoop(channel.eventLoop(), () -> removePerRequestHandlersNow(channel));
+    }
+
+    /**
+     * Marks the channel as no longer in use and removes any per request handlers from its pipeline. This must be invoked
+     * from the channel's event loop.
+     */
+    static void removePerRequestHandlersNow(Channel channel) {
+        channel.attr(IN_USE).set(false);
 
-            // Only remove per request handler if the channel is registered
-            // or open since DefaultChannelPipeline would remove handlers if
-            // channel is closed and unregistered
-            if (channel.isOpen() || channel.isRegistered()) {
-                removeIfExists(channel.pipeline(),
-                               HttpStreamsClientHandler.class,
-                               LastHttpContentHandler.class,
-                               FlushOnReadHandler.class,
-                               ResponseHandler.class,
-                               ReadTimeoutHandler.class,
-                               WriteTimeoutHandler.class);
-            }
-        });
+        // Only remove per request handler if the channel is registered
+        // or open since DefaultChannelPipeline would remove handlers if
+        // channel is closed and unregistered
+        if (channel.isOpen() || channel.isRegistered()) {
+            removeIfExists(channel.pipeline(),
+                           HttpStreamsClientHandler.class,
+                           FileRegionContentHandler.class,
+                           LastHttpContentHandler.class,
+                           FlushOnReadHandler.class,
+                           ResponseHandler.class,
+                           ReadTimeoutHandler.class,
+                           WriteTimeoutHandler.class);
+        }
     }
 
     @Override
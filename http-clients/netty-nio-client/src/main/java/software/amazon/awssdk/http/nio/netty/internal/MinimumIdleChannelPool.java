@@ -0,0 +1,270 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+
+package software.amazon.awssdk.http.nio.netty.internal;
+
+import static software.amazon.awssdk.http.nio.netty.internal.ChannelAttributeKey.MINIMUM_IDLE_TRACKED;
+
+import io.netty.channel.Channel;
+import io.netty.channel.EventLoop;
+import io.netty.handler.ssl.SslHandler;
+import io.netty.util.concurrent.Future;
+import io.netty.util.concurrent.Promise;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+import software.amazon.awssdk.annotations.SdkInternalApi;
+import software.amazon.awssdk.http.HttpMetric;
+import software.amazon.awssdk.http.Protocol;
+import software.amazon.awssdk.metrics.MetricCollection;
+import software.amazon.awssdk.metrics.MetricCollector;
+import software.amazon.awssdk.metrics.SdkMetric;
+import software.amazon.awssdk.utils.Logger;
+
+/**
+ * A {@link SdkChannelPool} that keeps a minimum number of idle, fully established connections in the pool it wraps, so that a
+ * burst of requests does not have to pay for connection and TLS setup.
+ *
+ * <p>Connections are opened by acquiring channels from the wrapped pool all at once, waiting for their TLS handshakes to
+ * complete, and releasing them again. This happens when {@link #warmUp()} is invoked, when the pool is first used, and
+ * whenever a connection of the pool is closed, e.g. by the {@link IdleConnectionReaperHandler} or the
+ * {@link OldConnectionReaperHandler}. Top-ups never open more connections than {@code maxConnections} allows, and connections
+ * in use by requests do not count as idle.
+ *
+ * <p>For HTTP/2, where a single connection serves many requests, warming up only opens one connection and the pool is not
+ * topped up.
+ *
+ * <p>Pools are only wrapped in this pool when a minimum number of idle connections is configured. Other pools warm up with
+ * {@link SdkChannelPool#warmUp()}, which opens a single connection.
+ */
+@SdkInternalApi
+public final class MinimumIdleChannelPool implements SdkChannelPool {
+    private static final Logger log = Logger.loggerFor(MinimumIdleChannelPool.class);
+
+    /**
+     * How long to wait after a connection is closed before topping up the pool, so that a host that keeps closing connections
+     * is not reconnected to in a tight loop.
+     */
+    private static final long TOP_UP_DELAY_MILLIS = 1_000;
+
+    private final SdkChannelPool delegate;
+    private final EventLoop eventLoop;
+    private final Protocol protocol;
+    private final int minimumIdleConnections;
+    private final int maxConnections;
+    private final AtomicBoolean started = new AtomicBoolean(false);
+    private final AtomicBoolean topUpScheduled = new AtomicBoolean(false);
+    private volatile boolean hasConnected = false;
+    private volatile boolean closed = false;
+
+    public MinimumIdleChannelPool(SdkChannelPool delegate, EventLoop eventLoop, Protocol protocol,
+                                  NettyConfiguration configuration) {
+        this.delegate = delegate;
+        this.eventLoop = eventLoop;
+        this.protocol = protocol;
+        this.minimumIdleConnections = configuration.minimumIdleConnections();
+        this.maxConnections = configuration.maxConnections();
+    }
+
+    @Override
+    public Future<Channel> acquire() {
+        return acquire(eventLoop.newPromise());
+    }
+
+    @Override
+    public Future<Channel> acquire(Promise<Channel> promise) {
+        delegate.acquire(promise).addListener(f -> {
+            if (f.isSuccess()) {
+                track((Channel) f.getNow());
+            }
+        });
+
+        if (minimumIdleConnections > 0 && started.compareAndSet(false, true)) {
+            scheduleTopUp(0);
+        }
+        return promise;
+    }
+
+    @Override
+    public Future<Void> release(Channel channel) {
+        return delegate.release(channel);
+    }
+
+    @Override
+    public Future<Void> release(Channel channel, Promise<Void> promise) {
+        return delegate.release(channel, promise);
+    }
+
+    @Override
+    public void close() {
+        closed = true;
+        delegate.close();
+    }
+
+    @Override
+    public CompletableFuture<Void> collectChannelPoolMetrics(MetricCollector metrics) {
+        return delegate.collectChannelPoolMetrics(metrics);
+    }
+
+    /**
+     * Open connections until the pool holds at least {@code minimumIdleConnections} idle connections, or one connection if no
+     * minimum is configured.
+     *
+     * @return A future that is completed once the connections have been established and returned to the pool.
+     */
+    @Override
+    public CompletableFuture<Void> warmUp() {
+        started.set(true);
+        if (closed) {
+            return CompletableFuture.completedFuture(null);
+        }
+
+        return connectionsToAcquire().thenCompose(count -> acquireAndRelease(delegate, count, this::track));
+    }
+
+    private CompletableFuture<Integer> connectionsToAcquire() {
+        int target = Math.max(minimumIdleConnections, 1);
+        if (protocol == Protocol.HTTP2) {
+            return CompletableFuture.completedFuture(1);
+        }
+
+        // The wrapped pool only knows its protocol, and can therefore only report metrics, once it has connected at least once
+        if (!hasConnected) {
+            return CompletableFuture.completedFuture(Math.min(target, maxConnections));
+        }
+
+        MetricCollector metrics = MetricCollector.create("MinimumIdleChannelPool");
+        return delegate.collectChannelPoolMetrics(metrics).thenApply(ignored -> {
+            MetricCollection collected = metrics.collect();
+            int leased = firstValue(collected, HttpMetric.LEASED_CONCURRENCY);
+            int idle = firstValue(collected, HttpMetric.AVAILABLE_CONCURRENCY);
+            if (idle >= target) {
+                return 0;
+            }
+
+            // Acquiring takes the idle connections first, so acquire the idle connections plus the ones that are missing
+            return Math.min(target, maxConnections - leased);
+        });
+    }
+
+    /**
+     * Acquire the given number of channels from a pool at once, and release them once all of their connections have been
+     * established.
+     *
+     * @param pool The pool to warm up.
+     * @param count The number of channels to acquire.
+     * @param onAcquire Invoked with each channel as soon as it has been acquired.
+     * @return A future that is completed once all channels have been released.
+     */
+    static CompletableFuture<Void> acquireAndRelease(SdkChannelPool pool, int count, Consumer<Channel> onAcquire) {
+        if (count <= 0) {
+            return CompletableFuture.completedFuture(null);
+        }
+
+        log.debug(() -> "Warming up the connection pool by acquiring " + count + " connections.");
+        List<CompletableFuture<Channel>> established = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            established.add(acquireEstablished(pool, onAcquire));
+        }
+
+        CompletableFuture<Void> result = new CompletableFuture<>();
+        CompletableFuture.allOf(established.toArray(new CompletableFuture[0])).whenComplete((r, t) -> {
+            // Release every channel that was acquired, even if some of the others failed
+            established.forEach(f -> f.thenAccept(pool::release));
+            if (t != null) {
+                result.completeExceptionally(t);
+            } else {
+                result.complete(null);
+            }
+        });
+        return result;
+    }
+
+    /**
+     * Acquire a channel, completing the returned future once its TLS handshake (if any) has completed.
+     */
+    private static CompletableFuture<Channel> acquireEstablished(SdkChannelPool pool, Consumer<Channel> onAcquire) {
+        CompletableFuture<Channel> result = new CompletableFuture<>();
+        pool.acquire().addListener((Future<Channel> acquire) -> {
+            if (!acquire.isSuccess()) {
+                result.completeExceptionally(acquire.cause());
+                return;
+            }
+
+            Channel channel = acquire.getNow();
+            onAcquire.accept(channel);
+            Channel connection = connection(channel);
+            SslHandler sslHandler = connection.pipeline().get(SslHandler.class);
+            if (sslHandler == null) {
+                result.complete(channel);
+                return;
+            }
+
+            sslHandler.handshakeFuture().addListener(handshake -> {
+                if (handshake.isSuccess()) {
+                    result.complete(channel);
+                } else {
+                    // The channel is closed by the SslHandler and will be discarded when it is released
+                    pool.release(channel);
+                    result.completeExceptionally(handshake.cause());
+                }
+            });
+        });
+        return result;
+    }
+
+    /**
+     * Top up the pool once the provided connection is closed. Listeners are only added once per connection.
+     */
+    private void track(Channel channel) {
+        hasConnected = true;
+        if (minimumIdleConnections == 0 || protocol == Protocol.HTTP2) {
+            return;
+        }
+
+        Channel connection = connection(channel);
+        if (connection.attr(MINIMUM_IDLE_TRACKED).setIfAbsent(Boolean.TRUE) == null) {
+            connection.closeFuture().addListener(f -> scheduleTopUp(TOP_UP_DELAY_MILLIS));
+        }
+    }
+
+    private void scheduleTopUp(long delayMillis) {
+        if (closed || !topUpScheduled.compareAndSet(false, true)) {
+            return;
+        }
+
+        eventLoop.schedule(() -> {
+            topUpScheduled.set(false);
+            warmUp().whenComplete((r, t) -> {
+                if (t != null) {
+                    log.debug(() -> "Failed to top up the connection pool to its minimum idle connections.", t);
+                }
+            });
+        }, delayMillis, TimeUnit.MILLISECONDS);
+    }
+
+    private static Channel connection(Channel channel) {
+        return channel.parent() == null ? channel : channel.parent();
+    }
+
+    private static int firstValue(MetricCollection collection, SdkMetric<Integer> metric) {
+        List<Integer> values = collection.metricValues(metric);
+        return values.isEmpty() ? 0 : values.get(0);
+    }
+}
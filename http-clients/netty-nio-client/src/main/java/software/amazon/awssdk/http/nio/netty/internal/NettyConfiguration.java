@@ -19,6 +19,7 @@ import static software.amazon.awssdk.http.SdkHttpConfigurationOption.CONNECTION_
 import static software.amazon.awssdk.http.SdkHttpConfigurationOption.CONNECTION_TIMEOUT;
 import static software.amazon.awssdk.http.SdkHttpConfigurationOption.MAX_CONNECTIONS;
 import static software.amazon.awssdk.http.SdkHttpConfigurationOption.MAX_PENDING_CONNECTION_ACQUIRES;
+import static software.amazon.awssdk.http.SdkHttpConfigurationOption.MIN_IDLE_CONNECTIONS;
 import static software.amazon.awssdk.http.SdkHttpConfigurationOption.TCP_KEEPALIVE;
 import static software.amazon.awssdk.http.SdkHttpConfigurationOption.TRUST_ALL_CERTIFICATES;
 import static software.amazon.awssdk.utils.NumericUtils.saturatedCast;
@@ -42,6 +43,21 @@ public final class NettyConfiguration {
     public static final int EVENTLOOP_SHUTDOWN_FUTURE_TIMEOUT_SECONDS = 16;
     public static final int HTTP2_CONNECTION_PING_TIMEOUT_SECONDS = 5;
 
+    /**
+     * Whether response content is published as read-only views of pooled buffers instead of heap copies.
+     */
+    public static final AttributeMap.Key<Boolean> POOLED_RESPONSE_BUFFERS = new NettyOption<>(Boolean.class);
+
+    /**
+     * Whether streams are spread across HTTP/2 connections based on their load.
+     */
+    public static final AttributeMap.Key<Boolean> HTTP2_ADAPTIVE_CONNECTION_SCALING = new NettyOption<>(Boolean.class);
+
+    /**
+     * The number of active streams above which an HTTP/2 connection is considered loaded.
+     */
+    public static final AttributeMap.Key<Long> HTTP2_TARGET_STREAMS_PER_CONNECTION = new NettyOption<>(Long.class);
+
     private final AttributeMap configuration;
 
     public NettyConfiguration(AttributeMap configuration) {
@@ -64,6 +80,24 @@ public final class NettyConfiguration {
         return configuration.get(MAX_CONNECTIONS);
     }
 
+    public int minimumIdleConnections() {
+        Integer minimumIdleConnections = configuration.get(MIN_IDLE_CONNECTIONS);
+        return minimumIdleConnections == null ? 0 : minimumIdleConnections;
+    }
+
+    public boolean pooledResponseBuffers() {
+        return Boolean.TRUE.equals(configuration.get(POOLED_RESPONSE_BUFFERS));
+    }
+
+    public boolean http2AdaptiveConnectionScaling() {
+        return Boolean.TRUE.equals(configuration.get(HTTP2_ADAPTIVE_CONNECTION_SCALING));
+    }
+
+    public long http2TargetStreamsPerConnection() {
+        Long targetStreamsPerConnection = configuration.get(HTTP2_TARGET_STREAMS_PER_CONNECTION);
+        return targetStreamsPerConnection == null ? Long.MAX_VALUE : targetStreamsPerConnection;
+    }
+
     public int maxPendingConnectionAcquires() {
         return configuration.get(MAX_PENDING_CONNECTION_ACQUIRES);
     }
@@ -107,4 +141,10 @@ public final class NettyConfiguration {
     public Duration tlsHandshakeTimeout() {
         return configuration.get(SdkHttpConfigurationOption.TLS_NEGOTIATION_TIMEOUT);
     }
+
+    private static final class NettyOption<T> extends AttributeMap.Key<T> {
+        private NettyOption(Class<T> valueType) {
+            super(valueType);
+        }
+    }
 }
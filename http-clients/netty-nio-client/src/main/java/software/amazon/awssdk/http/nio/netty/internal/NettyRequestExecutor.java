@@ -21,6 +21,7 @@ import static software.amazon.awssdk.http.nio.netty.internal.ChannelAttributeKey
 import static software.amazon.awssdk.http.nio.netty.internal.ChannelAttributeKey.KEEP_ALIVE;
 import static software.amazon.awssdk.http.nio.netty.internal.ChannelAttributeKey.LAST_HTTP_CONTENT_RECEIVED_KEY;
 import static software.amazon.awssdk.http.nio.netty.internal.ChannelAttributeKey.REQUEST_CONTEXT_KEY;
+import static software.amazon.awssdk.http.nio.netty.internal.ChannelAttributeKey.REQUEST_WRITE_START_NANOS;
 import static software.amazon.awssdk.http.nio.netty.internal.ChannelAttributeKey.RESPONSE_COMPLETE_KEY;
 import static software.amazon.awssdk.http.nio.netty.internal.utils.NettyUtils.CLOSED_CHANNEL_MESSAGE;
 
@@ -36,6 +37,7 @@ import io.netty.handler.codec.http.HttpHeaders;
 import io.netty.handler.codec.http.HttpMethod;
 import io.netty.handler.codec.http.HttpRequest;
 import io.netty.handler.codec.http.HttpVersion;
+import io.netty.handler.ssl.SslHandler;
 import io.netty.handler.timeout.ReadTimeoutException;
 import io.netty.handler.timeout.ReadTimeoutHandler;
 import io.netty.handler.timeout.WriteTimeoutException;
@@ -61,6 +63,8 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import software.amazon.awssdk.annotations.SdkInternalApi;
 import software.amazon.awssdk.http.Protocol;
+import software.amazon.awssdk.http.async.SdkHttpContentPublisher;
+import software.amazon.awssdk.http.async.SdkHttpFileContentPublisher;
 import software.amazon.awssdk.http.nio.netty.internal.http2.FlushOnReadHandler;
 import software.amazon.awssdk.http.nio.netty.internal.http2.Http2StreamExceptionHandler;
 import software.amazon.awssdk.http.nio.netty.internal.http2.Http2ToHttpInboundAdapter;
@@ -211,6 +215,10 @@ public final class NettyRequestExecutor {
         if (protocol == Protocol.HTTP2) {
             pipeline.addLast(FlushOnReadHandler.getInstance());
         }
+        if (protocol == Protocol.HTTP1_1 && pipeline.get(SslHandler.class) == null
+            && context.executeRequest().requestContentPublisher() instanceof SdkHttpFileContentPublisher) {
+            pipeline.addLast(FileRegionContentHandler.getInstance());
+        }
         pipeline.addLast(new HttpStreamsClientHandler());
         pipeline.addLast(ResponseHandler.getInstance());
 
@@ -232,11 +240,45 @@ public final class NettyRequestExecutor {
         writeRequest(request);
     }
 
+    /**
+     * Creates the request that publishes the content of the request to the channel. Content that is read from a file is
+     * written from the file directly on plain-text HTTP/1.1 connections, see {@link FileStreamedRequest}. Other connections,
+     * including TLS ones, subscribe to the publisher, which reads the file off the event loop.
+     */
+    private StreamedHttpRequest createStreamedRequest(HttpRequest request) {
+        SdkHttpContentPublisher publisher = context.executeRequest().requestContentPublisher();
+        if (publisher instanceof SdkHttpFileContentPublisher && canUseFileRegions()) {
+            SdkHttpFileContentPublisher filePublisher = (SdkHttpFileContentPublisher) publisher;
+            Optional<Long> requestContentLength = StreamedRequest.contentLength(request);
+            if (requestContentLength.isPresent() && requestContentLength.equals(fileContentLength(filePublisher))) {
+                return new FileStreamedRequest(request,
+                                               filePublisher.path(),
+                                               filePublisher.position(),
+                                               requestContentLength.get());
+            }
+        }
+        return new StreamedRequest(request, publisher);
+    }
+
+    private boolean canUseFileRegions() {
+        return ChannelAttributeKey.getProtocolNow(channel) == Protocol.HTTP1_1
+               && channel.pipeline().get(FileRegionContentHandler.class) != null;
+    }
+
+    private static Optional<Long> fileContentLength(SdkHttpFileContentPublisher publisher) {
+        try {
+            return publisher.contentLength();
+        } catch (RuntimeException e) {
+            // Fall back to subscribing to the publisher, which reports the failure to read the file
+            return Optional.empty();
+        }
+    }
+
     private void writeRequest(HttpRequest request) {
         channel.pipeline().addFirst(new WriteTimeoutHandler(context.configuration().writeTimeoutMillis(),
                                                             TimeUnit.MILLISECONDS));
-        StreamedRequest streamedRequest = new StreamedRequest(request,
-                                                              context.executeRequest().requestContentPublisher());
+        StreamedHttpRequest streamedRequest = createStreamedRequest(request);
+        channel.attr(REQUEST_WRITE_START_NANOS).set(System.nanoTime());
         channel.writeAndFlush(streamedRequest)
                .addListener(wireCall -> {
                    // Done writing so remove the idle write timeout handler
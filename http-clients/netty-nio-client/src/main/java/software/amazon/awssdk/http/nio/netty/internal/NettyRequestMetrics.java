@@ -18,11 +18,15 @@ package software.amazon.awssdk.http.nio.netty.internal;
 import io.netty.channel.Channel;
 import io.netty.handler.codec.http2.Http2Connection;
 import io.netty.handler.codec.http2.Http2Stream;
+import java.time.Duration;
 import java.util.Optional;
 import software.amazon.awssdk.annotations.SdkInternalApi;
 import software.amazon.awssdk.http.Http2Metric;
+import software.amazon.awssdk.http.HttpMetric;
+import software.amazon.awssdk.http.nio.netty.internal.ConnectionTimingHandler.ConnectionTimings;
 import software.amazon.awssdk.metrics.MetricCollector;
 import software.amazon.awssdk.metrics.NoOpMetricCollector;
+import software.amazon.awssdk.metrics.SdkMetric;
 
 /**
  * Utilities for collecting and publishing request-level metrics.
@@ -53,6 +57,45 @@ public class NettyRequestMetrics {
         });
     }
 
+    /**
+     * Publish the time to first byte of the current request on the provided channel and, if this is the first request on a
+     * new connection, how long it took to establish that connection. This should be invoked when the response headers are
+     * received.
+     */
+    public static void publishResponseTimingMetrics(MetricCollector metricCollector, Channel channel) {
+        long now = System.nanoTime();
+
+        // Always clear these, so that a later request on the same connection does not report them
+        Long writeStartNanos = channel.attr(ChannelAttributeKey.REQUEST_WRITE_START_NANOS).getAndSet(null);
+        Channel connection = channel.parent() == null ? channel : channel.parent();
+        ConnectionTimings connectionTimings = connection.attr(ChannelAttributeKey.CONNECTION_TIMINGS).getAndSet(null);
+
+        if (!metricsAreEnabled(metricCollector)) {
+            return;
+        }
+
+        if (connectionTimings != null) {
+            reportIfPresent(metricCollector, HttpMetric.DNS_LOOKUP_DURATION, connectionTimings.dnsLookupDuration());
+            reportIfPresent(metricCollector, HttpMetric.TCP_CONNECT_DURATION, connectionTimings.tcpConnectDuration());
+            reportIfPresent(metricCollector, HttpMetric.TLS_HANDSHAKE_DURATION, connectionTimings.tlsHandshakeDuration());
+        }
+
+        if (writeStartNanos != null) {
+            // Writes made before the connection was established are buffered until it is, so don't count that time
+            long firstByteStartNanos = writeStartNanos;
+            if (connectionTimings != null) {
+                firstByteStartNanos = Math.max(writeStartNanos, connectionTimings.establishedNanos());
+            }
+            metricCollector.reportMetric(HttpMetric.TIME_TO_FIRST_BYTE, Duration.ofNanos(now - firstByteStartNanos));
+        }
+    }
+
+    private static void reportIfPresent(MetricCollector metricCollector, SdkMetric<Duration> metric, Duration value) {
+        if (value != null) {
+            metricCollector.reportMetric(metric, value);
+        }
+    }
+
     private static Optional<Http2Connection> getHttp2Connection(Channel channel) {
         Channel parentChannel = channel.parent();
         if (parentChannel == null) {
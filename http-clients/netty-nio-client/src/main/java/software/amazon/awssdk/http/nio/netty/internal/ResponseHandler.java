@@ -65,6 +65,7 @@ import software.amazon.awssdk.http.nio.netty.internal.nrs.HttpStreamsClientHandl
 import software.amazon.awssdk.http.nio.netty.internal.nrs.StreamedHttpResponse;
 import software.amazon.awssdk.utils.FunctionalUtils.UnsafeRunnable;
 import software.amazon.awssdk.utils.async.DelegatingSubscription;
+import software.amazon.awssdk.utils.async.PooledByteBuffers;
 
 @Sharable
 @SdkInternalApi
@@ -89,6 +90,7 @@ public class ResponseHandler extends SimpleChannelInboundHandler<HttpObject> {
                                                              .statusText(response.status().reasonPhrase())
                                                              .build();
             channelContext.channel().attr(KEEP_ALIVE).set(shouldKeepAlive(response));
+            NettyRequestMetrics.publishResponseTimingMetrics(requestContext.metricCollector(), channelContext.channel());
             requestContext.handler().onHeaders(sdkResponse);
         }
 
@@ -207,6 +209,7 @@ public class ResponseHandler extends SimpleChannelInboundHandler<HttpObject> {
         private final RequestContext requestContext;
         private final CompletableFuture<Void> executeFuture;
         private final AtomicBoolean isDone = new AtomicBoolean(false);
+        private final boolean pooledBuffers;
 
         PublisherAdapter(StreamedHttpResponse response, ChannelHandlerContext channelContext,
                          RequestContext requestContext, CompletableFuture<Void> executeFuture) {
@@ -214,6 +217,8 @@ public class ResponseHandler extends SimpleChannelInboundHandler<HttpObject> {
             this.channelContext = channelContext;
             this.requestContext = requestContext;
             this.executeFuture = executeFuture;
+            this.pooledBuffers = requestContext.configuration() != null
+                                 && requestContext.configuration().pooledResponseBuffers();
         }
 
         @Override
@@ -258,10 +263,11 @@ public class ResponseHandler extends SimpleChannelInboundHandler<HttpObject> {
                     }
 
                     // Needed to prevent use-after-free bug if the subscriber's onNext is asynchronous
-                    ByteBuffer byteBuffer =
-                        tryCatchFinally(() -> copyToByteBuffer(httpContent.content()),
-                                        this::onError,
-                                        httpContent::release);
+                    ByteBuffer byteBuffer = pooledBuffers
+                                            ? toPooledByteBuffer(httpContent)
+                                            : tryCatchFinally(() -> copyToByteBuffer(httpContent.content()),
+                                                              this::onError,
+                                                              httpContent::release);
 
 
                     //As per reactive-streams rule 2.13, we should not call subscriber#onError when
@@ -272,6 +278,19 @@ public class ResponseHandler extends SimpleChannelInboundHandler<HttpObject> {
                     }
                 }
 
+                /**
+                 * Publishes a view of the pooled content instead of a copy. The content is released when the subscriber
+                 * releases the view through {@link PooledByteBuffers#release(ByteBuffer)}.
+                 */
+                private ByteBuffer toPooledByteBuffer(HttpContent httpContent) {
+                    ByteBuf content = httpContent.content();
+                    if (content.nioBufferCount() != 1) {
+                        // Content spread over several buffers can't be viewed as a single ByteBuffer
+                        return tryCatchFinally(() -> copyToByteBuffer(content), this::onError, httpContent::release);
+                    }
+                    return PooledByteBuffers.register(content.nioBuffer(), httpContent::release);
+                }
+
                 @Override
                 public void onError(Throwable t) {
                     if (!isDone.compareAndSet(false, true)) {
@@ -34,4 +34,14 @@ public interface SdkChannelPool extends ChannelPool {
      * @return A future that is completed when all metric publishing is complete.
      */
     CompletableFuture<Void> collectChannelPoolMetrics(MetricCollector metrics);
+
+    /**
+     * Proactively open connections, so that subsequent acquisitions do not have to wait for them to be established. By
+     * default, one connection is acquired from this pool and released again once it has been established.
+     *
+     * @return A future that is completed when the connections have been opened and returned to the pool.
+     */
+    default CompletableFuture<Void> warmUp() {
+        return MinimumIdleChannelPool.acquireAndRelease(this, 1, channel -> { });
+    }
 }
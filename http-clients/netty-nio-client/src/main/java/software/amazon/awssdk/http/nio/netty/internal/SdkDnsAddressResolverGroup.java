@@ -0,0 +1,106 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+
+package software.amazon.awssdk.http.nio.netty.internal;
+
+import io.netty.resolver.AddressResolver;
+import io.netty.resolver.AddressResolverGroup;
+import io.netty.resolver.InetNameResolver;
+import io.netty.resolver.InetSocketAddressResolver;
+import io.netty.util.concurrent.EventExecutor;
+import io.netty.util.concurrent.Promise;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.UnknownHostException;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import software.amazon.awssdk.annotations.SdkInternalApi;
+import software.amazon.awssdk.http.SdkDnsResolver;
+import software.amazon.awssdk.utils.CompletableFutureUtils;
+
+/**
+ * Resolves the remote address of new connections with {@link SdkDnsResolver#resolveAsync(String)}. The connection is made to
+ * the first address returned by the resolver.
+ * <p>
+ * The lookup is started on the event loop of the connection, so resolvers should not block in resolveAsync, e.g. by looking
+ * up hosts that are not cached on another thread like {@link software.amazon.awssdk.http.CachingDnsResolver} does.
+ */
+@SdkInternalApi
+public final class SdkDnsAddressResolverGroup extends AddressResolverGroup<InetSocketAddress> {
+    private final SdkDnsResolver dnsResolver;
+
+    public SdkDnsAddressResolverGroup(SdkDnsResolver dnsResolver) {
+        this.dnsResolver = dnsResolver;
+    }
+
+    @Override
+    protected AddressResolver<InetSocketAddress> newResolver(EventExecutor executor) {
+        return new InetSocketAddressResolver(executor, new SdkDnsNameResolver(executor, dnsResolver));
+    }
+
+    private static final class SdkDnsNameResolver extends InetNameResolver {
+        private final SdkDnsResolver dnsResolver;
+
+        private SdkDnsNameResolver(EventExecutor executor, SdkDnsResolver dnsResolver) {
+            super(executor);
+            this.dnsResolver = dnsResolver;
+        }
+
+        @Override
+        protected void doResolve(String inetHost, Promise<InetAddress> promise) {
+            resolve(inetHost).whenComplete((addresses, t) -> {
+                Throwable failure = failure(inetHost, addresses, t);
+                if (failure != null) {
+                    promise.tryFailure(failure);
+                } else {
+                    promise.trySuccess(addresses[0]);
+                }
+            });
+        }
+
+        @Override
+        protected void doResolveAll(String inetHost, Promise<List<InetAddress>> promise) {
+            resolve(inetHost).whenComplete((addresses, t) -> {
+                Throwable failure = failure(inetHost, addresses, t);
+                if (failure != null) {
+                    promise.tryFailure(failure);
+                } else {
+                    promise.trySuccess(Arrays.asList(addresses));
+                }
+            });
+        }
+
+        private CompletableFuture<InetAddress[]> resolve(String inetHost) {
+            try {
+                return dnsResolver.resolveAsync(inetHost);
+            } catch (RuntimeException e) {
+                return CompletableFutureUtils.failedFuture(e);
+            }
+        }
+
+        private static Throwable failure(String inetHost, InetAddress[] addresses, Throwable t) {
+            if (t != null) {
+                return t instanceof CompletionException && t.getCause() != null ? t.getCause() : t;
+            }
+            if (addresses == null || addresses.length == 0) {
+                return new UnknownHostException(inetHost);
+            }
+            return null;
+        }
+    }
+}
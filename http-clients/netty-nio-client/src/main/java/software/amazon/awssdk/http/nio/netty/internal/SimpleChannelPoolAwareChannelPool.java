@@ -26,10 +26,21 @@ import software.amazon.awssdk.metrics.MetricCollector;
 final class SimpleChannelPoolAwareChannelPool implements SdkChannelPool {
     private final SdkChannelPool delegate;
     private final BetterSimpleChannelPool simpleChannelPool;
+    private final CompletableFuture<Boolean> closeFuture;
 
     SimpleChannelPoolAwareChannelPool(SdkChannelPool delegate, BetterSimpleChannelPool simpleChannelPool) {
         this.delegate = delegate;
         this.simpleChannelPool = simpleChannelPool;
+        this.closeFuture = simpleChannelPool.closeFuture();
+    }
+
+    /**
+     * Wraps a pool that creates its own connections instead of using a {@link BetterSimpleChannelPool}.
+     */
+    SimpleChannelPoolAwareChannelPool(SdkChannelPool delegate, CompletableFuture<Boolean> closeFuture) {
+        this.delegate = delegate;
+        this.simpleChannelPool = null;
+        this.closeFuture = closeFuture;
     }
 
     @Override
@@ -57,12 +68,28 @@ final class SimpleChannelPoolAwareChannelPool implements SdkChannelPool {
         delegate.close();
     }
 
+    /**
+     * @return The {@link BetterSimpleChannelPool} that connections are created from, or null if the wrapped pool creates its
+     * own connections.
+     */
     public BetterSimpleChannelPool underlyingSimpleChannelPool() {
         return simpleChannelPool;
     }
 
+    /**
+     * @return A future that is completed once the connections of the underlying pool have been closed.
+     */
+    public CompletableFuture<Boolean> closeFuture() {
+        return closeFuture;
+    }
+
     @Override
     public CompletableFuture<Void> collectChannelPoolMetrics(MetricCollector metrics) {
         return delegate.collectChannelPoolMetrics(metrics);
     }
+
+    @Override
+    public CompletableFuture<Void> warmUp() {
+        return delegate.warmUp();
+    }
 }
@@ -43,12 +43,14 @@ import java.io.IOException;
 import java.nio.channels.ClosedChannelException;
 import java.time.Duration;
 import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.List;
 import java.util.Set;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 import software.amazon.awssdk.annotations.SdkInternalApi;
 import software.amazon.awssdk.annotations.SdkTestInternalApi;
 import software.amazon.awssdk.http.HttpMetric;
@@ -68,6 +70,14 @@ import software.amazon.awssdk.utils.Validate;
  * when the max concurrency for a connection is reached then a new connection will be opened.
  *
  * <p>
+ * With adaptive connection scaling enabled, streams are instead placed on the least-loaded connection: the one with the
+ * fewest active streams, preferring connections whose connection-level flow control window is not exhausted. A new
+ * connection is opened when every connection is loaded, meaning it has reached the target number of streams per connection
+ * or is stalled on flow control. Connections that receive a GOAWAY are drained: they take no new streams and are closed once
+ * their last stream is released.
+ * </p>
+ *
+ * <p>
  * <b>Note:</b> This enforces no max concurrency. Relies on being wrapped with a {@link BetterFixedChannelPool}
  * to enforce max concurrency which gives a bunch of other good features like timeouts, max pending acquires, etc.
  * </p>
@@ -79,7 +89,8 @@ public class Http2MultiplexedChannelPool implements SdkChannelPool {
     /**
      * Reference to the {@link MultiplexedChannelRecord} on a channel.
      */
-    private static final AttributeKey<MultiplexedChannelRecord> MULTIPLEXED_CHANNEL = NettyUtils.getOrCreateAttributeKey(
+    @SdkTestInternalApi
+    static final AttributeKey<MultiplexedChannelRecord> MULTIPLEXED_CHANNEL = NettyUtils.getOrCreateAttributeKey(
             "software.amazon.awssdk.http.nio.netty.internal.http2.Http2MultiplexedChannelPool.MULTIPLEXED_CHANNEL");
 
     /**
@@ -92,6 +103,9 @@ public class Http2MultiplexedChannelPool implements SdkChannelPool {
     private final EventLoopGroup eventLoopGroup;
     private final Set<MultiplexedChannelRecord> connections;
     private final Duration idleConnectionTimeout;
+    private final boolean adaptiveConnectionScaling;
+    private final long targetStreamsPerConnection;
+    private final AtomicInteger connectionsBeingOpened = new AtomicInteger(0);
 
     private AtomicBoolean closed = new AtomicBoolean(false);
 
@@ -101,10 +115,26 @@ public class Http2MultiplexedChannelPool implements SdkChannelPool {
     Http2MultiplexedChannelPool(ChannelPool connectionPool,
                                 EventLoopGroup eventLoopGroup,
                                 Duration idleConnectionTimeout) {
+        this(connectionPool, eventLoopGroup, idleConnectionTimeout, false, Long.MAX_VALUE);
+    }
+
+    /**
+     * @param connectionPool Connection pool for parent channels (i.e. the socket channel).
+     * @param adaptiveConnectionScaling Whether streams are placed on the least-loaded connection.
+     * @param targetStreamsPerConnection Number of active streams above which a connection is considered loaded, when adaptive
+     * connection scaling is enabled.
+     */
+    Http2MultiplexedChannelPool(ChannelPool connectionPool,
+                                EventLoopGroup eventLoopGroup,
+                                Duration idleConnectionTimeout,
+                                boolean adaptiveConnectionScaling,
+                                long targetStreamsPerConnection) {
         this.connectionPool = connectionPool;
         this.eventLoopGroup = eventLoopGroup;
         this.connections = ConcurrentHashMap.newKeySet();
         this.idleConnectionTimeout = idleConnectionTimeout;
+        this.adaptiveConnectionScaling = adaptiveConnectionScaling;
+        this.targetStreamsPerConnection = targetStreamsPerConnection;
     }
 
     @SdkTestInternalApi
@@ -116,6 +146,17 @@ public class Http2MultiplexedChannelPool implements SdkChannelPool {
         this.connections.addAll(connections);
     }
 
+    @SdkTestInternalApi
+    Http2MultiplexedChannelPool(ChannelPool connectionPool,
+                                EventLoopGroup eventLoopGroup,
+                                Set<MultiplexedChannelRecord> connections,
+                                Duration idleConnectionTimeout,
+                                boolean adaptiveConnectionScaling,
+                                long targetStreamsPerConnection) {
+        this(connectionPool, eventLoopGroup, idleConnectionTimeout, adaptiveConnectionScaling, targetStreamsPerConnection);
+        this.connections.addAll(connections);
+    }
+
     @Override
     public Future<Channel> acquire() {
         return acquire(eventLoopGroup.next().newPromise());
@@ -127,6 +168,11 @@ public class Http2MultiplexedChannelPool implements SdkChannelPool {
             return promise.setFailure(new IOException("Channel pool is closed!"));
         }
 
+        if (adaptiveConnectionScaling) {
+            acquireStreamOnLeastLoadedConnection(promise);
+            return promise;
+        }
+
         for (MultiplexedChannelRecord multiplexedChannel : connections) {
             if (acquireStreamOnInitializedConnection(multiplexedChannel, promise)) {
                 return promise;
@@ -138,7 +184,39 @@ public class Http2MultiplexedChannelPool implements SdkChannelPool {
         return promise;
     }
 
+    private void acquireStreamOnLeastLoadedConnection(Promise<Channel> promise) {
+        List<MultiplexedChannelRecord> candidates =
+            connections.stream()
+                       .filter(MultiplexedChannelRecord::hasAvailableStreams)
+                       .sorted(Comparator.comparing(MultiplexedChannelRecord::isFlowControlStalled)
+                                         .thenComparingLong(MultiplexedChannelRecord::activeStreams))
+                       .collect(toList());
+
+        // Only scale out one connection at a time, so that a burst of acquires does not open a connection for each of them.
+        boolean allConnectionsLoaded = candidates.isEmpty() || isLoaded(candidates.get(0));
+        if (allConnectionsLoaded && connectionsBeingOpened.get() == 0) {
+            acquireStreamOnNewConnection(promise);
+            return;
+        }
+
+        for (MultiplexedChannelRecord multiplexedChannel : candidates) {
+            if (acquireStreamOnInitializedConnection(multiplexedChannel, promise)) {
+                return;
+            }
+        }
+
+        acquireStreamOnNewConnection(promise);
+    }
+
+    private boolean isLoaded(MultiplexedChannelRecord multiplexedChannel) {
+        return multiplexedChannel.isFlowControlStalled()
+               || multiplexedChannel.activeStreams() >= targetStreamsPerConnection;
+    }
+
     private void acquireStreamOnNewConnection(Promise<Channel> promise) {
+        connectionsBeingOpened.incrementAndGet();
+        promise.addListener(f -> connectionsBeingOpened.decrementAndGet());
+
         Future<Channel> newConnectionAcquire = connectionPool.acquire();
 
         newConnectionAcquire.addListener(f -> {
@@ -281,6 +359,7 @@ public class Http2MultiplexedChannelPool implements SdkChannelPool {
                 promise.setSuccess(channel);
 
                 tryExpandConnectionWindow(channel.parent());
+                channelRecord.updateFlowControlState();
             } catch (Exception e) {
                 promise.setFailure(e);
             }
@@ -370,6 +449,9 @@ public class Http2MultiplexedChannelPool implements SdkChannelPool {
 
             if (multiplexedChannel != null) {
                 multiplexedChannel.handleGoAway(lastStreamId, exception);
+                if (adaptiveConnectionScaling) {
+                    drainConnection(parentChannel, multiplexedChannel);
+                }
             } else {
                 // If we don't have a multiplexed channel, the parent channel hasn't been fully initialized. Close it now.
                 closeAndReleaseParent(parentChannel, exception);
@@ -379,6 +461,31 @@ public class Http2MultiplexedChannelPool implements SdkChannelPool {
         }
     }
 
+    /**
+     * Close a connection that can no longer take new streams right away if none of its streams are still in use. Otherwise it
+     * is closed when its last stream is released. Until then it stays in {@link #connections}, so that it is still closed by
+     * {@link #close()} and counted in the pool metrics, but it is skipped when picking a connection for new streams because it
+     * no longer {@link MultiplexedChannelRecord#hasAvailableStreams() has available streams}.
+     */
+    private void drainConnection(Channel parentChannel, MultiplexedChannelRecord multiplexedChannel) {
+        doInEventLoop(parentChannel.eventLoop(), () -> {
+            if (multiplexedChannel.canBeClosedAndReleased()) {
+                log.debug(() -> "Closing drained connection " + parentChannel);
+                closeAndReleaseParent(parentChannel);
+            }
+        });
+    }
+
+    /**
+     * Apply a change of the remote endpoint's {@code SETTINGS_MAX_CONCURRENT_STREAMS} to an established connection.
+     */
+    void handleMaxConcurrentStreamsUpdate(Channel parentChannel, long maxConcurrentStreams) {
+        MultiplexedChannelRecord multiplexedChannel = parentChannel.attr(MULTIPLEXED_CHANNEL).get();
+        if (multiplexedChannel != null) {
+            multiplexedChannel.updateMaxConcurrentStreams(maxConcurrentStreams);
+        }
+    }
+
     @Override
     public void close() {
         if (closed.compareAndSet(false, true)) {
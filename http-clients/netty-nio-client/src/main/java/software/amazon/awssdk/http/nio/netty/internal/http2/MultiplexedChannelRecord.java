@@ -21,7 +21,10 @@ import static software.amazon.awssdk.http.nio.netty.internal.utils.NettyUtils.wa
 import io.netty.channel.Channel;
 import io.netty.channel.ChannelId;
 import io.netty.channel.ChannelOutboundInvoker;
+import io.netty.handler.codec.http2.Http2CodecUtil;
+import io.netty.handler.codec.http2.Http2Connection;
 import io.netty.handler.codec.http2.Http2GoAwayFrame;
+import io.netty.handler.codec.http2.Http2Stream;
 import io.netty.handler.codec.http2.Http2StreamChannel;
 import io.netty.handler.codec.http2.Http2StreamChannelBootstrap;
 import io.netty.util.concurrent.Future;
@@ -36,6 +39,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.Consumer;
 import software.amazon.awssdk.annotations.SdkInternalApi;
@@ -51,13 +55,30 @@ import software.amazon.awssdk.utils.Logger;
 public class MultiplexedChannelRecord {
     private static final Logger log = Logger.loggerFor(MultiplexedChannelRecord.class);
 
+    /**
+     * A connection-level flow control window smaller than one default-sized frame is considered exhausted.
+     */
+    private static final int STALLED_WINDOW_SIZE = Http2CodecUtil.DEFAULT_MAX_FRAME_SIZE;
+
+    /**
+     * How long a flow control snapshot is used before it is refreshed on the connection's event loop.
+     */
+    private static final long FLOW_CONTROL_REFRESH_INTERVAL_NANOS = TimeUnit.MILLISECONDS.toNanos(100);
+
     private final Channel connection;
-    private final long maxConcurrencyPerConnection;
     private final Long allowedIdleConnectionTimeMillis;
 
+    // Only write in the connection.eventLoop()
+    private volatile long maxConcurrencyPerConnection;
+
     private final AtomicLong availableChildChannels;
     private volatile long lastReserveAttemptTimeMillis;
 
+    // Only write in the connection.eventLoop()
+    private volatile boolean flowControlStalled;
+    private volatile long lastFlowControlUpdateNanos = System.nanoTime();
+    private final AtomicBoolean flowControlUpdatePending = new AtomicBoolean(false);
+
     // Only read or write in the connection.eventLoop()
     private final Map<ChannelId, Http2StreamChannel> childChannels = new HashMap<>();
     private ScheduledFuture<?> closeIfIdleTask;
@@ -145,6 +166,81 @@ public class MultiplexedChannelRecord {
         }
     }
 
+    /**
+     * Update the maximum number of concurrent streams on this connection, after the remote endpoint changed its
+     * {@code SETTINGS_MAX_CONCURRENT_STREAMS}. Streams that are already open are not affected when the maximum is reduced,
+     * but no new streams are acquired until enough of them are released.
+     */
+    void updateMaxConcurrentStreams(long maxConcurrentStreams) {
+        doInEventLoop(connection.eventLoop(), () -> {
+            long difference = maxConcurrentStreams - maxConcurrencyPerConnection;
+            if (difference == 0) {
+                return;
+            }
+
+            log.debug(() -> "Maximum concurrent streams on " + connection + " changed from " + maxConcurrencyPerConnection
+                            + " to " + maxConcurrentStreams);
+
+            // Keep the available streams at or below the maximum at all times, because releaseClaim() checks against it.
+            if (difference > 0) {
+                maxConcurrencyPerConnection = maxConcurrentStreams;
+                availableChildChannels.addAndGet(difference);
+            } else {
+                availableChildChannels.addAndGet(difference);
+                maxConcurrencyPerConnection = maxConcurrentStreams;
+            }
+        });
+    }
+
+    /**
+     * @return The number of streams that are currently claimed on this connection.
+     */
+    long activeStreams() {
+        return maxConcurrencyPerConnection - availableChildChannels.get();
+    }
+
+    /**
+     * @return True if new streams may currently be acquired from this connection.
+     */
+    boolean hasAvailableStreams() {
+        return state == RecordState.OPEN && availableChildChannels.get() > 0;
+    }
+
+    /**
+     * Whether the connection-level flow control window of this connection, in either direction, was exhausted the last time
+     * it was checked. Streams on a stalled connection cannot make progress until the remote endpoint or the reader catches
+     * up, so new streams are better placed on another connection.
+     *
+     * <p>The result may be slightly out of date. If it is, a refresh is scheduled on the connection's event loop.
+     */
+    boolean isFlowControlStalled() {
+        if (System.nanoTime() - lastFlowControlUpdateNanos > FLOW_CONTROL_REFRESH_INTERVAL_NANOS
+            && flowControlUpdatePending.compareAndSet(false, true)) {
+            connection.eventLoop().execute(this::updateFlowControlState);
+        }
+        return flowControlStalled;
+    }
+
+    /**
+     * Take a snapshot of the connection-level flow control windows of this connection. Must be called on the connection's
+     * event loop.
+     */
+    void updateFlowControlState() {
+        warnIfNotInEventLoop(connection.eventLoop());
+        flowControlUpdatePending.set(false);
+        lastFlowControlUpdateNanos = System.nanoTime();
+
+        Http2Connection http2Connection = connection.attr(ChannelAttributeKey.HTTP2_CONNECTION).get();
+        if (http2Connection == null) {
+            return;
+        }
+
+        Http2Stream connectionStream = http2Connection.connectionStream();
+        int sendWindow = http2Connection.remote().flowController().windowSize(connectionStream);
+        int receiveWindow = http2Connection.local().flowController().windowSize(connectionStream);
+        flowControlStalled = sendWindow < STALLED_WINDOW_SIZE || receiveWindow < STALLED_WINDOW_SIZE;
+    }
+
     private void releaseClaim() {
         if (availableChildChannels.incrementAndGet() > maxConcurrencyPerConnection) {
             assert false;
@@ -232,6 +328,7 @@ public class MultiplexedChannelRecord {
         doInEventLoop(connection.eventLoop(), () -> {
             childChannels.remove(childChannel.id());
             releaseClaim();
+            updateFlowControlState();
         });
     }
 
@@ -0,0 +1,118 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+
+package software.amazon.awssdk.http.nio.netty.internal.utils;
+
+import static software.amazon.awssdk.utils.FunctionalUtils.invokeSafely;
+
+import io.netty.channel.EventLoopGroup;
+import io.netty.channel.epoll.Epoll;
+import io.netty.channel.epoll.EpollEventLoopGroup;
+import io.netty.channel.nio.NioEventLoopGroup;
+import java.util.concurrent.ThreadFactory;
+import software.amazon.awssdk.annotations.SdkInternalApi;
+import software.amazon.awssdk.http.nio.netty.TransportType;
+import software.amazon.awssdk.utils.Logger;
+
+/**
+ * Creates {@link EventLoopGroup}s for each {@link TransportType}. The io_uring transport is an optional dependency, so it is
+ * only accessed reflectively.
+ */
+@SdkInternalApi
+public final class NativeTransports {
+    static final String IO_URING_EVENT_LOOP_GROUP = "io.netty.incubator.channel.uring.IOUringEventLoopGroup";
+    static final String IO_URING_SOCKET_CHANNEL = "io.netty.incubator.channel.uring.IOUringSocketChannel";
+
+    private static final Logger log = Logger.loggerFor(NativeTransports.class);
+    private static final String IO_URING = "io.netty.incubator.channel.uring.IOUring";
+
+    private NativeTransports() {
+    }
+
+    /**
+     * Resolve {@link TransportType#AUTO} to the best transport available at runtime.
+     */
+    public static TransportType resolve(TransportType transportType) {
+        if (transportType != TransportType.AUTO) {
+            return transportType;
+        }
+        if (isAvailable(TransportType.IO_URING)) {
+            return TransportType.IO_URING;
+        }
+        if (isAvailable(TransportType.EPOLL)) {
+            return TransportType.EPOLL;
+        }
+        return TransportType.NIO;
+    }
+
+    /**
+     * @return True if the given transport can be used on this platform.
+     */
+    public static boolean isAvailable(TransportType transportType) {
+        switch (transportType) {
+            case NIO:
+            case AUTO:
+                return true;
+            case EPOLL:
+                return isEpollAvailable();
+            case IO_URING:
+                return isIoUringAvailable();
+            default:
+                throw new IllegalArgumentException("Unknown transport type: " + transportType);
+        }
+    }
+
+    /**
+     * Create an event loop group of the given transport.
+     *
+     * @throws IllegalStateException If the transport is not available on this platform.
+     */
+    public static EventLoopGroup newEventLoopGroup(TransportType transportType, int numThreads, ThreadFactory threadFactory) {
+        TransportType resolvedTransportType = resolve(transportType);
+        if (!isAvailable(resolvedTransportType)) {
+            throw new IllegalStateException("The " + resolvedTransportType + " transport is not available on this platform.");
+        }
+
+        log.debug(() -> "Creating event loop group using the " + resolvedTransportType + " transport");
+        switch (resolvedTransportType) {
+            case EPOLL:
+                return new EpollEventLoopGroup(numThreads, threadFactory);
+            case IO_URING:
+                return invokeSafely(() -> (EventLoopGroup) Class.forName(IO_URING_EVENT_LOOP_GROUP)
+                                                                .getConstructor(int.class, ThreadFactory.class)
+                                                                .newInstance(numThreads, threadFactory));
+            default:
+                return new NioEventLoopGroup(numThreads, threadFactory);
+        }
+    }
+
+    private static boolean isEpollAvailable() {
+        try {
+            return Epoll.isAvailable();
+        } catch (LinkageError e) {
+            // The native epoll library was excluded from the classpath
+            return false;
+        }
+    }
+
+    private static boolean isIoUringAvailable() {
+        try {
+            return (Boolean) Class.forName(IO_URING).getMethod("isAvailable").invoke(null);
+        } catch (ReflectiveOperationException | LinkageError e) {
+            return false;
+        }
+    }
+}
@@ -38,6 +38,7 @@ public final class SocketChannelResolver {
     static {
         KNOWN_EL_GROUPS.put("io.netty.channel.kqueue.KQueueEventLoopGroup", "io.netty.channel.kqueue.KQueueSocketChannel");
         KNOWN_EL_GROUPS.put("io.netty.channel.oio.OioEventLoopGroup", "io.netty.channel.socket.oio.OioSocketChannel");
+        KNOWN_EL_GROUPS.put(NativeTransports.IO_URING_EVENT_LOOP_GROUP, NativeTransports.IO_URING_SOCKET_CHANNEL);
     }
 
     private SocketChannelResolver() {
@@ -55,6 +55,27 @@ public class Http2ConfigurationTest {
         assertThat(config1).isEqualTo(config2);
     }
 
+    @Test
+    public void builder_toBuilder_roundTripsConnectionScaling() {
+        Http2Configuration config1 = Http2Configuration.builder()
+                .adaptiveConnectionScaling(true)
+                .targetStreamsPerConnection(4L)
+                .build();
+
+        Http2Configuration config2 = config1.toBuilder().build();
+
+        assertThat(config2.adaptiveConnectionScaling()).isTrue();
+        assertThat(config2.targetStreamsPerConnection()).isEqualTo(4L);
+        assertThat(config1).isEqualTo(config2);
+        assertThat(config1).isNotEqualTo(config1.toBuilder().targetStreamsPerConnection(5L).build());
+    }
+
+    @Test
+    public void builder_targetStreamsPerConnection_0_throws() {
+        expected.expect(IllegalArgumentException.class);
+        Http2Configuration.builder().targetStreamsPerConnection(0L);
+    }
+
     @Test
     public void builder_maxStream_nullValue_doesNotThrow() {
         Http2Configuration.builder().maxStreams(null);
@@ -55,6 +55,8 @@ import io.netty.util.AttributeKey;
 import java.io.IOException;
 import java.net.URI;
 import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.time.Duration;
 import java.util.ArrayList;
 import java.util.Collection;
@@ -89,6 +91,7 @@ import software.amazon.awssdk.http.SdkHttpRequest;
 import software.amazon.awssdk.http.async.AsyncExecuteRequest;
 import software.amazon.awssdk.http.async.SdkAsyncHttpClient;
 import software.amazon.awssdk.http.async.SdkHttpContentPublisher;
+import software.amazon.awssdk.http.async.SdkHttpFileContentPublisher;
 import software.amazon.awssdk.http.nio.netty.internal.NettyConfiguration;
 import software.amazon.awssdk.http.nio.netty.internal.SdkChannelPoolMap;
 import software.amazon.awssdk.http.nio.netty.internal.SdkChannelPool;
@@ -472,6 +475,43 @@ public class NettyNioAsyncHttpClientWireMockTest {
         assertThat(recorder.fullResponseAsString()).isEqualTo(reverse(body));
     }
 
+    @Test
+    public void canSendFileContentOverHttp() throws Exception {
+        assertCanSendFileContent(URI.create("http://localhost:" + mockServer.port()));
+    }
+
+    @Test
+    public void canSendFileContentOverHttps() throws Exception {
+        assertCanSendFileContent(URI.create("https://localhost:" + mockServer.httpsPort()));
+    }
+
+    private void assertCanSendFileContent(URI uri) throws Exception {
+        String prefix = randomAlphabetic(100);
+        String body = randomAlphabetic(200_000);
+        Path file = Files.createTempFile("netty-file-upload", ".txt");
+        try {
+            Files.write(file, (prefix + body + prefix).getBytes(UTF_8));
+            stubFor(any(urlEqualTo("/echo?reversed=true"))
+                        .withRequestBody(equalTo(body))
+                        .willReturn(aResponse().withBody(reverse(body))));
+
+            SdkHttpRequest request = createRequest(uri, "/echo", body, SdkHttpMethod.POST, singletonMap("reversed", "true"));
+
+            RecordingResponseHandler recorder = new RecordingResponseHandler();
+            client.execute(AsyncExecuteRequest.builder()
+                                              .request(request)
+                                              .requestContentPublisher(createFileProvider(file, prefix.length(), body.length()))
+                                              .responseHandler(recorder)
+                                              .build());
+
+            recorder.completeFuture.get(5, TimeUnit.SECONDS);
+
+            assertThat(recorder.fullResponseAsString()).isEqualTo(reverse(body));
+        } finally {
+            Files.delete(file);
+        }
+    }
+
     @Test
     public void requestContentOnlyEqualToContentLengthHeaderFromProvider() throws InterruptedException, ExecutionException, TimeoutException, IOException {
         final String content = randomAlphabetic(32);
@@ -584,6 +624,43 @@ public class NettyNioAsyncHttpClientWireMockTest {
         };
     }
 
+    /**
+     * Creates a provider of the content of a file which fails if it is subscribed to, to verify that the client writes the
+     * content from the file directly.
+     */
+    private SdkHttpFileContentPublisher createFileProvider(Path file, long position, long length) {
+        return new SdkHttpFileContentPublisher() {
+            @Override
+            public Path path() {
+                return file;
+            }
+
+            @Override
+            public long position() {
+                return position;
+            }
+
+            @Override
+            public Optional<Long> contentLength() {
+                return Optional.of(length);
+            }
+
+            @Override
+            public void subscribe(Subscriber<? super ByteBuffer> s) {
+                s.onSubscribe(new Subscription() {
+                    @Override
+                    public void request(long n) {
+                        s.onError(new AssertionError("The content should have been read from the file directly."));
+                    }
+
+                    @Override
+                    public void cancel() {
+                    }
+                });
+            }
+        };
+    }
+
     private SdkHttpFullRequest createRequest(URI uri) {
         return createRequest(uri, "/", null, SdkHttpMethod.GET, emptyMap());
     }
@@ -21,11 +21,13 @@ import static software.amazon.awssdk.http.SdkHttpConfigurationOption.TCP_KEEPALI
 
 import io.netty.bootstrap.Bootstrap;
 import io.netty.channel.ChannelOption;
+import java.net.InetAddress;
 import java.net.InetSocketAddress;
 import java.net.SocketAddress;
 import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.mockito.runners.MockitoJUnitRunner;
+import software.amazon.awssdk.http.SdkDnsResolver;
 import software.amazon.awssdk.http.nio.netty.SdkEventLoopGroup;
 import software.amazon.awssdk.utils.AttributeMap;
 
@@ -74,4 +76,25 @@ public class BootstrapProviderTest {
         Boolean keepAlive = (Boolean) bootstrap.config().options().get(ChannelOption.SO_KEEPALIVE);
         assertThat(keepAlive).isTrue();
     }
+
+    @Test
+    public void createBootstrap_dnsResolverConfigured_resolvesWithDnsResolver() throws Exception {
+        InetAddress address = InetAddress.getByAddress(new byte[] {10, 0, 0, 1});
+        SdkDnsResolver dnsResolver = host -> new InetAddress[] {address};
+        BootstrapProvider provider =
+            new BootstrapProvider(SdkEventLoopGroup.builder().build(),
+                                  new NettyConfiguration(GLOBAL_HTTP_DEFAULTS),
+                                  new SdkChannelOptions(),
+                                  dnsResolver);
+
+        Bootstrap bootstrap = provider.createBootstrap("some-awesome-service-1234.amazonaws.com", 443);
+
+        assertThat(bootstrap.config().resolver()).isInstanceOf(SdkDnsAddressResolverGroup.class);
+        InetSocketAddress resolved = (InetSocketAddress) bootstrap.config().resolver()
+                                                                  .getResolver(bootstrap.config().group().next())
+                                                                  .resolve(bootstrap.config().remoteAddress())
+                                                                  .get();
+        assertThat(resolved.getAddress()).isEqualTo(address);
+        assertThat(resolved.getPort()).isEqualTo(443);
+    }
 }
\ No newline at end of file
@@ -63,7 +63,8 @@ public class ChannelPipelineInitializerTest {
                                                              Duration.ZERO,
                                                              channelPoolRef,
                                                              nettyConfiguration,
-                                                             targetUri);
+                                                             targetUri,
+                                                             null);
 
         Channel channel = new EmbeddedChannel();
 
@@ -0,0 +1,152 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+
+package software.amazon.awssdk.http.nio.netty.internal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static software.amazon.awssdk.http.nio.netty.internal.ChannelAttributeKey.CONNECTION_TIMINGS;
+import static software.amazon.awssdk.http.nio.netty.internal.ChannelAttributeKey.REQUEST_WRITE_START_NANOS;
+
+import io.netty.bootstrap.Bootstrap;
+import io.netty.bootstrap.ServerBootstrap;
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelInboundHandlerAdapter;
+import io.netty.channel.ChannelInitializer;
+import io.netty.channel.EventLoopGroup;
+import io.netty.channel.embedded.EmbeddedChannel;
+import io.netty.channel.nio.NioEventLoopGroup;
+import io.netty.channel.socket.nio.NioServerSocketChannel;
+import io.netty.channel.socket.nio.NioSocketChannel;
+import io.netty.handler.ssl.SslHandshakeCompletionEvent;
+import java.time.Duration;
+import javax.net.ssl.SSLException;
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import software.amazon.awssdk.http.HttpMetric;
+import software.amazon.awssdk.http.nio.netty.internal.ConnectionTimingHandler.ConnectionTimings;
+import software.amazon.awssdk.metrics.MetricCollection;
+import software.amazon.awssdk.metrics.MetricCollector;
+
+public class ConnectionTimingHandlerTest {
+    private static EventLoopGroup eventLoopGroup;
+    private static Channel serverChannel;
+
+    @BeforeClass
+    public static void setup() throws InterruptedException {
+        eventLoopGroup = new NioEventLoopGroup(1);
+        serverChannel = new ServerBootstrap().group(eventLoopGroup)
+                                             .channel(NioServerSocketChannel.class)
+                                             .childHandler(new ChannelInboundHandlerAdapter())
+                                             .bind("localhost", 0)
+                                             .sync()
+                                             .channel();
+    }
+
+    @AfterClass
+    public static void teardown() throws InterruptedException {
+        serverChannel.close().sync();
+        eventLoopGroup.shutdownGracefully().await();
+    }
+
+    @Test
+    public void plainTextConnect_recordsDnsAndTcpTimings() throws Exception {
+        Channel channel = new Bootstrap().group(eventLoopGroup)
+                                         .channel(NioSocketChannel.class)
+                                         .handler(new ChannelInitializer<Channel>() {
+                                             @Override
+                                             protected void initChannel(Channel ch) {
+                                                 ch.pipeline().addLast(new ConnectionTimingHandler(false));
+                                             }
+                                         })
+                                         .connect(serverChannel.localAddress())
+                                         .sync()
+                                         .channel();
+        try {
+            // Wait for the connect listeners to have run on the event loop
+            channel.eventLoop().submit(() -> null).sync();
+
+            ConnectionTimings timings = channel.attr(CONNECTION_TIMINGS).get();
+            assertThat(timings).isNotNull();
+            assertThat(timings.dnsLookupDuration()).isGreaterThanOrEqualTo(Duration.ZERO);
+            assertThat(timings.tcpConnectDuration()).isGreaterThanOrEqualTo(Duration.ZERO);
+            assertThat(timings.tlsHandshakeDuration()).isNull();
+            assertThat(channel.pipeline().get(ConnectionTimingHandler.class)).isNull();
+        } finally {
+            channel.close().sync();
+        }
+    }
+
+    @Test
+    public void alreadyActiveChannel_successfulHandshake_recordsOnlyTlsTiming() {
+        EmbeddedChannel channel = new EmbeddedChannel(new ConnectionTimingHandler(true));
+
+        channel.pipeline().fireUserEventTriggered(SslHandshakeCompletionEvent.SUCCESS);
+
+        ConnectionTimings timings = channel.attr(CONNECTION_TIMINGS).get();
+        assertThat(timings.dnsLookupDuration()).isNull();
+        assertThat(timings.tcpConnectDuration()).isNull();
+        assertThat(timings.tlsHandshakeDuration()).isGreaterThanOrEqualTo(Duration.ZERO);
+        assertThat(channel.pipeline().get(ConnectionTimingHandler.class)).isNull();
+    }
+
+    @Test
+    public void failedHandshake_recordsNothing() {
+        EmbeddedChannel channel = new EmbeddedChannel(new ConnectionTimingHandler(true));
+
+        channel.pipeline().fireUserEventTriggered(new SslHandshakeCompletionEvent(new SSLException("boom")));
+
+        assertThat(channel.attr(CONNECTION_TIMINGS).get()).isNull();
+    }
+
+    @Test
+    public void alreadyActiveChannel_withoutTls_removesItself() {
+        EmbeddedChannel channel = new EmbeddedChannel(new ConnectionTimingHandler(false));
+
+        assertThat(channel.pipeline().get(ConnectionTimingHandler.class)).isNull();
+        assertThat(channel.attr(CONNECTION_TIMINGS).get()).isNull();
+    }
+
+    @Test
+    public void publishResponseTimingMetrics_reportsConnectionTimingsOnlyOnce() {
+        EmbeddedChannel channel = new EmbeddedChannel();
+        long now = System.nanoTime();
+        channel.attr(CONNECTION_TIMINGS).set(new ConnectionTimings(Duration.ofMillis(1),
+                                                                   Duration.ofMillis(2),
+                                                                   Duration.ofMillis(3),
+                                                                   now));
+        channel.attr(REQUEST_WRITE_START_NANOS).set(now);
+
+        MetricCollection first = publish(channel);
+        assertThat(first.metricValues(HttpMetric.DNS_LOOKUP_DURATION)).containsExactly(Duration.ofMillis(1));
+        assertThat(first.metricValues(HttpMetric.TCP_CONNECT_DURATION)).containsExactly(Duration.ofMillis(2));
+        assertThat(first.metricValues(HttpMetric.TLS_HANDSHAKE_DURATION)).containsExactly(Duration.ofMillis(3));
+        assertThat(first.metricValues(HttpMetric.TIME_TO_FIRST_BYTE)).hasSize(1);
+
+        channel.attr(REQUEST_WRITE_START_NANOS).set(System.nanoTime());
+        MetricCollection second = publish(channel);
+        assertThat(second.metricValues(HttpMetric.DNS_LOOKUP_DURATION)).isEmpty();
+        assertThat(second.metricValues(HttpMetric.TCP_CONNECT_DURATION)).isEmpty();
+        assertThat(second.metricValues(HttpMetric.TLS_HANDSHAKE_DURATION)).isEmpty();
+        assertThat(second.metricValues(HttpMetric.TIME_TO_FIRST_BYTE)).hasSize(1);
+    }
+
+    private static MetricCollection publish(Channel channel) {
+        MetricCollector collector = MetricCollector.create("test");
+        NettyRequestMetrics.publishResponseTimingMetrics(collector, channel);
+        return collector.collect();
+    }
+}
@@ -0,0 +1,72 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+
+package software.amazon.awssdk.http.nio.netty.internal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelOutboundHandlerAdapter;
+import io.netty.channel.ChannelPromise;
+import io.netty.channel.embedded.EmbeddedChannel;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.SocketAddress;
+import org.junit.Test;
+import software.amazon.awssdk.http.SdkDnsResolver;
+
+public class DnsConnectFailureHandlerTest {
+    private static final String HOST = "some-awesome-service-1234.amazonaws.com";
+
+    private final SdkDnsResolver dnsResolver = mock(SdkDnsResolver.class);
+
+    @Test
+    public void connectFails_reportsAddressToResolver() throws Exception {
+        InetAddress address = InetAddress.getByAddress(new byte[] {10, 0, 0, 1});
+        EmbeddedChannel channel = new EmbeddedChannel();
+        channel.pipeline().addLast(new FailingConnectHandler());
+        channel.pipeline().addLast(new DnsConnectFailureHandler(dnsResolver, HOST));
+
+        channel.connect(new InetSocketAddress(address, 443));
+
+        verify(dnsResolver).reportConnectFailure(HOST, address);
+        assertThat(channel.pipeline().get(DnsConnectFailureHandler.class)).isNull();
+    }
+
+    @Test
+    public void connectSucceeds_doesNotReportAddress() throws Exception {
+        EmbeddedChannel channel = new EmbeddedChannel();
+        channel.pipeline().addLast(new DnsConnectFailureHandler(dnsResolver, HOST));
+
+        channel.connect(new InetSocketAddress(InetAddress.getByAddress(new byte[] {10, 0, 0, 1}), 443));
+
+        verify(dnsResolver, never()).reportConnectFailure(any(String.class), any(InetAddress.class));
+        assertThat(channel.pipeline().get(DnsConnectFailureHandler.class)).isNull();
+    }
+
+    private static final class FailingConnectHandler extends ChannelOutboundHandlerAdapter {
+        @Override
+        public void connect(ChannelHandlerContext ctx, SocketAddress remoteAddress, SocketAddress localAddress,
+                            ChannelPromise promise) {
+            promise.setFailure(new IOException("Connection refused"));
+        }
+    }
+}
@@ -0,0 +1,250 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+
+package software.amazon.awssdk.http.nio.netty.internal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static software.amazon.awssdk.http.SdkHttpConfigurationOption.CONNECTION_ACQUIRE_TIMEOUT;
+import static software.amazon.awssdk.http.SdkHttpConfigurationOption.GLOBAL_HTTP_DEFAULTS;
+import static software.amazon.awssdk.http.SdkHttpConfigurationOption.MAX_CONNECTIONS;
+import static software.amazon.awssdk.http.SdkHttpConfigurationOption.MAX_PENDING_CONNECTION_ACQUIRES;
+
+import io.netty.bootstrap.Bootstrap;
+import io.netty.bootstrap.ServerBootstrap;
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelInboundHandlerAdapter;
+import io.netty.channel.EventLoopGroup;
+import io.netty.channel.nio.NioEventLoopGroup;
+import io.netty.channel.pool.AbstractChannelPoolHandler;
+import io.netty.channel.socket.nio.NioServerSocketChannel;
+import io.netty.channel.socket.nio.NioSocketChannel;
+import io.netty.util.concurrent.Future;
+import io.netty.util.concurrent.Promise;
+import java.net.InetSocketAddress;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import org.junit.After;
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import software.amazon.awssdk.http.HttpMetric;
+import software.amazon.awssdk.metrics.MetricCollection;
+import software.amazon.awssdk.metrics.MetricCollector;
+import software.amazon.awssdk.utils.AttributeMap;
+
+public class EventLoopAffinityChannelPoolTest {
+    private static EventLoopGroup eventLoopGroup;
+    private static Channel serverChannel;
+
+    private EventLoopAffinityChannelPool channelPool;
+
+    @BeforeClass
+    public static void setup() throws InterruptedException {
+        eventLoopGroup = new NioEventLoopGroup(2);
+        serverChannel = new ServerBootstrap().group(eventLoopGroup)
+                                             .channel(NioServerSocketChannel.class)
+                                             .childHandler(new ChannelInboundHandlerAdapter())
+                                             .bind("localhost", 0)
+                                             .sync()
+                                             .channel();
+    }
+
+    @AfterClass
+    public static void teardown() throws InterruptedException {
+        serverChannel.close().sync();
+        eventLoopGroup.shutdownGracefully().await();
+    }
+
+    @After
+    public void closePool() {
+        if (channelPool != null) {
+            channelPool.close();
+        }
+    }
+
+    @Test
+    public void releasedChannel_isReused() {
+        channelPool = createPool(2, 2);
+
+        Channel channel = acquire();
+        channelPool.release(channel).awaitUninterruptibly();
+
+        assertThat(acquire()).isSameAs(channel);
+    }
+
+    @Test
+    public void collectChannelPoolMetrics_reportsLeasedIdleAndPending() {
+        channelPool = createPool(2, 2);
+        Channel first = acquire();
+        acquire();
+        channelPool.release(first).awaitUninterruptibly();
+        acquire();
+        channelPool.acquire();
+
+        MetricCollection metrics = collectMetrics();
+        assertThat(metrics.metricValues(HttpMetric.MAX_CONCURRENCY)).containsExactly(2);
+        assertThat(metrics.metricValues(HttpMetric.LEASED_CONCURRENCY)).containsExactly(2);
+        assertThat(metrics.metricValues(HttpMetric.AVAILABLE_CONCURRENCY)).containsExactly(0);
+        assertThat(metrics.metricValues(HttpMetric.PENDING_CONCURRENCY_ACQUIRES)).containsExactly(1);
+    }
+
+    @Test
+    public void acquireAtMaxConnections_completesWhenChannelIsReleased() {
+        channelPool = createPool(1, 1);
+        Channel channel = acquire();
+
+        Future<Channel> pending = channelPool.acquire();
+        assertThat(pending.isDone()).isFalse();
+
+        channelPool.release(channel);
+        assertThat(pending.awaitUninterruptibly(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(pending.getNow()).isSameAs(channel);
+    }
+
+    @Test
+    public void acquireAtMaxConnections_completesWhenChannelIsClosed() {
+        channelPool = createPool(1, 1);
+        Channel channel = acquire();
+
+        Future<Channel> pending = channelPool.acquire();
+        channel.close();
+
+        assertThat(pending.awaitUninterruptibly(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(pending.getNow()).isNotSameAs(channel);
+        assertThat(pending.getNow().isActive()).isTrue();
+    }
+
+    @Test
+    public void acquireAtMaxConnections_timesOut() {
+        channelPool = createPool(1, 1);
+        acquire();
+
+        Future<Channel> pending = channelPool.acquire().awaitUninterruptibly();
+
+        assertThat(pending.cause()).isInstanceOf(TimeoutException.class)
+                                   .hasMessageContaining("Acquire operation took longer");
+    }
+
+    @Test
+    public void tooManyPendingAcquires_fails() {
+        channelPool = createPool(1, 1);
+        acquire();
+        channelPool.acquire();
+
+        Future<Channel> rejected = channelPool.acquire().awaitUninterruptibly();
+
+        assertThat(rejected.cause()).isInstanceOf(IllegalStateException.class)
+                                    .hasMessageContaining("Too many outstanding acquire operations");
+    }
+
+    @Test
+    public void releaseTwice_onlyReleasesOnce() {
+        channelPool = createPool(2, 2);
+        Channel channel = acquire();
+
+        channelPool.release(channel).awaitUninterruptibly();
+        channelPool.release(channel).awaitUninterruptibly();
+
+        assertThat(collectMetrics().metricValues(HttpMetric.LEASED_CONCURRENCY)).containsExactly(0);
+        assertThat(collectMetrics().metricValues(HttpMetric.AVAILABLE_CONCURRENCY)).containsExactly(1);
+    }
+
+    @Test
+    public void releaseWithCloseOnRelease_closesChannel() {
+        channelPool = createPool(2, 2);
+        Channel channel = acquire();
+        channel.attr(ChannelAttributeKey.CLOSE_ON_RELEASE).set(true);
+
+        channelPool.release(channel).awaitUninterruptibly();
+
+        channel.closeFuture().awaitUninterruptibly(5, TimeUnit.SECONDS);
+        assertThat(channel.isOpen()).isFalse();
+        assertThat(acquire()).isNotSameAs(channel);
+    }
+
+    @Test
+    public void closedIdleChannel_isNotAcquired() {
+        channelPool = createPool(2, 2);
+        Channel channel = acquire();
+        channelPool.release(channel).awaitUninterruptibly();
+
+        channel.close().awaitUninterruptibly();
+
+        assertThat(acquire()).isNotSameAs(channel);
+    }
+
+    @Test
+    public void acquireAfterPromiseIsDone_returnsChannelToPool() {
+        channelPool = createPool(2, 2);
+        Channel channel = acquire();
+        channelPool.release(channel).awaitUninterruptibly();
+
+        Promise<Channel> cancelled = eventLoopGroup.next().newPromise();
+        cancelled.cancel(false);
+        channelPool.acquire(cancelled);
+
+        assertThat(acquire()).isSameAs(channel);
+    }
+
+    @Test
+    public void close_failsPendingAcquiresAndClosesIdleChannels() {
+        channelPool = createPool(1, 1);
+        Channel channel = acquire();
+        channelPool.release(channel).awaitUninterruptibly();
+        Channel leased = acquire();
+        Future<Channel> pending = channelPool.acquire();
+
+        channelPool.close();
+
+        assertThat(pending.awaitUninterruptibly().cause()).isInstanceOf(IllegalStateException.class);
+        assertThat(channelPool.closeFuture().join()).isTrue();
+        assertThat(channelPool.acquire().awaitUninterruptibly().cause()).isInstanceOf(IllegalStateException.class);
+
+        channelPool.release(leased).awaitUninterruptibly();
+        leased.closeFuture().awaitUninterruptibly(5, TimeUnit.SECONDS);
+        assertThat(leased.isOpen()).isFalse();
+    }
+
+    private Channel acquire() {
+        Future<Channel> future = channelPool.acquire().awaitUninterruptibly();
+        assertThat(future.isSuccess()).isTrue();
+        return future.getNow();
+    }
+
+    private MetricCollection collectMetrics() {
+        MetricCollector collector = MetricCollector.create("test");
+        channelPool.collectChannelPoolMetrics(collector).join();
+        return collector.collect();
+    }
+
+    private static EventLoopAffinityChannelPool createPool(int maxConnections, int maxPendingAcquires) {
+        Bootstrap bootstrap = new Bootstrap().group(eventLoopGroup)
+                                             .channel(NioSocketChannel.class)
+                                             .remoteAddress((InetSocketAddress) serverChannel.localAddress());
+        AttributeMap configuration = AttributeMap.builder()
+                                                 .put(MAX_CONNECTIONS, maxConnections)
+                                                 .put(MAX_PENDING_CONNECTION_ACQUIRES, maxPendingAcquires)
+                                                 .put(CONNECTION_ACQUIRE_TIMEOUT, Duration.ofMillis(200))
+                                                 .build()
+                                                 .merge(GLOBAL_HTTP_DEFAULTS);
+        return new EventLoopAffinityChannelPool(bootstrap, new AbstractChannelPoolHandler() {
+            @Override
+            public void channelCreated(Channel ch) {
+            }
+        }, new NettyConfiguration(configuration));
+    }
+}
@@ -0,0 +1,158 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+
+package software.amazon.awssdk.http.nio.netty.internal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.Assume.assumeTrue;
+
+import io.netty.channel.FileRegion;
+import io.netty.handler.codec.http.DefaultHttpRequest;
+import io.netty.handler.codec.http.HttpContent;
+import io.netty.handler.codec.http.HttpMethod;
+import io.netty.handler.codec.http.HttpVersion;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Stream;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+import software.amazon.awssdk.http.nio.netty.internal.FileRegionContentHandler.FileRegionContent;
+
+public class FileStreamedRequestTest {
+    private static final int CHUNK_SIZE = 8 * 1024 * 1024;
+
+    private Path file;
+    private byte[] content;
+
+    @Before
+    public void setup() throws IOException {
+        content = new byte[CHUNK_SIZE + 1024];
+        new Random().nextBytes(content);
+        file = Files.createTempFile("file-streamed-request", ".bin");
+        Files.write(file, content);
+    }
+
+    @After
+    public void teardown() throws IOException {
+        Files.deleteIfExists(file);
+    }
+
+    @Test
+    public void chunksShareFile_otherChunksReadableAfterOneIsReleased() throws IOException {
+        RecordingSubscriber subscriber = subscribe();
+        subscriber.subscription.request(Long.MAX_VALUE);
+
+        assertThat(subscriber.completed).isTrue();
+        assertThat(subscriber.regions).hasSize(2);
+        subscriber.regions.get(0).release();
+
+        assertThat(transfer(subscriber.regions.get(1))).isEqualTo(Arrays.copyOfRange(content, CHUNK_SIZE, content.length));
+        subscriber.regions.get(1).release();
+    }
+
+    @Test
+    public void completed_fileIsClosedOnceChunksAreReleased() throws IOException {
+        assumeTrue(Files.isDirectory(Paths.get("/proc/self/fd")));
+        RecordingSubscriber subscriber = subscribe();
+        subscriber.subscription.request(Long.MAX_VALUE);
+
+        assertThat(openDescriptors()).isEqualTo(1);
+        subscriber.regions.forEach(FileRegion::release);
+        assertThat(openDescriptors()).isZero();
+    }
+
+    @Test
+    public void cancelled_fileIsClosedOnceChunksAreReleased() throws IOException {
+        assumeTrue(Files.isDirectory(Paths.get("/proc/self/fd")));
+        RecordingSubscriber subscriber = subscribe();
+        subscriber.subscription.request(1);
+
+        subscriber.subscription.cancel();
+        assertThat(openDescriptors()).isEqualTo(1);
+        subscriber.regions.forEach(FileRegion::release);
+        assertThat(openDescriptors()).isZero();
+    }
+
+    private RecordingSubscriber subscribe() {
+        FileStreamedRequest request = new FileStreamedRequest(new DefaultHttpRequest(HttpVersion.HTTP_1_1, HttpMethod.PUT, "/"),
+                                                              file, 0, content.length);
+        RecordingSubscriber subscriber = new RecordingSubscriber();
+        request.subscribe(subscriber);
+        return subscriber;
+    }
+
+    private static byte[] transfer(FileRegion region) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        WritableByteChannel target = Channels.newChannel(out);
+        long transferred = 0;
+        while (transferred < region.count()) {
+            transferred += region.transferTo(target, transferred);
+        }
+        return out.toByteArray();
+    }
+
+    private long openDescriptors() throws IOException {
+        Path realPath = file.toRealPath();
+        try (Stream<Path> descriptors = Files.list(Paths.get("/proc/self/fd"))) {
+            return descriptors.filter(fd -> {
+                try {
+                    return Files.readSymbolicLink(fd).equals(realPath);
+                } catch (IOException e) {
+                    // The descriptor was closed while listing
+                    return false;
+                }
+            }).count();
+        }
+    }
+
+    private static final class RecordingSubscriber implements Subscriber<HttpContent> {
+        private final List<FileRegion> regions = new ArrayList<>();
+        private Subscription subscription;
+        private boolean completed;
+
+        @Override
+        public void onSubscribe(Subscription subscription) {
+            this.subscription = subscription;
+        }
+
+        @Override
+        public void onNext(HttpContent httpContent) {
+            regions.add(((FileRegionContent) httpContent).fileRegion());
+        }
+
+        @Override
+        public void onError(Throwable t) {
+            throw new AssertionError(t);
+        }
+
+        @Override
+        public void onComplete() {
+            completed = true;
+        }
+    }
+}
@@ -0,0 +1,141 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+
+package software.amazon.awssdk.http.nio.netty.internal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static software.amazon.awssdk.http.SdkHttpConfigurationOption.GLOBAL_HTTP_DEFAULTS;
+import static software.amazon.awssdk.http.SdkHttpConfigurationOption.MIN_IDLE_CONNECTIONS;
+
+import io.netty.channel.Channel;
+import io.netty.channel.DefaultEventLoop;
+import io.netty.channel.EventLoop;
+import io.netty.channel.embedded.EmbeddedChannel;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import software.amazon.awssdk.http.HttpMetric;
+import software.amazon.awssdk.http.Protocol;
+import software.amazon.awssdk.metrics.MetricCollector;
+import software.amazon.awssdk.utils.AttributeMap;
+
+public class MinimumIdleChannelPoolTest {
+    private EventLoop eventLoop;
+    private SdkChannelPool delegate;
+    private List<Channel> acquiredChannels;
+
+    @Before
+    public void setup() {
+        eventLoop = new DefaultEventLoop();
+        delegate = mock(SdkChannelPool.class);
+        acquiredChannels = new CopyOnWriteArrayList<>();
+        when(delegate.acquire()).thenAnswer(i -> {
+            Channel channel = new EmbeddedChannel();
+            acquiredChannels.add(channel);
+            return eventLoop.newSucceededFuture(channel);
+        });
+        when(delegate.collectChannelPoolMetrics(any(MetricCollector.class))).thenAnswer(i -> {
+            MetricCollector metrics = (MetricCollector) i.getArguments()[0];
+            metrics.reportMetric(HttpMetric.LEASED_CONCURRENCY, 0);
+            metrics.reportMetric(HttpMetric.AVAILABLE_CONCURRENCY, 1);
+            return CompletableFuture.completedFuture(null);
+        });
+    }
+
+    @After
+    public void teardown() {
+        eventLoop.shutdownGracefully();
+    }
+
+    @Test
+    public void warmUp_noMinimumConfigured_opensOneConnection() {
+        MinimumIdleChannelPool pool = createPool(0, Protocol.HTTP1_1);
+
+        pool.warmUp().join();
+
+        verify(delegate, times(1)).acquire();
+        verify(delegate, times(1)).release(acquiredChannels.get(0));
+    }
+
+    @Test
+    public void acquireAndRelease_withoutMinimumIdlePool_opensAndReleasesConnection() {
+        MinimumIdleChannelPool.acquireAndRelease(delegate, 1, channel -> { }).join();
+
+        verify(delegate, times(1)).acquire();
+        verify(delegate, times(1)).release(acquiredChannels.get(0));
+    }
+
+    @Test
+    public void warmUp_minimumConfigured_opensMinimumConnectionsAtOnce() {
+        MinimumIdleChannelPool pool = createPool(3, Protocol.HTTP1_1);
+
+        pool.warmUp().join();
+
+        assertThat(acquiredChannels).hasSize(3);
+        acquiredChannels.forEach(c -> verify(delegate).release(c));
+    }
+
+    @Test
+    public void warmUp_http2_opensOneConnection() {
+        MinimumIdleChannelPool pool = createPool(3, Protocol.HTTP2);
+
+        pool.warmUp().join();
+
+        verify(delegate, times(1)).acquire();
+    }
+
+    @Test
+    public void connectionClosed_topsUpToMinimum() {
+        MinimumIdleChannelPool pool = createPool(2, Protocol.HTTP1_1);
+        pool.warmUp().join();
+
+        acquiredChannels.get(0).close();
+
+        // One connection is still idle, so both the idle one and a new one are acquired to reach the minimum
+        verify(delegate, timeout(5_000).times(4)).acquire();
+    }
+
+    @Test
+    public void connectionClosed_afterPoolClosed_doesNotTopUp() throws InterruptedException {
+        MinimumIdleChannelPool pool = createPool(2, Protocol.HTTP1_1);
+        pool.warmUp().join();
+
+        pool.close();
+        acquiredChannels.get(0).close();
+
+        Thread.sleep(1_500);
+        verify(delegate, times(2)).acquire();
+        verify(delegate, never()).collectChannelPoolMetrics(any(MetricCollector.class));
+    }
+
+    private MinimumIdleChannelPool createPool(int minimumIdleConnections, Protocol protocol) {
+        AttributeMap configuration = AttributeMap.builder()
+                                                 .put(MIN_IDLE_CONNECTIONS, minimumIdleConnections)
+                                                 .build()
+                                                 .merge(GLOBAL_HTTP_DEFAULTS);
+        return new MinimumIdleChannelPool(delegate, eventLoop, protocol, new NettyConfiguration(configuration));
+    }
+}
@@ -26,8 +26,10 @@ import static software.amazon.awssdk.http.nio.netty.internal.ChannelAttributeKey
 import static software.amazon.awssdk.http.nio.netty.internal.ChannelAttributeKey.PROTOCOL_FUTURE;
 import static software.amazon.awssdk.http.nio.netty.internal.ChannelAttributeKey.REQUEST_CONTEXT_KEY;
 
+import io.netty.buffer.ByteBuf;
 import io.netty.buffer.ByteBufAllocator;
 import io.netty.buffer.EmptyByteBuf;
+import io.netty.buffer.PooledByteBufAllocator;
 import io.netty.buffer.Unpooled;
 import io.netty.channel.ChannelHandlerContext;
 import io.netty.channel.EventLoopGroup;
@@ -39,6 +41,8 @@ import io.netty.handler.codec.http.HttpResponseStatus;
 import io.netty.handler.codec.http.HttpVersion;
 import io.reactivex.Flowable;
 import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.concurrent.CompletableFuture;
 import org.junit.Before;
 import org.junit.Test;
@@ -53,6 +57,8 @@ import software.amazon.awssdk.http.async.AsyncExecuteRequest;
 import software.amazon.awssdk.http.async.SdkAsyncHttpResponseHandler;
 import software.amazon.awssdk.http.nio.netty.internal.nrs.DefaultStreamedHttpResponse;
 import software.amazon.awssdk.http.nio.netty.internal.nrs.StreamedHttpResponse;
+import software.amazon.awssdk.utils.AttributeMap;
+import software.amazon.awssdk.utils.async.PooledByteBuffers;
 
 @RunWith(MockitoJUnitRunner.class)
 public class PublisherAdapterTest {
@@ -227,8 +233,44 @@ public class PublisherAdapterTest {
         }
     }
 
+    @Test
+    public void pooledResponseBuffers_publishesViewOfContent_contentReleasedBySubscriber() {
+        ByteBuf content = PooledByteBufAllocator.DEFAULT.directBuffer(4).writeBytes(new byte[] {1, 2, 3, 4});
+        Flowable<HttpContent> testPublisher = Flowable.just(new DefaultHttpContent(content));
+
+        StreamedHttpResponse streamedHttpResponse = new DefaultStreamedHttpResponse(HttpVersion.HTTP_1_1,
+                                                                                    HttpResponseStatus.ACCEPTED,
+                                                                                    testPublisher);
+        NettyConfiguration configuration =
+            new NettyConfiguration(AttributeMap.builder().put(NettyConfiguration.POOLED_RESPONSE_BUFFERS, true).build());
+        RequestContext pooledRequestContext =
+            new RequestContext(channelPool,
+                               eventLoopGroup,
+                               AsyncExecuteRequest.builder().responseHandler(responseHandler).build(),
+                               configuration);
+
+        ResponseHandler.PublisherAdapter publisherAdapter = new ResponseHandler.PublisherAdapter(streamedHttpResponse,
+                                                                                                 ctx,
+                                                                                                 pooledRequestContext,
+                                                                                                 executeFuture);
+        TestSubscriber subscriber = new TestSubscriber();
+
+        publisherAdapter.subscribe(subscriber);
+
+        assertThat(subscriber.isCompleted).isTrue();
+        assertThat(subscriber.received).hasSize(1);
+        ByteBuffer published = subscriber.received.get(0);
+        assertThat(published.isReadOnly()).isTrue();
+        assertThat(published).isEqualTo(ByteBuffer.wrap(new byte[] {1, 2, 3, 4}));
+        assertThat(content.refCnt()).isEqualTo(1);
+
+        assertThat(PooledByteBuffers.release(published)).isTrue();
+        assertThat(content.refCnt()).isZero();
+    }
+
     static final class TestSubscriber implements Subscriber<ByteBuffer> {
 
+        private final List<ByteBuffer> received = new ArrayList<>();
         private Subscription subscription;
         private boolean isCompleted = false;
         private boolean errorOccurred = false;
@@ -241,6 +283,7 @@ public class PublisherAdapterTest {
 
         @Override
         public void onNext(ByteBuffer byteBuffer) {
+            received.add(byteBuffer);
             subscription.request(1);
         }
 
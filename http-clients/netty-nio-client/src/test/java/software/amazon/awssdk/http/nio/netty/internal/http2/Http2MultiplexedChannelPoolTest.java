@@ -16,11 +16,13 @@
 package software.amazon.awssdk.http.nio.netty.internal.http2;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Matchers.any;
 import static org.mockito.Matchers.eq;
 import static org.mockito.Matchers.isA;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
 import static software.amazon.awssdk.http.nio.netty.internal.ChannelAttributeKey.HTTP2_CONNECTION;
+import static software.amazon.awssdk.http.nio.netty.internal.http2.Http2MultiplexedChannelPool.MULTIPLEXED_CHANNEL;
 import static software.amazon.awssdk.http.nio.netty.internal.http2.utils.Http2TestUtils.newHttp2Channel;
 
 import io.netty.channel.Channel;
@@ -38,7 +40,9 @@ import io.netty.util.concurrent.FailedFuture;
 import io.netty.util.concurrent.Future;
 import io.netty.util.concurrent.Promise;
 import java.io.IOException;
+import java.util.Arrays;
 import java.util.Collections;
+import java.util.HashSet;
 import java.util.concurrent.CompletableFuture;
 import org.junit.AfterClass;
 import org.junit.BeforeClass;
@@ -347,4 +351,96 @@ public class Http2MultiplexedChannelPoolTest {
         h2Pool.collectChannelPoolMetrics(metricCollector);
         return metricCollector.collect();
     }
+
+    @Test
+    public void adaptiveConnectionScaling_acquiresStreamOnLeastLoadedConnection() {
+        MultiplexedChannelRecord busyRecord = mockRecord(6, false);
+        MultiplexedChannelRecord idleRecord = mockRecord(1, false);
+        MultiplexedChannelRecord stalledRecord = mockRecord(0, true);
+        ChannelPool connectionPool = mock(ChannelPool.class);
+
+        Http2MultiplexedChannelPool h2Pool =
+            new Http2MultiplexedChannelPool(connectionPool, loopGroup,
+                                            new HashSet<>(Arrays.asList(busyRecord, idleRecord, stalledRecord)),
+                                            null, true, 8);
+
+        h2Pool.acquire();
+
+        Mockito.verify(idleRecord).acquireStream(any());
+        Mockito.verify(busyRecord, Mockito.never()).acquireStream(any());
+        Mockito.verify(stalledRecord, Mockito.never()).acquireStream(any());
+        Mockito.verifyZeroInteractions(connectionPool);
+    }
+
+    @Test
+    public void adaptiveConnectionScaling_allConnectionsLoaded_opensNewConnection() throws InterruptedException {
+        MultiplexedChannelRecord loadedRecord = mockRecord(8, false);
+        MultiplexedChannelRecord stalledRecord = mockRecord(1, true);
+        IOException exception = new IOException();
+        ChannelPool connectionPool = mock(ChannelPool.class);
+        when(connectionPool.acquire()).thenReturn(new FailedFuture<>(loopGroup.next(), exception));
+
+        Http2MultiplexedChannelPool h2Pool =
+            new Http2MultiplexedChannelPool(connectionPool, loopGroup,
+                                            new HashSet<>(Arrays.asList(loadedRecord, stalledRecord)),
+                                            null, true, 8);
+
+        Future<Channel> acquireResult = h2Pool.acquire().await();
+
+        assertThat(acquireResult.cause()).isEqualTo(exception);
+        Mockito.verify(connectionPool).acquire();
+        Mockito.verify(loadedRecord, Mockito.never()).acquireStream(any());
+        Mockito.verify(stalledRecord, Mockito.never()).acquireStream(any());
+    }
+
+    @Test
+    public void adaptiveConnectionScaling_goAwayWithActiveStreams_connectionIsClosedWithPool() {
+        SocketChannel channel = new NioSocketChannel();
+        try {
+            loopGroup.register(channel).awaitUninterruptibly();
+
+            ChannelPool connectionPool = mock(ChannelPool.class);
+            ArgumentCaptor<Promise> releasePromise = ArgumentCaptor.forClass(Promise.class);
+            when(connectionPool.release(eq(channel), releasePromise.capture())).thenAnswer(invocation -> {
+                Promise<?> promise = releasePromise.getValue();
+                promise.setSuccess(null);
+                return promise;
+            });
+
+            MultiplexedChannelRecord record = mock(MultiplexedChannelRecord.class);
+            when(record.getConnection()).thenReturn(channel);
+            when(record.hasAvailableStreams()).thenReturn(false);
+            when(record.canBeClosedAndReleased()).thenReturn(false);
+            channel.attr(MULTIPLEXED_CHANNEL).set(record);
+
+            Http2MultiplexedChannelPool h2Pool =
+                new Http2MultiplexedChannelPool(connectionPool, loopGroup, Collections.singleton(record), null, true, 8);
+
+            h2Pool.handleGoAway(channel, 3, new GoAwayException(0, "drain"));
+            channel.eventLoop().submit(() -> { }).awaitUninterruptibly();
+            Mockito.verify(connectionPool, Mockito.never()).release(eq(channel), isA(Promise.class));
+
+            h2Pool.close();
+
+            InOrder inOrder = Mockito.inOrder(record, connectionPool);
+            inOrder.verify(record).closeChildChannels();
+            inOrder.verify(connectionPool).release(eq(channel), isA(Promise.class));
+            inOrder.verify(connectionPool).close();
+        } finally {
+            channel.close().awaitUninterruptibly();
+        }
+    }
+
+    private MultiplexedChannelRecord mockRecord(long activeStreams, boolean flowControlStalled) {
+        Channel channel = mock(Channel.class);
+        when(channel.eventLoop()).thenReturn(loopGroup.next());
+
+        MultiplexedChannelRecord record = mock(MultiplexedChannelRecord.class);
+        when(record.getConnection()).thenReturn(channel);
+        when(record.hasAvailableStreams()).thenReturn(true);
+        when(record.activeStreams()).thenReturn(activeStreams);
+        when(record.isFlowControlStalled()).thenReturn(flowControlStalled);
+        when(record.acquireStream(any())).thenReturn(true);
+        return record;
+    }
 }
@@ -23,6 +23,7 @@ import static software.amazon.awssdk.http.nio.netty.internal.ChannelAttributeKey
 
 import io.netty.channel.ChannelHandlerContext;
 import io.netty.channel.pool.ChannelPool;
+import io.netty.handler.codec.http2.DefaultHttp2SettingsFrame;
 import io.netty.handler.codec.http2.Http2Settings;
 import io.netty.handler.codec.http2.Http2SettingsFrame;
 import java.io.IOException;
@@ -91,6 +92,30 @@ public class Http2SettingsFrameHandlerTest {
         assertThat(protocolCompletableFuture.join()).isEqualTo(Protocol.HTTP2);
     }
 
+    @Test
+    public void channelRead_afterProtocolEstablished_updatesMaxStreamsOfConnection() {
+        Http2MultiplexedChannelPool h2Pool = Mockito.mock(Http2MultiplexedChannelPool.class);
+        channel.attr(HTTP2_MULTIPLEXED_CHANNEL_POOL).set(h2Pool);
+        handler.channelRead0(context, http2SettingsFrame(50L));
+
+        handler.channelRead0(context, http2SettingsFrame(20L));
+
+        assertThat(channel.attr(MAX_CONCURRENT_STREAMS).get()).isEqualTo(20L);
+        Mockito.verify(h2Pool).handleMaxConcurrentStreamsUpdate(channel, 20L);
+    }
+
+    @Test
+    public void channelRead_afterProtocolEstablished_withoutMaxStreams_keepsMaxStreams() {
+        Http2MultiplexedChannelPool h2Pool = Mockito.mock(Http2MultiplexedChannelPool.class);
+        channel.attr(HTTP2_MULTIPLEXED_CHANNEL_POOL).set(h2Pool);
+        handler.channelRead0(context, http2SettingsFrame(50L));
+
+        handler.channelRead0(context, new DefaultHttp2SettingsFrame(new Http2Settings()));
+
+        assertThat(channel.attr(MAX_CONCURRENT_STREAMS).get()).isEqualTo(50L);
+        Mockito.verifyZeroInteractions(h2Pool);
+    }
+
     @Test
     public void exceptionCaught_shouldHandleErrorCloseChannel() throws Exception {
         Throwable cause = new Throwable(new RuntimeException("BOOM"));
@@ -22,6 +22,7 @@ import software.amazon.awssdk.annotations.SdkPublicApi;
  * Represents the upload or download of a directory of files to or from S3.
  * 
  * @see DirectoryUpload
+ * @see DirectoryDownload
  */
 @SdkPublicApi
 @SdkPreviewApi
@@ -0,0 +1,199 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+
+package software.amazon.awssdk.transfer.s3;
+
+import java.util.Objects;
+import java.util.Optional;
+import java.util.function.Consumer;
+import software.amazon.awssdk.annotations.SdkPreviewApi;
+import software.amazon.awssdk.annotations.SdkPublicApi;
+import software.amazon.awssdk.services.s3.model.GetObjectRequest;
+import software.amazon.awssdk.utils.ToString;
+import software.amazon.awssdk.utils.Validate;
+import software.amazon.awssdk.utils.builder.CopyableBuilder;
+import software.amazon.awssdk.utils.builder.ToCopyableBuilder;
+
+/**
+ * Configuration options for {@link S3TransferManager#downloadDirectory}. All values are optional, and not specifying them will
+ * use the SDK default values.
+ *
+ * <p>Use {@link #builder()} to create a set of options.
+ * @see S3TransferManager#downloadDirectory(DownloadDirectoryRequest)
+ */
+@SdkPublicApi
+@SdkPreviewApi
+public final class DownloadDirectoryOverrideConfiguration
+    implements ToCopyableBuilder<DownloadDirectoryOverrideConfiguration.Builder, DownloadDirectoryOverrideConfiguration> {
+
+    private final Integer maxConcurrentDownloads;
+    private final Consumer<DownloadFileRequest.Builder> downloadFileRequestTransformer;
+
+    public DownloadDirectoryOverrideConfiguration(DefaultBuilder builder) {
+        this.maxConcurrentDownloads = Validate.isPositiveOrNull(builder.maxConcurrentDownloads, "maxConcurrentDownloads");
+        this.downloadFileRequestTransformer = builder.downloadFileRequestTransformer;
+    }
+
+    /**
+     * @return the maximum number of files downloaded concurrently
+     * @see Builder#maxConcurrentDownloads(Integer)
+     */
+    public Optional<Integer> maxConcurrentDownloads() {
+        return Optional.ofNullable(maxConcurrentDownloads);
+    }
+
+    /**
+     * @return the optional download request transformer
+     * @see Builder#downloadFileRequestTransformer(Consumer)
+     */
+    public Optional<Consumer<DownloadFileRequest.Builder>> downloadFileRequestTransformer() {
+        return Optional.ofNullable(downloadFileRequestTransformer);
+    }
+
+    @Override
+    public Builder toBuilder() {
+        return new DefaultBuilder(this);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+
+        DownloadDirectoryOverrideConfiguration that = (DownloadDirectoryOverrideConfiguration) o;
+
+        if (!Objects.equals(maxConcurrentDownloads, that.maxConcurrentDownloads)) {
+            return false;
+        }
+        return Objects.equals(downloadFileRequestTransformer, that.downloadFileRequestTransformer);
+    }
+
+    @Override
+    public int hashCode() {
+        int result = maxConcurrentDownloads != null ? maxConcurrentDownloads.hashCode() : 0;
+        result = 31 * result + (downloadFileRequestTransformer != null ? downloadFileRequestTransformer.hashCode() : 0);
+        return result;
+    }
+
+    @Override
+    public String toString() {
+        return ToString.builder("DownloadDirectoryConfiguration")
+                       .add("maxConcurrentDownloads", maxConcurrentDownloads)
+                       .add("downloadFileRequestTransformer", downloadFileRequestTransformer)
+                       .build();
+    }
+
+    public static Builder builder() {
+        return new DefaultBuilder();
+    }
+
+    public static Class<? extends Builder> serializableBuilderClass() {
+        return DefaultBuilder.class;
+    }
+
+    public interface Builder extends CopyableBuilder<Builder, DownloadDirectoryOverrideConfiguration> {
+
+        /**
+         * Specify the maximum number of files that are downloaded at the same time. Objects are only listed as fast as their
+         * downloads complete, so this also bounds the number of listed objects held in memory. Must be positive.
+         *
+         * <p>
+         * Default to 100
+         *
+         * @param maxConcurrentDownloads the maximum number of concurrent file downloads
+         * @return This builder for method chaining.
+         */
+        Builder maxConcurrentDownloads(Integer maxConcurrentDownloads);
+
+        /**
+         * Specify a function used to transform the {@link DownloadFileRequest}s generated by this
+         * {@link DownloadDirectoryRequest}. The provided function is called once for each object that is downloaded, allowing
+         * you to modify the destination resolved by TransferManager on a per-object basis, modify the created
+         * {@link GetObjectRequest} before it is passed to S3, or configure a {@link TransferRequestOverrideConfiguration}.
+         *
+         * <p>
+         * <b>Usage Example:</b>
+         * <pre>
+         * {@code
+         * // Add a LoggingTransferListener to every transfer within the download directory request
+         * DownloadDirectoryOverrideConfiguration directoryDownloadConfiguration =
+         *     DownloadDirectoryOverrideConfiguration.builder()
+         *         .downloadFileRequestTransformer(request -> request.overrideConfiguration(
+         *             o -> o.addListener(LoggingTransferListener.create())))
+         *         .build();
+         * }
+         * </pre>
+         *
+         * @param downloadFileRequestTransformer A transformer to use for modifying the file-level download requests before
+         *                                       execution
+         * @return This builder for method chaining
+         */
+        Builder downloadFileRequestTransformer(Consumer<DownloadFileRequest.Builder> downloadFileRequestTransformer);
+
+        @Override
+        DownloadDirectoryOverrideConfiguration build();
+    }
+
+    private static final class DefaultBuilder implements Builder {
+        private Integer maxConcurrentDownloads;
+        private Consumer<DownloadFileRequest.Builder> downloadFileRequestTransformer;
+
+        private DefaultBuilder(DownloadDirectoryOverrideConfiguration configuration) {
+            this.maxConcurrentDownloads = configuration.maxConcurrentDownloads;
+            this.downloadFileRequestTransformer = configuration.downloadFileRequestTransformer;
+        }
+
+        private DefaultBuilder() {
+        }
+
+        @Override
+        public Builder maxConcurrentDownloads(Integer maxConcurrentDownloads) {
+            this.maxConcurrentDownloads = maxConcurrentDownloads;
+            return this;
+        }
+
+        public void setMaxConcurrentDownloads(Integer maxConcurrentDownloads) {
+            maxConcurrentDownloads(maxConcurrentDownloads);
+        }
+
+        public Integer getMaxConcurrentDownloads() {
+            return maxConcurrentDownloads;
+        }
+
+        @Override
+        public Builder downloadFileRequestTransformer(Consumer<DownloadFileRequest.Builder> downloadFileRequestTransformer) {
+            this.downloadFileRequestTransformer = downloadFileRequestTransformer;
+            return this;
+        }
+
+        public void setDownloadFileRequestTransformer(Consumer<DownloadFileRequest.Builder> downloadFileRequestTransformer) {
+            downloadFileRequestTransformer(downloadFileRequestTransformer);
+        }
+
+        public Consumer<DownloadFileRequest.Builder> getDownloadFileRequestTransformer() {
+            return downloadFileRequestTransformer;
+        }
+
+        @Override
+        public DownloadDirectoryOverrideConfiguration build() {
+            return new DownloadDirectoryOverrideConfiguration(this);
+        }
+    }
+}
@@ -28,4 +28,19 @@ public interface FileDownload extends ObjectTransfer {
     
     @Override
     CompletableFuture<CompletedFileDownload> completionFuture();
+
+    /**
+     * Pauses the download and returns its state, which can be passed to
+     * {@link S3TransferManager#resumeDownloadFile(ResumableFileDownload)} to download only the parts of the object that
+     * are not in the destination file yet. The {@link #completionFuture()} of a paused download is cancelled, but the
+     * destination file is kept.
+     *
+     * <p>Pausing is only supported by a transfer manager built with {@link S3TransferManager.Builder#s3AsyncClient}.
+     *
+     * @return The state of the paused download.
+     * @throws UnsupportedOperationException if the transfer manager does not support pausing downloads.
+     */
+    default ResumableFileDownload pause() {
+        throw new UnsupportedOperationException();
+    }
 }
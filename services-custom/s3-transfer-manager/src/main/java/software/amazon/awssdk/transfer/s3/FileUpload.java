@@ -28,4 +28,19 @@ public interface FileUpload extends ObjectTransfer {
     
     @Override
     CompletableFuture<CompletedFileUpload> completionFuture();
+
+    /**
+     * Pauses the upload and returns its state, which can be passed to
+     * {@link S3TransferManager#resumeUploadFile(ResumableFileUpload)} to upload only the parts of the file that were not
+     * uploaded yet. The {@link #completionFuture()} of a paused upload is cancelled, but its multipart upload is not
+     * aborted, so that its parts can be completed when it is resumed.
+     *
+     * <p>Pausing is only supported by a transfer manager built with {@link S3TransferManager.Builder#s3AsyncClient}.
+     *
+     * @return The state of the paused upload.
+     * @throws UnsupportedOperationException if the transfer manager does not support pausing uploads.
+     */
+    default ResumableFileUpload pause() {
+        throw new UnsupportedOperationException();
+    }
 }
@@ -0,0 +1,487 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+
+package software.amazon.awssdk.transfer.s3;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.TreeSet;
+import java.util.function.Consumer;
+import software.amazon.awssdk.annotations.NotThreadSafe;
+import software.amazon.awssdk.annotations.SdkPreviewApi;
+import software.amazon.awssdk.annotations.SdkPublicApi;
+import software.amazon.awssdk.core.exception.SdkClientException;
+import software.amazon.awssdk.transfer.s3.internal.ParallelFileDownloadHelper;
+import software.amazon.awssdk.transfer.s3.internal.ResumableTransferProperties;
+import software.amazon.awssdk.utils.ToString;
+import software.amazon.awssdk.utils.Validate;
+import software.amazon.awssdk.utils.builder.CopyableBuilder;
+import software.amazon.awssdk.utils.builder.ToCopyableBuilder;
+
+/**
+ * The state of a paused {@link FileDownload}, which can be passed to
+ * {@link S3TransferManager#resumeDownloadFile(ResumableFileDownload)} to download only the parts of the object that are not
+ * in the destination file yet.
+ *
+ * <p>A resumable download can be persisted with {@link #serializeToFile(Path)} or {@link #serializeToString()} and restored
+ * with {@link #fromFile(Path)} or {@link #fromString(String)}, for example to resume it after the application restarted.
+ * Only the bucket, key, version ID and destination of the {@link DownloadFileRequest} are persisted; any other request
+ * parameters, such as server-side encryption customer keys, need to be set again on the restored download with
+ * {@link Builder#downloadFileRequest(DownloadFileRequest)}.
+ *
+ * @see FileDownload#pause()
+ */
+@SdkPublicApi
+@SdkPreviewApi
+public final class ResumableFileDownload implements ToCopyableBuilder<ResumableFileDownload.Builder, ResumableFileDownload> {
+    private static final String TYPE = "download";
+
+    private final DownloadFileRequest downloadFileRequest;
+    private final Long totalSizeInBytes;
+    private final Long partSizeInBytes;
+    private final List<Integer> completedParts;
+    private final String s3ObjectETag;
+    private final Instant s3ObjectLastModified;
+    private final Instant fileLastModified;
+
+    private ResumableFileDownload(DefaultBuilder builder) {
+        this.downloadFileRequest = Validate.paramNotNull(builder.downloadFileRequest, "downloadFileRequest");
+        this.totalSizeInBytes = builder.totalSizeInBytes;
+        this.partSizeInBytes = Validate.isPositiveOrNull(builder.partSizeInBytes, "partSizeInBytes");
+        this.completedParts = Collections.unmodifiableList(new ArrayList<>(builder.completedParts));
+        this.s3ObjectETag = builder.s3ObjectETag;
+        this.s3ObjectLastModified = builder.s3ObjectLastModified;
+        this.fileLastModified = builder.fileLastModified;
+    }
+
+    /**
+     * @return The request of the paused download.
+     */
+    public DownloadFileRequest downloadFileRequest() {
+        return downloadFileRequest;
+    }
+
+    /**
+     * @return The size of the object, if it was known when the download was paused.
+     */
+    public Optional<Long> totalSizeInBytes() {
+        return Optional.ofNullable(totalSizeInBytes);
+    }
+
+    /**
+     * @return The size of the ranges the object is downloaded in, if the object was downloaded in ranges.
+     */
+    public Optional<Long> partSizeInBytes() {
+        return Optional.ofNullable(partSizeInBytes);
+    }
+
+    /**
+     * @return The numbers of the ranges that were written to the destination file, in ascending order and starting at 1.
+     */
+    public List<Integer> completedParts() {
+        return completedParts;
+    }
+
+    /**
+     * @return The ETag of the object that the completed parts were read from. When the download is resumed, the remaining
+     * parts are only read from an object with this ETag.
+     */
+    public Optional<String> s3ObjectETag() {
+        return Optional.ofNullable(s3ObjectETag);
+    }
+
+    /**
+     * @return The time the object that the completed parts were read from was last modified.
+     */
+    public Optional<Instant> s3ObjectLastModified() {
+        return Optional.ofNullable(s3ObjectLastModified);
+    }
+
+    /**
+     * @return The time the destination file was last modified when the download was paused. If the file was modified after
+     * that, its completed parts are not trusted and the whole object is downloaded again.
+     */
+    public Optional<Instant> fileLastModified() {
+        return Optional.ofNullable(fileLastModified);
+    }
+
+    /**
+     * Writes this resumable download to a file, which can be read back with {@link #fromFile(Path)}.
+     */
+    public void serializeToFile(Path file) {
+        Validate.paramNotNull(file, "file");
+        toProperties().serializeToFile(file);
+    }
+
+    /**
+     * Writes this resumable download to a string, which can be read back with {@link #fromString(String)}.
+     */
+    public String serializeToString() {
+        return toProperties().serializeToString();
+    }
+
+    /**
+     * Reads a resumable download that was written with {@link #serializeToFile(Path)}.
+     */
+    public static ResumableFileDownload fromFile(Path file) {
+        Validate.paramNotNull(file, "file");
+        return fromProperties(ResumableTransferProperties.fromFile(TYPE, file));
+    }
+
+    /**
+     * Reads a resumable download that was written with {@link #serializeToString()}.
+     */
+    public static ResumableFileDownload fromString(String serialized) {
+        Validate.paramNotNull(serialized, "serialized");
+        return fromProperties(ResumableTransferProperties.fromString(TYPE, serialized));
+    }
+
+    private ResumableTransferProperties toProperties() {
+        return ResumableTransferProperties.create(TYPE)
+                                          .put("bucket", downloadFileRequest.getObjectRequest().bucket())
+                                          .put("key", downloadFileRequest.getObjectRequest().key())
+                                          .put("versionId", downloadFileRequest.getObjectRequest().versionId())
+                                          .put("destination", downloadFileRequest.destination())
+                                          .put("totalSizeInBytes", totalSizeInBytes)
+                                          .put("partSizeInBytes", partSizeInBytes)
+                                          .putRanges("completedParts", completedParts)
+                                          .put("s3ObjectETag", s3ObjectETag)
+                                          .put("s3ObjectLastModified", s3ObjectLastModified)
+                                          .put("fileLastModified", fileLastModified);
+    }
+
+    private static ResumableFileDownload fromProperties(ResumableTransferProperties properties) {
+        DownloadFileRequest downloadFileRequest =
+            DownloadFileRequest.builder()
+                               .getObjectRequest(r -> r.bucket(properties.getRequired("bucket"))
+                                                       .key(properties.getRequired("key"))
+                                                       .versionId(properties.get("versionId")))
+                               .destination(Paths.get(properties.getRequired("destination")))
+                               .build();
+        Long totalSizeInBytes = properties.getLong("totalSizeInBytes");
+        Long partSizeInBytes = properties.getLong("partSizeInBytes");
+        int partCount = partCount(totalSizeInBytes, partSizeInBytes);
+        return builder().downloadFileRequest(downloadFileRequest)
+                        .totalSizeInBytes(totalSizeInBytes)
+                        .partSizeInBytes(partSizeInBytes)
+                        .completedParts(properties.getRanges("completedParts", partCount))
+                        .s3ObjectETag(properties.get("s3ObjectETag"))
+                        .s3ObjectLastModified(properties.getInstant("s3ObjectLastModified"))
+                        .fileLastModified(properties.getInstant("fileLastModified"))
+                        .build();
+    }
+
+    /**
+     * The number of parts of an object of the given size, which bounds the part numbers of a persisted download.
+     */
+    private static int partCount(Long totalSizeInBytes, Long partSizeInBytes) {
+        if (totalSizeInBytes == null || partSizeInBytes == null || totalSizeInBytes <= 0 || partSizeInBytes <= 0) {
+            return 0;
+        }
+        long partCount = (totalSizeInBytes - 1) / partSizeInBytes + 1;
+        if (partCount > ParallelFileDownloadHelper.MAX_PARTS) {
+            throw SdkClientException.create("The resumable download has " + partCount + " parts, more than the maximum of "
+                                            + ParallelFileDownloadHelper.MAX_PARTS + ".");
+        }
+        return (int) partCount;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+
+        ResumableFileDownload that = (ResumableFileDownload) o;
+
+        if (!Objects.equals(downloadFileRequest, that.downloadFileRequest)) {
+            return false;
+        }
+        if (!Objects.equals(totalSizeInBytes, that.totalSizeInBytes)) {
+            return false;
+        }
+        if (!Objects.equals(partSizeInBytes, that.partSizeInBytes)) {
+            return false;
+        }
+        if (!Objects.equals(completedParts, that.completedParts)) {
+            return false;
+        }
+        if (!Objects.equals(s3ObjectETag, that.s3ObjectETag)) {
+            return false;
+        }
+        if (!Objects.equals(s3ObjectLastModified, that.s3ObjectLastModified)) {
+            return false;
+        }
+        return Objects.equals(fileLastModified, that.fileLastModified);
+    }
+
+    @Override
+    public int hashCode() {
+        int result = downloadFileRequest != null ? downloadFileRequest.hashCode() : 0;
+        result = 31 * result + (totalSizeInBytes != null ? totalSizeInBytes.hashCode() : 0);
+        result = 31 * result + (partSizeInBytes != null ? partSizeInBytes.hashCode() : 0);
+        result = 31 * result + (completedParts != null ? completedParts.hashCode() : 0);
+        result = 31 * result + (s3ObjectETag != null ? s3ObjectETag.hashCode() : 0);
+        result = 31 * result + (s3ObjectLastModified != null ? s3ObjectLastModified.hashCode() : 0);
+        result = 31 * result + (fileLastModified != null ? fileLastModified.hashCode() : 0);
+        return result;
+    }
+
+    @Override
+    public String toString() {
+        return ToString.builder("ResumableFileDownload")
+                       .add("downloadFileRequest", downloadFileRequest)
+                       .add("totalSizeInBytes", totalSizeInBytes)
+                       .add("partSizeInBytes", partSizeInBytes)
+                       .add("completedParts", completedParts.size())
+                       .add("s3ObjectETag", s3ObjectETag)
+                       .add("s3ObjectLastModified", s3ObjectLastModified)
+                       .add("fileLastModified", fileLastModified)
+                       .build();
+    }
+
+    /**
+     * Creates a default builder for {@link ResumableFileDownload}.
+     */
+    public static Builder builder() {
+        return new DefaultBuilder();
+    }
+
+    @Override
+    public Builder toBuilder() {
+        return new DefaultBuilder(this);
+    }
+
+    public static Class<? extends Builder> serializableBuilderClass() {
+        return DefaultBuilder.class;
+    }
+
+    /**
+     * A builder for a {@link ResumableFileDownload}, created with {@link #builder()}
+     */
+    @SdkPublicApi
+    @NotThreadSafe
+    public interface Builder extends CopyableBuilder<Builder, ResumableFileDownload> {
+
+        /**
+         * The request of the paused download.
+         *
+         * @param downloadFileRequest the download request
+         * @return This builder for method chaining.
+         */
+        Builder downloadFileRequest(DownloadFileRequest downloadFileRequest);
+
+        /**
+         * Similar to {@link #downloadFileRequest(DownloadFileRequest)}, but takes a lambda to configure a new
+         * {@link DownloadFileRequest.Builder}.
+         *
+         * @param downloadFileRequestBuilder the download request
+         * @return This builder for method chaining.
+         */
+        default Builder downloadFileRequest(Consumer<DownloadFileRequest.Builder> downloadFileRequestBuilder) {
+            Validate.paramNotNull(downloadFileRequestBuilder, "downloadFileRequestBuilder");
+            return downloadFileRequest(DownloadFileRequest.builder()
+                                                          .applyMutation(downloadFileRequestBuilder)
+                                                          .build());
+        }
+
+        /**
+         * The size of the object.
+         *
+         * @param totalSizeInBytes the object size
+         * @return This builder for method chaining.
+         */
+        Builder totalSizeInBytes(Long totalSizeInBytes);
+
+        /**
+         * The size of the ranges the object is downloaded in.
+         *
+         * @param partSizeInBytes the part size
+         * @return This builder for method chaining.
+         */
+        Builder partSizeInBytes(Long partSizeInBytes);
+
+        /**
+         * The numbers of the ranges that were written to the destination file, starting at 1.
+         *
+         * @param completedParts the completed part numbers
+         * @return This builder for method chaining.
+         */
+        Builder completedParts(Collection<Integer> completedParts);
+
+        /**
+         * The ETag of the object that the completed parts were read from.
+         *
+         * @param s3ObjectETag the ETag
+         * @return This builder for method chaining.
+         */
+        Builder s3ObjectETag(String s3ObjectETag);
+
+        /**
+         * The time the object that the completed parts were read from was last modified.
+         *
+         * @param s3ObjectLastModified the last modified time of the object
+         * @return This builder for method chaining.
+         */
+        Builder s3ObjectLastModified(Instant s3ObjectLastModified);
+
+        /**
+         * The time the destination file was last modified when the download was paused.
+         *
+         * @param fileLastModified the last modified time of the destination file
+         * @return This builder for method chaining.
+         */
+        Builder fileLastModified(Instant fileLastModified);
+    }
+
+    private static final class DefaultBuilder implements Builder {
+        private DownloadFileRequest downloadFileRequest;
+        private Long totalSizeInBytes;
+        private Long partSizeInBytes;
+        private Collection<Integer> completedParts = Collections.emptyList();
+        private String s3ObjectETag;
+        private Instant s3ObjectLastModified;
+        private Instant fileLastModified;
+
+        private DefaultBuilder() {
+        }
+
+        private DefaultBuilder(ResumableFileDownload resumableFileDownload) {
+            this.downloadFileRequest = resumableFileDownload.downloadFileRequest;
+            this.totalSizeInBytes = resumableFileDownload.totalSizeInBytes;
+            this.partSizeInBytes = resumableFileDownload.partSizeInBytes;
+            this.completedParts = resumableFileDownload.completedParts;
+            this.s3ObjectETag = resumableFileDownload.s3ObjectETag;
+            this.s3ObjectLastModified = resumableFileDownload.s3ObjectLastModified;
+            this.fileLastModified = resumableFileDownload.fileLastModified;
+        }
+
+        @Override
+        public Builder downloadFileRequest(DownloadFileRequest downloadFileRequest) {
+            this.downloadFileRequest = downloadFileRequest;
+            return this;
+        }
+
+        public DownloadFileRequest getDownloadFileRequest() {
+            return downloadFileRequest;
+        }
+
+        public void setDownloadFileRequest(DownloadFileRequest downloadFileRequest) {
+            downloadFileRequest(downloadFileRequest);
+        }
+
+        @Override
+        public Builder totalSizeInBytes(Long totalSizeInBytes) {
+            this.totalSizeInBytes = totalSizeInBytes;
+            return this;
+        }
+
+        public Long getTotalSizeInBytes() {
+            return totalSizeInBytes;
+        }
+
+        public void setTotalSizeInBytes(Long totalSizeInBytes) {
+            totalSizeInBytes(totalSizeInBytes);
+        }
+
+        @Override
+        public Builder partSizeInBytes(Long partSizeInBytes) {
+            this.partSizeInBytes = partSizeInBytes;
+            return this;
+        }
+
+        public Long getPartSizeInBytes() {
+            return partSizeInBytes;
+        }
+
+        public void setPartSizeInBytes(Long partSizeInBytes) {
+            partSizeInBytes(partSizeInBytes);
+        }
+
+        @Override
+        public Builder completedParts(Collection<Integer> completedParts) {
+            Validate.paramNotNull(completedParts, "completedParts");
+            // Sorted and without duplicates, so that equal downloads have equal part lists.
+            this.completedParts = new TreeSet<>(completedParts);
+            return this;
+        }
+
+        public Collection<Integer> getCompletedParts() {
+            return completedParts;
+        }
+
+        public void setCompletedParts(Collection<Integer> completedParts) {
+            completedParts(completedParts);
+        }
+
+        @Override
+        public Builder s3ObjectETag(String s3ObjectETag) {
+            this.s3ObjectETag = s3ObjectETag;
+            return this;
+        }
+
+        public String getS3ObjectETag() {
+            return s3ObjectETag;
+        }
+
+        public void setS3ObjectETag(String s3ObjectETag) {
+            s3ObjectETag(s3ObjectETag);
+        }
+
+        @Override
+        public Builder s3ObjectLastModified(Instant s3ObjectLastModified) {
+            this.s3ObjectLastModified = s3ObjectLastModified;
+            return this;
+        }
+
+        public Instant getS3ObjectLastModified() {
+            return s3ObjectLastModified;
+        }
+
+        public void setS3ObjectLastModified(Instant s3ObjectLastModified) {
+            s3ObjectLastModified(s3ObjectLastModified);
+        }
+
+        @Override
+        public Builder fileLastModified(Instant fileLastModified) {
+            this.fileLastModified = fileLastModified;
+            return this;
+        }
+
+        public Instant getFileLastModified() {
+            return fileLastModified;
+        }
+
+        public void setFileLastModified(Instant fileLastModified) {
+            fileLastModified(fileLastModified);
+        }
+
+        @Override
+        public ResumableFileDownload build() {
+            return new ResumableFileDownload(this);
+        }
+    }
+}
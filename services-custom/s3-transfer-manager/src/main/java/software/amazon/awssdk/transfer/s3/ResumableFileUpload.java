@@ -0,0 +1,450 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+
+package software.amazon.awssdk.transfer.s3;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.function.Consumer;
+import software.amazon.awssdk.annotations.NotThreadSafe;
+import software.amazon.awssdk.annotations.SdkPreviewApi;
+import software.amazon.awssdk.annotations.SdkPublicApi;
+import software.amazon.awssdk.core.exception.SdkClientException;
+import software.amazon.awssdk.services.s3.model.CompletedPart;
+import software.amazon.awssdk.transfer.s3.internal.ResumableTransferProperties;
+import software.amazon.awssdk.utils.ToString;
+import software.amazon.awssdk.utils.Validate;
+import software.amazon.awssdk.utils.builder.CopyableBuilder;
+import software.amazon.awssdk.utils.builder.ToCopyableBuilder;
+
+/**
+ * The state of a paused {@link FileUpload}, which can be passed to
+ * {@link S3TransferManager#resumeUploadFile(ResumableFileUpload)} to continue its multipart upload with only the parts that
+ * were not uploaded yet.
+ *
+ * <p>A resumable upload can be persisted with {@link #serializeToFile(Path)} or {@link #serializeToString()} and restored
+ * with {@link #fromFile(Path)} or {@link #fromString(String)}, for example to resume it after the application restarted.
+ * Only the bucket, key and source of the {@link UploadFileRequest} are persisted; any other request parameters, such as
+ * server-side encryption customer keys, need to be set again on the restored upload with
+ * {@link Builder#uploadFileRequest(UploadFileRequest)}.
+ *
+ * @see FileUpload#pause()
+ */
+@SdkPublicApi
+@SdkPreviewApi
+public final class ResumableFileUpload implements ToCopyableBuilder<ResumableFileUpload.Builder, ResumableFileUpload> {
+    private static final String TYPE = "upload";
+    private static final String PART_PREFIX = "part.";
+
+    private final UploadFileRequest uploadFileRequest;
+    private final String multipartUploadId;
+    private final Long partSizeInBytes;
+    private final Long fileLength;
+    private final Instant fileLastModified;
+    private final List<CompletedPart> completedParts;
+
+    private ResumableFileUpload(DefaultBuilder builder) {
+        this.uploadFileRequest = Validate.paramNotNull(builder.uploadFileRequest, "uploadFileRequest");
+        this.multipartUploadId = builder.multipartUploadId;
+        this.partSizeInBytes = Validate.isPositiveOrNull(builder.partSizeInBytes, "partSizeInBytes");
+        this.fileLength = builder.fileLength;
+        this.fileLastModified = builder.fileLastModified;
+        this.completedParts = Collections.unmodifiableList(new ArrayList<>(builder.completedParts));
+    }
+
+    /**
+     * @return The request of the paused upload.
+     */
+    public UploadFileRequest uploadFileRequest() {
+        return uploadFileRequest;
+    }
+
+    /**
+     * @return The ID of the multipart upload that the completed parts belong to, if one was created before the upload was
+     * paused. Without it, the whole file is uploaded again when the upload is resumed.
+     */
+    public Optional<String> multipartUploadId() {
+        return Optional.ofNullable(multipartUploadId);
+    }
+
+    /**
+     * @return The size of the parts of the multipart upload.
+     */
+    public Optional<Long> partSizeInBytes() {
+        return Optional.ofNullable(partSizeInBytes);
+    }
+
+    /**
+     * @return The length of the source file when the upload was paused.
+     */
+    public Optional<Long> fileLength() {
+        return Optional.ofNullable(fileLength);
+    }
+
+    /**
+     * @return The time the source file was last modified when the upload was paused. If the file was modified after that,
+     * the multipart upload is aborted and the whole file is uploaded again.
+     */
+    public Optional<Instant> fileLastModified() {
+        return Optional.ofNullable(fileLastModified);
+    }
+
+    /**
+     * @return The parts of the multipart upload that were uploaded, in ascending order of their part numbers.
+     */
+    public List<CompletedPart> completedParts() {
+        return completedParts;
+    }
+
+    /**
+     * Writes this resumable upload to a file, which can be read back with {@link #fromFile(Path)}.
+     */
+    public void serializeToFile(Path file) {
+        Validate.paramNotNull(file, "file");
+        toProperties().serializeToFile(file);
+    }
+
+    /**
+     * Writes this resumable upload to a string, which can be read back with {@link #fromString(String)}.
+     */
+    public String serializeToString() {
+        return toProperties().serializeToString();
+    }
+
+    /**
+     * Reads a resumable upload that was written with {@link #serializeToFile(Path)}.
+     */
+    public static ResumableFileUpload fromFile(Path file) {
+        Validate.paramNotNull(file, "file");
+        return fromProperties(ResumableTransferProperties.fromFile(TYPE, file));
+    }
+
+    /**
+     * Reads a resumable upload that was written with {@link #serializeToString()}.
+     */
+    public static ResumableFileUpload fromString(String serialized) {
+        Validate.paramNotNull(serialized, "serialized");
+        return fromProperties(ResumableTransferProperties.fromString(TYPE, serialized));
+    }
+
+    private ResumableTransferProperties toProperties() {
+        ResumableTransferProperties properties =
+            ResumableTransferProperties.create(TYPE)
+                                       .put("bucket", uploadFileRequest.putObjectRequest().bucket())
+                                       .put("key", uploadFileRequest.putObjectRequest().key())
+                                       .put("source", uploadFileRequest.source())
+                                       .put("multipartUploadId", multipartUploadId)
+                                       .put("partSizeInBytes", partSizeInBytes)
+                                       .put("fileLength", fileLength)
+                                       .put("fileLastModified", fileLastModified);
+        completedParts.forEach(p -> properties.put(PART_PREFIX + p.partNumber(), p.eTag()));
+        return properties;
+    }
+
+    private static ResumableFileUpload fromProperties(ResumableTransferProperties properties) {
+        UploadFileRequest uploadFileRequest =
+            UploadFileRequest.builder()
+                             .putObjectRequest(r -> r.bucket(properties.getRequired("bucket"))
+                                                     .key(properties.getRequired("key")))
+                             .source(Paths.get(properties.getRequired("source")))
+                             .build();
+
+        List<CompletedPart> completedParts = new ArrayList<>();
+        for (String name : properties.names()) {
+            if (name.startsWith(PART_PREFIX)) {
+                completedParts.add(CompletedPart.builder()
+                                                .partNumber(partNumber(name))
+                                                .eTag(properties.get(name))
+                                                .build());
+            }
+        }
+
+        return builder().uploadFileRequest(uploadFileRequest)
+                        .multipartUploadId(properties.get("multipartUploadId"))
+                        .partSizeInBytes(properties.getLong("partSizeInBytes"))
+                        .fileLength(properties.getLong("fileLength"))
+                        .fileLastModified(properties.getInstant("fileLastModified"))
+                        .completedParts(completedParts)
+                        .build();
+    }
+
+    private static int partNumber(String name) {
+        try {
+            return Integer.parseInt(name.substring(PART_PREFIX.length()));
+        } catch (NumberFormatException e) {
+            throw SdkClientException.create("The resumable upload has an invalid part: " + name, e);
+        }
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+
+        ResumableFileUpload that = (ResumableFileUpload) o;
+
+        if (!Objects.equals(uploadFileRequest, that.uploadFileRequest)) {
+            return false;
+        }
+        if (!Objects.equals(multipartUploadId, that.multipartUploadId)) {
+            return false;
+        }
+        if (!Objects.equals(partSizeInBytes, that.partSizeInBytes)) {
+            return false;
+        }
+        if (!Objects.equals(fileLength, that.fileLength)) {
+            return false;
+        }
+        if (!Objects.equals(fileLastModified, that.fileLastModified)) {
+            return false;
+        }
+        return Objects.equals(completedParts, that.completedParts);
+    }
+
+    @Override
+    public int hashCode() {
+        int result = uploadFileRequest != null ? uploadFileRequest.hashCode() : 0;
+        result = 31 * result + (multipartUploadId != null ? multipartUploadId.hashCode() : 0);
+        result = 31 * result + (partSizeInBytes != null ? partSizeInBytes.hashCode() : 0);
+        result = 31 * result + (fileLength != null ? fileLength.hashCode() : 0);
+        result = 31 * result + (fileLastModified != null ? fileLastModified.hashCode() : 0);
+        result = 31 * result + (completedParts != null ? completedParts.hashCode() : 0);
+        return result;
+    }
+
+    @Override
+    public String toString() {
+        return ToString.builder("ResumableFileUpload")
+                       .add("uploadFileRequest", uploadFileRequest)
+                       .add("multipartUploadId", multipartUploadId)
+                       .add("partSizeInBytes", partSizeInBytes)
+                       .add("fileLength", fileLength)
+                       .add("fileLastModified", fileLastModified)
+                       .add("completedParts", completedParts.size())
+                       .build();
+    }
+
+    /**
+     * Creates a default builder for {@link ResumableFileUpload}.
+     */
+    public static Builder builder() {
+        return new DefaultBuilder();
+    }
+
+    @Override
+    public Builder toBuilder() {
+        return new DefaultBuilder(this);
+    }
+
+    public static Class<? extends Builder> serializableBuilderClass() {
+        return DefaultBuilder.class;
+    }
+
+    /**
+     * A builder for a {@link ResumableFileUpload}, created with {@link #builder()}
+     */
+    @SdkPublicApi
+    @NotThreadSafe
+    public interface Builder extends CopyableBuilder<Builder, ResumableFileUpload> {
+
+        /**
+         * The request of the paused upload.
+         *
+         * @param uploadFileRequest the upload request
+         * @return This builder for method chaining.
+         */
+        Builder uploadFileRequest(UploadFileRequest uploadFileRequest);
+
+        /**
+         * Similar to {@link #uploadFileRequest(UploadFileRequest)}, but takes a lambda to configure a new
+         * {@link UploadFileRequest.Builder}.
+         *
+         * @param uploadFileRequestBuilder the upload request
+         * @return This builder for method chaining.
+         */
+        default Builder uploadFileRequest(Consumer<UploadFileRequest.Builder> uploadFileRequestBuilder) {
+            Validate.paramNotNull(uploadFileRequestBuilder, "uploadFileRequestBuilder");
+            return uploadFileRequest(UploadFileRequest.builder()
+                                                      .applyMutation(uploadFileRequestBuilder)
+                                                      .build());
+        }
+
+        /**
+         * The ID of the multipart upload that the completed parts belong to.
+         *
+         * @param multipartUploadId the multipart upload ID
+         * @return This builder for method chaining.
+         */
+        Builder multipartUploadId(String multipartUploadId);
+
+        /**
+         * The size of the parts of the multipart upload.
+         *
+         * @param partSizeInBytes the part size
+         * @return This builder for method chaining.
+         */
+        Builder partSizeInBytes(Long partSizeInBytes);
+
+        /**
+         * The length of the source file when the upload was paused.
+         *
+         * @param fileLength the file length
+         * @return This builder for method chaining.
+         */
+        Builder fileLength(Long fileLength);
+
+        /**
+         * The time the source file was last modified when the upload was paused.
+         *
+         * @param fileLastModified the last modified time of the source file
+         * @return This builder for method chaining.
+         */
+        Builder fileLastModified(Instant fileLastModified);
+
+        /**
+         * The parts of the multipart upload that were uploaded.
+         *
+         * @param completedParts the completed parts
+         * @return This builder for method chaining.
+         */
+        Builder completedParts(Collection<CompletedPart> completedParts);
+    }
+
+    private static final class DefaultBuilder implements Builder {
+        private UploadFileRequest uploadFileRequest;
+        private String multipartUploadId;
+        private Long partSizeInBytes;
+        private Long fileLength;
+        private Instant fileLastModified;
+        private Collection<CompletedPart> completedParts = Collections.emptyList();
+
+        private DefaultBuilder() {
+        }
+
+        private DefaultBuilder(ResumableFileUpload resumableFileUpload) {
+            this.uploadFileRequest = resumableFileUpload.uploadFileRequest;
+            this.multipartUploadId = resumableFileUpload.multipartUploadId;
+            this.partSizeInBytes = resumableFileUpload.partSizeInBytes;
+            this.fileLength = resumableFileUpload.fileLength;
+            this.fileLastModified = resumableFileUpload.fileLastModified;
+            this.completedParts = resumableFileUpload.completedParts;
+        }
+
+        @Override
+        public Builder uploadFileRequest(UploadFileRequest uploadFileRequest) {
+            this.uploadFileRequest = uploadFileRequest;
+            return this;
+        }
+
+        public UploadFileRequest getUploadFileRequest() {
+            return uploadFileRequest;
+        }
+
+        public void setUploadFileRequest(UploadFileRequest uploadFileRequest) {
+            uploadFileRequest(uploadFileRequest);
+        }
+
+        @Override
+        public Builder multipartUploadId(String multipartUploadId) {
+            this.multipartUploadId = multipartUploadId;
+            return this;
+        }
+
+        public String getMultipartUploadId() {
+            return multipartUploadId;
+        }
+
+        public void setMultipartUploadId(String multipartUploadId) {
+            multipartUploadId(multipartUploadId);
+        }
+
+        @Override
+        public Builder partSizeInBytes(Long partSizeInBytes) {
+            this.partSizeInBytes = partSizeInBytes;
+            return this;
+        }
+
+        public Long getPartSizeInBytes() {
+            return partSizeInBytes;
+        }
+
+        public void setPartSizeInBytes(Long partSizeInBytes) {
+            partSizeInBytes(partSizeInBytes);
+        }
+
+        @Override
+        public Builder fileLength(Long fileLength) {
+            this.fileLength = fileLength;
+            return this;
+        }
+
+        public Long getFileLength() {
+            return fileLength;
+        }
+
+        public void setFileLength(Long fileLength) {
+            fileLength(fileLength);
+        }
+
+        @Override
+        public Builder fileLastModified(Instant fileLastModified) {
+            this.fileLastModified = fileLastModified;
+            return this;
+        }
+
+        public Instant getFileLastModified() {
+            return fileLastModified;
+        }
+
+        public void setFileLastModified(Instant fileLastModified) {
+            fileLastModified(fileLastModified);
+        }
+
+        @Override
+        public Builder completedParts(Collection<CompletedPart> completedParts) {
+            Validate.paramNotNull(completedParts, "completedParts");
+            List<CompletedPart> sortedParts = new ArrayList<>(completedParts);
+            sortedParts.sort(Comparator.comparing(CompletedPart::partNumber));
+            this.completedParts = sortedParts;
+            return this;
+        }
+
+        public Collection<CompletedPart> getCompletedParts() {
+            return completedParts;
+        }
+
+        public void setCompletedParts(Collection<CompletedPart> completedParts) {
+            completedParts(completedParts);
+        }
+
+        @Override
+        public ResumableFileUpload build() {
+            return new ResumableFileUpload(this);
+        }
+    }
+}
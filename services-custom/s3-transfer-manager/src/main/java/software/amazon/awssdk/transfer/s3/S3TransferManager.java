@@ -22,6 +22,7 @@ import software.amazon.awssdk.annotations.SdkPreviewApi;
 import software.amazon.awssdk.annotations.SdkPublicApi;
 import software.amazon.awssdk.core.async.AsyncRequestBody;
 import software.amazon.awssdk.core.async.AsyncResponseTransformer;
+import software.amazon.awssdk.services.s3.S3AsyncClient;
 import software.amazon.awssdk.services.s3.model.GetObjectRequest;
 import software.amazon.awssdk.services.s3.model.PutObjectRequest;
 import software.amazon.awssdk.transfer.s3.internal.DefaultS3TransferManager;
@@ -117,6 +118,32 @@ public interface S3TransferManager extends SdkAutoCloseable {
         return downloadFile(DownloadFileRequest.builder().applyMutation(request).build());
     }
 
+    /**
+     * Resume a download that was paused with {@link FileDownload#pause()}. Only the parts of the object that are not in the
+     * destination file yet are downloaded, and only from the same version of the object. If the destination file was changed
+     * or removed after the download was paused, the whole object is downloaded again.
+     * <p>
+     * <b>Usage Example:</b>
+     * <pre>
+     * {@code
+     * ResumableFileDownload resumableFileDownload = download.pause();
+     * resumableFileDownload.serializeToFile(Paths.get("myFile.txt.download"));
+     *
+     * // Resume the transfer, for example after the application restarted
+     * FileDownload resumedDownload =
+     *     tm.resumeDownloadFile(ResumableFileDownload.fromFile(Paths.get("myFile.txt.download")));
+     * resumedDownload.completionFuture().join();
+     * }
+     * </pre>
+     *
+     * <p>Resuming is only supported by a transfer manager built with {@link Builder#s3AsyncClient(S3AsyncClient)}.
+     *
+     * @see FileDownload#pause()
+     */
+    default FileDownload resumeDownloadFile(ResumableFileDownload resumableFileDownload) {
+        throw new UnsupportedOperationException();
+    }
+
     /**
      * Download an object identified by the bucket and key from S3 through the given {@link AsyncResponseTransformer}.
      * <p>
@@ -185,6 +212,32 @@ public interface S3TransferManager extends SdkAutoCloseable {
         return uploadFile(UploadFileRequest.builder().applyMutation(request).build());
     }
 
+    /**
+     * Resume an upload that was paused with {@link FileUpload#pause()}. Its multipart upload is continued with the parts
+     * that were not uploaded yet. If the source file was changed after the upload was paused, the multipart upload is
+     * aborted and the whole file is uploaded again.
+     * <p>
+     * <b>Usage Example:</b>
+     * <pre>
+     * {@code
+     * ResumableFileUpload resumableFileUpload = upload.pause();
+     * resumableFileUpload.serializeToFile(Paths.get("myFile.txt.upload"));
+     *
+     * // Resume the transfer, for example after the application restarted
+     * FileUpload resumedUpload =
+     *     tm.resumeUploadFile(ResumableFileUpload.fromFile(Paths.get("myFile.txt.upload")));
+     * resumedUpload.completionFuture().join();
+     * }
+     * </pre>
+     *
+     * <p>Resuming is only supported by a transfer manager built with {@link Builder#s3AsyncClient(S3AsyncClient)}.
+     *
+     * @see FileUpload#pause()
+     */
+    default FileUpload resumeUploadFile(ResumableFileUpload resumableFileUpload) {
+        throw new UnsupportedOperationException();
+    }
+
     /**
      * Upload an {@link AsyncRequestBody} to S3.
      * <p>
@@ -276,6 +329,64 @@ public interface S3TransferManager extends SdkAutoCloseable {
         return uploadDirectory(UploadDirectoryRequest.builder().applyMutation(requestBuilder).build());
     }
 
+    /**
+     * Downloads all objects under a prefix in the provided bucket to the provided destination directory. The keys of the
+     * objects are resolved relative to the prefix, and each occurrence of the delimiter provided in the
+     * {@link DownloadDirectoryRequest} starts a new subdirectory of the destination directory.
+     *
+     * <p>
+     * Objects are listed incrementally, and only as many objects are listed as there are downloads to start. By default, at
+     * most 100 files are downloaded at the same time. This behavior can be configured in
+     * {@link DownloadDirectoryOverrideConfiguration}
+     * at request level via {@link DownloadDirectoryRequest.Builder#overrideConfiguration(DownloadDirectoryOverrideConfiguration)}
+     * or client level via {@link S3TransferManager.Builder#transferConfiguration(S3TransferManagerOverrideConfiguration)} Note
+     * that request-level configuration takes precedence over client-level configuration.
+     *
+     * <p>
+     * The returned {@link CompletableFuture} only completes exceptionally if the request cannot be attempted as a whole (the
+     * destination directory cannot be created or the objects cannot be listed for example). The future completes successfully
+     * for partial successful requests, i.e., there might be failed downloads in the successfully completed response. As a
+     * result, you should check for errors in the response via {@link CompletedDirectoryDownload#failedTransfers()}
+     * even when the future completes successfully.
+     *
+     * <p>
+     * <b>Usage Example:</b>
+     * <pre>
+     * {@code
+     * DirectoryDownload directoryDownload =
+     *       transferManager.downloadDirectory(DownloadDirectoryRequest.builder()
+     *                                                                 .destinationDirectory(Paths.get("."))
+     *                                                                 .bucket("bucket")
+     *                                                                 .prefix("prefix")
+     *                                                                 .build());
+     * // Wait for the transfer to complete
+     * CompletedDirectoryDownload completedDirectoryDownload = directoryDownload.completionFuture().join();
+     *
+     * // Print out the failed downloads
+     * completedDirectoryDownload.failedTransfers().forEach(System.out::println);
+     *
+     * }
+     * </pre>
+     *
+     * @param downloadDirectoryRequest the download directory request
+     * @see #downloadDirectory(Consumer)
+     * @see DownloadDirectoryOverrideConfiguration
+     */
+    default DirectoryDownload downloadDirectory(DownloadDirectoryRequest downloadDirectoryRequest) {
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * This is a convenience method that creates an instance of the {@link DownloadDirectoryRequest} builder, avoiding the need
+     * to create one manually via {@link DownloadDirectoryRequest#builder()}.
+     *
+     * @see #downloadDirectory(DownloadDirectoryRequest)
+     */
+    default DirectoryDownload downloadDirectory(Consumer<DownloadDirectoryRequest.Builder> requestBuilder) {
+        Validate.paramNotNull(requestBuilder, "requestBuilder");
+        return downloadDirectory(DownloadDirectoryRequest.builder().applyMutation(requestBuilder).build());
+    }
+
     /**
      * Create an {@code S3TransferManager} using the default values.
      */
@@ -354,6 +465,27 @@ public interface S3TransferManager extends SdkAutoCloseable {
             return this;
         }
 
+        /**
+         * The S3 client that transfers are made with, instead of the AWS Common Runtime (CRT) based client that the
+         * {@link S3TransferManager} creates by default. This allows the {@link S3TransferManager} to be used where the native
+         * CRT libraries cannot be loaded.
+         *
+         * <p>
+         * With this client, {@link #downloadFile(DownloadFileRequest)} splits the object into ranged GET requests and
+         * {@link #uploadFile(UploadFileRequest)} uses a multipart upload for files larger than one part. The parts of all
+         * transfers are sent concurrently, honoring {@link S3ClientConfiguration#minimumPartSizeInBytes()} and
+         * {@link S3ClientConfiguration#maxConcurrency()}. The other {@link S3ClientConfiguration} values only apply to the CRT
+         * based client and are not used; configure them on the provided client instead. The client should allow at least
+         * {@link S3ClientConfiguration#maxConcurrency()} concurrent connections.
+         *
+         * <p>
+         * The provided client is not closed when the {@link S3TransferManager} is closed.
+         *
+         * @param s3AsyncClient the client to use
+         * @return Returns a reference to this object so that method calls can be chained together.
+         */
+        Builder s3AsyncClient(S3AsyncClient s3AsyncClient);
+
         /**
          * Build an instance of {@link S3TransferManager} based on the settings supplied to this builder
          *
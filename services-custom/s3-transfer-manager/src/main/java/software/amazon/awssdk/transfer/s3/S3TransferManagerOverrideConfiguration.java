@@ -40,10 +40,12 @@ public final class S3TransferManagerOverrideConfiguration implements
                                                               S3TransferManagerOverrideConfiguration> {
     private final Executor executor;
     private final UploadDirectoryOverrideConfiguration uploadDirectoryConfiguration;
+    private final DownloadDirectoryOverrideConfiguration downloadDirectoryConfiguration;
 
     private S3TransferManagerOverrideConfiguration(DefaultBuilder builder) {
         this.executor = builder.executor;
         this.uploadDirectoryConfiguration = builder.uploadDirectoryConfiguration;
+        this.downloadDirectoryConfiguration = builder.downloadDirectoryConfiguration;
     }
 
     /**
@@ -60,6 +62,13 @@ public final class S3TransferManagerOverrideConfiguration implements
         return Optional.ofNullable(uploadDirectoryConfiguration);
     }
 
+    /**
+     * @return the optional download directory configuration specified
+     */
+    public Optional<DownloadDirectoryOverrideConfiguration> downloadDirectoryConfiguration() {
+        return Optional.ofNullable(downloadDirectoryConfiguration);
+    }
+
     @Override
     public Builder toBuilder() {
         return new DefaultBuilder(this);
@@ -79,13 +88,17 @@ public final class S3TransferManagerOverrideConfiguration implements
         if (!Objects.equals(executor, that.executor)) {
             return false;
         }
-        return Objects.equals(uploadDirectoryConfiguration, that.uploadDirectoryConfiguration);
+        if (!Objects.equals(uploadDirectoryConfiguration, that.uploadDirectoryConfiguration)) {
+            return false;
+        }
+        return Objects.equals(downloadDirectoryConfiguration, that.downloadDirectoryConfiguration);
     }
 
     @Override
     public int hashCode() {
         int result = executor != null ? executor.hashCode() : 0;
         result = 31 * result + (uploadDirectoryConfiguration != null ? uploadDirectoryConfiguration.hashCode() : 0);
+        result = 31 * result + (downloadDirectoryConfiguration != null ? downloadDirectoryConfiguration.hashCode() : 0);
         return result;
     }
 
@@ -148,11 +161,38 @@ public final class S3TransferManagerOverrideConfiguration implements
                                                                                     .applyMutation(uploadConfigurationBuilder)
                                                                                     .build());
         }
+
+        /**
+         * Specify the configuration options for download directory operation
+         *
+         * @param downloadDirectoryConfiguration the configuration for download directory
+         * @return this builder for method chaining.
+         * @see S3TransferManager#downloadDirectory(DownloadDirectoryRequest)
+         */
+        Builder downloadDirectoryConfiguration(DownloadDirectoryOverrideConfiguration downloadDirectoryConfiguration);
+
+        /**
+         * Similar to {@link #downloadDirectoryConfiguration}, but takes a lambda to configure a new
+         * {@link DownloadDirectoryOverrideConfiguration.Builder}. This removes the need to call
+         * {@link DownloadDirectoryOverrideConfiguration#builder()} and
+         * {@link DownloadDirectoryOverrideConfiguration.Builder#build()}.
+         *
+         * @param downloadConfigurationBuilder the configuration for download directory
+         * @return this builder for method chaining.
+         * @see #downloadDirectoryConfiguration(DownloadDirectoryOverrideConfiguration)
+         */
+        default Builder downloadDirectoryConfiguration(Consumer<DownloadDirectoryOverrideConfiguration.Builder>
+                                                           downloadConfigurationBuilder) {
+            Validate.paramNotNull(downloadConfigurationBuilder, "downloadConfigurationBuilder");
+            DownloadDirectoryOverrideConfiguration.Builder builder = DownloadDirectoryOverrideConfiguration.builder();
+            return downloadDirectoryConfiguration(builder.applyMutation(downloadConfigurationBuilder).build());
+        }
     }
 
     private static final class DefaultBuilder implements Builder {
         private Executor executor;
         private UploadDirectoryOverrideConfiguration uploadDirectoryConfiguration;
+        private DownloadDirectoryOverrideConfiguration downloadDirectoryConfiguration;
 
         private DefaultBuilder() {
         }
@@ -160,6 +200,7 @@ public final class S3TransferManagerOverrideConfiguration implements
         private DefaultBuilder(S3TransferManagerOverrideConfiguration configuration) {
             this.executor = configuration.executor;
             this.uploadDirectoryConfiguration = configuration.uploadDirectoryConfiguration;
+            this.downloadDirectoryConfiguration = configuration.downloadDirectoryConfiguration;
         }
 
         @Override
@@ -190,6 +231,20 @@ public final class S3TransferManagerOverrideConfiguration implements
             return uploadDirectoryConfiguration;
         }
 
+        @Override
+        public Builder downloadDirectoryConfiguration(DownloadDirectoryOverrideConfiguration downloadDirectoryConfiguration) {
+            this.downloadDirectoryConfiguration = downloadDirectoryConfiguration;
+            return this;
+        }
+
+        public void setDownloadDirectoryConfiguration(DownloadDirectoryOverrideConfiguration downloadDirectoryConfiguration) {
+            downloadDirectoryConfiguration(downloadDirectoryConfiguration);
+        }
+
+        public DownloadDirectoryOverrideConfiguration getDownloadDirectoryConfiguration() {
+            return downloadDirectoryConfiguration;
+        }
+
         @Override
         public S3TransferManagerOverrideConfiguration build() {
             return new S3TransferManagerOverrideConfiguration(this);
@@ -41,12 +41,14 @@ public final class UploadDirectoryOverrideConfiguration implements ToCopyableBui
     private final Boolean followSymbolicLinks;
     private final Integer maxDepth;
     private final Boolean recursive;
+    private final Integer maxConcurrentUploads;
     private final Consumer<UploadFileRequest.Builder> uploadFileRequestTransformer;
 
     public UploadDirectoryOverrideConfiguration(DefaultBuilder builder) {
         this.followSymbolicLinks = builder.followSymbolicLinks;
         this.maxDepth = Validate.isPositiveOrNull(builder.maxDepth, "maxDepth");
         this.recursive = builder.recursive;
+        this.maxConcurrentUploads = Validate.isPositiveOrNull(builder.maxConcurrentUploads, "maxConcurrentUploads");
         this.uploadFileRequestTransformer = builder.uploadFileRequestTransformer;
     }
 
@@ -74,6 +76,14 @@ public final class UploadDirectoryOverrideConfiguration implements ToCopyableBui
         return Optional.ofNullable(recursive);
     }
 
+    /**
+     * @return the maximum number of files uploaded concurrently
+     * @see Builder#maxConcurrentUploads(Integer)
+     */
+    public Optional<Integer> maxConcurrentUploads() {
+        return Optional.ofNullable(maxConcurrentUploads);
+    }
+
     /**
      * @return the optional upload request transformer
      * @see UploadDirectoryOverrideConfiguration.Builder#uploadFileRequestTransformer(Consumer)
@@ -107,6 +117,9 @@ public final class UploadDirectoryOverrideConfiguration implements ToCopyableBui
         if (!Objects.equals(uploadFileRequestTransformer, that.uploadFileRequestTransformer)) {
             return false;
         }
+        if (!Objects.equals(maxConcurrentUploads, that.maxConcurrentUploads)) {
+            return false;
+        }
         return Objects.equals(recursive, that.recursive);
     }
 
@@ -115,6 +128,7 @@ public final class UploadDirectoryOverrideConfiguration implements ToCopyableBui
         int result = followSymbolicLinks != null ? followSymbolicLinks.hashCode() : 0;
         result = 31 * result + (maxDepth != null ? maxDepth.hashCode() : 0);
         result = 31 * result + (recursive != null ? recursive.hashCode() : 0);
+        result = 31 * result + (maxConcurrentUploads != null ? maxConcurrentUploads.hashCode() : 0);
         result = 31 * result + (uploadFileRequestTransformer != null ? uploadFileRequestTransformer.hashCode() : 0);
         return result;
     }
@@ -125,6 +139,7 @@ public final class UploadDirectoryOverrideConfiguration implements ToCopyableBui
                        .add("followSymbolicLinks", followSymbolicLinks)
                        .add("maxDepth", maxDepth)
                        .add("recursive", recursive)
+                       .add("maxConcurrentUploads", maxConcurrentUploads)
                        .add("uploadFileRequestTransformer", uploadFileRequestTransformer)
                        .build();
     }
@@ -173,6 +188,18 @@ public final class UploadDirectoryOverrideConfiguration implements ToCopyableBui
          */
         Builder maxDepth(Integer maxDepth);
 
+        /**
+         * Specify the maximum number of files that are uploaded at the same time. The file tree is only traversed as fast as
+         * uploads complete, so this also bounds the number of pending files held in memory. Must be positive.
+         *
+         * <p>
+         * Default to 100
+         *
+         * @param maxConcurrentUploads the maximum number of concurrent file uploads
+         * @return This builder for method chaining.
+         */
+        Builder maxConcurrentUploads(Integer maxConcurrentUploads);
+
         /**
          * Specify a function used to transform the {@link UploadFileRequest}s generated by this {@link UploadDirectoryRequest}.
          * The provided function is called once for each file that is uploaded, allowing you to modify the paths resolved by
@@ -228,12 +255,14 @@ public final class UploadDirectoryOverrideConfiguration implements ToCopyableBui
         private Boolean followSymbolicLinks;
         private Integer maxDepth;
         private Boolean recursive;
+        private Integer maxConcurrentUploads;
         private Consumer<UploadFileRequest.Builder> uploadFileRequestTransformer;
 
         private DefaultBuilder(UploadDirectoryOverrideConfiguration configuration) {
             this.followSymbolicLinks = configuration.followSymbolicLinks;
             this.maxDepth = configuration.maxDepth;
             this.recursive = configuration.recursive;
+            this.maxConcurrentUploads = configuration.maxConcurrentUploads;
             this.uploadFileRequestTransformer = configuration.uploadFileRequestTransformer;
         }
 
@@ -282,6 +311,20 @@ public final class UploadDirectoryOverrideConfiguration implements ToCopyableBui
             return maxDepth;
         }
 
+        @Override
+        public Builder maxConcurrentUploads(Integer maxConcurrentUploads) {
+            this.maxConcurrentUploads = maxConcurrentUploads;
+            return this;
+        }
+
+        public void setMaxConcurrentUploads(Integer maxConcurrentUploads) {
+            maxConcurrentUploads(maxConcurrentUploads);
+        }
+
+        public Integer getMaxConcurrentUploads() {
+            return maxConcurrentUploads;
+        }
+
         @Override
         public Builder uploadFileRequestTransformer(Consumer<UploadFileRequest.Builder> uploadFileRequestTransformer) {
             this.uploadFileRequestTransformer = uploadFileRequestTransformer;
@@ -20,6 +20,7 @@ import java.util.concurrent.CompletableFuture;
 import software.amazon.awssdk.annotations.SdkInternalApi;
 import software.amazon.awssdk.transfer.s3.CompletedFileDownload;
 import software.amazon.awssdk.transfer.s3.FileDownload;
+import software.amazon.awssdk.transfer.s3.ResumableFileDownload;
 import software.amazon.awssdk.transfer.s3.progress.TransferProgress;
 import software.amazon.awssdk.utils.ToString;
 
@@ -28,11 +29,18 @@ public final class DefaultFileDownload implements FileDownload {
 
     private final CompletableFuture<CompletedFileDownload> completionFuture;
     private final TransferProgress progress;
+    private final PauseObservable<ResumableFileDownload> pauseObservable;
+
+    DefaultFileDownload(CompletableFuture<CompletedFileDownload> completionFuture, TransferProgress progress) {
+        this(completionFuture, progress, null);
+    }
 
     DefaultFileDownload(CompletableFuture<CompletedFileDownload> completionFuture,
-                               TransferProgress progress) {
+                        TransferProgress progress,
+                        PauseObservable<ResumableFileDownload> pauseObservable) {
         this.completionFuture = completionFuture;
         this.progress = progress;
+        this.pauseObservable = pauseObservable;
     }
 
     @Override
@@ -46,6 +54,15 @@ public final class DefaultFileDownload implements FileDownload {
         return completionFuture;
     }
 
+    @Override
+    public ResumableFileDownload pause() {
+        if (pauseObservable == null) {
+            throw new UnsupportedOperationException("Pausing a download is only supported by a transfer manager built with an "
+                                                    + "S3AsyncClient.");
+        }
+        return pauseObservable.pause();
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) {
@@ -60,13 +77,17 @@ public final class DefaultFileDownload implements FileDownload {
         if (!Objects.equals(completionFuture, that.completionFuture)) {
             return false;
         }
-        return Objects.equals(progress, that.progress);
+        if (!Objects.equals(progress, that.progress)) {
+            return false;
+        }
+        return Objects.equals(pauseObservable, that.pauseObservable);
     }
 
     @Override
     public int hashCode() {
         int result = completionFuture != null ? completionFuture.hashCode() : 0;
         result = 31 * result + (progress != null ? progress.hashCode() : 0);
+        result = 31 * result + (pauseObservable != null ? pauseObservable.hashCode() : 0);
         return result;
     }
 
@@ -20,6 +20,7 @@ import java.util.concurrent.CompletableFuture;
 import software.amazon.awssdk.annotations.SdkInternalApi;
 import software.amazon.awssdk.transfer.s3.CompletedFileUpload;
 import software.amazon.awssdk.transfer.s3.FileUpload;
+import software.amazon.awssdk.transfer.s3.ResumableFileUpload;
 import software.amazon.awssdk.transfer.s3.progress.TransferProgress;
 import software.amazon.awssdk.utils.ToString;
 
@@ -28,10 +29,18 @@ public final class DefaultFileUpload implements FileUpload {
     
     private final CompletableFuture<CompletedFileUpload> completionFuture;
     private final TransferProgress progress;
+    private final PauseObservable<ResumableFileUpload> pauseObservable;
 
     DefaultFileUpload(CompletableFuture<CompletedFileUpload> completionFuture, TransferProgress progress) {
+        this(completionFuture, progress, null);
+    }
+
+    DefaultFileUpload(CompletableFuture<CompletedFileUpload> completionFuture,
+                      TransferProgress progress,
+                      PauseObservable<ResumableFileUpload> pauseObservable) {
         this.completionFuture = completionFuture;
         this.progress = progress;
+        this.pauseObservable = pauseObservable;
     }
 
     @Override
@@ -44,6 +53,15 @@ public final class DefaultFileUpload implements FileUpload {
         return progress;
     }
 
+    @Override
+    public ResumableFileUpload pause() {
+        if (pauseObservable == null) {
+            throw new UnsupportedOperationException("Pausing an upload is only supported by a transfer manager built with an "
+                                                    + "S3AsyncClient.");
+        }
+        return pauseObservable.pause();
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) {
@@ -58,13 +76,17 @@ public final class DefaultFileUpload implements FileUpload {
         if (!Objects.equals(completionFuture, that.completionFuture)) {
             return false;
         }
-        return Objects.equals(progress, that.progress);
+        if (!Objects.equals(progress, that.progress)) {
+            return false;
+        }
+        return Objects.equals(pauseObservable, that.pauseObservable);
     }
 
     @Override
     public int hashCode() {
         int result = completionFuture != null ? completionFuture.hashCode() : 0;
         result = 31 * result + (progress != null ? progress.hashCode() : 0);
+        result = 31 * result + (pauseObservable != null ? pauseObservable.hashCode() : 0);
         return result;
     }
 
@@ -16,28 +16,38 @@
 package software.amazon.awssdk.transfer.s3.internal;
 
 import java.util.concurrent.CompletableFuture;
+import java.util.function.BiFunction;
 import software.amazon.awssdk.annotations.SdkInternalApi;
 import software.amazon.awssdk.annotations.SdkTestInternalApi;
 import software.amazon.awssdk.arns.Arn;
 import software.amazon.awssdk.core.async.AsyncRequestBody;
 import software.amazon.awssdk.core.async.AsyncResponseTransformer;
+import software.amazon.awssdk.core.async.SdkPublisher;
 import software.amazon.awssdk.core.client.config.ClientAsyncConfiguration;
 import software.amazon.awssdk.core.client.config.SdkAdvancedAsyncClientOption;
+import software.amazon.awssdk.services.s3.S3AsyncClient;
+import software.amazon.awssdk.services.s3.S3AsyncClientBuilder;
 import software.amazon.awssdk.services.s3.internal.resource.S3AccessPointResource;
 import software.amazon.awssdk.services.s3.internal.resource.S3ArnConverter;
 import software.amazon.awssdk.services.s3.internal.resource.S3Resource;
 import software.amazon.awssdk.services.s3.model.GetObjectResponse;
+import software.amazon.awssdk.services.s3.model.ListObjectsV2Request;
 import software.amazon.awssdk.services.s3.model.PutObjectResponse;
+import software.amazon.awssdk.services.s3.model.S3Object;
 import software.amazon.awssdk.transfer.s3.CompletedDownload;
 import software.amazon.awssdk.transfer.s3.CompletedFileDownload;
 import software.amazon.awssdk.transfer.s3.CompletedFileUpload;
 import software.amazon.awssdk.transfer.s3.CompletedUpload;
+import software.amazon.awssdk.transfer.s3.DirectoryDownload;
 import software.amazon.awssdk.transfer.s3.DirectoryUpload;
 import software.amazon.awssdk.transfer.s3.Download;
+import software.amazon.awssdk.transfer.s3.DownloadDirectoryRequest;
 import software.amazon.awssdk.transfer.s3.DownloadFileRequest;
 import software.amazon.awssdk.transfer.s3.DownloadRequest;
 import software.amazon.awssdk.transfer.s3.FileDownload;
 import software.amazon.awssdk.transfer.s3.FileUpload;
+import software.amazon.awssdk.transfer.s3.ResumableFileDownload;
+import software.amazon.awssdk.transfer.s3.ResumableFileUpload;
 import software.amazon.awssdk.transfer.s3.S3ClientConfiguration;
 import software.amazon.awssdk.transfer.s3.S3TransferManager;
 import software.amazon.awssdk.transfer.s3.S3TransferManagerOverrideConfiguration;
@@ -51,29 +61,59 @@ import software.amazon.awssdk.utils.Validate;
 
 @SdkInternalApi
 public final class DefaultS3TransferManager implements S3TransferManager {
-    private final S3CrtAsyncClient s3CrtAsyncClient;
+    private final S3AsyncClient s3AsyncClient;
+    private final boolean closeS3AsyncClient;
+    private final ParallelFileDownloadHelper parallelFileDownloadHelper;
+    private final MultipartFileUploadHelper multipartFileUploadHelper;
     private final TransferManagerConfiguration transferConfiguration;
     private final UploadDirectoryHelper uploadDirectoryManager;
+    private final DownloadDirectoryHelper downloadDirectoryHelper;
+    private final S3ClientConfiguration s3ClientConfiguration;
+    private S3AsyncClient crtListingClient;
 
     public DefaultS3TransferManager(DefaultBuilder tmBuilder) {
         transferConfiguration = resolveTransferManagerConfiguration(tmBuilder);
-        s3CrtAsyncClient = initializeS3CrtClient(tmBuilder);
+        s3ClientConfiguration = tmBuilder.s3ClientConfiguration;
+        if (tmBuilder.s3AsyncClient != null) {
+            // Transfers are split into parts by the SDK itself instead of by the CRT based client.
+            s3AsyncClient = tmBuilder.s3AsyncClient;
+            closeS3AsyncClient = false;
+            PartConcurrencyLimiter partConcurrencyLimiter = new PartConcurrencyLimiter(
+                tmBuilder.s3ClientConfiguration.maxConcurrency().orElse(TransferConfigurationOption.DEFAULT_MAX_CONCURRENCY));
+            long partSizeInBytes = tmBuilder.s3ClientConfiguration.minimumPartSizeInBytes()
+                                                                  .orElse(TransferConfigurationOption.DEFAULT_PART_SIZE_IN_BYTES);
+            parallelFileDownloadHelper = new ParallelFileDownloadHelper(s3AsyncClient, partConcurrencyLimiter, partSizeInBytes);
+            multipartFileUploadHelper = new MultipartFileUploadHelper(s3AsyncClient, partConcurrencyLimiter, partSizeInBytes);
+        } else {
+            s3AsyncClient = initializeS3CrtClient(tmBuilder);
+            closeS3AsyncClient = true;
+            parallelFileDownloadHelper = null;
+            multipartFileUploadHelper = null;
+        }
         uploadDirectoryManager = new UploadDirectoryHelper(transferConfiguration, this::uploadFile);
+        downloadDirectoryHelper = new DownloadDirectoryHelper(transferConfiguration, this::listObjects, this::downloadFile);
     }
 
     @SdkTestInternalApi
     DefaultS3TransferManager(S3CrtAsyncClient s3CrtAsyncClient,
                              UploadDirectoryHelper uploadDirectoryManager,
                              TransferManagerConfiguration configuration) {
-        this.s3CrtAsyncClient = s3CrtAsyncClient;
+        this.s3AsyncClient = s3CrtAsyncClient;
+        this.closeS3AsyncClient = true;
+        this.parallelFileDownloadHelper = null;
+        this.multipartFileUploadHelper = null;
         this.transferConfiguration = configuration;
         this.uploadDirectoryManager = uploadDirectoryManager;
+        this.downloadDirectoryHelper = new DownloadDirectoryHelper(configuration, this::listObjects, this::downloadFile);
+        this.s3ClientConfiguration = S3ClientConfiguration.builder().build();
     }
 
     private TransferManagerConfiguration resolveTransferManagerConfiguration(DefaultBuilder tmBuilder) {
         TransferManagerConfiguration.Builder transferConfigBuilder = TransferManagerConfiguration.builder();
         tmBuilder.transferManagerConfiguration.uploadDirectoryConfiguration()
                                               .ifPresent(transferConfigBuilder::uploadDirectoryConfiguration);
+        tmBuilder.transferManagerConfiguration.downloadDirectoryConfiguration()
+                                              .ifPresent(transferConfigBuilder::downloadDirectoryConfiguration);
         tmBuilder.transferManagerConfiguration.executor().ifPresent(transferConfigBuilder::executor);
         return transferConfigBuilder.build();
     }
@@ -112,7 +152,7 @@ public final class DefaultS3TransferManager implements S3TransferManager {
             assertNotUnsupportedArn(uploadRequest.putObjectRequest().bucket(), "upload");
 
             CompletableFuture<PutObjectResponse> putObjFuture =
-                s3CrtAsyncClient.putObject(uploadRequest.putObjectRequest(), requestBody);
+                s3AsyncClient.putObject(uploadRequest.putObjectRequest(), requestBody);
 
             // Forward upload cancellation to CRT future
             CompletableFutureUtils.forwardExceptionTo(uploadFuture, putObjFuture);
@@ -132,20 +172,45 @@ public final class DefaultS3TransferManager implements S3TransferManager {
     public FileUpload uploadFile(UploadFileRequest uploadFileRequest) {
         Validate.paramNotNull(uploadFileRequest, "uploadFileRequest");
 
+        return uploadFile(uploadFileRequest, (requestBody, progressUpdater, pauseObservable) -> {
+            if (multipartFileUploadHelper != null) {
+                return multipartFileUploadHelper.uploadFile(uploadFileRequest, progressUpdater, pauseObservable);
+            }
+            return s3AsyncClient.putObject(uploadFileRequest.putObjectRequest(), progressUpdater.wrapRequestBody(requestBody));
+        });
+    }
+
+    @Override
+    public FileUpload resumeUploadFile(ResumableFileUpload resumableFileUpload) {
+        Validate.paramNotNull(resumableFileUpload, "resumableFileUpload");
+        assertPausingSupported(multipartFileUploadHelper, "Resuming an upload");
+
+        return uploadFile(resumableFileUpload.uploadFileRequest(), (requestBody, progressUpdater, pauseObservable) ->
+            multipartFileUploadHelper.resumeUploadFile(resumableFileUpload, progressUpdater, pauseObservable));
+    }
+
+    private FileUpload uploadFile(UploadFileRequest uploadFileRequest, FileUploadStarter putObject) {
         AsyncRequestBody requestBody = AsyncRequestBody.fromFile(uploadFileRequest.source());
 
         CompletableFuture<CompletedFileUpload> uploadFuture = new CompletableFuture<>();
 
         TransferProgressUpdater progressUpdater = new TransferProgressUpdater(uploadFileRequest, requestBody);
         progressUpdater.transferInitiated();
-        requestBody = progressUpdater.wrapRequestBody(requestBody);
         progressUpdater.registerCompletion(uploadFuture);
 
+        // Until the transfer has parts to resume, pausing it cancels it and it is started over when it is resumed.
+        PauseObservable<ResumableFileUpload> pauseObservable = null;
+        if (multipartFileUploadHelper != null) {
+            pauseObservable = new PauseObservable<>(() -> {
+                uploadFuture.cancel(true);
+                return ResumableFileUpload.builder().uploadFileRequest(uploadFileRequest).build();
+            });
+        }
+
         try {
             assertNotUnsupportedArn(uploadFileRequest.putObjectRequest().bucket(), "upload");
 
-            CompletableFuture<PutObjectResponse> putObjFuture =
-                s3CrtAsyncClient.putObject(uploadFileRequest.putObjectRequest(), requestBody);
+            CompletableFuture<PutObjectResponse> putObjFuture = putObject.start(requestBody, progressUpdater, pauseObservable);
             
             // Forward upload cancellation to CRT future
             CompletableFutureUtils.forwardExceptionTo(uploadFuture, putObjFuture);
@@ -158,7 +223,18 @@ public final class DefaultS3TransferManager implements S3TransferManager {
             uploadFuture.completeExceptionally(throwable);
         }
 
-        return new DefaultFileUpload(uploadFuture, progressUpdater.progress());
+        return new DefaultFileUpload(uploadFuture, progressUpdater.progress(), pauseObservable);
+    }
+
+    /**
+     * Starts the upload of a file, given the request body of the whole file that the progress of the transfer is measured
+     * against.
+     */
+    @FunctionalInterface
+    private interface FileUploadStarter {
+        CompletableFuture<PutObjectResponse> start(AsyncRequestBody requestBody,
+                                                   TransferProgressUpdater progressUpdater,
+                                                   PauseObservable<ResumableFileUpload> pauseObservable);
     }
 
     @Override
@@ -192,7 +268,7 @@ public final class DefaultS3TransferManager implements S3TransferManager {
             assertNotUnsupportedArn(downloadRequest.getObjectRequest().bucket(), "download");
 
             CompletableFuture<ResultT> getObjectFuture =
-                s3CrtAsyncClient.getObject(downloadRequest.getObjectRequest(), responseTransformer);
+                s3AsyncClient.getObject(downloadRequest.getObjectRequest(), responseTransformer);
 
             // Forward download cancellation to CRT future
             CompletableFutureUtils.forwardExceptionTo(downloadFuture, getObjectFuture);
@@ -212,21 +288,47 @@ public final class DefaultS3TransferManager implements S3TransferManager {
     public FileDownload downloadFile(DownloadFileRequest downloadRequest) {
         Validate.paramNotNull(downloadRequest, "downloadFileRequest");
 
-        AsyncResponseTransformer<GetObjectResponse, GetObjectResponse> responseTransformer =
-            AsyncResponseTransformer.toFile(downloadRequest.destination());
+        return downloadFile(downloadRequest, (progressUpdater, pauseObservable) -> {
+            if (parallelFileDownloadHelper != null) {
+                return parallelFileDownloadHelper.downloadFile(downloadRequest, progressUpdater, pauseObservable);
+            }
+            AsyncResponseTransformer<GetObjectResponse, GetObjectResponse> responseTransformer =
+                progressUpdater.wrapResponseTransformer(AsyncResponseTransformer.toFile(downloadRequest.destination()));
+            return s3AsyncClient.getObject(downloadRequest.getObjectRequest(), responseTransformer);
+        });
+    }
+
+    @Override
+    public FileDownload resumeDownloadFile(ResumableFileDownload resumableFileDownload) {
+        Validate.paramNotNull(resumableFileDownload, "resumableFileDownload");
+        assertPausingSupported(parallelFileDownloadHelper, "Resuming a download");
 
+        return downloadFile(resumableFileDownload.downloadFileRequest(), (progressUpdater, pauseObservable) ->
+            parallelFileDownloadHelper.resumeDownloadFile(resumableFileDownload, progressUpdater, pauseObservable));
+    }
+
+    private FileDownload downloadFile(DownloadFileRequest downloadRequest,
+                                      BiFunction<TransferProgressUpdater, PauseObservable<ResumableFileDownload>,
+                                          CompletableFuture<GetObjectResponse>> getObject) {
         CompletableFuture<CompletedFileDownload> downloadFuture = new CompletableFuture<>();
 
         TransferProgressUpdater progressUpdater = new TransferProgressUpdater(downloadRequest, null);
         progressUpdater.transferInitiated();
-        responseTransformer = progressUpdater.wrapResponseTransformer(responseTransformer);
         progressUpdater.registerCompletion(downloadFuture);
 
+        // Until the transfer has parts to resume, pausing it cancels it and it is started over when it is resumed.
+        PauseObservable<ResumableFileDownload> pauseObservable = null;
+        if (parallelFileDownloadHelper != null) {
+            pauseObservable = new PauseObservable<>(() -> {
+                downloadFuture.cancel(true);
+                return ResumableFileDownload.builder().downloadFileRequest(downloadRequest).build();
+            });
+        }
+
         try {
             assertNotUnsupportedArn(downloadRequest.getObjectRequest().bucket(), "download");
 
-            CompletableFuture<GetObjectResponse> getObjectFuture =
-                s3CrtAsyncClient.getObject(downloadRequest.getObjectRequest(), responseTransformer);
+            CompletableFuture<GetObjectResponse> getObjectFuture = getObject.apply(progressUpdater, pauseObservable);
 
             // Forward download cancellation to CRT future
             CompletableFutureUtils.forwardExceptionTo(downloadFuture, getObjectFuture);
@@ -239,12 +341,53 @@ public final class DefaultS3TransferManager implements S3TransferManager {
             downloadFuture.completeExceptionally(throwable);
         }
 
-        return new DefaultFileDownload(downloadFuture, progressUpdater.progress());
+        return new DefaultFileDownload(downloadFuture, progressUpdater.progress(), pauseObservable);
+    }
+
+    @Override
+    public DirectoryDownload downloadDirectory(DownloadDirectoryRequest downloadDirectoryRequest) {
+        Validate.paramNotNull(downloadDirectoryRequest, "downloadDirectoryRequest");
+
+        try {
+            assertNotUnsupportedArn(downloadDirectoryRequest.bucket(), "downloadDirectory");
+
+            return downloadDirectoryHelper.downloadDirectory(downloadDirectoryRequest);
+        } catch (Throwable throwable) {
+            return new DefaultDirectoryDownload(CompletableFutureUtils.failedFuture(throwable));
+        }
+    }
+
+    private SdkPublisher<S3Object> listObjects(ListObjectsV2Request listObjectsRequest) {
+        return listingClient().listObjectsV2Paginator(listObjectsRequest).contents();
+    }
+
+    /**
+     * The CRT based client only supports GetObject and PutObject, so with it objects are listed by a standard client that is
+     * created the first time a directory is downloaded.
+     */
+    private synchronized S3AsyncClient listingClient() {
+        if (!(s3AsyncClient instanceof S3CrtAsyncClient)) {
+            return s3AsyncClient;
+        }
+        if (crtListingClient == null) {
+            S3AsyncClientBuilder clientBuilder = S3AsyncClient.builder();
+            s3ClientConfiguration.credentialsProvider().ifPresent(clientBuilder::credentialsProvider);
+            s3ClientConfiguration.region().ifPresent(clientBuilder::region);
+            crtListingClient = clientBuilder.build();
+        }
+        return crtListingClient;
     }
 
     @Override
     public void close() {
-        s3CrtAsyncClient.close();
+        if (closeS3AsyncClient) {
+            s3AsyncClient.close();
+        }
+        synchronized (this) {
+            if (crtListingClient != null) {
+                crtListingClient.close();
+            }
+        }
         transferConfiguration.close();
     }
 
@@ -270,6 +413,13 @@ public final class DefaultS3TransferManager implements S3TransferManager {
         }
     }
 
+    private static void assertPausingSupported(Object partHelper, String operation) {
+        if (partHelper == null) {
+            throw new UnsupportedOperationException(operation + " is only supported by a transfer manager built with an "
+                                                    + "S3AsyncClient.");
+        }
+    }
+
     private static boolean isObjectLambdaArn(String arn) {
         return arn.contains(":s3-object-lambda");
     }
@@ -289,6 +439,7 @@ public final class DefaultS3TransferManager implements S3TransferManager {
         private S3ClientConfiguration s3ClientConfiguration = S3ClientConfiguration.builder().build();
         private S3TransferManagerOverrideConfiguration transferManagerConfiguration =
             S3TransferManagerOverrideConfiguration.builder().build();
+        private S3AsyncClient s3AsyncClient;
 
         private DefaultBuilder() {
         }
@@ -305,6 +456,12 @@ public final class DefaultS3TransferManager implements S3TransferManager {
             return this;
         }
 
+        @Override
+        public Builder s3AsyncClient(S3AsyncClient s3AsyncClient) {
+            this.s3AsyncClient = s3AsyncClient;
+            return this;
+        }
+
         @Override
         public S3TransferManager build() {
             return new DefaultS3TransferManager(this);
@@ -0,0 +1,306 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+
+package software.amazon.awssdk.transfer.s3.internal;
+
+import static software.amazon.awssdk.transfer.s3.internal.TransferConfigurationOption.DEFAULT_DELIMITER;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collection;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+import software.amazon.awssdk.annotations.SdkInternalApi;
+import software.amazon.awssdk.core.async.SdkPublisher;
+import software.amazon.awssdk.core.exception.SdkClientException;
+import software.amazon.awssdk.services.s3.model.ListObjectsV2Request;
+import software.amazon.awssdk.services.s3.model.S3Object;
+import software.amazon.awssdk.transfer.s3.CompletedDirectoryDownload;
+import software.amazon.awssdk.transfer.s3.CompletedFileDownload;
+import software.amazon.awssdk.transfer.s3.DirectoryDownload;
+import software.amazon.awssdk.transfer.s3.DownloadDirectoryOverrideConfiguration;
+import software.amazon.awssdk.transfer.s3.DownloadDirectoryRequest;
+import software.amazon.awssdk.transfer.s3.DownloadFileRequest;
+import software.amazon.awssdk.transfer.s3.FailedFileDownload;
+import software.amazon.awssdk.transfer.s3.FileDownload;
+import software.amazon.awssdk.transfer.s3.S3TransferManager;
+import software.amazon.awssdk.utils.Logger;
+import software.amazon.awssdk.utils.StringUtils;
+import software.amazon.awssdk.utils.Validate;
+
+/**
+ * An internal helper class that lists the objects under a prefix and sends the download request for each of them.
+ *
+ * <p>Objects are requested from the listing only as fast as their downloads complete, so no more than the configured number of
+ * downloads are in flight, and neither the listing nor the successful downloads are accumulated in memory.
+ */
+@SdkInternalApi
+public class DownloadDirectoryHelper {
+    private static final Logger log = Logger.loggerFor(S3TransferManager.class);
+
+    private final TransferManagerConfiguration transferConfiguration;
+    private final Function<ListObjectsV2Request, SdkPublisher<S3Object>> listObjectsFunction;
+    private final Function<DownloadFileRequest, FileDownload> downloadFunction;
+
+    public DownloadDirectoryHelper(TransferManagerConfiguration transferConfiguration,
+                                   Function<ListObjectsV2Request, SdkPublisher<S3Object>> listObjectsFunction,
+                                   Function<DownloadFileRequest, FileDownload> downloadFunction) {
+        this.transferConfiguration = transferConfiguration;
+        this.listObjectsFunction = listObjectsFunction;
+        this.downloadFunction = downloadFunction;
+    }
+
+    public DirectoryDownload downloadDirectory(DownloadDirectoryRequest downloadDirectoryRequest) {
+
+        CompletableFuture<CompletedDirectoryDownload> returnFuture = new CompletableFuture<>();
+
+        // offload the execution to the transfer manager executor
+        CompletableFuture.runAsync(() -> doDownloadDirectory(returnFuture, downloadDirectoryRequest),
+                                   transferConfiguration.option(TransferConfigurationOption.EXECUTOR))
+                         .whenComplete((r, t) -> {
+                             if (t != null) {
+                                 returnFuture.completeExceptionally(t);
+                             }
+                         });
+
+        return new DefaultDirectoryDownload(returnFuture);
+    }
+
+    private void doDownloadDirectory(CompletableFuture<CompletedDirectoryDownload> returnFuture,
+                                     DownloadDirectoryRequest downloadDirectoryRequest) {
+        Path directory = createDirectory(downloadDirectoryRequest.destinationDirectory());
+
+        String delimiter = downloadDirectoryRequest.delimiter()
+                                                   .filter(s -> !s.isEmpty())
+                                                   .orElse(DEFAULT_DELIMITER);
+
+        String prefix = downloadDirectoryRequest.prefix()
+                                                .map(s -> normalizePrefix(s, delimiter))
+                                                .orElse("");
+
+        // The listing is not delimited: every object under the prefix is downloaded, whatever its depth
+        ListObjectsV2Request listObjectsRequest = ListObjectsV2Request.builder()
+                                                                      .bucket(downloadDirectoryRequest.bucket())
+                                                                      .prefix(prefix.isEmpty() ? null : prefix)
+                                                                      .build();
+
+        int maxConcurrentDownloads =
+            transferConfiguration.resolveDownloadDirectoryMaxConcurrentDownloads(downloadDirectoryRequest);
+
+        listObjectsFunction.apply(listObjectsRequest)
+                           .subscribe(new DownloadingSubscriber(downloadDirectoryRequest, directory, prefix, delimiter,
+                                                                maxConcurrentDownloads, returnFuture));
+    }
+
+    private static Path createDirectory(Path destinationDirectory) {
+        Path directory = destinationDirectory.toAbsolutePath().normalize();
+        Validate.isTrue(!Files.exists(directory) || Files.isDirectory(directory),
+                        "The destination directory provided (%s) is not a directory", destinationDirectory);
+        try {
+            Files.createDirectories(directory);
+        } catch (IOException e) {
+            throw SdkClientException.create("Failed to create the destination directory: " + destinationDirectory, e);
+        }
+        return directory;
+    }
+
+    /**
+     * If the prefix already ends with the same string as delimiter, there is no need to add delimiter.
+     */
+    private static String normalizePrefix(String prefix, String delimiter) {
+        if (StringUtils.isEmpty(prefix)) {
+            return "";
+        }
+        return prefix.endsWith(delimiter) ? prefix : prefix + delimiter;
+    }
+
+    /**
+     * Starts a download for each listed object, and requests the next object whenever a download completes.
+     */
+    private final class DownloadingSubscriber implements Subscriber<S3Object> {
+        private final DownloadDirectoryRequest downloadDirectoryRequest;
+        private final Path directory;
+        private final String prefix;
+        private final String delimiter;
+        private final int maxConcurrentDownloads;
+        private final CompletableFuture<CompletedDirectoryDownload> returnFuture;
+        private final Collection<FailedFileDownload> failedFileDownloads = new ConcurrentLinkedQueue<>();
+        private final Set<CompletableFuture<CompletedFileDownload>> inFlightDownloads = ConcurrentHashMap.newKeySet();
+
+        /**
+         * The number of started downloads that have not completed yet, plus one until the listing has completed.
+         */
+        private final AtomicInteger outstanding = new AtomicInteger(1);
+
+        private Subscription subscription;
+
+        private DownloadingSubscriber(DownloadDirectoryRequest downloadDirectoryRequest,
+                                      Path directory,
+                                      String prefix,
+                                      String delimiter,
+                                      int maxConcurrentDownloads,
+                                      CompletableFuture<CompletedDirectoryDownload> returnFuture) {
+            this.downloadDirectoryRequest = downloadDirectoryRequest;
+            this.directory = directory;
+            this.prefix = prefix;
+            this.delimiter = delimiter;
+            this.maxConcurrentDownloads = maxConcurrentDownloads;
+            this.returnFuture = returnFuture;
+        }
+
+        @Override
+        public void onSubscribe(Subscription subscription) {
+            synchronized (this) {
+                this.subscription = subscription;
+            }
+
+            // Forward cancellation of the return future to the listing and to all downloads in flight. Unlike registering a
+            // callback per download, this does not keep every download of the directory reachable until the transfer completes.
+            returnFuture.whenComplete((r, t) -> {
+                if (t != null) {
+                    cancelSubscription();
+                    inFlightDownloads.forEach(f -> f.cancel(true));
+                }
+            });
+
+            requestMore(maxConcurrentDownloads);
+        }
+
+        @Override
+        public void onNext(S3Object s3Object) {
+            if (returnFuture.isDone()) {
+                return;
+            }
+            outstanding.incrementAndGet();
+            try {
+                downloadObject(s3Object);
+            } catch (Throwable t) {
+                log.debug(() -> "Failed to start the download of " + s3Object.key(), t);
+                returnFuture.completeExceptionally(t);
+            }
+        }
+
+        @Override
+        public void onError(Throwable t) {
+            returnFuture.completeExceptionally(t);
+        }
+
+        @Override
+        public void onComplete() {
+            if (outstanding.decrementAndGet() == 0) {
+                complete();
+            }
+        }
+
+        private void downloadObject(S3Object s3Object) {
+            String key = s3Object.key();
+            String relativeKey = key.startsWith(prefix) ? key.substring(prefix.length()) : key;
+
+            // Keys ending with the delimiter, such as those created by the S3 console, mark directories and have no content
+            if (relativeKey.isEmpty() || relativeKey.endsWith(delimiter)) {
+                objectDone();
+                return;
+            }
+
+            Path destination = resolveDestination(relativeKey);
+            DownloadFileRequest.Builder requestBuilder =
+                DownloadFileRequest.builder()
+                                   .destination(destination)
+                                   .getObjectRequest(g -> g.bucket(downloadDirectoryRequest.bucket()).key(key));
+
+            if (!destination.startsWith(directory)) {
+                objectFailed(requestBuilder.build(),
+                             SdkClientException.create("Cannot download key " + key + ", its relative path resolves "
+                                                       + "outside of the destination directory"));
+                return;
+            }
+
+            downloadDirectoryRequest.overrideConfiguration()
+                                    .flatMap(DownloadDirectoryOverrideConfiguration::downloadFileRequestTransformer)
+                                    .ifPresent(c -> c.accept(requestBuilder));
+            DownloadFileRequest downloadFileRequest = requestBuilder.build();
+
+            CompletableFuture<CompletedFileDownload> future;
+            try {
+                Path parent = downloadFileRequest.destination().getParent();
+                if (parent != null) {
+                    Files.createDirectories(parent);
+                }
+                log.debug(() -> String.format("Sending download request (%s) for key (%s)", downloadFileRequest, key));
+                future = downloadFunction.apply(downloadFileRequest).completionFuture();
+            } catch (Throwable t) {
+                objectFailed(downloadFileRequest, t);
+                return;
+            }
+
+            inFlightDownloads.add(future);
+            future.whenComplete((r, t) -> {
+                inFlightDownloads.remove(future);
+                if (t != null) {
+                    objectFailed(downloadFileRequest, t);
+                } else {
+                    objectDone();
+                }
+            });
+        }
+
+        private Path resolveDestination(String relativeKey) {
+            String separator = directory.getFileSystem().getSeparator();
+
+            // Optimization for the case where separator equals to the delimiter: there is no need to call String#replace which
+            // invokes Pattern#compile in Java 8
+            String relativePathName = delimiter.equals(separator) ? relativeKey : relativeKey.replace(delimiter, separator);
+            return directory.resolve(relativePathName).normalize();
+        }
+
+        private void objectFailed(DownloadFileRequest downloadFileRequest, Throwable t) {
+            failedFileDownloads.add(FailedFileDownload.builder()
+                                                      .exception(t)
+                                                      .request(downloadFileRequest)
+                                                      .build());
+            objectDone();
+        }
+
+        private void objectDone() {
+            if (outstanding.decrementAndGet() == 0) {
+                complete();
+            } else {
+                requestMore(1);
+            }
+        }
+
+        private void complete() {
+            returnFuture.complete(CompletedDirectoryDownload.builder()
+                                                            .failedTransfers(failedFileDownloads)
+                                                            .build());
+        }
+
+        private synchronized void requestMore(long n) {
+            subscription.request(n);
+        }
+
+        private synchronized void cancelSubscription() {
+            subscription.cancel();
+        }
+    }
+}
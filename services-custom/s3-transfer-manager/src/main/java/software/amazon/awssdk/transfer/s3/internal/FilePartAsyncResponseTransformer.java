@@ -0,0 +1,171 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+
+package software.amazon.awssdk.transfer.s3.internal;
+
+import java.nio.ByteBuffer;
+import java.nio.channels.AsynchronousFileChannel;
+import java.nio.channels.CompletionHandler;
+import java.util.concurrent.CompletableFuture;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+import software.amazon.awssdk.annotations.SdkInternalApi;
+import software.amazon.awssdk.core.async.AsyncResponseTransformer;
+import software.amazon.awssdk.core.async.SdkPublisher;
+import software.amazon.awssdk.services.s3.model.GetObjectResponse;
+import software.amazon.awssdk.utils.async.PooledByteBuffers;
+
+/**
+ * {@link AsyncResponseTransformer} that writes one part of a ranged download into a file channel that is shared with the
+ * other parts, starting at the part's offset in the object. The channel is opened and closed by the caller.
+ * {@linkplain PooledByteBuffers Pooled} chunks are released once they have been written.
+ */
+@SdkInternalApi
+public final class FilePartAsyncResponseTransformer
+    implements AsyncResponseTransformer<GetObjectResponse, GetObjectResponse> {
+
+    private final AsynchronousFileChannel fileChannel;
+    private final long position;
+    private volatile CompletableFuture<Void> cf;
+    private volatile GetObjectResponse response;
+
+    public FilePartAsyncResponseTransformer(AsynchronousFileChannel fileChannel, long position) {
+        this.fileChannel = fileChannel;
+        this.position = position;
+    }
+
+    @Override
+    public CompletableFuture<GetObjectResponse> prepare() {
+        cf = new CompletableFuture<>();
+        return cf.thenApply(ignored -> response);
+    }
+
+    @Override
+    public void onResponse(GetObjectResponse response) {
+        this.response = response;
+    }
+
+    @Override
+    public void onStream(SdkPublisher<ByteBuffer> publisher) {
+        // onStream may be called multiple times on retries, each attempt writes the part from its start again
+        publisher.subscribe(new PositionalWriteSubscriber(fileChannel, position, cf));
+    }
+
+    @Override
+    public void exceptionOccurred(Throwable throwable) {
+        cf.completeExceptionally(throwable);
+    }
+
+    /**
+     * {@link Subscriber} implementation that writes chunks to the file, one at a time, starting at the given position.
+     */
+    private static final class PositionalWriteSubscriber implements Subscriber<ByteBuffer> {
+        private final AsynchronousFileChannel fileChannel;
+        private final CompletableFuture<Void> future;
+        private long position;
+
+        private boolean writeInProgress = false;
+        private boolean completeOnLastWrite = false;
+        private Subscription subscription;
+
+        private PositionalWriteSubscriber(AsynchronousFileChannel fileChannel, long position, CompletableFuture<Void> future) {
+            this.fileChannel = fileChannel;
+            this.position = position;
+            this.future = future;
+        }
+
+        @Override
+        public void onSubscribe(Subscription s) {
+            if (this.subscription != null) {
+                s.cancel();
+                return;
+            }
+            this.subscription = s;
+            s.request(1);
+        }
+
+        @Override
+        public void onNext(ByteBuffer byteBuffer) {
+            if (byteBuffer == null) {
+                throw new NullPointerException("Element must not be null");
+            }
+
+            synchronized (this) {
+                writeInProgress = true;
+            }
+            performWrite(byteBuffer);
+        }
+
+        private void performWrite(ByteBuffer byteBuffer) {
+            long writePosition;
+            synchronized (this) {
+                writePosition = position;
+            }
+
+            fileChannel.write(byteBuffer, writePosition, byteBuffer, new CompletionHandler<Integer, ByteBuffer>() {
+                @Override
+                public void completed(Integer result, ByteBuffer attachment) {
+                    synchronized (PositionalWriteSubscriber.this) {
+                        position += result;
+                    }
+
+                    if (byteBuffer.hasRemaining()) {
+                        performWrite(byteBuffer);
+                        return;
+                    }
+
+                    PooledByteBuffers.release(byteBuffer);
+                    boolean complete;
+                    synchronized (PositionalWriteSubscriber.this) {
+                        writeInProgress = false;
+                        complete = completeOnLastWrite;
+                    }
+
+                    if (complete) {
+                        future.complete(null);
+                    } else {
+                        subscription.request(1);
+                    }
+                }
+
+                @Override
+                public void failed(Throwable exc, ByteBuffer attachment) {
+                    PooledByteBuffers.release(byteBuffer);
+                    subscription.cancel();
+                    future.completeExceptionally(exc);
+                }
+            });
+        }
+
+        @Override
+        public void onError(Throwable t) {
+            future.completeExceptionally(t);
+        }
+
+        @Override
+        public void onComplete() {
+            boolean complete;
+            synchronized (this) {
+                completeOnLastWrite = true;
+                complete = !writeInProgress;
+            }
+
+            if (complete) {
+                future.complete(null);
+            }
+        }
+    }
+}
@@ -0,0 +1,397 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+
+package software.amazon.awssdk.transfer.s3.internal;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.PrimitiveIterator;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.stream.IntStream;
+import software.amazon.awssdk.annotations.SdkInternalApi;
+import software.amazon.awssdk.core.async.AsyncRequestBody;
+import software.amazon.awssdk.core.internal.async.FileAsyncRequestBody;
+import software.amazon.awssdk.services.s3.S3AsyncClient;
+import software.amazon.awssdk.services.s3.model.AbortMultipartUploadRequest;
+import software.amazon.awssdk.services.s3.model.CompleteMultipartUploadRequest;
+import software.amazon.awssdk.services.s3.model.CompletedPart;
+import software.amazon.awssdk.services.s3.model.PutObjectRequest;
+import software.amazon.awssdk.services.s3.model.PutObjectResponse;
+import software.amazon.awssdk.services.s3.model.UploadPartRequest;
+import software.amazon.awssdk.services.s3.model.UploadPartResponse;
+import software.amazon.awssdk.transfer.s3.ResumableFileUpload;
+import software.amazon.awssdk.transfer.s3.S3TransferManager;
+import software.amazon.awssdk.transfer.s3.UploadFileRequest;
+import software.amazon.awssdk.transfer.s3.internal.progress.TransferProgressUpdater;
+import software.amazon.awssdk.utils.CompletableFutureUtils;
+import software.amazon.awssdk.utils.Logger;
+
+/**
+ * Uploads a file with a plain {@link S3AsyncClient}, without the AWS Common Runtime. Files larger than the configured part
+ * size are sent as a multipart upload whose parts are read from their own region of the file and uploaded concurrently;
+ * smaller files are sent with a single PutObject request. The uploaded parts are recorded, so that a paused multipart upload
+ * can be resumed with the remaining parts.
+ */
+@SdkInternalApi
+public final class MultipartFileUploadHelper {
+    private static final Logger log = Logger.loggerFor(S3TransferManager.class);
+
+    /**
+     * The maximum number of parts of a multipart upload allowed by S3. Larger files use larger parts.
+     */
+    private static final int MAX_PARTS = 10_000;
+
+    private final S3AsyncClient s3AsyncClient;
+    private final PartConcurrencyLimiter partConcurrencyLimiter;
+    private final long partSizeInBytes;
+
+    public MultipartFileUploadHelper(S3AsyncClient s3AsyncClient,
+                                     PartConcurrencyLimiter partConcurrencyLimiter,
+                                     long partSizeInBytes) {
+        this.s3AsyncClient = s3AsyncClient;
+        this.partConcurrencyLimiter = partConcurrencyLimiter;
+        this.partSizeInBytes = partSizeInBytes;
+    }
+
+    public CompletableFuture<PutObjectResponse> uploadFile(UploadFileRequest uploadFileRequest,
+                                                           TransferProgressUpdater progressUpdater,
+                                                           PauseObservable<ResumableFileUpload> pauseObservable) {
+        long fileSize;
+        Instant fileLastModified;
+        try {
+            fileSize = Files.size(uploadFileRequest.source());
+            fileLastModified = Files.getLastModifiedTime(uploadFileRequest.source()).toInstant();
+        } catch (IOException | RuntimeException e) {
+            return CompletableFutureUtils.failedFuture(e);
+        }
+
+        if (fileSize <= partSizeInBytes) {
+            AsyncRequestBody requestBody = progressUpdater.wrapRequestBody(AsyncRequestBody.fromFile(uploadFileRequest.source()));
+            return partConcurrencyLimiter.submit(() -> s3AsyncClient.putObject(uploadFileRequest.putObjectRequest(),
+                                                                               requestBody));
+        }
+
+        long partSize = Math.max(partSizeInBytes, (fileSize + MAX_PARTS - 1) / MAX_PARTS);
+        MultipartFileUpload upload = new MultipartFileUpload(uploadFileRequest, fileSize, fileLastModified, partSize,
+                                                             progressUpdater);
+        pauseObservable.pauser(upload::pause);
+        return upload.start();
+    }
+
+    /**
+     * Continues the multipart upload of a paused upload with the parts that were not uploaded yet. If the upload was paused
+     * before its multipart upload was created, the whole file is uploaded; if the file was changed after the upload was
+     * paused, the multipart upload is aborted and the whole file is uploaded again.
+     */
+    public CompletableFuture<PutObjectResponse> resumeUploadFile(ResumableFileUpload resumableFileUpload,
+                                                                 TransferProgressUpdater progressUpdater,
+                                                                 PauseObservable<ResumableFileUpload> pauseObservable) {
+        UploadFileRequest uploadFileRequest = resumableFileUpload.uploadFileRequest();
+        if (!resumableFileUpload.multipartUploadId().isPresent()) {
+            return uploadFile(uploadFileRequest, progressUpdater, pauseObservable);
+        }
+
+        String uploadId = resumableFileUpload.multipartUploadId().get();
+        long fileSize;
+        Instant fileLastModified;
+        try {
+            fileSize = Files.size(uploadFileRequest.source());
+            fileLastModified = Files.getLastModifiedTime(uploadFileRequest.source()).toInstant();
+        } catch (IOException | RuntimeException e) {
+            return CompletableFutureUtils.failedFuture(e);
+        }
+
+        if (!resumableFileUpload.partSizeInBytes().isPresent()
+            || !resumableFileUpload.fileLength().equals(Optional.of(fileSize))
+            || !resumableFileUpload.fileLastModified().equals(Optional.of(fileLastModified))) {
+            // The uploaded parts may not match the file anymore.
+            abortMultipartUpload(uploadFileRequest.putObjectRequest(), uploadId);
+            return uploadFile(uploadFileRequest, progressUpdater, pauseObservable);
+        }
+
+        MultipartFileUpload upload = new MultipartFileUpload(uploadFileRequest, fileSize, fileLastModified,
+                                                             resumableFileUpload.partSizeInBytes().get(), progressUpdater);
+        pauseObservable.pauser(upload::pause);
+        return upload.resume(uploadId, resumableFileUpload.completedParts());
+    }
+
+    private void abortMultipartUpload(PutObjectRequest putObjectRequest, String uploadId) {
+        AbortMultipartUploadRequest abortRequest =
+            MultipartPojoConversion.toAbortMultipartUploadRequest(putObjectRequest, uploadId);
+        s3AsyncClient.abortMultipartUpload(abortRequest).whenComplete((r, t) -> {
+            if (t != null) {
+                log.warn(() -> "Failed to abort multipart upload " + uploadId + ". Its parts remain stored until the upload "
+                               + "is aborted.", t);
+            }
+        });
+    }
+
+    private final class MultipartFileUpload {
+        private final UploadFileRequest uploadFileRequest;
+        private final PutObjectRequest putObjectRequest;
+        private final Path source;
+        private final long fileSize;
+        private final Instant fileLastModified;
+        private final long partSize;
+        private final int partCount;
+        private final TransferProgressUpdater progressUpdater;
+        private final AtomicReferenceArray<CompletedPart> completedParts;
+        private final List<CompletableFuture<?>> requestFutures = new ArrayList<>();
+        private final AtomicInteger partsLeft = new AtomicInteger();
+        private final AtomicInteger partsToStart = new AtomicInteger();
+        private final AtomicBoolean aborted = new AtomicBoolean();
+        private final CompletableFuture<PutObjectResponse> result = new CompletableFuture<>();
+
+        /**
+         * The indexes of the parts that are not uploaded or being uploaded yet, guarded by {@code this}.
+         */
+        private PrimitiveIterator.OfInt remainingParts;
+
+        private volatile String uploadId;
+        private volatile boolean paused;
+
+        private MultipartFileUpload(UploadFileRequest uploadFileRequest,
+                                    long fileSize,
+                                    Instant fileLastModified,
+                                    long partSize,
+                                    TransferProgressUpdater progressUpdater) {
+            this.uploadFileRequest = uploadFileRequest;
+            this.putObjectRequest = uploadFileRequest.putObjectRequest();
+            this.source = uploadFileRequest.source();
+            this.fileSize = fileSize;
+            this.fileLastModified = fileLastModified;
+            this.partSize = partSize;
+            this.partCount = Math.toIntExact((fileSize + partSize - 1) / partSize);
+            this.progressUpdater = progressUpdater;
+            this.completedParts = new AtomicReferenceArray<>(partCount);
+            result.whenComplete((r, t) -> {
+                if (t != null) {
+                    cancelRequests();
+                }
+            });
+        }
+
+        private CompletableFuture<PutObjectResponse> start() {
+            progressUpdater.transferSizeInBytes(fileSize);
+
+            // The create request is not cancelled with the transfer, so that an upload it creates can always be aborted.
+            s3AsyncClient.createMultipartUpload(MultipartPojoConversion.toCreateMultipartUploadRequest(putObjectRequest))
+                         .whenComplete((response, error) -> {
+                             if (error != null) {
+                                 result.completeExceptionally(error);
+                             } else if (!recordUploadId(response.uploadId())) {
+                                 abortMultipartUpload(putObjectRequest, response.uploadId());
+                             } else {
+                                 uploadParts();
+                             }
+                         });
+            return result;
+        }
+
+        private CompletableFuture<PutObjectResponse> resume(String resumedUploadId, List<CompletedPart> resumedParts) {
+            progressUpdater.transferSizeInBytes(fileSize);
+            uploadId = resumedUploadId;
+
+            long resumedBytes = 0;
+            for (CompletedPart part : resumedParts) {
+                if (part.partNumber() != null && part.partNumber() >= 1 && part.partNumber() <= partCount) {
+                    int partIndex = part.partNumber() - 1;
+                    completedParts.set(partIndex, part);
+                    resumedBytes += partLength(partIndex);
+                }
+            }
+            progressUpdater.resumedBytesTransferred(resumedBytes);
+
+            uploadParts();
+            return result;
+        }
+
+        /**
+         * Records the ID of the created multipart upload, unless the transfer is already done. Synchronized with
+         * {@link #pause()}, so that an upload created after the transfer was paused is aborted rather than lost.
+         */
+        private synchronized boolean recordUploadId(String createdUploadId) {
+            if (paused || result.isDone()) {
+                return false;
+            }
+            uploadId = createdUploadId;
+            return true;
+        }
+
+        /**
+         * Uploads the parts that are not completed yet, and completes the multipart upload once they are all uploaded. The
+         * requests for the parts are created as earlier parts complete, so that an upload never has more parts queued or in
+         * flight than the limiter allows requests in flight, and other transfers are not queued behind all of its parts. The
+         * first part that fails fails the upload, which cancels the other parts and aborts the multipart upload.
+         */
+        private void uploadParts() {
+            partsLeft.set((int) IntStream.range(0, partCount).filter(i -> completedParts.get(i) == null).count());
+            if (partsLeft.get() == 0) {
+                completeUpload();
+                return;
+            }
+            synchronized (this) {
+                remainingParts = IntStream.range(0, partCount).filter(i -> completedParts.get(i) == null).iterator();
+            }
+
+            startParts(partConcurrencyLimiter.maxConcurrency());
+        }
+
+        /**
+         * Starts the given number of remaining parts. A part that completes while it is started starts the next part from the
+         * loop here rather than recursively, so that parts that complete immediately do not overflow the stack.
+         */
+        private void startParts(int count) {
+            if (partsToStart.getAndAdd(count) != 0) {
+                return;
+            }
+            do {
+                startNextPart();
+            } while (partsToStart.decrementAndGet() != 0);
+        }
+
+        private void startNextPart() {
+            int partIndex;
+            synchronized (this) {
+                partIndex = !result.isDone() && remainingParts.hasNext() ? remainingParts.nextInt() : -1;
+            }
+            if (partIndex < 0) {
+                if (result.isDone()) {
+                    // The transfer was cancelled between parts, so no part request fails to abort the upload.
+                    abort(null);
+                }
+                return;
+            }
+
+            int partNumber = partIndex + 1;
+            long length = partLength(partIndex);
+            UploadPartRequest uploadPartRequest =
+                MultipartPojoConversion.toUploadPartRequest(putObjectRequest, uploadId, partNumber, length);
+            AsyncRequestBody partBody = progressUpdater.wrapPartRequestBody(FileAsyncRequestBody.builder()
+                                                                                                .path(source)
+                                                                                                .position(partIndex * partSize)
+                                                                                                .numBytesToRead(length)
+                                                                                                .build());
+            CompletableFuture<UploadPartResponse> partFuture =
+                partConcurrencyLimiter.submit(() -> s3AsyncClient.uploadPart(uploadPartRequest, partBody));
+            track(partFuture).whenComplete((r, t) -> {
+                if (t != null) {
+                    abort(t);
+                    return;
+                }
+                completedParts.set(partIndex, CompletedPart.builder()
+                                                           .partNumber(partNumber)
+                                                           .eTag(r.eTag())
+                                                           .build());
+                if (partsLeft.decrementAndGet() != 0) {
+                    startParts(1);
+                } else if (result.isDone()) {
+                    abort(null);
+                } else {
+                    completeUpload();
+                }
+            });
+        }
+
+        private long partLength(int partIndex) {
+            return Math.min(partSize, fileSize - partIndex * partSize);
+        }
+
+        private void completeUpload() {
+            List<CompletedPart> parts = new ArrayList<>(partCount);
+            for (int partIndex = 0; partIndex < partCount; partIndex++) {
+                parts.add(completedParts.get(partIndex));
+            }
+            CompleteMultipartUploadRequest completeRequest =
+                MultipartPojoConversion.toCompleteMultipartUploadRequest(putObjectRequest, uploadId, parts);
+
+            track(s3AsyncClient.completeMultipartUpload(completeRequest)).whenComplete((response, t) -> {
+                if (t != null) {
+                    abort(t);
+                } else {
+                    result.complete(MultipartPojoConversion.toPutObjectResponse(response));
+                }
+            });
+        }
+
+        private void abort(Throwable cause) {
+            if (cause != null) {
+                result.completeExceptionally(cause);
+            }
+            // A paused upload keeps its parts, so that it can be completed when the transfer is resumed.
+            if (!paused && aborted.compareAndSet(false, true)) {
+                abortMultipartUpload(putObjectRequest, uploadId);
+            }
+        }
+
+        /**
+         * Cancels the upload without aborting its multipart upload, and returns the state needed to resume it. Parts that
+         * are being uploaded are cancelled and uploaded again when the upload is resumed.
+         */
+        private ResumableFileUpload pause() {
+            String pausedUploadId;
+            synchronized (this) {
+                paused = true;
+                pausedUploadId = uploadId;
+            }
+            result.cancel(true);
+
+            ResumableFileUpload.Builder resumableFileUpload = ResumableFileUpload.builder()
+                                                                                 .uploadFileRequest(uploadFileRequest);
+            if (pausedUploadId == null) {
+                return resumableFileUpload.build();
+            }
+
+            List<CompletedPart> parts = new ArrayList<>();
+            for (int partIndex = 0; partIndex < partCount; partIndex++) {
+                CompletedPart part = completedParts.get(partIndex);
+                if (part != null) {
+                    parts.add(part);
+                }
+            }
+            return resumableFileUpload.multipartUploadId(pausedUploadId)
+                                      .partSizeInBytes(partSize)
+                                      .fileLength(fileSize)
+                                      .fileLastModified(fileLastModified)
+                                      .completedParts(parts)
+                                      .build();
+        }
+
+        private <T> CompletableFuture<T> track(CompletableFuture<T> requestFuture) {
+            synchronized (requestFutures) {
+                requestFutures.add(requestFuture);
+            }
+            if (result.isDone()) {
+                requestFuture.cancel(true);
+            }
+            return requestFuture;
+        }
+
+        private void cancelRequests() {
+            synchronized (requestFutures) {
+                requestFutures.forEach(f -> f.cancel(true));
+            }
+        }
+    }
+}
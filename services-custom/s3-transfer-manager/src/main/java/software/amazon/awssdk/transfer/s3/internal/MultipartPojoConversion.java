@@ -0,0 +1,148 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+
+package software.amazon.awssdk.transfer.s3.internal;
+
+import java.util.List;
+import software.amazon.awssdk.annotations.SdkInternalApi;
+import software.amazon.awssdk.services.s3.model.AbortMultipartUploadRequest;
+import software.amazon.awssdk.services.s3.model.CompleteMultipartUploadRequest;
+import software.amazon.awssdk.services.s3.model.CompleteMultipartUploadResponse;
+import software.amazon.awssdk.services.s3.model.CompletedMultipartUpload;
+import software.amazon.awssdk.services.s3.model.CompletedPart;
+import software.amazon.awssdk.services.s3.model.CreateMultipartUploadRequest;
+import software.amazon.awssdk.services.s3.model.PutObjectRequest;
+import software.amazon.awssdk.services.s3.model.PutObjectResponse;
+import software.amazon.awssdk.services.s3.model.UploadPartRequest;
+
+/**
+ * Helper class to convert a PutObject request into the requests of the equivalent multipart upload, and the result of the
+ * multipart upload back into a PutObject response.
+ */
+@SdkInternalApi
+public final class MultipartPojoConversion {
+
+    private MultipartPojoConversion() {
+    }
+
+    public static CreateMultipartUploadRequest toCreateMultipartUploadRequest(PutObjectRequest putObjectRequest) {
+        CreateMultipartUploadRequest.Builder builder =
+            CreateMultipartUploadRequest.builder()
+                                        .acl(putObjectRequest.aclAsString())
+                                        .bucket(putObjectRequest.bucket())
+                                        .cacheControl(putObjectRequest.cacheControl())
+                                        .contentDisposition(putObjectRequest.contentDisposition())
+                                        .contentEncoding(putObjectRequest.contentEncoding())
+                                        .contentLanguage(putObjectRequest.contentLanguage())
+                                        .contentType(putObjectRequest.contentType())
+                                        .expires(putObjectRequest.expires())
+                                        .grantFullControl(putObjectRequest.grantFullControl())
+                                        .grantRead(putObjectRequest.grantRead())
+                                        .grantReadACP(putObjectRequest.grantReadACP())
+                                        .grantWriteACP(putObjectRequest.grantWriteACP())
+                                        .key(putObjectRequest.key())
+                                        .serverSideEncryption(putObjectRequest.serverSideEncryptionAsString())
+                                        .storageClass(putObjectRequest.storageClassAsString())
+                                        .websiteRedirectLocation(putObjectRequest.websiteRedirectLocation())
+                                        .sseCustomerAlgorithm(putObjectRequest.sseCustomerAlgorithm())
+                                        .sseCustomerKey(putObjectRequest.sseCustomerKey())
+                                        .sseCustomerKeyMD5(putObjectRequest.sseCustomerKeyMD5())
+                                        .ssekmsKeyId(putObjectRequest.ssekmsKeyId())
+                                        .ssekmsEncryptionContext(putObjectRequest.ssekmsEncryptionContext())
+                                        .bucketKeyEnabled(putObjectRequest.bucketKeyEnabled())
+                                        .requestPayer(putObjectRequest.requestPayerAsString())
+                                        .tagging(putObjectRequest.tagging())
+                                        .objectLockMode(putObjectRequest.objectLockModeAsString())
+                                        .objectLockRetainUntilDate(putObjectRequest.objectLockRetainUntilDate())
+                                        .objectLockLegalHoldStatus(putObjectRequest.objectLockLegalHoldStatusAsString())
+                                        .expectedBucketOwner(putObjectRequest.expectedBucketOwner());
+
+        if (putObjectRequest.hasMetadata()) {
+            builder.metadata(putObjectRequest.metadata());
+        }
+
+        putObjectRequest.overrideConfiguration().ifPresent(builder::overrideConfiguration);
+        return builder.build();
+    }
+
+    public static UploadPartRequest toUploadPartRequest(PutObjectRequest putObjectRequest,
+                                                        String uploadId,
+                                                        int partNumber,
+                                                        long contentLength) {
+        UploadPartRequest.Builder builder =
+            UploadPartRequest.builder()
+                             .bucket(putObjectRequest.bucket())
+                             .key(putObjectRequest.key())
+                             .uploadId(uploadId)
+                             .partNumber(partNumber)
+                             .contentLength(contentLength)
+                             .sseCustomerAlgorithm(putObjectRequest.sseCustomerAlgorithm())
+                             .sseCustomerKey(putObjectRequest.sseCustomerKey())
+                             .sseCustomerKeyMD5(putObjectRequest.sseCustomerKeyMD5())
+                             .requestPayer(putObjectRequest.requestPayerAsString())
+                             .expectedBucketOwner(putObjectRequest.expectedBucketOwner());
+
+        putObjectRequest.overrideConfiguration().ifPresent(builder::overrideConfiguration);
+        return builder.build();
+    }
+
+    public static CompleteMultipartUploadRequest toCompleteMultipartUploadRequest(PutObjectRequest putObjectRequest,
+                                                                                  String uploadId,
+                                                                                  List<CompletedPart> completedParts) {
+        CompleteMultipartUploadRequest.Builder builder =
+            CompleteMultipartUploadRequest.builder()
+                                          .bucket(putObjectRequest.bucket())
+                                          .key(putObjectRequest.key())
+                                          .uploadId(uploadId)
+                                          .multipartUpload(CompletedMultipartUpload.builder()
+                                                                                   .parts(completedParts)
+                                                                                   .build())
+                                          .requestPayer(putObjectRequest.requestPayerAsString())
+                                          .expectedBucketOwner(putObjectRequest.expectedBucketOwner());
+
+        putObjectRequest.overrideConfiguration().ifPresent(builder::overrideConfiguration);
+        return builder.build();
+    }
+
+    public static AbortMultipartUploadRequest toAbortMultipartUploadRequest(PutObjectRequest putObjectRequest,
+                                                                            String uploadId) {
+        AbortMultipartUploadRequest.Builder builder =
+            AbortMultipartUploadRequest.builder()
+                                       .bucket(putObjectRequest.bucket())
+                                       .key(putObjectRequest.key())
+                                       .uploadId(uploadId)
+                                       .requestPayer(putObjectRequest.requestPayerAsString())
+                                       .expectedBucketOwner(putObjectRequest.expectedBucketOwner());
+
+        putObjectRequest.overrideConfiguration().ifPresent(builder::overrideConfiguration);
+        return builder.build();
+    }
+
+    public static PutObjectResponse toPutObjectResponse(CompleteMultipartUploadResponse response) {
+        PutObjectResponse.Builder builder = PutObjectResponse.builder()
+                                                             .expiration(response.expiration())
+                                                             .eTag(response.eTag())
+                                                             .serverSideEncryption(response.serverSideEncryptionAsString())
+                                                             .versionId(response.versionId())
+                                                             .ssekmsKeyId(response.ssekmsKeyId())
+                                                             .bucketKeyEnabled(response.bucketKeyEnabled())
+                                                             .requestCharged(response.requestChargedAsString());
+
+        return (PutObjectResponse) builder.responseMetadata(response.responseMetadata())
+                                          .sdkHttpResponse(response.sdkHttpResponse())
+                                          .build();
+    }
+}
@@ -0,0 +1,437 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+
+package software.amazon.awssdk.transfer.s3.internal;
+
+import java.io.IOException;
+import java.nio.channels.AsynchronousFileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.PrimitiveIterator;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.IntStream;
+import software.amazon.awssdk.annotations.SdkInternalApi;
+import software.amazon.awssdk.core.async.AsyncResponseTransformer;
+import software.amazon.awssdk.services.s3.S3AsyncClient;
+import software.amazon.awssdk.services.s3.model.GetObjectRequest;
+import software.amazon.awssdk.services.s3.model.GetObjectResponse;
+import software.amazon.awssdk.services.s3.model.S3Exception;
+import software.amazon.awssdk.transfer.s3.DownloadFileRequest;
+import software.amazon.awssdk.transfer.s3.ResumableFileDownload;
+import software.amazon.awssdk.transfer.s3.S3TransferManager;
+import software.amazon.awssdk.transfer.s3.internal.progress.TransferProgressUpdater;
+import software.amazon.awssdk.utils.CompletableFutureUtils;
+import software.amazon.awssdk.utils.Logger;
+
+/**
+ * Downloads an object to a file with a plain {@link S3AsyncClient}, without the AWS Common Runtime. The object is split into
+ * ranged GET requests of the configured part size, which run concurrently, and each part is written at its own position in
+ * the destination file. The completed parts are recorded, so that a paused download can be resumed with the remaining
+ * parts.
+ */
+@SdkInternalApi
+public final class ParallelFileDownloadHelper {
+    /**
+     * The most parts an object is downloaded in. Larger objects are downloaded in larger parts, which bounds the state kept for
+     * a download and for resuming it.
+     */
+    public static final int MAX_PARTS = 10_000;
+
+    private static final Logger log = Logger.loggerFor(S3TransferManager.class);
+    private static final int INVALID_RANGE_STATUS_CODE = 416;
+
+    private final S3AsyncClient s3AsyncClient;
+    private final PartConcurrencyLimiter partConcurrencyLimiter;
+    private final long partSizeInBytes;
+
+    public ParallelFileDownloadHelper(S3AsyncClient s3AsyncClient,
+                                      PartConcurrencyLimiter partConcurrencyLimiter,
+                                      long partSizeInBytes) {
+        this.s3AsyncClient = s3AsyncClient;
+        this.partConcurrencyLimiter = partConcurrencyLimiter;
+        this.partSizeInBytes = partSizeInBytes;
+    }
+
+    public CompletableFuture<GetObjectResponse> downloadFile(DownloadFileRequest downloadFileRequest,
+                                                             TransferProgressUpdater progressUpdater,
+                                                             PauseObservable<ResumableFileDownload> pauseObservable) {
+        GetObjectRequest getObjectRequest = downloadFileRequest.getObjectRequest();
+
+        if (getObjectRequest.range() != null || getObjectRequest.partNumber() != null) {
+            // A specific range or part of the object was requested, which is downloaded as it is.
+            AsyncResponseTransformer<GetObjectResponse, GetObjectResponse> responseTransformer =
+                progressUpdater.wrapResponseTransformer(AsyncResponseTransformer.toFile(downloadFileRequest.destination()));
+            return partConcurrencyLimiter.submit(() -> s3AsyncClient.getObject(getObjectRequest, responseTransformer));
+        }
+
+        AsynchronousFileChannel fileChannel;
+        try {
+            fileChannel = AsynchronousFileChannel.open(downloadFileRequest.destination(),
+                                                       StandardOpenOption.WRITE,
+                                                       StandardOpenOption.CREATE_NEW);
+        } catch (IOException | RuntimeException e) {
+            return CompletableFutureUtils.failedFuture(e);
+        }
+
+        ParallelFileDownload download =
+            new ParallelFileDownload(downloadFileRequest, fileChannel, progressUpdater, partSizeInBytes);
+        pauseObservable.pauser(download::pause);
+        return download.start();
+    }
+
+    /**
+     * Continues a paused download with the parts that are not in the destination file yet. If the destination file was
+     * changed or removed after the download was paused, or it was paused before its size was known, the whole object is
+     * downloaded again.
+     */
+    public CompletableFuture<GetObjectResponse> resumeDownloadFile(ResumableFileDownload resumableFileDownload,
+                                                                   TransferProgressUpdater progressUpdater,
+                                                                   PauseObservable<ResumableFileDownload> pauseObservable) {
+        DownloadFileRequest downloadFileRequest = resumableFileDownload.downloadFileRequest();
+
+        AsynchronousFileChannel fileChannel;
+        try {
+            if (!isResumable(resumableFileDownload)) {
+                Files.deleteIfExists(downloadFileRequest.destination());
+                return downloadFile(downloadFileRequest, progressUpdater, pauseObservable);
+            }
+            fileChannel = AsynchronousFileChannel.open(downloadFileRequest.destination(), StandardOpenOption.WRITE);
+        } catch (IOException | RuntimeException e) {
+            return CompletableFutureUtils.failedFuture(e);
+        }
+
+        ParallelFileDownload download = new ParallelFileDownload(downloadFileRequest, fileChannel, progressUpdater,
+                                                                 resumableFileDownload.partSizeInBytes().get());
+        pauseObservable.pauser(download::pause);
+        return download.resume(resumableFileDownload);
+    }
+
+    private static boolean isResumable(ResumableFileDownload resumableFileDownload) throws IOException {
+        GetObjectRequest getObjectRequest = resumableFileDownload.downloadFileRequest().getObjectRequest();
+        if (getObjectRequest.range() != null
+            || getObjectRequest.partNumber() != null
+            || resumableFileDownload.totalSizeInBytes().orElse(0L) <= 0
+            || !resumableFileDownload.partSizeInBytes().isPresent()
+            || !resumableFileDownload.fileLastModified().isPresent()
+            || (resumableFileDownload.totalSizeInBytes().get() - 1) / resumableFileDownload.partSizeInBytes().get() + 1
+               > MAX_PARTS) {
+            return false;
+        }
+
+        Path destination = resumableFileDownload.downloadFileRequest().destination();
+        return Files.exists(destination)
+               && Files.getLastModifiedTime(destination).toInstant().equals(resumableFileDownload.fileLastModified().get());
+    }
+
+    private final class ParallelFileDownload {
+        private final DownloadFileRequest downloadFileRequest;
+        private final GetObjectRequest getObjectRequest;
+        private final AsynchronousFileChannel fileChannel;
+        private final TransferProgressUpdater progressUpdater;
+        private final Set<Integer> completedParts = ConcurrentHashMap.newKeySet();
+        private final Set<CompletableFuture<GetObjectResponse>> partFutures = ConcurrentHashMap.newKeySet();
+        private final AtomicReference<GetObjectResponse> partResponse = new AtomicReference<>();
+        private final AtomicInteger partsLeft = new AtomicInteger();
+        private final AtomicInteger partsToStart = new AtomicInteger();
+        private final CompletableFuture<GetObjectResponse> result = new CompletableFuture<>();
+
+        /**
+         * The part numbers that are not downloaded or being downloaded yet, guarded by {@code this}.
+         */
+        private PrimitiveIterator.OfInt remainingParts;
+
+        private volatile long partSize;
+        /**
+         * The position the first part is downloaded from, which is after its start when the first part was made larger after
+         * the beginning of the object was already downloaded.
+         */
+        private volatile long firstPartOffset;
+        private volatile String eTag;
+        private volatile Instant lastModified;
+        private volatile Long objectSize;
+        private volatile boolean paused;
+
+        private ParallelFileDownload(DownloadFileRequest downloadFileRequest,
+                                     AsynchronousFileChannel fileChannel,
+                                     TransferProgressUpdater progressUpdater,
+                                     long partSize) {
+            this.downloadFileRequest = downloadFileRequest;
+            this.getObjectRequest = downloadFileRequest.getObjectRequest();
+            this.fileChannel = fileChannel;
+            this.progressUpdater = progressUpdater;
+            this.partSize = partSize;
+            result.whenComplete((r, t) -> {
+                if (t != null) {
+                    cleanUpAfterFailure();
+                }
+            });
+        }
+
+        private CompletableFuture<GetObjectResponse> start() {
+            // The first part tells us the size of the object, which determines the remaining parts.
+            GetObjectRequest firstPartRequest = getObjectRequest.toBuilder().range(range(0, partSize)).build();
+            downloadPart(firstPartRequest, 1, 0).whenComplete((firstPartResponse, error) -> {
+                if (error == null) {
+                    onFirstPartDownloaded(firstPartResponse);
+                } else if (isInvalidRange(error)) {
+                    // The object is empty, so it has no range to download.
+                    downloadPart(getObjectRequest, 1, 0).whenComplete((response, t) -> {
+                        if (t == null) {
+                            progressUpdater.transferSizeInBytes(objectSize(response));
+                            complete(response);
+                        } else {
+                            result.completeExceptionally(t);
+                        }
+                    });
+                } else {
+                    result.completeExceptionally(error);
+                }
+            });
+
+            return result;
+        }
+
+        private CompletableFuture<GetObjectResponse> resume(ResumableFileDownload resumableFileDownload) {
+            long size = resumableFileDownload.totalSizeInBytes().get();
+            int partCount = partCount(size);
+            resumableFileDownload.completedParts()
+                                 .stream()
+                                 .filter(partNumber -> partNumber >= 1 && partNumber <= partCount)
+                                 .forEach(completedParts::add);
+            // The response of the transfer is taken from a part, so at least one part is always downloaded again.
+            if (completedParts.size() == partCount) {
+                completedParts.remove(partCount);
+            }
+
+            eTag = resumableFileDownload.s3ObjectETag().orElse(null);
+            lastModified = resumableFileDownload.s3ObjectLastModified().orElse(null);
+            objectSize = size;
+
+            progressUpdater.transferSizeInBytes(size);
+            progressUpdater.resumedBytesTransferred(completedParts.stream()
+                                                                  .mapToLong(partNumber -> partLength(partNumber, size))
+                                                                  .sum());
+
+            downloadRemainingParts(size);
+            return result;
+        }
+
+        private void onFirstPartDownloaded(GetObjectResponse firstPartResponse) {
+            long size = objectSize(firstPartResponse);
+            progressUpdater.transferSizeInBytes(size);
+
+            if (size <= partSize || firstPartResponse.contentRange() == null) {
+                complete(completedResponse(firstPartResponse, size));
+                return;
+            }
+
+            eTag = firstPartResponse.eTag();
+            lastModified = firstPartResponse.lastModified();
+            long firstPartSize = partSize;
+            if ((size - 1) / firstPartSize + 1 > MAX_PARTS) {
+                // Only the rest of the larger first part is downloaded.
+                partSize = (size - 1) / MAX_PARTS + 1;
+                firstPartOffset = firstPartSize;
+                completedParts.remove(1);
+            }
+            partResponse.set(firstPartResponse);
+            // The size is set last, a download with a known size is paused with the parts it has downloaded.
+            objectSize = size;
+
+            downloadRemainingParts(size);
+        }
+
+        /**
+         * Downloads the parts that are not completed yet, and completes the download with the response of the first part, or
+         * of any remaining part when the download was resumed. The requests for the parts are created as earlier parts
+         * complete, so that a download never has more parts queued or in flight than the limiter allows requests in flight.
+         */
+        private void downloadRemainingParts(long size) {
+            // Make sure all parts are read from the same version of the object.
+            GetObjectRequest.Builder partRequest = getObjectRequest.toBuilder();
+            if (getObjectRequest.ifMatch() == null && eTag != null) {
+                partRequest.ifMatch(eTag);
+            } else if (getObjectRequest.ifMatch() == null && getObjectRequest.ifUnmodifiedSince() == null
+                       && lastModified != null) {
+                partRequest.ifUnmodifiedSince(lastModified);
+            }
+
+            GetObjectRequest partGetObjectRequest = partRequest.build();
+
+            int partCount = partCount(size);
+            partsLeft.set((int) IntStream.rangeClosed(1, partCount).filter(p -> !completedParts.contains(p)).count());
+            synchronized (this) {
+                remainingParts = IntStream.rangeClosed(1, partCount).filter(p -> !completedParts.contains(p)).iterator();
+            }
+
+            startParts(partConcurrencyLimiter.maxConcurrency(), partGetObjectRequest, size);
+        }
+
+        /**
+         * Starts the given number of remaining parts. A part that completes while it is started starts the next part from the
+         * loop here rather than recursively, so that parts that complete immediately do not overflow the stack.
+         */
+        private void startParts(int count, GetObjectRequest partRequest, long size) {
+            if (partsToStart.getAndAdd(count) != 0) {
+                return;
+            }
+            do {
+                startNextPart(partRequest, size);
+            } while (partsToStart.decrementAndGet() != 0);
+        }
+
+        private void startNextPart(GetObjectRequest partRequest, long size) {
+            int partNumber;
+            synchronized (this) {
+                if (result.isDone() || !remainingParts.hasNext()) {
+                    return;
+                }
+                partNumber = remainingParts.nextInt();
+            }
+
+            long position = partNumber == 1 ? firstPartOffset : (partNumber - 1) * partSize;
+            long end = Math.min(partNumber * partSize, size);
+            GetObjectRequest partGetObjectRequest = partRequest.toBuilder().range(range(position, end)).build();
+            downloadPart(partGetObjectRequest, partNumber, position).whenComplete((r, t) -> {
+                if (t != null) {
+                    result.completeExceptionally(t);
+                    return;
+                }
+                partResponse.compareAndSet(null, r);
+                if (partsLeft.decrementAndGet() == 0) {
+                    complete(completedResponse(partResponse.get(), size));
+                } else {
+                    startParts(1, partRequest, size);
+                }
+            });
+        }
+
+        private int partCount(long size) {
+            return Math.toIntExact((size + partSize - 1) / partSize);
+        }
+
+        private long partLength(int partNumber, long size) {
+            return Math.min(partSize, size - (partNumber - 1) * partSize);
+        }
+
+        private String range(long position, long end) {
+            return "bytes=" + position + "-" + (end - 1);
+        }
+
+        private CompletableFuture<GetObjectResponse> downloadPart(GetObjectRequest partRequest, int partNumber, long position) {
+            AsyncResponseTransformer<GetObjectResponse, GetObjectResponse> responseTransformer =
+                progressUpdater.wrapPartResponseTransformer(new FilePartAsyncResponseTransformer(fileChannel, position));
+            CompletableFuture<GetObjectResponse> partFuture =
+                partConcurrencyLimiter.submit(() -> s3AsyncClient.getObject(partRequest, responseTransformer));
+
+            partFutures.add(partFuture);
+            if (result.isDone()) {
+                partFuture.cancel(true);
+            }
+            return partFuture.whenComplete((r, t) -> {
+                partFutures.remove(partFuture);
+                if (t == null) {
+                    completedParts.add(partNumber);
+                }
+            });
+        }
+
+        private void complete(GetObjectResponse response) {
+            try {
+                fileChannel.close();
+            } catch (IOException e) {
+                result.completeExceptionally(e);
+                return;
+            }
+            result.complete(response);
+        }
+
+        /**
+         * Cancels the download and keeps the destination file, and returns the state needed to resume it. Parts that are
+         * being downloaded are cancelled and downloaded again when the download is resumed.
+         */
+        private ResumableFileDownload pause() {
+            paused = true;
+            result.cancel(true);
+
+            ResumableFileDownload.Builder resumableFileDownload = ResumableFileDownload.builder()
+                                                                                       .downloadFileRequest(downloadFileRequest);
+            Long size = objectSize;
+            if (size == null) {
+                return resumableFileDownload.build();
+            }
+
+            Path destination = downloadFileRequest.destination();
+            try {
+                resumableFileDownload.fileLastModified(Files.getLastModifiedTime(destination).toInstant());
+            } catch (IOException e) {
+                log.debug(() -> "Failed to read the last modified time of " + destination + ", the download will be "
+                                + "restarted when it is resumed.", e);
+            }
+            return resumableFileDownload.totalSizeInBytes(size)
+                                        .partSizeInBytes(partSize)
+                                        .completedParts(completedParts)
+                                        .s3ObjectETag(eTag)
+                                        .s3ObjectLastModified(lastModified)
+                                        .build();
+        }
+
+        private void cleanUpAfterFailure() {
+            partFutures.forEach(f -> f.cancel(true));
+            Path destination = downloadFileRequest.destination();
+            try {
+                fileChannel.close();
+                if (!paused) {
+                    Files.deleteIfExists(destination);
+                }
+            } catch (IOException e) {
+                log.debug(() -> "Failed to clean up " + destination + " after a failed download.", e);
+            }
+        }
+    }
+
+    private static long objectSize(GetObjectResponse firstPartResponse) {
+        // Content-Range: bytes 0-8388607/31457280
+        String contentRange = firstPartResponse.contentRange();
+        if (contentRange != null) {
+            String totalSize = contentRange.substring(contentRange.lastIndexOf('/') + 1).trim();
+            if (!totalSize.isEmpty() && !"*".equals(totalSize)) {
+                return Long.parseLong(totalSize);
+            }
+        }
+        Long contentLength = firstPartResponse.contentLength();
+        return contentLength == null ? 0 : contentLength;
+    }
+
+    private static GetObjectResponse completedResponse(GetObjectResponse firstPartResponse, long objectSize) {
+        return firstPartResponse.toBuilder()
+                                .contentLength(objectSize)
+                                .contentRange(null)
+                                .build();
+    }
+
+    private static boolean isInvalidRange(Throwable error) {
+        Throwable cause = error instanceof CompletionException ? error.getCause() : error;
+        return cause instanceof S3Exception && ((S3Exception) cause).statusCode() == INVALID_RANGE_STATUS_CODE;
+    }
+}
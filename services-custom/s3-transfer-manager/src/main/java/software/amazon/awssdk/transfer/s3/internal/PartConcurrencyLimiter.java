@@ -0,0 +1,144 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+
+package software.amazon.awssdk.transfer.s3.internal;
+
+import java.util.ArrayDeque;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
+import software.amazon.awssdk.annotations.SdkInternalApi;
+import software.amazon.awssdk.annotations.ThreadSafe;
+import software.amazon.awssdk.utils.CompletableFutureUtils;
+import software.amazon.awssdk.utils.Validate;
+
+/**
+ * Limits the number of part requests that the pure-Java transfer engine has in flight at the same time, across all of the
+ * transfers of a {@link DefaultS3TransferManager}. Requests over the limit are queued and started in submission order as
+ * earlier requests complete.
+ */
+@ThreadSafe
+@SdkInternalApi
+public final class PartConcurrencyLimiter {
+    private final int maxConcurrency;
+    private final Queue<PendingRequest<?>> pending = new ArrayDeque<>();
+    private int inFlight;
+
+    public PartConcurrencyLimiter(int maxConcurrency) {
+        this.maxConcurrency = Validate.isPositive(maxConcurrency, "maxConcurrency");
+    }
+
+    /**
+     * @return The maximum number of requests in flight at the same time.
+     */
+    public int maxConcurrency() {
+        return maxConcurrency;
+    }
+
+    /**
+     * Starts the request when fewer than the maximum number of requests are in flight, or queues it until then.
+     *
+     * @param request Starts the request and returns its future.
+     * @return A future completed with the result of the request. Cancelling it before the request was started removes the
+     * request from the queue; cancelling it afterwards is forwarded to the request's future.
+     */
+    public <T> CompletableFuture<T> submit(Supplier<CompletableFuture<T>> request) {
+        PendingRequest<T> pendingRequest = new PendingRequest<>(request);
+
+        boolean startNow;
+        synchronized (this) {
+            startNow = inFlight < maxConcurrency;
+            if (startNow) {
+                inFlight++;
+            } else {
+                pending.add(pendingRequest);
+            }
+        }
+
+        if (startNow && !pendingRequest.start()) {
+            release();
+        }
+        return pendingRequest.result;
+    }
+
+    /**
+     * Hands the permit of a completed request to the next queued request that was not cancelled in the meantime. Queued
+     * requests that are cancelled or complete while they are started are skipped in a loop rather than releasing their permit
+     * recursively, so that a long queue of requests that fail immediately does not overflow the stack.
+     */
+    private void release() {
+        while (true) {
+            PendingRequest<?> next;
+            synchronized (this) {
+                next = pending.poll();
+                if (next == null) {
+                    inFlight--;
+                    return;
+                }
+            }
+
+            if (next.start()) {
+                return;
+            }
+        }
+    }
+
+    private final class PendingRequest<T> {
+        private final Supplier<CompletableFuture<T>> request;
+        private final CompletableFuture<T> result = new CompletableFuture<>();
+
+        /**
+         * Set by whichever happens first of {@link #start()} returning and the request completing. If the request completes
+         * first, start() reports that the permit is free again; otherwise the request releases it when it completes.
+         */
+        private final AtomicBoolean startedOrCompleted = new AtomicBoolean();
+
+        private PendingRequest(Supplier<CompletableFuture<T>> request) {
+            this.request = request;
+        }
+
+        /**
+         * @return False if the permit of the request is free again, because the request was cancelled while it was queued or
+         * it completed before this method returned.
+         */
+        private boolean start() {
+            if (result.isDone()) {
+                return false;
+            }
+
+            CompletableFuture<T> requestFuture;
+            try {
+                requestFuture = request.get();
+            } catch (Throwable t) {
+                requestFuture = CompletableFutureUtils.failedFuture(t);
+            }
+
+            CompletableFutureUtils.forwardExceptionTo(result, requestFuture);
+            requestFuture.whenComplete((r, t) -> {
+                if (!startedOrCompleted.compareAndSet(false, true)) {
+                    release();
+                }
+                if (t != null) {
+                    result.completeExceptionally(t);
+                } else {
+                    result.complete(r);
+                }
+            });
+            return startedOrCompleted.compareAndSet(false, true);
+        }
+    }
+}
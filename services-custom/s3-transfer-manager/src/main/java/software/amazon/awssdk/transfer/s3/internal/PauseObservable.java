@@ -0,0 +1,46 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+
+package software.amazon.awssdk.transfer.s3.internal;
+
+import java.util.function.Supplier;
+import software.amazon.awssdk.annotations.SdkInternalApi;
+import software.amazon.awssdk.transfer.s3.FileDownload;
+import software.amazon.awssdk.transfer.s3.FileUpload;
+
+/**
+ * Connects {@link FileDownload#pause()} and {@link FileUpload#pause()} to the running transfer. A transfer starts with a
+ * pauser that cancels it and records no progress; once its parts are being transferred, the part-based transfer replaces
+ * it with one that records which parts are done.
+ *
+ * @param <T> The type of the resumable transfer that is returned when the transfer is paused.
+ */
+@SdkInternalApi
+public final class PauseObservable<T> {
+    private volatile Supplier<T> pauser;
+
+    public PauseObservable(Supplier<T> pauser) {
+        this.pauser = pauser;
+    }
+
+    public void pauser(Supplier<T> pauser) {
+        this.pauser = pauser;
+    }
+
+    public T pause() {
+        return pauser.get();
+    }
+}
@@ -0,0 +1,195 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+
+package software.amazon.awssdk.transfer.s3.internal;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+import java.util.Set;
+import java.util.StringJoiner;
+import software.amazon.awssdk.annotations.SdkInternalApi;
+import software.amazon.awssdk.core.exception.SdkClientException;
+
+/**
+ * The persisted form of a paused transfer, in the {@link Properties} text format. Every form names the kind of transfer it
+ * was written for and the version of its layout, so that a form is never resumed as a different kind of transfer.
+ */
+@SdkInternalApi
+public final class ResumableTransferProperties {
+    private static final String TYPE = "type";
+    private static final String VERSION = "version";
+    private static final String CURRENT_VERSION = "1";
+
+    private final Properties properties;
+
+    private ResumableTransferProperties(Properties properties) {
+        this.properties = properties;
+    }
+
+    public static ResumableTransferProperties create(String type) {
+        Properties properties = new Properties();
+        properties.setProperty(TYPE, type);
+        properties.setProperty(VERSION, CURRENT_VERSION);
+        return new ResumableTransferProperties(properties);
+    }
+
+    public static ResumableTransferProperties fromString(String type, String serialized) {
+        Properties properties = new Properties();
+        try {
+            properties.load(new StringReader(serialized));
+        } catch (IOException | IllegalArgumentException e) {
+            throw SdkClientException.create("Could not read the resumable " + type + ".", e);
+        }
+
+        if (!type.equals(properties.getProperty(TYPE))) {
+            throw SdkClientException.create("The input is not a resumable " + type + ".");
+        }
+        if (!CURRENT_VERSION.equals(properties.getProperty(VERSION))) {
+            throw SdkClientException.create("Unsupported version of a resumable " + type + ": "
+                                            + properties.getProperty(VERSION));
+        }
+        return new ResumableTransferProperties(properties);
+    }
+
+    public static ResumableTransferProperties fromFile(String type, Path file) {
+        try {
+            return fromString(type, new String(Files.readAllBytes(file), UTF_8));
+        } catch (IOException e) {
+            throw SdkClientException.create("Could not read the resumable " + type + " from " + file + ".", e);
+        }
+    }
+
+    /**
+     * Adds a property, unless its value is null.
+     */
+    public ResumableTransferProperties put(String name, Object value) {
+        if (value != null) {
+            properties.setProperty(name, value.toString());
+        }
+        return this;
+    }
+
+    public Set<String> names() {
+        return properties.stringPropertyNames();
+    }
+
+    public String get(String name) {
+        return properties.getProperty(name);
+    }
+
+    public String getRequired(String name) {
+        String value = properties.getProperty(name);
+        if (value == null) {
+            throw SdkClientException.create("The resumable " + get(TYPE) + " is missing its " + name + ".");
+        }
+        return value;
+    }
+
+    public Long getLong(String name) {
+        String value = properties.getProperty(name);
+        try {
+            return value == null ? null : Long.valueOf(value);
+        } catch (NumberFormatException e) {
+            throw SdkClientException.create("The " + name + " of the resumable " + get(TYPE) + " is not a number: " + value, e);
+        }
+    }
+
+    public Instant getInstant(String name) {
+        String value = properties.getProperty(name);
+        try {
+            return value == null ? null : Instant.parse(value);
+        } catch (DateTimeParseException e) {
+            throw SdkClientException.create("The " + name + " of the resumable " + get(TYPE) + " is not a time: " + value, e);
+        }
+    }
+
+    /**
+     * Adds a sorted list of numbers as ranges of consecutive numbers, like {@code 1-4,7,9-10}.
+     */
+    public ResumableTransferProperties putRanges(String name, List<Integer> sortedNumbers) {
+        StringJoiner ranges = new StringJoiner(",");
+        int i = 0;
+        while (i < sortedNumbers.size()) {
+            int first = sortedNumbers.get(i);
+            int last = first;
+            while (++i < sortedNumbers.size() && sortedNumbers.get(i) == last + 1) {
+                last++;
+            }
+            ranges.add(first == last ? String.valueOf(first) : first + "-" + last);
+        }
+        properties.setProperty(name, ranges.toString());
+        return this;
+    }
+
+    /**
+     * Reads numbers that were added with {@link #putRanges(String, List)}. The ranges need to be in ascending order, not
+     * overlap, and only contain numbers from 1 to {@code maxNumber}, so that at most {@code maxNumber} numbers are read.
+     */
+    public List<Integer> getRanges(String name, int maxNumber) {
+        String value = properties.getProperty(name);
+        List<Integer> numbers = new ArrayList<>();
+        if (value == null || value.isEmpty()) {
+            return numbers;
+        }
+        try {
+            int previous = 0;
+            for (String range : value.split(",")) {
+                int separator = range.indexOf('-');
+                int first = Integer.parseInt(separator < 0 ? range : range.substring(0, separator));
+                int last = separator < 0 ? first : Integer.parseInt(range.substring(separator + 1));
+                if (first <= previous || last < first || last > maxNumber) {
+                    throw SdkClientException.create("The " + name + " of the resumable " + get(TYPE) + " are not ascending "
+                                                    + "ranges from 1 to " + maxNumber + ": " + value);
+                }
+                for (int number = first; number <= last; number++) {
+                    numbers.add(number);
+                }
+                previous = last;
+            }
+        } catch (NumberFormatException e) {
+            throw SdkClientException.create("The " + name + " of the resumable " + get(TYPE) + " are not ranges: " + value, e);
+        }
+        return numbers;
+    }
+
+    public String serializeToString() {
+        StringWriter writer = new StringWriter();
+        try {
+            properties.store(writer, null);
+        } catch (IOException e) {
+            throw SdkClientException.create("Could not write the resumable " + get(TYPE) + ".", e);
+        }
+        return writer.toString();
+    }
+
+    public void serializeToFile(Path file) {
+        try {
+            Files.write(file, serializeToString().getBytes(UTF_8));
+        } catch (IOException e) {
+            throw SdkClientException.create("Could not write the resumable " + get(TYPE) + " to " + file + ".", e);
+        }
+    }
+}
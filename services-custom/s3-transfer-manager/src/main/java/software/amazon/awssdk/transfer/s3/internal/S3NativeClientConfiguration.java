@@ -112,7 +112,7 @@ public class S3NativeClientConfiguration implements SdkAutoCloseable {
      * service has at least 8 core threads and can scale up to at least 64 threads when needed depending
      * on the number of processors available.
      *
-     * This uses the same default executor from SdkDefaultClientBuilder#resolveAsyncFutureCompletionExecutor.
+     * This uses the same default executor from DefaultSdkExecutors#newFutureCompletionExecutor.
      * Make sure you update that method if you update the defaults here.
      */
     private Executor resolveAsyncFutureCompletionExecutor(ClientAsyncConfiguration config) {
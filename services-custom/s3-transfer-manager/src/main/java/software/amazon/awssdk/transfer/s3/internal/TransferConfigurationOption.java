@@ -17,6 +17,9 @@ package software.amazon.awssdk.transfer.s3.internal;
 
 import java.util.concurrent.Executor;
 import software.amazon.awssdk.annotations.SdkInternalApi;
+import software.amazon.awssdk.services.s3.S3AsyncClient;
+import software.amazon.awssdk.transfer.s3.S3ClientConfiguration;
+import software.amazon.awssdk.transfer.s3.SizeConstant;
 import software.amazon.awssdk.utils.AttributeMap;
 
 /**
@@ -35,22 +38,47 @@ public final class TransferConfigurationOption<T> extends AttributeMap.Key<T> {
     public static final TransferConfigurationOption<Boolean> UPLOAD_DIRECTORY_FOLLOW_SYMBOLIC_LINKS =
         new TransferConfigurationOption<>("UploadDirectoryFileVisitOption", Boolean.class);
 
+    public static final TransferConfigurationOption<Integer> UPLOAD_DIRECTORY_MAX_CONCURRENT_UPLOADS =
+        new TransferConfigurationOption<>("UploadDirectoryMaxConcurrentUploads", Integer.class);
+
+    public static final TransferConfigurationOption<Integer> DOWNLOAD_DIRECTORY_MAX_CONCURRENT_DOWNLOADS =
+        new TransferConfigurationOption<>("DownloadDirectoryMaxConcurrentDownloads", Integer.class);
+
     public static final TransferConfigurationOption<Executor> EXECUTOR =
         new TransferConfigurationOption<>("Executor", Executor.class);
 
     public static final String DEFAULT_DELIMITER = "/";
 
+    /**
+     * The part size used by transfers made with a plain {@link S3AsyncClient}, unless
+     * {@link S3ClientConfiguration#minimumPartSizeInBytes()} is configured.
+     */
+    public static final long DEFAULT_PART_SIZE_IN_BYTES = 8 * SizeConstant.MB;
+
+    /**
+     * The number of concurrent part requests of transfers made with a plain {@link S3AsyncClient}, unless
+     * {@link S3ClientConfiguration#maxConcurrency()} is configured. This matches the default maximum number of connections of
+     * the SDK's HTTP clients.
+     */
+    public static final int DEFAULT_MAX_CONCURRENCY = 50;
+
     private static final int DEFAULT_UPLOAD_DIRECTORY_MAX_DEPTH = Integer.MAX_VALUE;
     private static final Boolean DEFAULT_UPLOAD_DIRECTORY_RECURSIVE = Boolean.TRUE;
 
     private static final Boolean DEFAULT_UPLOAD_DIRECTORY_FOLLOW_SYMBOLIC_LINKS = Boolean.FALSE;
 
+    private static final int DEFAULT_UPLOAD_DIRECTORY_MAX_CONCURRENT_UPLOADS = 100;
+
+    private static final int DEFAULT_DOWNLOAD_DIRECTORY_MAX_CONCURRENT_DOWNLOADS = 100;
+
     // TODO: revisit default settings before GA
     public static final AttributeMap TRANSFER_MANAGER_DEFAULTS = AttributeMap
         .builder()
         .put(UPLOAD_DIRECTORY_MAX_DEPTH, DEFAULT_UPLOAD_DIRECTORY_MAX_DEPTH)
         .put(UPLOAD_DIRECTORY_RECURSIVE, DEFAULT_UPLOAD_DIRECTORY_RECURSIVE)
         .put(UPLOAD_DIRECTORY_FOLLOW_SYMBOLIC_LINKS, DEFAULT_UPLOAD_DIRECTORY_FOLLOW_SYMBOLIC_LINKS)
+        .put(UPLOAD_DIRECTORY_MAX_CONCURRENT_UPLOADS, DEFAULT_UPLOAD_DIRECTORY_MAX_CONCURRENT_UPLOADS)
+        .put(DOWNLOAD_DIRECTORY_MAX_CONCURRENT_DOWNLOADS, DEFAULT_DOWNLOAD_DIRECTORY_MAX_CONCURRENT_DOWNLOADS)
         .build();
 
     private final String name;
@@ -15,8 +15,10 @@
 
 package software.amazon.awssdk.transfer.s3.internal;
 
+import static software.amazon.awssdk.transfer.s3.internal.TransferConfigurationOption.DOWNLOAD_DIRECTORY_MAX_CONCURRENT_DOWNLOADS;
 import static software.amazon.awssdk.transfer.s3.internal.TransferConfigurationOption.TRANSFER_MANAGER_DEFAULTS;
 import static software.amazon.awssdk.transfer.s3.internal.TransferConfigurationOption.UPLOAD_DIRECTORY_FOLLOW_SYMBOLIC_LINKS;
+import static software.amazon.awssdk.transfer.s3.internal.TransferConfigurationOption.UPLOAD_DIRECTORY_MAX_CONCURRENT_UPLOADS;
 import static software.amazon.awssdk.transfer.s3.internal.TransferConfigurationOption.UPLOAD_DIRECTORY_MAX_DEPTH;
 import static software.amazon.awssdk.transfer.s3.internal.TransferConfigurationOption.UPLOAD_DIRECTORY_RECURSIVE;
 
@@ -25,6 +27,8 @@ import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
 import software.amazon.awssdk.annotations.SdkInternalApi;
+import software.amazon.awssdk.transfer.s3.DownloadDirectoryOverrideConfiguration;
+import software.amazon.awssdk.transfer.s3.DownloadDirectoryRequest;
 import software.amazon.awssdk.transfer.s3.S3TransferManager;
 import software.amazon.awssdk.transfer.s3.UploadDirectoryOverrideConfiguration;
 import software.amazon.awssdk.transfer.s3.UploadDirectoryRequest;
@@ -45,6 +49,8 @@ public class TransferManagerConfiguration implements SdkAutoCloseable {
     private TransferManagerConfiguration(Builder builder) {
         UploadDirectoryOverrideConfiguration uploadDirectoryConfiguration =
             Validate.paramNotNull(builder.uploadDirectoryOverrideConfiguration, "uploadDirectoryOverrideConfiguration");
+        DownloadDirectoryOverrideConfiguration downloadDirectoryConfiguration =
+            Validate.paramNotNull(builder.downloadDirectoryOverrideConfiguration, "downloadDirectoryOverrideConfiguration");
         AttributeMap.Builder standardOptions = AttributeMap.builder();
 
         standardOptions.put(TransferConfigurationOption.UPLOAD_DIRECTORY_FOLLOW_SYMBOLIC_LINKS,
@@ -53,6 +59,10 @@ public class TransferManagerConfiguration implements SdkAutoCloseable {
                             uploadDirectoryConfiguration.maxDepth().orElse(null));
         standardOptions.put(TransferConfigurationOption.UPLOAD_DIRECTORY_RECURSIVE,
                             uploadDirectoryConfiguration.recursive().orElse(null));
+        standardOptions.put(TransferConfigurationOption.UPLOAD_DIRECTORY_MAX_CONCURRENT_UPLOADS,
+                            uploadDirectoryConfiguration.maxConcurrentUploads().orElse(null));
+        standardOptions.put(TransferConfigurationOption.DOWNLOAD_DIRECTORY_MAX_CONCURRENT_DOWNLOADS,
+                            downloadDirectoryConfiguration.maxConcurrentDownloads().orElse(null));
         finalizeExecutor(builder, standardOptions);
 
         options = standardOptions.build().merge(TRANSFER_MANAGER_DEFAULTS);
@@ -92,6 +102,18 @@ public class TransferManagerConfiguration implements SdkAutoCloseable {
                       .orElseGet(() -> options.get(UPLOAD_DIRECTORY_MAX_DEPTH));
     }
 
+    public int resolveUploadDirectoryMaxConcurrentUploads(UploadDirectoryRequest request) {
+        return request.overrideConfiguration()
+                      .flatMap(UploadDirectoryOverrideConfiguration::maxConcurrentUploads)
+                      .orElseGet(() -> options.get(UPLOAD_DIRECTORY_MAX_CONCURRENT_UPLOADS));
+    }
+
+    public int resolveDownloadDirectoryMaxConcurrentDownloads(DownloadDirectoryRequest request) {
+        return request.overrideConfiguration()
+                      .flatMap(DownloadDirectoryOverrideConfiguration::maxConcurrentDownloads)
+                      .orElseGet(() -> options.get(DOWNLOAD_DIRECTORY_MAX_CONCURRENT_DOWNLOADS));
+    }
+
     @Override
     public void close() {
         options.close();
@@ -117,6 +139,8 @@ public class TransferManagerConfiguration implements SdkAutoCloseable {
     public static final class Builder {
         private UploadDirectoryOverrideConfiguration uploadDirectoryOverrideConfiguration =
             UploadDirectoryOverrideConfiguration.builder().build();
+        private DownloadDirectoryOverrideConfiguration downloadDirectoryOverrideConfiguration =
+            DownloadDirectoryOverrideConfiguration.builder().build();
         private Executor executor;
 
         public Builder uploadDirectoryConfiguration(UploadDirectoryOverrideConfiguration configuration) {
@@ -124,6 +148,11 @@ public class TransferManagerConfiguration implements SdkAutoCloseable {
             return this;
         }
 
+        public Builder downloadDirectoryConfiguration(DownloadDirectoryOverrideConfiguration configuration) {
+            this.downloadDirectoryOverrideConfiguration = configuration;
+            return this;
+        }
+
         public Builder executor(Executor executor) {
             this.executor = executor;
             return this;
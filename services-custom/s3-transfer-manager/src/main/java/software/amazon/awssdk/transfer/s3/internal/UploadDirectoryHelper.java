@@ -25,11 +25,13 @@ import java.nio.file.Files;
 import java.nio.file.LinkOption;
 import java.nio.file.Path;
 import java.util.Collection;
-import java.util.List;
+import java.util.Iterator;
+import java.util.Set;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Function;
-import java.util.stream.Collectors;
 import java.util.stream.Stream;
 import software.amazon.awssdk.annotations.SdkInternalApi;
 import software.amazon.awssdk.annotations.SdkTestInternalApi;
@@ -44,14 +46,13 @@ import software.amazon.awssdk.transfer.s3.S3TransferManager;
 import software.amazon.awssdk.transfer.s3.UploadDirectoryOverrideConfiguration;
 import software.amazon.awssdk.transfer.s3.UploadDirectoryRequest;
 import software.amazon.awssdk.transfer.s3.UploadFileRequest;
-import software.amazon.awssdk.utils.CompletableFutureUtils;
 import software.amazon.awssdk.utils.Logger;
 import software.amazon.awssdk.utils.StringUtils;
 import software.amazon.awssdk.utils.Validate;
 
 /**
  * An internal helper class that traverses the file tree and send the upload request
- * for each file.
+ * for each file. The traversal is lazy and bounded by the number of uploads in flight.
  */
 @SdkInternalApi
 public class UploadDirectoryHelper {
@@ -102,24 +103,7 @@ public class UploadDirectoryHelper {
 
         validateDirectory(uploadDirectoryRequest);
 
-        Collection<FailedFileUpload> failedFileUploads = new ConcurrentLinkedQueue<>();
-        List<CompletableFuture<CompletedFileUpload>> futures;
-
-        try (Stream<Path> entries = listFiles(directory, uploadDirectoryRequest)) {
-            futures = entries.map(path -> {
-                CompletableFuture<CompletedFileUpload> future = uploadSingleFile(uploadDirectoryRequest,
-                                                                                 failedFileUploads, path);
-
-                // Forward cancellation of the return future to all individual futures.
-                CompletableFutureUtils.forwardExceptionTo(returnFuture, future);
-                return future;
-            }).collect(Collectors.toList());
-        }
-
-        CompletableFuture.allOf(futures.toArray(new CompletableFuture[0]))
-                         .whenComplete((r, t) -> returnFuture.complete(CompletedDirectoryUpload.builder()
-                                                                                               .failedTransfers(failedFileUploads)
-                                                                                               .build()));
+        new UploadPipeline(uploadDirectoryRequest, listFiles(directory, uploadDirectoryRequest), returnFuture).start();
     }
 
     private void validateDirectory(UploadDirectoryRequest uploadDirectoryRequest) {
@@ -136,24 +120,6 @@ public class UploadDirectoryHelper {
         }
     }
 
-    private CompletableFuture<CompletedFileUpload> uploadSingleFile(UploadDirectoryRequest uploadDirectoryRequest,
-                                                                    Collection<FailedFileUpload> failedFileUploads,
-                                                                    Path path) {
-        int nameCount = uploadDirectoryRequest.sourceDirectory().getNameCount();
-        UploadFileRequest uploadFileRequest = constructUploadRequest(uploadDirectoryRequest, nameCount, path);
-        log.debug(() -> String.format("Sending upload request (%s) for path (%s)", uploadFileRequest, path));
-        CompletableFuture<CompletedFileUpload> future = uploadFunction.apply(uploadFileRequest).completionFuture();
-        future.whenComplete((r, t) -> {
-            if (t != null) {
-                failedFileUploads.add(FailedFileUpload.builder()
-                                                      .exception(t)
-                                                      .request(uploadFileRequest)
-                                                      .build());
-            }
-        });
-        return future;
-    }
-
     private Stream<Path> listFiles(Path directory, UploadDirectoryRequest request) {
 
         try {
@@ -243,4 +209,144 @@ public class UploadDirectoryHelper {
         return requestBuilder.build();
     }
 
+    /**
+     * Walks the file tree lazily and uploads its files, starting a new upload only when one of the uploads in flight completes.
+     * Only the uploads in flight and the failed uploads are retained, so memory does not grow with the number of files.
+     *
+     * <p>The file tree is only walked by one thread at a time: {@link #drain()} is trampolined through {@link #pending}, and runs
+     * on the transfer manager executor rather than on the threads completing the uploads.
+     */
+    private final class UploadPipeline {
+        private final UploadDirectoryRequest uploadDirectoryRequest;
+        private final Stream<Path> entries;
+        private final Iterator<Path> files;
+        private final CompletableFuture<CompletedDirectoryUpload> returnFuture;
+        private final int maxConcurrentUploads;
+        private final int directoryNameCount;
+        private final Collection<FailedFileUpload> failedFileUploads = new ConcurrentLinkedQueue<>();
+        private final Set<CompletableFuture<CompletedFileUpload>> inFlightUploads = ConcurrentHashMap.newKeySet();
+        private final AtomicInteger inFlight = new AtomicInteger();
+        private final AtomicInteger pending = new AtomicInteger();
+        private volatile boolean closed;
+
+        private UploadPipeline(UploadDirectoryRequest uploadDirectoryRequest,
+                               Stream<Path> entries,
+                               CompletableFuture<CompletedDirectoryUpload> returnFuture) {
+            this.uploadDirectoryRequest = uploadDirectoryRequest;
+            this.entries = entries;
+            this.files = entries.iterator();
+            this.returnFuture = returnFuture;
+            this.maxConcurrentUploads = transferConfiguration.resolveUploadDirectoryMaxConcurrentUploads(uploadDirectoryRequest);
+            this.directoryNameCount = uploadDirectoryRequest.sourceDirectory().getNameCount();
+        }
+
+        private void start() {
+            // Hold the drain while registering the callback, in case the return future has already been cancelled
+            pending.incrementAndGet();
+
+            // Forward cancellation of the return future to all uploads in flight, and stop walking the file tree.
+            returnFuture.whenComplete((r, t) -> {
+                if (t != null) {
+                    inFlightUploads.forEach(f -> f.cancel(true));
+                    scheduleDrain();
+                }
+            });
+
+            drain();
+        }
+
+        private void scheduleDrain() {
+            if (pending.getAndIncrement() == 0) {
+                try {
+                    transferConfiguration.option(TransferConfigurationOption.EXECUTOR).execute(this::drain);
+                } catch (Throwable t) {
+                    pending.set(0);
+                    returnFuture.completeExceptionally(t);
+                }
+            }
+        }
+
+        private void drain() {
+            int missed = 1;
+            do {
+                try {
+                    startUploads();
+                } catch (Throwable t) {
+                    returnFuture.completeExceptionally(t);
+                    close();
+                }
+                missed = pending.addAndGet(-missed);
+            } while (missed != 0);
+        }
+
+        private void startUploads() {
+            if (closed) {
+                return;
+            }
+            if (returnFuture.isDone()) {
+                close();
+                return;
+            }
+
+            while (inFlight.get() < maxConcurrentUploads && files.hasNext()) {
+                inFlight.incrementAndGet();
+                uploadSingleFile(files.next());
+            }
+
+            if (!files.hasNext()) {
+                close();
+                // Completions that happen after this check schedule another drain, which is then a no-op. The last
+                // completion completes the return future itself.
+                if (inFlight.get() == 0) {
+                    complete();
+                }
+            }
+        }
+
+        private void uploadSingleFile(Path path) {
+            UploadFileRequest uploadFileRequest = constructUploadRequest(uploadDirectoryRequest, directoryNameCount, path);
+            log.debug(() -> String.format("Sending upload request (%s) for path (%s)", uploadFileRequest, path));
+
+            CompletableFuture<CompletedFileUpload> future;
+            try {
+                future = uploadFunction.apply(uploadFileRequest).completionFuture();
+            } catch (Throwable t) {
+                uploadDone(uploadFileRequest, t);
+                return;
+            }
+
+            inFlightUploads.add(future);
+            future.whenComplete((r, t) -> {
+                inFlightUploads.remove(future);
+                uploadDone(uploadFileRequest, t);
+            });
+        }
+
+        private void uploadDone(UploadFileRequest uploadFileRequest, Throwable t) {
+            if (t != null) {
+                failedFileUploads.add(FailedFileUpload.builder()
+                                                      .exception(t)
+                                                      .request(uploadFileRequest)
+                                                      .build());
+            }
+            if (inFlight.decrementAndGet() == 0 && closed) {
+                complete();
+            } else {
+                scheduleDrain();
+            }
+        }
+
+        private void complete() {
+            returnFuture.complete(CompletedDirectoryUpload.builder()
+                                                          .failedTransfers(failedFileUploads)
+                                                          .build());
+        }
+
+        private void close() {
+            if (!closed) {
+                closed = true;
+                entries.close();
+            }
+        }
+    }
 }
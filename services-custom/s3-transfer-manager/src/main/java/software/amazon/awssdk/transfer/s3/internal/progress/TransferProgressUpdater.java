@@ -19,6 +19,7 @@ import java.nio.ByteBuffer;
 import java.util.Collections;
 import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicLong;
 import org.reactivestreams.Subscriber;
 import software.amazon.awssdk.annotations.SdkInternalApi;
 import software.amazon.awssdk.core.async.AsyncRequestBody;
@@ -111,6 +112,77 @@ public class TransferProgressUpdater {
             });
     }
 
+    /**
+     * Sets the size of a transfer that is split into parts, once it is known.
+     */
+    public void transferSizeInBytes(long transferSizeInBytes) {
+        progress.updateAndGet(b -> b.transferSizeInBytes(transferSizeInBytes));
+    }
+
+    /**
+     * Wraps the request body of one part of a multipart upload. Unlike {@link #wrapRequestBody(AsyncRequestBody)}, the
+     * progress of the other parts is kept when the part body is subscribed to; only the bytes of an earlier attempt of this
+     * part are discounted.
+     */
+    public AsyncRequestBody wrapPartRequestBody(AsyncRequestBody partRequestBody) {
+        AtomicLong partBytesTransferred = new AtomicLong();
+        return new NotifyingAsyncRequestBody(
+            partRequestBody,
+            new AsyncRequestBodyListener() {
+                @Override
+                public void beforeSubscribe(Subscriber<? super ByteBuffer> subscriber) {
+                    incrementBytesTransferred(-partBytesTransferred.getAndSet(0));
+                }
+
+                @Override
+                public void beforeOnNext(ByteBuffer byteBuffer) {
+                    partBytesTransferred.addAndGet(byteBuffer.remaining());
+                    incrementBytesTransferred(byteBuffer.remaining());
+                }
+            });
+    }
+
+    /**
+     * Wraps the response transformer of one part of a ranged download. Unlike
+     * {@link #wrapResponseTransformer(AsyncResponseTransformer)}, the part's content length is not taken as the transfer size,
+     * and only the bytes of an earlier attempt of this part are discounted when the part is retried.
+     */
+    public <ResultT> AsyncResponseTransformer<GetObjectResponse, ResultT> wrapPartResponseTransformer(
+        AsyncResponseTransformer<GetObjectResponse, ResultT> partResponseTransformer) {
+        AtomicLong partBytesTransferred = new AtomicLong();
+        return new NotifyingAsyncResponseTransformer<>(
+            partResponseTransformer,
+            new AsyncResponseTransformerListener<GetObjectResponse, ResultT>() {
+                @Override
+                public void beforeSubscribe(Subscriber<? super ByteBuffer> subscriber) {
+                    incrementBytesTransferred(-partBytesTransferred.getAndSet(0));
+                }
+
+                @Override
+                public void beforeOnNext(ByteBuffer byteBuffer) {
+                    partBytesTransferred.addAndGet(byteBuffer.remaining());
+                    incrementBytesTransferred(byteBuffer.remaining());
+                }
+            });
+    }
+
+    /**
+     * Counts the bytes that were transferred before a paused transfer was resumed.
+     */
+    public void resumedBytesTransferred(long bytes) {
+        incrementBytesTransferred(bytes);
+    }
+
+    private void incrementBytesTransferred(long bytes) {
+        if (bytes == 0) {
+            return;
+        }
+        TransferProgressSnapshot snapshot = progress.updateAndGet(b -> {
+            b.bytesTransferred(b.getBytesTransferred() + bytes);
+        });
+        listeners.bytesTransferred(context.copy(b -> b.progressSnapshot(snapshot)));
+    }
+
     public void registerCompletion(CompletableFuture<? extends CompletedObjectTransfer> future) {
         future.whenComplete((r, t) -> {
             if (t == null) {
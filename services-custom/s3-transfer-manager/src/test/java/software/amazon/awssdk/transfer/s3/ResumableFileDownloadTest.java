@@ -0,0 +1,124 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+
+package software.amazon.awssdk.transfer.s3;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.nio.file.Paths;
+import java.time.Instant;
+import java.util.Arrays;
+import nl.jqno.equalsverifier.EqualsVerifier;
+import org.junit.Test;
+import software.amazon.awssdk.core.exception.SdkClientException;
+
+public class ResumableFileDownloadTest {
+
+    @Test
+    public void noDownloadFileRequest_throws() {
+        assertThatThrownBy(() -> ResumableFileDownload.builder().build())
+            .isInstanceOf(NullPointerException.class).hasMessageContaining("downloadFileRequest");
+    }
+
+    @Test
+    public void completedParts_areSortedWithoutDuplicates() {
+        ResumableFileDownload download = resumableFileDownload().toBuilder()
+                                                                .completedParts(Arrays.asList(5, 1, 3, 1))
+                                                                .build();
+
+        assertThat(download.completedParts()).containsExactly(1, 3, 5);
+    }
+
+    @Test
+    public void serializeToString_fromString_roundTrips() {
+        ResumableFileDownload download = resumableFileDownload();
+
+        assertThat(ResumableFileDownload.fromString(download.serializeToString())).isEqualTo(download);
+    }
+
+    @Test
+    public void serializeToString_pausedBeforeSizeWasKnown_roundTrips() {
+        ResumableFileDownload download =
+            ResumableFileDownload.builder()
+                                 .downloadFileRequest(d -> d.getObjectRequest(g -> g.bucket("bucket").key("key"))
+                                                            .destination(Paths.get("file")))
+                                 .build();
+
+        assertThat(ResumableFileDownload.fromString(download.serializeToString())).isEqualTo(download);
+    }
+
+    @Test
+    public void fromString_resumableUpload_throws() {
+        String upload = ResumableFileUpload.builder()
+                                           .uploadFileRequest(u -> u.putObjectRequest(p -> p.bucket("bucket").key("key"))
+                                                                    .source(Paths.get("file")))
+                                           .build()
+                                           .serializeToString();
+
+        assertThatThrownBy(() -> ResumableFileDownload.fromString(upload))
+            .isInstanceOf(SdkClientException.class).hasMessageContaining("not a resumable download");
+    }
+
+    @Test
+    public void fromString_completedPartsBeyondObjectSize_throws() {
+        String serialized = resumableFileDownload().serializeToString().replace("completedParts=1-3,5,7-8",
+                                                                                "completedParts=1-3,5,7-2000000000");
+
+        assertThatThrownBy(() -> ResumableFileDownload.fromString(serialized))
+            .isInstanceOf(SdkClientException.class).hasMessageContaining("completedParts");
+    }
+
+    @Test
+    public void fromString_overlappingCompletedParts_throws() {
+        String serialized = resumableFileDownload().serializeToString().replace("completedParts=1-3,5,7-8",
+                                                                                "completedParts=1-3,2-5");
+
+        assertThatThrownBy(() -> ResumableFileDownload.fromString(serialized))
+            .isInstanceOf(SdkClientException.class).hasMessageContaining("completedParts");
+    }
+
+    @Test
+    public void fromString_moreThanMaxParts_throws() {
+        String serialized = resumableFileDownload().serializeToString().replace("partSizeInBytes=1024",
+                                                                                "partSizeInBytes=1");
+
+        assertThatThrownBy(() -> ResumableFileDownload.fromString(serialized))
+            .isInstanceOf(SdkClientException.class).hasMessageContaining("parts");
+    }
+
+    @Test
+    public void equals_hashcode() {
+        EqualsVerifier.forClass(ResumableFileDownload.class)
+                      .withNonnullFields("downloadFileRequest", "completedParts")
+                      .verify();
+    }
+
+    private static ResumableFileDownload resumableFileDownload() {
+        return ResumableFileDownload.builder()
+                                    .downloadFileRequest(d -> d.getObjectRequest(g -> g.bucket("bucket")
+                                                                                       .key("key")
+                                                                                       .versionId("version"))
+                                                               .destination(Paths.get("file")))
+                                    .totalSizeInBytes(10_000L)
+                                    .partSizeInBytes(1024L)
+                                    .completedParts(Arrays.asList(1, 2, 3, 5, 7, 8))
+                                    .s3ObjectETag("\"etag\"")
+                                    .s3ObjectLastModified(Instant.parse("2021-12-01T10:15:30Z"))
+                                    .fileLastModified(Instant.parse("2021-12-01T10:16:30.123456789Z"))
+                                    .build();
+    }
+}
@@ -0,0 +1,75 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+
+package software.amazon.awssdk.transfer.s3;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.nio.file.Paths;
+import java.time.Instant;
+import java.util.Arrays;
+import nl.jqno.equalsverifier.EqualsVerifier;
+import org.junit.Test;
+import software.amazon.awssdk.services.s3.model.CompletedPart;
+
+public class ResumableFileUploadTest {
+
+    @Test
+    public void noUploadFileRequest_throws() {
+        assertThatThrownBy(() -> ResumableFileUpload.builder().build())
+            .isInstanceOf(NullPointerException.class).hasMessageContaining("uploadFileRequest");
+    }
+
+    @Test
+    public void completedParts_areSortedByPartNumber() {
+        ResumableFileUpload upload = resumableFileUpload().toBuilder()
+                                                          .completedParts(Arrays.asList(part(3), part(1), part(2)))
+                                                          .build();
+
+        assertThat(upload.completedParts()).extracting(CompletedPart::partNumber).containsExactly(1, 2, 3);
+    }
+
+    @Test
+    public void serializeToString_fromString_roundTrips() {
+        ResumableFileUpload upload = resumableFileUpload();
+
+        assertThat(ResumableFileUpload.fromString(upload.serializeToString())).isEqualTo(upload);
+    }
+
+    @Test
+    public void equals_hashcode() {
+        EqualsVerifier.forClass(ResumableFileUpload.class)
+                      .withNonnullFields("uploadFileRequest", "completedParts")
+                      .verify();
+    }
+
+    private static ResumableFileUpload resumableFileUpload() {
+        return ResumableFileUpload.builder()
+                                  .uploadFileRequest(u -> u.putObjectRequest(p -> p.bucket("bucket").key("key"))
+                                                           .source(Paths.get("file")))
+                                  .multipartUploadId("upload")
+                                  .partSizeInBytes(1024L)
+                                  .fileLength(10_000L)
+                                  .fileLastModified(Instant.parse("2021-12-01T10:16:30.123Z"))
+                                  .completedParts(Arrays.asList(part(1), part(2), part(10)))
+                                  .build();
+    }
+
+    private static CompletedPart part(int partNumber) {
+        return CompletedPart.builder().partNumber(partNumber).eTag("\"etag" + partNumber + "\"").build();
+    }
+}
@@ -30,14 +30,19 @@ public class S3TransferManagerOverrideConfigurationTest {
         UploadDirectoryOverrideConfiguration directoryOverrideConfiguration =
             UploadDirectoryOverrideConfiguration.builder()
                                                 .build();
+        DownloadDirectoryOverrideConfiguration downloadDirectoryOverrideConfiguration =
+            DownloadDirectoryOverrideConfiguration.builder()
+                                                  .build();
         S3TransferManagerOverrideConfiguration configuration =
             S3TransferManagerOverrideConfiguration.builder()
                                                   .uploadDirectoryConfiguration(directoryOverrideConfiguration)
+                                                  .downloadDirectoryConfiguration(downloadDirectoryOverrideConfiguration)
                                                   .executor(executor)
                                                   .build();
 
         assertThat(configuration.executor()).contains(executor);
         assertThat(configuration.uploadDirectoryConfiguration()).contains(directoryOverrideConfiguration);
+        assertThat(configuration.downloadDirectoryConfiguration()).contains(downloadDirectoryOverrideConfiguration);
     }
 
     @Test
@@ -47,6 +52,7 @@ public class S3TransferManagerOverrideConfigurationTest {
 
         assertThat(configuration.executor()).isEmpty();
         assertThat(configuration.uploadDirectoryConfiguration()).isEmpty();
+        assertThat(configuration.downloadDirectoryConfiguration()).isEmpty();
     }
 
     @Test
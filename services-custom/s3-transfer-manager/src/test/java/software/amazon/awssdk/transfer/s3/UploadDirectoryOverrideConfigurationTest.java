@@ -38,12 +38,22 @@ public class UploadDirectoryOverrideConfigurationTest {
             .hasMessageContaining("positive");
     }
 
+    @Test
+    public void maxConcurrentUploadsNonPositive_shouldThrowException() {
+        assertThatThrownBy(() -> UploadDirectoryOverrideConfiguration.builder()
+                                                                     .maxConcurrentUploads(0)
+                                                                     .build())
+            .isInstanceOf(IllegalArgumentException.class)
+            .hasMessageContaining("positive");
+    }
+
     @Test
     public void defaultBuilder() {
         UploadDirectoryOverrideConfiguration configuration = UploadDirectoryOverrideConfiguration.builder().build();
         assertThat(configuration.followSymbolicLinks()).isEmpty();
         assertThat(configuration.recursive()).isEmpty();
         assertThat(configuration.maxDepth()).isEmpty();
+        assertThat(configuration.maxConcurrentUploads()).isEmpty();
     }
 
     @Test
@@ -52,10 +62,12 @@ public class UploadDirectoryOverrideConfigurationTest {
                                                                                                  .maxDepth(10)
                                                                                                  .recursive(true)
                                                                                                  .followSymbolicLinks(false)
+                                                                                                 .maxConcurrentUploads(5)
                                                                                                  .build();
         assertThat(configuration.followSymbolicLinks()).contains(false);
         assertThat(configuration.recursive()).contains(true);
         assertThat(configuration.maxDepth()).contains(10);
+        assertThat(configuration.maxConcurrentUploads()).contains(5);
     }
 
     @Test
@@ -0,0 +1,260 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+
+package software.amazon.awssdk.transfer.s3.internal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.google.common.jimfs.Jimfs;
+import io.reactivex.Flowable;
+import java.io.IOException;
+import java.nio.file.FileSystem;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+import software.amazon.awssdk.core.async.SdkPublisher;
+import software.amazon.awssdk.core.exception.SdkClientException;
+import software.amazon.awssdk.services.s3.model.GetObjectResponse;
+import software.amazon.awssdk.services.s3.model.ListObjectsV2Request;
+import software.amazon.awssdk.services.s3.model.S3Object;
+import software.amazon.awssdk.transfer.s3.CompletedDirectoryDownload;
+import software.amazon.awssdk.transfer.s3.CompletedFileDownload;
+import software.amazon.awssdk.transfer.s3.DirectoryDownload;
+import software.amazon.awssdk.transfer.s3.DownloadDirectoryRequest;
+import software.amazon.awssdk.transfer.s3.DownloadFileRequest;
+import software.amazon.awssdk.transfer.s3.FailedFileDownload;
+import software.amazon.awssdk.transfer.s3.FileDownload;
+import software.amazon.awssdk.transfer.s3.internal.progress.DefaultTransferProgress;
+import software.amazon.awssdk.transfer.s3.internal.progress.DefaultTransferProgressSnapshot;
+
+public class DownloadDirectoryHelperTest {
+    private FileSystem jimfs;
+    private Path directory;
+    private Function<ListObjectsV2Request, SdkPublisher<S3Object>> listObjectsFunction;
+    private Function<DownloadFileRequest, FileDownload> singleDownloadFunction;
+    private List<CompletableFuture<CompletedFileDownload>> downloadFutures;
+    private DownloadDirectoryHelper downloadDirectoryHelper;
+
+    @Before
+    public void methodSetup() {
+        jimfs = Jimfs.newFileSystem();
+        directory = jimfs.getPath("/destination");
+        listObjectsFunction = mock(Function.class);
+        singleDownloadFunction = mock(Function.class);
+        downloadFutures = new CopyOnWriteArrayList<>();
+        when(singleDownloadFunction.apply(any(DownloadFileRequest.class))).thenAnswer(i -> {
+            CompletableFuture<CompletedFileDownload> future = new CompletableFuture<>();
+            downloadFutures.add(future);
+            return new DefaultFileDownload(future,
+                                           new DefaultTransferProgress(DefaultTransferProgressSnapshot.builder().build()));
+        });
+        downloadDirectoryHelper = new DownloadDirectoryHelper(TransferManagerConfiguration.builder().build(),
+                                                              listObjectsFunction, singleDownloadFunction);
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        jimfs.close();
+    }
+
+    @Test
+    public void downloadDirectory_mapsKeysRelativeToPrefix() throws Exception {
+        stubListing("prefix/a.txt", "prefix/dir/", "prefix/dir/b.txt");
+        completeDownloadsImmediately();
+
+        CompletedDirectoryDownload completedDirectoryDownload =
+            downloadDirectoryHelper.downloadDirectory(request(b -> b.prefix("prefix")))
+                                   .completionFuture().get(5, TimeUnit.SECONDS);
+
+        assertThat(completedDirectoryDownload.failedTransfers()).isEmpty();
+
+        ArgumentCaptor<ListObjectsV2Request> listRequestCaptor = ArgumentCaptor.forClass(ListObjectsV2Request.class);
+        verify(listObjectsFunction).apply(listRequestCaptor.capture());
+        assertThat(listRequestCaptor.getValue().bucket()).isEqualTo("bucket");
+        assertThat(listRequestCaptor.getValue().prefix()).isEqualTo("prefix/");
+        assertThat(listRequestCaptor.getValue().delimiter()).isNull();
+
+        // The directory marker is not downloaded
+        List<DownloadFileRequest> requests = capturedDownloadRequests(2);
+        assertThat(requests).extracting(DownloadFileRequest::destination)
+                            .containsExactly(directory.resolve("a.txt"), directory.resolve("dir/b.txt"));
+        assertThat(requests).extracting(r -> r.getObjectRequest().key())
+                            .containsExactly("prefix/a.txt", "prefix/dir/b.txt");
+        assertThat(Files.isDirectory(directory.resolve("dir"))).isTrue();
+    }
+
+    @Test
+    public void downloadDirectory_customDelimiter_delimiterSeparatesDirectories() throws Exception {
+        stubListing("prefix|dir|a.txt");
+        completeDownloadsImmediately();
+
+        downloadDirectoryHelper.downloadDirectory(request(b -> b.prefix("prefix").delimiter("|")))
+                               .completionFuture().get(5, TimeUnit.SECONDS);
+
+        assertThat(capturedDownloadRequests(1).get(0).destination()).isEqualTo(directory.resolve("dir/a.txt"));
+    }
+
+    @Test
+    public void downloadDirectory_keyOutsideOfDestination_shouldReportFailedDownload() throws Exception {
+        stubListing("../a.txt", "b.txt");
+        completeDownloadsImmediately();
+
+        CompletedDirectoryDownload completedDirectoryDownload =
+            downloadDirectoryHelper.downloadDirectory(request(b -> { }))
+                                   .completionFuture().get(5, TimeUnit.SECONDS);
+
+        assertThat(completedDirectoryDownload.failedTransfers()).hasSize(1);
+        FailedFileDownload failedFileDownload = completedDirectoryDownload.failedTransfers().iterator().next();
+        assertThat(failedFileDownload.request().getObjectRequest().key()).isEqualTo("../a.txt");
+        assertThat(failedFileDownload.exception()).isInstanceOf(SdkClientException.class);
+        assertThat(capturedDownloadRequests(1).get(0).getObjectRequest().key()).isEqualTo("b.txt");
+    }
+
+    @Test
+    public void downloadDirectory_partialSuccess_shouldProvideFailedDownloads() throws Exception {
+        stubListing("a.txt", "b.txt");
+
+        DirectoryDownload directoryDownload = downloadDirectoryHelper.downloadDirectory(request(b -> { }));
+
+        verify(singleDownloadFunction, timeout(1000).times(2)).apply(any(DownloadFileRequest.class));
+        SdkClientException exception = SdkClientException.create("failed");
+        downloadFutures.get(0).complete(completedDownload());
+        downloadFutures.get(1).completeExceptionally(exception);
+
+        CompletedDirectoryDownload completedDirectoryDownload = directoryDownload.completionFuture().get(5, TimeUnit.SECONDS);
+
+        assertThat(completedDirectoryDownload.failedTransfers()).hasSize(1);
+        FailedFileDownload failedFileDownload = completedDirectoryDownload.failedTransfers().iterator().next();
+        assertThat(failedFileDownload.exception()).isEqualTo(exception);
+        assertThat(failedFileDownload.request().getObjectRequest().key()).isEqualTo("b.txt");
+    }
+
+    @Test
+    public void downloadDirectory_maxConcurrentDownloads_shouldOnlyStartDownloadsAsOthersComplete() throws Exception {
+        stubListing("1", "2", "3", "4", "5");
+
+        DirectoryDownload directoryDownload =
+            downloadDirectoryHelper.downloadDirectory(request(b -> b.overrideConfiguration(o -> o.maxConcurrentDownloads(2))));
+
+        verify(singleDownloadFunction, timeout(1000).times(2)).apply(any(DownloadFileRequest.class));
+        assertThat(downloadFutures).hasSize(2);
+
+        downloadFutures.get(0).complete(completedDownload());
+        verify(singleDownloadFunction, timeout(1000).times(3)).apply(any(DownloadFileRequest.class));
+        assertThat(downloadFutures).hasSize(3);
+
+        downloadFutures.get(1).complete(completedDownload());
+        downloadFutures.get(2).complete(completedDownload());
+        verify(singleDownloadFunction, timeout(1000).times(5)).apply(any(DownloadFileRequest.class));
+        assertThat(directoryDownload.completionFuture()).isNotDone();
+
+        downloadFutures.forEach(f -> f.complete(completedDownload()));
+        assertThat(directoryDownload.completionFuture().get(5, TimeUnit.SECONDS).failedTransfers()).isEmpty();
+    }
+
+    @Test
+    public void downloadDirectory_cancel_shouldCancelAllFutures() {
+        stubListing("a.txt", "b.txt");
+
+        DirectoryDownload directoryDownload = downloadDirectoryHelper.downloadDirectory(request(b -> { }));
+
+        verify(singleDownloadFunction, timeout(1000).times(2)).apply(any(DownloadFileRequest.class));
+        directoryDownload.completionFuture().cancel(true);
+
+        for (CompletableFuture<CompletedFileDownload> future : downloadFutures) {
+            assertThatThrownBy(() -> future.get(1, TimeUnit.SECONDS)).isInstanceOf(CancellationException.class);
+        }
+    }
+
+    @Test
+    public void downloadDirectory_listingFails_shouldCompleteExceptionally() {
+        SdkClientException exception = SdkClientException.create("failed");
+        when(listObjectsFunction.apply(any(ListObjectsV2Request.class)))
+            .thenReturn(SdkPublisher.adapt(Flowable.error(exception)));
+
+        DirectoryDownload directoryDownload = downloadDirectoryHelper.downloadDirectory(request(b -> { }));
+
+        assertThatThrownBy(() -> directoryDownload.completionFuture().get(5, TimeUnit.SECONDS))
+            .isInstanceOf(ExecutionException.class)
+            .hasCause(exception);
+        verify(singleDownloadFunction, never()).apply(any(DownloadFileRequest.class));
+    }
+
+    @Test
+    public void downloadDirectory_destinationIsAFile_shouldCompleteExceptionally() throws IOException {
+        Files.createFile(jimfs.getPath("/file"));
+
+        DirectoryDownload directoryDownload =
+            downloadDirectoryHelper.downloadDirectory(request(b -> b.destinationDirectory(jimfs.getPath("/file"))));
+
+        assertThatThrownBy(() -> directoryDownload.completionFuture().get(5, TimeUnit.SECONDS))
+            .hasCauseInstanceOf(IllegalArgumentException.class)
+            .hasMessageContaining("is not a directory");
+    }
+
+    private DownloadDirectoryRequest request(Consumer<DownloadDirectoryRequest.Builder> mutation) {
+        return DownloadDirectoryRequest.builder()
+                                       .destinationDirectory(directory)
+                                       .bucket("bucket")
+                                       .applyMutation(mutation)
+                                       .build();
+    }
+
+    private void stubListing(String... keys) {
+        List<S3Object> objects = Arrays.stream(keys)
+                                       .map(k -> S3Object.builder().key(k).build())
+                                       .collect(Collectors.toList());
+        when(listObjectsFunction.apply(any(ListObjectsV2Request.class)))
+            .thenReturn(SdkPublisher.adapt(Flowable.fromIterable(objects)));
+    }
+
+    private void completeDownloadsImmediately() {
+        when(singleDownloadFunction.apply(any(DownloadFileRequest.class))).thenAnswer(
+            i -> new DefaultFileDownload(CompletableFuture.completedFuture(completedDownload()),
+                                         new DefaultTransferProgress(DefaultTransferProgressSnapshot.builder().build())));
+    }
+
+    private List<DownloadFileRequest> capturedDownloadRequests(int count) {
+        ArgumentCaptor<DownloadFileRequest> requestCaptor = ArgumentCaptor.forClass(DownloadFileRequest.class);
+        verify(singleDownloadFunction, times(count)).apply(requestCaptor.capture());
+        return requestCaptor.getAllValues();
+    }
+
+    private static CompletedFileDownload completedDownload() {
+        return CompletedFileDownload.builder().response(GetObjectResponse.builder().build()).build();
+    }
+}
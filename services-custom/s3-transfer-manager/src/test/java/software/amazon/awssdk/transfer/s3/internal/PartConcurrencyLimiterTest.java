@@ -0,0 +1,119 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+
+package software.amazon.awssdk.transfer.s3.internal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.Test;
+import software.amazon.awssdk.utils.CompletableFutureUtils;
+
+public class PartConcurrencyLimiterTest {
+
+    @Test
+    public void submit_overLimit_startsQueuedRequestsAsEarlierRequestsComplete() {
+        PartConcurrencyLimiter limiter = new PartConcurrencyLimiter(2);
+        List<CompletableFuture<Integer>> requests = new ArrayList<>();
+        List<CompletableFuture<Integer>> results = new ArrayList<>();
+
+        for (int i = 0; i < 4; i++) {
+            results.add(limiter.submit(() -> {
+                CompletableFuture<Integer> request = new CompletableFuture<>();
+                requests.add(request);
+                return request;
+            }));
+        }
+
+        assertThat(requests).hasSize(2);
+
+        requests.get(1).complete(1);
+        assertThat(results.get(1)).isCompletedWithValue(1);
+        assertThat(requests).hasSize(3);
+
+        requests.get(0).completeExceptionally(new RuntimeException("failed"));
+        assertThat(results.get(0)).isCompletedExceptionally();
+        assertThat(requests).hasSize(4);
+    }
+
+    @Test
+    public void submit_cancelledWhileQueued_isNeverStarted() {
+        PartConcurrencyLimiter limiter = new PartConcurrencyLimiter(1);
+        AtomicInteger started = new AtomicInteger();
+        CompletableFuture<Integer> first = new CompletableFuture<>();
+
+        limiter.submit(() -> {
+            started.incrementAndGet();
+            return first;
+        });
+        CompletableFuture<Integer> queued = limiter.submit(() -> {
+            started.incrementAndGet();
+            return new CompletableFuture<>();
+        });
+        CompletableFuture<Integer> last = limiter.submit(() -> {
+            started.incrementAndGet();
+            return CompletableFuture.completedFuture(3);
+        });
+
+        queued.cancel(true);
+        first.complete(1);
+
+        assertThat(started).hasValue(2);
+        assertThat(last).isCompletedWithValue(3);
+    }
+
+    @Test
+    public void submit_cancelledAfterStart_cancelsRequest() {
+        PartConcurrencyLimiter limiter = new PartConcurrencyLimiter(1);
+        CompletableFuture<Integer> request = new CompletableFuture<>();
+
+        limiter.submit(() -> request).cancel(true);
+
+        assertThat(request).isCancelled();
+    }
+
+    @Test
+    public void submit_requestThrows_completesExceptionallyAndReleases() {
+        PartConcurrencyLimiter limiter = new PartConcurrencyLimiter(1);
+
+        CompletableFuture<Integer> failed = limiter.submit(() -> {
+            throw new IllegalStateException("failed");
+        });
+
+        assertThat(failed).isCompletedExceptionally();
+        assertThat(limiter.submit(() -> CompletableFuture.completedFuture(1))).isCompletedWithValue(1);
+    }
+
+    @Test
+    public void submit_manyQueuedRequestsFailImmediately_doesNotOverflowStack() {
+        PartConcurrencyLimiter limiter = new PartConcurrencyLimiter(1);
+        CompletableFuture<Integer> first = new CompletableFuture<>();
+        limiter.submit(() -> first);
+
+        List<CompletableFuture<Integer>> results = new ArrayList<>();
+        for (int i = 0; i < 50_000; i++) {
+            results.add(limiter.submit(() -> CompletableFutureUtils.failedFuture(new IllegalStateException("failed"))));
+        }
+
+        first.complete(1);
+
+        assertThat(results).allSatisfy(r -> assertThat(r).isCompletedExceptionally());
+        assertThat(limiter.submit(() -> CompletableFuture.completedFuture(1))).isCompletedWithValue(1);
+    }
+}
@@ -0,0 +1,582 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+
+package software.amazon.awssdk.transfer.s3.internal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.google.common.jimfs.Configuration;
+import com.google.common.jimfs.Jimfs;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.PooledByteBufAllocator;
+import io.reactivex.Flowable;
+import java.nio.ByteBuffer;
+import java.nio.file.FileSystem;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.stubbing.Answer;
+import software.amazon.awssdk.core.async.AsyncRequestBody;
+import software.amazon.awssdk.core.async.AsyncResponseTransformer;
+import software.amazon.awssdk.core.async.SdkPublisher;
+import software.amazon.awssdk.services.s3.S3AsyncClient;
+import software.amazon.awssdk.services.s3.model.AbortMultipartUploadRequest;
+import software.amazon.awssdk.services.s3.model.AbortMultipartUploadResponse;
+import software.amazon.awssdk.services.s3.model.CompleteMultipartUploadRequest;
+import software.amazon.awssdk.services.s3.model.CompleteMultipartUploadResponse;
+import software.amazon.awssdk.services.s3.model.CompletedPart;
+import software.amazon.awssdk.services.s3.model.CreateMultipartUploadRequest;
+import software.amazon.awssdk.services.s3.model.CreateMultipartUploadResponse;
+import software.amazon.awssdk.services.s3.model.GetObjectRequest;
+import software.amazon.awssdk.services.s3.model.GetObjectResponse;
+import software.amazon.awssdk.services.s3.model.PutObjectRequest;
+import software.amazon.awssdk.services.s3.model.PutObjectResponse;
+import software.amazon.awssdk.services.s3.model.S3Exception;
+import software.amazon.awssdk.services.s3.model.UploadPartRequest;
+import software.amazon.awssdk.services.s3.model.UploadPartResponse;
+import software.amazon.awssdk.transfer.s3.CompletedFileDownload;
+import software.amazon.awssdk.transfer.s3.CompletedFileUpload;
+import software.amazon.awssdk.transfer.s3.FileDownload;
+import software.amazon.awssdk.transfer.s3.FileUpload;
+import software.amazon.awssdk.transfer.s3.ResumableFileDownload;
+import software.amazon.awssdk.transfer.s3.ResumableFileUpload;
+import software.amazon.awssdk.transfer.s3.S3TransferManager;
+import software.amazon.awssdk.utils.BinaryUtils;
+import software.amazon.awssdk.utils.CompletableFutureUtils;
+import software.amazon.awssdk.utils.async.PooledByteBuffers;
+
+public class S3TransferManagerWithS3AsyncClientTest {
+    private static final long PART_SIZE = 1024;
+    private static final int POOLED_CHUNK_SIZE = 256;
+
+    private final FileSystem fs = Jimfs.newFileSystem(Configuration.unix());
+    private S3AsyncClient s3;
+    private S3TransferManager tm;
+
+    @Before
+    public void methodSetup() {
+        s3 = mock(S3AsyncClient.class);
+        tm = S3TransferManager.builder()
+                              .s3AsyncClient(s3)
+                              .s3ClientConfiguration(c -> c.minimumPartSizeInBytes(PART_SIZE).maxConcurrency(2))
+                              .build();
+    }
+
+    @After
+    public void methodTeardown() throws Exception {
+        tm.close();
+        fs.close();
+    }
+
+    @Test
+    public void close_doesNotCloseProvidedClient() {
+        tm.close();
+
+        verify(s3, never()).close();
+    }
+
+    @Test
+    public void downloadFile_largeObject_downloadsRangesIntoFile() throws Exception {
+        byte[] object = randomBytes(5 * PART_SIZE + 100);
+        when(s3.getObject(any(GetObjectRequest.class), any(AsyncResponseTransformer.class)))
+            .thenAnswer(rangedGetObject(object));
+        Path destination = newTempFile();
+
+        CompletedFileDownload download = tm.downloadFile(d -> d.getObjectRequest(g -> g.bucket("bucket").key("key"))
+                                                               .destination(destination))
+                                           .completionFuture()
+                                           .join();
+
+        assertThat(Files.readAllBytes(destination)).isEqualTo(object);
+        assertThat(download.response().contentLength()).isEqualTo(object.length);
+        assertThat(download.response().contentRange()).isNull();
+
+        ArgumentCaptor<GetObjectRequest> requests = ArgumentCaptor.forClass(GetObjectRequest.class);
+        verify(s3, times(6)).getObject(requests.capture(), any(AsyncResponseTransformer.class));
+        assertThat(requests.getAllValues()).extracting(GetObjectRequest::range)
+                                           .containsExactlyInAnyOrder("bytes=0-1023", "bytes=1024-2047", "bytes=2048-3071",
+                                                                      "bytes=3072-4095", "bytes=4096-5119", "bytes=5120-5219");
+        assertThat(requests.getAllValues().subList(1, 6)).extracting(GetObjectRequest::ifMatch).containsOnly("etag");
+    }
+
+    @Test
+    public void downloadFile_largeObject_startsPartsAsEarlierPartsComplete() throws Exception {
+        byte[] object = randomBytes(10 * PART_SIZE);
+        Answer<CompletableFuture<GetObjectResponse>> rangedGetObject = rangedGetObject(object);
+        when(s3.getObject(any(GetObjectRequest.class), any(AsyncResponseTransformer.class))).thenAnswer(invocation -> {
+            GetObjectRequest request = invocation.getArgumentAt(0, GetObjectRequest.class);
+            if ("bytes=0-1023".equals(request.range())) {
+                return rangedGetObject.answer(invocation);
+            }
+            return new CompletableFuture<>();
+        });
+        Path destination = newTempFile();
+
+        FileDownload download = tm.downloadFile(d -> d.getObjectRequest(g -> g.bucket("bucket").key("key"))
+                                                      .destination(destination));
+
+        // The first part and as many parts as the limiter allows in flight; the other parts are not requested yet.
+        verify(s3, timeout(5_000).times(3)).getObject(any(GetObjectRequest.class), any(AsyncResponseTransformer.class));
+        Thread.sleep(100);
+        verify(s3, times(3)).getObject(any(GetObjectRequest.class), any(AsyncResponseTransformer.class));
+
+        download.completionFuture().cancel(true);
+    }
+
+    @Test
+    public void downloadFile_moreThanMaxParts_downloadsInLargerParts() throws Exception {
+        byte[] object = randomBytes(ParallelFileDownloadHelper.MAX_PARTS * PART_SIZE + 1);
+        when(s3.getObject(any(GetObjectRequest.class), any(AsyncResponseTransformer.class)))
+            .thenAnswer(rangedGetObject(object));
+        Path destination = newTempFile();
+
+        tm.downloadFile(d -> d.getObjectRequest(g -> g.bucket("bucket").key("key"))
+                              .destination(destination))
+          .completionFuture()
+          .join();
+
+        assertThat(Files.readAllBytes(destination)).isEqualTo(object);
+
+        ArgumentCaptor<GetObjectRequest> requests = ArgumentCaptor.forClass(GetObjectRequest.class);
+        verify(s3, atLeastOnce()).getObject(requests.capture(), any(AsyncResponseTransformer.class));
+        // The first part is made larger after its first range was downloaded, so only the rest of it is requested.
+        assertThat(requests.getAllValues()).hasSizeLessThanOrEqualTo(ParallelFileDownloadHelper.MAX_PARTS + 1)
+                                           .extracting(GetObjectRequest::range)
+                                           .contains("bytes=0-1023", "bytes=1024-1024", "bytes=1025-2049");
+    }
+
+    @Test
+    public void downloadFile_pooledResponseBuffers_releasesEveryBuffer() throws Exception {
+        byte[] object = randomBytes(5 * PART_SIZE + 100);
+        List<ByteBuf> allocatedBuffers = Collections.synchronizedList(new ArrayList<>());
+        when(s3.getObject(any(GetObjectRequest.class), any(AsyncResponseTransformer.class)))
+            .thenAnswer(rangedGetObject(object, body -> pooledChunks(body, allocatedBuffers)));
+        Path destination = newTempFile();
+
+        tm.downloadFile(d -> d.getObjectRequest(g -> g.bucket("bucket").key("key"))
+                              .destination(destination))
+          .completionFuture()
+          .join();
+
+        assertThat(Files.readAllBytes(destination)).isEqualTo(object);
+        assertThat(allocatedBuffers).hasSize(21);
+        assertThat(allocatedBuffers).allSatisfy(buffer -> assertThat(buffer.refCnt()).isZero());
+    }
+
+    @Test
+    public void downloadFile_emptyObject_downloadsWholeObject() throws Exception {
+        when(s3.getObject(any(GetObjectRequest.class), any(AsyncResponseTransformer.class)))
+            .thenAnswer(rangedGetObject(new byte[0]));
+        Path destination = newTempFile();
+
+        tm.downloadFile(d -> d.getObjectRequest(g -> g.bucket("bucket").key("key"))
+                              .destination(destination))
+          .completionFuture()
+          .join();
+
+        assertThat(Files.readAllBytes(destination)).isEmpty();
+    }
+
+    @Test
+    public void downloadFile_partFails_failsAndDeletesFile() {
+        byte[] object = randomBytes(3 * PART_SIZE);
+        Answer<CompletableFuture<GetObjectResponse>> rangedGetObject = rangedGetObject(object);
+        when(s3.getObject(any(GetObjectRequest.class), any(AsyncResponseTransformer.class))).thenAnswer(invocation -> {
+            GetObjectRequest request = invocation.getArgumentAt(0, GetObjectRequest.class);
+            if ("bytes=2048-3071".equals(request.range())) {
+                return CompletableFutureUtils.failedFuture(S3Exception.builder().statusCode(412).build());
+            }
+            return rangedGetObject.answer(invocation);
+        });
+        Path destination = newTempFile();
+
+        assertThatThrownBy(() -> tm.downloadFile(d -> d.getObjectRequest(g -> g.bucket("bucket").key("key"))
+                                                       .destination(destination))
+                                   .completionFuture()
+                                   .join())
+            .hasCauseInstanceOf(S3Exception.class);
+        assertThat(destination).doesNotExist();
+    }
+
+    @Test
+    public void downloadFile_pausedAndResumed_downloadsOnlyRemainingParts() throws Exception {
+        byte[] object = randomBytes(4 * PART_SIZE);
+        Answer<CompletableFuture<GetObjectResponse>> rangedGetObject = rangedGetObject(object);
+        AtomicBoolean resumed = new AtomicBoolean();
+        CountDownLatch stalledParts = new CountDownLatch(2);
+        when(s3.getObject(any(GetObjectRequest.class), any(AsyncResponseTransformer.class))).thenAnswer(invocation -> {
+            GetObjectRequest request = invocation.getArgumentAt(0, GetObjectRequest.class);
+            if (!resumed.get() && Arrays.asList("bytes=2048-3071", "bytes=3072-4095").contains(request.range())) {
+                stalledParts.countDown();
+                return new CompletableFuture<>();
+            }
+            return rangedGetObject.answer(invocation);
+        });
+        Path destination = newTempFile();
+
+        FileDownload download = tm.downloadFile(d -> d.getObjectRequest(g -> g.bucket("bucket").key("key"))
+                                                      .destination(destination));
+        assertThat(stalledParts.await(5, TimeUnit.SECONDS)).isTrue();
+        ResumableFileDownload resumableFileDownload = download.pause();
+
+        assertThatThrownBy(() -> download.completionFuture().join()).isInstanceOf(CancellationException.class);
+        assertThat(destination).exists();
+        assertThat(resumableFileDownload.totalSizeInBytes()).hasValue(4 * PART_SIZE);
+        assertThat(resumableFileDownload.s3ObjectETag()).hasValue("etag");
+        assertThat(resumableFileDownload.completedParts()).contains(1).doesNotContain(3, 4);
+
+        resumed.set(true);
+        tm.resumeDownloadFile(ResumableFileDownload.fromString(resumableFileDownload.serializeToString()))
+          .completionFuture()
+          .join();
+
+        assertThat(Files.readAllBytes(destination)).isEqualTo(object);
+
+        ArgumentCaptor<GetObjectRequest> requests = ArgumentCaptor.forClass(GetObjectRequest.class);
+        verify(s3, times(4 + 4 - resumableFileDownload.completedParts().size()))
+            .getObject(requests.capture(), any(AsyncResponseTransformer.class));
+        List<GetObjectRequest> resumedRequests = requests.getAllValues().subList(4, requests.getAllValues().size());
+        assertThat(resumedRequests).extracting(GetObjectRequest::ifMatch).containsOnly("etag");
+        assertThat(resumedRequests).extracting(GetObjectRequest::range).contains("bytes=2048-3071", "bytes=3072-4095")
+                                   .doesNotContain("bytes=0-1023");
+    }
+
+    @Test
+    public void resumeDownloadFile_destinationModified_downloadsWholeObject() throws Exception {
+        byte[] object = randomBytes(2 * PART_SIZE);
+        when(s3.getObject(any(GetObjectRequest.class), any(AsyncResponseTransformer.class)))
+            .thenAnswer(rangedGetObject(object));
+        Path destination = newTempFile();
+        Files.write(destination, randomBytes(PART_SIZE));
+        ResumableFileDownload resumableFileDownload =
+            ResumableFileDownload.builder()
+                                 .downloadFileRequest(d -> d.getObjectRequest(g -> g.bucket("bucket").key("key"))
+                                                            .destination(destination))
+                                 .totalSizeInBytes(2 * PART_SIZE)
+                                 .partSizeInBytes(PART_SIZE)
+                                 .completedParts(Collections.singletonList(1))
+                                 .s3ObjectETag("etag")
+                                 .fileLastModified(Instant.EPOCH)
+                                 .build();
+
+        tm.resumeDownloadFile(resumableFileDownload).completionFuture().join();
+
+        assertThat(Files.readAllBytes(destination)).isEqualTo(object);
+        ArgumentCaptor<GetObjectRequest> requests = ArgumentCaptor.forClass(GetObjectRequest.class);
+        verify(s3, times(2)).getObject(requests.capture(), any(AsyncResponseTransformer.class));
+        assertThat(requests.getAllValues()).extracting(GetObjectRequest::range)
+                                           .containsExactlyInAnyOrder("bytes=0-1023", "bytes=1024-2047");
+    }
+
+    @Test
+    public void uploadFile_largeFile_usesMultipartUpload() throws Exception {
+        byte[] file = randomBytes(2 * PART_SIZE + 10);
+        Path source = newTempFile();
+        Files.write(source, file);
+        Map<Integer, byte[]> uploadedParts = new ConcurrentHashMap<>();
+
+        when(s3.createMultipartUpload(any(CreateMultipartUploadRequest.class)))
+            .thenReturn(CompletableFuture.completedFuture(CreateMultipartUploadResponse.builder().uploadId("upload").build()));
+        when(s3.uploadPart(any(UploadPartRequest.class), any(AsyncRequestBody.class))).thenAnswer(invocation -> {
+            UploadPartRequest request = invocation.getArgumentAt(0, UploadPartRequest.class);
+            AsyncRequestBody body = invocation.getArgumentAt(1, AsyncRequestBody.class);
+            uploadedParts.put(request.partNumber(), readAll(body));
+            return CompletableFuture.completedFuture(UploadPartResponse.builder().eTag("etag" + request.partNumber()).build());
+        });
+        when(s3.completeMultipartUpload(any(CompleteMultipartUploadRequest.class)))
+            .thenReturn(CompletableFuture.completedFuture(CompleteMultipartUploadResponse.builder().eTag("etag").build()));
+
+        CompletedFileUpload upload = tm.uploadFile(u -> u.putObjectRequest(p -> p.bucket("bucket").key("key"))
+                                                         .source(source))
+                                       .completionFuture()
+                                       .join();
+
+        assertThat(upload.response().eTag()).isEqualTo("etag");
+        assertThat(uploadedParts).hasSize(3);
+        assertThat(concat(uploadedParts.get(1), uploadedParts.get(2), uploadedParts.get(3))).isEqualTo(file);
+
+        ArgumentCaptor<CompleteMultipartUploadRequest> completeRequest =
+            ArgumentCaptor.forClass(CompleteMultipartUploadRequest.class);
+        verify(s3).completeMultipartUpload(completeRequest.capture());
+        assertThat(completeRequest.getValue().uploadId()).isEqualTo("upload");
+        assertThat(completeRequest.getValue().multipartUpload().parts()).extracting(CompletedPart::eTag)
+                                                                        .containsExactly("etag1", "etag2", "etag3");
+    }
+
+    @Test
+    public void uploadFile_partFails_abortsMultipartUpload() throws Exception {
+        Path source = newTempFile();
+        Files.write(source, randomBytes(2 * PART_SIZE));
+
+        when(s3.createMultipartUpload(any(CreateMultipartUploadRequest.class)))
+            .thenReturn(CompletableFuture.completedFuture(CreateMultipartUploadResponse.builder().uploadId("upload").build()));
+        when(s3.uploadPart(any(UploadPartRequest.class), any(AsyncRequestBody.class)))
+            .thenReturn(CompletableFutureUtils.failedFuture(S3Exception.builder().statusCode(500).build()));
+        when(s3.abortMultipartUpload(any(AbortMultipartUploadRequest.class)))
+            .thenReturn(CompletableFuture.completedFuture(AbortMultipartUploadResponse.builder().build()));
+
+        assertThatThrownBy(() -> tm.uploadFile(u -> u.putObjectRequest(p -> p.bucket("bucket").key("key"))
+                                                     .source(source))
+                                   .completionFuture()
+                                   .join())
+            .hasCauseInstanceOf(S3Exception.class);
+
+        ArgumentCaptor<AbortMultipartUploadRequest> abortRequest = ArgumentCaptor.forClass(AbortMultipartUploadRequest.class);
+        verify(s3).abortMultipartUpload(abortRequest.capture());
+        assertThat(abortRequest.getValue().uploadId()).isEqualTo("upload");
+        verify(s3, never()).completeMultipartUpload(any(CompleteMultipartUploadRequest.class));
+    }
+
+    @Test
+    public void uploadFile_partFails_failsAndAbortsWithoutWaitingForOtherParts() throws Exception {
+        Path source = newTempFile();
+        Files.write(source, randomBytes(4 * PART_SIZE));
+        CompletableFuture<UploadPartResponse> failingPart = new CompletableFuture<>();
+        CompletableFuture<UploadPartResponse> stalledPart = new CompletableFuture<>();
+
+        when(s3.createMultipartUpload(any(CreateMultipartUploadRequest.class)))
+            .thenReturn(CompletableFuture.completedFuture(CreateMultipartUploadResponse.builder().uploadId("upload").build()));
+        when(s3.uploadPart(any(UploadPartRequest.class), any(AsyncRequestBody.class))).thenAnswer(invocation -> {
+            UploadPartRequest request = invocation.getArgumentAt(0, UploadPartRequest.class);
+            return request.partNumber() == 1 ? failingPart : stalledPart;
+        });
+        when(s3.abortMultipartUpload(any(AbortMultipartUploadRequest.class)))
+            .thenReturn(CompletableFuture.completedFuture(AbortMultipartUploadResponse.builder().build()));
+
+        FileUpload upload = tm.uploadFile(u -> u.putObjectRequest(p -> p.bucket("bucket").key("key"))
+                                                .source(source));
+        failingPart.completeExceptionally(S3Exception.builder().statusCode(500).build());
+
+        assertThatThrownBy(() -> upload.completionFuture().join()).hasCauseInstanceOf(S3Exception.class);
+        assertThat(stalledPart).isCancelled();
+        verify(s3).abortMultipartUpload(any(AbortMultipartUploadRequest.class));
+        // Only as many parts as the limiter allows in flight were started; the others are never requested.
+        verify(s3, times(2)).uploadPart(any(UploadPartRequest.class), any(AsyncRequestBody.class));
+        verify(s3, never()).completeMultipartUpload(any(CompleteMultipartUploadRequest.class));
+    }
+
+    @Test
+    public void uploadFile_pausedAndResumed_uploadsOnlyRemainingParts() throws Exception {
+        byte[] file = randomBytes(3 * PART_SIZE);
+        Path source = newTempFile();
+        Files.write(source, file);
+        Map<Integer, byte[]> uploadedParts = new ConcurrentHashMap<>();
+        AtomicBoolean resumed = new AtomicBoolean();
+
+        when(s3.createMultipartUpload(any(CreateMultipartUploadRequest.class)))
+            .thenReturn(CompletableFuture.completedFuture(CreateMultipartUploadResponse.builder().uploadId("upload").build()));
+        when(s3.uploadPart(any(UploadPartRequest.class), any(AsyncRequestBody.class))).thenAnswer(invocation -> {
+            UploadPartRequest request = invocation.getArgumentAt(0, UploadPartRequest.class);
+            if (!resumed.get() && request.partNumber() > 1) {
+                return new CompletableFuture<>();
+            }
+            AsyncRequestBody body = invocation.getArgumentAt(1, AsyncRequestBody.class);
+            uploadedParts.put(request.partNumber(), readAll(body));
+            return CompletableFuture.completedFuture(UploadPartResponse.builder().eTag("etag" + request.partNumber()).build());
+        });
+        when(s3.completeMultipartUpload(any(CompleteMultipartUploadRequest.class)))
+            .thenReturn(CompletableFuture.completedFuture(CompleteMultipartUploadResponse.builder().eTag("etag").build()));
+
+        FileUpload upload = tm.uploadFile(u -> u.putObjectRequest(p -> p.bucket("bucket").key("key"))
+                                                .source(source));
+        ResumableFileUpload resumableFileUpload = upload.pause();
+
+        assertThatThrownBy(() -> upload.completionFuture().join()).isInstanceOf(CancellationException.class);
+        assertThat(resumableFileUpload.multipartUploadId()).hasValue("upload");
+        assertThat(resumableFileUpload.completedParts()).extracting(CompletedPart::partNumber).containsExactly(1);
+        verify(s3, never()).abortMultipartUpload(any(AbortMultipartUploadRequest.class));
+
+        resumed.set(true);
+        CompletedFileUpload completedUpload =
+            tm.resumeUploadFile(ResumableFileUpload.fromString(resumableFileUpload.serializeToString()))
+              .completionFuture()
+              .join();
+
+        assertThat(completedUpload.response().eTag()).isEqualTo("etag");
+        assertThat(concat(uploadedParts.get(1), uploadedParts.get(2), uploadedParts.get(3))).isEqualTo(file);
+        verify(s3, times(1)).createMultipartUpload(any(CreateMultipartUploadRequest.class));
+
+        ArgumentCaptor<UploadPartRequest> partRequests = ArgumentCaptor.forClass(UploadPartRequest.class);
+        verify(s3, times(5)).uploadPart(partRequests.capture(), any(AsyncRequestBody.class));
+        assertThat(partRequests.getAllValues().subList(3, 5)).extracting(UploadPartRequest::partNumber)
+                                                             .containsExactlyInAnyOrder(2, 3);
+
+        ArgumentCaptor<CompleteMultipartUploadRequest> completeRequest =
+            ArgumentCaptor.forClass(CompleteMultipartUploadRequest.class);
+        verify(s3).completeMultipartUpload(completeRequest.capture());
+        assertThat(completeRequest.getValue().uploadId()).isEqualTo("upload");
+        assertThat(completeRequest.getValue().multipartUpload().parts()).extracting(CompletedPart::eTag)
+                                                                        .containsExactly("etag1", "etag2", "etag3");
+    }
+
+    @Test
+    public void resumeUploadFile_sourceModified_abortsAndUploadsWholeFile() throws Exception {
+        Path source = newTempFile();
+        Files.write(source, randomBytes(2 * PART_SIZE));
+
+        when(s3.abortMultipartUpload(any(AbortMultipartUploadRequest.class)))
+            .thenReturn(CompletableFuture.completedFuture(AbortMultipartUploadResponse.builder().build()));
+        when(s3.createMultipartUpload(any(CreateMultipartUploadRequest.class)))
+            .thenReturn(CompletableFuture.completedFuture(CreateMultipartUploadResponse.builder().uploadId("new").build()));
+        when(s3.uploadPart(any(UploadPartRequest.class), any(AsyncRequestBody.class)))
+            .thenReturn(CompletableFuture.completedFuture(UploadPartResponse.builder().eTag("etag").build()));
+        when(s3.completeMultipartUpload(any(CompleteMultipartUploadRequest.class)))
+            .thenReturn(CompletableFuture.completedFuture(CompleteMultipartUploadResponse.builder().build()));
+
+        ResumableFileUpload resumableFileUpload =
+            ResumableFileUpload.builder()
+                               .uploadFileRequest(u -> u.putObjectRequest(p -> p.bucket("bucket").key("key"))
+                                                        .source(source))
+                               .multipartUploadId("old")
+                               .partSizeInBytes(PART_SIZE)
+                               .fileLength(2 * PART_SIZE)
+                               .fileLastModified(Instant.EPOCH)
+                               .build();
+
+        tm.resumeUploadFile(resumableFileUpload).completionFuture().join();
+
+        ArgumentCaptor<AbortMultipartUploadRequest> abortRequest = ArgumentCaptor.forClass(AbortMultipartUploadRequest.class);
+        verify(s3).abortMultipartUpload(abortRequest.capture());
+        assertThat(abortRequest.getValue().uploadId()).isEqualTo("old");
+        verify(s3, times(2)).uploadPart(any(UploadPartRequest.class), any(AsyncRequestBody.class));
+    }
+
+    @Test
+    public void uploadFile_smallFile_usesPutObject() throws Exception {
+        Path source = newTempFile();
+        Files.write(source, randomBytes(PART_SIZE));
+        when(s3.putObject(any(PutObjectRequest.class), any(AsyncRequestBody.class)))
+            .thenReturn(CompletableFuture.completedFuture(PutObjectResponse.builder().build()));
+
+        tm.uploadFile(u -> u.putObjectRequest(p -> p.bucket("bucket").key("key"))
+                            .source(source))
+          .completionFuture()
+          .join();
+
+        verify(s3).putObject(any(PutObjectRequest.class), any(AsyncRequestBody.class));
+        verify(s3, never()).createMultipartUpload(any(CreateMultipartUploadRequest.class));
+    }
+
+    /**
+     * Answers GetObject requests for the given object as S3 would, honoring the Range header.
+     */
+    private static Answer<CompletableFuture<GetObjectResponse>> rangedGetObject(byte[] object) {
+        return rangedGetObject(object, AsyncRequestBody::fromBytes);
+    }
+
+    private static Answer<CompletableFuture<GetObjectResponse>> rangedGetObject(
+        byte[] object, Function<byte[], SdkPublisher<ByteBuffer>> bodyPublisher) {
+
+        return invocation -> {
+            GetObjectRequest request = invocation.getArgumentAt(0, GetObjectRequest.class);
+            AsyncResponseTransformer<GetObjectResponse, GetObjectResponse> responseTransformer =
+                invocation.getArgumentAt(1, AsyncResponseTransformer.class);
+
+            int start = 0;
+            int end = object.length - 1;
+            GetObjectResponse.Builder response = GetObjectResponse.builder().eTag("etag");
+            if (request.range() != null) {
+                if (object.length == 0) {
+                    return CompletableFutureUtils.failedFuture(S3Exception.builder().statusCode(416).build());
+                }
+                String[] range = request.range().substring("bytes=".length()).split("-");
+                start = Integer.parseInt(range[0]);
+                end = Math.min(Integer.parseInt(range[1]), object.length - 1);
+                response.contentRange("bytes " + start + "-" + end + "/" + object.length);
+            }
+
+            byte[] body = new byte[end - start + 1];
+            System.arraycopy(object, start, body, 0, body.length);
+
+            CompletableFuture<GetObjectResponse> cf = responseTransformer.prepare();
+            responseTransformer.onResponse(response.contentLength((long) body.length).build());
+            responseTransformer.onStream(bodyPublisher.apply(body));
+            return cf;
+        };
+    }
+
+    /**
+     * Publishes the body in chunks that are views of pooled Netty buffers, as the Netty client does with pooled response
+     * buffers enabled.
+     */
+    private static SdkPublisher<ByteBuffer> pooledChunks(byte[] body, List<ByteBuf> allocatedBuffers) {
+        List<ByteBuffer> chunks = new ArrayList<>();
+        for (int offset = 0; offset < body.length; offset += POOLED_CHUNK_SIZE) {
+            int length = Math.min(POOLED_CHUNK_SIZE, body.length - offset);
+            ByteBuf buffer = PooledByteBufAllocator.DEFAULT.directBuffer(length);
+            buffer.writeBytes(body, offset, length);
+            allocatedBuffers.add(buffer);
+            chunks.add(PooledByteBuffers.register(buffer.nioBuffer(), buffer::release));
+        }
+        return SdkPublisher.adapt(Flowable.fromIterable(chunks));
+    }
+
+    private static byte[] readAll(AsyncRequestBody body) {
+        List<ByteBuffer> buffers = Flowable.fromPublisher(body).toList().blockingGet();
+        return concat(buffers.stream().map(BinaryUtils::copyBytesFrom).toArray(byte[][]::new));
+    }
+
+    private static byte[] concat(byte[]... arrays) {
+        int length = 0;
+        for (byte[] array : arrays) {
+            length += array.length;
+        }
+        byte[] result = new byte[length];
+        int position = 0;
+        for (byte[] array : arrays) {
+            System.arraycopy(array, 0, result, position, array.length);
+            position += array.length;
+        }
+        return result;
+    }
+
+    private Path newTempFile() {
+        return fs.getPath("/", UUID.randomUUID().toString());
+    }
+
+    private static byte[] randomBytes(long size) {
+        byte[] bytes = new byte[Math.toIntExact(size)];
+        ThreadLocalRandom.current().nextBytes(bytes);
+        return bytes;
+    }
+}
@@ -18,8 +18,10 @@ package software.amazon.awssdk.transfer.s3.internal;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
+import static software.amazon.awssdk.transfer.s3.internal.TransferConfigurationOption.DOWNLOAD_DIRECTORY_MAX_CONCURRENT_DOWNLOADS;
 import static software.amazon.awssdk.transfer.s3.internal.TransferConfigurationOption.EXECUTOR;
 import static software.amazon.awssdk.transfer.s3.internal.TransferConfigurationOption.UPLOAD_DIRECTORY_FOLLOW_SYMBOLIC_LINKS;
+import static software.amazon.awssdk.transfer.s3.internal.TransferConfigurationOption.UPLOAD_DIRECTORY_MAX_CONCURRENT_UPLOADS;
 import static software.amazon.awssdk.transfer.s3.internal.TransferConfigurationOption.UPLOAD_DIRECTORY_MAX_DEPTH;
 import static software.amazon.awssdk.transfer.s3.internal.TransferConfigurationOption.UPLOAD_DIRECTORY_RECURSIVE;
 
@@ -27,6 +29,8 @@ import java.nio.file.Paths;
 import java.util.concurrent.ExecutorService;
 import org.junit.Test;
 import org.mockito.Mockito;
+import software.amazon.awssdk.transfer.s3.DownloadDirectoryOverrideConfiguration;
+import software.amazon.awssdk.transfer.s3.DownloadDirectoryRequest;
 import software.amazon.awssdk.transfer.s3.UploadDirectoryOverrideConfiguration;
 import software.amazon.awssdk.transfer.s3.UploadDirectoryRequest;
 
@@ -76,12 +80,31 @@ public class TransferManagerConfigurationTest {
         assertThat(transferManagerConfiguration.resolveUploadDirectoryFollowSymbolicLinks(uploadDirectoryRequest)).isTrue();
     }
 
+    @Test
+    public void resolveMaxConcurrentDownloads_requestOverride_requestOverrideShouldTakePrecedence() {
+        transferManagerConfiguration =
+            TransferManagerConfiguration.builder()
+                                        .downloadDirectoryConfiguration(DownloadDirectoryOverrideConfiguration.builder()
+                                                                                                              .maxConcurrentDownloads(1)
+                                                                                                              .build())
+                                        .build();
+        DownloadDirectoryRequest downloadDirectoryRequest = DownloadDirectoryRequest.builder()
+                                                                                    .bucket("bucket")
+                                                                                    .destinationDirectory(Paths.get("."))
+                                                                                    .overrideConfiguration(o -> o.maxConcurrentDownloads(2))
+                                                                                    .build();
+        assertThat(transferManagerConfiguration.resolveDownloadDirectoryMaxConcurrentDownloads(downloadDirectoryRequest))
+            .isEqualTo(2);
+    }
+
     @Test
     public void noOverride_shouldUseDefaults() {
         transferManagerConfiguration = TransferManagerConfiguration.builder().build();
         assertThat(transferManagerConfiguration.option(UPLOAD_DIRECTORY_FOLLOW_SYMBOLIC_LINKS)).isFalse();
         assertThat(transferManagerConfiguration.option(UPLOAD_DIRECTORY_MAX_DEPTH)).isEqualTo(Integer.MAX_VALUE);
         assertThat(transferManagerConfiguration.option(UPLOAD_DIRECTORY_RECURSIVE)).isTrue();
+        assertThat(transferManagerConfiguration.option(UPLOAD_DIRECTORY_MAX_CONCURRENT_UPLOADS)).isEqualTo(100);
+        assertThat(transferManagerConfiguration.option(DOWNLOAD_DIRECTORY_MAX_CONCURRENT_DOWNLOADS)).isEqualTo(100);
         assertThat(transferManagerConfiguration.option(EXECUTOR)).isNotNull();
     }
 
@@ -19,6 +19,10 @@ import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.Matchers.any;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import com.google.common.jimfs.Jimfs;
@@ -30,7 +34,10 @@ import java.nio.file.Paths;
 import java.util.List;
 import java.util.concurrent.CancellationException;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
 import java.util.function.Function;
@@ -95,6 +102,7 @@ public class UploadDirectoryHelperTest {
                                                                         .bucket("bucket")
                                                                         .build());
 
+        verify(singleUploadFunction, timeout(1000).times(2)).apply(any(UploadFileRequest.class));
         uploadDirectory.completionFuture().cancel(true);
 
         assertThatThrownBy(() -> future.get(1, TimeUnit.SECONDS))
@@ -104,6 +112,63 @@ public class UploadDirectoryHelperTest {
             .isInstanceOf(CancellationException.class);
     }
 
+    @Test
+    public void uploadDirectory_maxConcurrentUploads_shouldOnlyStartUploadsAsOthersComplete() throws Exception {
+        CompletableFuture<CompletedFileUpload> future = new CompletableFuture<>();
+        CompletableFuture<CompletedFileUpload> future2 = new CompletableFuture<>();
+
+        when(singleUploadFunction.apply(any(UploadFileRequest.class))).thenReturn(newUpload(future), newUpload(future2));
+
+        DirectoryUpload uploadDirectory =
+            uploadDirectoryHelper.uploadDirectory(UploadDirectoryRequest.builder()
+                                                                        .sourceDirectory(directory)
+                                                                        .bucket("bucket")
+                                                                        .overrideConfiguration(o -> o.maxConcurrentUploads(1))
+                                                                        .build());
+
+        verify(singleUploadFunction, timeout(1000).times(1)).apply(any(UploadFileRequest.class));
+        Thread.sleep(100);
+        verify(singleUploadFunction, times(1)).apply(any(UploadFileRequest.class));
+
+        future.complete(CompletedFileUpload.builder().response(PutObjectResponse.builder().build()).build());
+        verify(singleUploadFunction, timeout(1000).times(2)).apply(any(UploadFileRequest.class));
+        assertThat(uploadDirectory.completionFuture()).isNotDone();
+
+        future2.complete(CompletedFileUpload.builder().response(PutObjectResponse.builder().build()).build());
+        assertThat(uploadDirectory.completionFuture().get(5, TimeUnit.SECONDS).failedTransfers()).isEmpty();
+    }
+
+    @Test
+    public void uploadDirectory_cancelBeforeTraversal_shouldNotStartUploads() throws Exception {
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            CountDownLatch latch = new CountDownLatch(1);
+            executor.execute(() -> {
+                try {
+                    latch.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            });
+            UploadDirectoryHelper helper = new UploadDirectoryHelper(TransferManagerConfiguration.builder()
+                                                                                                 .executor(executor)
+                                                                                                 .build(),
+                                                                     singleUploadFunction);
+
+            DirectoryUpload uploadDirectory = helper.uploadDirectory(UploadDirectoryRequest.builder()
+                                                                                           .sourceDirectory(directory)
+                                                                                           .bucket("bucket")
+                                                                                           .build());
+            uploadDirectory.completionFuture().cancel(true);
+            latch.countDown();
+
+            executor.submit(() -> { }).get(5, TimeUnit.SECONDS);
+            verify(singleUploadFunction, never()).apply(any(UploadFileRequest.class));
+        } finally {
+            executor.shutdown();
+        }
+    }
+
     @Test
     public void uploadDirectory_allUploadsSucceed_failedUploadsShouldBeEmpty() throws ExecutionException, InterruptedException,
                                                                                     TimeoutException {
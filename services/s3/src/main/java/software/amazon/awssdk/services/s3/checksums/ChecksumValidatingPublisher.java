@@ -27,6 +27,7 @@ import software.amazon.awssdk.core.async.SdkPublisher;
 import software.amazon.awssdk.core.checksums.SdkChecksum;
 import software.amazon.awssdk.core.exception.RetryableException;
 import software.amazon.awssdk.utils.BinaryUtils;
+import software.amazon.awssdk.utils.async.PooledByteBuffers;
 
 @SdkInternalApi
 public final class ChecksumValidatingPublisher implements SdkPublisher<ByteBuffer> {
@@ -88,6 +89,9 @@ public final class ChecksumValidatingPublisher implements SdkPublisher<ByteBuffe
             lengthRead += buf.length;
 
             if (lengthRead >= strippedLength) {
+                // Only a copy of this buffer is published, so it can be released now
+                PooledByteBuffers.release(byteBuffer);
+
                 // Incoming buffer contains at least a bit of the checksum
                 // Code below covers both cases of the incoming buffer relative to checksum border
                 // a) buffer starts before checksum border and extends into checksum
@@ -166,6 +170,7 @@ public final class ChecksumValidatingPublisher implements SdkPublisher<ByteBuffe
         @Override
         public void onNext(ByteBuffer byteBuffer) {
             byte[] buf = BinaryUtils.copyBytesFrom(byteBuffer);
+            PooledByteBuffers.release(byteBuffer);
             wrapped.onNext(ByteBuffer.wrap(Arrays.copyOfRange(buf, 0, buf.length - CHECKSUM_SIZE)));
         }
 
@@ -0,0 +1,57 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+
+package software.amazon.awssdk.services.s3.internal.handlers;
+
+import java.nio.ByteBuffer;
+import java.util.Optional;
+import org.reactivestreams.Publisher;
+import software.amazon.awssdk.annotations.SdkInternalApi;
+import software.amazon.awssdk.core.interceptor.Context;
+import software.amazon.awssdk.core.interceptor.ExecutionAttribute;
+import software.amazon.awssdk.core.interceptor.ExecutionAttributes;
+import software.amazon.awssdk.core.interceptor.ExecutionInterceptor;
+import software.amazon.awssdk.services.s3.internal.listing.ContentsExtractingPublisher;
+import software.amazon.awssdk.services.s3.internal.listing.ListObjectsV2ContentsSink;
+import software.amazon.awssdk.services.s3.model.EncodingType;
+import software.amazon.awssdk.services.s3.model.ListObjectsV2Request;
+
+/**
+ * Streams the objects of an async ListObjectsV2 response to a {@link ListObjectsV2ContentsSink} while the body is being
+ * received, for requests that carry a sink in {@link #CONTENTS_SINK}. The {@code <Contents>} elements are removed from the
+ * body, so the unmarshalled response only contains the rest of the page.
+ */
+@SdkInternalApi
+public final class ListObjectsV2ContentsInterceptor implements ExecutionInterceptor {
+
+    public static final ExecutionAttribute<ListObjectsV2ContentsSink> CONTENTS_SINK =
+        new ExecutionAttribute<>("ListObjectsV2ContentsSink");
+
+    @Override
+    public Optional<Publisher<ByteBuffer>> modifyAsyncHttpResponseContent(Context.ModifyHttpResponse context,
+                                                                          ExecutionAttributes executionAttributes) {
+        ListObjectsV2ContentsSink sink = executionAttributes.getAttribute(CONTENTS_SINK);
+        if (sink != null
+            && context.request() instanceof ListObjectsV2Request
+            && context.httpResponse().isSuccessful()
+            && context.responsePublisher().isPresent()) {
+            boolean urlEncodedKeys = ((ListObjectsV2Request) context.request()).encodingType() == EncodingType.URL;
+            return Optional.of(new ContentsExtractingPublisher(context.responsePublisher().get(), sink, urlEncodedKeys));
+        }
+
+        return context.responsePublisher();
+    }
+}
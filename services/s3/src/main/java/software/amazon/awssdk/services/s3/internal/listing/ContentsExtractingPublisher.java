@@ -0,0 +1,282 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+
+package software.amazon.awssdk.services.s3.internal.listing;
+
+import static software.amazon.awssdk.utils.http.SdkHttpUtils.urlDecode;
+
+import java.io.ByteArrayInputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collections;
+import org.reactivestreams.Publisher;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+import software.amazon.awssdk.annotations.SdkInternalApi;
+import software.amazon.awssdk.core.async.SdkPublisher;
+import software.amazon.awssdk.core.exception.SdkClientException;
+import software.amazon.awssdk.core.protocol.MarshallLocation;
+import software.amazon.awssdk.core.protocol.MarshallingType;
+import software.amazon.awssdk.core.traits.TimestampFormatTrait;
+import software.amazon.awssdk.protocols.core.StringToInstant;
+import software.amazon.awssdk.protocols.core.StringToValueConverter;
+import software.amazon.awssdk.protocols.query.unmarshall.XmlCursor;
+import software.amazon.awssdk.protocols.query.unmarshall.XmlStreamingUnmarshaller;
+import software.amazon.awssdk.services.s3.model.S3Object;
+import software.amazon.awssdk.utils.async.PooledByteBuffers;
+
+/**
+ * Wraps the body of a ListObjectsV2 response and removes the {@code <Contents>} elements from it as chunks arrive. Each
+ * element is unmarshalled into an {@link S3Object} and handed to a {@link ListObjectsV2ContentsSink}, while the rest of the
+ * document (continuation token, common prefixes, etc.) is passed on to be unmarshalled as usual.
+ *
+ * <p>Chunks are only requested from the HTTP client when both the downstream subscriber and the sink have demand, so a
+ * slow consumer of the objects applies backpressure to the connection.
+ *
+ * <p>The rest of the document is copied into new buffers, so each chunk received from the HTTP client is released with
+ * {@link PooledByteBuffers#release(ByteBuffer)} as soon as it has been scanned.
+ */
+@SdkInternalApi
+public final class ContentsExtractingPublisher implements SdkPublisher<ByteBuffer> {
+
+    private static final byte[] CONTENTS_START = "<Contents>".getBytes(StandardCharsets.UTF_8);
+    private static final byte[] CONTENTS_END = "</Contents>".getBytes(StandardCharsets.UTF_8);
+
+    private static final XmlStreamingUnmarshaller S3_OBJECT_UNMARSHALLER =
+        XmlStreamingUnmarshaller.builder()
+                                .simpleTypeUnmarshaller(MarshallingType.STRING, StringToValueConverter.TO_STRING)
+                                .simpleTypeUnmarshaller(MarshallingType.INTEGER, StringToValueConverter.TO_INTEGER)
+                                .simpleTypeUnmarshaller(MarshallingType.LONG, StringToValueConverter.TO_LONG)
+                                .simpleTypeUnmarshaller(MarshallingType.BOOLEAN, StringToValueConverter.TO_BOOLEAN)
+                                .simpleTypeUnmarshaller(MarshallingType.INSTANT, StringToInstant.create(
+                                    Collections.singletonMap(MarshallLocation.PAYLOAD, TimestampFormatTrait.Format.ISO_8601)))
+                                .unmarshallAttributes(true)
+                                .matchListMembersByName(true)
+                                .build();
+
+    private final Publisher<ByteBuffer> publisher;
+    private final ListObjectsV2ContentsSink sink;
+    private final boolean urlEncodedKeys;
+
+    public ContentsExtractingPublisher(Publisher<ByteBuffer> publisher,
+                                       ListObjectsV2ContentsSink sink,
+                                       boolean urlEncodedKeys) {
+        this.publisher = publisher;
+        this.sink = sink;
+        this.urlEncodedKeys = urlEncodedKeys;
+    }
+
+    @Override
+    public void subscribe(Subscriber<? super ByteBuffer> s) {
+        publisher.subscribe(new ContentsExtractingSubscriber(s));
+    }
+
+    private final class ContentsExtractingSubscriber implements Subscriber<ByteBuffer>, Subscription {
+
+        private final Subscriber<? super ByteBuffer> wrapped;
+
+        private Subscription upstream;
+
+        // Guarded by this
+        private long downstreamDemand;
+        private boolean chunkInFlight;
+        private boolean done;
+
+        // Only accessed from onNext/onComplete, which are serialized
+        private final GrowableBytes envelope = new GrowableBytes(1024);
+        private final GrowableBytes element = new GrowableBytes(512);
+        private boolean inContents;
+        private int matched;
+        private int objectIndex;
+
+        ContentsExtractingSubscriber(Subscriber<? super ByteBuffer> wrapped) {
+            this.wrapped = wrapped;
+        }
+
+        @Override
+        public void onSubscribe(Subscription s) {
+            this.upstream = s;
+            sink.onAttempt(this::pullMore);
+            wrapped.onSubscribe(this);
+        }
+
+        @Override
+        public void request(long n) {
+            synchronized (this) {
+                downstreamDemand = n == Long.MAX_VALUE ? Long.MAX_VALUE : Math.min(Long.MAX_VALUE - n, downstreamDemand) + n;
+            }
+            pullMore();
+        }
+
+        @Override
+        public void cancel() {
+            synchronized (this) {
+                done = true;
+            }
+            upstream.cancel();
+        }
+
+        private void pullMore() {
+            synchronized (this) {
+                if (done || chunkInFlight || downstreamDemand == 0 || !sink.wantsMore()) {
+                    return;
+                }
+                chunkInFlight = true;
+            }
+            upstream.request(1);
+        }
+
+        @Override
+        public void onNext(ByteBuffer byteBuffer) {
+            synchronized (this) {
+                if (done) {
+                    // A chunk that was in flight when the subscription was cancelled
+                    PooledByteBuffers.release(byteBuffer);
+                    return;
+                }
+            }
+
+            envelope.reset();
+            try {
+                while (byteBuffer.hasRemaining()) {
+                    scan(byteBuffer.get());
+                }
+            } finally {
+                PooledByteBuffers.release(byteBuffer);
+            }
+
+            boolean emit = envelope.size() > 0;
+            synchronized (this) {
+                chunkInFlight = false;
+                if (emit && downstreamDemand != Long.MAX_VALUE) {
+                    downstreamDemand--;
+                }
+            }
+            if (emit) {
+                wrapped.onNext(ByteBuffer.wrap(envelope.toByteArray()));
+            }
+            sink.onChunkProcessed();
+            pullMore();
+        }
+
+        /**
+         * Routes a byte either to the document passed downstream or to the {@code <Contents>} element being read. The tag
+         * patterns only contain {@code '<'} as their first byte, so a mismatch can restart matching without backtracking.
+         */
+        private void scan(byte b) {
+            if (!inContents) {
+                if (b == CONTENTS_START[matched]) {
+                    if (++matched == CONTENTS_START.length) {
+                        inContents = true;
+                        matched = 0;
+                        element.reset();
+                        element.write(CONTENTS_START, 0, CONTENTS_START.length);
+                    }
+                    return;
+                }
+                envelope.write(CONTENTS_START, 0, matched);
+                matched = 0;
+                if (b == '<') {
+                    matched = 1;
+                } else {
+                    envelope.write(b);
+                }
+                return;
+            }
+
+            element.write(b);
+            if (b == CONTENTS_END[matched]) {
+                if (++matched == CONTENTS_END.length) {
+                    inContents = false;
+                    matched = 0;
+                    sink.onObject(objectIndex++, unmarshallObject());
+                }
+            } else {
+                matched = b == '<' ? 1 : 0;
+            }
+        }
+
+        private S3Object unmarshallObject() {
+            S3Object object;
+            try (XmlCursor cursor = XmlCursor.create(new ByteArrayInputStream(element.bytes, 0, element.size()))) {
+                object = S3_OBJECT_UNMARSHALLER.unmarshall(cursor, S3Object.builder());
+            }
+            return urlEncodedKeys ? object.toBuilder().key(urlDecode(object.key())).build() : object;
+        }
+
+        @Override
+        public void onError(Throwable t) {
+            synchronized (this) {
+                done = true;
+            }
+            wrapped.onError(t);
+        }
+
+        @Override
+        public void onComplete() {
+            synchronized (this) {
+                done = true;
+            }
+            if (inContents) {
+                wrapped.onError(SdkClientException.create("The ListObjectsV2 response ended inside a Contents element."));
+            } else {
+                wrapped.onComplete();
+            }
+        }
+    }
+
+    /**
+     * A minimal unsynchronized byte buffer that exposes its backing array, so completed elements can be parsed in place.
+     */
+    private static final class GrowableBytes {
+        private byte[] bytes;
+        private int size;
+
+        GrowableBytes(int initialCapacity) {
+            this.bytes = new byte[initialCapacity];
+        }
+
+        void write(byte b) {
+            ensureCapacity(size + 1);
+            bytes[size++] = b;
+        }
+
+        void write(byte[] source, int offset, int length) {
+            ensureCapacity(size + length);
+            System.arraycopy(source, offset, bytes, size, length);
+            size += length;
+        }
+
+        int size() {
+            return size;
+        }
+
+        void reset() {
+            size = 0;
+        }
+
+        byte[] toByteArray() {
+            return Arrays.copyOf(bytes, size);
+        }
+
+        private void ensureCapacity(int capacity) {
+            if (capacity > bytes.length) {
+                bytes = Arrays.copyOf(bytes, Math.max(capacity, bytes.length * 2));
+            }
+        }
+    }
+}
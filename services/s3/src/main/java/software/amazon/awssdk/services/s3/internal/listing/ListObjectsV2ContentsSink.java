@@ -0,0 +1,53 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+
+package software.amazon.awssdk.services.s3.internal.listing;
+
+import software.amazon.awssdk.annotations.SdkInternalApi;
+import software.amazon.awssdk.services.s3.model.S3Object;
+
+/**
+ * Receives the {@link S3Object}s of a ListObjectsV2 page as they are extracted from the response body by
+ * {@link ContentsExtractingPublisher}, and decides when the next chunk of the body should be read.
+ */
+@SdkInternalApi
+public interface ListObjectsV2ContentsSink {
+
+    /**
+     * Called when an attempt starts reading the body of a page. A retried attempt reads the page from the start again.
+     *
+     * @param pullMore Reads the next chunk of the body, if one is not already being read.
+     */
+    void onAttempt(Runnable pullMore);
+
+    /**
+     * @return True if the sink can accept the objects of another chunk of the body.
+     */
+    boolean wantsMore();
+
+    /**
+     * Called for each object in the page, in order.
+     *
+     * @param indexInPage Position of the object in the page, which identifies objects already seen by a previous attempt.
+     * @param object The object.
+     */
+    void onObject(int indexInPage, S3Object object);
+
+    /**
+     * Called after all the objects in a chunk of the body have been passed to {@link #onObject(int, S3Object)}.
+     */
+    void onChunkProcessed();
+}
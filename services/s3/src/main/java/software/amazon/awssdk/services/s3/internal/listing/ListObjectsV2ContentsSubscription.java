@@ -0,0 +1,187 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+
+package software.amazon.awssdk.services.s3.internal.listing;
+
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+import software.amazon.awssdk.annotations.SdkInternalApi;
+import software.amazon.awssdk.awscore.AwsRequestOverrideConfiguration;
+import software.amazon.awssdk.services.s3.S3AsyncClient;
+import software.amazon.awssdk.services.s3.internal.handlers.ListObjectsV2ContentsInterceptor;
+import software.amazon.awssdk.services.s3.model.ListObjectsV2Request;
+import software.amazon.awssdk.services.s3.model.ListObjectsV2Response;
+import software.amazon.awssdk.services.s3.model.S3Object;
+
+/**
+ * Subscription of a single subscriber to the objects of a ListObjectsV2 listing. Pages are requested one at a time, and the
+ * objects of each page are delivered while its body is being read. At most one chunk of a page body is buffered beyond the
+ * subscriber's demand.
+ */
+@SdkInternalApi
+public final class ListObjectsV2ContentsSubscription implements Subscription, ListObjectsV2ContentsSink {
+
+    private static final Runnable NO_OP = () -> {
+    };
+
+    private final S3AsyncClient client;
+    private final Subscriber<? super S3Object> subscriber;
+    private final Queue<S3Object> buffer = new ConcurrentLinkedQueue<>();
+    private final AtomicLong demand = new AtomicLong();
+    private final AtomicInteger wip = new AtomicInteger();
+
+    private volatile Runnable pullMore = NO_OP;
+    private volatile CompletableFuture<ListObjectsV2Response> pageFuture;
+    private volatile int deliveredInPage;
+    private volatile boolean cancelled;
+    private volatile boolean listingComplete;
+    private volatile Throwable error;
+
+    public ListObjectsV2ContentsSubscription(S3AsyncClient client, Subscriber<? super S3Object> subscriber) {
+        this.client = client;
+        this.subscriber = subscriber;
+    }
+
+    /**
+     * Signals {@code onSubscribe} and starts listing from the given request.
+     */
+    public void start(ListObjectsV2Request firstRequest) {
+        subscriber.onSubscribe(this);
+        fetchPage(firstRequest);
+    }
+
+    private void fetchPage(ListObjectsV2Request request) {
+        deliveredInPage = 0;
+        pullMore = NO_OP;
+
+        AwsRequestOverrideConfiguration overrideConfiguration =
+            request.overrideConfiguration()
+                   .map(AwsRequestOverrideConfiguration::toBuilder)
+                   .orElseGet(AwsRequestOverrideConfiguration::builder)
+                   .putExecutionAttribute(ListObjectsV2ContentsInterceptor.CONTENTS_SINK, this)
+                   .build();
+
+        pageFuture = client.listObjectsV2(request.toBuilder().overrideConfiguration(overrideConfiguration).build());
+        pageFuture.whenComplete((response, t) -> onPageComplete(request, response, t));
+    }
+
+    private void onPageComplete(ListObjectsV2Request request, ListObjectsV2Response response, Throwable t) {
+        if (cancelled) {
+            return;
+        }
+        if (t != null) {
+            error = t instanceof CompletionException && t.getCause() != null ? t.getCause() : t;
+        } else if (Boolean.TRUE.equals(response.isTruncated()) && response.nextContinuationToken() != null) {
+            fetchPage(request.toBuilder().continuationToken(response.nextContinuationToken()).build());
+            return;
+        } else {
+            listingComplete = true;
+        }
+        drain();
+    }
+
+    @Override
+    public void request(long n) {
+        if (n <= 0) {
+            cancel();
+            subscriber.onError(new IllegalArgumentException("Demand must be positive"));
+            return;
+        }
+        demand.getAndUpdate(current -> Long.MAX_VALUE - current < n ? Long.MAX_VALUE : current + n);
+        drain();
+    }
+
+    @Override
+    public void cancel() {
+        cancelled = true;
+        buffer.clear();
+        CompletableFuture<ListObjectsV2Response> future = pageFuture;
+        if (future != null) {
+            future.cancel(true);
+        }
+    }
+
+    @Override
+    public void onAttempt(Runnable pullMore) {
+        this.pullMore = pullMore;
+    }
+
+    @Override
+    public boolean wantsMore() {
+        return !cancelled && buffer.isEmpty();
+    }
+
+    @Override
+    public void onObject(int indexInPage, S3Object object) {
+        // A retried attempt starts the page over; skip the objects that were already delivered.
+        if (indexInPage >= deliveredInPage) {
+            buffer.add(object);
+            deliveredInPage = indexInPage + 1;
+        }
+    }
+
+    @Override
+    public void onChunkProcessed() {
+        drain();
+    }
+
+    private void drain() {
+        if (wip.getAndIncrement() != 0) {
+            return;
+        }
+        int missed = 1;
+        do {
+            long requested = demand.get();
+            long emitted = 0;
+            while (emitted != requested && !cancelled) {
+                S3Object object = buffer.poll();
+                if (object == null) {
+                    break;
+                }
+                subscriber.onNext(object);
+                emitted++;
+            }
+            if (emitted > 0 && requested != Long.MAX_VALUE) {
+                demand.addAndGet(-emitted);
+            }
+
+            if (cancelled) {
+                return;
+            }
+            if (buffer.isEmpty()) {
+                Throwable t = error;
+                if (t != null) {
+                    cancelled = true;
+                    subscriber.onError(t);
+                    return;
+                }
+                if (listingComplete) {
+                    cancelled = true;
+                    subscriber.onComplete();
+                    return;
+                }
+                pullMore.run();
+            }
+            missed = wip.addAndGet(-missed);
+        } while (missed != 0);
+    }
+}
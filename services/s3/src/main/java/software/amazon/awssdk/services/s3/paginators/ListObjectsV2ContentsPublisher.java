@@ -0,0 +1,78 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+
+package software.amazon.awssdk.services.s3.paginators;
+
+import org.reactivestreams.Subscriber;
+import software.amazon.awssdk.annotations.SdkPublicApi;
+import software.amazon.awssdk.annotations.ThreadSafe;
+import software.amazon.awssdk.core.async.SdkPublisher;
+import software.amazon.awssdk.services.s3.S3AsyncClient;
+import software.amazon.awssdk.services.s3.internal.listing.ListObjectsV2ContentsSubscription;
+import software.amazon.awssdk.services.s3.model.ListObjectsV2Request;
+import software.amazon.awssdk.services.s3.model.S3Object;
+import software.amazon.awssdk.utils.Validate;
+
+/**
+ * Publishes the {@link S3Object}s of a ListObjectsV2 listing as they are parsed from each page's response body, instead of
+ * after the whole page has been received and unmarshalled.
+ *
+ * <p>This is an opt-in alternative to {@code S3AsyncClient.listObjectsV2Paginator(request).contents()}. The paginator
+ * buffers every page (up to 1000 keys) before publishing any of its objects; this publisher emits each object as soon as its
+ * {@code <Contents>} element has arrived and only reads more of the body while the subscriber has demand, which reduces the
+ * time to the first key and the memory held per page in flight.
+ *
+ * <p>Pages are fetched sequentially, following the continuation token. If a page request is retried, objects that were
+ * already published from that page are not published again. The common prefixes of the listing are not published. Because a
+ * slow subscriber holds the page's connection open, any API call timeouts configured on the client must allow for it.
+ *
+ * <p>Each call to {@link #subscribe(Subscriber)} starts a new listing from the original request.
+ *
+ * <pre>
+ * {@code
+ * ListObjectsV2ContentsPublisher.create(s3AsyncClient, ListObjectsV2Request.builder().bucket("bucket").build())
+ *                               .subscribe(s3Object -> System.out.println(s3Object.key()));
+ * }
+ * </pre>
+ */
+@SdkPublicApi
+@ThreadSafe
+public final class ListObjectsV2ContentsPublisher implements SdkPublisher<S3Object> {
+
+    private final S3AsyncClient client;
+    private final ListObjectsV2Request firstRequest;
+
+    private ListObjectsV2ContentsPublisher(S3AsyncClient client, ListObjectsV2Request firstRequest) {
+        this.client = Validate.paramNotNull(client, "client");
+        this.firstRequest = Validate.paramNotNull(firstRequest, "firstRequest");
+    }
+
+    /**
+     * Creates a publisher of the objects listed by the given request.
+     *
+     * @param client The client used to list the objects.
+     * @param firstRequest The request for the first page.
+     * @return A new publisher.
+     */
+    public static ListObjectsV2ContentsPublisher create(S3AsyncClient client, ListObjectsV2Request firstRequest) {
+        return new ListObjectsV2ContentsPublisher(client, firstRequest);
+    }
+
+    @Override
+    public void subscribe(Subscriber<? super S3Object> subscriber) {
+        new ListObjectsV2ContentsSubscription(client, subscriber).start(firstRequest);
+    }
+}
@@ -0,0 +1,197 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+
+package software.amazon.awssdk.services.s3.functionaltests;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.aResponse;
+import static com.github.tomakehurst.wiremock.client.WireMock.absent;
+import static com.github.tomakehurst.wiremock.client.WireMock.equalTo;
+import static com.github.tomakehurst.wiremock.client.WireMock.get;
+import static com.github.tomakehurst.wiremock.client.WireMock.stubFor;
+import static com.github.tomakehurst.wiremock.client.WireMock.urlPathEqualTo;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.github.tomakehurst.wiremock.junit.WireMockRule;
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+import software.amazon.awssdk.auth.credentials.AwsBasicCredentials;
+import software.amazon.awssdk.auth.credentials.StaticCredentialsProvider;
+import software.amazon.awssdk.regions.Region;
+import software.amazon.awssdk.services.s3.S3AsyncClient;
+import software.amazon.awssdk.services.s3.S3Configuration;
+import software.amazon.awssdk.services.s3.model.EncodingType;
+import software.amazon.awssdk.services.s3.model.ListObjectsV2Request;
+import software.amazon.awssdk.services.s3.model.S3Object;
+import software.amazon.awssdk.services.s3.paginators.ListObjectsV2ContentsPublisher;
+
+public class ListObjectsV2ContentsPublisherTest {
+
+    @Rule
+    public WireMockRule wireMock = new WireMockRule(0);
+
+    private S3AsyncClient s3;
+
+    @Before
+    public void setup() {
+        s3 = S3AsyncClient.builder()
+                          .region(Region.US_EAST_1)
+                          .endpointOverride(URI.create("http://localhost:" + wireMock.port()))
+                          .serviceConfiguration(S3Configuration.builder().pathStyleAccessEnabled(true).build())
+                          .credentialsProvider(StaticCredentialsProvider.create(AwsBasicCredentials.create("key", "secret")))
+                          .build();
+    }
+
+    @After
+    public void tearDown() {
+        s3.close();
+    }
+
+    @Test
+    public void multiplePages_publishesObjectsOfAllPagesInOrder() throws Exception {
+        stubFor(get(urlPathEqualTo("/bucket/"))
+                    .withQueryParam("continuation-token", absent())
+                    .willReturn(aResponse().withStatus(200).withBody(page(true, "token", "key1", "key2"))));
+        stubFor(get(urlPathEqualTo("/bucket/"))
+                    .withQueryParam("continuation-token", equalTo("token"))
+                    .willReturn(aResponse().withStatus(200).withBody(page(false, null, "key3"))));
+
+        List<S3Object> objects = new ArrayList<>();
+        ListObjectsV2ContentsPublisher.create(s3, ListObjectsV2Request.builder().bucket("bucket").build())
+                                      .subscribe(objects::add)
+                                      .get(10, TimeUnit.SECONDS);
+
+        assertThat(objects).extracting(S3Object::key).containsExactly("key1", "key2", "key3");
+        assertThat(objects.get(0).size()).isEqualTo(10L);
+        assertThat(objects.get(0).eTag()).isEqualTo("\"etag-key1\"");
+        assertThat(objects.get(0).lastModified()).isNotNull();
+    }
+
+    @Test
+    public void emptyListing_completesWithoutObjects() throws Exception {
+        stubFor(get(urlPathEqualTo("/bucket/"))
+                    .willReturn(aResponse().withStatus(200).withBody(page(false, null))));
+
+        List<S3Object> objects = new ArrayList<>();
+        ListObjectsV2ContentsPublisher.create(s3, ListObjectsV2Request.builder().bucket("bucket").build())
+                                      .subscribe(objects::add)
+                                      .get(10, TimeUnit.SECONDS);
+
+        assertThat(objects).isEmpty();
+    }
+
+    @Test
+    public void urlEncodedKeys_areDecoded() throws Exception {
+        stubFor(get(urlPathEqualTo("/bucket/"))
+                    .willReturn(aResponse().withStatus(200).withBody(page(false, null, "foo+%3D+bar"))));
+
+        List<S3Object> objects = new ArrayList<>();
+        ListObjectsV2ContentsPublisher.create(s3, ListObjectsV2Request.builder()
+                                                                      .bucket("bucket")
+                                                                      .encodingType(EncodingType.URL)
+                                                                      .build())
+                                      .subscribe(objects::add)
+                                      .get(10, TimeUnit.SECONDS);
+
+        assertThat(objects).extracting(S3Object::key).containsExactly("foo = bar");
+    }
+
+    @Test
+    public void requestOne_deliversOnlyRequestedObjects() throws Exception {
+        stubFor(get(urlPathEqualTo("/bucket/"))
+                    .willReturn(aResponse().withStatus(200).withBody(page(false, null, "key1", "key2", "key3"))));
+
+        List<S3Object> objects = new CopyOnWriteArrayList<>();
+        CompletableFuture<Subscription> subscription = new CompletableFuture<>();
+        CompletableFuture<Void> completed = new CompletableFuture<>();
+        ListObjectsV2ContentsPublisher.create(s3, ListObjectsV2Request.builder().bucket("bucket").build())
+                                      .subscribe(new Subscriber<S3Object>() {
+                                          @Override
+                                          public void onSubscribe(Subscription s) {
+                                              subscription.complete(s);
+                                          }
+
+                                          @Override
+                                          public void onNext(S3Object s3Object) {
+                                              objects.add(s3Object);
+                                          }
+
+                                          @Override
+                                          public void onError(Throwable t) {
+                                              completed.completeExceptionally(t);
+                                          }
+
+                                          @Override
+                                          public void onComplete() {
+                                              completed.complete(null);
+                                          }
+                                      });
+
+        subscription.get(10, TimeUnit.SECONDS).request(1);
+        waitForObjects(objects, 1);
+        // The whole page has been received by now, but the other objects are held back until they are requested.
+        Thread.sleep(500);
+        assertThat(objects).extracting(S3Object::key).containsExactly("key1");
+        assertThat(completed).isNotDone();
+
+        subscription.get().request(1);
+        waitForObjects(objects, 2);
+        assertThat(objects).extracting(S3Object::key).containsExactly("key1", "key2");
+        assertThat(completed).isNotDone();
+
+        subscription.get().request(1);
+        completed.get(10, TimeUnit.SECONDS);
+        assertThat(objects).extracting(S3Object::key).containsExactly("key1", "key2", "key3");
+    }
+
+    private static void waitForObjects(List<S3Object> objects, int count) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (objects.size() < count && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+    }
+
+    private static String page(boolean truncated, String nextToken, String... keys) {
+        StringBuilder body = new StringBuilder("<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n"
+                                               + "<ListBucketResult xmlns=\"http://s3.amazonaws.com/doc/2006-03-01/\">\n"
+                                               + "<Name>bucket</Name>\n"
+                                               + "<KeyCount>" + keys.length + "</KeyCount>\n"
+                                               + "<MaxKeys>1000</MaxKeys>\n"
+                                               + "<IsTruncated>" + truncated + "</IsTruncated>\n");
+        for (String key : keys) {
+            body.append("<Contents>")
+                .append("<Key>").append(key).append("</Key>")
+                .append("<LastModified>2021-01-01T00:00:00.000Z</LastModified>")
+                .append("<ETag>&quot;etag-").append(key).append("&quot;</ETag>")
+                .append("<Size>10</Size>")
+                .append("<StorageClass>STANDARD</StorageClass>")
+                .append("</Contents>\n");
+        }
+        if (nextToken != null) {
+            body.append("<NextContinuationToken>").append(nextToken).append("</NextContinuationToken>\n");
+        }
+        return body.append("</ListBucketResult>").toString();
+    }
+}
@@ -0,0 +1,86 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+
+package software.amazon.awssdk.services.s3.internal.handlers;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+import java.nio.ByteBuffer;
+import java.util.Optional;
+import org.junit.Test;
+import org.reactivestreams.Publisher;
+import software.amazon.awssdk.core.SdkRequest;
+import software.amazon.awssdk.core.interceptor.Context;
+import software.amazon.awssdk.core.interceptor.ExecutionAttributes;
+import software.amazon.awssdk.http.SdkHttpResponse;
+import software.amazon.awssdk.services.s3.internal.listing.ContentsExtractingPublisher;
+import software.amazon.awssdk.services.s3.internal.listing.ListObjectsV2ContentsSink;
+import software.amazon.awssdk.services.s3.model.GetObjectRequest;
+import software.amazon.awssdk.services.s3.model.ListObjectsRequest;
+import software.amazon.awssdk.services.s3.model.ListObjectsV2Request;
+import software.amazon.awssdk.services.s3.utils.InterceptorTestUtils;
+
+public class ListObjectsV2ContentsInterceptorTest {
+
+    private final ListObjectsV2ContentsInterceptor interceptor = new ListObjectsV2ContentsInterceptor();
+
+    @Test
+    public void modifyAsyncHttpResponseContent_listObjectsV2WithSink_shouldExtractContents() {
+        Context.ModifyHttpResponse context = context(ListObjectsV2Request.builder().bucket("bucket").build(), 200);
+
+        Optional<Publisher<ByteBuffer>> publisher =
+            interceptor.modifyAsyncHttpResponseContent(context, executionAttributesWithSink());
+
+        assertThat(publisher.get()).isExactlyInstanceOf(ContentsExtractingPublisher.class);
+    }
+
+    @Test
+    public void modifyAsyncHttpResponseContent_listObjectsV1WithSink_shouldNotModify() {
+        assertNotModified(context(ListObjectsRequest.builder().bucket("bucket").build(), 200), executionAttributesWithSink());
+    }
+
+    @Test
+    public void modifyAsyncHttpResponseContent_getObjectWithSink_shouldNotModify() {
+        assertNotModified(context(GetObjectRequest.builder().bucket("bucket").key("key").build(), 200),
+                          executionAttributesWithSink());
+    }
+
+    @Test
+    public void modifyAsyncHttpResponseContent_listObjectsV2WithoutSink_shouldNotModify() {
+        assertNotModified(context(ListObjectsV2Request.builder().bucket("bucket").build(), 200), new ExecutionAttributes());
+    }
+
+    @Test
+    public void modifyAsyncHttpResponseContent_errorResponse_shouldNotModify() {
+        assertNotModified(context(ListObjectsV2Request.builder().bucket("bucket").build(), 404), executionAttributesWithSink());
+    }
+
+    private void assertNotModified(Context.ModifyHttpResponse context, ExecutionAttributes executionAttributes) {
+        Optional<Publisher<ByteBuffer>> publisher = interceptor.modifyAsyncHttpResponseContent(context, executionAttributes);
+
+        assertThat(publisher).isEqualTo(context.responsePublisher());
+    }
+
+    private static Context.ModifyHttpResponse context(SdkRequest request, int statusCode) {
+        return InterceptorTestUtils.modifyHttpResponse(request, SdkHttpResponse.builder().statusCode(statusCode).build());
+    }
+
+    private static ExecutionAttributes executionAttributesWithSink() {
+        return new ExecutionAttributes().putAttribute(ListObjectsV2ContentsInterceptor.CONTENTS_SINK,
+                                                      mock(ListObjectsV2ContentsSink.class));
+    }
+}
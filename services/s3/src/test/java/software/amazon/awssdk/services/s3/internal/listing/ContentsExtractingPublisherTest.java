@@ -0,0 +1,236 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+
+package software.amazon.awssdk.services.s3.internal.listing;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.Test;
+import org.reactivestreams.Publisher;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+import software.amazon.awssdk.services.s3.model.S3Object;
+import software.amazon.awssdk.utils.BinaryUtils;
+import software.amazon.awssdk.utils.async.PooledByteBuffers;
+
+public class ContentsExtractingPublisherTest {
+
+    @Test
+    public void contentsElement_isHandedToSinkBeforeBodyCompletes() {
+        TestPublisher body = new TestPublisher();
+        RecordingSink sink = new RecordingSink();
+        RecordingSubscriber downstream = new RecordingSubscriber();
+        new ContentsExtractingPublisher(body, sink, false).subscribe(downstream);
+        downstream.subscription.request(Long.MAX_VALUE);
+
+        body.send("<ListBucketResult><Name>bucket</Name><Contents><Key>key1</Key><Size>1</Size></Contents><Conte");
+
+        assertThat(sink.objects).extracting(S3Object::key).containsExactly("key1");
+        assertThat(sink.objects.get(0).size()).isEqualTo(1L);
+        assertThat(downstream.completed).isFalse();
+
+        body.send("nts><Key>key2</Key></Contents><IsTruncated>false</IsTruncated></ListBucketResult>");
+        body.complete();
+
+        assertThat(sink.objects).extracting(S3Object::key).containsExactly("key1", "key2");
+        assertThat(sink.chunksProcessed).isEqualTo(2);
+        assertThat(downstream.completed).isTrue();
+        assertThat(downstream.body()).isEqualTo("<ListBucketResult><Name>bucket</Name><IsTruncated>false</IsTruncated>"
+                                                + "</ListBucketResult>");
+    }
+
+    @Test
+    public void sinkWithoutRoom_doesNotRequestChunksUntilItPullsMore() {
+        TestPublisher body = new TestPublisher();
+        RecordingSink sink = new RecordingSink();
+        sink.wantsMore = false;
+        RecordingSubscriber downstream = new RecordingSubscriber();
+        new ContentsExtractingPublisher(body, sink, false).subscribe(downstream);
+
+        downstream.subscription.request(Long.MAX_VALUE);
+        assertThat(body.requested).isZero();
+
+        sink.wantsMore = true;
+        sink.pullMore.run();
+        assertThat(body.requested).isEqualTo(1);
+    }
+
+    @Test
+    public void noDownstreamDemand_doesNotRequestChunks() {
+        TestPublisher body = new TestPublisher();
+        RecordingSink sink = new RecordingSink();
+        RecordingSubscriber downstream = new RecordingSubscriber();
+        new ContentsExtractingPublisher(body, sink, false).subscribe(downstream);
+
+        sink.pullMore.run();
+        assertThat(body.requested).isZero();
+
+        downstream.subscription.request(1);
+        assertThat(body.requested).isEqualTo(1);
+    }
+
+    @Test
+    public void oneChunkIsRequestedAtATime() {
+        TestPublisher body = new TestPublisher();
+        RecordingSink sink = new RecordingSink();
+        RecordingSubscriber downstream = new RecordingSubscriber();
+        new ContentsExtractingPublisher(body, sink, false).subscribe(downstream);
+
+        downstream.subscription.request(Long.MAX_VALUE);
+        downstream.subscription.request(Long.MAX_VALUE);
+        sink.pullMore.run();
+        assertThat(body.requested).isEqualTo(1);
+
+        body.send("<ListBucketResult>");
+        assertThat(body.requested).isEqualTo(2);
+    }
+
+    @Test
+    public void chunks_areReleasedOnceScanned() {
+        TestPublisher body = new TestPublisher();
+        RecordingSink sink = new RecordingSink();
+        RecordingSubscriber downstream = new RecordingSubscriber();
+        new ContentsExtractingPublisher(body, sink, false).subscribe(downstream);
+        downstream.subscription.request(Long.MAX_VALUE);
+        AtomicInteger releases = new AtomicInteger();
+
+        body.send(pooled("<ListBucketResult><Contents><Key>key1</Key></Contents>", releases));
+        body.send(pooled("</ListBucketResult>", releases));
+        body.complete();
+
+        assertThat(releases.get()).isEqualTo(2);
+        assertThat(sink.objects).extracting(S3Object::key).containsExactly("key1");
+        assertThat(downstream.body()).isEqualTo("<ListBucketResult></ListBucketResult>");
+    }
+
+    @Test
+    public void chunkAfterCancel_isReleasedWithoutBeingScanned() {
+        TestPublisher body = new TestPublisher();
+        RecordingSink sink = new RecordingSink();
+        RecordingSubscriber downstream = new RecordingSubscriber();
+        new ContentsExtractingPublisher(body, sink, false).subscribe(downstream);
+        downstream.subscription.request(Long.MAX_VALUE);
+        AtomicInteger releases = new AtomicInteger();
+
+        downstream.subscription.cancel();
+        body.send(pooled("<ListBucketResult><Contents><Key>key1</Key></Contents>", releases));
+
+        assertThat(releases.get()).isEqualTo(1);
+        assertThat(sink.objects).isEmpty();
+        assertThat(sink.chunksProcessed).isZero();
+    }
+
+    private static ByteBuffer pooled(String chunk, AtomicInteger releases) {
+        return PooledByteBuffers.register(ByteBuffer.wrap(chunk.getBytes(UTF_8)), releases::incrementAndGet);
+    }
+
+    private static final class TestPublisher implements Publisher<ByteBuffer> {
+        private Subscriber<? super ByteBuffer> subscriber;
+        private long requested;
+
+        @Override
+        public void subscribe(Subscriber<? super ByteBuffer> s) {
+            this.subscriber = s;
+            s.onSubscribe(new Subscription() {
+                @Override
+                public void request(long n) {
+                    requested += n;
+                }
+
+                @Override
+                public void cancel() {
+                }
+            });
+        }
+
+        void send(String chunk) {
+            send(ByteBuffer.wrap(chunk.getBytes(UTF_8)));
+        }
+
+        void send(ByteBuffer chunk) {
+            subscriber.onNext(chunk);
+        }
+
+        void complete() {
+            subscriber.onComplete();
+        }
+    }
+
+    private static final class RecordingSink implements ListObjectsV2ContentsSink {
+        private final List<S3Object> objects = new ArrayList<>();
+        private Runnable pullMore;
+        private boolean wantsMore = true;
+        private int chunksProcessed;
+
+        @Override
+        public void onAttempt(Runnable pullMore) {
+            this.pullMore = pullMore;
+        }
+
+        @Override
+        public boolean wantsMore() {
+            return wantsMore;
+        }
+
+        @Override
+        public void onObject(int indexInPage, S3Object object) {
+            assertThat(indexInPage).isEqualTo(objects.size());
+            objects.add(object);
+        }
+
+        @Override
+        public void onChunkProcessed() {
+            chunksProcessed++;
+        }
+    }
+
+    private static final class RecordingSubscriber implements Subscriber<ByteBuffer> {
+        private final ByteArrayOutputStream body = new ByteArrayOutputStream();
+        private Subscription subscription;
+        private boolean completed;
+
+        @Override
+        public void onSubscribe(Subscription s) {
+            this.subscription = s;
+        }
+
+        @Override
+        public void onNext(ByteBuffer byteBuffer) {
+            byte[] bytes = BinaryUtils.copyBytesFrom(byteBuffer);
+            body.write(bytes, 0, bytes.length);
+        }
+
+        @Override
+        public void onError(Throwable t) {
+            throw new AssertionError(t);
+        }
+
+        @Override
+        public void onComplete() {
+            completed = true;
+        }
+
+        String body() {
+            return new String(body.toByteArray(), UTF_8);
+        }
+    }
+}
@@ -0,0 +1,231 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+
+package software.amazon.awssdk.services.sqs.batchmanager;
+
+import java.time.Duration;
+import java.util.Objects;
+import java.util.Optional;
+import software.amazon.awssdk.annotations.SdkPublicApi;
+import software.amazon.awssdk.utils.ToString;
+import software.amazon.awssdk.utils.Validate;
+import software.amazon.awssdk.utils.builder.CopyableBuilder;
+import software.amazon.awssdk.utils.builder.ToCopyableBuilder;
+
+/**
+ * Configuration options for {@link SqsAsyncBatchManager}. All values are optional, and not specifying them will use the SDK
+ * default values.
+ *
+ * <p>Use {@link #builder()} to create a set of options.
+ */
+@SdkPublicApi
+public final class BatchOverrideConfiguration implements ToCopyableBuilder<BatchOverrideConfiguration.Builder,
+    BatchOverrideConfiguration> {
+
+    /**
+     * The maximum number of entries of a batch request allowed by SQS.
+     */
+    private static final int MAX_BATCH_SIZE = 10;
+
+    private final Integer maxBatchSize;
+    private final Integer maxBatchPayloadSizeInBytes;
+    private final Duration sendRequestFrequency;
+
+    private BatchOverrideConfiguration(DefaultBuilder builder) {
+        this.maxBatchSize = Validate.isPositiveOrNull(builder.maxBatchSize, "maxBatchSize");
+        Validate.isTrue(maxBatchSize == null || maxBatchSize <= MAX_BATCH_SIZE,
+                        "maxBatchSize must not be greater than %d", MAX_BATCH_SIZE);
+        this.maxBatchPayloadSizeInBytes = Validate.isPositiveOrNull(builder.maxBatchPayloadSizeInBytes,
+                                                                    "maxBatchPayloadSizeInBytes");
+        this.sendRequestFrequency = Validate.isPositiveOrNull(builder.sendRequestFrequency, "sendRequestFrequency");
+    }
+
+    /**
+     * @return the maximum number of requests that are sent in one batch
+     * @see Builder#maxBatchSize(Integer)
+     */
+    public Optional<Integer> maxBatchSize() {
+        return Optional.ofNullable(maxBatchSize);
+    }
+
+    /**
+     * @return the maximum total size of the messages that are sent in one batch
+     * @see Builder#maxBatchPayloadSizeInBytes(Integer)
+     */
+    public Optional<Integer> maxBatchPayloadSizeInBytes() {
+        return Optional.ofNullable(maxBatchPayloadSizeInBytes);
+    }
+
+    /**
+     * @return the maximum time a request is buffered before its batch is sent
+     * @see Builder#sendRequestFrequency(Duration)
+     */
+    public Optional<Duration> sendRequestFrequency() {
+        return Optional.ofNullable(sendRequestFrequency);
+    }
+
+    @Override
+    public Builder toBuilder() {
+        return new DefaultBuilder(this);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+
+        BatchOverrideConfiguration that = (BatchOverrideConfiguration) o;
+
+        if (!Objects.equals(maxBatchSize, that.maxBatchSize)) {
+            return false;
+        }
+        if (!Objects.equals(maxBatchPayloadSizeInBytes, that.maxBatchPayloadSizeInBytes)) {
+            return false;
+        }
+        return Objects.equals(sendRequestFrequency, that.sendRequestFrequency);
+    }
+
+    @Override
+    public int hashCode() {
+        int result = maxBatchSize != null ? maxBatchSize.hashCode() : 0;
+        result = 31 * result + (maxBatchPayloadSizeInBytes != null ? maxBatchPayloadSizeInBytes.hashCode() : 0);
+        result = 31 * result + (sendRequestFrequency != null ? sendRequestFrequency.hashCode() : 0);
+        return result;
+    }
+
+    @Override
+    public String toString() {
+        return ToString.builder("BatchOverrideConfiguration")
+                       .add("maxBatchSize", maxBatchSize)
+                       .add("maxBatchPayloadSizeInBytes", maxBatchPayloadSizeInBytes)
+                       .add("sendRequestFrequency", sendRequestFrequency)
+                       .build();
+    }
+
+    public static Builder builder() {
+        return new DefaultBuilder();
+    }
+
+    public static Class<? extends Builder> serializableBuilderClass() {
+        return DefaultBuilder.class;
+    }
+
+    public interface Builder extends CopyableBuilder<Builder, BatchOverrideConfiguration> {
+
+        /**
+         * Specify the maximum number of requests that are sent in one batch. A batch is sent as soon as it has this many
+         * requests.
+         *
+         * <p>
+         * Default to 10, which is also the largest batch that SQS accepts.
+         *
+         * @param maxBatchSize the maximum batch size, between 1 and 10
+         * @return This builder for method chaining.
+         */
+        Builder maxBatchSize(Integer maxBatchSize);
+
+        /**
+         * Specify the maximum total size of the message bodies and message attributes that are sent in one batch. A batch
+         * is sent before a message is added that would make it exceed this size. Only applies to batches of messages that
+         * are sent.
+         *
+         * <p>
+         * Default to 262,144 bytes (256 KiB), which is also the largest payload of a batch that SQS accepts.
+         *
+         * @param maxBatchPayloadSizeInBytes the maximum payload size of a batch
+         * @return This builder for method chaining.
+         */
+        Builder maxBatchPayloadSizeInBytes(Integer maxBatchPayloadSizeInBytes);
+
+        /**
+         * Specify the maximum time a request is buffered before its batch is sent, even if the batch is not full. Longer
+         * times lead to fuller batches and fewer requests to SQS, at the cost of a higher latency of each request.
+         *
+         * <p>
+         * Default to 200 milliseconds.
+         *
+         * @param sendRequestFrequency the maximum time a request is buffered
+         * @return This builder for method chaining.
+         */
+        Builder sendRequestFrequency(Duration sendRequestFrequency);
+    }
+
+    private static final class DefaultBuilder implements Builder {
+        private Integer maxBatchSize;
+        private Integer maxBatchPayloadSizeInBytes;
+        private Duration sendRequestFrequency;
+
+        private DefaultBuilder() {
+        }
+
+        private DefaultBuilder(BatchOverrideConfiguration configuration) {
+            this.maxBatchSize = configuration.maxBatchSize;
+            this.maxBatchPayloadSizeInBytes = configuration.maxBatchPayloadSizeInBytes;
+            this.sendRequestFrequency = configuration.sendRequestFrequency;
+        }
+
+        @Override
+        public Builder maxBatchSize(Integer maxBatchSize) {
+            this.maxBatchSize = maxBatchSize;
+            return this;
+        }
+
+        public Integer getMaxBatchSize() {
+            return maxBatchSize;
+        }
+
+        public void setMaxBatchSize(Integer maxBatchSize) {
+            maxBatchSize(maxBatchSize);
+        }
+
+        @Override
+        public Builder maxBatchPayloadSizeInBytes(Integer maxBatchPayloadSizeInBytes) {
+            this.maxBatchPayloadSizeInBytes = maxBatchPayloadSizeInBytes;
+            return this;
+        }
+
+        public Integer getMaxBatchPayloadSizeInBytes() {
+            return maxBatchPayloadSizeInBytes;
+        }
+
+        public void setMaxBatchPayloadSizeInBytes(Integer maxBatchPayloadSizeInBytes) {
+            maxBatchPayloadSizeInBytes(maxBatchPayloadSizeInBytes);
+        }
+
+        @Override
+        public Builder sendRequestFrequency(Duration sendRequestFrequency) {
+            this.sendRequestFrequency = sendRequestFrequency;
+            return this;
+        }
+
+        public Duration getSendRequestFrequency() {
+            return sendRequestFrequency;
+        }
+
+        public void setSendRequestFrequency(Duration sendRequestFrequency) {
+            sendRequestFrequency(sendRequestFrequency);
+        }
+
+        @Override
+        public BatchOverrideConfiguration build() {
+            return new BatchOverrideConfiguration(this);
+        }
+    }
+}
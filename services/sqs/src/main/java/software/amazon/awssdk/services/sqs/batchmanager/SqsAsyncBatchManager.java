@@ -0,0 +1,175 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+
+package software.amazon.awssdk.services.sqs.batchmanager;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.function.Consumer;
+import software.amazon.awssdk.annotations.SdkPublicApi;
+import software.amazon.awssdk.annotations.ThreadSafe;
+import software.amazon.awssdk.services.sqs.SqsAsyncClient;
+import software.amazon.awssdk.services.sqs.internal.batchmanager.DefaultSqsAsyncBatchManager;
+import software.amazon.awssdk.services.sqs.model.ChangeMessageVisibilityRequest;
+import software.amazon.awssdk.services.sqs.model.ChangeMessageVisibilityResponse;
+import software.amazon.awssdk.services.sqs.model.DeleteMessageRequest;
+import software.amazon.awssdk.services.sqs.model.DeleteMessageResponse;
+import software.amazon.awssdk.services.sqs.model.SendMessageRequest;
+import software.amazon.awssdk.services.sqs.model.SendMessageResponse;
+import software.amazon.awssdk.utils.SdkAutoCloseable;
+
+/**
+ * Sends SendMessage, DeleteMessage and ChangeMessageVisibility requests to SQS in batches. Requests for the same queue are
+ * buffered and sent together as one SendMessageBatch, DeleteMessageBatch or ChangeMessageVisibilityBatch request once the
+ * batch is full, or once the first request of the batch has been buffered for the configured send request frequency. The
+ * future of each request is completed with the result of its own entry of the batch.
+ *
+ * <p>Requests that have an override configuration are not batched, since a batch request has only one override
+ * configuration; they are sent with the client as they are. Messages of a FIFO queue that are sent in different batches
+ * may be delivered to SQS in a different order, so messages that need to keep their order should be sent with the client.
+ *
+ * <p>
+ * <b>Usage Example:</b>
+ * <pre>
+ * {@code
+ * SqsAsyncBatchManager batchManager = SqsAsyncBatchManager.builder()
+ *                                                         .client(sqsAsyncClient)
+ *                                                         .build();
+ * CompletableFuture<SendMessageResponse> response =
+ *     batchManager.sendMessage(r -> r.queueUrl(queueUrl).messageBody("message"));
+ * }
+ * </pre>
+ *
+ * <p>Closing the batch manager sends the requests that are still buffered. It does not close the client.
+ */
+@SdkPublicApi
+@ThreadSafe
+public interface SqsAsyncBatchManager extends SdkAutoCloseable {
+
+    /**
+     * Buffers a message to be sent in a SendMessageBatch request.
+     *
+     * @param request the request to send the message
+     * @return A future completed with the result of the message's entry of the batch.
+     */
+    CompletableFuture<SendMessageResponse> sendMessage(SendMessageRequest request);
+
+    /**
+     * This is a convenience method that creates an instance of the {@link SendMessageRequest} builder, avoiding the need to
+     * create one manually via {@link SendMessageRequest#builder()}.
+     *
+     * @see #sendMessage(SendMessageRequest)
+     */
+    default CompletableFuture<SendMessageResponse> sendMessage(Consumer<SendMessageRequest.Builder> request) {
+        return sendMessage(SendMessageRequest.builder().applyMutation(request).build());
+    }
+
+    /**
+     * Buffers a message to be deleted in a DeleteMessageBatch request.
+     *
+     * @param request the request to delete the message
+     * @return A future completed with the result of the message's entry of the batch.
+     */
+    CompletableFuture<DeleteMessageResponse> deleteMessage(DeleteMessageRequest request);
+
+    /**
+     * This is a convenience method that creates an instance of the {@link DeleteMessageRequest} builder, avoiding the need to
+     * create one manually via {@link DeleteMessageRequest#builder()}.
+     *
+     * @see #deleteMessage(DeleteMessageRequest)
+     */
+    default CompletableFuture<DeleteMessageResponse> deleteMessage(Consumer<DeleteMessageRequest.Builder> request) {
+        return deleteMessage(DeleteMessageRequest.builder().applyMutation(request).build());
+    }
+
+    /**
+     * Buffers a change of the visibility timeout of a message to be sent in a ChangeMessageVisibilityBatch request.
+     *
+     * @param request the request to change the visibility timeout of the message
+     * @return A future completed with the result of the message's entry of the batch.
+     */
+    CompletableFuture<ChangeMessageVisibilityResponse> changeMessageVisibility(ChangeMessageVisibilityRequest request);
+
+    /**
+     * This is a convenience method that creates an instance of the {@link ChangeMessageVisibilityRequest} builder, avoiding
+     * the need to create one manually via {@link ChangeMessageVisibilityRequest#builder()}.
+     *
+     * @see #changeMessageVisibility(ChangeMessageVisibilityRequest)
+     */
+    default CompletableFuture<ChangeMessageVisibilityResponse> changeMessageVisibility(
+        Consumer<ChangeMessageVisibilityRequest.Builder> request) {
+        return changeMessageVisibility(ChangeMessageVisibilityRequest.builder().applyMutation(request).build());
+    }
+
+    /**
+     * Creates a default builder for {@link SqsAsyncBatchManager}.
+     */
+    static Builder builder() {
+        return DefaultSqsAsyncBatchManager.builder();
+    }
+
+    /**
+     * The builder definition for a {@link SqsAsyncBatchManager}.
+     */
+    interface Builder {
+
+        /**
+         * The client that sends the batch requests. This is required. The client is not closed when the batch manager is
+         * closed.
+         *
+         * @param client the SQS client
+         * @return This builder for method chaining.
+         */
+        Builder client(SqsAsyncClient client);
+
+        /**
+         * The executor that sends batches that are not full once their send request frequency has elapsed. If not
+         * specified, the batch manager creates a single-threaded executor, which is shut down when the batch manager is
+         * closed. An executor specified here is not shut down when the batch manager is closed.
+         *
+         * @param scheduledExecutor the executor that schedules batches to be sent
+         * @return This builder for method chaining.
+         */
+        Builder scheduledExecutor(ScheduledExecutorService scheduledExecutor);
+
+        /**
+         * Configuration settings for how requests are batched.
+         *
+         * @param overrideConfiguration the batch configuration
+         * @return This builder for method chaining.
+         */
+        Builder overrideConfiguration(BatchOverrideConfiguration overrideConfiguration);
+
+        /**
+         * Similar to {@link #overrideConfiguration(BatchOverrideConfiguration)}, but takes a lambda to configure a new
+         * {@link BatchOverrideConfiguration.Builder}. This removes the need to call {@link BatchOverrideConfiguration#builder()}
+         * and {@link BatchOverrideConfiguration.Builder#build()}.
+         *
+         * @param overrideConfiguration the batch configuration
+         * @return This builder for method chaining.
+         */
+        default Builder overrideConfiguration(Consumer<BatchOverrideConfiguration.Builder> overrideConfiguration) {
+            return overrideConfiguration(BatchOverrideConfiguration.builder().applyMutation(overrideConfiguration).build());
+        }
+
+        /**
+         * Builds an instance of {@link SqsAsyncBatchManager} based on the configurations supplied to this builder.
+         *
+         * @return An initialized {@link SqsAsyncBatchManager}
+         */
+        SqsAsyncBatchManager build();
+    }
+}
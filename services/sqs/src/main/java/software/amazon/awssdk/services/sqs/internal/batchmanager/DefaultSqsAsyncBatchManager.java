@@ -0,0 +1,151 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+
+package software.amazon.awssdk.services.sqs.internal.batchmanager;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import software.amazon.awssdk.annotations.SdkInternalApi;
+import software.amazon.awssdk.services.sqs.SqsAsyncClient;
+import software.amazon.awssdk.services.sqs.batchmanager.BatchOverrideConfiguration;
+import software.amazon.awssdk.services.sqs.batchmanager.SqsAsyncBatchManager;
+import software.amazon.awssdk.services.sqs.model.ChangeMessageVisibilityBatchResponse;
+import software.amazon.awssdk.services.sqs.model.ChangeMessageVisibilityRequest;
+import software.amazon.awssdk.services.sqs.model.ChangeMessageVisibilityResponse;
+import software.amazon.awssdk.services.sqs.model.DeleteMessageBatchResponse;
+import software.amazon.awssdk.services.sqs.model.DeleteMessageRequest;
+import software.amazon.awssdk.services.sqs.model.DeleteMessageResponse;
+import software.amazon.awssdk.services.sqs.model.SendMessageBatchResponse;
+import software.amazon.awssdk.services.sqs.model.SendMessageRequest;
+import software.amazon.awssdk.services.sqs.model.SendMessageResponse;
+import software.amazon.awssdk.utils.ThreadFactoryBuilder;
+import software.amazon.awssdk.utils.Validate;
+
+@SdkInternalApi
+public final class DefaultSqsAsyncBatchManager implements SqsAsyncBatchManager {
+    private static final int DEFAULT_MAX_BATCH_SIZE = 10;
+    private static final int DEFAULT_MAX_BATCH_PAYLOAD_SIZE_IN_BYTES = 262_144;
+    private static final Duration DEFAULT_SEND_REQUEST_FREQUENCY = Duration.ofMillis(200);
+
+    private final SqsAsyncClient client;
+    private final ScheduledExecutorService scheduledExecutor;
+    private final boolean shutdownScheduledExecutor;
+    private final RequestBatcher<SendMessageRequest, SendMessageResponse, SendMessageBatchResponse> sendMessageBatcher;
+    private final RequestBatcher<DeleteMessageRequest, DeleteMessageResponse, DeleteMessageBatchResponse> deleteMessageBatcher;
+    private final RequestBatcher<ChangeMessageVisibilityRequest, ChangeMessageVisibilityResponse,
+        ChangeMessageVisibilityBatchResponse> changeMessageVisibilityBatcher;
+
+    private DefaultSqsAsyncBatchManager(DefaultBuilder builder) {
+        this.client = Validate.paramNotNull(builder.client, "client");
+
+        if (builder.scheduledExecutor != null) {
+            this.scheduledExecutor = builder.scheduledExecutor;
+            this.shutdownScheduledExecutor = false;
+        } else {
+            this.scheduledExecutor = Executors.newSingleThreadScheduledExecutor(
+                new ThreadFactoryBuilder().threadNamePrefix("sqs-batch-manager").daemonThreads(true).build());
+            this.shutdownScheduledExecutor = true;
+        }
+
+        BatchOverrideConfiguration configuration = builder.overrideConfiguration != null
+                                                   ? builder.overrideConfiguration
+                                                   : BatchOverrideConfiguration.builder().build();
+        int maxBatchSize = configuration.maxBatchSize().orElse(DEFAULT_MAX_BATCH_SIZE);
+        int maxBatchPayloadSize = configuration.maxBatchPayloadSizeInBytes().orElse(DEFAULT_MAX_BATCH_PAYLOAD_SIZE_IN_BYTES);
+        Duration sendRequestFrequency = configuration.sendRequestFrequency().orElse(DEFAULT_SEND_REQUEST_FREQUENCY);
+
+        this.sendMessageBatcher = new RequestBatcher<>(SqsBatchOperations.sendMessage(client), scheduledExecutor,
+                                                       maxBatchSize, maxBatchPayloadSize, sendRequestFrequency);
+        this.deleteMessageBatcher = new RequestBatcher<>(SqsBatchOperations.deleteMessage(client), scheduledExecutor,
+                                                         maxBatchSize, maxBatchPayloadSize, sendRequestFrequency);
+        this.changeMessageVisibilityBatcher = new RequestBatcher<>(SqsBatchOperations.changeMessageVisibility(client),
+                                                                   scheduledExecutor, maxBatchSize, maxBatchPayloadSize,
+                                                                   sendRequestFrequency);
+    }
+
+    public static Builder builder() {
+        return new DefaultBuilder();
+    }
+
+    @Override
+    public CompletableFuture<SendMessageResponse> sendMessage(SendMessageRequest request) {
+        // A batch request can only carry one override configuration, so requests with their own are sent on their own
+        if (request.overrideConfiguration().isPresent()) {
+            return client.sendMessage(request);
+        }
+        return sendMessageBatcher.add(request);
+    }
+
+    @Override
+    public CompletableFuture<DeleteMessageResponse> deleteMessage(DeleteMessageRequest request) {
+        if (request.overrideConfiguration().isPresent()) {
+            return client.deleteMessage(request);
+        }
+        return deleteMessageBatcher.add(request);
+    }
+
+    @Override
+    public CompletableFuture<ChangeMessageVisibilityResponse> changeMessageVisibility(ChangeMessageVisibilityRequest request) {
+        if (request.overrideConfiguration().isPresent()) {
+            return client.changeMessageVisibility(request);
+        }
+        return changeMessageVisibilityBatcher.add(request);
+    }
+
+    @Override
+    public void close() {
+        sendMessageBatcher.close();
+        deleteMessageBatcher.close();
+        changeMessageVisibilityBatcher.close();
+        if (shutdownScheduledExecutor) {
+            scheduledExecutor.shutdownNow();
+        }
+    }
+
+    private static final class DefaultBuilder implements Builder {
+        private SqsAsyncClient client;
+        private ScheduledExecutorService scheduledExecutor;
+        private BatchOverrideConfiguration overrideConfiguration;
+
+        private DefaultBuilder() {
+        }
+
+        @Override
+        public Builder client(SqsAsyncClient client) {
+            this.client = client;
+            return this;
+        }
+
+        @Override
+        public Builder scheduledExecutor(ScheduledExecutorService scheduledExecutor) {
+            this.scheduledExecutor = scheduledExecutor;
+            return this;
+        }
+
+        @Override
+        public Builder overrideConfiguration(BatchOverrideConfiguration overrideConfiguration) {
+            this.overrideConfiguration = overrideConfiguration;
+            return this;
+        }
+
+        @Override
+        public SqsAsyncBatchManager build() {
+            return new DefaultSqsAsyncBatchManager(this);
+        }
+    }
+}
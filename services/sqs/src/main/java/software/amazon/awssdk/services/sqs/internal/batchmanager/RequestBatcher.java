@@ -0,0 +1,216 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+
+package software.amazon.awssdk.services.sqs.internal.batchmanager;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import software.amazon.awssdk.annotations.SdkInternalApi;
+import software.amazon.awssdk.annotations.ThreadSafe;
+import software.amazon.awssdk.core.exception.SdkClientException;
+import software.amazon.awssdk.utils.CompletableFutureUtils;
+import software.amazon.awssdk.utils.SdkAutoCloseable;
+
+/**
+ * Buffers the requests of one batchable operation per queue and sends them as batch requests. A batch is sent as soon as it
+ * is full, before a request is added that would exceed its payload size, or once its first request has been buffered for
+ * the send request frequency.
+ *
+ * @param <RequestT> The type of the individual requests.
+ * @param <ResponseT> The type of the individual responses.
+ * @param <BatchResponseT> The type of the response of a batch request.
+ */
+@ThreadSafe
+@SdkInternalApi
+public final class RequestBatcher<RequestT, ResponseT, BatchResponseT> implements SdkAutoCloseable {
+    private final Operation<RequestT, ResponseT, BatchResponseT> operation;
+    private final ScheduledExecutorService scheduledExecutor;
+    private final int maxBatchSize;
+    private final long maxBatchPayloadSizeInBytes;
+    private final Duration sendRequestFrequency;
+
+    /**
+     * The batches that are being filled, by queue URL.
+     */
+    private final Map<String, Batch> batches = new HashMap<>();
+    private boolean closed;
+
+    public RequestBatcher(Operation<RequestT, ResponseT, BatchResponseT> operation,
+                          ScheduledExecutorService scheduledExecutor,
+                          int maxBatchSize,
+                          long maxBatchPayloadSizeInBytes,
+                          Duration sendRequestFrequency) {
+        this.operation = operation;
+        this.scheduledExecutor = scheduledExecutor;
+        this.maxBatchSize = maxBatchSize;
+        this.maxBatchPayloadSizeInBytes = maxBatchPayloadSizeInBytes;
+        this.sendRequestFrequency = sendRequestFrequency;
+    }
+
+    public CompletableFuture<ResponseT> add(RequestT request) {
+        String queueUrl = operation.queueUrl(request);
+        long payloadSize = operation.payloadSizeInBytes(request);
+        CompletableFuture<ResponseT> response = new CompletableFuture<>();
+
+        List<Batch> fullBatches = new ArrayList<>(2);
+        synchronized (this) {
+            if (closed) {
+                return CompletableFutureUtils.failedFuture(new IllegalStateException("The batch manager has been closed."));
+            }
+
+            Batch batch = batches.get(queueUrl);
+            if (batch != null && batch.payloadSize + payloadSize > maxBatchPayloadSizeInBytes) {
+                fullBatches.add(remove(batch));
+                batch = null;
+            }
+            if (batch == null) {
+                batch = new Batch(queueUrl);
+                batches.put(queueUrl, batch);
+                Batch newBatch = batch;
+                batch.scheduledSend = scheduledExecutor.schedule(() -> sendIfPending(newBatch),
+                                                                 sendRequestFrequency.toNanos(), TimeUnit.NANOSECONDS);
+            }
+
+            batch.add(request, payloadSize, response);
+            if (batch.requests.size() >= maxBatchSize || batch.payloadSize >= maxBatchPayloadSizeInBytes) {
+                fullBatches.add(remove(batch));
+            }
+        }
+
+        fullBatches.forEach(this::send);
+        return response;
+    }
+
+    /**
+     * Sends the buffered requests, and fails any request that is added afterwards.
+     */
+    @Override
+    public void close() {
+        List<Batch> pendingBatches;
+        synchronized (this) {
+            closed = true;
+            pendingBatches = new ArrayList<>(batches.values());
+            pendingBatches.forEach(this::remove);
+        }
+        pendingBatches.forEach(this::send);
+    }
+
+    private void sendIfPending(Batch batch) {
+        synchronized (this) {
+            if (batches.get(batch.queueUrl) != batch) {
+                // The batch was already sent because it was full.
+                return;
+            }
+            remove(batch);
+        }
+        send(batch);
+    }
+
+    private Batch remove(Batch batch) {
+        batches.remove(batch.queueUrl);
+        batch.scheduledSend.cancel(false);
+        return batch;
+    }
+
+    private void send(Batch batch) {
+        Map<String, RequestT> requestsById = new LinkedHashMap<>();
+        Map<String, CompletableFuture<ResponseT>> responsesById = new HashMap<>();
+        for (int i = 0; i < batch.requests.size(); i++) {
+            CompletableFuture<ResponseT> response = batch.responses.get(i);
+            // Requests that were cancelled while they were buffered are left out.
+            if (!response.isDone()) {
+                String id = String.valueOf(i);
+                requestsById.put(id, batch.requests.get(i));
+                responsesById.put(id, response);
+            }
+        }
+        if (requestsById.isEmpty()) {
+            return;
+        }
+
+        CompletableFuture<BatchResponseT> batchResponse;
+        try {
+            batchResponse = operation.sendBatch(batch.queueUrl, requestsById);
+        } catch (Throwable t) {
+            batchResponse = CompletableFutureUtils.failedFuture(t);
+        }
+
+        batchResponse.whenComplete((r, t) -> {
+            if (t != null) {
+                responsesById.values().forEach(response -> response.completeExceptionally(t));
+                return;
+            }
+
+            try {
+                operation.completeResponses(r, responsesById);
+            } catch (Throwable e) {
+                responsesById.values().forEach(response -> response.completeExceptionally(e));
+            }
+            responsesById.values().forEach(response -> response.completeExceptionally(
+                SdkClientException.create("The batch response did not contain a result for the request.")));
+        });
+    }
+
+    /**
+     * The operation-specific part of batching: how requests are grouped and sized, how a batch request is sent, and how its
+     * response is split into the responses of the individual requests.
+     */
+    public interface Operation<RequestT, ResponseT, BatchResponseT> {
+
+        String queueUrl(RequestT request);
+
+        /**
+         * @return The size that the request adds to the payload of a batch, which is limited by SQS.
+         */
+        long payloadSizeInBytes(RequestT request);
+
+        /**
+         * Sends the requests as one batch request, using the given IDs as the IDs of their entries.
+         */
+        CompletableFuture<BatchResponseT> sendBatch(String queueUrl, Map<String, RequestT> requestsById);
+
+        /**
+         * Completes the futures of the individual requests with the results of their entries in the batch response.
+         */
+        void completeResponses(BatchResponseT batchResponse, Map<String, CompletableFuture<ResponseT>> responsesById);
+    }
+
+    private final class Batch {
+        private final String queueUrl;
+        private final List<RequestT> requests = new ArrayList<>();
+        private final List<CompletableFuture<ResponseT>> responses = new ArrayList<>();
+        private long payloadSize;
+        private ScheduledFuture<?> scheduledSend;
+
+        private Batch(String queueUrl) {
+            this.queueUrl = queueUrl;
+        }
+
+        private void add(RequestT request, long requestPayloadSize, CompletableFuture<ResponseT> response) {
+            requests.add(request);
+            responses.add(response);
+            payloadSize += requestPayloadSize;
+        }
+    }
+}
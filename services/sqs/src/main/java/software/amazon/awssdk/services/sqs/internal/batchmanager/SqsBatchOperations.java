@@ -0,0 +1,286 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+
+package software.amazon.awssdk.services.sqs.internal.batchmanager;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import software.amazon.awssdk.annotations.SdkInternalApi;
+import software.amazon.awssdk.awscore.AwsRequestOverrideConfiguration;
+import software.amazon.awssdk.awscore.exception.AwsErrorDetails;
+import software.amazon.awssdk.core.ApiName;
+import software.amazon.awssdk.services.sqs.SqsAsyncClient;
+import software.amazon.awssdk.services.sqs.internal.batchmanager.RequestBatcher.Operation;
+import software.amazon.awssdk.services.sqs.model.BatchResultErrorEntry;
+import software.amazon.awssdk.services.sqs.model.ChangeMessageVisibilityBatchRequestEntry;
+import software.amazon.awssdk.services.sqs.model.ChangeMessageVisibilityBatchResponse;
+import software.amazon.awssdk.services.sqs.model.ChangeMessageVisibilityBatchResultEntry;
+import software.amazon.awssdk.services.sqs.model.ChangeMessageVisibilityRequest;
+import software.amazon.awssdk.services.sqs.model.ChangeMessageVisibilityResponse;
+import software.amazon.awssdk.services.sqs.model.DeleteMessageBatchRequestEntry;
+import software.amazon.awssdk.services.sqs.model.DeleteMessageBatchResponse;
+import software.amazon.awssdk.services.sqs.model.DeleteMessageBatchResultEntry;
+import software.amazon.awssdk.services.sqs.model.DeleteMessageRequest;
+import software.amazon.awssdk.services.sqs.model.DeleteMessageResponse;
+import software.amazon.awssdk.services.sqs.model.MessageAttributeValue;
+import software.amazon.awssdk.services.sqs.model.SendMessageBatchRequestEntry;
+import software.amazon.awssdk.services.sqs.model.SendMessageBatchResponse;
+import software.amazon.awssdk.services.sqs.model.SendMessageBatchResultEntry;
+import software.amazon.awssdk.services.sqs.model.SendMessageRequest;
+import software.amazon.awssdk.services.sqs.model.SendMessageResponse;
+import software.amazon.awssdk.services.sqs.model.SqsException;
+import software.amazon.awssdk.services.sqs.model.SqsResponse;
+
+/**
+ * The {@link Operation}s of the batchable SQS requests, which convert between the individual requests and responses and the
+ * entries of their batch requests and responses.
+ */
+@SdkInternalApi
+public final class SqsBatchOperations {
+    private static final ApiName API_NAME = ApiName.builder().name("hll").version("sqs-batch").build();
+    private static final Consumer<AwsRequestOverrideConfiguration.Builder> USER_AGENT = b -> b.addApiName(API_NAME);
+
+    private SqsBatchOperations() {
+    }
+
+    public static Operation<SendMessageRequest, SendMessageResponse, SendMessageBatchResponse> sendMessage(
+        SqsAsyncClient client) {
+        return new SendMessageOperation(client);
+    }
+
+    public static Operation<DeleteMessageRequest, DeleteMessageResponse, DeleteMessageBatchResponse> deleteMessage(
+        SqsAsyncClient client) {
+        return new DeleteMessageOperation(client);
+    }
+
+    public static Operation<ChangeMessageVisibilityRequest, ChangeMessageVisibilityResponse,
+        ChangeMessageVisibilityBatchResponse> changeMessageVisibility(SqsAsyncClient client) {
+        return new ChangeMessageVisibilityOperation(client);
+    }
+
+    private static final class SendMessageOperation
+        implements Operation<SendMessageRequest, SendMessageResponse, SendMessageBatchResponse> {
+        private final SqsAsyncClient client;
+
+        private SendMessageOperation(SqsAsyncClient client) {
+            this.client = client;
+        }
+
+        @Override
+        public String queueUrl(SendMessageRequest request) {
+            return request.queueUrl();
+        }
+
+        /**
+         * The size of a message as counted by SQS: its body and the names, types and values of its message attributes.
+         */
+        @Override
+        public long payloadSizeInBytes(SendMessageRequest request) {
+            long size = utf8Length(request.messageBody());
+            if (request.hasMessageAttributes()) {
+                for (Map.Entry<String, MessageAttributeValue> attribute : request.messageAttributes().entrySet()) {
+                    MessageAttributeValue value = attribute.getValue();
+                    size += utf8Length(attribute.getKey()) + utf8Length(value.dataType()) + utf8Length(value.stringValue());
+                    if (value.binaryValue() != null) {
+                        size += value.binaryValue().asByteBuffer().remaining();
+                    }
+                }
+            }
+            return size;
+        }
+
+        @Override
+        public CompletableFuture<SendMessageBatchResponse> sendBatch(String queueUrl,
+                                                                     Map<String, SendMessageRequest> requestsById) {
+            List<SendMessageBatchRequestEntry> entries =
+                requestsById.entrySet()
+                            .stream()
+                            .map(e -> SendMessageBatchRequestEntry.builder()
+                                                                  .id(e.getKey())
+                                                                  .messageBody(e.getValue().messageBody())
+                                                                  .delaySeconds(e.getValue().delaySeconds())
+                                                                  .messageAttributes(e.getValue().messageAttributes())
+                                                                  .messageSystemAttributesWithStrings(
+                                                                      e.getValue().messageSystemAttributesAsStrings())
+                                                                  .messageDeduplicationId(e.getValue().messageDeduplicationId())
+                                                                  .messageGroupId(e.getValue().messageGroupId())
+                                                                  .build())
+                            .collect(Collectors.toList());
+            return client.sendMessageBatch(r -> r.queueUrl(queueUrl).entries(entries).overrideConfiguration(USER_AGENT));
+        }
+
+        @Override
+        public void completeResponses(SendMessageBatchResponse batchResponse,
+                                      Map<String, CompletableFuture<SendMessageResponse>> responsesById) {
+            for (SendMessageBatchResultEntry entry : batchResponse.successful()) {
+                SendMessageResponse.Builder response = SendMessageResponse.builder()
+                                                                          .messageId(entry.messageId())
+                                                                          .md5OfMessageBody(entry.md5OfMessageBody())
+                                                                          .md5OfMessageAttributes(entry.md5OfMessageAttributes())
+                                                                          .md5OfMessageSystemAttributes(
+                                                                              entry.md5OfMessageSystemAttributes())
+                                                                          .sequenceNumber(entry.sequenceNumber());
+                copyMetadata(batchResponse, response);
+                complete(responsesById, entry.id(), response.build());
+            }
+            failEntries(batchResponse, batchResponse.failed(), responsesById);
+        }
+    }
+
+    private static final class DeleteMessageOperation
+        implements Operation<DeleteMessageRequest, DeleteMessageResponse, DeleteMessageBatchResponse> {
+        private final SqsAsyncClient client;
+
+        private DeleteMessageOperation(SqsAsyncClient client) {
+            this.client = client;
+        }
+
+        @Override
+        public String queueUrl(DeleteMessageRequest request) {
+            return request.queueUrl();
+        }
+
+        @Override
+        public long payloadSizeInBytes(DeleteMessageRequest request) {
+            return 0;
+        }
+
+        @Override
+        public CompletableFuture<DeleteMessageBatchResponse> sendBatch(String queueUrl,
+                                                                       Map<String, DeleteMessageRequest> requestsById) {
+            List<DeleteMessageBatchRequestEntry> entries =
+                requestsById.entrySet()
+                            .stream()
+                            .map(e -> DeleteMessageBatchRequestEntry.builder()
+                                                                    .id(e.getKey())
+                                                                    .receiptHandle(e.getValue().receiptHandle())
+                                                                    .build())
+                            .collect(Collectors.toList());
+            return client.deleteMessageBatch(r -> r.queueUrl(queueUrl).entries(entries).overrideConfiguration(USER_AGENT));
+        }
+
+        @Override
+        public void completeResponses(DeleteMessageBatchResponse batchResponse,
+                                      Map<String, CompletableFuture<DeleteMessageResponse>> responsesById) {
+            for (DeleteMessageBatchResultEntry entry : batchResponse.successful()) {
+                DeleteMessageResponse.Builder response = DeleteMessageResponse.builder();
+                copyMetadata(batchResponse, response);
+                complete(responsesById, entry.id(), response.build());
+            }
+            failEntries(batchResponse, batchResponse.failed(), responsesById);
+        }
+    }
+
+    private static final class ChangeMessageVisibilityOperation
+        implements Operation<ChangeMessageVisibilityRequest, ChangeMessageVisibilityResponse,
+        ChangeMessageVisibilityBatchResponse> {
+        private final SqsAsyncClient client;
+
+        private ChangeMessageVisibilityOperation(SqsAsyncClient client) {
+            this.client = client;
+        }
+
+        @Override
+        public String queueUrl(ChangeMessageVisibilityRequest request) {
+            return request.queueUrl();
+        }
+
+        @Override
+        public long payloadSizeInBytes(ChangeMessageVisibilityRequest request) {
+            return 0;
+        }
+
+        @Override
+        public CompletableFuture<ChangeMessageVisibilityBatchResponse> sendBatch(
+            String queueUrl, Map<String, ChangeMessageVisibilityRequest> requestsById) {
+            List<ChangeMessageVisibilityBatchRequestEntry> entries =
+                requestsById.entrySet()
+                            .stream()
+                            .map(e -> ChangeMessageVisibilityBatchRequestEntry.builder()
+                                                                              .id(e.getKey())
+                                                                              .receiptHandle(e.getValue().receiptHandle())
+                                                                              .visibilityTimeout(
+                                                                                  e.getValue().visibilityTimeout())
+                                                                              .build())
+                            .collect(Collectors.toList());
+            return client.changeMessageVisibilityBatch(r -> r.queueUrl(queueUrl)
+                                                             .entries(entries)
+                                                             .overrideConfiguration(USER_AGENT));
+        }
+
+        @Override
+        public void completeResponses(ChangeMessageVisibilityBatchResponse batchResponse,
+                                      Map<String, CompletableFuture<ChangeMessageVisibilityResponse>> responsesById) {
+            for (ChangeMessageVisibilityBatchResultEntry entry : batchResponse.successful()) {
+                ChangeMessageVisibilityResponse.Builder response = ChangeMessageVisibilityResponse.builder();
+                copyMetadata(batchResponse, response);
+                complete(responsesById, entry.id(), response.build());
+            }
+            failEntries(batchResponse, batchResponse.failed(), responsesById);
+        }
+    }
+
+    private static void copyMetadata(SqsResponse batchResponse, SqsResponse.Builder response) {
+        if (batchResponse.responseMetadata() != null) {
+            response.responseMetadata(batchResponse.responseMetadata());
+        }
+        response.sdkHttpResponse(batchResponse.sdkHttpResponse());
+    }
+
+    private static <ResponseT> void complete(Map<String, CompletableFuture<ResponseT>> responsesById,
+                                             String id,
+                                             ResponseT response) {
+        CompletableFuture<ResponseT> future = responsesById.get(id);
+        if (future != null) {
+            future.complete(response);
+        }
+    }
+
+    /**
+     * Fails the requests of the failed entries with the error of their entry, as if the request had been sent on its own.
+     */
+    private static void failEntries(SqsResponse batchResponse,
+                                    List<BatchResultErrorEntry> failedEntries,
+                                    Map<String, ? extends CompletableFuture<?>> responsesById) {
+        String requestId = batchResponse.responseMetadata() != null ? batchResponse.responseMetadata().requestId() : null;
+        for (BatchResultErrorEntry entry : failedEntries) {
+            CompletableFuture<?> future = responsesById.get(entry.id());
+            if (future != null) {
+                AwsErrorDetails errorDetails = AwsErrorDetails.builder()
+                                                              .errorCode(entry.code())
+                                                              .errorMessage(entry.message())
+                                                              .serviceName("Sqs")
+                                                              .sdkHttpResponse(batchResponse.sdkHttpResponse())
+                                                              .build();
+                future.completeExceptionally(SqsException.builder()
+                                                         .awsErrorDetails(errorDetails)
+                                                         .message(entry.message())
+                                                         .requestId(requestId)
+                                                         .statusCode(Boolean.TRUE.equals(entry.senderFault()) ? 400 : 500)
+                                                         .build());
+            }
+        }
+    }
+
+    private static long utf8Length(String value) {
+        return value == null ? 0 : value.getBytes(UTF_8).length;
+    }
+}
@@ -0,0 +1,257 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+
+package software.amazon.awssdk.services.sqs.batchmanager;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import software.amazon.awssdk.services.sqs.SqsAsyncClient;
+import software.amazon.awssdk.services.sqs.model.BatchResultErrorEntry;
+import software.amazon.awssdk.services.sqs.model.DeleteMessageBatchRequest;
+import software.amazon.awssdk.services.sqs.model.DeleteMessageBatchResponse;
+import software.amazon.awssdk.services.sqs.model.DeleteMessageBatchResultEntry;
+import software.amazon.awssdk.services.sqs.model.DeleteMessageResponse;
+import software.amazon.awssdk.services.sqs.model.SendMessageBatchRequest;
+import software.amazon.awssdk.services.sqs.model.SendMessageBatchRequestEntry;
+import software.amazon.awssdk.services.sqs.model.SendMessageBatchResponse;
+import software.amazon.awssdk.services.sqs.model.SendMessageBatchResultEntry;
+import software.amazon.awssdk.services.sqs.model.SendMessageRequest;
+import software.amazon.awssdk.services.sqs.model.SendMessageResponse;
+import software.amazon.awssdk.services.sqs.model.SqsException;
+
+public class SqsAsyncBatchManagerTest {
+    private static final String QUEUE_URL = "https://sqs.us-west-2.amazonaws.com/123456789012/queue";
+
+    private FakeSqsClient client;
+    private SqsAsyncBatchManager batchManager;
+
+    @Before
+    public void setup() {
+        client = new FakeSqsClient();
+        batchManager = SqsAsyncBatchManager.builder()
+                                           .client(client)
+                                           .overrideConfiguration(o -> o.maxBatchSize(3)
+                                                                        .sendRequestFrequency(Duration.ofMinutes(1)))
+                                           .build();
+    }
+
+    @After
+    public void teardown() {
+        batchManager.close();
+    }
+
+    @Test
+    public void sendMessage_fullBatch_isSentAsOneBatchRequest() {
+        List<CompletableFuture<SendMessageResponse>> responses =
+            IntStream.range(0, 3)
+                     .mapToObj(i -> batchManager.sendMessage(r -> r.queueUrl(QUEUE_URL).messageBody("message" + i)))
+                     .collect(Collectors.toList());
+
+        assertThat(client.sendMessageBatchRequests).hasSize(1);
+        SendMessageBatchRequest batchRequest = client.sendMessageBatchRequests.get(0);
+        assertThat(batchRequest.queueUrl()).isEqualTo(QUEUE_URL);
+        assertThat(batchRequest.entries()).extracting(SendMessageBatchRequestEntry::messageBody)
+                                          .containsExactly("message0", "message1", "message2");
+        for (int i = 0; i < responses.size(); i++) {
+            assertThat(responses.get(i).join().messageId()).isEqualTo("id-message" + i);
+        }
+    }
+
+    @Test
+    public void sendMessage_differentQueues_areBatchedSeparately() {
+        batchManager.sendMessage(r -> r.queueUrl(QUEUE_URL).messageBody("a"));
+        batchManager.sendMessage(r -> r.queueUrl(QUEUE_URL + "2").messageBody("b"));
+        assertThat(client.sendMessageBatchRequests).isEmpty();
+
+        batchManager.close();
+
+        assertThat(client.sendMessageBatchRequests).extracting(SendMessageBatchRequest::queueUrl)
+                                                   .containsExactlyInAnyOrder(QUEUE_URL, QUEUE_URL + "2");
+    }
+
+    @Test
+    public void sendMessage_partialBatch_isSentAfterSendRequestFrequency() {
+        batchManager.close();
+        batchManager = SqsAsyncBatchManager.builder()
+                                           .client(client)
+                                           .overrideConfiguration(o -> o.sendRequestFrequency(Duration.ofMillis(10)))
+                                           .build();
+
+        CompletableFuture<SendMessageResponse> response = batchManager.sendMessage(r -> r.queueUrl(QUEUE_URL)
+                                                                                        .messageBody("message"));
+
+        assertThat(response.join().messageId()).isEqualTo("id-message");
+        assertThat(client.sendMessageBatchRequests).hasSize(1);
+    }
+
+    @Test
+    public void sendMessage_batchExceedingPayloadSize_isSplit() {
+        batchManager.close();
+        batchManager = SqsAsyncBatchManager.builder()
+                                           .client(client)
+                                           .overrideConfiguration(o -> o.maxBatchPayloadSizeInBytes(10)
+                                                                        .sendRequestFrequency(Duration.ofMinutes(1)))
+                                           .build();
+
+        batchManager.sendMessage(r -> r.queueUrl(QUEUE_URL).messageBody("123456"));
+        batchManager.sendMessage(r -> r.queueUrl(QUEUE_URL).messageBody("123456"));
+
+        assertThat(client.sendMessageBatchRequests).hasSize(1);
+        assertThat(client.sendMessageBatchRequests.get(0).entries()).hasSize(1);
+    }
+
+    @Test
+    public void sendMessage_failedEntry_failsOnlyThatRequest() {
+        CompletableFuture<SendMessageResponse> success = batchManager.sendMessage(r -> r.queueUrl(QUEUE_URL).messageBody("ok"));
+        CompletableFuture<SendMessageResponse> failure = batchManager.sendMessage(r -> r.queueUrl(QUEUE_URL).messageBody("fail"));
+        batchManager.close();
+
+        assertThat(success.join().messageId()).isEqualTo("id-ok");
+        assertThatThrownBy(failure::join).hasCauseInstanceOf(SqsException.class)
+                                         .satisfies(e -> {
+                                             SqsException cause = (SqsException) e.getCause();
+                                             assertThat(cause.statusCode()).isEqualTo(400);
+                                             assertThat(cause.awsErrorDetails().errorCode()).isEqualTo("InvalidMessageContents");
+                                         });
+    }
+
+    @Test
+    public void sendMessage_failedBatchRequest_failsAllRequests() {
+        client.failBatches = true;
+        CompletableFuture<SendMessageResponse> first = batchManager.sendMessage(r -> r.queueUrl(QUEUE_URL).messageBody("a"));
+        CompletableFuture<SendMessageResponse> second = batchManager.sendMessage(r -> r.queueUrl(QUEUE_URL).messageBody("b"));
+        batchManager.close();
+
+        assertThatThrownBy(first::join).isInstanceOf(CompletionException.class).hasMessageContaining("batch failed");
+        assertThatThrownBy(second::join).isInstanceOf(CompletionException.class).hasMessageContaining("batch failed");
+    }
+
+    @Test
+    public void sendMessage_withOverrideConfiguration_isNotBatched() {
+        SendMessageRequest request = SendMessageRequest.builder()
+                                                       .queueUrl(QUEUE_URL)
+                                                       .messageBody("message")
+                                                       .overrideConfiguration(o -> o.apiCallTimeout(Duration.ofSeconds(1)))
+                                                       .build();
+
+        assertThat(batchManager.sendMessage(request).join().messageId()).isEqualTo("single");
+        assertThat(client.sendMessageBatchRequests).isEmpty();
+    }
+
+    @Test
+    public void deleteMessage_isBatched() throws Exception {
+        List<CompletableFuture<DeleteMessageResponse>> responses = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            String receiptHandle = "handle" + i;
+            responses.add(batchManager.deleteMessage(r -> r.queueUrl(QUEUE_URL).receiptHandle(receiptHandle)));
+        }
+
+        CompletableFuture.allOf(responses.toArray(new CompletableFuture[0])).get(1, TimeUnit.SECONDS);
+        assertThat(client.deleteMessageBatchRequests).hasSize(1);
+        assertThat(client.deleteMessageBatchRequests.get(0).entries()).hasSize(3);
+    }
+
+    @Test
+    public void sendMessage_afterClose_fails() {
+        batchManager.close();
+
+        assertThatThrownBy(() -> batchManager.sendMessage(r -> r.queueUrl(QUEUE_URL).messageBody("a")).join())
+            .hasCauseInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    public void close_doesNotCloseClient() {
+        batchManager.close();
+
+        assertThat(client.closed).isFalse();
+    }
+
+    private static final class FakeSqsClient implements SqsAsyncClient {
+        private final List<SendMessageBatchRequest> sendMessageBatchRequests = new CopyOnWriteArrayList<>();
+        private final List<DeleteMessageBatchRequest> deleteMessageBatchRequests = new CopyOnWriteArrayList<>();
+        private volatile boolean failBatches;
+        private volatile boolean closed;
+
+        @Override
+        public CompletableFuture<SendMessageResponse> sendMessage(SendMessageRequest request) {
+            return CompletableFuture.completedFuture(SendMessageResponse.builder().messageId("single").build());
+        }
+
+        @Override
+        public CompletableFuture<SendMessageBatchResponse> sendMessageBatch(SendMessageBatchRequest request) {
+            sendMessageBatchRequests.add(request);
+            if (failBatches) {
+                CompletableFuture<SendMessageBatchResponse> failed = new CompletableFuture<>();
+                failed.completeExceptionally(new RuntimeException("batch failed"));
+                return failed;
+            }
+
+            SendMessageBatchResponse.Builder response = SendMessageBatchResponse.builder();
+            List<SendMessageBatchResultEntry> successful = new ArrayList<>();
+            List<BatchResultErrorEntry> failed = new ArrayList<>();
+            for (SendMessageBatchRequestEntry entry : request.entries()) {
+                if ("fail".equals(entry.messageBody())) {
+                    failed.add(BatchResultErrorEntry.builder()
+                                                    .id(entry.id())
+                                                    .code("InvalidMessageContents")
+                                                    .message("Invalid message")
+                                                    .senderFault(true)
+                                                    .build());
+                } else {
+                    successful.add(SendMessageBatchResultEntry.builder()
+                                                              .id(entry.id())
+                                                              .messageId("id-" + entry.messageBody())
+                                                              .build());
+                }
+            }
+            return CompletableFuture.completedFuture(response.successful(successful).failed(failed).build());
+        }
+
+        @Override
+        public CompletableFuture<DeleteMessageBatchResponse> deleteMessageBatch(DeleteMessageBatchRequest request) {
+            deleteMessageBatchRequests.add(request);
+            List<DeleteMessageBatchResultEntry> successful =
+                request.entries()
+                       .stream()
+                       .map(e -> DeleteMessageBatchResultEntry.builder().id(e.id()).build())
+                       .collect(Collectors.toList());
+            return CompletableFuture.completedFuture(DeleteMessageBatchResponse.builder().successful(successful).build());
+        }
+
+        @Override
+        public String serviceName() {
+            return SERVICE_NAME;
+        }
+
+        @Override
+        public void close() {
+            closed = true;
+        }
+    }
+}
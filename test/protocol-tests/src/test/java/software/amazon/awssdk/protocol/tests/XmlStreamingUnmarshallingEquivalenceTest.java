@@ -0,0 +1,96 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.awssdk.protocol.tests;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+import software.amazon.awssdk.core.SdkSystemSetting;
+import software.amazon.awssdk.protocol.ProtocolTestSuiteLoader;
+import software.amazon.awssdk.protocol.model.TestCase;
+import software.amazon.awssdk.protocol.model.WhenAction;
+import software.amazon.awssdk.protocol.runners.ProtocolTestRunner;
+
+/**
+ * Runs the response fixtures of the AWS/Query, EC2 and REST/XML protocol test suites through both the streaming (StAX
+ * cursor) unmarshaller and the {@code XmlElement} tree unmarshaller, which is used when
+ * {@link SdkSystemSetting#STREAMING_UNMARSHALLING_ENABLED} is false, so that both produce the same expected result.
+ */
+@RunWith(Parameterized.class)
+public class XmlStreamingUnmarshallingEquivalenceTest extends ProtocolTestBase {
+    private static final ProtocolTestSuiteLoader testSuiteLoader = new ProtocolTestSuiteLoader();
+    private static final String[][] SUITES = {
+        {"query-suite.json", "/models/query-2016-03-11-intermediate.json"},
+        {"ec2-suite.json", "/models/ec2-2016-03-11-intermediate.json"},
+        {"restxml-suite.json", "/models/restxml-2016-03-11-intermediate.json"}
+    };
+
+    private static final Map<String, ProtocolTestRunner> testRunners = new HashMap<>();
+
+    @Parameterized.Parameter
+    public String suite;
+
+    @Parameterized.Parameter(1)
+    public boolean streamingUnmarshalling;
+
+    @Parameterized.Parameter(2)
+    public TestCase testCase;
+
+    @Parameterized.Parameters(name = "{0} streaming={1}: {2}")
+    public static List<Object[]> data() throws IOException {
+        List<Object[]> data = new ArrayList<>();
+        for (String[] suite : SUITES) {
+            for (TestCase testCase : testSuiteLoader.load(suite[0])) {
+                if (testCase.getWhen().getAction() == WhenAction.UNMARSHALL) {
+                    data.add(new Object[] {suite[0], true, testCase});
+                    data.add(new Object[] {suite[0], false, testCase});
+                }
+            }
+        }
+        return data;
+    }
+
+    @BeforeClass
+    public static void setupFixture() {
+        // The setting is read when a client is created, so each runner's client keeps the path it was created with.
+        try {
+            for (String[] suite : SUITES) {
+                for (boolean streamingUnmarshalling : new boolean[] {true, false}) {
+                    System.setProperty(SdkSystemSetting.STREAMING_UNMARSHALLING_ENABLED.property(),
+                                       String.valueOf(streamingUnmarshalling));
+                    testRunners.put(runnerKey(suite[0], streamingUnmarshalling), new ProtocolTestRunner(suite[1]));
+                }
+            }
+        } finally {
+            System.clearProperty(SdkSystemSetting.STREAMING_UNMARSHALLING_ENABLED.property());
+        }
+    }
+
+    @Test
+    public void unmarshallingPath_producesExpectedResult() throws Exception {
+        testRunners.get(runnerKey(suite, streamingUnmarshalling)).runTest(testCase);
+    }
+
+    private static String runnerKey(String suite, boolean streamingUnmarshalling) {
+        return suite + ":" + streamingUnmarshalling;
+    }
+}
@@ -19,6 +19,7 @@ import static software.amazon.awssdk.utils.FunctionalUtils.runAndLogError;
 
 import java.io.File;
 import java.io.IOException;
+import java.net.URI;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.ArrayList;
@@ -26,7 +27,12 @@ import java.util.List;
 import java.util.concurrent.CompletableFuture;
 import software.amazon.awssdk.core.async.AsyncRequestBody;
 import software.amazon.awssdk.core.async.AsyncResponseTransformer;
+import software.amazon.awssdk.http.nio.netty.NettyNioAsyncHttpClient;
+import software.amazon.awssdk.services.s3.S3AsyncClient;
+import software.amazon.awssdk.services.s3.S3AsyncClientBuilder;
+import software.amazon.awssdk.services.s3.S3BaseClientBuilder;
 import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.S3ClientBuilder;
 import software.amazon.awssdk.services.s3.model.GetObjectRequest;
 import software.amazon.awssdk.services.s3.model.HeadObjectResponse;
 import software.amazon.awssdk.services.s3.model.PutObjectRequest;
@@ -43,7 +49,7 @@ public abstract class BaseTransferManagerBenchmark implements TransferManagerBen
     private static final String WARMUP_KEY = "warmupobject";
 
     protected final S3TransferManager transferManager;
-    protected final S3CrtAsyncClient s3;
+    protected final S3AsyncClient s3;
     protected final S3Client s3Sync;
     protected final String bucket;
     protected final String key;
@@ -53,16 +59,29 @@ public abstract class BaseTransferManagerBenchmark implements TransferManagerBen
     BaseTransferManagerBenchmark(TransferManagerBenchmarkConfig config) {
         logger.info(() -> "Benchmark config: " + config);
         Long partSizeInMb = config.partSizeInMb() == null ? null : config.partSizeInMb() * 1024 * 1024L;
-        s3 = S3CrtAsyncClient.builder()
-                             .targetThroughputInGbps(config.targetThroughput())
-                             .minimumPartSizeInBytes(partSizeInMb)
-                             .build();
-        s3Sync = S3Client.builder()
-                         .build();
-        transferManager = S3TransferManager.builder()
-                                           .s3ClientConfiguration(b -> b.targetThroughputInGbps(config.targetThroughput())
-                                           .minimumPartSizeInBytes(partSizeInMb))
-                                           .build();
+        S3TransferManager.Builder transferManagerBuilder =
+            S3TransferManager.builder()
+                             .s3ClientConfiguration(b -> b.targetThroughputInGbps(config.targetThroughput())
+                                                          .minimumPartSizeInBytes(partSizeInMb)
+                                                          .maxConcurrency(config.maxConcurrency()));
+        if (config.javaClient()) {
+            int maxConcurrency = config.maxConcurrency() == null ? 50 : config.maxConcurrency();
+            S3AsyncClientBuilder s3Builder =
+                S3AsyncClient.builder()
+                             .httpClientBuilder(NettyNioAsyncHttpClient.builder().maxConcurrency(maxConcurrency));
+            configureEndpoint(s3Builder, config);
+            s3 = s3Builder.build();
+            transferManagerBuilder.s3AsyncClient(s3);
+        } else {
+            s3 = S3CrtAsyncClient.builder()
+                                 .targetThroughputInGbps(config.targetThroughput())
+                                 .minimumPartSizeInBytes(partSizeInMb)
+                                 .build();
+        }
+        S3ClientBuilder s3SyncBuilder = S3Client.builder();
+        configureEndpoint(s3SyncBuilder, config);
+        s3Sync = s3SyncBuilder.build();
+        transferManager = transferManagerBuilder.build();
         bucket = config.bucket();
         key = config.key();
         path = config.filePath();
@@ -74,6 +93,14 @@ public abstract class BaseTransferManagerBenchmark implements TransferManagerBen
         }
     }
 
+    private static void configureEndpoint(S3BaseClientBuilder<?, ?> builder, TransferManagerBenchmarkConfig config) {
+        if (config.endpoint() != null) {
+            // Mock S3 servers usually do not resolve virtual host style bucket names
+            builder.endpointOverride(URI.create(config.endpoint()))
+                   .serviceConfiguration(c -> c.pathStyleAccessEnabled(true));
+        }
+    }
+
     @Override
     public void run() {
         try {
@@ -119,6 +146,7 @@ public abstract class BaseTransferManagerBenchmark implements TransferManagerBen
     private void cleanup() {
         s3Sync.deleteObject(b -> b.bucket(bucket).key(WARMUP_KEY));
         transferManager.close();
+        s3.close();
     }
 
     private void warmUp() throws InterruptedException {
@@ -29,6 +29,9 @@ public class BenchmarkRunner {
     private static final String MAX_THROUGHPUT = "maxThroughput";
     private static final String KEY = "key";
     private static final String OPERATION = "operation";
+    private static final String MAX_CONCURRENCY = "maxConcurrency";
+    private static final String JAVA_CLIENT = "javaClient";
+    private static final String ENDPOINT = "endpoint";
 
     private BenchmarkRunner() {
     }
@@ -45,6 +48,9 @@ public class BenchmarkRunner {
         options.addRequiredOption(null, OPERATION, true, "The operation to benchmark against");
         options.addOption(null, PART_SIZE_IN_MB, true, "Part size in MB");
         options.addOption(null, MAX_THROUGHPUT, true, "The max throughput");
+        options.addOption(null, MAX_CONCURRENCY, true, "The max number of concurrent part requests");
+        options.addOption(null, JAVA_CLIENT, false, "Transfer with a plain S3AsyncClient instead of the CRT based client");
+        options.addOption(null, ENDPOINT, true, "The S3 endpoint, e.g. of a local mock S3 server");
 
         CommandLine cmd = parser.parse(options, args);
         TransferManagerBenchmarkConfig config = parseConfig(cmd);
@@ -72,12 +78,18 @@ public class BenchmarkRunner {
         Double maxThroughput = cmd.getOptionValue(MAX_THROUGHPUT) == null ? null :
                                Double.parseDouble(cmd.getOptionValue(MAX_THROUGHPUT));
 
+        Integer maxConcurrency = cmd.getOptionValue(MAX_CONCURRENCY) == null ? null :
+                                 Integer.parseInt(cmd.getOptionValue(MAX_CONCURRENCY));
+
         return TransferManagerBenchmarkConfig.builder()
                                              .key(key)
                                              .bucket(bucket)
                                              .partSizeInMb(partSize)
                                              .targetThroughput(maxThroughput)
                                              .filePath(filePath)
+                                             .maxConcurrency(maxConcurrency)
+                                             .javaClient(cmd.hasOption(JAVA_CLIENT))
+                                             .endpoint(cmd.getOptionValue(ENDPOINT))
                                              .build();
     }
 
@@ -21,6 +21,9 @@ public class TransferManagerBenchmarkConfig {
     private final String key;
     private final Double targetThroughput;
     private final Long partSizeInMb;
+    private final Integer maxConcurrency;
+    private final boolean javaClient;
+    private final String endpoint;
 
     private TransferManagerBenchmarkConfig(Builder builder) {
         this.filePath = builder.filePath;
@@ -28,6 +31,9 @@ public class TransferManagerBenchmarkConfig {
         this.key = builder.key;
         this.targetThroughput = builder.targetThroughput;
         this.partSizeInMb = builder.partSizeInMb;
+        this.maxConcurrency = builder.maxConcurrency;
+        this.javaClient = builder.javaClient;
+        this.endpoint = builder.endpoint;
     }
 
     public String filePath() {
@@ -50,6 +56,24 @@ public class TransferManagerBenchmarkConfig {
         return partSizeInMb;
     }
 
+    public Integer maxConcurrency() {
+        return maxConcurrency;
+    }
+
+    /**
+     * Whether transfers are made with a plain {@code S3AsyncClient} instead of the CRT based client.
+     */
+    public boolean javaClient() {
+        return javaClient;
+    }
+
+    /**
+     * The endpoint of S3, e.g. a local mock S3 server, or null for the default endpoint.
+     */
+    public String endpoint() {
+        return endpoint;
+    }
+
     public static Builder builder() {
         return new Builder();
     }
@@ -62,6 +86,9 @@ public class TransferManagerBenchmarkConfig {
                ", key: '" + key + '\'' +
                ", targetThroughput: " + targetThroughput +
                ", partSizeInMB: " + partSizeInMb +
+               ", maxConcurrency: " + maxConcurrency +
+               ", javaClient: " + javaClient +
+               ", endpoint: '" + endpoint + '\'' +
                '}';
     }
 
@@ -71,6 +98,9 @@ public class TransferManagerBenchmarkConfig {
         private String key;
         private Double targetThroughput;
         private Long partSizeInMb;
+        private Integer maxConcurrency;
+        private boolean javaClient;
+        private String endpoint;
 
         public Builder filePath(String filePath) {
             this.filePath = filePath;
@@ -97,6 +127,21 @@ public class TransferManagerBenchmarkConfig {
             return this;
         }
 
+        public Builder maxConcurrency(Integer maxConcurrency) {
+            this.maxConcurrency = maxConcurrency;
+            return this;
+        }
+
+        public Builder javaClient(boolean javaClient) {
+            this.javaClient = javaClient;
+            return this;
+        }
+
+        public Builder endpoint(String endpoint) {
+            this.endpoint = endpoint;
+            return this;
+        }
+
         public TransferManagerBenchmarkConfig build() {
             return new TransferManagerBenchmarkConfig(this);
         }
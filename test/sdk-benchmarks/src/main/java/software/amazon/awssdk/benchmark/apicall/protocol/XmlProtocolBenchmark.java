@@ -26,16 +26,19 @@ import org.openjdk.jmh.annotations.Fork;
 import org.openjdk.jmh.annotations.Level;
 import org.openjdk.jmh.annotations.Measurement;
 import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Param;
 import org.openjdk.jmh.annotations.Scope;
 import org.openjdk.jmh.annotations.Setup;
 import org.openjdk.jmh.annotations.State;
 import org.openjdk.jmh.annotations.Warmup;
 import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.profile.GCProfiler;
 import org.openjdk.jmh.profile.StackProfiler;
 import org.openjdk.jmh.runner.Runner;
 import org.openjdk.jmh.runner.options.Options;
 import org.openjdk.jmh.runner.options.OptionsBuilder;
 import software.amazon.awssdk.benchmark.utils.MockHttpClient;
+import software.amazon.awssdk.core.SdkSystemSetting;
 import software.amazon.awssdk.services.protocolrestxml.ProtocolRestXmlClient;
 
 /**
@@ -48,10 +51,18 @@ import software.amazon.awssdk.services.protocolrestxml.ProtocolRestXmlClient;
 @BenchmarkMode(Mode.Throughput)
 public class XmlProtocolBenchmark implements SdkProtocolBenchmark {
 
+    /**
+     * Whether the response is unmarshalled while it is read with a StAX cursor ({@code true}) or through the intermediate
+     * {@code XmlElement} document ({@code false}).
+     */
+    @Param({"true", "false"})
+    private String streamingUnmarshalling;
+
     private ProtocolRestXmlClient client;
 
     @Setup(Level.Trial)
     public void setup() {
+        System.setProperty(SdkSystemSetting.STREAMING_UNMARSHALLING_ENABLED.property(), streamingUnmarshalling);
         client = ProtocolRestXmlClient.builder()
                                       .httpClient(new MockHttpClient(XML_BODY, ERROR_XML_BODY))
                                       .build();
@@ -67,6 +78,7 @@ public class XmlProtocolBenchmark implements SdkProtocolBenchmark {
         Options opt = new OptionsBuilder()
             .include(XmlProtocolBenchmark.class.getSimpleName())
             .addProfiler(StackProfiler.class)
+            .addProfiler(GCProfiler.class)
             .build();
         new Runner(opt).run();
     }
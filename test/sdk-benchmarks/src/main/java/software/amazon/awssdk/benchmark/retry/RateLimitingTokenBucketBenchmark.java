@@ -0,0 +1,97 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+
+package software.amazon.awssdk.benchmark.retry;
+
+import java.util.OptionalDouble;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import software.amazon.awssdk.core.internal.retry.RateLimitingTokenBucket;
+
+/**
+ * Throughput of the bookkeeping the ADAPTIVE retry mode does around every attempt (acquiring a send token and updating the
+ * sending rate from the response) on a single bucket shared by increasing numbers of threads, as it is by all requests made
+ * through one client. The result is the time to compute the delay, not the delay itself, which callers apply themselves.
+ */
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 15, timeUnit = TimeUnit.SECONDS)
+@Measurement(iterations = 5, time = 10, timeUnit = TimeUnit.SECONDS)
+@Fork(2)
+@BenchmarkMode(Mode.Throughput)
+public class RateLimitingTokenBucketBenchmark {
+
+    /**
+     * Whether client side rate limiting has been engaged by a throttling response. Until it is, acquiring a token is free.
+     */
+    @Param({"false", "true"})
+    private boolean throttled;
+
+    private RateLimitingTokenBucket tokenBucket;
+
+    @Setup(Level.Iteration)
+    public void setup() {
+        tokenBucket = new RateLimitingTokenBucket();
+        if (throttled) {
+            tokenBucket.updateClientSendingRate(true);
+        }
+    }
+
+    @Benchmark
+    @Threads(1)
+    public void attempt_1Thread(Blackhole blackhole) {
+        attempt(blackhole);
+    }
+
+    @Benchmark
+    @Threads(8)
+    public void attempt_8Threads(Blackhole blackhole) {
+        attempt(blackhole);
+    }
+
+    @Benchmark
+    @Threads(64)
+    public void attempt_64Threads(Blackhole blackhole) {
+        attempt(blackhole);
+    }
+
+    private void attempt(Blackhole blackhole) {
+        OptionalDouble waitTime = tokenBucket.acquireNonBlocking(1.0, false);
+        blackhole.consume(waitTime);
+        tokenBucket.updateClientSendingRate(false);
+    }
+
+    public static void main(String... args) throws Exception {
+        Options opt = new OptionsBuilder()
+            .include(RateLimitingTokenBucketBenchmark.class.getSimpleName())
+            .build();
+        new Runner(opt).run();
+    }
+}
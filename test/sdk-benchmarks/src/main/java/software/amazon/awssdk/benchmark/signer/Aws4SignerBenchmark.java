@@ -0,0 +1,117 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+
+package software.amazon.awssdk.benchmark.signer;
+
+import java.net.URI;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import software.amazon.awssdk.auth.credentials.AwsBasicCredentials;
+import software.amazon.awssdk.auth.signer.Aws4Signer;
+import software.amazon.awssdk.auth.signer.params.Aws4SignerParams;
+import software.amazon.awssdk.http.SdkHttpFullRequest;
+import software.amazon.awssdk.http.SdkHttpMethod;
+import software.amazon.awssdk.regions.Region;
+
+/**
+ * Throughput of {@link Aws4Signer#sign(SdkHttpFullRequest, Aws4SignerParams)} at increasing thread counts, which exposes
+ * contention on the signing key cache that every signed request goes through. Run with the GC profiler ({@code -prof gc}) to
+ * see the allocation rate of building the canonical request.
+ */
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 15, timeUnit = TimeUnit.SECONDS)
+@Measurement(iterations = 5, time = 10, timeUnit = TimeUnit.SECONDS)
+@Fork(2)
+@BenchmarkMode(Mode.Throughput)
+public class Aws4SignerBenchmark {
+
+    private static final Aws4Signer SIGNER = Aws4Signer.create();
+
+    /**
+     * Number of distinct credentials requests are signed with, to compare a single tenant with many.
+     */
+    @Param({"1", "100"})
+    private int credentialsCount;
+
+    private SdkHttpFullRequest request;
+    private Aws4SignerParams[] signerParams;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        request = SdkHttpFullRequest.builder()
+                                    .method(SdkHttpMethod.POST)
+                                    .uri(URI.create("https://dynamodb.us-east-1.amazonaws.com"))
+                                    .putHeader("Content-Type", "application/x-amz-json-1.0")
+                                    .putHeader("X-Amz-Target", "DynamoDB_20120810.GetItem")
+                                    .build();
+
+        signerParams = new Aws4SignerParams[credentialsCount];
+        for (int i = 0; i < credentialsCount; i++) {
+            signerParams[i] = Aws4SignerParams.builder()
+                                              .awsCredentials(AwsBasicCredentials.create("akid" + i, "secret" + i))
+                                              .signingName("dynamodb")
+                                              .signingRegion(Region.US_EAST_1)
+                                              .build();
+        }
+    }
+
+    @Benchmark
+    @Threads(1)
+    public SdkHttpFullRequest sign_1Thread() {
+        return sign();
+    }
+
+    @Benchmark
+    @Threads(8)
+    public SdkHttpFullRequest sign_8Threads() {
+        return sign();
+    }
+
+    @Benchmark
+    @Threads(64)
+    public SdkHttpFullRequest sign_64Threads() {
+        return sign();
+    }
+
+    private SdkHttpFullRequest sign() {
+        Aws4SignerParams params = signerParams[ThreadLocalRandom.current().nextInt(credentialsCount)];
+        return SIGNER.sign(request, params);
+    }
+
+    public static void main(String... args) throws Exception {
+        Options opt = new OptionsBuilder()
+            .include(Aws4SignerBenchmark.class.getSimpleName())
+            .addProfiler(GCProfiler.class)
+            .build();
+        new Runner(opt).run();
+    }
+}
@@ -0,0 +1,101 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+
+package software.amazon.awssdk.utils.async;
+
+import java.nio.ByteBuffer;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import software.amazon.awssdk.annotations.SdkPublicApi;
+import software.amazon.awssdk.annotations.ThreadSafe;
+
+/**
+ * Tracks {@link ByteBuffer}s that are read-only views of pooled memory owned by an HTTP client, such as the response
+ * chunks published by a Netty client with pooled response buffers enabled. The memory behind such a buffer stays in use
+ * until {@link #release(ByteBuffer)} is called for it, and must not be read after that.
+ *
+ * <p>Subscribers that consume response content should call {@link #release(ByteBuffer)} once they no longer need a
+ * buffer. Calling it for a buffer that is not pooled, or that was already released, does nothing, so it is always safe
+ * to call.
+ */
+@SdkPublicApi
+@ThreadSafe
+public final class PooledByteBuffers {
+    private static final Map<IdentityKey, Runnable> RELEASERS = new ConcurrentHashMap<>();
+
+    private PooledByteBuffers() {
+    }
+
+    /**
+     * Creates a read-only view of a pooled buffer, and registers the action that returns the buffer to its pool once the
+     * view is released. This is intended for HTTP client implementations.
+     *
+     * @param buffer The pooled buffer.
+     * @param releaser The action that returns the pooled buffer to its pool. This is run at most once.
+     * @return The read-only view to publish in place of the pooled buffer.
+     */
+    public static ByteBuffer register(ByteBuffer buffer, Runnable releaser) {
+        ByteBuffer view = buffer.asReadOnlyBuffer();
+        RELEASERS.put(new IdentityKey(view), releaser);
+        return view;
+    }
+
+    /**
+     * @return True if the buffer is a view of pooled memory that has not been released yet.
+     */
+    public static boolean isPooled(ByteBuffer buffer) {
+        return buffer != null && buffer.isReadOnly() && RELEASERS.containsKey(new IdentityKey(buffer));
+    }
+
+    /**
+     * Returns the memory behind a pooled buffer to its pool. This does nothing if the buffer is not pooled.
+     *
+     * @return True if the buffer was pooled and has now been released.
+     */
+    public static boolean release(ByteBuffer buffer) {
+        // Pooled buffers are always read-only views, so writable buffers can skip the lookup
+        if (buffer == null || !buffer.isReadOnly() || RELEASERS.isEmpty()) {
+            return false;
+        }
+        Runnable releaser = RELEASERS.remove(new IdentityKey(buffer));
+        if (releaser == null) {
+            return false;
+        }
+        releaser.run();
+        return true;
+    }
+
+    /**
+     * Compares buffers by identity, since {@link ByteBuffer#equals(Object)} compares their remaining content.
+     */
+    private static final class IdentityKey {
+        private final ByteBuffer buffer;
+
+        private IdentityKey(ByteBuffer buffer) {
+            this.buffer = buffer;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof IdentityKey && ((IdentityKey) o).buffer == buffer;
+        }
+
+        @Override
+        public int hashCode() {
+            return System.identityHashCode(buffer);
+        }
+    }
+}
@@ -161,6 +161,10 @@ public final class SdkHttpUtils {
             return null;
         }
 
+        if (isUnreserved(value, ignoreSlashes)) {
+            return value;
+        }
+
         String encoded = invokeSafely(() -> URLEncoder.encode(value, DEFAULT_ENCODING));
 
         if (!ignoreSlashes) {
@@ -172,6 +176,22 @@ public final class SdkHttpUtils {
         return StringUtils.replaceEach(encoded, ENCODED_CHARACTERS_WITH_SLASHES, ENCODED_CHARACTERS_WITH_SLASHES_REPLACEMENTS);
     }
 
+    /**
+     * Returns true if the value only contains RFC 3986 unreserved characters (and slashes, if they are ignored), in which case
+     * encoding it would return the value unchanged.
+     */
+    private static boolean isUnreserved(String value, boolean ignoreSlashes) {
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            boolean unreserved = (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || (c >= '0' && c <= '9') ||
+                                 c == '-' || c == '_' || c == '.' || c == '~' || (ignoreSlashes && c == '/');
+            if (!unreserved) {
+                return false;
+            }
+        }
+        return true;
+    }
+
     /**
      * Encode the provided query parameters using {@link #encodeQueryParameters(Map)} and then flatten them into a string that
      * can be used as the query string in a URL. The result is not prepended with "?".
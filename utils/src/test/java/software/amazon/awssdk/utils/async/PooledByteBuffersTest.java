@@ -0,0 +1,72 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+
+package software.amazon.awssdk.utils.async;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.Test;
+
+public class PooledByteBuffersTest {
+
+    @Test
+    public void register_returnsReadOnlyViewOfBuffer() {
+        ByteBuffer pooled = ByteBuffer.allocateDirect(4);
+        pooled.put(new byte[] {1, 2, 3, 4}).flip();
+
+        ByteBuffer view = PooledByteBuffers.register(pooled, () -> { });
+
+        assertThat(view.isReadOnly()).isTrue();
+        assertThat(view).isEqualTo(pooled);
+        assertThat(PooledByteBuffers.isPooled(view)).isTrue();
+        assertThat(PooledByteBuffers.isPooled(pooled)).isFalse();
+        PooledByteBuffers.release(view);
+    }
+
+    @Test
+    public void release_runsReleaserOnce() {
+        AtomicInteger releases = new AtomicInteger();
+        ByteBuffer view = PooledByteBuffers.register(ByteBuffer.allocateDirect(4), releases::incrementAndGet);
+
+        assertThat(PooledByteBuffers.release(view)).isTrue();
+        assertThat(PooledByteBuffers.release(view)).isFalse();
+        assertThat(releases.get()).isEqualTo(1);
+        assertThat(PooledByteBuffers.isPooled(view)).isFalse();
+    }
+
+    @Test
+    public void release_buffersWithEqualContent_onlyReleasesGivenBuffer() {
+        AtomicInteger firstReleases = new AtomicInteger();
+        AtomicInteger secondReleases = new AtomicInteger();
+        ByteBuffer first = PooledByteBuffers.register(ByteBuffer.allocateDirect(4), firstReleases::incrementAndGet);
+        ByteBuffer second = PooledByteBuffers.register(ByteBuffer.allocateDirect(4), secondReleases::incrementAndGet);
+
+        PooledByteBuffers.release(second);
+
+        assertThat(firstReleases.get()).isZero();
+        assertThat(secondReleases.get()).isEqualTo(1);
+        PooledByteBuffers.release(first);
+    }
+
+    @Test
+    public void release_notPooledBuffer_doesNothing() {
+        assertThat(PooledByteBuffers.release(ByteBuffer.allocate(4))).isFalse();
+        assertThat(PooledByteBuffers.release(ByteBuffer.allocate(4).asReadOnlyBuffer())).isFalse();
+        assertThat(PooledByteBuffers.release(null)).isFalse();
+    }
+}